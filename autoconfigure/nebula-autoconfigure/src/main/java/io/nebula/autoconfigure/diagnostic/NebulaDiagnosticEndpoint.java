@@ -65,6 +65,7 @@ public class NebulaDiagnosticEndpoint {
             result.put("discovery", getDiscoveryInfo());
             result.put("rpc", getRpcInfo());
             result.put("asyncRpc", getAsyncRpcInfo());
+            result.put("rpcLatency", getRpcLatencyInfo());
             result.put("dependencies", getDependencyInfo());
             
             return result;
@@ -163,12 +164,34 @@ public class NebulaDiagnosticEndpoint {
                 discoveryInfo.put("cacheEnabled", discovery.isEnableCache());
                 discoveryInfo.put("cacheTimeout", discovery.getCacheTimeout());
                 discoveryInfo.put("retryCount", discovery.getRetryCount());
+                discoveryInfo.put("healthCheckEnabled", discovery.getHealthCheck().isEnabled());
+                discoveryInfo.put("zoneAwareEnabled", discovery.getZone().isEnabled());
+                discoveryInfo.put("healthCheck", getBeanStats("healthCheckScheduler"));
+                discoveryInfo.put("zoneRouting", getBeanStats("loadBalancer"));
             }
             info.put("discoveryIntegration", discoveryInfo);
             
             return info;
         }
         
+        /**
+         * 反射读取 Bean 的 getStats() 统计，Bean 不存在或未提供统计时返回 null
+         */
+        private Object getBeanStats(String beanName) {
+            if (!applicationContext.containsBean(beanName)) {
+                return null;
+            }
+            try {
+                Object bean = applicationContext.getBean(beanName);
+                return bean.getClass().getMethod("getStats").invoke(bean);
+            } catch (NoSuchMethodException e) {
+                return null;
+            } catch (Exception e) {
+                log.debug("读取 {} 统计失败: {}", beanName, e.getMessage());
+                return null;
+            }
+        }
+        
         private Map<String, Object> getAsyncRpcInfo() {
             Map<String, Object> info = new LinkedHashMap<>();
             
@@ -192,11 +215,18 @@ public class NebulaDiagnosticEndpoint {
                 )
             ));
             
-            info.put("executor", Map.of(
-                "corePoolSize", async.getExecutor().getCorePoolSize(),
-                "maxPoolSize", async.getExecutor().getMaxPoolSize(),
-                "queueCapacity", async.getExecutor().getQueueCapacity()
-            ));
+            Map<String, Object> executorInfo = new LinkedHashMap<>();
+            executorInfo.put("type", async.getExecutor().getType());
+            if ("virtual".equalsIgnoreCase(async.getExecutor().getType())) {
+                executorInfo.put("maxConcurrency", async.getExecutor().getMaxConcurrency());
+                executorInfo.put("maxConcurrencyPerKey", async.getExecutor().getMaxConcurrencyPerKey());
+            } else {
+                executorInfo.put("corePoolSize", async.getExecutor().getCorePoolSize());
+                executorInfo.put("maxPoolSize", async.getExecutor().getMaxPoolSize());
+            }
+            executorInfo.put("queueCapacity", async.getExecutor().getQueueCapacity());
+            executorInfo.put("stats", getAsyncRpcExecutorStats());
+            info.put("executor", executorInfo);
             
             info.put("cleanup", Map.of(
                 "enabled", async.getCleanup().isEnabled(),
@@ -206,6 +236,44 @@ public class NebulaDiagnosticEndpoint {
             return info;
         }
         
+        /**
+         * 读取异步执行器运行时统计（排队/运行、等待时间与运行时间），通过反射避免对 nebula-rpc-async 的硬依赖
+         */
+        private Object getAsyncRpcExecutorStats() {
+            if (!applicationContext.containsBean("asyncRpcExecutor")) {
+                return null;
+            }
+            try {
+                Object executor = applicationContext.getBean("asyncRpcExecutor");
+                return executor.getClass().getMethod("getStats").invoke(executor);
+            } catch (NoSuchMethodException e) {
+                return null;
+            } catch (Exception e) {
+                log.debug("读取异步执行器统计失败: {}", e.getMessage());
+                return null;
+            }
+        }
+        
+        /**
+         * 读取 RPC 分阶段延迟统计（按 service#method 的各阶段分位数），通过反射避免对 HdrHistogram 的硬依赖
+         */
+        private Map<String, Object> getRpcLatencyInfo() {
+            Map<String, Object> info = new LinkedHashMap<>();
+            if (!applicationContext.containsBean("rpcLatencyMetrics")) {
+                info.put("enabled", false);
+                return info;
+            }
+            info.put("enabled", true);
+            try {
+                Object metrics = applicationContext.getBean("rpcLatencyMetrics");
+                info.put("client", metrics.getClass().getMethod("getClientStats").invoke(metrics));
+                info.put("server", metrics.getClass().getMethod("getServerStats").invoke(metrics));
+            } catch (Exception e) {
+                log.debug("读取RPC延迟统计失败: {}", e.getMessage());
+            }
+            return info;
+        }
+        
         private Map<String, Object> getDependencyInfo() {
             Map<String, Object> info = new LinkedHashMap<>();
             
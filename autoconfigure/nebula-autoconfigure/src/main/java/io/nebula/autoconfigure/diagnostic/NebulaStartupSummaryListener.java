@@ -130,8 +130,14 @@ public class NebulaStartupSummaryListener {
         
         sb.append(formatEntry("Status", "ENABLED"));
         sb.append(formatEntry("Storage Type", async.getStorage().getType().toUpperCase()));
-        sb.append(formatEntry("Executor Pool", 
-            async.getExecutor().getCorePoolSize() + "-" + async.getExecutor().getMaxPoolSize()));
+        if ("virtual".equalsIgnoreCase(async.getExecutor().getType())) {
+            sb.append(formatEntry("Executor",
+                "VIRTUAL (max " + async.getExecutor().getMaxConcurrency()
+                    + ", per-key " + async.getExecutor().getMaxConcurrencyPerKey() + ")"));
+        } else {
+            sb.append(formatEntry("Executor Pool", 
+                async.getExecutor().getCorePoolSize() + "-" + async.getExecutor().getMaxPoolSize()));
+        }
         sb.append(formatEntry("Cleanup Enabled", String.valueOf(async.getCleanup().isEnabled())));
     }
     
@@ -2,6 +2,7 @@ package io.nebula.autoconfigure.messaging;
 
 import io.nebula.core.common.diagnostic.NebulaComponentSummary;
 import io.nebula.core.common.diagnostic.SimpleComponentSummary;
+import io.nebula.messaging.core.delay.DelayStore;
 import io.nebula.messaging.core.serializer.MessageSerializer;
 import io.nebula.messaging.core.serializer.JsonMessageSerializer;
 import io.nebula.messaging.core.router.MessageRouter;
@@ -18,6 +19,7 @@ import io.nebula.messaging.rabbitmq.delay.DelayMessageConsumer;
 import io.nebula.messaging.rabbitmq.delay.DelayMessageListenerProcessor;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -92,8 +94,9 @@ public class RabbitMQAutoConfiguration {
     @ConditionalOnProperty(prefix = "nebula.messaging.rabbitmq.delay-message", name = "enabled", havingValue = "true", matchIfMissing = true)
     public DelayMessageProducer delayMessageProducer(Connection connection,
             MessageSerializer messageSerializer,
-            RabbitDelayMessageProperties delayProperties) {
-        return new DelayMessageProducer(connection, messageSerializer, delayProperties);
+            RabbitDelayMessageProperties delayProperties,
+            ObjectProvider<DelayStore> delayStore) {
+        return new DelayMessageProducer(connection, messageSerializer, delayProperties, delayStore.getIfAvailable());
     }
 
     @Bean
@@ -111,7 +114,8 @@ public class RabbitMQAutoConfiguration {
             Connection connection,
             MessageSerializer messageSerializer,
             @Lazy DelayMessageProducer delayMessageProducer) {
-        return new RabbitMQMessageProducer(connection, messageSerializer, delayMessageProducer);
+        return new RabbitMQMessageProducer(connection, messageSerializer, delayMessageProducer,
+                properties.getProducer());
     }
 
     @Bean
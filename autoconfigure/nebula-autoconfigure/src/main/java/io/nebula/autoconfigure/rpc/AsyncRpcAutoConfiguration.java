@@ -2,7 +2,10 @@ package io.nebula.autoconfigure.rpc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.nebula.rpc.async.execution.AsyncRpcExecutionManager;
+import io.nebula.rpc.async.executor.AsyncRpcTaskExecutor;
+import io.nebula.rpc.async.notification.AsyncExecutionNotifier;
 import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import io.nebula.rpc.async.web.AsyncRpcExecutionController;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -11,6 +14,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -28,7 +32,11 @@ import java.util.concurrent.ThreadPoolExecutor;
 @EnableConfigurationProperties(AsyncRpcProperties.class)
 @ConditionalOnClass(name = "io.nebula.rpc.async.execution.AsyncRpcExecutionManager")
 @ConditionalOnProperty(prefix = "nebula.rpc.async", name = "enabled", havingValue = "true", matchIfMissing = false)
-@Import(NacosAsyncStorageAutoConfiguration.class)
+@Import({
+        NacosAsyncStorageAutoConfiguration.class,
+        RedisAsyncStorageAutoConfiguration.class,
+        LocalAsyncStorageAutoConfiguration.class
+})
 public class AsyncRpcAutoConfiguration {
 
     /**
@@ -39,6 +47,16 @@ public class AsyncRpcAutoConfiguration {
     public Executor asyncRpcExecutor(AsyncRpcProperties properties) {
         AsyncRpcProperties.ExecutorConfig config = properties.getExecutor();
 
+        if ("virtual".equalsIgnoreCase(config.getType())) {
+            log.info("[AsyncRpc] 配置虚拟线程执行器: maxConcurrency={}, maxConcurrencyPerKey={}, queueCapacity={}",
+                    config.getMaxConcurrency(), config.getMaxConcurrencyPerKey(), config.getQueueCapacity());
+            return new AsyncRpcTaskExecutor(
+                    config.getMaxConcurrency(),
+                    config.getMaxConcurrencyPerKey(),
+                    config.getQueueCapacity(),
+                    config.getThreadNamePrefix());
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(config.getCorePoolSize());
         executor.setMaxPoolSize(config.getMaxPoolSize());
@@ -53,6 +71,16 @@ public class AsyncRpcAutoConfiguration {
         return executor;
     }
 
+    /**
+     * 配置执行完成通知器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(AsyncExecutionStorage.class)
+    public AsyncExecutionNotifier asyncExecutionNotifier(AsyncExecutionStorage storage, AsyncRpcProperties properties) {
+        return new AsyncExecutionNotifier(storage, properties.getNotify().getRemotePollInterval());
+    }
+
     /**
      * 配置异步RPC执行管理器
      * 只有当 AsyncExecutionStorage 可用时才创建
@@ -63,9 +91,37 @@ public class AsyncRpcAutoConfiguration {
     public AsyncRpcExecutionManager asyncRpcExecutionManager(
             AsyncExecutionStorage storage,
             Executor asyncRpcExecutor,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            AsyncExecutionNotifier asyncExecutionNotifier,
+            AsyncRpcProperties properties) {
+
+        log.info("[AsyncRpc] 配置执行管理器: storage={}, executor={}",
+                storage.getClass().getSimpleName(), asyncRpcExecutor.getClass().getSimpleName());
+        AsyncRpcExecutionManager manager = new AsyncRpcExecutionManager(
+                storage, asyncRpcExecutor, objectMapper, asyncExecutionNotifier);
+        manager.setTenantContextKey(properties.getExecutor().getTenantContextKey());
+        return manager;
+    }
+
+    /**
+     * 执行结果长轮询 / SSE 端点（仅 Servlet Web 应用）
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.web.servlet.DispatcherServlet")
+    @ConditionalOnProperty(prefix = "nebula.rpc.async.notify", name = "endpoint-enabled", havingValue = "true")
+    static class AsyncRpcExecutionEndpointConfiguration {
 
-        log.info("[AsyncRpc] 配置执行管理器: storage={}", storage.getClass().getSimpleName());
-        return new AsyncRpcExecutionManager(storage, asyncRpcExecutor, objectMapper);
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(AsyncRpcExecutionManager.class)
+        public AsyncRpcExecutionController asyncRpcExecutionController(
+                AsyncRpcExecutionManager asyncRpcExecutionManager,
+                AsyncRpcProperties properties) {
+            AsyncRpcProperties.NotifyConfig config = properties.getNotify();
+            log.info("[AsyncRpc] 注册执行查询端点: /async-rpc/executions, defaultTimeout={}, maxTimeout={}",
+                    config.getDefaultTimeout(), config.getMaxTimeout());
+            return new AsyncRpcExecutionController(asyncRpcExecutionManager,
+                    config.getDefaultTimeout(), config.getMaxTimeout());
+        }
     }
 }
@@ -3,6 +3,8 @@ package io.nebula.autoconfigure.rpc;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * 异步RPC配置属性
  * 
@@ -33,10 +35,15 @@ public class AsyncRpcProperties {
      */
     private CleanupConfig cleanup = new CleanupConfig();
 
+    /**
+     * 完成通知配置
+     */
+    private NotifyConfig notify = new NotifyConfig();
+
     @Data
     public static class StorageConfig {
         /**
-         * 存储类型：nacos(默认) / redis / database
+         * 存储类型：nacos(默认) / redis / local
          */
         private String type = "nacos";
 
@@ -49,6 +56,11 @@ public class AsyncRpcProperties {
          * Redis配置
          */
         private RedisConfig redis = new RedisConfig();
+
+        /**
+         * 本地追加日志配置（当type=local时生效）
+         */
+        private LocalConfig local = new LocalConfig();
     }
 
     @Data
@@ -76,26 +88,97 @@ public class AsyncRpcProperties {
 
     @Data
     public static class RedisConfig {
+        /**
+         * 以下连接配置仅在容器中没有 RedisConnectionFactory 时生效
+         */
         private String host = "localhost";
         private int port = 6379;
         private String password;
         private int database = 0;
+
+        /**
+         * Key前缀，实际Key为 {keyPrefix}{appName}:{executionId}
+         */
+        private String keyPrefix = "nebula:async-rpc:";
+
+        /**
+         * 状态更新批量刷出间隔
+         */
+        private Duration flushInterval = Duration.ofMillis(50);
+
+        /**
+         * 单次管道写入的最大执行数，缓冲达到该值时立即刷出
+         */
+        private int batchSize = 256;
+
+        /**
+         * 写缓冲最多容纳的执行数，超出后新执行的更新改为同步写入
+         */
+        private int maxPendingWrites = 10_000;
+    }
+
+    @Data
+    public static class LocalConfig {
+        /**
+         * 日志目录
+         */
+        private String directory = "./data/async-rpc";
+
+        /**
+         * 单次组提交的最大记录数
+         */
+        private int batchSize = 512;
+
+        /**
+         * 写线程等待新记录的最长时间
+         */
+        private Duration flushInterval = Duration.ofMillis(10);
+
+        /**
+         * 每批写入后是否强制落盘（fsync）
+         */
+        private boolean fsync = false;
+
+        /**
+         * 日志行数超过存活记录数的倍数时触发压缩
+         */
+        private int compactRatio = 4;
     }
 
     @Data
     public static class ExecutorConfig {
         /**
-         * 核心线程数
+         * 执行器类型：virtual(默认，虚拟线程 + 分区限流 + 优先级队列) / pool(平台线程池)
+         */
+        private String type = "virtual";
+
+        /**
+         * 全局最大并发执行数（type=virtual）
+         */
+        private int maxConcurrency = 200;
+
+        /**
+         * 单个分区（租户 + 方法）最大并发执行数（type=virtual）
+         */
+        private int maxConcurrencyPerKey = 50;
+
+        /**
+         * 租户标识在 RpcContext 中的键（type=virtual）
+         */
+        private String tenantContextKey = "X-Tenant-Id";
+
+        /**
+         * 核心线程数（type=pool）
          */
         private int corePoolSize = 10;
 
         /**
-         * 最大线程数
+         * 最大线程数（type=pool）
          */
         private int maxPoolSize = 50;
 
         /**
-         * 队列容量
+         * 队列容量，排队任务超过该值时拒绝执行（type=virtual 时执行状态为 REJECTED）
          */
         private int queueCapacity = 200;
 
@@ -117,4 +200,29 @@ public class AsyncRpcProperties {
          */
         private int retentionDays = 7;
     }
+
+    @Data
+    public static class NotifyConfig {
+        /**
+         * 是否暴露长轮询 / SSE 查询端点（/async-rpc/executions），默认关闭
+         * <p>
+         * 端点未做鉴权，会返回执行参数、结果和异常堆栈，开启前需自行加上访问控制。
+         */
+        private boolean endpointEnabled = false;
+
+        /**
+         * 未指定 timeout 参数时的默认等待时间
+         */
+        private Duration defaultTimeout = Duration.ofSeconds(30);
+
+        /**
+         * 允许的最长等待时间
+         */
+        private Duration maxTimeout = Duration.ofSeconds(120);
+
+        /**
+         * 其他节点提交的执行的状态轮询间隔
+         */
+        private Duration remotePollInterval = Duration.ofSeconds(1);
+    }
 }
@@ -3,10 +3,12 @@ package io.nebula.autoconfigure.rpc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.nebula.core.common.diagnostic.NebulaComponentSummary;
 import io.nebula.core.common.diagnostic.SimpleComponentSummary;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
 import io.nebula.rpc.grpc.client.GrpcRpcClient;
 import io.nebula.rpc.grpc.config.GrpcRpcProperties;
 import io.nebula.rpc.grpc.server.GrpcRpcServer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -37,9 +39,12 @@ public class GrpcRpcAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(GrpcRpcServer.class)
     @ConditionalOnProperty(prefix = "nebula.rpc.grpc.server", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public GrpcRpcServer grpcRpcServer(ObjectMapper objectMapper, GrpcRpcProperties properties) {
+    public GrpcRpcServer grpcRpcServer(ObjectMapper objectMapper, GrpcRpcProperties properties,
+            ObjectProvider<RpcLatencyMetrics> latencyMetrics) {
         log.info("配置 gRPC RPC 服务器: port={}", properties.getServer().getPort());
-        return new GrpcRpcServer(objectMapper);
+        GrpcRpcServer server = new GrpcRpcServer(objectMapper);
+        server.setLatencyMetrics(latencyMetrics.getIfAvailable());
+        return server;
     }
 
     /**
@@ -50,9 +55,12 @@ public class GrpcRpcAutoConfiguration {
     @Primary // 如果 gRPC 启用，优先使用它
     @ConditionalOnMissingBean(name = "grpcRpcClient")
     @ConditionalOnProperty(prefix = "nebula.rpc.grpc.client", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public GrpcRpcClient grpcRpcClient(ObjectMapper objectMapper, GrpcRpcProperties properties) {
+    public GrpcRpcClient grpcRpcClient(ObjectMapper objectMapper, GrpcRpcProperties properties,
+            ObjectProvider<RpcLatencyMetrics> latencyMetrics) {
         log.info("配置 gRPC RPC 客户端: target={}", properties.getClient().getTarget());
-        return new GrpcRpcClient(objectMapper, properties.getClient());
+        GrpcRpcClient client = new GrpcRpcClient(objectMapper, properties.getClient());
+        client.setLatencyMetrics(latencyMetrics.getIfAvailable());
+        return client;
     }
 
     /**
@@ -4,12 +4,14 @@ import io.nebula.core.common.diagnostic.NebulaComponentSummary;
 import io.nebula.core.common.diagnostic.SimpleComponentSummary;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.nebula.rpc.core.client.RpcClient;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
 import io.nebula.rpc.http.client.HttpRpcClient;
 import io.nebula.rpc.http.config.HttpRpcProperties;
 import io.nebula.rpc.http.processor.RpcServiceRegistrationProcessor;
 import io.nebula.rpc.http.server.HttpRpcController;
 import io.nebula.rpc.http.server.HttpRpcServer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -93,6 +95,7 @@ public class HttpRpcAutoConfiguration {
             Executor rpcExecutor,
             HttpRpcProperties properties,
             ObjectMapper objectMapper,
+            ObjectProvider<RpcLatencyMetrics> latencyMetrics,
             @org.springframework.beans.factory.annotation.Value("${server.port:8080}") int serverPort) {
         String baseUrl = properties.getClient().getBaseUrl();
         if (baseUrl == null || baseUrl.isEmpty()) {
@@ -100,6 +103,7 @@ public class HttpRpcAutoConfiguration {
         }
 
         HttpRpcClient client = new HttpRpcClient(rpcRestClient, baseUrl, rpcExecutor, objectMapper);
+        client.setLatencyMetrics(latencyMetrics.getIfAvailable());
 
         log.info("配置HTTP RPC客户端: baseUrl={}", baseUrl);
 
@@ -136,9 +140,12 @@ public class HttpRpcAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(HttpRpcController.class)
     @ConditionalOnProperty(prefix = "nebula.rpc.http.server", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public HttpRpcController httpRpcController(HttpRpcServer httpRpcServer, ObjectMapper objectMapper) {
+    public HttpRpcController httpRpcController(HttpRpcServer httpRpcServer, ObjectMapper objectMapper,
+            ObjectProvider<RpcLatencyMetrics> latencyMetrics) {
         log.info("配置HTTP RPC控制器");
-        return new HttpRpcController(httpRpcServer, objectMapper);
+        HttpRpcController controller = new HttpRpcController(httpRpcServer, objectMapper);
+        controller.setLatencyMetrics(latencyMetrics.getIfAvailable());
+        return controller;
     }
 
     /**
@@ -0,0 +1,48 @@
+package io.nebula.autoconfigure.rpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import io.nebula.rpc.async.storage.local.LocalLogAsyncExecutionStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * 本地追加日志异步存储自动配置
+ * 
+ * 适用于单节点部署，无需任何外部依赖
+ * 
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "nebula.rpc.async.storage", name = "type", havingValue = "local")
+public class LocalAsyncStorageAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(AsyncExecutionStorage.class)
+    public AsyncExecutionStorage localLogAsyncExecutionStorage(
+            AsyncRpcProperties properties,
+            ObjectMapper objectMapper) {
+
+        AsyncRpcProperties.LocalConfig localConfig = properties.getStorage().getLocal();
+
+        log.info("[AsyncRpc] 配置本地日志存储: directory={}, batchSize={}, fsync={}",
+                localConfig.getDirectory(), localConfig.getBatchSize(), localConfig.isFsync());
+
+        return new LocalLogAsyncExecutionStorage(
+                objectMapper,
+                Paths.get(localConfig.getDirectory()),
+                localConfig.getBatchSize(),
+                localConfig.getFlushInterval(),
+                localConfig.isFsync(),
+                Duration.ofDays(properties.getCleanup().getRetentionDays()),
+                localConfig.getCompactRatio());
+    }
+}
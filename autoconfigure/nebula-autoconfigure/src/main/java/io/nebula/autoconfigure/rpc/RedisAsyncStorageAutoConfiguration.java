@@ -0,0 +1,87 @@
+package io.nebula.autoconfigure.rpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import io.nebula.rpc.async.storage.redis.RedisAsyncExecutionStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Redis 异步存储自动配置
+ * 
+ * 连接复用策略：
+ * - 如果容器中已有 RedisConnectionFactory，直接复用
+ * - 否则，按 nebula.rpc.async.storage.redis.* 创建独立连接
+ * 
+ * 记录过期时间取 nebula.rpc.async.cleanup.retention-days
+ * 
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+@Configuration
+@ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+@ConditionalOnProperty(prefix = "nebula.rpc.async.storage", name = "type", havingValue = "redis")
+public class RedisAsyncStorageAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(AsyncExecutionStorage.class)
+    public AsyncExecutionStorage redisAsyncExecutionStorage(
+            AsyncRpcProperties properties,
+            ObjectMapper objectMapper,
+            ObjectProvider<RedisConnectionFactory> connectionFactoryProvider,
+            Environment environment) {
+
+        AsyncRpcProperties.RedisConfig redisConfig = properties.getStorage().getRedis();
+        String appName = environment.getProperty("spring.application.name", "default-app");
+
+        RedisConnectionFactory connectionFactory = connectionFactoryProvider.getIfAvailable();
+        String connectionSource = "reused";
+        if (connectionFactory == null) {
+            connectionFactory = createConnectionFactory(redisConfig);
+            connectionSource = redisConfig.getHost() + ":" + redisConfig.getPort() + "/" + redisConfig.getDatabase();
+        }
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        String keyPrefix = redisConfig.getKeyPrefix() + appName + ":";
+        Duration ttl = Duration.ofDays(properties.getCleanup().getRetentionDays());
+
+        log.info("[AsyncRpc] 配置 Redis 存储: connection={}, keyPrefix={}, ttl={}",
+                connectionSource, keyPrefix, ttl);
+
+        return new RedisAsyncExecutionStorage(
+                redisTemplate,
+                objectMapper,
+                keyPrefix,
+                ttl,
+                redisConfig.getFlushInterval(),
+                redisConfig.getBatchSize(),
+                redisConfig.getMaxPendingWrites());
+    }
+
+    private RedisConnectionFactory createConnectionFactory(AsyncRpcProperties.RedisConfig redisConfig) {
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
+        config.setHostName(redisConfig.getHost());
+        config.setPort(redisConfig.getPort());
+        config.setDatabase(redisConfig.getDatabase());
+        if (redisConfig.getPassword() != null && !redisConfig.getPassword().isEmpty()) {
+            config.setPassword(redisConfig.getPassword());
+        }
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        return connectionFactory;
+    }
+}
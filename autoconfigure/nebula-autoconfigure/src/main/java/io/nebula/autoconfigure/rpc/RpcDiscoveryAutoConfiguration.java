@@ -1,14 +1,20 @@
 package io.nebula.autoconfigure.rpc;
 
 import io.nebula.autoconfigure.discovery.NacosDiscoveryAutoConfiguration;
+import io.nebula.discovery.core.HealthAwareLoadBalancer;
+import io.nebula.discovery.core.HealthCheckScheduler;
+import io.nebula.discovery.core.HealthChecker;
 import io.nebula.discovery.core.LoadBalanceStrategy;
 import io.nebula.discovery.core.LoadBalancer;
 import io.nebula.discovery.core.LoadBalancerFactory;
 import io.nebula.discovery.core.ServiceDiscovery;
+import io.nebula.discovery.core.ZoneAwareLoadBalancer;
 import io.nebula.rpc.core.client.RpcClient;
 import io.nebula.rpc.core.config.RpcDiscoveryProperties;
 import io.nebula.rpc.core.discovery.ServiceDiscoveryRpcClient;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -48,16 +54,75 @@ public class RpcDiscoveryAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public LoadBalancer loadBalancer(RpcDiscoveryProperties properties) {
+    public LoadBalancer loadBalancer(RpcDiscoveryProperties properties,
+                                     ObjectProvider<HealthCheckScheduler> healthCheckScheduler,
+                                     Environment environment) {
         LoadBalanceStrategy strategy = LoadBalanceStrategy.valueOf(
                 properties.getLoadBalanceStrategy().toUpperCase());
         
-        LoadBalancer loadBalancer = LoadBalancerFactory.getLoadBalancer(strategy);
+        LoadBalancer loadBalancer;
+        if (strategy == LoadBalanceStrategy.CONSISTENT_HASH) {
+            RpcDiscoveryProperties.ConsistentHash consistentHash = properties.getConsistentHash();
+            loadBalancer = LoadBalancerFactory.createConsistentHashLoadBalancer(
+                    consistentHash.getVirtualNodes(), consistentHash.getLoadFactor());
+            log.info("一致性哈希负载均衡: virtualNodes={}, loadFactor={}",
+                    consistentHash.getVirtualNodes(), consistentHash.getLoadFactor());
+        } else {
+            loadBalancer = LoadBalancerFactory.getLoadBalancer(strategy);
+        }
+        
+        HealthCheckScheduler scheduler = healthCheckScheduler.getIfAvailable();
+        if (scheduler != null) {
+            log.info("负载均衡器启用主动健康检查");
+            loadBalancer = new HealthAwareLoadBalancer(loadBalancer, scheduler);
+        }
+        
+        RpcDiscoveryProperties.Zone zone = properties.getZone();
+        if (zone.isEnabled()) {
+            String localZone = zone.getLocalZone();
+            if (localZone == null || localZone.isEmpty()) {
+                localZone = environment.getProperty("nebula.discovery.nacos.cluster-name", "DEFAULT");
+            }
+            ZoneAwareLoadBalancer.ZoneConfig zoneConfig = new ZoneAwareLoadBalancer.ZoneConfig();
+            zoneConfig.setMetadataKey(zone.getMetadataKey());
+            zoneConfig.setMinHealthyRatio(zone.getMinHealthyRatio());
+            zoneConfig.setMinLocalInstances(zone.getMinLocalInstances());
+            
+            log.info("负载均衡器启用区域感知路由: localZone={}, minHealthyRatio={}", localZone, zone.getMinHealthyRatio());
+            // 区域判定时叠加主动健康检查结果，避免本地区域实例已摘除仍被优先选择
+            loadBalancer = scheduler != null
+                    ? new ZoneAwareLoadBalancer(loadBalancer, localZone, zoneConfig,
+                            instance -> instance.isAvailable() && scheduler.isHealthy(instance))
+                    : new ZoneAwareLoadBalancer(loadBalancer, localZone, zoneConfig);
+        }
         
         log.info("配置负载均衡器: strategy={}", strategy);
         return loadBalancer;
     }
     
+    /**
+     * 主动健康检查调度器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "nebula.rpc.discovery.health-check", name = "enabled", havingValue = "true")
+    public HealthCheckScheduler healthCheckScheduler(RpcDiscoveryProperties properties) {
+        RpcDiscoveryProperties.HealthCheck healthCheck = properties.getHealthCheck();
+        HealthChecker checker = "http".equalsIgnoreCase(healthCheck.getType())
+                ? HealthChecker.http(healthCheck.getPath(), healthCheck.getTimeout())
+                : HealthChecker.tcp(healthCheck.getTimeout());
+        
+        HealthCheckScheduler.HealthCheckConfig config = new HealthCheckScheduler.HealthCheckConfig();
+        config.setMinInterval(healthCheck.getMinInterval());
+        config.setInitialInterval(healthCheck.getInitialInterval());
+        config.setMaxInterval(healthCheck.getMaxInterval());
+        config.setFailureThreshold(healthCheck.getFailureThreshold());
+        config.setSuccessThreshold(healthCheck.getSuccessThreshold());
+        config.setIdleTimeout(healthCheck.getIdleTimeout());
+        
+        return new HealthCheckScheduler(checker, config);
+    }
+    
     /**
      * 服务发现 RPC 客户端配置
      * 自动注入 @Primary 标记的 RpcClient Bean
@@ -70,10 +135,14 @@ public class RpcDiscoveryAutoConfiguration {
             ServiceDiscovery serviceDiscovery,
             LoadBalancer loadBalancer,
             RpcClient delegateRpcClient,  // 移除 @Qualifier，让 @Primary 生效
-            Environment environment) {
+            Environment environment,
+            ObjectProvider<RpcLatencyMetrics> latencyMetrics,
+            RpcDiscoveryProperties properties) {
         
         ServiceDiscoveryRpcClient client = new ServiceDiscoveryRpcClient(
                 serviceDiscovery, loadBalancer, delegateRpcClient, environment);
+        client.setLatencyMetrics(latencyMetrics.getIfAvailable());
+        client.setHashKeyName(properties.getConsistentHash().getHashKey());
         
         log.info("配置服务发现 RPC 客户端: serviceDiscovery={}, loadBalancer={}, delegateClient={}", 
                 serviceDiscovery.getClass().getSimpleName(),
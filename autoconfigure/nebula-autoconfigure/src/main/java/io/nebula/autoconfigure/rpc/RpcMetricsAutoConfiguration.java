@@ -0,0 +1,43 @@
+package io.nebula.autoconfigure.rpc;
+
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * RPC 分阶段延迟统计自动配置
+ * 必须在 HTTP/gRPC/服务发现 RPC 自动配置之前初始化，供客户端与服务端注入
+ * 
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+@AutoConfiguration
+@AutoConfigureBefore({HttpRpcAutoConfiguration.class, GrpcRpcAutoConfiguration.class,
+        RpcDiscoveryAutoConfiguration.class})
+@ConditionalOnClass(name = { "io.nebula.rpc.core.metrics.RpcLatencyMetrics",
+        "org.HdrHistogram.ConcurrentHistogram" })
+@EnableConfigurationProperties(RpcMetricsProperties.class)
+@ConditionalOnProperty(prefix = "nebula.rpc.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RpcMetricsAutoConfiguration {
+
+    /**
+     * 配置 RPC 分阶段延迟统计
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RpcLatencyMetrics rpcLatencyMetrics(RpcMetricsProperties properties) {
+        log.info("配置RPC分阶段延迟统计: sampleRate={}, highestTrackable={}, significantDigits={}, maxMethods={}",
+                properties.getSampleRate(), properties.getHighestTrackable(), properties.getSignificantDigits(),
+                properties.getMaxMethods());
+        return new RpcLatencyMetrics(true, properties.getSampleRate(),
+                properties.getHighestTrackable().toMillis(), properties.getSignificantDigits(),
+                properties.getMaxMethods());
+    }
+}
@@ -0,0 +1,42 @@
+package io.nebula.autoconfigure.rpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * RPC 分阶段延迟统计配置属性
+ * 
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "nebula.rpc.metrics")
+public class RpcMetricsProperties {
+
+    /**
+     * 是否启用分阶段延迟统计
+     */
+    private boolean enabled = true;
+
+    /**
+     * 采样率（0.0 ~ 1.0），未采样的调用只付出一次随机数比较的开销
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * 直方图可记录的最大延迟，超出部分按最大值记录
+     */
+    private Duration highestTrackable = Duration.ofSeconds(60);
+
+    /**
+     * 直方图有效数字位数（1 ~ 5），越大精度越高、内存占用越多
+     */
+    private int significantDigits = 2;
+
+    /**
+     * 客户端、服务端各自最多统计的方法数，超出后合并记录，防止请求中的任意服务名/方法名让直方图无限增长
+     */
+    private int maxMethods = 1000;
+}
@@ -0,0 +1,179 @@
+package io.nebula.benchmark.messaging;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.messaging.core.annotation.HandlerMethodInvoker;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.core.serializer.JsonMessageSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 消息处理方法分派基准
+ *
+ * <p>测量 {@code @MessageHandler} 方法每条消息的固定开销，处理方法本身只把载荷交给 {@link Blackhole}：
+ * <ul>
+ *     <li>{@code reflectiveInvoke} / {@code boundInvoke}：只比较调用方式，
+ *     原先每条消息 {@code makeAccessible} + {@link Method#invoke}，现在为注册时绑定的 {@link HandlerMethodInvoker}</li>
+ *     <li>{@code reflectiveDispatch} / {@code boundDispatch}：解码加调用。载荷为 {@code List<OrderItem>} 时，
+ *     原先只能解析出 {@code Object}，先解码为 {@code List<Map>} 再由处理方法 {@code convertValue} 转换一次；
+ *     现在按注册时解析出的泛型类型一次解码</li>
+ * </ul>
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar HandlerInvocationBenchmark -prof gc
+ * </pre>
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class HandlerInvocationBenchmark {
+
+    private static final int ITEM_COUNT = 8;
+
+    private ObjectMapper objectMapper;
+    private JsonMessageSerializer serializer;
+    private JavaType itemsType;
+    private byte[] body;
+    private Message<Object> message;
+
+    private OrderHandler handler;
+    private Method invokeMethod;
+    private Method legacyMethod;
+    private HandlerMethodInvoker invoker;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) throws Exception {
+        objectMapper = new ObjectMapper();
+        serializer = new JsonMessageSerializer(objectMapper);
+        itemsType = objectMapper.getTypeFactory().constructCollectionType(List.class, OrderItem.class);
+
+        List<OrderItem> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(new OrderItem("sku-" + i, i + 1, 100L * i));
+        }
+        body = serializer.serialize(items);
+        message = Message.of("bench.order", items);
+        message.setId("m-1");
+
+        handler = new OrderHandler(blackhole);
+        invokeMethod = OrderHandler.class.getDeclaredMethod("onItems", Message.class);
+        legacyMethod = OrderHandler.class.getDeclaredMethod("onRawItems", Message.class);
+        invoker = HandlerMethodInvoker.create(handler, invokeMethod);
+    }
+
+    @Benchmark
+    public void reflectiveInvoke() throws Exception {
+        ReflectionUtils.makeAccessible(invokeMethod);
+        invokeMethod.invoke(handler, message);
+    }
+
+    @Benchmark
+    public void boundInvoke() {
+        invoker.invoke(message);
+    }
+
+    @Benchmark
+    public void reflectiveDispatch() throws Exception {
+        Object payload = serializer.deserialize(body, Object.class);
+        ReflectionUtils.makeAccessible(legacyMethod);
+        legacyMethod.invoke(handler, payloadMessage(payload));
+    }
+
+    @Benchmark
+    public void boundDispatch() throws Exception {
+        Object payload = serializer.deserialize(body, invoker.getPayloadType());
+        invoker.invoke(payloadMessage(payload));
+    }
+
+    private Message<Object> payloadMessage(Object payload) {
+        return Message.<Object>builder()
+                .id(message.getId())
+                .topic(message.getTopic())
+                .payload(payload)
+                .build();
+    }
+
+    /**
+     * 模拟业务处理器：{@code onRawItems} 为只能拿到未类型化载荷时的写法
+     */
+    public class OrderHandler {
+
+        private final Blackhole blackhole;
+
+        OrderHandler(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        void onItems(Message<List<OrderItem>> message) {
+            blackhole.consume(message.getPayload().get(0).getSku());
+        }
+
+        void onRawItems(Message<Object> message) {
+            List<OrderItem> items = objectMapper.convertValue(message.getPayload(), itemsType);
+            blackhole.consume(items.get(0).getSku());
+        }
+    }
+
+    public static class OrderItem {
+
+        private String sku;
+        private int quantity;
+        private long price;
+
+        public OrderItem() {
+        }
+
+        OrderItem(String sku, int quantity, long price) {
+            this.sku = sku;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public long getPrice() {
+            return price;
+        }
+
+        public void setPrice(long price) {
+            this.price = price;
+        }
+    }
+}
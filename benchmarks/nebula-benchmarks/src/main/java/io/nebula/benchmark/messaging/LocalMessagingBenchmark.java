@@ -0,0 +1,147 @@
+package io.nebula.benchmark.messaging;
+
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.local.bus.LocalMessageBus;
+import io.nebula.messaging.local.ring.WaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内消息总线吞吐基准
+ *
+ * <p>生产者线程数由 {@code -t} 控制，每个订阅一个消费线程。消息预先构建并分配好 ID，
+ * 测量的只是发布 → 环形缓冲区 → 消费线程批量取出的路径。{@code arrayBlockingQueue} 为同样容量的
+ * {@link ArrayBlockingQueue} + {@code drainTo} 基线。
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LocalMessagingBenchmark -t 4 -p waitStrategy=SLEEPING,YIELDING,BUSY_SPIN
+ * </pre>
+ *
+ * <p>{@code YIELDING} / {@code BUSY_SPIN} 的消费线程会占满一个核，生产者线程数加订阅数不应超过可用核数。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class LocalMessagingBenchmark {
+
+    private static final String TOPIC = "bench.local";
+    private static final int MESSAGE_COUNT = 1024;
+    private static final int BATCH_SIZE = 64;
+    private static final int BUFFER_SIZE = 65536;
+
+    @Param({"BLOCKING", "SLEEPING", "YIELDING", "BUSY_SPIN"})
+    public WaitStrategy.Type waitStrategy;
+
+    @Param({"1"})
+    public int subscribers;
+
+    private LocalMessageBus bus;
+    private Message<?>[] messages;
+    private List<Message<?>> batch;
+    private final LongAdder consumed = new LongAdder();
+
+    private ArrayBlockingQueue<Message<?>> queue;
+    private Thread queueConsumer;
+    private volatile boolean queueRunning;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bus = new LocalMessageBus(BUFFER_SIZE, waitStrategy, 256, 1024, null);
+        for (int i = 0; i < subscribers; i++) {
+            bus.subscribe(TOPIC, TOPIC + "." + i, null, drained -> consumed.add(drained.size()));
+        }
+        messages = new Message<?>[MESSAGE_COUNT];
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            Message<String> message = Message.of(TOPIC, "payload-" + i);
+            message.setId("m-" + i);
+            messages[i] = message;
+        }
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(messages[i]);
+        }
+
+        queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        queueRunning = true;
+        queueConsumer = new Thread(() -> {
+            List<Message<?>> drained = new ArrayList<>(256);
+            while (queueRunning) {
+                try {
+                    Message<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    drained.add(first);
+                    queue.drainTo(drained, 255);
+                    consumed.add(drained.size());
+                    drained.clear();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "bench-queue-consumer");
+        queueConsumer.setDaemon(true);
+        queueConsumer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bus.close();
+        queueRunning = false;
+        queueConsumer.interrupt();
+    }
+
+    /**
+     * 每个生产者线程独立的消息游标
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        Message<?> next(Message<?>[] messages) {
+            Message<?> message = messages[next];
+            next = (next + 1) & (MESSAGE_COUNT - 1);
+            return message;
+        }
+    }
+
+    @Benchmark
+    public int publish(Cursor cursor) {
+        return bus.publish(cursor.next(messages));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int publishBatch() {
+        return bus.publishBatch(batch);
+    }
+
+    @Benchmark
+    public void arrayBlockingQueue(Cursor cursor) throws InterruptedException {
+        queue.put(cursor.next(messages));
+    }
+}
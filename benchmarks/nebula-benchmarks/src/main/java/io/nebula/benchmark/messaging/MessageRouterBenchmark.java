@@ -0,0 +1,150 @@
+package io.nebula.benchmark.messaging;
+
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.core.router.DefaultMessageRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 消息主题路由基准
+ *
+ * <p>对比 {@link DefaultMessageRouter} 的主题前缀树与原先逐条正则扫描的路由方式。
+ * 路由表由 {@code routeCount} 条通配符规则组成（{@code svc<i>.*.created}、{@code svc<i>.#} 等），
+ * 主题均匀命中各服务，因此正则扫描的平均代价随规则数线性增长，前缀树只与主题段数相关。
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar MessageRouterBenchmark -p routeCount=10,100,500 -prof gc
+ * </pre>
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MessageRouterBenchmark {
+
+    private static final int TOPIC_COUNT = 1024;
+    private static final int BATCH_SIZE = 256;
+
+    @Param({"10", "100", "500"})
+    public int routeCount;
+
+    private DefaultMessageRouter router;
+    private RegexScanRouter regexRouter;
+    private List<Message<?>> messages;
+    private List<Message<?>> batch;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        router = new DefaultMessageRouter();
+        regexRouter = new RegexScanRouter();
+        for (int i = 0; i < routeCount; i++) {
+            String[] patterns = {
+                    "svc" + i + ".*.created",
+                    "svc" + i + ".order.*",
+                    "svc" + i + ".#"
+            };
+            for (String pattern : patterns) {
+                router.addRoute(pattern, "queue." + pattern);
+                regexRouter.addRoute(pattern, "queue." + pattern);
+            }
+        }
+
+        String[] actions = {"created", "updated", "deleted"};
+        String[] entities = {"order", "user", "item.detail"};
+        messages = new ArrayList<>(TOPIC_COUNT);
+        for (int i = 0; i < TOPIC_COUNT; i++) {
+            String topic = "svc" + (i % routeCount) + "." + entities[i % entities.length] + "." + actions[i % actions.length];
+            messages.add(Message.of(topic, "payload"));
+        }
+        // 批量路由：少量主题重复出现，体现按主题分组的收益
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(messages.get(i % 16));
+        }
+    }
+
+    private Message<?> nextMessage() {
+        int index = cursor++;
+        if (cursor == TOPIC_COUNT) {
+            cursor = 0;
+        }
+        return messages.get(index);
+    }
+
+    @Benchmark
+    public String trie() {
+        return router.route(nextMessage());
+    }
+
+    @Benchmark
+    public String regexScan() {
+        return regexRouter.route(nextMessage().getTopic());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void trieBatch(Blackhole blackhole) {
+        blackhole.consume(router.routeBatch(batch));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void regexScanBatch(Blackhole blackhole) {
+        for (Message<?> message : batch) {
+            blackhole.consume(regexRouter.route(message.getTopic()));
+        }
+    }
+
+    /**
+     * 原先的路由方式：精确匹配失败后逐条运行预编译正则
+     */
+    private static final class RegexScanRouter {
+
+        private final Map<String, String> routes = new LinkedHashMap<>();
+        private final Map<String, Pattern> patterns = new LinkedHashMap<>();
+
+        void addRoute(String pattern, String destination) {
+            routes.put(pattern, destination);
+            String regex = pattern.replace(".", "\\.").replace("*", "[^.]*").replace("#", ".*");
+            patterns.put(pattern, Pattern.compile("^" + regex + "$"));
+        }
+
+        String route(String topic) {
+            String exact = routes.get(topic);
+            if (exact != null) {
+                return exact;
+            }
+            for (Map.Entry<String, Pattern> entry : patterns.entrySet()) {
+                if (entry.getValue().matcher(topic).matches()) {
+                    return routes.get(entry.getKey());
+                }
+            }
+            return null;
+        }
+    }
+}
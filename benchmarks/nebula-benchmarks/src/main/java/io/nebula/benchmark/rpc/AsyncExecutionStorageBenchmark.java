@@ -0,0 +1,143 @@
+package io.nebula.benchmark.rpc;
+
+import com.alibaba.nacos.api.NacosFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.execution.ExecutionStatus;
+import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import io.nebula.rpc.async.storage.local.LocalLogAsyncExecutionStorage;
+import io.nebula.rpc.async.storage.nacos.NacosAsyncExecutionStorage;
+import io.nebula.rpc.async.storage.redis.RedisAsyncExecutionStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步执行存储吞吐基准
+ *
+ * <p>每次操作模拟一次完整的异步执行生命周期：保存(PENDING) → RUNNING → 写入结果(SUCCESS) → 查询，
+ * 结果即每秒可承载的执行数。
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar AsyncExecutionStorageBenchmark -p backend=local,redis,nacos \
+ *      -jvmArgsAppend "-Dbench.redis.host=127.0.0.1 -Dbench.nacos.server-addr=127.0.0.1:8848"
+ * </pre>
+ *
+ * <p>redis / nacos 后端需要对应服务可用，默认只运行 local。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Threads(8)
+public class AsyncExecutionStorageBenchmark {
+
+    @Param({"local"})
+    private String backend;
+
+    @Param({"256"})
+    private int resultSize;
+
+    private AsyncExecutionStorage storage;
+    private ObjectMapper objectMapper;
+    private String resultJson;
+    private Path localDirectory;
+    private LettuceConnectionFactory redisConnectionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        resultJson = objectMapper.writeValueAsString("x".repeat(resultSize));
+
+        switch (backend) {
+            case "local" -> {
+                localDirectory = Files.createTempDirectory("nebula-async-bench");
+                storage = new LocalLogAsyncExecutionStorage(objectMapper, localDirectory,
+                        512, Duration.ofMillis(10), false, Duration.ofDays(1), 4);
+            }
+            case "redis" -> {
+                RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(
+                        System.getProperty("bench.redis.host", "127.0.0.1"),
+                        Integer.getInteger("bench.redis.port", 6379));
+                redisConnectionFactory = new LettuceConnectionFactory(config);
+                redisConnectionFactory.afterPropertiesSet();
+                storage = new RedisAsyncExecutionStorage(new StringRedisTemplate(redisConnectionFactory),
+                        objectMapper, "nebula:async-rpc:bench:", Duration.ofMinutes(10),
+                        Duration.ofMillis(50), 256, 10_000);
+            }
+            case "nacos" -> {
+                Properties properties = new Properties();
+                properties.setProperty("serverAddr", System.getProperty("bench.nacos.server-addr", "127.0.0.1:8848"));
+                storage = new NacosAsyncExecutionStorage(NacosFactory.createConfigService(properties),
+                        objectMapper, "bench");
+            }
+            default -> throw new IllegalArgumentException("未知存储后端: " + backend);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (storage instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+        if (redisConnectionFactory != null) {
+            redisConnectionFactory.destroy();
+        }
+        if (localDirectory != null) {
+            try (var files = Files.walk(localDirectory)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public void executionLifecycle(Blackhole blackhole) {
+        String executionId = UUID.randomUUID().toString().replace("-", "");
+        storage.save(AsyncRpcExecution.builder()
+                .executionId(executionId)
+                .interfaceName("io.nebula.benchmark.BenchService")
+                .methodName("process")
+                .status(ExecutionStatus.PENDING)
+                .arguments("[{\"id\":1}]")
+                .createTime(LocalDateTime.now())
+                .metadata(new HashMap<>())
+                .build());
+        storage.updateStatus(executionId, ExecutionStatus.RUNNING);
+        storage.updateResultAndStatus(executionId, resultJson, ExecutionStatus.SUCCESS);
+        blackhole.consume(storage.findById(executionId));
+    }
+}
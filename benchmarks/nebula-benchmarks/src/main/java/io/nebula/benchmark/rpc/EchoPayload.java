@@ -0,0 +1,19 @@
+package io.nebula.benchmark.rpc;
+
+/**
+ * 基准调用载荷
+ *
+ * @param id   请求序号
+ * @param body 指定大小的字符串载荷
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+public record EchoPayload(long id, String body) {
+
+    /**
+     * 创建指定字节数（ASCII）的载荷
+     */
+    public static EchoPayload ofSize(int size) {
+        return new EchoPayload(1L, "x".repeat(size));
+    }
+}
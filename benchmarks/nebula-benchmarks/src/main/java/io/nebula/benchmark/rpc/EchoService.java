@@ -0,0 +1,15 @@
+package io.nebula.benchmark.rpc;
+
+import io.nebula.rpc.core.annotation.RemoteService;
+
+/**
+ * 基准回显服务：编译期会生成 {@code EchoService_NebulaRpcStub}
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@RemoteService("nebula-benchmark-echo")
+public interface EchoService {
+
+    EchoPayload echo(EchoPayload payload);
+}
@@ -0,0 +1,18 @@
+package io.nebula.benchmark.rpc;
+
+import io.nebula.rpc.core.annotation.RpcService;
+
+/**
+ * 基准回显服务实现：原样返回载荷，服务端耗时只包含框架开销
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@RpcService(EchoService.class)
+public class EchoServiceImpl implements EchoService, PlainEchoService {
+
+    @Override
+    public EchoPayload echo(EchoPayload payload) {
+        return payload;
+    }
+}
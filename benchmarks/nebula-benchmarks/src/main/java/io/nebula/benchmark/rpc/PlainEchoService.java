@@ -0,0 +1,12 @@
+package io.nebula.benchmark.rpc;
+
+/**
+ * 与 {@link EchoService} 相同但未标注 {@code @RemoteService}，不生成桩类，用于测量动态代理回退路径
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+public interface PlainEchoService {
+
+    EchoPayload echo(EchoPayload payload);
+}
@@ -0,0 +1,72 @@
+package io.nebula.benchmark.rpc;
+
+import io.nebula.rpc.core.stub.RpcStubInvoker;
+import io.nebula.rpc.core.stub.RpcStubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RPC 客户端分派开销基准（不含网络与序列化）
+ *
+ * <p>对比直接调用、编译期生成的桩类与动态代理回退三条路径，调用入口原样返回第一个参数，
+ * 差值即客户端桩本身的开销。配合 {@code -prof gc} 可观察每次调用的分配字节数。
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar RpcStubDispatchBenchmark -prof gc
+ * </pre>
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RpcStubDispatchBenchmark {
+
+    private EchoService direct;
+    private EchoService stub;
+    private PlainEchoService proxy;
+    private EchoPayload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RpcStubInvoker invoker = (descriptor, args) -> args[0];
+        direct = new EchoServiceImpl();
+        stub = RpcStubs.createStub(EchoService.class, invoker);
+        if (stub == null || Proxy.isProxyClass(stub.getClass())) {
+            throw new IllegalStateException("未生成 EchoService 桩类，请确认 nebula-rpc-core 已加入注解处理器");
+        }
+        proxy = RpcStubs.create(PlainEchoService.class, invoker);
+        payload = EchoPayload.ofSize(64);
+    }
+
+    @Benchmark
+    public EchoPayload direct() {
+        return direct.echo(payload);
+    }
+
+    @Benchmark
+    public EchoPayload generatedStub() {
+        return stub.echo(payload);
+    }
+
+    @Benchmark
+    public EchoPayload dynamicProxy() {
+        return proxy.echo(payload);
+    }
+}
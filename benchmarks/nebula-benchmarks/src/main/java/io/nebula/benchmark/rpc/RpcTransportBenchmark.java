@@ -0,0 +1,196 @@
+package io.nebula.benchmark.rpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.nebula.rpc.core.client.RpcClient;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
+import io.nebula.rpc.core.stub.RpcStubs;
+import io.nebula.rpc.grpc.client.GrpcRpcClient;
+import io.nebula.rpc.grpc.config.GrpcRpcProperties;
+import io.nebula.rpc.grpc.server.GrpcRpcServer;
+import io.nebula.rpc.http.client.HttpRpcClient;
+import io.nebula.rpc.http.server.HttpRpcController;
+import io.nebula.rpc.http.server.HttpRpcServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RPC 端到端基准：客户端桩 → 序列化 → 回环网络 → 服务端分派 → 反序列化
+ *
+ * <ul>
+ *     <li>{@code http}：{@link HttpRpcClient} ⇄ 内嵌 Tomcat 上的 {@link HttpRpcController}</li>
+ *     <li>{@code grpc}：{@link GrpcRpcClient} ⇄ 回环 Netty 上的 {@link GrpcRpcServer}</li>
+ * </ul>
+ *
+ * <p>同时输出吞吐（ops/s）与采样延迟分布（p50/p99/p999），配合 {@code -prof gc} 查看每次调用的分配字节数：
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar RpcTransportBenchmark -prof gc \
+ *      -p transport=http,grpc -p payloadSize=64,1024,16384
+ * </pre>
+ *
+ * <p>{@code sampleRate} 大于 0 时在两端启用分阶段延迟统计，用于评估埋点开销。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Threads(4)
+public class RpcTransportBenchmark {
+
+    @Param({"http", "grpc"})
+    private String transport;
+
+    @Param({"64", "1024", "16384"})
+    private int payloadSize;
+
+    @Param({"0"})
+    private double sampleRate;
+
+    private ConfigurableApplicationContext httpContext;
+    private GenericApplicationContext grpcContext;
+    private Server grpcServer;
+    private RpcClient client;
+    private EchoService echoService;
+    private EchoPayload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        RpcLatencyMetrics latencyMetrics = sampleRate > 0
+                ? new RpcLatencyMetrics(true, sampleRate, 60_000, 2)
+                : RpcLatencyMetrics.DISABLED;
+
+        switch (transport) {
+            case "http" -> client = startHttp(latencyMetrics);
+            case "grpc" -> client = startGrpc(latencyMetrics);
+            default -> throw new IllegalArgumentException("未知传输方式: " + transport);
+        }
+        echoService = RpcStubs.create(EchoService.class, client::invoke);
+        payload = EchoPayload.ofSize(payloadSize);
+    }
+
+    private RpcClient startHttp(RpcLatencyMetrics latencyMetrics) {
+        httpContext = new SpringApplicationBuilder(HttpServerConfiguration.class)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.address=127.0.0.1", "server.port=0",
+                        "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        httpContext.getBean(HttpRpcController.class).setLatencyMetrics(latencyMetrics);
+        int port = ((ServletWebServerApplicationContext) httpContext).getWebServer().getPort();
+
+        // 与 HttpRpcAutoConfiguration 相同的客户端配置
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(5000);
+        factory.setReadTimeout(30000);
+        RestClient restClient = RestClient.builder().requestFactory(factory).build();
+        HttpRpcClient httpClient = new HttpRpcClient(restClient, "http://127.0.0.1:" + port,
+                Runnable::run, httpContext.getBean(ObjectMapper.class));
+        httpClient.setLatencyMetrics(latencyMetrics);
+        return httpClient;
+    }
+
+    private RpcClient startGrpc(RpcLatencyMetrics latencyMetrics) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        grpcContext = new GenericApplicationContext();
+        grpcContext.registerBean(EchoServiceImpl.class);
+        grpcContext.refresh();
+
+        GrpcRpcServer service = new GrpcRpcServer(objectMapper);
+        service.setApplicationContext(grpcContext);
+        service.setLatencyMetrics(latencyMetrics);
+        grpcServer = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+                .addService(service)
+                .build()
+                .start();
+
+        GrpcRpcProperties.ClientConfig clientConfig = new GrpcRpcProperties.ClientConfig();
+        clientConfig.setTarget("127.0.0.1:" + grpcServer.getPort());
+        GrpcRpcClient grpcClient = new GrpcRpcClient(objectMapper, clientConfig);
+        grpcClient.setLatencyMetrics(latencyMetrics);
+        return grpcClient;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (client != null) {
+            client.close();
+        }
+        if (grpcServer != null) {
+            grpcServer.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        if (grpcContext != null) {
+            grpcContext.close();
+        }
+        if (httpContext != null) {
+            httpContext.close();
+        }
+    }
+
+    @Benchmark
+    public EchoPayload echo() {
+        return echoService.echo(payload);
+    }
+
+    /**
+     * 只加载 Servlet 容器、Spring MVC 与 Jackson 的最小 HTTP RPC 服务端
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    static class HttpServerConfiguration {
+
+        @Bean
+        HttpRpcServer httpRpcServer() {
+            HttpRpcServer server = new HttpRpcServer();
+            server.registerService(EchoService.class, new EchoServiceImpl());
+            return server;
+        }
+
+        @Bean
+        HttpRpcController httpRpcController(HttpRpcServer httpRpcServer, ObjectMapper objectMapper) {
+            return new HttpRpcController(httpRpcServer, objectMapper);
+        }
+    }
+}
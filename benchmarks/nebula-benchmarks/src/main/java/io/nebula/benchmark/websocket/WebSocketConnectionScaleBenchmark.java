@@ -0,0 +1,251 @@
+package io.nebula.benchmark.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.websocket.core.message.WebSocketMessage;
+import io.nebula.websocket.core.session.DefaultSessionRegistry;
+import io.nebula.websocket.netty.NettyWebSocketMessageService;
+import io.nebula.websocket.netty.config.NettyWebSocketProperties;
+import io.nebula.websocket.netty.server.NettyTransport;
+import io.nebula.websocket.netty.server.NettyWebSocketServer;
+import io.nebula.websocket.netty.server.TransportType;
+import io.nebula.websocket.netty.session.FrameBroadcaster;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
+import io.netty.handler.codec.http.websocketx.WebSocketClientProtocolHandler;
+import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebSocket 连接规模基准：大量空闲连接 + 广播风暴
+ *
+ * <p>在基准进程内启动 {@link NettyWebSocketServer}，用 Netty 客户端建立 {@code connections} 个 WebSocket 连接。
+ * 建连结束后输出建连耗时与堆内存占用（空闲连接成本），随后测量：
+ * <ul>
+ *     <li>{@code broadcast}：一次广播从发出到全部连接收到的耗时</li>
+ *     <li>{@code broadcastStorm}：连续发出 {@value #STORM_SIZE} 次广播，按单次广播摊分的耗时</li>
+ * </ul>
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar WebSocketConnectionScaleBenchmark \
+ *      -p transport=NIO,EPOLL -p connections=100000 -p reusePort=true
+ * </pre>
+ *
+ * <p>客户端轮流绑定 {@code 127.0.0.1} ~ {@code 127.0.0.N} 作为源地址以突破单个源地址的临时端口数限制，
+ * 只适用于整个 127/8 都是回环地址的 Linux。10 万连接需要把 {@code ulimit -n} 调到 25 万以上（客户端与服务端各占一个描述符）。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WebSocketConnectionScaleBenchmark {
+
+    private static final int STORM_SIZE = 16;
+    private static final int CONNECT_BATCH = 1000;
+    private static final int CONNECTIONS_PER_SOURCE_ADDRESS = 25_000;
+    private static final long DELIVERY_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    @Param({"AUTO"})
+    public TransportType transport;
+
+    @Param({"10000"})
+    public int connections;
+
+    @Param({"256"})
+    public int payloadSize;
+
+    @Param({"false"})
+    public boolean reusePort;
+
+    @Param({"19090"})
+    public int port;
+
+    private NettyWebSocketServer server;
+    private NettyWebSocketMessageService messageService;
+    private EventLoopGroup clientGroup;
+    private WebSocketMessage<String> message;
+
+    private final LongAdder received = new LongAdder();
+    private long expected;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        NettyWebSocketProperties properties = new NettyWebSocketProperties();
+        properties.setPort(port);
+        properties.setBossThreads(reusePort ? Math.max(1, Runtime.getRuntime().availableProcessors() / 4) : 1);
+        properties.setBacklog(65535);
+        properties.setReaderIdleTime(0);
+        properties.getTransport().setType(transport);
+        properties.getTransport().setReusePort(reusePort);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        DefaultSessionRegistry sessionRegistry = new DefaultSessionRegistry();
+        ByteBufAllocator allocator = NettyTransport.createAllocator(properties.getAllocator());
+        server = new NettyWebSocketServer(properties, sessionRegistry, objectMapper,
+                Collections.emptyList(), Collections.emptyMap(), allocator);
+        server.start();
+        messageService = new NettyWebSocketMessageService(sessionRegistry, null,
+                new FrameBroadcaster(objectMapper, allocator));
+
+        message = WebSocketMessage.of("bench", "x".repeat(payloadSize));
+        connectClients();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (clientGroup != null) {
+            clientGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public int broadcast() {
+        int sent = messageService.broadcast(message);
+        awaitDelivered(connections);
+        return sent;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STORM_SIZE)
+    public int broadcastStorm() {
+        int sent = 0;
+        for (int i = 0; i < STORM_SIZE; i++) {
+            sent += messageService.broadcast(message);
+        }
+        awaitDelivered((long) connections * STORM_SIZE);
+        return sent;
+    }
+
+    private void awaitDelivered(long count) {
+        expected += count;
+        long deadline = System.nanoTime() + DELIVERY_TIMEOUT_NANOS;
+        while (received.sum() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("广播未在超时时间内送达: received=" + received.sum() + ", expected=" + expected);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void connectClients() throws Exception {
+        URI uri = new URI("ws://127.0.0.1:" + port + "/ws");
+        CountDownLatch handshakes = new CountDownLatch(connections);
+        ClientHandler handler = new ClientHandler(handshakes, received);
+
+        clientGroup = new NioEventLoopGroup();
+        Bootstrap bootstrap = new Bootstrap()
+                .group(clientGroup)
+                .channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(
+                                new HttpClientCodec(),
+                                new HttpObjectAggregator(65536),
+                                new WebSocketClientProtocolHandler(WebSocketClientHandshakerFactory.newHandshaker(
+                                        uri, WebSocketVersion.V13, null, false, EmptyHttpHeaders.INSTANCE, 65536)),
+                                handler);
+                    }
+                });
+
+        InetSocketAddress remote = new InetSocketAddress("127.0.0.1", port);
+        int sourceAddresses = (connections + CONNECTIONS_PER_SOURCE_ADDRESS - 1) / CONNECTIONS_PER_SOURCE_ADDRESS;
+        long start = System.nanoTime();
+        for (int offset = 0; offset < connections; offset += CONNECT_BATCH) {
+            int end = Math.min(connections, offset + CONNECT_BATCH);
+            List<ChannelFuture> batch = new ArrayList<>(end - offset);
+            for (int i = offset; i < end; i++) {
+                InetSocketAddress local = new InetSocketAddress("127.0.0." + (1 + i % sourceAddresses), 0);
+                batch.add(bootstrap.connect(remote, local));
+            }
+            for (ChannelFuture future : batch) {
+                future.sync();
+            }
+        }
+        if (!handshakes.await(120, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("握手未完成: " + (connections - handshakes.getCount()) + "/" + connections);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        System.out.printf("%n[%s] %d 个空闲连接建立耗时 %d ms，堆占用 %d MB（含客户端）%n",
+                transport, connections, elapsedMillis, usedMb);
+    }
+
+    /**
+     * 客户端：统计握手完成数与收到的文本帧数
+     */
+    @ChannelHandler.Sharable
+    static final class ClientHandler extends ChannelInboundHandlerAdapter {
+
+        private final CountDownLatch handshakes;
+        private final LongAdder received;
+
+        ClientHandler(CountDownLatch handshakes, LongAdder received) {
+            this.handshakes = handshakes;
+            this.received = received;
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt == WebSocketClientProtocolHandler.ClientHandshakeStateEvent.HANDSHAKE_COMPLETE) {
+                handshakes.countDown();
+            }
+            super.userEventTriggered(ctx, evt);
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof TextWebSocketFrame) {
+                received.increment();
+            }
+            ReferenceCountUtil.release(msg);
+        }
+    }
+}
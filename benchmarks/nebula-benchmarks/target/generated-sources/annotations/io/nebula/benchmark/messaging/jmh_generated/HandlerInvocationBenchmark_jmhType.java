@@ -0,0 +1,4 @@
+package io.nebula.benchmark.messaging.jmh_generated;
+public class HandlerInvocationBenchmark_jmhType extends HandlerInvocationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.nebula.benchmark.messaging.jmh_generated;
+public class LocalMessagingBenchmark_Cursor_jmhType extends LocalMessagingBenchmark_Cursor_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.nebula.benchmark.messaging.jmh_generated;
+public class MessageRouterBenchmark_jmhType extends MessageRouterBenchmark_jmhType_B3 {
+}
+
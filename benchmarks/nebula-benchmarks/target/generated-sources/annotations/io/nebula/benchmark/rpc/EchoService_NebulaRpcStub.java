@@ -0,0 +1,30 @@
+package io.nebula.benchmark.rpc;
+
+import io.nebula.rpc.core.stub.RpcMethodDescriptor;
+import io.nebula.rpc.core.stub.RpcStubInvoker;
+
+/**
+ * io.nebula.benchmark.rpc.EchoService 的RPC桩类，由 RpcStubProcessor 生成，请勿修改
+ */
+@javax.annotation.processing.Generated("io.nebula.rpc.core.stub.RpcStubProcessor")
+@SuppressWarnings({"unchecked", "rawtypes", "deprecation", "removal"})
+public final class EchoService_NebulaRpcStub implements io.nebula.benchmark.rpc.EchoService {
+
+    private static final RpcMethodDescriptor M0 = RpcMethodDescriptor.of(io.nebula.benchmark.rpc.EchoService.class, 0, "echo", io.nebula.benchmark.rpc.EchoPayload.class);
+
+    private final RpcStubInvoker invoker;
+
+    public EchoService_NebulaRpcStub(RpcStubInvoker invoker) {
+        this.invoker = invoker;
+    }
+
+    @Override
+    public io.nebula.benchmark.rpc.EchoPayload echo(io.nebula.benchmark.rpc.EchoPayload arg0) {
+        return (io.nebula.benchmark.rpc.EchoPayload) invoker.invoke(M0, new Object[]{arg0});
+    }
+
+    @Override
+    public String toString() {
+        return "EchoService_NebulaRpcStub";
+    }
+}
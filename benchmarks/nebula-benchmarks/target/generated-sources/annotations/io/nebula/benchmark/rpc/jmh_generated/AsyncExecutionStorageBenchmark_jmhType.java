@@ -0,0 +1,4 @@
+package io.nebula.benchmark.rpc.jmh_generated;
+public class AsyncExecutionStorageBenchmark_jmhType extends AsyncExecutionStorageBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.nebula.benchmark.rpc.jmh_generated;
+public class RpcStubDispatchBenchmark_jmhType extends RpcStubDispatchBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.nebula.benchmark.rpc.jmh_generated;
+public class RpcTransportBenchmark_jmhType extends RpcTransportBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.nebula.benchmark.websocket.jmh_generated;
+public class WebSocketConnectionScaleBenchmark_jmhType extends WebSocketConnectionScaleBenchmark_jmhType_B3 {
+}
+
@@ -124,6 +124,7 @@ class LeastActiveLoadBalancer implements LoadBalancer {
      * 
      * @param instance 服务实例
      */
+    @Override
     public void completeCall(ServiceInstance instance) {
         if (instance != null) {
             activeCounts.computeIfAbsent(instance.getUri(), k -> new AtomicLong(0)).decrementAndGet();
@@ -131,125 +132,6 @@ class LeastActiveLoadBalancer implements LoadBalancer {
     }
 }
 
-/**
- * 一致性哈希负载均衡器
- */
-class ConsistentHashLoadBalancer implements LoadBalancer {
-    private final int virtualNodes = 160; // 虚拟节点数
-    private final TreeMap<Long, ServiceInstance> hashRing = new TreeMap<>();
-    private volatile List<ServiceInstance> lastInstances = new ArrayList<>();
-    
-    @Override
-    public ServiceInstance choose(List<ServiceInstance> instances) {
-        if (instances == null || instances.isEmpty()) {
-            return null;
-        }
-        
-        // 过滤出可用实例
-        List<ServiceInstance> availableInstances = instances.stream()
-                .filter(ServiceInstance::isAvailable)
-                .toList();
-        
-        if (availableInstances.isEmpty()) {
-            return null;
-        }
-        
-        if (availableInstances.size() == 1) {
-            return availableInstances.get(0);
-        }
-        
-        // 如果实例列表发生变化，重建哈希环
-        if (!availableInstances.equals(lastInstances)) {
-            buildHashRing(availableInstances);
-            lastInstances = new ArrayList<>(availableInstances);
-        }
-        
-        return chooseFromHashRing();
-    }
-    
-    @Override
-    public ServiceInstance choose(List<ServiceInstance> instances, LoadBalanceContext context) {
-        if (instances == null || instances.isEmpty()) {
-            return null;
-        }
-        
-        // 过滤出可用实例
-        List<ServiceInstance> availableInstances = instances.stream()
-                .filter(ServiceInstance::isAvailable)
-                .toList();
-        
-        if (availableInstances.isEmpty()) {
-            return null;
-        }
-        
-        if (availableInstances.size() == 1) {
-            return availableInstances.get(0);
-        }
-        
-        // 如果实例列表发生变化，重建哈希环
-        if (!availableInstances.equals(lastInstances)) {
-            buildHashRing(availableInstances);
-            lastInstances = new ArrayList<>(availableInstances);
-        }
-        
-        return chooseFromHashRing(context);
-    }
-    
-    private void buildHashRing(List<ServiceInstance> instances) {
-        hashRing.clear();
-        
-        for (ServiceInstance instance : instances) {
-            for (int i = 0; i < virtualNodes; i++) {
-                String virtualNodeKey = instance.getUri() + "#" + i;
-                long hash = hash(virtualNodeKey);
-                hashRing.put(hash, instance);
-            }
-        }
-    }
-    
-    private ServiceInstance chooseFromHashRing() {
-        // 使用随机键进行选择
-        String randomKey = "random#" + ThreadLocalRandom.current().nextLong();
-        return chooseFromHashRing(randomKey);
-    }
-    
-    private ServiceInstance chooseFromHashRing(LoadBalanceContext context) {
-        // 使用请求ID或用户ID作为哈希键
-        String hashKey = context.getRequestId();
-        if (hashKey == null || hashKey.isEmpty()) {
-            hashKey = context.getUserId();
-        }
-        if (hashKey == null || hashKey.isEmpty()) {
-            hashKey = "random#" + ThreadLocalRandom.current().nextLong();
-        }
-        
-        return chooseFromHashRing(hashKey);
-    }
-    
-    private ServiceInstance chooseFromHashRing(String key) {
-        if (hashRing.isEmpty()) {
-            return null;
-        }
-        
-        long hash = hash(key);
-        
-        // 找到第一个大于等于该哈希值的节点
-        Map.Entry<Long, ServiceInstance> entry = hashRing.ceilingEntry(hash);
-        
-        // 如果没有找到，选择第一个节点（形成环）
-        if (entry == null) {
-            entry = hashRing.firstEntry();
-        }
-        
-        return entry.getValue();
-    }
-    
-    private long hash(String key) {
-        // 简单的哈希函数，实际项目中可以使用更好的哈希算法如MurmurHash
-        return key.hashCode() & 0x7fffffffL;
-    }
-}
-
 /**
  * 最快响应负载均衡器
  */
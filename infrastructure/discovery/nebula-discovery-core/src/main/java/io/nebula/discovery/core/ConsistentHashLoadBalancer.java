@@ -0,0 +1,448 @@
+package io.nebula.discovery.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一致性哈希负载均衡器
+ * <p>
+ * 哈希环是不可变快照：虚拟节点哈希存放在有序 {@code long[]}，所属实例下标存放在并行的 {@code int[]}，
+ * 选择时二分查找，不分配对象。环按可用实例的成员指纹缓存，成员变化时保留存活实例的虚拟节点，
+ * 只为新增实例计算哈希后归并，扩缩容只迁移新增/下线实例对应的键。
+ * 同一个实例列表对象再次传入时只比对各实例的可用状态，不再计算端点哈希；列表视为快照，
+ * 调用方不应原地替换其中的元素。
+ * <p>
+ * 一个负载均衡器实例通常被所有服务共用，因此哈希环、最近一次的实例列表与在途计数都按
+ * {@link ServiceInstance#getServiceName() 服务名} 分别保存：交替调用不同服务不会互相触发重建，
+ * 有界负载的上限也只按本服务的在途调用计算。
+ * <p>
+ * {@code loadFactor > 1} 时启用有界负载（Consistent Hashing with Bounded Loads）：
+ * 每个实例的在途请求数不超过 {@code ceil(loadFactor * (总在途数 + 1) / 实例数)}，
+ * 超出时沿环顺时针选择下一个实例。启用后调用方需在调用结束时调用 {@link #completeCall(ServiceInstance)}。
+ * {@link LoadBalancerFactory} 创建的实例默认启用，系数为 {@value #DEFAULT_LOAD_FACTOR}。
+ */
+@Slf4j
+public class ConsistentHashLoadBalancer implements LoadBalancer {
+
+    /**
+     * 默认每个实例的虚拟节点数
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    /**
+     * 默认有界负载系数
+     */
+    public static final double DEFAULT_LOAD_FACTOR = 1.25;
+
+    private final int virtualNodes;
+    private final double loadFactor;
+    private final Map<String, ServiceState> services = new ConcurrentHashMap<>();
+
+    public ConsistentHashLoadBalancer() {
+        this(DEFAULT_VIRTUAL_NODES, 0);
+    }
+
+    /**
+     * @param virtualNodes 每个实例的虚拟节点数
+     * @param loadFactor 有界负载系数，必须大于1；为0时不限制负载
+     */
+    public ConsistentHashLoadBalancer(int virtualNodes, double loadFactor) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        if (loadFactor != 0 && !(loadFactor > 1)) {
+            throw new IllegalArgumentException("loadFactor must be greater than 1, or 0 to disable bounded load: " + loadFactor);
+        }
+        this.virtualNodes = virtualNodes;
+        this.loadFactor = loadFactor;
+    }
+
+    @Override
+    public ServiceInstance choose(List<ServiceInstance> instances) {
+        return select(instances, ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public ServiceInstance choose(List<ServiceInstance> instances, LoadBalanceContext context) {
+        // 使用请求ID或用户ID作为哈希键
+        String key = context != null ? context.getRequestId() : null;
+        if ((key == null || key.isEmpty()) && context != null) {
+            key = context.getUserId();
+        }
+        return choose(instances, key);
+    }
+
+    /**
+     * 按哈希键选择实例，相同的键在成员不变时总是落到同一实例
+     *
+     * @param instances 服务实例列表
+     * @param key 哈希键，为空时随机选择
+     * @return 选中的服务实例，如果没有可用实例返回null
+     */
+    public ServiceInstance choose(List<ServiceInstance> instances, String key) {
+        long hash = key == null || key.isEmpty() ? ThreadLocalRandom.current().nextLong() : hash(key);
+        return select(instances, hash);
+    }
+
+    /**
+     * 调用完成后减少在途计数（仅有界负载模式需要）
+     *
+     * @param instance 服务实例
+     */
+    @Override
+    public void completeCall(ServiceInstance instance) {
+        if (loadFactor <= 0 || instance == null) {
+            return;
+        }
+        ServiceState state = services.get(serviceKey(instance));
+        if (state == null) {
+            return;
+        }
+        Ring current = state.ring;
+        int member = current.indexOf(endpointHash(instance));
+        if (member >= 0) {
+            current.loads[member].getAndUpdate(ConsistentHashLoadBalancer::decrementToZero);
+        }
+        state.totalLoad.getAndUpdate(ConsistentHashLoadBalancer::decrementToZero);
+    }
+
+    private ServiceInstance select(List<ServiceInstance> instances, long hash) {
+        if (instances == null || instances.isEmpty()) {
+            return null;
+        }
+
+        ServiceState state = stateFor(instances);
+        Ring current = state.ringFor(instances, virtualNodes);
+        if (current.members.length == 0) {
+            return null;
+        }
+
+        int point = current.locate(hash);
+        if (loadFactor <= 0) {
+            return current.members[current.owners[point]];
+        }
+        return acquire(state.totalLoad, current, point);
+    }
+
+    /**
+     * 列表中的实例属于同一个服务，以第一个实例的服务名定位状态
+     */
+    private ServiceState stateFor(List<ServiceInstance> instances) {
+        String key = serviceKey(instances.get(0));
+        ServiceState state = services.get(key);
+        return state != null ? state : services.computeIfAbsent(key, k -> new ServiceState());
+    }
+
+    private static String serviceKey(ServiceInstance instance) {
+        String serviceName = instance.getServiceName();
+        return serviceName != null ? serviceName : "";
+    }
+
+    /**
+     * 有界负载选择：从命中位置顺时针找到第一个未超过上限的实例
+     */
+    private ServiceInstance acquire(AtomicInteger totalLoad, Ring current, int point) {
+        int limit = (int) Math.ceil(loadFactor * (totalLoad.get() + 1) / current.members.length);
+        int length = current.owners.length;
+        for (int i = 0, index = point; i < length; i++, index = index + 1 == length ? 0 : index + 1) {
+            int owner = current.owners[index];
+            AtomicInteger load = current.loads[owner];
+            if (load.incrementAndGet() <= limit) {
+                totalLoad.incrementAndGet();
+                return current.members[owner];
+            }
+            load.decrementAndGet();
+        }
+
+        // 并发竞争下所有实例都已达上限，退回命中实例
+        int owner = current.owners[point];
+        current.loads[owner].incrementAndGet();
+        totalLoad.incrementAndGet();
+        return current.members[owner];
+    }
+
+    private static int decrementToZero(int value) {
+        return value > 0 ? value - 1 : 0;
+    }
+
+    /**
+     * 64位 FNV-1a 加 murmur3 finalizer，逐字符计算，不分配对象
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    /**
+     * 实例端点（ip:port）哈希，等价于对 {@link ServiceInstance#getUri()} 求哈希但不拼接字符串
+     */
+    static long endpointHash(ServiceInstance instance) {
+        long h = 0xcbf29ce484222325L;
+        String ip = instance.getIp();
+        if (ip != null) {
+            for (int i = 0, length = ip.length(); i < length; i++) {
+                h ^= ip.charAt(i);
+                h *= 0x100000001b3L;
+            }
+        }
+        h ^= instance.getPort();
+        h *= 0x100000001b3L;
+        return mix64(h);
+    }
+
+    static long virtualNodeHash(long endpointHash, int index) {
+        return mix64(endpointHash + (index + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * 单个服务的哈希环、最近一次校验过的实例列表与在途调用总数
+     */
+    private static final class ServiceState {
+
+        final AtomicInteger totalLoad = new AtomicInteger();
+        volatile Ring ring = Ring.EMPTY;
+        volatile Source lastSource;
+
+        Ring ringFor(List<ServiceInstance> instances, int virtualNodes) {
+            Ring current = ring;
+            Source source = lastSource;
+            if (source != null && source.ring == current && source.matches(instances)) {
+                return current;
+            }
+            if (!current.matches(instances)) {
+                synchronized (this) {
+                    current = ring;
+                    if (!current.matches(instances)) {
+                        current = current.rebuild(instances, virtualNodes);
+                        ring = current;
+                    }
+                }
+            }
+            lastSource = Source.of(instances, current);
+            return current;
+        }
+    }
+
+    /**
+     * 最近一次通过成员指纹校验的实例列表（按引用）及当时各实例的可用状态
+     */
+    private static final class Source {
+
+        final List<ServiceInstance> instances;
+        final boolean[] available;
+        final Ring ring;
+
+        private Source(List<ServiceInstance> instances, boolean[] available, Ring ring) {
+            this.instances = instances;
+            this.available = available;
+            this.ring = ring;
+        }
+
+        static Source of(List<ServiceInstance> instances, Ring ring) {
+            boolean[] available = new boolean[instances.size()];
+            int i = 0;
+            for (ServiceInstance instance : instances) {
+                available[i++] = instance.isAvailable();
+            }
+            return new Source(instances, available, ring);
+        }
+
+        /**
+         * 同一列表对象且各实例可用状态未变化
+         */
+        boolean matches(List<ServiceInstance> candidate) {
+            if (candidate != instances || candidate.size() != available.length) {
+                return false;
+            }
+            int i = 0;
+            for (ServiceInstance instance : candidate) {
+                if (instance.isAvailable() != available[i++]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 哈希环快照
+     */
+    private static final class Ring {
+
+        static final Ring EMPTY = new Ring(new ServiceInstance[0], new long[0], new AtomicInteger[0],
+                new long[0], new int[0], -1, 0, 0);
+
+        /**
+         * 按端点哈希排序的去重实例
+         */
+        final ServiceInstance[] members;
+        final long[] endpoints;
+        final AtomicInteger[] loads;
+
+        /**
+         * 有序的虚拟节点哈希及其所属实例下标
+         */
+        final long[] hashes;
+        final int[] owners;
+
+        /**
+         * 构建时输入（可用实例，含重复）的成员指纹
+         */
+        final int sourceCount;
+        final long sourceSum;
+        final long sourceXor;
+
+        Ring(ServiceInstance[] members, long[] endpoints, AtomicInteger[] loads,
+             long[] hashes, int[] owners, int sourceCount, long sourceSum, long sourceXor) {
+            this.members = members;
+            this.endpoints = endpoints;
+            this.loads = loads;
+            this.hashes = hashes;
+            this.owners = owners;
+            this.sourceCount = sourceCount;
+            this.sourceSum = sourceSum;
+            this.sourceXor = sourceXor;
+        }
+
+        /**
+         * 可用实例的端点集合是否与构建时一致（与顺序无关，不分配对象）
+         */
+        boolean matches(List<ServiceInstance> instances) {
+            int count = 0;
+            long sum = 0;
+            long xor = 0;
+            for (ServiceInstance instance : instances) {
+                if (!instance.isAvailable()) {
+                    continue;
+                }
+                long h = endpointHash(instance);
+                count++;
+                sum += h;
+                xor ^= h;
+            }
+            return count == sourceCount && sum == sourceSum && xor == sourceXor;
+        }
+
+        int locate(long hash) {
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            // 超过最大哈希时回到环首
+            return index == hashes.length ? 0 : index;
+        }
+
+        int indexOf(long endpointHash) {
+            return Arrays.binarySearch(endpoints, endpointHash);
+        }
+
+        /**
+         * 增量重建：保留存活实例的虚拟节点与在途计数，只为新增实例生成虚拟节点后归并
+         */
+        Ring rebuild(List<ServiceInstance> instances, int virtualNodes) {
+            TreeMap<Long, ServiceInstance> available = new TreeMap<>();
+            int count = 0;
+            long sum = 0;
+            long xor = 0;
+            for (ServiceInstance instance : instances) {
+                if (!instance.isAvailable()) {
+                    continue;
+                }
+                long h = endpointHash(instance);
+                count++;
+                sum += h;
+                xor ^= h;
+                available.put(h, instance);
+            }
+
+            int size = available.size();
+            ServiceInstance[] newMembers = new ServiceInstance[size];
+            long[] newEndpoints = new long[size];
+            AtomicInteger[] newLoads = new AtomicInteger[size];
+            int[] oldToNew = new int[members.length];
+            Arrays.fill(oldToNew, -1);
+            List<Integer> added = new ArrayList<>();
+
+            int m = 0;
+            for (Map.Entry<Long, ServiceInstance> entry : available.entrySet()) {
+                newMembers[m] = entry.getValue();
+                newEndpoints[m] = entry.getKey();
+                int old = indexOf(entry.getKey());
+                if (old >= 0) {
+                    oldToNew[old] = m;
+                    newLoads[m] = loads[old];
+                } else {
+                    newLoads[m] = new AtomicInteger();
+                    added.add(m);
+                }
+                m++;
+            }
+
+            // 存活实例的虚拟节点：原环已有序，过滤后仍有序
+            long[] keptHashes = new long[hashes.length];
+            int[] keptOwners = new int[hashes.length];
+            int kept = 0;
+            for (int i = 0; i < hashes.length; i++) {
+                int owner = oldToNew[owners[i]];
+                if (owner >= 0) {
+                    keptHashes[kept] = hashes[i];
+                    keptOwners[kept] = owner;
+                    kept++;
+                }
+            }
+
+            // 新增实例的虚拟节点
+            Map<Long, Integer> addedOwners = new HashMap<>(added.size() * virtualNodes * 2);
+            for (int owner : added) {
+                for (int i = 0; i < virtualNodes; i++) {
+                    addedOwners.putIfAbsent(virtualNodeHash(newEndpoints[owner], i), owner);
+                }
+            }
+            long[] addedHashes = new long[addedOwners.size()];
+            int a = 0;
+            for (Long h : addedOwners.keySet()) {
+                addedHashes[a++] = h;
+            }
+            Arrays.sort(addedHashes);
+
+            // 归并两段有序虚拟节点
+            long[] newHashes = new long[kept + addedHashes.length];
+            int[] newOwners = new int[newHashes.length];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < newHashes.length; k++) {
+                if (j >= addedHashes.length || (i < kept && keptHashes[i] <= addedHashes[j])) {
+                    newHashes[k] = keptHashes[i];
+                    newOwners[k] = keptOwners[i++];
+                } else {
+                    newHashes[k] = addedHashes[j];
+                    newOwners[k] = addedOwners.get(addedHashes[j++]);
+                }
+            }
+
+            log.debug("重建一致性哈希环: members={}, added={}, removed={}, virtualNodes={}",
+                    size, added.size(), members.length - (size - added.size()), newHashes.length);
+
+            return new Ring(newMembers, newEndpoints, newLoads, newHashes, newOwners, count, sum, xor);
+        }
+    }
+}
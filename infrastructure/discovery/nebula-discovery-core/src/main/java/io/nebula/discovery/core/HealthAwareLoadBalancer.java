@@ -0,0 +1,54 @@
+package io.nebula.discovery.core;
+
+import java.util.List;
+
+/**
+ * 健康感知负载均衡器（装饰器）
+ * <p>
+ * 先用 {@link HealthCheckScheduler} 的本地健康视图过滤实例，再交给被装饰的负载均衡器选择。
+ * 没有实例被摘除时直接传入原列表，不产生额外分配。
+ */
+public class HealthAwareLoadBalancer implements LoadBalancer {
+
+    private final LoadBalancer delegate;
+    private final HealthCheckScheduler scheduler;
+
+    public HealthAwareLoadBalancer(LoadBalancer delegate, HealthCheckScheduler scheduler) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public ServiceInstance choose(List<ServiceInstance> instances) {
+        return delegate.choose(scheduler.filterHealthy(instances));
+    }
+
+    @Override
+    public ServiceInstance choose(List<ServiceInstance> instances, LoadBalanceContext context) {
+        return delegate.choose(scheduler.filterHealthy(instances), context);
+    }
+
+    /**
+     * 上报调用失败，触发一次即时探测
+     *
+     * @param instance 服务实例
+     */
+    @Override
+    public void reportFailure(ServiceInstance instance) {
+        scheduler.reportFailure(instance);
+        delegate.reportFailure(instance);
+    }
+
+    @Override
+    public void completeCall(ServiceInstance instance) {
+        delegate.completeCall(instance);
+    }
+
+    public LoadBalancer getDelegate() {
+        return delegate;
+    }
+
+    public HealthCheckScheduler getScheduler() {
+        return scheduler;
+    }
+}
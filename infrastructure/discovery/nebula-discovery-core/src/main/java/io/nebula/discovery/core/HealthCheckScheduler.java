@@ -0,0 +1,365 @@
+package io.nebula.discovery.core;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 主动健康检查调度器
+ * <p>
+ * 对负载均衡见过的实例周期性调用 {@link HealthChecker} 探测，维护本地健康视图供
+ * {@link HealthAwareLoadBalancer} 过滤，无需等待注册中心心跳超时即可摘除故障实例。
+ * <ul>
+ *     <li>每次探测在独立虚拟线程上执行，慢实例不会拖慢其他实例</li>
+ *     <li>探测间隔带 ±20% 抖动；稳定实例每次成功后间隔翻倍直到上限，状态翻转（抖动实例）时回到下限</li>
+ *     <li>调用方上报失败时立即补充一次探测</li>
+ *     <li>连续失败达到阈值即摘除，连续成功达到阈值才恢复</li>
+ *     <li>长时间未被负载均衡访问的实例停止探测</li>
+ * </ul>
+ */
+@Slf4j
+public class HealthCheckScheduler implements DisposableBean {
+
+    private final HealthChecker checker;
+    private final HealthCheckConfig config;
+    private final ConcurrentHashMap<String, ProbeState> states = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService probeExecutor;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final AtomicLong probeCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public HealthCheckScheduler(HealthChecker checker, HealthCheckConfig config) {
+        this.checker = checker;
+        this.config = config;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nebula-health-check-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.probeExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("nebula-health-probe-", 0).factory());
+        log.info("启动主动健康检查: type={}, interval={}~{}ms, failureThreshold={}, successThreshold={}",
+                checker.getType().getName(), config.getMinInterval(), config.getMaxInterval(),
+                config.getFailureThreshold(), config.getSuccessThreshold());
+    }
+
+    /**
+     * 实例是否健康：未知实例在首次探测完成前视为健康
+     *
+     * @param instance 服务实例
+     * @return 是否健康
+     */
+    public boolean isHealthy(ServiceInstance instance) {
+        ProbeState state = track(instance);
+        return state == null || state.healthy;
+    }
+
+    /**
+     * 过滤掉本地探测判定为不健康的实例，并开始跟踪新出现的实例
+     * <p>
+     * 全部实例都不健康时返回原列表（失效开放），避免探测配置错误导致整体不可用。
+     *
+     * @param instances 服务实例列表
+     * @return 健康实例列表，没有实例被摘除时返回原列表
+     */
+    public List<ServiceInstance> filterHealthy(List<ServiceInstance> instances) {
+        if (instances == null || instances.isEmpty()) {
+            return instances;
+        }
+
+        List<ServiceInstance> healthy = null;
+        int index = 0;
+        for (ServiceInstance instance : instances) {
+            boolean ok = isHealthy(instance);
+            if (!ok && healthy == null) {
+                healthy = new ArrayList<>(instances.size());
+                healthy.addAll(instances.subList(0, index));
+            } else if (ok && healthy != null) {
+                healthy.add(instance);
+            }
+            index++;
+        }
+
+        if (healthy == null) {
+            return instances;
+        }
+        return healthy.isEmpty() ? instances : healthy;
+    }
+
+    /**
+     * 上报调用失败：立即对该实例补充一次探测（不直接摘除，业务异常不会误判）
+     *
+     * @param instance 服务实例
+     */
+    public void reportFailure(ServiceInstance instance) {
+        ProbeState state = track(instance);
+        if (state != null) {
+            schedule(state, 0);
+        }
+    }
+
+    /**
+     * 获取探测统计
+     */
+    public HealthCheckStats getStats() {
+        int unhealthy = 0;
+        for (ProbeState state : states.values()) {
+            if (!state.healthy) {
+                unhealthy++;
+            }
+        }
+        return new HealthCheckStats(states.size(), unhealthy, probeCount.get(), failureCount.get(),
+                evictionCount.get());
+    }
+
+    /**
+     * 获取各实例的健康状态（ip:port -> 是否健康）
+     */
+    public Map<String, Boolean> getHealthView() {
+        Map<String, Boolean> view = new ConcurrentHashMap<>();
+        states.forEach((key, state) -> view.put(key, state.healthy));
+        return view;
+    }
+
+    private ProbeState track(ServiceInstance instance) {
+        if (instance == null || !running.get()) {
+            return null;
+        }
+        String key = instance.getUri();
+        ProbeState state = states.get(key);
+        if (state == null) {
+            ProbeState created = new ProbeState(key, instance, config.getInitialInterval());
+            state = states.putIfAbsent(key, created);
+            if (state == null) {
+                state = created;
+                schedule(state, 0);
+            }
+        }
+        state.lastAccess = System.currentTimeMillis();
+        return state;
+    }
+
+    private void schedule(ProbeState state, long delayMillis) {
+        if (!running.get()) {
+            return;
+        }
+        synchronized (state) {
+            if (state.probing) {
+                // 探测进行中，结束后立即再探测一次
+                state.probeAgain = true;
+                return;
+            }
+            ScheduledFuture<?> pending = state.next;
+            if (pending != null) {
+                // 已有更早的计划，或计划已触发、探测即将开始
+                if (pending.getDelay(TimeUnit.MILLISECONDS) <= delayMillis || !pending.cancel(false)) {
+                    return;
+                }
+            }
+            state.next = timer.schedule(() -> startProbe(state), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void startProbe(ProbeState state) {
+        synchronized (state) {
+            state.next = null;
+            state.probing = true;
+        }
+        probeExecutor.execute(() -> probe(state));
+    }
+
+    private void probe(ProbeState state) {
+        if (!running.get()) {
+            return;
+        }
+        if (System.currentTimeMillis() - state.lastAccess > config.getIdleTimeout()) {
+            states.remove(state.key, state);
+            log.debug("实例长时间未被访问，停止健康检查: {}", state.key);
+            return;
+        }
+
+        boolean success;
+        try {
+            HealthCheckResult result = checker.check(state.instance);
+            success = result != null && result.isHealthy();
+            if (!success && log.isDebugEnabled()) {
+                log.debug("健康检查失败: instance={}, message={}", state.key,
+                        result != null ? result.getMessage() : null);
+            }
+        } catch (Exception e) {
+            success = false;
+            log.debug("健康检查异常: instance={}, error={}", state.key, e.getMessage());
+        }
+
+        probeCount.incrementAndGet();
+        if (!success) {
+            failureCount.incrementAndGet();
+        }
+
+        long nextDelay;
+        synchronized (state) {
+            long nextInterval = state.onResult(success, config);
+            nextDelay = state.probeAgain ? 0 : jitter(nextInterval);
+            state.probeAgain = false;
+            state.probing = false;
+            if (state.transitioned) {
+                state.transitioned = false;
+                if (state.healthy) {
+                    log.info("实例恢复健康，重新加入负载均衡: {}", state.key);
+                } else {
+                    evictionCount.incrementAndGet();
+                    log.warn("实例健康检查失败，移出负载均衡: {}", state.key);
+                }
+            }
+        }
+        schedule(state, nextDelay);
+    }
+
+    private static long jitter(long interval) {
+        long spread = interval / 5;
+        return spread > 0 ? interval - spread + ThreadLocalRandom.current().nextLong(spread * 2 + 1) : interval;
+    }
+
+    @Override
+    public void destroy() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        timer.shutdownNow();
+        probeExecutor.shutdownNow();
+        states.clear();
+        log.info("主动健康检查已停止");
+    }
+
+    /**
+     * 单个实例的探测状态
+     */
+    static final class ProbeState {
+
+        final String key;
+        final ServiceInstance instance;
+        volatile boolean healthy = true;
+        volatile long lastAccess;
+        boolean probing;
+        boolean probeAgain;
+        ScheduledFuture<?> next;
+        boolean transitioned;
+        int consecutiveFailures;
+        int consecutiveSuccesses;
+        /**
+         * 抖动评分：状态翻转时增加，稳定探测时衰减，大于0时使用最短间隔
+         */
+        int flapScore;
+        long interval;
+
+        ProbeState(String key, ServiceInstance instance, long interval) {
+            this.key = key;
+            this.instance = instance;
+            this.interval = interval;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        /**
+         * 记录探测结果并返回下一次探测间隔
+         */
+        long onResult(boolean success, HealthCheckConfig config) {
+            if (success) {
+                consecutiveSuccesses++;
+                consecutiveFailures = 0;
+                if (!healthy && consecutiveSuccesses >= config.getSuccessThreshold()) {
+                    healthy = true;
+                    transitioned = true;
+                }
+            } else {
+                consecutiveFailures++;
+                consecutiveSuccesses = 0;
+                if (healthy && consecutiveFailures >= config.getFailureThreshold()) {
+                    healthy = false;
+                    transitioned = true;
+                }
+            }
+
+            if (transitioned) {
+                flapScore = Math.min(flapScore + 2, 10);
+            } else if (flapScore > 0 && success == healthy) {
+                flapScore--;
+            }
+
+            if (flapScore > 0 || !success || !healthy) {
+                // 抖动、失败或恢复观察期：收紧到最短间隔
+                interval = config.getMinInterval();
+            } else {
+                // 稳定健康：逐步退避到最长间隔
+                interval = Math.min(Math.max(interval, config.getMinInterval()) * 2, config.getMaxInterval());
+            }
+            return interval;
+        }
+    }
+
+    /**
+     * 健康检查调度配置（毫秒）
+     */
+    @Data
+    public static class HealthCheckConfig {
+
+        /**
+         * 最短探测间隔（失败、抖动或恢复观察期）
+         */
+        private long minInterval = 100;
+
+        /**
+         * 新实例的初始探测间隔
+         */
+        private long initialInterval = 250;
+
+        /**
+         * 最长探测间隔（稳定实例退避上限），决定最坏情况下的摘除时延
+         */
+        private long maxInterval = 1000;
+
+        /**
+         * 连续失败多少次后摘除
+         * <p>
+         * 首次失败后探测间隔收紧到 {@code minInterval}，默认 3 次时最坏摘除时延约为 maxInterval + 2 × minInterval，
+         * 单次丢包或 GC 停顿不会导致摘除
+         */
+        private int failureThreshold = 3;
+
+        /**
+         * 连续成功多少次后恢复
+         */
+        private int successThreshold = 2;
+
+        /**
+         * 实例超过该时长未被负载均衡访问时停止探测
+         */
+        private long idleTimeout = 60000;
+    }
+
+    /**
+     * 探测统计
+     *
+     * @param tracked 跟踪的实例数
+     * @param unhealthy 当前被摘除的实例数
+     * @param probes 累计探测次数
+     * @param failures 累计探测失败次数
+     * @param evictions 累计摘除次数
+     */
+    public record HealthCheckStats(int tracked, int unhealthy, long probes, long failures, long evictions) {
+    }
+}
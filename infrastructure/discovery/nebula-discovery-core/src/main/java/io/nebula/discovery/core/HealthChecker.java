@@ -1,5 +1,10 @@
 package io.nebula.discovery.core;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -41,6 +46,27 @@ public interface HealthChecker {
     default long getTimeout() {
         return 5000; // 默认5秒
     }
+    
+    /**
+     * 创建TCP端口连通性检查器
+     * 
+     * @param timeout 连接超时（毫秒）
+     * @return 健康检查器
+     */
+    static HealthChecker tcp(long timeout) {
+        return new TcpHealthChecker(timeout);
+    }
+    
+    /**
+     * 创建HTTP健康检查器，2xx 视为健康
+     * 
+     * @param healthPath 健康检查路径
+     * @param timeout 超时时间（毫秒）
+     * @return 健康检查器
+     */
+    static HealthChecker http(String healthPath, long timeout) {
+        return new HttpHealthChecker(healthPath, timeout);
+    }
 }
 
 /**
@@ -152,10 +178,14 @@ enum HealthCheckType {
 class HttpHealthChecker implements HealthChecker {
     private final String healthPath;
     private final long timeout;
+    private final HttpClient httpClient;
     
     public HttpHealthChecker(String healthPath, long timeout) {
         this.healthPath = healthPath != null ? healthPath : "/health";
         this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeout))
+                .build();
     }
     
     @Override
@@ -163,18 +193,23 @@ class HttpHealthChecker implements HealthChecker {
         long startTime = System.currentTimeMillis();
         
         try {
-            String url = instance.getAddress() + healthPath;
-            
-            // 这里可以使用 RestTemplate、OkHttp 或其他 HTTP 客户端
-            // 简单实现，实际项目中需要使用具体的HTTP客户端
-            
-            // 模拟HTTP检查
-            // TODO: 实现真正的HTTP健康检查
-            Thread.sleep(10); // 模拟网络延迟
+            String scheme = "https".equalsIgnoreCase(instance.getProtocol()) ? "https" : "http";
+            URI uri = URI.create(scheme + "://" + instance.getUri() + healthPath);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofMillis(timeout))
+                    .GET()
+                    .build();
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
             
             long responseTime = System.currentTimeMillis() - startTime;
-            return HealthCheckResult.healthy("HTTP health check passed", responseTime);
+            if (status >= 200 && status < 300) {
+                return HealthCheckResult.healthy("HTTP health check passed", responseTime);
+            }
+            return HealthCheckResult.unhealthy("HTTP health check returned " + status, responseTime);
             
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return HealthCheckResult.exception("HTTP health check interrupted", e);
         } catch (Exception e) {
             long responseTime = System.currentTimeMillis() - startTime;
             return HealthCheckResult.exception("HTTP health check failed: " + e.getMessage(), e);
@@ -208,10 +243,10 @@ class TcpHealthChecker implements HealthChecker {
         
         try {
             // 使用Socket连接检查TCP端口是否可达
-            java.net.Socket socket = new java.net.Socket();
-            socket.connect(new java.net.InetSocketAddress(instance.getIp(), instance.getPort()), 
-                          (int) timeout);
-            socket.close();
+            try (java.net.Socket socket = new java.net.Socket()) {
+                socket.connect(new java.net.InetSocketAddress(instance.getIp(), instance.getPort()), 
+                              (int) timeout);
+            }
             
             long responseTime = System.currentTimeMillis() - startTime;
             return HealthCheckResult.healthy("TCP connection successful", responseTime);
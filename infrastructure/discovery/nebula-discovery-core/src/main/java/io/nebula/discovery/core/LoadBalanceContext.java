@@ -0,0 +1,24 @@
+package io.nebula.discovery.core;
+
+/**
+ * 负载均衡上下文
+ * 包含选择实例时需要的上下文信息，请求ID（缺省为用户ID）作为一致性哈希与区域溢出的请求键
+ */
+public class LoadBalanceContext {
+    private final String requestId;
+    private final String userId;
+    private final String clientIp;
+    private final Object request;
+    
+    public LoadBalanceContext(String requestId, String userId, String clientIp, Object request) {
+        this.requestId = requestId;
+        this.userId = userId;
+        this.clientIp = clientIp;
+        this.request = request;
+    }
+    
+    public String getRequestId() { return requestId; }
+    public String getUserId() { return userId; }
+    public String getClientIp() { return clientIp; }
+    public Object getRequest() { return request; }
+}
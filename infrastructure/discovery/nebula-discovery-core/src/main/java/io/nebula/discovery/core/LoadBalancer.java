@@ -28,33 +28,26 @@ public interface LoadBalancer {
     default ServiceInstance choose(List<ServiceInstance> instances, LoadBalanceContext context) {
         return choose(instances);
     }
-}
-
-
-
-/**
- * 负载均衡上下文
- * 包含选择实例时需要的上下文信息
- */
-class LoadBalanceContext {
-    private final String requestId;
-    private final String userId;
-    private final String clientIp;
-    private final Object request;
     
-    public LoadBalanceContext(String requestId, String userId, String clientIp, Object request) {
-        this.requestId = requestId;
-        this.userId = userId;
-        this.clientIp = clientIp;
-        this.request = request;
+    /**
+     * 上报对选中实例的调用失败（默认忽略，装饰器可用于触发健康探测等）
+     * 
+     * @param instance 服务实例
+     */
+    default void reportFailure(ServiceInstance instance) {
     }
     
-    public String getRequestId() { return requestId; }
-    public String getUserId() { return userId; }
-    public String getClientIp() { return clientIp; }
-    public Object getRequest() { return request; }
+    /**
+     * 对选中实例的调用结束（无论成功失败）后回调（默认忽略，跟踪在途调用数的负载均衡器用于释放计数）
+     * 
+     * @param instance 服务实例
+     */
+    default void completeCall(ServiceInstance instance) {
+    }
 }
 
+
+
 /**
  * 轮询负载均衡器实现
  */
@@ -64,12 +64,26 @@ public class LoadBalancerFactory {
             case WEIGHTED_RANDOM -> new WeightedRandomLoadBalancer();
             case WEIGHTED_ROUND_ROBIN -> new WeightedRoundRobinLoadBalancer();
             case LEAST_ACTIVE -> new LeastActiveLoadBalancer();
-            case CONSISTENT_HASH -> new ConsistentHashLoadBalancer();
+            case CONSISTENT_HASH -> createConsistentHashLoadBalancer(
+                    ConsistentHashLoadBalancer.DEFAULT_VIRTUAL_NODES, ConsistentHashLoadBalancer.DEFAULT_LOAD_FACTOR);
             case FASTEST_RESPONSE -> new FastestResponseLoadBalancer();
             default -> throw new IllegalArgumentException("Unsupported load balance strategy: " + strategy);
         };
     }
     
+    /**
+     * 创建一致性哈希负载均衡器
+     * <p>
+     * {@code loadFactor > 1} 时启用有界负载，调用方需在每次调用结束后调用 {@link LoadBalancer#completeCall(ServiceInstance)}。
+     * 
+     * @param virtualNodes 每个实例的虚拟节点数
+     * @param loadFactor 有界负载系数，必须大于1；为0时不限制负载
+     * @return 负载均衡器实例
+     */
+    public static LoadBalancer createConsistentHashLoadBalancer(int virtualNodes, double loadFactor) {
+        return new ConsistentHashLoadBalancer(virtualNodes, loadFactor);
+    }
+    
     /**
      * 判断是否支持指定策略
      * 
@@ -0,0 +1,216 @@
+package io.nebula.discovery.core;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 区域感知负载均衡器（装饰器）
+ * <p>
+ * 优先把请求路由到与本地同区域（zone 元数据，缺省为集群名）的实例，再交给被装饰的负载均衡器选择：
+ * <ul>
+ *     <li>本地区域健康实例数低于 {@code minLocalInstances} 时全部溢出到其他区域</li>
+ *     <li>本地区域健康比例低于 {@code minHealthyRatio} 时按缺口比例溢出：
+ *     溢出概率 = 1 - 健康比例 / minHealthyRatio。带请求键（requestId，缺省为 userId）的请求按键的哈希值决定是否溢出，
+ *     健康比例不变时同一个键总是落在同一区域，健康比例继续下降时已溢出的键保持溢出；没有键的请求随机溢出</li>
+ *     <li>其他区域没有健康实例时始终留在本地</li>
+ * </ul>
+ * 实例全部位于本地区域且健康时直接传入原列表，不产生额外分配。
+ */
+public class ZoneAwareLoadBalancer implements LoadBalancer {
+
+    private final LoadBalancer delegate;
+    private final String localZone;
+    private final ZoneConfig config;
+    private final Predicate<ServiceInstance> healthy;
+
+    private final LongAdder localRequests = new LongAdder();
+    private final LongAdder spilloverRequests = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> requestsByZone = new ConcurrentHashMap<>();
+
+    public ZoneAwareLoadBalancer(LoadBalancer delegate, String localZone, ZoneConfig config) {
+        this(delegate, localZone, config, ServiceInstance::isAvailable);
+    }
+
+    /**
+     * @param delegate 在选定区域内选择实例的负载均衡器
+     * @param localZone 本地区域
+     * @param config 区域路由配置
+     * @param healthy 实例健康判定（例如叠加主动健康检查结果）
+     */
+    public ZoneAwareLoadBalancer(LoadBalancer delegate, String localZone, ZoneConfig config,
+                                 Predicate<ServiceInstance> healthy) {
+        this.delegate = delegate;
+        this.localZone = localZone;
+        this.config = config;
+        this.healthy = healthy;
+    }
+
+    @Override
+    public ServiceInstance choose(List<ServiceInstance> instances) {
+        return record(delegate.choose(route(instances, null)));
+    }
+
+    @Override
+    public ServiceInstance choose(List<ServiceInstance> instances, LoadBalanceContext context) {
+        return record(delegate.choose(route(instances, context), context));
+    }
+
+    @Override
+    public void reportFailure(ServiceInstance instance) {
+        delegate.reportFailure(instance);
+    }
+
+    @Override
+    public void completeCall(ServiceInstance instance) {
+        delegate.completeCall(instance);
+    }
+
+    /**
+     * 选择本次请求使用的区域实例列表
+     */
+    private List<ServiceInstance> route(List<ServiceInstance> instances, LoadBalanceContext context) {
+        if (instances == null || instances.isEmpty() || localZone == null || localZone.isEmpty()) {
+            return instances;
+        }
+
+        int localTotal = 0;
+        int localHealthy = 0;
+        int remoteHealthy = 0;
+        for (ServiceInstance instance : instances) {
+            boolean local = isLocal(instance);
+            boolean ok = healthy.test(instance);
+            if (local) {
+                localTotal++;
+                if (ok) {
+                    localHealthy++;
+                }
+            } else if (ok) {
+                remoteHealthy++;
+            }
+        }
+
+        if (localHealthy == 0 && remoteHealthy == 0) {
+            // 没有健康实例，交给下游自行处理
+            return instances;
+        }
+        if (remoteHealthy == 0 || (localHealthy > 0 && !shouldSpill(localHealthy, localTotal, context))) {
+            return localHealthy == instances.size() ? instances : select(instances, true);
+        }
+        return select(instances, false);
+    }
+
+    private boolean shouldSpill(int localHealthy, int localTotal, LoadBalanceContext context) {
+        if (localHealthy < config.getMinLocalInstances()) {
+            return true;
+        }
+        double ratio = (double) localHealthy / localTotal;
+        if (ratio >= config.getMinHealthyRatio()) {
+            return false;
+        }
+        double spillProbability = 1 - ratio / config.getMinHealthyRatio();
+        return spillPoint(context) < spillProbability;
+    }
+
+    /**
+     * 请求在 [0, 1) 上的溢出点：有请求键时由键的哈希值决定，否则随机
+     */
+    private static double spillPoint(LoadBalanceContext context) {
+        String key = context != null ? context.getRequestId() : null;
+        if ((key == null || key.isEmpty()) && context != null) {
+            key = context.getUserId();
+        }
+        if (key == null || key.isEmpty()) {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+        // 取哈希高 53 位，与 nextDouble 的精度一致
+        return (ConsistentHashLoadBalancer.hash(key) >>> 11) * 0x1.0p-53;
+    }
+
+    private List<ServiceInstance> select(List<ServiceInstance> instances, boolean local) {
+        List<ServiceInstance> selected = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (isLocal(instance) == local && healthy.test(instance)) {
+                selected.add(instance);
+            }
+        }
+        return selected;
+    }
+
+    private boolean isLocal(ServiceInstance instance) {
+        return localZone.equals(zoneOf(instance));
+    }
+
+    private String zoneOf(ServiceInstance instance) {
+        String zone = instance.getMetadata(config.getMetadataKey());
+        return zone != null ? zone : instance.getClusterName();
+    }
+
+    private ServiceInstance record(ServiceInstance instance) {
+        if (instance == null || localZone == null || localZone.isEmpty()) {
+            return instance;
+        }
+        String zone = zoneOf(instance);
+        if (localZone.equals(zone)) {
+            localRequests.increment();
+        } else {
+            spilloverRequests.increment();
+        }
+        requestsByZone.computeIfAbsent(zone != null ? zone : "unknown", key -> new LongAdder()).increment();
+        return instance;
+    }
+
+    /**
+     * 获取区域路由统计
+     */
+    public ZoneRoutingStats getStats() {
+        Map<String, Long> byZone = new LinkedHashMap<>();
+        requestsByZone.forEach((zone, counter) -> byZone.put(zone, counter.sum()));
+        return new ZoneRoutingStats(localZone, localRequests.sum(), spilloverRequests.sum(), byZone);
+    }
+
+    public LoadBalancer getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 区域路由配置
+     */
+    @Data
+    public static class ZoneConfig {
+
+        /**
+         * 实例元数据中表示区域的键，缺失时使用集群名
+         */
+        private String metadataKey = "zone";
+
+        /**
+         * 本地区域健康比例低于该值时按缺口比例溢出到其他区域
+         */
+        private double minHealthyRatio = 0.7;
+
+        /**
+         * 本地区域健康实例数低于该值时全部溢出
+         */
+        private int minLocalInstances = 1;
+    }
+
+    /**
+     * 区域路由统计
+     *
+     * @param localZone 本地区域
+     * @param localRequests 路由到本地区域的请求数
+     * @param spilloverRequests 溢出到其他区域的请求数
+     * @param requestsByZone 各区域请求数
+     */
+    public record ZoneRoutingStats(String localZone, long localRequests, long spilloverRequests,
+                                   Map<String, Long> requestsByZone) {
+    }
+}
@@ -0,0 +1,254 @@
+package io.nebula.discovery.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ConsistentHashLoadBalancer 单元测试
+ */
+class ConsistentHashLoadBalancerTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void testSameKeyMapsToSameInstanceRegardlessOfOrder() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+        List<ServiceInstance> instances = instances(8);
+        List<ServiceInstance> shuffled = new ArrayList<>(instances);
+        Collections.shuffle(shuffled, new Random(42));
+
+        for (int i = 0; i < 1_000; i++) {
+            String key = "user:" + i;
+            ServiceInstance first = loadBalancer.choose(instances, key);
+            assertThat(loadBalancer.choose(instances, key)).isSameAs(first);
+            assertThat(loadBalancer.choose(shuffled, key).getUri()).isEqualTo(first.getUri());
+        }
+    }
+
+    @Test
+    void testAddingInstanceOnlyMovesKeysToNewInstance() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+        List<ServiceInstance> before = instances(10);
+        Map<String, String> owners = assign(loadBalancer, before);
+
+        List<ServiceInstance> after = new ArrayList<>(before);
+        ServiceInstance added = instance(10);
+        after.add(added);
+        Map<String, String> reassigned = assign(loadBalancer, after);
+
+        int moved = 0;
+        for (Map.Entry<String, String> entry : owners.entrySet()) {
+            String owner = reassigned.get(entry.getKey());
+            if (!owner.equals(entry.getValue())) {
+                moved++;
+                assertThat(owner).isEqualTo(added.getUri());
+            }
+        }
+        // 理想迁移比例为 1/11，虚拟节点带来的偏差留出余量
+        assertThat((double) moved / KEYS).isBetween(0.04, 0.15);
+    }
+
+    @Test
+    void testRemovingInstanceOnlyMovesItsKeys() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+        List<ServiceInstance> before = instances(10);
+        Map<String, String> owners = assign(loadBalancer, before);
+
+        ServiceInstance removed = before.get(3);
+        List<ServiceInstance> after = new ArrayList<>(before);
+        after.remove(removed);
+        Map<String, String> reassigned = assign(loadBalancer, after);
+
+        for (Map.Entry<String, String> entry : owners.entrySet()) {
+            if (!entry.getValue().equals(removed.getUri())) {
+                assertThat(reassigned.get(entry.getKey())).isEqualTo(entry.getValue());
+            } else {
+                assertThat(reassigned.get(entry.getKey())).isNotEqualTo(removed.getUri());
+            }
+        }
+    }
+
+    @Test
+    void testUnavailableInstanceIsSkippedEvenWhenSameListIsReused() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+        List<ServiceInstance> instances = instances(4);
+        assign(loadBalancer, instances);
+
+        // 同一个列表对象原样传入，只有实例的可用状态变化
+        ServiceInstance down = instances.get(0);
+        down.setHealthy(false);
+
+        for (int i = 0; i < 2_000; i++) {
+            assertThat(loadBalancer.choose(instances, "key-" + i)).isNotSameAs(down);
+        }
+
+        down.setHealthy(true);
+        assertThat(assign(loadBalancer, instances)).containsValue(down.getUri());
+    }
+
+    @Test
+    void testBoundedLoadCapsInFlightCallsPerInstance() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer(160, 1.25);
+        List<ServiceInstance> instances = instances(4);
+        Map<String, Integer> inFlight = new HashMap<>();
+
+        // 同一个热点键连续请求且不结束：超过上限后顺延到其他实例
+        int total = 400;
+        List<ServiceInstance> chosen = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            ServiceInstance instance = loadBalancer.choose(instances, "hot-key");
+            chosen.add(instance);
+            inFlight.merge(instance.getUri(), 1, Integer::sum);
+        }
+
+        int limit = (int) Math.ceil(1.25 * total / instances.size());
+        assertThat(inFlight).hasSize(instances.size());
+        assertThat(inFlight.values()).allSatisfy(load -> assertThat(load).isLessThanOrEqualTo(limit));
+
+        // 全部结束后热点键回到原实例
+        chosen.forEach(loadBalancer::completeCall);
+        ServiceInstance home = new ConsistentHashLoadBalancer().choose(instances, "hot-key");
+        for (int i = 0; i < 10; i++) {
+            ServiceInstance instance = loadBalancer.choose(instances, "hot-key");
+            assertThat(instance.getUri()).isEqualTo(home.getUri());
+            loadBalancer.completeCall(instance);
+        }
+    }
+
+    @Test
+    void testBoundedLoadIsTrackedPerService() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer(160, 1.25);
+        List<ServiceInstance> orders = instances(4);
+        List<ServiceInstance> users = instances("user-service", 4);
+
+        // 订单服务堆积大量在途调用，不应放宽用户服务的上限
+        for (int i = 0; i < 400; i++) {
+            loadBalancer.choose(orders, "order-key-" + i);
+        }
+
+        Map<String, Integer> inFlight = new HashMap<>();
+        int total = 40;
+        for (int i = 0; i < total; i++) {
+            // 交替调用两个服务，各自的环与计数互不影响
+            loadBalancer.choose(orders, "order-key-" + i);
+            inFlight.merge(loadBalancer.choose(users, "hot-key").getUri(), 1, Integer::sum);
+        }
+
+        int limit = (int) Math.ceil(1.25 * total / users.size());
+        assertThat(inFlight).hasSize(users.size());
+        assertThat(inFlight.values()).allSatisfy(load -> assertThat(load).isLessThanOrEqualTo(limit));
+    }
+
+    @Test
+    void testSameEndpointInDifferentServicesHasSeparateLoad() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer(160, 1.25);
+        List<ServiceInstance> orders = instances(2);
+        List<ServiceInstance> users = instances("user-service", 2);
+        ServiceInstance home = new ConsistentHashLoadBalancer().choose(users, "hot-key");
+
+        // 订单服务的在途调用结束，不会释放用户服务同一端点上的计数
+        ServiceInstance order = loadBalancer.choose(orders, "hot-key");
+        ServiceInstance user = loadBalancer.choose(users, "hot-key");
+        assertThat(user.getUri()).isEqualTo(home.getUri());
+        loadBalancer.completeCall(order);
+        loadBalancer.completeCall(order);
+
+        assertThat(loadBalancer.choose(users, "hot-key").getUri()).isEqualTo(home.getUri());
+        assertThat(loadBalancer.choose(users, "hot-key").getUri()).isNotEqualTo(home.getUri());
+    }
+
+    @Test
+    void testUnboundedModeIgnoresInFlightCalls() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+        List<ServiceInstance> instances = instances(4);
+
+        ServiceInstance first = loadBalancer.choose(instances, "hot-key");
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.choose(instances, "hot-key")).isSameAs(first);
+        }
+    }
+
+    @Test
+    void testFactoryEnablesBoundedLoadAndDecoratorsForwardCompletion() {
+        LoadBalancer loadBalancer = LoadBalancerFactory.createLoadBalancer(LoadBalanceStrategy.CONSISTENT_HASH);
+        List<ServiceInstance> instances = instances(2);
+        LoadBalanceContext context = new LoadBalanceContext("hot-key", null, null, null);
+
+        // 默认系数 1.25、2 个实例：同一键的在途调用不会全部落在一个实例上
+        ServiceInstance first = loadBalancer.choose(instances, context);
+        ServiceInstance second = loadBalancer.choose(instances, context);
+        ServiceInstance third = loadBalancer.choose(instances, context);
+        assertThat(List.of(first, second, third)).extracting(ServiceInstance::getUri).containsAll(
+                instances.stream().map(ServiceInstance::getUri).toList());
+
+        LoadBalancer decorated = new ZoneAwareLoadBalancer(loadBalancer, null, new ZoneAwareLoadBalancer.ZoneConfig());
+        decorated.completeCall(first);
+        decorated.completeCall(second);
+        decorated.completeCall(third);
+        assertThat(loadBalancer.choose(instances, context).getUri()).isEqualTo(first.getUri());
+    }
+
+    @Test
+    void testEmptyOrUnavailableInstancesReturnNull() {
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+        assertThat(loadBalancer.choose(List.of(), "key")).isNull();
+        assertThat(loadBalancer.choose(null, "key")).isNull();
+
+        ServiceInstance down = instance(0);
+        down.setEnabled(false);
+        assertThat(loadBalancer.choose(List.of(down), "key")).isNull();
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new ConsistentHashLoadBalancer(0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashLoadBalancer(160, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, String> assign(ConsistentHashLoadBalancer loadBalancer, List<ServiceInstance> instances) {
+        Map<String, String> owners = new HashMap<>(KEYS * 2);
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            owners.put(key, loadBalancer.choose(instances, key).getUri());
+        }
+        return owners;
+    }
+
+    private static List<ServiceInstance> instances(int count) {
+        return instances("order-service", count);
+    }
+
+    private static List<ServiceInstance> instances(String serviceName, int count) {
+        List<ServiceInstance> instances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instances.add(instance(serviceName, i));
+        }
+        return instances;
+    }
+
+    private static ServiceInstance instance(int index) {
+        return instance("order-service", index);
+    }
+
+    private static ServiceInstance instance(String serviceName, int index) {
+        return ServiceInstance.builder()
+                .serviceName(serviceName)
+                .instanceId(serviceName + "-" + index)
+                .ip("10.0.0." + (index + 1))
+                .port(8080)
+                .weight(1.0)
+                .healthy(true)
+                .enabled(true)
+                .build();
+    }
+}
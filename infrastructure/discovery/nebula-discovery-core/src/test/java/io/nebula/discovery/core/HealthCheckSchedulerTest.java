@@ -0,0 +1,212 @@
+package io.nebula.discovery.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * HealthCheckScheduler 单元测试
+ */
+class HealthCheckSchedulerTest {
+
+    private HealthCheckScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.destroy();
+        }
+    }
+
+    @Test
+    void testDefaultsTolerateSingleFailure() {
+        HealthCheckScheduler.HealthCheckConfig config = new HealthCheckScheduler.HealthCheckConfig();
+
+        assertThat(config.getFailureThreshold()).isEqualTo(3);
+        assertThat(config.getSuccessThreshold()).isEqualTo(2);
+    }
+
+    @Test
+    void testStableInstanceBacksOffToMaxInterval() {
+        HealthCheckScheduler.HealthCheckConfig config = new HealthCheckScheduler.HealthCheckConfig();
+        HealthCheckScheduler.ProbeState state = new HealthCheckScheduler.ProbeState("k", instance(0), 250);
+
+        assertThat(result(state, true, config)).isEqualTo(500);
+        assertThat(result(state, true, config)).isEqualTo(1000);
+        assertThat(result(state, true, config)).isEqualTo(1000);
+
+        // 一次失败立即收紧到最短间隔，但不摘除
+        assertThat(result(state, false, config)).isEqualTo(100);
+        assertThat(state.healthy).isTrue();
+        assertThat(result(state, true, config)).isEqualTo(200);
+    }
+
+    @Test
+    void testEvictedOnlyAfterConsecutiveFailureThreshold() {
+        HealthCheckScheduler.HealthCheckConfig config = new HealthCheckScheduler.HealthCheckConfig();
+        HealthCheckScheduler.ProbeState state = new HealthCheckScheduler.ProbeState("k", instance(0), 250);
+
+        result(state, false, config);
+        result(state, false, config);
+        result(state, true, config);
+        result(state, false, config);
+        result(state, false, config);
+        assertThat(state.healthy).isTrue();
+
+        state.onResult(false, config);
+        assertThat(state.healthy).isFalse();
+        assertThat(state.transitioned).isTrue();
+    }
+
+    @Test
+    void testFlapScoreHoldsMinIntervalUntilStable() {
+        HealthCheckScheduler.HealthCheckConfig config = new HealthCheckScheduler.HealthCheckConfig();
+        config.setFailureThreshold(1);
+        config.setSuccessThreshold(1);
+        HealthCheckScheduler.ProbeState state = new HealthCheckScheduler.ProbeState("k", instance(0), 250);
+
+        // 摘除 + 恢复两次翻转：评分 4
+        result(state, false, config);
+        assertThat(result(state, true, config)).isEqualTo(100);
+        assertThat(state.flapScore).isEqualTo(4);
+
+        // 稳定成功逐次衰减，评分归零前保持最短间隔
+        assertThat(result(state, true, config)).isEqualTo(100);
+        assertThat(result(state, true, config)).isEqualTo(100);
+        assertThat(result(state, true, config)).isEqualTo(100);
+        assertThat(result(state, true, config)).isEqualTo(200);
+        assertThat(state.flapScore).isZero();
+        assertThat(result(state, true, config)).isEqualTo(400);
+
+        // 持续抖动的评分有上限
+        for (int i = 0; i < 20; i++) {
+            result(state, i % 2 != 0, config);
+        }
+        assertThat(state.flapScore).isEqualTo(10);
+    }
+
+    @Test
+    void testTransientFailureDoesNotEvict() {
+        AtomicInteger probes = new AtomicInteger();
+        scheduler = new HealthCheckScheduler(checker(() -> probes.incrementAndGet() != 2), fastConfig());
+        ServiceInstance instance = instance(0);
+
+        scheduler.isHealthy(instance);
+        await(() -> probes.get() >= 6);
+
+        assertThat(scheduler.isHealthy(instance)).isTrue();
+        assertThat(scheduler.getStats().failures()).isEqualTo(1);
+        assertThat(scheduler.getStats().evictions()).isZero();
+    }
+
+    @Test
+    void testPersistentFailureEvictsAndRecovers() {
+        AtomicBoolean up = new AtomicBoolean(false);
+        scheduler = new HealthCheckScheduler(checker(up::get), fastConfig());
+        ServiceInstance down = instance(0);
+        ServiceInstance healthy = instance(1);
+
+        assertThat(scheduler.filterHealthy(List.of(down))).containsExactly(down);
+        await(() -> !scheduler.isHealthy(down));
+
+        assertThat(scheduler.getStats().failures()).isGreaterThanOrEqualTo(3);
+        assertThat(scheduler.getStats().evictions()).isEqualTo(1);
+        // 全部不健康时失效开放
+        assertThat(scheduler.filterHealthy(List.of(down))).containsExactly(down);
+
+        up.set(true);
+        await(() -> scheduler.isHealthy(down));
+        assertThat(scheduler.filterHealthy(List.of(down, healthy))).containsExactly(down, healthy);
+    }
+
+    @Test
+    void testIdleInstanceStopsBeingProbed() {
+        AtomicInteger probes = new AtomicInteger();
+        HealthCheckScheduler.HealthCheckConfig config = fastConfig();
+        config.setIdleTimeout(100);
+        scheduler = new HealthCheckScheduler(checker(() -> {
+            probes.incrementAndGet();
+            return true;
+        }), config);
+        ServiceInstance instance = instance(0);
+
+        scheduler.isHealthy(instance);
+        await(() -> scheduler.getStats().tracked() == 0);
+        int probesAtEviction = probes.get();
+        sleep(150);
+
+        assertThat(probes.get()).isEqualTo(probesAtEviction);
+        assertThat(scheduler.getHealthView()).isEmpty();
+
+        // 再次被访问时重新开始探测
+        scheduler.isHealthy(instance);
+        assertThat(scheduler.getStats().tracked()).isEqualTo(1);
+        await(() -> probes.get() > probesAtEviction);
+    }
+
+    private static long result(HealthCheckScheduler.ProbeState state, boolean success,
+                               HealthCheckScheduler.HealthCheckConfig config) {
+        long interval = state.onResult(success, config);
+        // 调度器在探测结束后清除翻转标记
+        state.transitioned = false;
+        return interval;
+    }
+
+    private static HealthCheckScheduler.HealthCheckConfig fastConfig() {
+        HealthCheckScheduler.HealthCheckConfig config = new HealthCheckScheduler.HealthCheckConfig();
+        config.setMinInterval(5);
+        config.setInitialInterval(5);
+        config.setMaxInterval(10);
+        return config;
+    }
+
+    private static HealthChecker checker(BooleanSupplier outcome) {
+        return new HealthChecker() {
+            @Override
+            public HealthCheckResult check(ServiceInstance instance) {
+                return outcome.getAsBoolean()
+                        ? HealthCheckResult.healthy("ok", 1)
+                        : HealthCheckResult.unhealthy("down", 1);
+            }
+
+            @Override
+            public HealthCheckType getType() {
+                return HealthCheckType.TCP;
+            }
+        };
+    }
+
+    private static ServiceInstance instance(int index) {
+        return ServiceInstance.builder()
+                .serviceName("order-service")
+                .instanceId("order-" + index)
+                .ip("10.0.0." + (index + 1))
+                .port(8080)
+                .weight(1.0)
+                .healthy(true)
+                .enabled(true)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("等待条件超时").isLessThan(deadline);
+            sleep(5);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.nebula.discovery.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ZoneAwareLoadBalancer 单元测试
+ */
+class ZoneAwareLoadBalancerTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void testSameKeyAlwaysRoutesToSameZone() {
+        // 本地 10 个实例 4 个健康：r = 0.4，溢出概率 = 1 - 0.4 / 0.8 = 0.5
+        ZoneAwareLoadBalancer loadBalancer = loadBalancer();
+        List<ServiceInstance> instances = cluster(10, 4, 5);
+
+        for (int i = 0; i < 1_000; i++) {
+            LoadBalanceContext context = context("order:" + i);
+            boolean spilled = isRemote(loadBalancer.choose(instances, context));
+            for (int j = 0; j < 5; j++) {
+                assertThat(isRemote(loadBalancer.choose(instances, context))).isEqualTo(spilled);
+            }
+        }
+    }
+
+    @Test
+    void testSpilledFractionMatchesSpillProbability() {
+        ZoneAwareLoadBalancer loadBalancer = loadBalancer();
+        List<ServiceInstance> instances = cluster(10, 4, 5);
+
+        int spilled = spilledKeys(loadBalancer, instances).size();
+
+        assertThat((double) spilled / KEYS).isBetween(0.47, 0.53);
+        ZoneAwareLoadBalancer.ZoneRoutingStats stats = loadBalancer.getStats();
+        assertThat(stats.spilloverRequests()).isEqualTo(spilled);
+        assertThat(stats.localRequests()).isEqualTo(KEYS - spilled);
+    }
+
+    @Test
+    void testSpilledKeysStaySpilledAsHealthDrops() {
+        ZoneAwareLoadBalancer loadBalancer = loadBalancer();
+
+        // r = 0.6 → 溢出 25%；r = 0.4 → 溢出 50%；r = 0.2 → 溢出 75%
+        Set<String> mild = spilledKeys(loadBalancer, cluster(10, 6, 5));
+        Set<String> moderate = spilledKeys(loadBalancer, cluster(10, 4, 5));
+        Set<String> severe = spilledKeys(loadBalancer, cluster(10, 2, 5));
+
+        assertThat(moderate).containsAll(mild);
+        assertThat(severe).containsAll(moderate);
+        assertThat((double) mild.size() / KEYS).isBetween(0.22, 0.28);
+        assertThat((double) severe.size() / KEYS).isBetween(0.72, 0.78);
+    }
+
+    @Test
+    void testUserIdUsedWhenRequestIdMissing() {
+        ZoneAwareLoadBalancer loadBalancer = loadBalancer();
+        List<ServiceInstance> instances = cluster(10, 4, 5);
+
+        for (int i = 0; i < 200; i++) {
+            boolean byRequestId = isRemote(loadBalancer.choose(instances, context("user:" + i)));
+            LoadBalanceContext byUser = new LoadBalanceContext(null, "user:" + i, null, null);
+            assertThat(isRemote(loadBalancer.choose(instances, byUser))).isEqualTo(byRequestId);
+        }
+    }
+
+    @Test
+    void testRequestsWithoutKeySpillRandomly() {
+        ZoneAwareLoadBalancer loadBalancer = loadBalancer();
+        List<ServiceInstance> instances = cluster(10, 4, 5);
+
+        int spilled = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (isRemote(loadBalancer.choose(instances))) {
+                spilled++;
+            }
+        }
+
+        assertThat((double) spilled / KEYS).isBetween(0.47, 0.53);
+    }
+
+    @Test
+    void testTooFewLocalInstancesSpillsEverything() {
+        ZoneAwareLoadBalancer.ZoneConfig config = config();
+        config.setMinLocalInstances(3);
+        ZoneAwareLoadBalancer loadBalancer = new ZoneAwareLoadBalancer(new FirstLoadBalancer(), "az-1", config);
+        List<ServiceInstance> instances = cluster(3, 2, 2);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(isRemote(loadBalancer.choose(instances, context("order:" + i)))).isTrue();
+        }
+    }
+
+    @Test
+    void testStaysLocalWhenNoRemoteInstanceHealthy() {
+        ZoneAwareLoadBalancer loadBalancer = loadBalancer();
+        List<ServiceInstance> instances = cluster(10, 1, 0);
+        instances.add(instance("az-2", 99, false));
+
+        for (int i = 0; i < 100; i++) {
+            ServiceInstance chosen = loadBalancer.choose(instances, context("order:" + i));
+            assertThat(isRemote(chosen)).isFalse();
+            assertThat(chosen.isHealthy()).isTrue();
+        }
+    }
+
+    @Test
+    void testHealthyLocalOnlyListPassedThrough() {
+        FirstLoadBalancer delegate = new FirstLoadBalancer();
+        ZoneAwareLoadBalancer loadBalancer = new ZoneAwareLoadBalancer(delegate, "az-1", config());
+        List<ServiceInstance> instances = cluster(4, 4, 0);
+
+        loadBalancer.choose(instances, context("order:1"));
+
+        assertThat(delegate.lastCandidates).isSameAs(instances);
+        assertThat(loadBalancer.getStats().requestsByZone()).isEqualTo(Map.of("az-1", 1L));
+    }
+
+    private static Set<String> spilledKeys(ZoneAwareLoadBalancer loadBalancer, List<ServiceInstance> instances) {
+        Set<String> spilled = new HashSet<>();
+        for (int i = 0; i < KEYS; i++) {
+            String key = "order:" + i;
+            if (isRemote(loadBalancer.choose(instances, context(key)))) {
+                spilled.add(key);
+            }
+        }
+        return spilled;
+    }
+
+    private static ZoneAwareLoadBalancer loadBalancer() {
+        return new ZoneAwareLoadBalancer(new FirstLoadBalancer(), "az-1", config());
+    }
+
+    private static ZoneAwareLoadBalancer.ZoneConfig config() {
+        ZoneAwareLoadBalancer.ZoneConfig config = new ZoneAwareLoadBalancer.ZoneConfig();
+        config.setMinHealthyRatio(0.8);
+        return config;
+    }
+
+    private static LoadBalanceContext context(String requestId) {
+        return new LoadBalanceContext(requestId, null, null, null);
+    }
+
+    private static boolean isRemote(ServiceInstance instance) {
+        return !"az-1".equals(instance.getMetadata("zone"));
+    }
+
+    /**
+     * 本地 localTotal 个实例（前 localHealthy 个健康）加上 remoteHealthy 个健康的远端实例
+     */
+    private static List<ServiceInstance> cluster(int localTotal, int localHealthy, int remoteHealthy) {
+        List<ServiceInstance> instances = new ArrayList<>();
+        for (int i = 0; i < localTotal; i++) {
+            instances.add(instance("az-1", i, i < localHealthy));
+        }
+        for (int i = 0; i < remoteHealthy; i++) {
+            instances.add(instance("az-2", localTotal + i, true));
+        }
+        return instances;
+    }
+
+    private static ServiceInstance instance(String zone, int index, boolean healthy) {
+        return ServiceInstance.builder()
+                .serviceName("order-service")
+                .instanceId("order-" + index)
+                .ip("10.0.0." + (index + 1))
+                .port(8080)
+                .weight(1.0)
+                .healthy(healthy)
+                .enabled(true)
+                .metadata(Map.of("zone", zone))
+                .build();
+    }
+
+    /**
+     * 总是选择第一个候选实例，便于观察区域路由结果
+     */
+    private static class FirstLoadBalancer implements LoadBalancer {
+
+        private List<ServiceInstance> lastCandidates;
+
+        @Override
+        public ServiceInstance choose(List<ServiceInstance> instances) {
+            lastCandidates = instances;
+            return instances.isEmpty() ? null : instances.get(0);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.nebula.messaging.core.annotation;
+
+import io.nebula.messaging.core.message.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.function.Consumer;
+
+/**
+ * 消息处理方法调用器
+ * <p>
+ * 注册时把处理方法绑定为函数式接口：优先通过 {@link LambdaMetafactory} 生成直接调用目标方法的
+ * {@link Consumer}，生成失败时退回到绑定了目标对象的 {@link MethodHandle}。每条消息的分发只是一次接口调用，
+ * 没有反射调用的参数数组与访问检查。
+ * </p>
+ * <p>
+ * 支持的方法签名：
+ * <ul>
+ *     <li>{@code void handle(Message<T> message)}：传入整条消息</li>
+ *     <li>{@code void handle(T payload)}：只传入载荷</li>
+ *     <li>{@code void handle()}：不关心消息内容</li>
+ * </ul>
+ * 载荷类型 {@code T} 在注册时从方法的泛型参数解析一次，可以是参数化类型（例如 {@code List<OrderItem>}），
+ * 消费者据此把消息体一次解码为目标类型。
+ * </p>
+ *
+ * @author nebula
+ */
+@Slf4j
+public final class HandlerMethodInvoker {
+
+    private final Method method;
+    private final Consumer<Object> target;
+    private final boolean payloadOnly;
+    private final Type payloadType;
+    private final Class<?> payloadClass;
+
+    private HandlerMethodInvoker(Method method, Consumer<Object> target, boolean payloadOnly, ResolvableType payload) {
+        this.method = method;
+        this.target = target;
+        this.payloadOnly = payloadOnly;
+        this.payloadClass = payload.resolve(Object.class);
+        this.payloadType = payload.getType() instanceof ParameterizedType && !payload.hasUnresolvableGenerics()
+                ? payload.getType() : payloadClass;
+    }
+
+    /**
+     * 为 bean 上的处理方法创建调用器
+     *
+     * @throws IllegalStateException 方法参数多于一个
+     */
+    public static HandlerMethodInvoker create(Object bean, Method method) {
+        if (method.getParameterCount() > 1) {
+            throw new IllegalStateException("Message handler method must declare at most one parameter: " + method);
+        }
+        Method invocable = AopUtils.selectInvocableMethod(method, bean.getClass());
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+
+        ResolvableType payload = ResolvableType.forClass(Object.class);
+        boolean payloadOnly = false;
+        if (invocable.getParameterCount() == 1) {
+            ResolvableType parameter = ResolvableType.forMethodParameter(invocable, 0, targetClass);
+            if (parameter.resolve() == Message.class) {
+                payload = parameter.getGeneric(0);
+            } else {
+                payload = parameter;
+                payloadOnly = true;
+            }
+        }
+        return new HandlerMethodInvoker(invocable, bind(bean, invocable), payloadOnly, payload);
+    }
+
+    /**
+     * 调用处理方法，处理方法抛出的异常原样传播
+     */
+    public void invoke(Message<?> message) {
+        target.accept(payloadOnly ? message.getPayload() : message);
+    }
+
+    /**
+     * 载荷的完整泛型类型
+     */
+    public Type getPayloadType() {
+        return payloadType;
+    }
+
+    /**
+     * 载荷的原始类型
+     */
+    public Class<?> getPayloadClass() {
+        return payloadClass;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    private static Consumer<Object> bind(Object bean, Method method) {
+        try {
+            return metafactory(bean, method);
+        } catch (Throwable e) {
+            log.debug("无法生成处理方法的直接调用，改用 MethodHandle: method={}, error={}", method, e.toString());
+        }
+        try {
+            return methodHandle(bean, method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access message handler method: " + method, e);
+        }
+    }
+
+    /**
+     * 通过 LambdaMetafactory 生成捕获目标对象的 Consumer，调用点与手写 lambda 相同
+     */
+    @SuppressWarnings("unchecked")
+    private static Consumer<Object> metafactory(Object bean, Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+        MethodHandle implementation = lookup.unreflect(method);
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        MethodType factoryType = isStatic
+                ? MethodType.methodType(Consumer.class)
+                : MethodType.methodType(Consumer.class, method.getDeclaringClass());
+
+        if (method.getParameterCount() == 0) {
+            MethodType runnableType = isStatic
+                    ? MethodType.methodType(Runnable.class)
+                    : MethodType.methodType(Runnable.class, method.getDeclaringClass());
+            MethodHandle factory = LambdaMetafactory.metafactory(lookup, "run", runnableType,
+                    MethodType.methodType(void.class), implementation, MethodType.methodType(void.class)).getTarget();
+            Runnable runnable = (Runnable) (isStatic ? factory.invoke() : factory.invoke(bean));
+            return argument -> runnable.run();
+        }
+
+        Class<?> parameter = method.getParameterTypes()[0];
+        Class<?> boxed = parameter.isPrimitive() ? MethodType.methodType(parameter).wrap().returnType() : parameter;
+        MethodHandle factory = LambdaMetafactory.metafactory(lookup, "accept", factoryType,
+                MethodType.methodType(void.class, Object.class), implementation,
+                MethodType.methodType(void.class, boxed)).getTarget();
+        return (Consumer<Object>) (isStatic ? factory.invoke() : factory.invoke(bean));
+    }
+
+    /**
+     * 绑定了目标对象的 MethodHandle，适用于 LambdaMetafactory 无法访问目标类的场景（例如模块未开放）
+     */
+    private static Consumer<Object> methodHandle(Object bean, Method method) throws IllegalAccessException {
+        ReflectionUtils.makeAccessible(method);
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(bean);
+        }
+        if (method.getParameterCount() == 0) {
+            MethodHandle noArgs = handle.asType(MethodType.methodType(void.class));
+            return argument -> {
+                try {
+                    noArgs.invokeExact();
+                } catch (Throwable e) {
+                    throw sneakyThrow(e);
+                }
+            };
+        }
+        MethodHandle oneArg = handle.asType(MethodType.methodType(void.class, Object.class));
+        return argument -> {
+            try {
+                oneArg.invokeExact(argument);
+            } catch (Throwable e) {
+                throw sneakyThrow(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneakyThrow(Throwable e) throws E {
+        throw (E) e;
+    }
+}
@@ -63,6 +63,22 @@ public @interface MessageHandler {
      */
     int concurrency() default 1;
     
+    /**
+     * 是否按消息键保序并行消费
+     * 为 true 时以 concurrency 作为并行通道数，同一消息键（shard_key 头）的消息按投递顺序处理
+     * 
+     * @return 是否按键保序
+     */
+    boolean ordered() default false;
+    
+    /**
+     * 是否按消息 ID 去重
+     * 为 true 时处理前查询去重存储，去重窗口内已处理成功的消息被跳过；处理失败的消息不登记，重新投递时照常处理
+     * 
+     * @return 是否去重
+     */
+    boolean idempotent() default false;
+    
     /**
      * 是否自动确认
      * 
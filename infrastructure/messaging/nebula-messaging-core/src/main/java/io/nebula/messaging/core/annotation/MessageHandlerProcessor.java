@@ -1,11 +1,16 @@
 package io.nebula.messaging.core.annotation;
 
 import io.nebula.messaging.core.consumer.MessageConsumer;
+import io.nebula.messaging.core.consumer.OrderedOptions;
+import io.nebula.messaging.core.dedup.BloomDeduplicationStore;
+import io.nebula.messaging.core.dedup.DeduplicatingMessageHandler;
+import io.nebula.messaging.core.dedup.DeduplicationStore;
 import io.nebula.messaging.core.manager.MessageManager;
 import io.nebula.messaging.core.message.Message;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.stereotype.Component;
@@ -13,6 +18,7 @@ import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.time.Duration;
 
 /**
@@ -27,10 +33,20 @@ public class MessageHandlerProcessor implements BeanPostProcessor {
     
     private final MessageManager messageManager;
     
+    private volatile DeduplicationStore deduplicationStore;
+    
     public MessageHandlerProcessor(MessageManager messageManager) {
         this.messageManager = messageManager;
     }
     
+    /**
+     * 设置去重存储，未设置时 idempotent 处理器共用一个本地布隆过滤器存储
+     */
+    @Autowired(required = false)
+    public void setDeduplicationStore(DeduplicationStore deduplicationStore) {
+        this.deduplicationStore = deduplicationStore;
+    }
+    
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
         Class<?> targetClass = AopUtils.getTargetClass(bean);
@@ -70,6 +86,10 @@ public class MessageHandlerProcessor implements BeanPostProcessor {
         
         // 创建消息处理器
         io.nebula.messaging.core.consumer.MessageHandler<Object> handler = createHandler(bean, method);
+        if (annotation.idempotent()) {
+            // 去重在处理器调用之前完成，作用域区分同一主题下的不同队列
+            handler = DeduplicatingMessageHandler.byMessageId(handler, deduplicationStore(), topic + ":" + queue);
+        }
         
         // 配置消费者
         configureConsumer(annotation);
@@ -77,7 +97,11 @@ public class MessageHandlerProcessor implements BeanPostProcessor {
         // 注册处理器
         @SuppressWarnings("unchecked")
         MessageConsumer<Object> consumer = (MessageConsumer<Object>) messageManager.getConsumer();
-        if (StringUtils.hasText(tag)) {
+        if (annotation.ordered()) {
+            // 按键保序：concurrency 作为并行通道数
+            consumer.subscribeOrdered(topic, queue, handler, OrderedOptions.of(
+                    Math.max(1, annotation.concurrency()), OrderedOptions.DEFAULT_LANE_CAPACITY));
+        } else if (StringUtils.hasText(tag)) {
             consumer.subscribeWithTag(topic, tag, handler);
         } else if (StringUtils.hasText(queue)) {
             consumer.subscribe(topic, queue, handler);
@@ -89,6 +113,23 @@ public class MessageHandlerProcessor implements BeanPostProcessor {
                 topic, queue, method.getName());
     }
     
+    /**
+     * 获取去重存储，没有配置时创建默认的本地存储
+     */
+    private DeduplicationStore deduplicationStore() {
+        DeduplicationStore store = deduplicationStore;
+        if (store == null) {
+            synchronized (this) {
+                if (deduplicationStore == null) {
+                    log.info("未配置去重存储，使用本地布隆过滤器存储");
+                    deduplicationStore = BloomDeduplicationStore.defaults();
+                }
+                store = deduplicationStore;
+            }
+        }
+        return store;
+    }
+    
     /**
      * 确定主题名称
      */
@@ -120,30 +161,17 @@ public class MessageHandlerProcessor implements BeanPostProcessor {
     }
     
     /**
-     * 创建消息处理器
+     * 创建消息处理器：方法在注册时绑定为直接调用，载荷类型在注册时解析一次
      */
     private io.nebula.messaging.core.consumer.MessageHandler<Object> createHandler(Object bean, Method method) {
-        // 提取方法参数的泛型类型
-        Class<?> messageType = extractMessageType(method);
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(bean, method);
+        log.debug("解析消息载荷类型: method={}, type={}", method.getName(), invoker.getPayloadType().getTypeName());
         
         return new io.nebula.messaging.core.consumer.MessageHandler<Object>() {
             @Override
             public void handle(Message<Object> message) {
                 try {
-                    // 使方法可访问
-                    ReflectionUtils.makeAccessible(method);
-                    
-                    // 调用处理方法
-                    if (method.getParameterCount() == 1) {
-                        // 如果方法只有一个参数，传递整个 Message 对象
-                        method.invoke(bean, message);
-                    } else if (method.getParameterCount() == 0) {
-                        // 如果没有参数，直接调用
-                        method.invoke(bean);
-                    } else {
-                        log.warn("消息处理方法参数数量不正确: method={}, paramCount={}", 
-                                method.getName(), method.getParameterCount());
-                    }
+                    invoker.invoke(message);
                 } catch (Exception e) {
                     log.error("消息处理失败: method={}, message={}, error={}", 
                             method.getName(), message.getId(), e.getMessage(), e);
@@ -154,46 +182,14 @@ public class MessageHandlerProcessor implements BeanPostProcessor {
             @Override
             @SuppressWarnings("unchecked")
             public Class<Object> getMessageType() {
-                return (Class<Object>) messageType;
+                return (Class<Object>) invoker.getPayloadClass();
             }
-        };
-    }
-    
-    /**
-     * 从方法参数中提取消息载荷类型
-     * 
-     * @param method 处理方法
-     * @return 消息载荷类型
-     */
-    private Class<?> extractMessageType(Method method) {
-        if (method.getParameterCount() == 0) {
-            return Object.class;
-        }
-        
-        // 获取第一个参数类型
-        java.lang.reflect.Type paramType = method.getGenericParameterTypes()[0];
-        
-        // 检查是否是 Message<T> 类型
-        if (paramType instanceof java.lang.reflect.ParameterizedType) {
-            java.lang.reflect.ParameterizedType pType = (java.lang.reflect.ParameterizedType) paramType;
             
-            // 确认原始类型是 Message
-            if (pType.getRawType() == Message.class) {
-                // 获取泛型参数 T
-                java.lang.reflect.Type[] actualTypeArguments = pType.getActualTypeArguments();
-                if (actualTypeArguments.length > 0) {
-                    java.lang.reflect.Type actualType = actualTypeArguments[0];
-                    if (actualType instanceof Class) {
-                        log.debug("提取到消息载荷类型: method={}, type={}", 
-                                method.getName(), ((Class<?>) actualType).getName());
-                        return (Class<?>) actualType;
-                    }
-                }
+            @Override
+            public Type getPayloadType() {
+                return invoker.getPayloadType();
             }
-        }
-        
-        log.warn("无法提取消息载荷类型，使用 Object.class: method={}", method.getName());
-        return Object.class;
+        };
     }
     
     /**
@@ -33,6 +33,10 @@ public @interface MessageListener {
 
     int concurrency() default 1;
 
+    boolean ordered() default false;
+
+    boolean idempotent() default false;
+
     boolean autoAck() default false;
 
     int maxRetries() default 3;
@@ -0,0 +1,44 @@
+package io.nebula.messaging.core.consumer;
+
+import io.nebula.messaging.core.message.Message;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * 批量消息处理器接口
+ * <p>
+ * 一次接收一批消息（按条数或等待时间攒批），便于下游以批量写入代替逐条写入。
+ * 处理结果通过 {@link BatchResult} 逐条标记成功或失败：成功的消息被确认，
+ * 失败的消息按各实现的语义重新投递；处理过程中抛出异常视为整批失败。
+ * </p>
+ *
+ * @param <T> 消息体类型
+ * @author nebula
+ */
+public interface BatchMessageHandler<T> {
+
+    /**
+     * 处理一批消息
+     *
+     * @param messages 本批消息，按投递顺序排列，至少包含一条
+     * @return 处理结果，返回 null 等同于 {@link BatchResult#success()}
+     */
+    BatchResult handle(List<Message<T>> messages);
+
+    /**
+     * 获取支持的消息类型
+     *
+     * @return 消息类型
+     */
+    Class<T> getMessageType();
+
+    /**
+     * 获取载荷的完整泛型类型，默认与 {@link #getMessageType()} 相同
+     *
+     * @return 载荷类型
+     */
+    default Type getPayloadType() {
+        return getMessageType();
+    }
+}
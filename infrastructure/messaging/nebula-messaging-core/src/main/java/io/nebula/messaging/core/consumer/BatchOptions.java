@@ -0,0 +1,37 @@
+package io.nebula.messaging.core.consumer;
+
+import java.time.Duration;
+
+/**
+ * 批量消费选项
+ * <p>
+ * 攒够 {@code maxBatchSize} 条或距本批第一条消息到达超过 {@code lingerTime} 时交给处理器，
+ * 以先满足者为准。{@code lingerTime} 为零表示不等待，有多少处理多少。
+ * </p>
+ *
+ * @param maxBatchSize 每批最大消息数
+ * @param lingerTime   攒批最长等待时间
+ * @author nebula
+ */
+public record BatchOptions(int maxBatchSize, Duration lingerTime) {
+
+    public BatchOptions {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        if (lingerTime == null || lingerTime.isNegative()) {
+            throw new IllegalArgumentException("lingerTime must not be negative: " + lingerTime);
+        }
+    }
+
+    /**
+     * 默认选项：每批最多 100 条，最长等待 100 毫秒
+     */
+    public static BatchOptions defaults() {
+        return new BatchOptions(100, Duration.ofMillis(100));
+    }
+
+    public static BatchOptions of(int maxBatchSize, Duration lingerTime) {
+        return new BatchOptions(maxBatchSize, lingerTime);
+    }
+}
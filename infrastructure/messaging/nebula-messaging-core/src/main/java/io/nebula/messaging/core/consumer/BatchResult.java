@@ -0,0 +1,118 @@
+package io.nebula.messaging.core.consumer;
+
+import java.util.BitSet;
+
+/**
+ * 批量消息处理结果
+ * <p>
+ * 以本批消息中的下标标记失败的消息，未标记的消息视为处理成功。
+ * </p>
+ *
+ * @author nebula
+ */
+public final class BatchResult {
+
+    private static final BatchResult SUCCESS = new BatchResult(new BitSet(), -1);
+    private static final BatchResult ALL_FAILED = new BatchResult(new BitSet(), 0);
+
+    private final BitSet failed;
+
+    /**
+     * 从该下标起（含）全部失败，-1 表示不适用
+     */
+    private final int failedFrom;
+
+    private BatchResult(BitSet failed, int failedFrom) {
+        this.failed = failed;
+        this.failedFrom = failedFrom;
+    }
+
+    /**
+     * 整批成功
+     */
+    public static BatchResult success() {
+        return SUCCESS;
+    }
+
+    /**
+     * 整批失败
+     */
+    public static BatchResult allFailed() {
+        return ALL_FAILED;
+    }
+
+    /**
+     * 指定下标的消息失败，其余成功
+     *
+     * @param indexes 失败消息在本批中的下标
+     */
+    public static BatchResult failed(int... indexes) {
+        if (indexes.length == 0) {
+            return SUCCESS;
+        }
+        BitSet failed = new BitSet();
+        for (int index : indexes) {
+            if (index < 0) {
+                throw new IllegalArgumentException("index must not be negative: " + index);
+            }
+            failed.set(index);
+        }
+        return new BatchResult(failed, -1);
+    }
+
+    /**
+     * 下标之前的消息成功，从该下标起（含）全部失败
+     * <p>
+     * 适用于按顺序处理、遇到第一条失败即停止的场景。
+     *
+     * @param index 第一条失败消息的下标
+     */
+    public static BatchResult failedFrom(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("index must not be negative: " + index);
+        }
+        return index == 0 ? ALL_FAILED : new BatchResult(new BitSet(), index);
+    }
+
+    /**
+     * 指定下标的消息是否处理成功
+     */
+    public boolean isSuccess(int index) {
+        return !failed.get(index) && (failedFrom < 0 || index < failedFrom);
+    }
+
+    /**
+     * 是否整批成功
+     */
+    public boolean isAllSuccess() {
+        return failed.isEmpty() && failedFrom < 0;
+    }
+
+    /**
+     * 第一条失败消息的下标，整批成功时返回 {@code size}
+     *
+     * @param size 本批消息数
+     */
+    public int firstFailure(int size) {
+        int first = failed.nextSetBit(0);
+        if (first < 0 || first >= size) {
+            first = size;
+        }
+        return failedFrom >= 0 ? Math.min(first, failedFrom) : first;
+    }
+
+    /**
+     * 失败的消息数
+     *
+     * @param size 本批消息数
+     */
+    public int failedCount(int size) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!isSuccess(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,235 @@
+package io.nebula.messaging.core.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 按键保序的并行分发器
+ * <p>
+ * 消息键哈希到 N 条单线程通道：同一键的消息总在同一通道内按提交顺序串行处理，不同键的消息并行处理。
+ * </p>
+ * <p>
+ * 背压：每条通道的缓冲有界，另有全局在途窗口（{@link OrderedOptions#maxInFlight()}，从提交到确认）。
+ * 目标通道或窗口已满时 {@link #submit(Object)} 阻塞，投递线程随之停止从中间件取消息。
+ * </p>
+ * <p>
+ * 确认：完成情况按提交顺序跟踪，只有从最早未确认消息开始的连续已完成区间才交给确认回调，
+ * 因此基于位点或 multiple ack 的确认不会越过仍在处理中的消息。确认回调在分发器的锁内按顺序调用，
+ * 不能在回调中提交新消息。
+ * </p>
+ *
+ * @param <E> 消息类型
+ * @author nebula
+ */
+@Slf4j
+public class KeyOrderedDispatcher<E> implements AutoCloseable {
+
+    private final Function<E, String> keyExtractor;
+    private final Predicate<E> processor;
+    private final Consumer<List<Completion<E>>> committer;
+    private final List<Lane> lanes;
+    private final Semaphore window;
+    private final int maxInFlight;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final ArrayDeque<Task<E>> inFlight = new ArrayDeque<>();
+    private final LongAdder committedCount = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param name         名称，用作通道线程名前缀
+     * @param options      通道数与容量
+     * @param keyExtractor 提取消息键，返回 null 时按轮询分配通道
+     * @param processor    在通道线程上处理消息，返回 false 或抛出异常表示失败
+     * @param committer    按提交顺序接收连续的已完成区间
+     */
+    public KeyOrderedDispatcher(String name, OrderedOptions options, Function<E, String> keyExtractor,
+                                Predicate<E> processor, Consumer<List<Completion<E>>> committer) {
+        this.keyExtractor = keyExtractor;
+        this.processor = processor;
+        this.committer = committer;
+        this.maxInFlight = options.maxInFlight();
+        this.window = new Semaphore(maxInFlight);
+        this.lanes = new ArrayList<>(options.lanes());
+        for (int i = 0; i < options.lanes(); i++) {
+            Lane lane = new Lane(options.laneCapacity());
+            Thread thread = new Thread(lane, name + "-lane-" + i);
+            thread.setDaemon(true);
+            lane.thread = thread;
+            lanes.add(lane);
+            thread.start();
+        }
+    }
+
+    /**
+     * 提交消息，目标通道或在途窗口已满时阻塞
+     */
+    public void submit(E element) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("KeyOrderedDispatcher is closed");
+        }
+        Lane lane = lanes.get(laneIndex(keyExtractor.apply(element)));
+        window.acquire();
+        try {
+            lane.slots.acquire();
+        } catch (InterruptedException e) {
+            window.release();
+            throw e;
+        }
+        if (closed) {
+            throw new IllegalStateException("KeyOrderedDispatcher is closed");
+        }
+        Task<E> task = new Task<>(element);
+        // 入窗口与入通道在同一把锁内，保证通道内顺序与确认顺序一致
+        synchronized (inFlight) {
+            inFlight.addLast(task);
+            lane.queue.add(task);
+        }
+    }
+
+    /**
+     * 已提交未确认的消息数
+     */
+    public int getInFlightCount() {
+        synchronized (inFlight) {
+            return inFlight.size();
+        }
+    }
+
+    /**
+     * 已交给确认回调的消息数
+     */
+    public long getCommittedCount() {
+        return committedCount.sum();
+    }
+
+    /**
+     * 是否已关闭
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 停止通道线程，未确认的消息被丢弃，由中间件按各自语义重新投递
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+            lane.queue.clear();
+            // 唤醒阻塞在通道容量上的提交者，使其看到关闭状态
+            lane.slots.release(lane.capacity);
+        }
+        synchronized (inFlight) {
+            inFlight.clear();
+        }
+        window.release(maxInFlight);
+    }
+
+    private int laneIndex(String key) {
+        if (key == null) {
+            return Math.floorMod(roundRobin.getAndIncrement(), lanes.size());
+        }
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.size());
+    }
+
+    private void complete(Task<E> task, boolean success) {
+        task.state = success ? Task.SUCCEEDED : Task.FAILED;
+        int committed = 0;
+        synchronized (inFlight) {
+            List<Completion<E>> range = null;
+            Task<E> head;
+            while ((head = inFlight.peekFirst()) != null && head.state != Task.PENDING) {
+                inFlight.pollFirst();
+                if (range == null) {
+                    range = new ArrayList<>();
+                }
+                range.add(new Completion<>(head.element, head.state == Task.SUCCEEDED));
+            }
+            if (range != null && !closed) {
+                committed = range.size();
+                try {
+                    committer.accept(range);
+                } catch (Exception e) {
+                    log.error("按键保序分发确认失败: size={}, error={}", range.size(), e.getMessage(), e);
+                }
+            }
+        }
+        if (committed > 0) {
+            committedCount.add(committed);
+            window.release(committed);
+        }
+    }
+
+    /**
+     * 单线程通道
+     */
+    private class Lane implements Runnable {
+
+        private final LinkedBlockingQueue<Task<E>> queue = new LinkedBlockingQueue<>();
+        private final int capacity;
+        private final Semaphore slots;
+        private Thread thread;
+
+        Lane(int capacity) {
+            this.capacity = capacity;
+            this.slots = new Semaphore(capacity);
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                Task<E> task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                slots.release();
+                boolean success;
+                try {
+                    success = processor.test(task.element);
+                } catch (Exception e) {
+                    log.error("按键保序分发处理失败: thread={}, error={}", thread.getName(), e.getMessage(), e);
+                    success = false;
+                }
+                complete(task, success);
+            }
+        }
+    }
+
+    private static final class Task<E> {
+
+        static final int PENDING = 0;
+        static final int SUCCEEDED = 1;
+        static final int FAILED = 2;
+
+        final E element;
+        volatile int state = PENDING;
+
+        Task(E element) {
+            this.element = element;
+        }
+    }
+
+    /**
+     * 已完成的消息
+     *
+     * @param element 消息
+     * @param success 是否处理成功
+     */
+    public record Completion<E>(E element, boolean success) {
+    }
+}
@@ -0,0 +1,185 @@
+package io.nebula.messaging.core.consumer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 推模式消费的攒批器
+ * <p>
+ * 逐条接收投递，攒够 {@link BatchOptions#maxBatchSize()} 条立即刷出，
+ * 否则在本批第一条到达 {@link BatchOptions#lingerTime()} 后由调度线程刷出。
+ * 刷出时只在锁内换出当前批次并排入待处理队列，刷出回调在锁外执行，处理器耗时不会阻塞投递线程加入元素。
+ * 同一时刻只有一个线程执行回调，它按换出顺序处理完队列中所有批次后才退出，
+ * 因此各批仍严格按到达顺序串行处理，依赖投递顺序的确认方式（如 RabbitMQ 的 multiple ack）可以安全使用。
+ * </p>
+ *
+ * @param <E> 缓冲元素类型
+ * @author nebula
+ */
+public class MessageBatcher<E> implements AutoCloseable {
+
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<List<E>> flusher;
+
+    private List<E> buffer;
+    private ScheduledFuture<?> lingerTask;
+    private boolean closed;
+
+    /**
+     * 已换出、等待回调处理的批次
+     */
+    private final ArrayDeque<List<E>> ready = new ArrayDeque<>();
+
+    /**
+     * 是否有线程正在执行回调
+     */
+    private boolean draining;
+
+    /**
+     * @param options   攒批选项
+     * @param scheduler 执行等待超时刷出的调度器
+     * @param flusher   刷出回调，参数为本批元素
+     */
+    public MessageBatcher(BatchOptions options, ScheduledExecutorService scheduler, Consumer<List<E>> flusher) {
+        this.maxBatchSize = options.maxBatchSize();
+        this.lingerNanos = options.lingerTime().toNanos();
+        this.scheduler = scheduler;
+        this.flusher = flusher;
+        this.buffer = new ArrayList<>(maxBatchSize);
+    }
+
+    /**
+     * 加入一个元素，满批时在调用线程上刷出（已有线程在处理时交给该线程）
+     */
+    public void add(E element) {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("MessageBatcher is closed");
+            }
+            buffer.add(element);
+            if (buffer.size() < maxBatchSize && lingerNanos > 0) {
+                if (buffer.size() == 1) {
+                    List<E> batch = buffer;
+                    lingerTask = scheduler.schedule(() -> flushLingering(batch), lingerNanos, TimeUnit.NANOSECONDS);
+                }
+                return;
+            }
+            swap();
+        }
+        drain();
+    }
+
+    /**
+     * 立即刷出当前缓冲的元素
+     */
+    public void flush() {
+        synchronized (this) {
+            swap();
+        }
+        drain();
+    }
+
+    /**
+     * 当前缓冲的元素数
+     */
+    public synchronized int size() {
+        return buffer.size();
+    }
+
+    /**
+     * 丢弃缓冲及尚未交给回调的元素并停止接收，返回被丢弃的元素
+     */
+    public synchronized List<E> discard() {
+        closed = true;
+        cancelLinger();
+        List<E> dropped = new ArrayList<>();
+        ready.forEach(dropped::addAll);
+        ready.clear();
+        dropped.addAll(buffer);
+        buffer = new ArrayList<>(0);
+        return dropped;
+    }
+
+    /**
+     * 刷出剩余元素并停止接收
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            swap();
+            closed = true;
+        }
+        drain();
+    }
+
+    private void flushLingering(List<E> batch) {
+        synchronized (this) {
+            // 该批已因满批被刷出时 buffer 已替换，忽略过期的定时任务
+            if (buffer != batch || closed) {
+                return;
+            }
+            lingerTask = null;
+            swap();
+        }
+        drain();
+    }
+
+    /**
+     * 换出当前批次排入待处理队列（需持有锁）
+     */
+    private void swap() {
+        cancelLinger();
+        if (buffer.isEmpty()) {
+            return;
+        }
+        ready.addLast(buffer);
+        buffer = new ArrayList<>(maxBatchSize);
+    }
+
+    private void cancelLinger() {
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+    }
+
+    /**
+     * 在锁外按顺序处理待处理批次；已有线程在处理时直接返回，由该线程接着处理新排入的批次
+     */
+    private void drain() {
+        synchronized (this) {
+            if (draining || ready.isEmpty()) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            List<E> batch;
+            synchronized (this) {
+                batch = ready.pollFirst();
+                if (batch == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                flusher.accept(batch);
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    draining = false;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -39,7 +39,40 @@ public interface MessageConsumer<T> {
      * @param handler 消息处理器
      */
     void subscribeWithTag(String topic, String tag, MessageHandler<T> handler);
-    
+
+    /**
+     * 批量订阅消息
+     * <p>
+     * 消息按 {@link BatchOptions} 攒批后交给处理器，按 {@link BatchResult} 逐条确认：
+     * 成功的消息被确认，失败的消息重新投递；处理器抛出异常时整批重新投递。
+     *
+     * @param topic 主题
+     * @param queue 队列
+     * @param handler 批量消息处理器
+     * @param options 攒批选项
+     * @throws UnsupportedOperationException 实现不支持批量消费时
+     */
+    default void subscribeBatch(String topic, String queue, BatchMessageHandler<T> handler, BatchOptions options) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support batch consumption");
+    }
+
+    /**
+     * 按消息键保序并行订阅
+     * <p>
+     * 消息按 {@link OrderedOptions#keyHeader()} 头哈希到多条单线程通道（见 {@link KeyOrderedDispatcher}）：
+     * 同一键的消息按投递顺序处理，不同键并行处理。在途消息达到上限时停止从中间件取消息，
+     * 确认只覆盖连续已完成的消息；失败的消息按各实现的语义重新投递，重新投递不保证顺序。
+     *
+     * @param topic 主题
+     * @param queue 队列
+     * @param handler 消息处理器
+     * @param options 通道数、容量与消息键
+     * @throws UnsupportedOperationException 实现不支持按键保序消费时
+     */
+    default void subscribeOrdered(String topic, String queue, MessageHandler<T> handler, OrderedOptions options) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support key-ordered consumption");
+    }
+
     /**
      * 取消订阅
      * 
@@ -2,6 +2,8 @@ package io.nebula.messaging.core.consumer;
 
 import io.nebula.messaging.core.message.Message;
 
+import java.lang.reflect.Type;
+
 /**
  * 消息处理器接口
  * 用于处理接收到的消息
@@ -24,4 +26,16 @@ public interface MessageHandler<T> {
      * @return 消息类型
      */
     Class<T> getMessageType();
+
+    /**
+     * 获取载荷的完整泛型类型，例如 {@code List<OrderItem>}
+     * <p>
+     * 消费者按该类型一次解码出载荷，默认与 {@link #getMessageType()} 相同。
+     * </p>
+     *
+     * @return 载荷类型
+     */
+    default Type getPayloadType() {
+        return getMessageType();
+    }
 }
@@ -0,0 +1,61 @@
+package io.nebula.messaging.core.consumer;
+
+/**
+ * 按键保序并行消费选项
+ * <p>
+ * 消息按 {@code keyHeader} 头的值哈希到 {@code lanes} 条单线程通道，同一键的消息在同一通道内按投递顺序处理。
+ * 每条通道最多缓冲 {@code laneCapacity} 条消息，整个订阅的在途消息（已投递未确认）不超过
+ * {@code lanes × laneCapacity}。消息没有该头时以消息 ID 作为键，即不保证顺序。
+ * </p>
+ *
+ * @param lanes        并行通道数
+ * @param laneCapacity 每条通道的缓冲容量
+ * @param keyHeader    消息键所在的消息头
+ * @author nebula
+ */
+public record OrderedOptions(int lanes, int laneCapacity, String keyHeader) {
+
+    /**
+     * 默认的消息键消息头
+     */
+    public static final String DEFAULT_KEY_HEADER = "shard_key";
+
+    /**
+     * 默认的每条通道缓冲容量
+     */
+    public static final int DEFAULT_LANE_CAPACITY = 64;
+
+    public OrderedOptions {
+        if (lanes <= 0) {
+            throw new IllegalArgumentException("lanes must be positive: " + lanes);
+        }
+        if (laneCapacity <= 0) {
+            throw new IllegalArgumentException("laneCapacity must be positive: " + laneCapacity);
+        }
+        if (keyHeader == null || keyHeader.isEmpty()) {
+            throw new IllegalArgumentException("keyHeader must not be empty");
+        }
+    }
+
+    /**
+     * 默认选项：通道数等于处理器核数，每条通道缓冲 {@value #DEFAULT_LANE_CAPACITY} 条，键取自 {@value #DEFAULT_KEY_HEADER} 头
+     */
+    public static OrderedOptions defaults() {
+        return new OrderedOptions(Runtime.getRuntime().availableProcessors(), DEFAULT_LANE_CAPACITY, DEFAULT_KEY_HEADER);
+    }
+
+    public static OrderedOptions of(int lanes, int laneCapacity) {
+        return new OrderedOptions(lanes, laneCapacity, DEFAULT_KEY_HEADER);
+    }
+
+    public static OrderedOptions of(int lanes, int laneCapacity, String keyHeader) {
+        return new OrderedOptions(lanes, laneCapacity, keyHeader);
+    }
+
+    /**
+     * 在途消息上限
+     */
+    public int maxInFlight() {
+        return lanes * laneCapacity;
+    }
+}
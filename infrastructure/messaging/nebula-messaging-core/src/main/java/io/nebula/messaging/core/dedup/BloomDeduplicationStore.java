@@ -0,0 +1,231 @@
+package io.nebula.messaging.core.dedup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 基于分代布隆过滤器的本地去重存储
+ * <p>
+ * 去重窗口被切成若干代，每代一个固定大小的布隆过滤器。写入只进入最新一代，查询检查全部存活的代；
+ * 最新一代到期或写满预期条数时轮换，最老的一代整块丢弃。内存占用固定为
+ * {@code generations × bitsPerGeneration}，与流量无关；流量超过预期时轮换加快，有效窗口随之缩短，
+ * 误判率保持在配置值附近。
+ * </p>
+ * <p>
+ * 布隆过滤器没有漏判，但有误判：误判的新消息会被当作重复跳过。默认误判率为一百万分之一，
+ * 不能接受任何误判的场景应使用精确存储（例如 Redis 实现）。正在处理的键另外保存在精确集合中，
+ * 并发投递的同一条消息只有一个能进入处理；处理失败的键只从该集合移除，不写入过滤器。
+ * </p>
+ *
+ * @author nebula
+ */
+@Slf4j
+public class BloomDeduplicationStore implements DeduplicationStore {
+
+    private final int generations;
+    private final long generationMillis;
+    private final long expectedInsertions;
+    private final int numBits;
+    private final int numHashes;
+    private final LongSupplier clock;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 下标 0 为最新一代
+     */
+    private volatile Generation[] ring;
+
+    /**
+     * @param window             去重窗口
+     * @param generations        窗口切分的代数，越多窗口边界越精确，查询越慢
+     * @param expectedInsertions 每代预期写入条数，超过后提前轮换
+     * @param falsePositiveRate  每代的目标误判率
+     */
+    public BloomDeduplicationStore(Duration window, int generations, long expectedInsertions, double falsePositiveRate) {
+        this(window, generations, expectedInsertions, falsePositiveRate, System::currentTimeMillis);
+    }
+
+    BloomDeduplicationStore(Duration window, int generations, long expectedInsertions, double falsePositiveRate,
+                            LongSupplier clock) {
+        if (generations < 2) {
+            throw new IllegalArgumentException("generations must be at least 2: " + generations);
+        }
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        this.generations = generations;
+        this.generationMillis = Math.max(1, window.toMillis() / generations);
+        this.expectedInsertions = expectedInsertions;
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        if (bits > Integer.MAX_VALUE - 63) {
+            throw new IllegalArgumentException("filter too large, reduce expectedInsertions or raise falsePositiveRate");
+        }
+        this.numBits = (int) ((bits + 63) & ~63L);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.clock = clock;
+        Generation[] initial = new Generation[generations];
+        long now = clock.getAsLong();
+        for (int i = 0; i < generations; i++) {
+            initial[i] = new Generation(numBits, now);
+        }
+        this.ring = initial;
+        log.info("布隆去重存储初始化: window={}, generations={}, bitsPerGeneration={}, hashes={}, memory={}KB",
+                window, generations, numBits, numHashes, (long) generations * numBits / 8 / 1024);
+    }
+
+    /**
+     * 默认配置：10 分钟窗口、4 代、每代 25 万条、误判率 1e-6，约占 3.5MB
+     */
+    public static BloomDeduplicationStore defaults() {
+        return new BloomDeduplicationStore(Duration.ofMinutes(10), 4, 250_000, 1e-6);
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long[] hashes = hash(key);
+        Generation[] current = rotateIfNeeded();
+        if (mightContain(current, hashes)) {
+            return false;
+        }
+        if (!inFlight.add(key)) {
+            return false;
+        }
+        // 占用期间另一个线程可能刚处理完同一个键并写入了过滤器
+        if (mightContain(ring, hashes)) {
+            inFlight.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void release(String key, boolean processed) {
+        if (processed) {
+            // 先写过滤器再移出处理中集合，两者之间不存在都查不到的窗口
+            ring[0].put(hash(key), numHashes, numBits);
+        }
+        inFlight.remove(key);
+    }
+
+    /**
+     * 正在处理的键数
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * 每代过滤器的位数
+     */
+    public int getBitsPerGeneration() {
+        return numBits;
+    }
+
+    public int getHashCount() {
+        return numHashes;
+    }
+
+    private boolean mightContain(Generation[] current, long[] hashes) {
+        for (Generation generation : current) {
+            if (generation.mightContain(hashes, numHashes, numBits)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Generation[] rotateIfNeeded() {
+        Generation[] current = ring;
+        long now = clock.getAsLong();
+        Generation newest = current[0];
+        if (now - newest.createdAt < generationMillis && newest.count.get() < expectedInsertions) {
+            return current;
+        }
+        synchronized (this) {
+            current = ring;
+            newest = current[0];
+            if (now - newest.createdAt < generationMillis && newest.count.get() < expectedInsertions) {
+                return current;
+            }
+            // 长时间空闲后一次轮换多代，过期的代直接丢弃
+            long elapsed = (now - newest.createdAt) / generationMillis;
+            int steps = (int) Math.min(generations, Math.max(1, elapsed));
+            Generation[] next = new Generation[generations];
+            for (int i = 0; i < steps; i++) {
+                next[i] = new Generation(numBits, now);
+            }
+            System.arraycopy(current, 0, next, steps, generations - steps);
+            ring = next;
+            return next;
+        }
+    }
+
+    /**
+     * 对键计算两个 64 位哈希，按 Kirsch-Mitzenmacher 组合出 k 个位置
+     */
+    private static long[] hash(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x9E3779B97F4A7C15L;
+        for (byte b : bytes) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = Long.rotateLeft(h2 ^ (b & 0xff), 27) * 0xC2B2AE3D27D4EB4FL;
+        }
+        return new long[]{mix(h1 ^ bytes.length), mix(h2) | 1};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray bits;
+        private final AtomicInteger count = new AtomicInteger();
+        private final long createdAt;
+
+        Generation(int numBits, long createdAt) {
+            this.bits = new AtomicLongArray(numBits >>> 6);
+            this.createdAt = createdAt;
+        }
+
+        boolean mightContain(long[] hashes, int numHashes, int numBits) {
+            long combined = hashes[0];
+            for (int i = 0; i < numHashes; i++) {
+                int index = (int) Long.remainderUnsigned(combined, numBits);
+                if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                    return false;
+                }
+                combined += hashes[1];
+            }
+            return true;
+        }
+
+        void put(long[] hashes, int numHashes, int numBits) {
+            long combined = hashes[0];
+            for (int i = 0; i < numHashes; i++) {
+                int index = (int) Long.remainderUnsigned(combined, numBits);
+                long mask = 1L << index;
+                int word = index >>> 6;
+                long value;
+                while (((value = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                    Thread.onSpinWait();
+                }
+                combined += hashes[1];
+            }
+            count.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.nebula.messaging.core.dedup;
+
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchResult;
+import io.nebula.messaging.core.message.Message;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 去重批量消息处理器
+ * <p>
+ * 整批消息的键通过 {@link DeduplicationStore#tryAcquireAll(List)} 一次查询，只把首次出现的消息交给委托处理器；
+ * 委托处理器返回的结果按原批次下标映射回去，重复消息视为成功。
+ * </p>
+ *
+ * @param <T> 消息载荷类型
+ * @author nebula
+ */
+@Slf4j
+public class DeduplicatingBatchMessageHandler<T> implements BatchMessageHandler<T> {
+
+    private final BatchMessageHandler<T> delegate;
+    private final DeduplicationStore store;
+    private final String scope;
+    private final Function<Message<?>, String> keyExtractor;
+    private final LongAdder duplicateCount = new LongAdder();
+
+    /**
+     * @param delegate     委托处理器
+     * @param store        去重存储
+     * @param scope        键的作用域，通常为 {@code topic:queue}
+     * @param keyExtractor 提取消息键，返回 null 表示不去重
+     */
+    public DeduplicatingBatchMessageHandler(BatchMessageHandler<T> delegate, DeduplicationStore store, String scope,
+                                            Function<Message<?>, String> keyExtractor) {
+        this.delegate = delegate;
+        this.store = store;
+        this.scope = scope;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * 以消息 ID 作为去重键
+     */
+    public static <T> DeduplicatingBatchMessageHandler<T> byMessageId(BatchMessageHandler<T> delegate,
+                                                                      DeduplicationStore store, String scope) {
+        return new DeduplicatingBatchMessageHandler<>(delegate, store, scope, Message::getId);
+    }
+
+    @Override
+    public BatchResult handle(List<Message<T>> messages) {
+        int size = messages.size();
+        String[] keys = new String[size];
+        List<String> lookup = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys[i] = DeduplicatingMessageHandler.dedupKey(scope, keyExtractor.apply(messages.get(i)));
+            if (keys[i] != null) {
+                lookup.add(keys[i]);
+            }
+        }
+        boolean[] acquired = lookup.isEmpty() ? new boolean[0] : store.tryAcquireAll(lookup);
+
+        // fresh 记录交给委托处理器的消息在原批次中的下标；held 为其中占用了键的部分
+        List<Message<T>> fresh = new ArrayList<>(size);
+        int[] freshIndexes = new int[size];
+        List<String> heldKeys = new ArrayList<>(lookup.size());
+        int[] heldFreshIndexes = new int[lookup.size()];
+        int cursor = 0;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != null && !acquired[cursor++]) {
+                continue;
+            }
+            if (keys[i] != null) {
+                heldFreshIndexes[heldKeys.size()] = fresh.size();
+                heldKeys.add(keys[i]);
+            }
+            freshIndexes[fresh.size()] = i;
+            fresh.add(messages.get(i));
+        }
+        int duplicates = size - fresh.size();
+        if (duplicates > 0) {
+            duplicateCount.add(duplicates);
+            log.debug("跳过重复消息: scope={}, duplicates={}, batchSize={}", scope, duplicates, size);
+        }
+        if (fresh.isEmpty()) {
+            return BatchResult.success();
+        }
+
+        BatchResult result;
+        try {
+            result = delegate.handle(fresh);
+        } catch (RuntimeException | Error e) {
+            store.releaseAll(heldKeys, new boolean[heldKeys.size()]);
+            throw e;
+        }
+        if (result == null) {
+            result = BatchResult.success();
+        }
+
+        boolean[] processed = new boolean[heldKeys.size()];
+        for (int i = 0; i < processed.length; i++) {
+            processed[i] = result.isSuccess(heldFreshIndexes[i]);
+        }
+        store.releaseAll(heldKeys, processed);
+
+        if (result.isAllSuccess()) {
+            return BatchResult.success();
+        }
+        int[] failed = new int[result.failedCount(fresh.size())];
+        int count = 0;
+        for (int i = 0; i < fresh.size(); i++) {
+            if (!result.isSuccess(i)) {
+                failed[count++] = freshIndexes[i];
+            }
+        }
+        return BatchResult.failed(failed);
+    }
+
+    @Override
+    public Class<T> getMessageType() {
+        return delegate.getMessageType();
+    }
+
+    @Override
+    public Type getPayloadType() {
+        return delegate.getPayloadType();
+    }
+
+    /**
+     * 被跳过的重复消息数
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+}
@@ -0,0 +1,97 @@
+package io.nebula.messaging.core.dedup;
+
+import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.message.Message;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 去重消息处理器
+ * <p>
+ * 在委托处理器之前查询 {@link DeduplicationStore}：重复消息直接返回（由中间件按成功确认），
+ * 首次出现的消息交给委托处理器，处理成功后登记，抛出异常时释放占用并原样抛出，让中间件重新投递。
+ * 提取不到消息键的消息不做去重。
+ * </p>
+ *
+ * @param <T> 消息载荷类型
+ * @author nebula
+ */
+@Slf4j
+public class DeduplicatingMessageHandler<T> implements MessageHandler<T> {
+
+    private final MessageHandler<T> delegate;
+    private final DeduplicationStore store;
+    private final String scope;
+    private final Function<Message<?>, String> keyExtractor;
+    private final LongAdder duplicateCount = new LongAdder();
+
+    /**
+     * @param delegate     委托处理器
+     * @param store        去重存储
+     * @param scope        键的作用域，通常为 {@code topic:queue}，避免不同订阅互相去重
+     * @param keyExtractor 提取消息键，返回 null 表示不去重
+     */
+    public DeduplicatingMessageHandler(MessageHandler<T> delegate, DeduplicationStore store, String scope,
+                                       Function<Message<?>, String> keyExtractor) {
+        this.delegate = delegate;
+        this.store = store;
+        this.scope = scope;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * 以消息 ID 作为去重键
+     */
+    public static <T> DeduplicatingMessageHandler<T> byMessageId(MessageHandler<T> delegate, DeduplicationStore store,
+                                                                 String scope) {
+        return new DeduplicatingMessageHandler<>(delegate, store, scope, Message::getId);
+    }
+
+    @Override
+    public void handle(Message<T> message) {
+        String key = dedupKey(scope, keyExtractor.apply(message));
+        if (key == null) {
+            delegate.handle(message);
+            return;
+        }
+        if (!store.tryAcquire(key)) {
+            duplicateCount.increment();
+            log.debug("跳过重复消息: scope={}, messageId={}", scope, message.getId());
+            return;
+        }
+        boolean processed = false;
+        try {
+            delegate.handle(message);
+            processed = true;
+        } finally {
+            store.release(key, processed);
+        }
+    }
+
+    @Override
+    public Class<T> getMessageType() {
+        return delegate.getMessageType();
+    }
+
+    @Override
+    public Type getPayloadType() {
+        return delegate.getPayloadType();
+    }
+
+    /**
+     * 被跳过的重复消息数
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    static String dedupKey(String scope, String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        return scope == null ? key : scope + ":" + key;
+    }
+}
@@ -0,0 +1,57 @@
+package io.nebula.messaging.core.dedup;
+
+import java.util.List;
+
+/**
+ * 消息去重存储
+ * <p>
+ * 采用两阶段协议：处理前以 {@link #tryAcquire(String)} 占用消息键，处理结束后以 {@link #release(String, boolean)}
+ * 登记结果。处理成功的键在去重窗口内被记住，重复投递直接跳过；处理失败的键被释放，重新投递时照常处理，
+ * 保证至少一次语义不因去重而丢消息。
+ * </p>
+ * <p>
+ * 键由调用方拼好作用域（例如 {@code topic:queue:messageId}），同一条消息投递给不同订阅时互不影响。
+ * </p>
+ *
+ * @author nebula
+ */
+public interface DeduplicationStore {
+
+    /**
+     * 占用消息键
+     *
+     * @return 键未处理过且没有正在处理的同键消息时返回 true；重复时返回 false
+     */
+    boolean tryAcquire(String key);
+
+    /**
+     * 批量占用消息键，结果与 {@code keys} 一一对应
+     * <p>
+     * 同一批内重复的键只有第一次返回 true。远程实现应在一次往返内完成。
+     * </p>
+     */
+    default boolean[] tryAcquireAll(List<String> keys) {
+        boolean[] acquired = new boolean[keys.size()];
+        for (int i = 0; i < acquired.length; i++) {
+            acquired[i] = tryAcquire(keys.get(i));
+        }
+        return acquired;
+    }
+
+    /**
+     * 登记处理结果
+     *
+     * @param key       已占用的消息键
+     * @param processed true 表示处理成功，在去重窗口内记住该键；false 表示释放占用
+     */
+    void release(String key, boolean processed);
+
+    /**
+     * 批量登记处理结果，{@code processed} 与 {@code keys} 一一对应
+     */
+    default void releaseAll(List<String> keys, boolean[] processed) {
+        for (int i = 0; i < processed.length; i++) {
+            release(keys.get(i), processed[i]);
+        }
+    }
+}
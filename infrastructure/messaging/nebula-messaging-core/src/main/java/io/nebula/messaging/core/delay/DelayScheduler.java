@@ -0,0 +1,328 @@
+package io.nebula.messaging.core.delay;
+
+import io.nebula.messaging.core.message.Message;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 与消息中间件无关的延时消息调度器
+ * <p>
+ * 近期（不超过 {@link Options#getNearTermHorizon()}）的消息直接进入进程内分层时间轮，插入与取消均为 O(1)；
+ * 配置了 {@link DelayStore} 时，更远的消息写入持久化存储，由加载任务在进入近期窗口时批量装入时间轮。
+ * 未配置存储时所有消息都在时间轮中，时间轮按需增加层级，任意毫秒级延时都可以表示。
+ * </p>
+ * <p>
+ * 到期的消息交给投递回调（通常是某个 {@code MessageProducer} 的发送方法），在投递线程池上执行。
+ * 来自存储的消息先从存储删除再投递，多实例共享存储时只有删除成功的实例投递；投递失败按
+ * {@link Options#getRetryDelay()} 重新调度，超过消息的 {@code maxRetryCount} 后丢弃。
+ * 近期消息只保存在内存中，进程退出时未到期的近期消息会丢失。
+ * </p>
+ *
+ * @author nebula
+ */
+@Slf4j
+public class DelayScheduler implements AutoCloseable {
+
+    private final Consumer<Message<?>> dispatcher;
+    private final DelayStore store;
+    private final Options options;
+    private final HierarchicalTimingWheel<Pending> wheel;
+    private final ExecutorService dispatchExecutor;
+    private final LongAdder dispatchedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    private volatile ScheduledExecutorService loader;
+    private volatile Thread reaper;
+    private volatile boolean running;
+
+    /**
+     * 已装入时间轮的存储区间上界：投递时间不大于该值的存储消息都已装入时间轮，只在加载成功后推进
+     */
+    private volatile long loadedUntil = Long.MIN_VALUE;
+
+    /**
+     * 正在加载的存储区间上界，不小于 {@link #loadedUntil}；加载失败时回退到 {@link #loadedUntil}
+     */
+    private volatile long loadingUntil = Long.MIN_VALUE;
+
+    /**
+     * @param dispatcher 投递回调，抛出异常表示投递失败
+     * @param store      长延时消息存储，为 null 时全部消息保存在内存时间轮中
+     * @param options    调度参数
+     */
+    public DelayScheduler(Consumer<Message<?>> dispatcher, DelayStore store, Options options) {
+        this.dispatcher = dispatcher;
+        this.store = store;
+        this.options = options;
+        this.wheel = new HierarchicalTimingWheel<>(options.getTickMillis(), options.getWheelSize(),
+                System.currentTimeMillis(), this::submit);
+        this.dispatchExecutor = Executors.newFixedThreadPool(Math.max(1, options.getDispatchThreads()),
+                daemonThreads("nebula-delay-dispatch"));
+    }
+
+    /**
+     * 调度延时消息
+     *
+     * @return 延时任务标识，可用于取消
+     */
+    public String schedule(Message<?> message, Duration delay) {
+        if (delay == null || delay.isNegative()) {
+            throw new IllegalArgumentException("Delay must not be negative: " + delay);
+        }
+        return scheduleAt(message, System.currentTimeMillis() + delay.toMillis());
+    }
+
+    /**
+     * 在指定时间投递消息
+     *
+     * @param dueTime 投递时间（毫秒时间戳）
+     * @return 延时任务标识，可用于取消
+     */
+    public String scheduleAt(Message<?> message, long dueTime) {
+        String id = message.getId() != null ? message.getId() : UUID.randomUUID().toString();
+        DelayedMessage delayed = new DelayedMessage(id, dueTime, message);
+        long now = System.currentTimeMillis();
+        if (store == null || dueTime <= now + options.getNearTermHorizon().toMillis()) {
+            enqueue(new Pending(delayed, false));
+            return id;
+        }
+        store.save(delayed);
+        // 先写存储再读水位：与加载任务（先推进加载水位再查询）交错时至少一方会把它装入时间轮，
+        // 重复装入会被时间轮按标识忽略
+        if (dueTime <= loadingUntil) {
+            enqueue(new Pending(delayed, true));
+        }
+        return id;
+    }
+
+    /**
+     * 取消尚未投递的延时消息
+     *
+     * @return 找到并取消时返回 true
+     */
+    public boolean cancel(String id) {
+        boolean cancelled = wheel.cancel(id) != null;
+        if (store != null) {
+            cancelled |= store.remove(id);
+        }
+        return cancelled;
+    }
+
+    /**
+     * 启动时间轮推进线程与存储加载任务
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = daemonThreads("nebula-delay-wheel").newThread(this::runWheel);
+        reaper = thread;
+        thread.start();
+        if (store != null) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                    daemonThreads("nebula-delay-loader"));
+            long interval = Math.max(1, options.getLoadInterval().toMillis());
+            scheduler.scheduleWithFixedDelay(this::loadDue, 0, interval, TimeUnit.MILLISECONDS);
+            loader = scheduler;
+        }
+        log.info("延时调度器已启动: tickMillis={}, wheelSize={}, nearTermHorizon={}, store={}",
+                options.getTickMillis(), options.getWheelSize(), options.getNearTermHorizon(),
+                store != null ? store.getClass().getSimpleName() : "none");
+    }
+
+    /**
+     * 停止调度，内存中未到期的近期消息被丢弃，存储中的消息保留
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (loader != null) {
+            loader.shutdownNow();
+            loader = null;
+        }
+        if (reaper != null) {
+            reaper.interrupt();
+            reaper = null;
+        }
+        dispatchExecutor.shutdown();
+        log.info("延时调度器已停止: 内存中未到期消息={}", wheel.size());
+    }
+
+    /**
+     * 时间轮中等待投递的消息数
+     */
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * 存储中的消息数，未配置存储时为 0
+     */
+    public long getStoredCount() {
+        return store != null ? store.size() : 0;
+    }
+
+    public long getDispatchedCount() {
+        return dispatchedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    private void enqueue(Pending pending) {
+        DelayedMessage delayed = pending.message();
+        if (!wheel.add(delayed.id(), delayed.dueTime(), pending)) {
+            submit(pending);
+        }
+    }
+
+    private void runWheel() {
+        while (running) {
+            try {
+                wheel.advance(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("时间轮推进失败: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 把进入近期窗口的存储消息装入时间轮
+     */
+    private void loadDue() {
+        long from = loadedUntil;
+        long to = System.currentTimeMillis() + options.getNearTermHorizon().toMillis();
+        if (to <= from) {
+            return;
+        }
+        loadingUntil = to;
+        try {
+            List<DelayedMessage> due = store.loadDue(from, to);
+            for (DelayedMessage delayed : due) {
+                enqueue(new Pending(delayed, true));
+            }
+            loadedUntil = to;
+            if (!due.isEmpty()) {
+                log.debug("从存储装入延时消息: count={}, until={}", due.size(), to);
+            }
+        } catch (Exception e) {
+            // 水位不推进，下次从同一起点重新加载
+            loadingUntil = from;
+            log.error("加载延时消息失败，将从 {} 重新加载: {}", from, e.getMessage(), e);
+        }
+    }
+
+    private void submit(Pending pending) {
+        try {
+            dispatchExecutor.execute(() -> dispatch(pending));
+        } catch (Exception e) {
+            log.warn("延时消息投递被拒绝（调度器已停止）: id={}", pending.message().id());
+        }
+    }
+
+    private void dispatch(Pending pending) {
+        DelayedMessage delayed = pending.message();
+        // 存储中的消息以删除成功作为投递权，已取消或已被其他实例投递时跳过
+        if (pending.stored() && !store.remove(delayed.id())) {
+            return;
+        }
+        Message<?> message = delayed.message();
+        try {
+            dispatcher.accept(message);
+            dispatchedCount.increment();
+        } catch (Exception e) {
+            failedCount.increment();
+            if (message.getRetryCount() >= message.getMaxRetryCount()) {
+                log.error("延时消息投递失败且超过最大重试次数，丢弃: id={}, topic={}",
+                        delayed.id(), message.getTopic(), e);
+                return;
+            }
+            message.setRetryCount(message.getRetryCount() + 1);
+            log.warn("延时消息投递失败，{} 后重试: id={}, topic={}, retry={}",
+                    options.getRetryDelay(), delayed.id(), message.getTopic(), message.getRetryCount(), e);
+            long retryAt = System.currentTimeMillis() + options.getRetryDelay().toMillis();
+            DelayedMessage retry = new DelayedMessage(delayed.id(), retryAt, message);
+            if (store != null) {
+                store.save(retry);
+                enqueue(new Pending(retry, true));
+            } else {
+                enqueue(new Pending(retry, false));
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 时间轮中的任务
+     *
+     * @param message 延时消息
+     * @param stored  是否同时保存在存储中（投递前需从存储删除）
+     */
+    private record Pending(DelayedMessage message, boolean stored) {
+    }
+
+    /**
+     * 调度参数
+     */
+    @Data
+    public static class Options {
+
+        /**
+         * 时间轮刻度（毫秒），即投递时间精度
+         */
+        private long tickMillis = 10;
+
+        /**
+         * 每层时间轮槽数
+         */
+        private int wheelSize = 512;
+
+        /**
+         * 近期窗口：延时不超过该值的消息只进入内存时间轮，更远的消息写入存储
+         */
+        private Duration nearTermHorizon = Duration.ofMinutes(5);
+
+        /**
+         * 从存储装入近期消息的间隔
+         */
+        private Duration loadInterval = Duration.ofSeconds(1);
+
+        /**
+         * 投递失败后的重试间隔
+         */
+        private Duration retryDelay = Duration.ofSeconds(1);
+
+        /**
+         * 投递线程数
+         */
+        private int dispatchThreads = 1;
+    }
+}
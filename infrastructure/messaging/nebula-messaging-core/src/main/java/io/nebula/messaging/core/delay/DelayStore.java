@@ -0,0 +1,38 @@
+package io.nebula.messaging.core.delay;
+
+import java.util.List;
+
+/**
+ * 延时消息的持久化存储
+ * <p>
+ * 保存超出时间轮近期窗口的长延时消息，按投递时间区间批量加载进时间轮。
+ * 多个实例共享同一存储时，{@link #remove(String)} 的返回值决定由哪个实例投递，
+ * 因此实现必须保证同一条消息只有一次删除返回 true。
+ * </p>
+ *
+ * @author nebula
+ */
+public interface DelayStore {
+
+    /**
+     * 保存延时消息，相同标识的消息被覆盖
+     */
+    void save(DelayedMessage message);
+
+    /**
+     * 加载投递时间在 {@code (fromExclusive, toInclusive]} 内的消息
+     */
+    List<DelayedMessage> loadDue(long fromExclusive, long toInclusive);
+
+    /**
+     * 删除消息
+     *
+     * @return 消息存在且由本次调用删除时返回 true
+     */
+    boolean remove(String id);
+
+    /**
+     * 存储中的消息数
+     */
+    long size();
+}
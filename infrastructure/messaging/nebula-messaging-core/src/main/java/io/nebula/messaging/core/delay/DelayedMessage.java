@@ -0,0 +1,14 @@
+package io.nebula.messaging.core.delay;
+
+import io.nebula.messaging.core.message.Message;
+
+/**
+ * 等待投递的延时消息
+ *
+ * @param id      延时任务标识，用于取消
+ * @param dueTime 投递时间（毫秒时间戳）
+ * @param message 到期后投递的消息
+ * @author nebula
+ */
+public record DelayedMessage(String id, long dueTime, Message<?> message) {
+}
@@ -0,0 +1,307 @@
+package io.nebula.messaging.core.delay;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮
+ * <p>
+ * 最底层时间轮有 {@code wheelSize} 个槽，每槽 {@code tickMillis}；超出当前层范围的任务放入上一层
+ * （每槽跨度为下一层的整圈），按需逐层创建，因此任意延时的插入和取消都是 O(1)。
+ * 槽（而不是任务）进入 {@link DelayQueue}，推进线程只在有槽到期时被唤醒，
+ * 不会为空槽空转；高层槽到期后其中的任务按剩余时间降级到低层，最终在底层到期。
+ * 到期时间按刻度向上取整后再入槽，因此任务不会早于到期时间触发，最多延后一个刻度。
+ * </p>
+ * <p>
+ * 插入与取消在读锁下并发执行，推进时钟与降级在写锁下执行，保证降级期间的插入落在正确的层上。
+ * 到期回调在推进线程上执行，应当只做转交（如提交到线程池）。
+ * </p>
+ *
+ * @param <E> 任务载荷类型
+ * @author nebula
+ */
+public class HierarchicalTimingWheel<E> {
+
+    private final DelayQueue<Bucket<E>> queue = new DelayQueue<>();
+    private final Map<String, Entry<E>> entries = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Consumer<E> expiry;
+    private final long tickMillis;
+    private final Wheel<E> root;
+
+    /**
+     * @param tickMillis 底层时间轮每槽跨度（毫秒）
+     * @param wheelSize  每层槽数
+     * @param startMillis 起始时间（毫秒）
+     * @param expiry     到期回调
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis, Consumer<E> expiry) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        if (wheelSize <= 1) {
+            throw new IllegalArgumentException("wheelSize must be greater than 1: " + wheelSize);
+        }
+        this.expiry = expiry;
+        this.tickMillis = tickMillis;
+        this.root = new Wheel<>(tickMillis, wheelSize, startMillis, queue);
+    }
+
+    /**
+     * 加入任务
+     *
+     * @param id               任务标识，用于取消；已存在相同标识时忽略
+     * @param expirationMillis 到期时间（毫秒）
+     * @param value            任务载荷
+     * @return 已加入时间轮返回 true；已到期（不足一个刻度）返回 false，由调用方立即处理
+     */
+    public boolean add(String id, long expirationMillis, E value) {
+        // 槽在其时间段开始时到期，向上取整到下一个刻度避免提前触发
+        long rounded = expirationMillis > Long.MAX_VALUE - tickMillis ? expirationMillis : expirationMillis + tickMillis - 1;
+        Entry<E> entry = new Entry<>(id, rounded, value);
+        if (entries.putIfAbsent(id, entry) != null) {
+            return true;
+        }
+        lock.readLock().lock();
+        try {
+            if (root.add(entry)) {
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        entries.remove(id, entry);
+        return false;
+    }
+
+    /**
+     * 取消任务
+     *
+     * @return 被取消任务的载荷，任务不存在或已到期时返回 null
+     */
+    public E cancel(String id) {
+        Entry<E> entry = entries.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        entry.cancel();
+        return entry.value;
+    }
+
+    /**
+     * 是否包含任务
+     */
+    public boolean contains(String id) {
+        return entries.containsKey(id);
+    }
+
+    /**
+     * 未到期的任务数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 等待下一个到期的槽并处理，最长等待 {@code timeoutMillis}
+     *
+     * @return 本次到期的任务数
+     */
+    public int advance(long timeoutMillis) throws InterruptedException {
+        Bucket<E> bucket = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return 0;
+        }
+        int[] expired = {0};
+        lock.writeLock().lock();
+        try {
+            while (bucket != null) {
+                root.advanceClock(bucket.getExpiration());
+                bucket.flush(entry -> {
+                    if (!root.add(entry) && entries.remove(entry.id, entry)) {
+                        expired[0]++;
+                        expiry.accept(entry.value);
+                    }
+                });
+                bucket = queue.poll();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return expired[0];
+    }
+
+    /**
+     * 单层时间轮
+     */
+    private static final class Wheel<E> {
+
+        private final long tickMillis;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket<E>[] buckets;
+        private final DelayQueue<Bucket<E>> queue;
+        private long currentTime;
+        private volatile Wheel<E> overflow;
+
+        @SuppressWarnings("unchecked")
+        Wheel(long tickMillis, int wheelSize, long startMillis, DelayQueue<Bucket<E>> queue) {
+            this.tickMillis = tickMillis;
+            this.wheelSize = wheelSize;
+            this.interval = tickMillis * wheelSize;
+            this.queue = queue;
+            this.currentTime = startMillis - (startMillis % tickMillis);
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+        }
+
+        boolean add(Entry<E> entry) {
+            long expiration = entry.expiration;
+            if (entry.cancelled) {
+                return true;
+            }
+            if (expiration < currentTime + tickMillis) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMillis;
+                Bucket<E> bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                // 槽的到期时间变化说明它被复用到新的一圈，需要重新入队
+                if (bucket.setExpiration(virtualId * tickMillis)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            return overflow().add(entry);
+        }
+
+        void advanceClock(long time) {
+            if (time >= currentTime + tickMillis) {
+                currentTime = time - (time % tickMillis);
+                Wheel<E> next = overflow;
+                if (next != null) {
+                    next.advanceClock(currentTime);
+                }
+            }
+        }
+
+        private Wheel<E> overflow() {
+            Wheel<E> next = overflow;
+            if (next == null) {
+                synchronized (this) {
+                    next = overflow;
+                    if (next == null) {
+                        next = new Wheel<>(interval, wheelSize, currentTime, queue);
+                        overflow = next;
+                    }
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * 时间轮的一个槽：双向链表保存任务，整体作为延时元素进入 DelayQueue
+     */
+    private static final class Bucket<E> implements Delayed {
+
+        private final Entry<E> root = new Entry<>(null, -1, null);
+        private final AtomicLong expiration = new AtomicLong(-1);
+
+        Bucket() {
+            root.next = root;
+            root.prev = root;
+        }
+
+        synchronized void add(Entry<E> entry) {
+            Entry<E> tail = root.prev;
+            entry.next = root;
+            entry.prev = tail;
+            entry.bucket = this;
+            tail.next = entry;
+            root.prev = entry;
+        }
+
+        synchronized void remove(Entry<E> entry) {
+            if (entry.bucket == this) {
+                entry.next.prev = entry.prev;
+                entry.prev.next = entry.next;
+                entry.next = null;
+                entry.prev = null;
+                entry.bucket = null;
+            }
+        }
+
+        /**
+         * 取出全部任务并重置到期时间
+         */
+        synchronized void flush(Consumer<Entry<E>> consumer) {
+            Entry<E> head = root.next;
+            while (head != root) {
+                remove(head);
+                consumer.accept(head);
+                head = root.next;
+            }
+            expiration.set(-1);
+        }
+
+        boolean setExpiration(long value) {
+            return expiration.getAndSet(value) != value;
+        }
+
+        long getExpiration() {
+            return expiration.get();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getExpiration(), ((Bucket<?>) other).getExpiration());
+        }
+    }
+
+    /**
+     * 时间轮中的任务
+     */
+    private static final class Entry<E> {
+
+        final String id;
+        final long expiration;
+        final E value;
+        volatile boolean cancelled;
+        volatile Bucket<E> bucket;
+        Entry<E> next;
+        Entry<E> prev;
+
+        Entry(String id, long expiration, E value) {
+            this.id = id;
+            this.expiration = expiration;
+            this.value = value;
+        }
+
+        /**
+         * 标记取消并从所在槽中移除；与降级并发时槽可能变化，循环直到移除成功
+         */
+        void cancel() {
+            cancelled = true;
+            Bucket<E> current = bucket;
+            while (current != null) {
+                current.remove(this);
+                current = bucket;
+            }
+        }
+    }
+}
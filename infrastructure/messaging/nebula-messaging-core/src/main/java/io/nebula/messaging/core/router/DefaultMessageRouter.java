@@ -12,6 +12,10 @@ import java.util.stream.Collectors;
 /**
  * 默认消息路由器实现
  * 支持多种路由策略和规则匹配
+ * <p>
+ * 主题模式路由由 {@link TopicTrie} 按段匹配（{@code *} 匹配一个段，{@code #}/{@code **} 匹配零个或多个段），
+ * 路由表变更时重建前缀树并整体替换（写时复制），读路径无锁且与规则数量无关。
+ * 段内混合通配符（如 {@code order*}）退回预编译正则逐条匹配。
  */
 @Slf4j
 public class DefaultMessageRouter implements MessageRouter {
@@ -19,6 +23,12 @@ public class DefaultMessageRouter implements MessageRouter {
     private final Map<String, String> routes = new ConcurrentHashMap<>();
     private final Map<RouteCondition, String> conditionRoutes = new ConcurrentHashMap<>();
     private final Map<String, Pattern> patternCache = new ConcurrentHashMap<>();
+    /**
+     * 无法按段索引的模式（段内混合通配符），逐条匹配
+     */
+    private final Set<String> fallbackPatterns = ConcurrentHashMap.newKeySet();
+    private final Object routeLock = new Object();
+    private volatile TopicTrie topicTrie = TopicTrie.EMPTY;
     private String defaultRoute = "default.queue";
     private RouteStrategy strategy = RouteStrategy.TOPIC_BASED;
     private final AtomicInteger roundRobinCounter = new AtomicInteger(0);
@@ -65,8 +75,26 @@ public class DefaultMessageRouter implements MessageRouter {
             return new HashMap<>();
         }
         
-        return messages.stream()
-                .collect(Collectors.groupingBy(this::route));
+        if (strategy != RouteStrategy.TOPIC_BASED) {
+            return messages.stream()
+                    .collect(Collectors.groupingBy(this::route));
+        }
+
+        // 主题路由只取决于主题：按主题分组后每个主题只匹配一次
+        Map<String, List<Message<?>>> byTopic = new LinkedHashMap<>();
+        Map<String, List<Message<?>>> routed = new HashMap<>();
+        for (Message<?> message : messages) {
+            if (message == null || message.getTopic() == null) {
+                routed.computeIfAbsent(route(message), key -> new ArrayList<>()).add(message);
+            } else {
+                byTopic.computeIfAbsent(message.getTopic(), key -> new ArrayList<>()).add(message);
+            }
+        }
+        byTopic.forEach((topic, group) -> {
+            String destination = route(group.get(0));
+            routed.computeIfAbsent(destination, key -> new ArrayList<>()).addAll(group);
+        });
+        return routed;
     }
     
     @Override
@@ -78,15 +106,24 @@ public class DefaultMessageRouter implements MessageRouter {
             throw new IllegalArgumentException("目标队列不能为空");
         }
         
-        routes.put(pattern.trim(), destination.trim());
-        
-        // 预编译正则表达式
-        try {
-            String regexPattern = convertToRegex(pattern.trim());
-            patternCache.put(pattern.trim(), Pattern.compile(regexPattern));
-        } catch (Exception e) {
-            log.warn("路由模式编译失败，将使用字符串匹配: pattern={}, error={}", 
-                    pattern, e.getMessage());
+        synchronized (routeLock) {
+            routes.put(pattern.trim(), destination.trim());
+
+            if (TopicTrie.isSegmentPattern(pattern.trim())) {
+                fallbackPatterns.remove(pattern.trim());
+                patternCache.remove(pattern.trim());
+            } else {
+                fallbackPatterns.add(pattern.trim());
+                // 段内混合通配符无法按段索引，预编译正则表达式
+                try {
+                    String regexPattern = convertToRegex(pattern.trim());
+                    patternCache.put(pattern.trim(), Pattern.compile(regexPattern));
+                } catch (Exception e) {
+                    log.warn("路由模式编译失败，将使用字符串匹配: pattern={}, error={}",
+                            pattern, e.getMessage());
+                }
+            }
+            rebuildTopicTrie();
         }
         
         log.info("添加路由规则: {} -> {}", pattern, destination);
@@ -108,8 +145,12 @@ public class DefaultMessageRouter implements MessageRouter {
     @Override
     public void removeRoute(String pattern) {
         if (pattern != null) {
-            routes.remove(pattern.trim());
-            patternCache.remove(pattern.trim());
+            synchronized (routeLock) {
+                routes.remove(pattern.trim());
+                fallbackPatterns.remove(pattern.trim());
+                patternCache.remove(pattern.trim());
+                rebuildTopicTrie();
+            }
             log.info("移除路由规则: {}", pattern);
         }
     }
@@ -124,9 +165,14 @@ public class DefaultMessageRouter implements MessageRouter {
         List<String> possibleRoutes = new ArrayList<>();
         
         // 检查模式路由
-        for (Map.Entry<String, String> entry : routes.entrySet()) {
-            if (matchesPattern(message, entry.getKey())) {
-                possibleRoutes.add(entry.getValue());
+        String topic = message.getTopic();
+        if (topic != null) {
+            possibleRoutes.addAll(topicTrie.matchAll(topic));
+            for (String pattern : fallbackPatterns) {
+                String destination = routes.get(pattern);
+                if (destination != null && matchesPattern(message, pattern)) {
+                    possibleRoutes.add(destination);
+                }
             }
         }
         
@@ -156,9 +202,13 @@ public class DefaultMessageRouter implements MessageRouter {
     
     @Override
     public void clearRoutes() {
-        routes.clear();
-        conditionRoutes.clear();
-        patternCache.clear();
+        synchronized (routeLock) {
+            routes.clear();
+            conditionRoutes.clear();
+            patternCache.clear();
+            fallbackPatterns.clear();
+            topicTrie = TopicTrie.EMPTY;
+        }
         log.info("清空所有路由规则");
     }
     
@@ -229,10 +279,17 @@ public class DefaultMessageRouter implements MessageRouter {
             return exactMatch;
         }
         
-        // 然后尝试模式匹配
-        for (Map.Entry<String, String> entry : routes.entrySet()) {
-            if (matchesPattern(message, entry.getKey())) {
-                return entry.getValue();
+        // 然后按段匹配通配符模式
+        String trieMatch = topicTrie.match(topic);
+        if (trieMatch != null) {
+            return trieMatch;
+        }
+        
+        // 最后尝试段内混合通配符的正则模式
+        for (String pattern : fallbackPatterns) {
+            String destination = routes.get(pattern);
+            if (destination != null && matchesPattern(message, pattern)) {
+                return destination;
             }
         }
         
@@ -350,7 +407,14 @@ public class DefaultMessageRouter implements MessageRouter {
     }
     
     /**
-     * 检查消息是否匹配模式
+     * 由当前路由表重建主题前缀树并整体替换，调用方持有 routeLock
+     */
+    private void rebuildTopicTrie() {
+        topicTrie = TopicTrie.build(routes);
+    }
+    
+    /**
+     * 检查消息是否匹配段内通配符模式
      */
     private boolean matchesPattern(Message<?> message, String pattern) {
         String topic = message.getTopic();
@@ -0,0 +1,243 @@
+package io.nebula.messaging.core.router;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 主题段前缀树（不可变快照）
+ * <p>
+ * 主题按 {@code .} 切分为段，路由模式中的段可以是：
+ * <ul>
+ *     <li>普通字面量：精确匹配一个段</li>
+ *     <li>{@code *}：匹配恰好一个段</li>
+ *     <li>{@code #} 或 {@code **}：匹配零个或多个段</li>
+ * </ul>
+ * 匹配代价只与主题段数相关，与路由规则数量无关。多个模式同时命中时按段优先级
+ * 字面量 &gt; {@code *} &gt; {@code #} 返回最具体的一个。
+ * 段内混合通配符（如 {@code order*}）无法按段索引，由调用方退回正则匹配。
+ */
+final class TopicTrie {
+
+    static final TopicTrie EMPTY = new TopicTrie(new Node());
+
+    private final Node root;
+    /**
+     * 是否含有 {@code #}/{@code **} 段：没有时每个节点只会在固定深度被访问，无需记录访问状态
+     */
+    private final boolean hasMulti;
+
+    private TopicTrie(Node root) {
+        this.root = root;
+        this.hasMulti = root.number(new int[1]);
+    }
+
+    /**
+     * 由路由表（模式 → 目标）构建前缀树，跳过无法按段索引的模式
+     */
+    static TopicTrie build(Map<String, String> routes) {
+        Node root = new Node();
+        for (Map.Entry<String, String> entry : routes.entrySet()) {
+            if (isSegmentPattern(entry.getKey())) {
+                root.insert(split(entry.getKey()), 0, entry.getValue());
+            }
+        }
+        return new TopicTrie(root);
+    }
+
+    /**
+     * 模式是否可以按段索引：每个段要么不含通配符，要么整段就是通配符
+     */
+    static boolean isSegmentPattern(String pattern) {
+        for (String segment : split(pattern)) {
+            if ((segment.indexOf('*') >= 0 || segment.indexOf('#') >= 0) && !isWildcard(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 返回最具体的匹配目标，没有匹配时返回 null
+     */
+    String match(String topic) {
+        return new Search(this, split(topic)).match(root, 0);
+    }
+
+    /**
+     * 返回所有匹配的目标（按模式去重，保持优先级顺序）
+     */
+    List<String> matchAll(String topic) {
+        Set<Node> matched = new LinkedHashSet<>();
+        new Search(this, split(topic)).collect(root, 0, matched);
+        List<String> destinations = new ArrayList<>(matched.size());
+        for (Node node : matched) {
+            destinations.add(node.destination);
+        }
+        return destinations;
+    }
+
+    private static boolean isWildcard(String segment) {
+        return "*".equals(segment) || "#".equals(segment) || "**".equals(segment);
+    }
+
+    private static String[] split(String topic) {
+        // 单字符分隔符走 String.split 的快速路径，不经过正则引擎
+        return topic.split("\\.", -1);
+    }
+
+    /**
+     * 单次匹配的搜索状态
+     * <p>
+     * {@code #} 可以吞掉任意多个段，连续或嵌套的 {@code #} 会让同一个（节点, 段下标）被反复展开，
+     * 朴素回溯的代价随 {@code #} 个数指数增长。从同一个（节点, 段下标）出发的结果是确定的：
+     * {@link #match} 能回到已访问的状态说明上次没有命中，{@link #collect} 上次已收集过全部结果，
+     * 因此记录已访问状态后直接跳过，展开的状态数不超过 节点数 × (段数 + 1)。
+     */
+    private static final class Search {
+
+        private final String[] segments;
+        private final int stride;
+        /**
+         * 已访问的（节点, 段下标），前缀树不含 {@code #} 时为 null
+         */
+        private final BitSet visited;
+
+        Search(TopicTrie trie, String[] segments) {
+            this.segments = segments;
+            this.stride = segments.length + 1;
+            this.visited = trie.hasMulti ? new BitSet() : null;
+        }
+
+        String match(Node node, int index) {
+            if (!enter(node, index)) {
+                return null;
+            }
+            if (index == segments.length) {
+                if (node.destination != null) {
+                    return node.destination;
+                }
+                // 末尾的 # 可以匹配零个段
+                return node.multi != null ? match(node.multi, index) : null;
+            }
+
+            Node literal = node.children.get(segments[index]);
+            if (literal != null) {
+                String destination = match(literal, index + 1);
+                if (destination != null) {
+                    return destination;
+                }
+            }
+            if (node.single != null) {
+                String destination = match(node.single, index + 1);
+                if (destination != null) {
+                    return destination;
+                }
+            }
+            if (node.multi != null) {
+                // # 依次尝试吞掉 0..n 个段
+                for (int next = index; next <= segments.length; next++) {
+                    String destination = match(node.multi, next);
+                    if (destination != null) {
+                        return destination;
+                    }
+                }
+            }
+            return null;
+        }
+
+        void collect(Node node, int index, Set<Node> matched) {
+            if (!enter(node, index)) {
+                return;
+            }
+            if (index == segments.length) {
+                if (node.destination != null) {
+                    matched.add(node);
+                }
+                if (node.multi != null) {
+                    collect(node.multi, index, matched);
+                }
+                return;
+            }
+
+            Node literal = node.children.get(segments[index]);
+            if (literal != null) {
+                collect(literal, index + 1, matched);
+            }
+            if (node.single != null) {
+                collect(node.single, index + 1, matched);
+            }
+            if (node.multi != null) {
+                for (int next = index; next <= segments.length; next++) {
+                    collect(node.multi, next, matched);
+                }
+            }
+        }
+
+        /**
+         * 标记（节点, 段下标）已访问，返回是否首次访问
+         */
+        private boolean enter(Node node, int index) {
+            if (visited == null) {
+                return true;
+            }
+            int bit = node.id * stride + index;
+            if (visited.get(bit)) {
+                return false;
+            }
+            visited.set(bit);
+            return true;
+        }
+    }
+
+    /**
+     * 前缀树节点，构建完成后不再修改
+     */
+    private static final class Node {
+
+        final Map<String, Node> children = new HashMap<>();
+        Node single;
+        Node multi;
+        String destination;
+        int id;
+
+        /**
+         * 先序编号本节点及子树，返回子树中是否含有 # 段
+         */
+        boolean number(int[] counter) {
+            id = counter[0]++;
+            boolean hasMulti = multi != null;
+            for (Node child : children.values()) {
+                hasMulti |= child.number(counter);
+            }
+            if (single != null) {
+                hasMulti |= single.number(counter);
+            }
+            if (multi != null) {
+                multi.number(counter);
+            }
+            return hasMulti;
+        }
+
+        void insert(String[] segments, int index, String destination) {
+            if (index == segments.length) {
+                this.destination = destination;
+                return;
+            }
+            String segment = segments[index];
+            Node child;
+            if ("*".equals(segment)) {
+                child = single != null ? single : (single = new Node());
+            } else if ("#".equals(segment) || "**".equals(segment)) {
+                child = multi != null ? multi : (multi = new Node());
+            } else {
+                child = children.computeIfAbsent(segment, key -> new Node());
+            }
+            child.insert(segments, index + 1, destination);
+        }
+    }
+}
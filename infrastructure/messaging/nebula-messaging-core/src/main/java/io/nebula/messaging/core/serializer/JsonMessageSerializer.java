@@ -3,14 +3,18 @@ package io.nebula.messaging.core.serializer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JSON 消息序列化器实现
@@ -22,6 +26,11 @@ public class JsonMessageSerializer implements MessageSerializer {
     private final ObjectMapper objectMapper;
     private final Set<Class<?>> supportedTypes;
     
+    /**
+     * 按目标类型缓存的 ObjectReader：类型只解析一次，之后每条消息直接解码
+     */
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    
     public JsonMessageSerializer() {
         this.objectMapper = createObjectMapper();
         this.supportedTypes = createSupportedTypes();
@@ -107,6 +116,27 @@ public class JsonMessageSerializer implements MessageSerializer {
         }
     }
     
+    @Override
+    public Object deserialize(byte[] data, Type type) throws SerializationException {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        
+        if (type == null) {
+            throw new SerializationException("目标类型不能为空");
+        }
+        
+        try {
+            return readers.computeIfAbsent(type,
+                    t -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(t))).readValue(data);
+        } catch (IOException e) {
+            String errorMsg = String.format("JSON 反序列化失败: type=%s, dataSize=%d, error=%s", 
+                    type.getTypeName(), data.length, e.getMessage());
+            log.error(errorMsg, e);
+            throw new SerializationException(errorMsg, e);
+        }
+    }
+    
     @Override
     public String getContentType() {
         return SerializerType.JSON.getContentType();
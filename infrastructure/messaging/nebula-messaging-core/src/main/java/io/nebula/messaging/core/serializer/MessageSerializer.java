@@ -40,6 +40,28 @@ public interface MessageSerializer {
      */
     <T> T deserialize(byte[] data, TypeReference<T> typeReference) throws SerializationException;
     
+    /**
+     * 按完整泛型类型反序列化字节数组
+     * <p>
+     * 默认实现只支持 {@link Class}，参数化类型按原始类型解码；JSON 实现直接解码为带泛型的对象。
+     * </p>
+     *
+     * @param data 字节数组
+     * @param type 目标类型，可以是参数化类型
+     * @return 反序列化后的对象
+     * @throws SerializationException 反序列化异常
+     */
+    default Object deserialize(byte[] data, java.lang.reflect.Type type) throws SerializationException {
+        if (type instanceof Class<?> clazz) {
+            return deserialize(data, clazz);
+        }
+        if (type instanceof java.lang.reflect.ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw) {
+            return deserialize(data, raw);
+        }
+        return deserialize(data, Object.class);
+    }
+    
     /**
      * 序列化对象为字符串
      * 
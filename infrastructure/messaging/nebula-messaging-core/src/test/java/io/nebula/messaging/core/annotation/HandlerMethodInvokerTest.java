@@ -0,0 +1,192 @@
+package io.nebula.messaging.core.annotation;
+
+import io.nebula.messaging.core.message.Message;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * HandlerMethodInvoker单元测试
+ *
+ * 测试目的: 验证直接调用与 MethodHandle 回退两条绑定路径，以及各种方法签名的载荷类型解析
+ */
+class HandlerMethodInvokerTest {
+
+    @Test
+    void testMessageParameterBoundThroughMetafactory() throws Exception {
+        RecordingHandler bean = new RecordingHandler();
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(bean, method("onMessage", Message.class));
+
+        Message<String> message = Message.of("orders", "created");
+        invoker.invoke(message);
+
+        assertThat(bean.received).containsExactly(message);
+        assertThat(invoker.getPayloadType()).isEqualTo(String.class);
+        assertThat(invoker.getPayloadClass()).isEqualTo(String.class);
+        // 直接调用生成的类定义在处理方法所在的类中
+        assertThat(boundTarget(invoker).getClass().getName()).startsWith(RecordingHandler.class.getName());
+    }
+
+    @Test
+    void testPayloadOnlyParameterReceivesPayload() throws Exception {
+        RecordingHandler bean = new RecordingHandler();
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(bean, method("onPayload", OrderEvent.class));
+
+        OrderEvent event = new OrderEvent();
+        invoker.invoke(Message.of("orders", event));
+
+        assertThat(bean.received).containsExactly(event);
+        assertThat(invoker.getPayloadType()).isEqualTo(OrderEvent.class);
+    }
+
+    @Test
+    void testPrimitivePayloadIsUnboxed() throws Exception {
+        RecordingHandler bean = new RecordingHandler();
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(bean, method("onCount", int.class));
+
+        invoker.invoke(Message.of("counter", 7));
+
+        assertThat(bean.received).containsExactly(7);
+        assertThat(invoker.getPayloadType()).isEqualTo(int.class);
+    }
+
+    @Test
+    void testParameterizedPayloadTypeIsPreserved() throws Exception {
+        RecordingHandler bean = new RecordingHandler();
+        HandlerMethodInvoker payloadOnly = HandlerMethodInvoker.create(bean, method("onItems", List.class));
+        HandlerMethodInvoker wrapped = HandlerMethodInvoker.create(bean, method("onItemMessage", Message.class));
+
+        for (HandlerMethodInvoker invoker : List.of(payloadOnly, wrapped)) {
+            assertThat(invoker.getPayloadType()).isInstanceOf(ParameterizedType.class);
+            ParameterizedType type = (ParameterizedType) invoker.getPayloadType();
+            assertThat(type.getRawType()).isEqualTo(List.class);
+            assertThat(type.getActualTypeArguments()).containsExactly(OrderEvent.class);
+            assertThat(invoker.getPayloadClass()).isEqualTo(List.class);
+        }
+
+        List<OrderEvent> items = List.of(new OrderEvent());
+        payloadOnly.invoke(Message.of("orders", items));
+        assertThat(bean.received).containsExactly(items);
+    }
+
+    @Test
+    void testUnresolvableGenericFallsBackToRawClass() throws Exception {
+        RecordingHandler bean = new RecordingHandler();
+
+        HandlerMethodInvoker raw = HandlerMethodInvoker.create(bean, method("onRaw", Message.class));
+        HandlerMethodInvoker none = HandlerMethodInvoker.create(bean, method("onAnything"));
+
+        assertThat(raw.getPayloadType()).isEqualTo(Object.class);
+        assertThat(none.getPayloadType()).isEqualTo(Object.class);
+    }
+
+    @Test
+    void testNoArgumentMethodIgnoresMessage() throws Exception {
+        RecordingHandler bean = new RecordingHandler();
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(bean, method("onAnything"));
+
+        invoker.invoke(Message.of("ping", "ignored"));
+
+        assertThat(bean.received).containsExactly("called");
+    }
+
+    @Test
+    void testMethodHandleFallbackWhenClassIsNotOpen() throws Exception {
+        // java.util.concurrent.atomic 未向测试模块开放，LambdaMetafactory 无法私有访问，退回到 MethodHandle
+        AtomicLong bean = new AtomicLong();
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(bean,
+                AtomicLong.class.getMethod("set", long.class));
+
+        invoker.invoke(Message.of("counter", 42L));
+
+        assertThat(bean.get()).isEqualTo(42L);
+        assertThat(invoker.getPayloadType()).isEqualTo(long.class);
+        assertThat(boundTarget(invoker).getClass().getName()).startsWith(HandlerMethodInvoker.class.getName());
+    }
+
+    @Test
+    void testMethodHandleFallbackForNoArgumentMethod() throws Exception {
+        List<String> bean = new ArrayList<>(List.of("stale"));
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(bean, ArrayList.class.getMethod("clear"));
+
+        invoker.invoke(Message.of("reset", "x"));
+
+        assertThat(bean).isEmpty();
+    }
+
+    @Test
+    void testHandlerExceptionPropagatesUnwrapped() throws Exception {
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(new RecordingHandler(),
+                method("onFailure", String.class));
+
+        assertThatThrownBy(() -> invoker.invoke(Message.of("orders", "boom")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    @Test
+    void testMoreThanOneParameterRejected() {
+        assertThatThrownBy(() -> HandlerMethodInvoker.create(new RecordingHandler(),
+                method("onTwo", String.class, String.class)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return RecordingHandler.class.getDeclaredMethod(name, parameterTypes);
+    }
+
+    private static Object boundTarget(HandlerMethodInvoker invoker) {
+        return ReflectionTestUtils.getField(invoker, "target");
+    }
+
+    static class OrderEvent {
+    }
+
+    static class RecordingHandler {
+
+        private final List<Object> received = new ArrayList<>();
+
+        void onMessage(Message<String> message) {
+            received.add(message);
+        }
+
+        void onPayload(OrderEvent event) {
+            received.add(event);
+        }
+
+        void onCount(int count) {
+            received.add(count);
+        }
+
+        void onItems(List<OrderEvent> items) {
+            received.add(items);
+        }
+
+        void onItemMessage(Message<List<OrderEvent>> message) {
+            received.add(message);
+        }
+
+        @SuppressWarnings("rawtypes")
+        void onRaw(Message message) {
+            received.add(message);
+        }
+
+        void onAnything() {
+            received.add("called");
+        }
+
+        void onFailure(String payload) {
+            throw new IllegalStateException(payload);
+        }
+
+        void onTwo(String first, String second) {
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package io.nebula.messaging.core.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * KeyOrderedDispatcher单元测试
+ *
+ * 测试目的: 验证同键串行保序、确认只交出连续的已完成区间，以及在途窗口背压与关闭行为
+ */
+class KeyOrderedDispatcherTest {
+
+    private final List<KeyOrderedDispatcher.Completion<String>> commits = new CopyOnWriteArrayList<>();
+    private KeyOrderedDispatcher<String> dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    void testSameKeyProcessedInOrderAndCommitsFollowSubmission() throws Exception {
+        Map<String, List<String>> processedByKey = new ConcurrentHashMap<>();
+        Map<String, Set<Thread>> threadsByKey = new ConcurrentHashMap<>();
+        dispatcher = dispatcher(4, 8, element -> {
+            String key = key(element);
+            processedByKey.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(element);
+            threadsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+            return true;
+        });
+
+        List<String> submitted = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String element = "k" + (i % 7) + "/" + i;
+            submitted.add(element);
+            dispatcher.submit(element);
+        }
+        await(() -> dispatcher.getCommittedCount() == 500);
+
+        assertThat(threadsByKey.values()).allSatisfy(threads -> assertThat(threads).hasSize(1));
+        for (List<String> elements : processedByKey.values()) {
+            assertThat(elements).isSortedAccordingTo(
+                    (a, b) -> Integer.compare(sequence(a), sequence(b)));
+        }
+        assertThat(commits).extracting(KeyOrderedDispatcher.Completion::element).containsExactlyElementsOf(submitted);
+        assertThat(commits).allMatch(KeyOrderedDispatcher.Completion::success);
+        assertThat(dispatcher.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void testCommitWaitsForEarliestPendingElement() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        // 没有键时按轮询分配通道：两条消息落在不同通道上并行处理
+        dispatcher = new KeyOrderedDispatcher<>("test", OrderedOptions.of(2, 4), element -> null, element -> {
+            if (element.equals("first")) {
+                await(release);
+            } else {
+                secondDone.countDown();
+            }
+            return true;
+        }, commits::addAll);
+
+        dispatcher.submit("first");
+        dispatcher.submit("second");
+        assertThat(secondDone.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+
+        // 后提交的消息先完成，但不能越过仍在处理中的消息确认
+        assertThat(commits).isEmpty();
+        assertThat(dispatcher.getInFlightCount()).isEqualTo(2);
+
+        release.countDown();
+        await(() -> commits.size() == 2);
+        assertThat(commits).extracting(KeyOrderedDispatcher.Completion::element).containsExactly("first", "second");
+    }
+
+    @Test
+    void testFailuresReportedInCompletion() throws Exception {
+        dispatcher = dispatcher(2, 4, element -> {
+            if (element.endsWith("/1")) {
+                return false;
+            }
+            if (element.endsWith("/2")) {
+                throw new IllegalStateException("boom");
+            }
+            return true;
+        });
+
+        for (int i = 0; i < 4; i++) {
+            dispatcher.submit("k/" + i);
+        }
+        await(() -> commits.size() == 4);
+
+        assertThat(commits).extracting(KeyOrderedDispatcher.Completion::success)
+                .containsExactly(true, false, false, true);
+    }
+
+    @Test
+    void testSubmitBlocksWhenInFlightWindowFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher = dispatcher(1, 1, element -> {
+            await(release);
+            return true;
+        });
+        dispatcher.submit("k/0");
+
+        Thread submitter = new Thread(() -> {
+            try {
+                dispatcher.submit("k/1");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        submitter.start();
+        Thread.sleep(100);
+        assertThat(submitter.isAlive()).isTrue();
+
+        release.countDown();
+        submitter.join(5_000);
+        assertThat(submitter.isAlive()).isFalse();
+        await(() -> commits.size() == 2);
+    }
+
+    @Test
+    void testCloseWakesBlockedSubmitterAndRejectsNewElements() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher = dispatcher(1, 1, element -> {
+            await(release);
+            return true;
+        });
+        dispatcher.submit("k/0");
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread submitter = new Thread(() -> {
+            try {
+                dispatcher.submit("k/1");
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        submitter.start();
+        Thread.sleep(100);
+
+        dispatcher.close();
+        submitter.join(5_000);
+        release.countDown();
+
+        assertThat(failure.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(dispatcher.isClosed()).isTrue();
+        assertThatThrownBy(() -> dispatcher.submit("k/2")).isInstanceOf(IllegalStateException.class);
+        // 关闭时未确认的消息被丢弃，交由中间件重新投递
+        assertThat(commits).isEmpty();
+    }
+
+    private KeyOrderedDispatcher<String> dispatcher(int lanes, int laneCapacity, Predicate<String> processor) {
+        return new KeyOrderedDispatcher<>("test", OrderedOptions.of(lanes, laneCapacity),
+                KeyOrderedDispatcherTest::key, processor, commits::addAll);
+    }
+
+    private static String key(String element) {
+        return element.substring(0, element.indexOf('/'));
+    }
+
+    private static int sequence(String element) {
+        return Integer.parseInt(element.substring(element.indexOf('/') + 1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("等待条件超时").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package io.nebula.messaging.core.consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * MessageBatcher单元测试
+ *
+ * 测试目的: 验证满批立即刷出、等待超时刷出、过期的定时任务被忽略、回调在锁外按顺序执行，以及关闭与丢弃行为
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageBatcherTest {
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Mock
+    private ScheduledFuture<Object> lingerFuture;
+
+    private final List<List<Integer>> batches = new ArrayList<>();
+
+    @Test
+    void testFullBatchFlushedOnCallerThread() {
+        stubScheduler();
+        MessageBatcher<Integer> batcher = new MessageBatcher<>(BatchOptions.of(3, Duration.ofSeconds(1)),
+                scheduler, batches::add);
+
+        for (int i = 0; i < 7; i++) {
+            batcher.add(i);
+        }
+
+        assertThat(batches).containsExactly(List.of(0, 1, 2), List.of(3, 4, 5));
+        assertThat(batcher.size()).isEqualTo(1);
+        // 每批第一条到达时安排一次等待超时，满批刷出时取消
+        verify(scheduler, times(3)).schedule(any(Runnable.class), eq(Duration.ofSeconds(1).toNanos()),
+                eq(TimeUnit.NANOSECONDS));
+        verify(lingerFuture, times(2)).cancel(false);
+    }
+
+    @Test
+    void testLingeringBatchFlushedByScheduler() {
+        ArgumentCaptor<Runnable> lingerTask = stubScheduler();
+        MessageBatcher<Integer> batcher = new MessageBatcher<>(BatchOptions.of(10, Duration.ofMillis(100)),
+                scheduler, batches::add);
+
+        batcher.add(1);
+        batcher.add(2);
+        assertThat(batches).isEmpty();
+
+        lingerTask.getValue().run();
+        assertThat(batches).containsExactly(List.of(1, 2));
+        assertThat(batcher.size()).isZero();
+    }
+
+    @Test
+    void testStaleLingerTaskIgnored() {
+        ArgumentCaptor<Runnable> lingerTask = stubScheduler();
+        MessageBatcher<Integer> batcher = new MessageBatcher<>(BatchOptions.of(2, Duration.ofMillis(100)),
+                scheduler, batches::add);
+
+        batcher.add(1);
+        Runnable firstBatchTimeout = lingerTask.getValue();
+        batcher.add(2);
+        batcher.add(3);
+
+        // 第一批已因满批刷出，取消失败的定时任务晚到时不能把第二批提前刷出
+        firstBatchTimeout.run();
+        assertThat(batches).containsExactly(List.of(1, 2));
+        assertThat(batcher.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testZeroLingerFlushesEveryElement() {
+        MessageBatcher<Integer> batcher = new MessageBatcher<>(BatchOptions.of(10, Duration.ZERO),
+                scheduler, batches::add);
+
+        batcher.add(1);
+        batcher.add(2);
+
+        assertThat(batches).containsExactly(List.of(1), List.of(2));
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void testCloseFlushesAndDiscardDrops() {
+        stubScheduler();
+        MessageBatcher<Integer> closing = new MessageBatcher<>(BatchOptions.of(10, Duration.ofSeconds(1)),
+                scheduler, batches::add);
+        closing.add(1);
+        closing.close();
+
+        assertThat(batches).containsExactly(List.of(1));
+        assertThatThrownBy(() -> closing.add(2)).isInstanceOf(IllegalStateException.class);
+
+        MessageBatcher<Integer> discarding = new MessageBatcher<>(BatchOptions.of(10, Duration.ofSeconds(1)),
+                scheduler, batches::add);
+        discarding.add(3);
+        discarding.add(4);
+
+        assertThat(discarding.discard()).containsExactly(3, 4);
+        assertThat(discarding.size()).isZero();
+        assertThat(batches).hasSize(1);
+        assertThatThrownBy(() -> discarding.add(5)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testBatchesFlushedInArrivalOrderWithRealScheduler() throws Exception {
+        ScheduledExecutorService realScheduler = Executors.newSingleThreadScheduledExecutor();
+        List<List<Integer>> flushed = new CopyOnWriteArrayList<>();
+        try {
+            MessageBatcher<Integer> batcher = new MessageBatcher<>(BatchOptions.of(4, Duration.ofMillis(20)),
+                    realScheduler, flushed::add);
+            for (int i = 0; i < 10; i++) {
+                batcher.add(i);
+            }
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (batcher.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(flushed).containsExactly(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7), List.of(8, 9));
+        } finally {
+            realScheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHandlerRunsOutsideLockAndBatchesStayOrdered() throws Exception {
+        ScheduledExecutorService realScheduler = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<Integer>> flushed = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        try {
+            MessageBatcher<Integer> batcher = new MessageBatcher<>(BatchOptions.of(2, Duration.ofMillis(20)),
+                    realScheduler, batch -> {
+                        threads.add(Thread.currentThread().getName());
+                        handling.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        flushed.add(batch);
+                    });
+
+            // 第一批等待超时后在调度线程上处理并阻塞
+            batcher.add(0);
+            assertThat(handling.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 处理期间投递线程不被阻塞：满批换出后交给正在处理的线程，继续攒下一批
+            batcher.add(1);
+            batcher.add(2);
+            batcher.add(3);
+            assertThat(batcher.size()).isEqualTo(1);
+            assertThat(flushed).isEmpty();
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (flushed.size() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(flushed).containsExactly(List.of(0), List.of(1, 2), List.of(3));
+            // 调用方线程从未执行回调
+            assertThat(threads).doesNotContain(Thread.currentThread().getName());
+        } finally {
+            release.countDown();
+            realScheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDiscardDropsBatchesWaitingForHandler() throws Exception {
+        ScheduledExecutorService realScheduler = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<Integer>> flushed = new CopyOnWriteArrayList<>();
+        try {
+            MessageBatcher<Integer> batcher = new MessageBatcher<>(BatchOptions.of(2, Duration.ofMillis(20)),
+                    realScheduler, batch -> {
+                        handling.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        flushed.add(batch);
+                    });
+            batcher.add(0);
+            assertThat(handling.await(5, TimeUnit.SECONDS)).isTrue();
+            batcher.add(1);
+            batcher.add(2);
+            batcher.add(3);
+
+            // 已换出但尚未交给回调的批次与缓冲区一起丢弃
+            assertThat(batcher.discard()).containsExactly(1, 2, 3);
+            release.countDown();
+            Thread.sleep(50);
+            assertThat(flushed).containsExactly(List.of(0));
+        } finally {
+            release.countDown();
+            realScheduler.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Runnable> stubScheduler() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        lenient().when(scheduler.schedule(captor.capture(), anyLong(), any(TimeUnit.class)))
+                .thenReturn((ScheduledFuture) lingerFuture);
+        return captor;
+    }
+}
@@ -0,0 +1,118 @@
+package io.nebula.messaging.core.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * BloomDeduplicationStore 单元测试
+ */
+class BloomDeduplicationStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testProcessedKeyRejectedAndFailedKeyReleased() {
+        BloomDeduplicationStore store = store(Duration.ofMinutes(1), 4, 1_000, 1e-6);
+
+        assertThat(store.tryAcquire("orders:m-1")).isTrue();
+        store.release("orders:m-1", true);
+        assertThat(store.tryAcquire("orders:m-1")).isFalse();
+
+        // 处理失败只释放占用，不写入过滤器，重新投递照常处理
+        assertThat(store.tryAcquire("orders:m-2")).isTrue();
+        store.release("orders:m-2", false);
+        assertThat(store.tryAcquire("orders:m-2")).isTrue();
+        assertThat(store.getInFlightCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentDeliveryOfInFlightKeyRejected() {
+        BloomDeduplicationStore store = store(Duration.ofMinutes(1), 4, 1_000, 1e-6);
+
+        assertThat(store.tryAcquire("orders:m-1")).isTrue();
+        assertThat(store.tryAcquire("orders:m-1")).isFalse();
+        assertThat(store.tryAcquireAll(List.of("orders:m-2", "orders:m-2", "orders:m-1")))
+                .containsExactly(true, false, false);
+        assertThat(store.getInFlightCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testKeysForgottenAfterWindow() {
+        // 4 代，每代 1 秒
+        BloomDeduplicationStore store = store(Duration.ofSeconds(4), 4, 1_000, 1e-6);
+        store.tryAcquire("orders:m-1");
+        store.release("orders:m-1", true);
+
+        clock.set(3_500);
+        assertThat(store.tryAcquire("orders:m-1")).isFalse();
+
+        // 长时间空闲后一次轮换全部代
+        clock.set(10_000);
+        assertThat(store.tryAcquire("orders:m-1")).isTrue();
+    }
+
+    @Test
+    void testGenerationRotatesWhenFull() {
+        BloomDeduplicationStore store = store(Duration.ofHours(1), 2, 100, 1e-6);
+
+        for (int i = 0; i < 1_000; i++) {
+            String key = "orders:m-" + i;
+            assertThat(store.tryAcquire(key)).isTrue();
+            store.release(key, true);
+        }
+
+        // 流量超过预期时窗口缩短：最早的键已随过期的代丢弃，最近的键仍被记住
+        assertThat(store.tryAcquire("orders:m-0")).isTrue();
+        assertThat(store.tryAcquire("orders:m-999")).isFalse();
+    }
+
+    @Test
+    void testFalsePositiveRateNearConfiguredValue() {
+        BloomDeduplicationStore store = store(Duration.ofHours(1), 2, 10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            store.tryAcquire("seen:" + i);
+            store.release("seen:" + i, true);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            String key = "fresh:" + i;
+            if (!store.tryAcquire(key)) {
+                falsePositives++;
+            } else {
+                store.release(key, false);
+            }
+        }
+
+        // 布隆过滤器有误判：从未处理过的键也可能被当作重复
+        assertThat(falsePositives).isPositive();
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void testSizingAndValidation() {
+        BloomDeduplicationStore store = store(Duration.ofMinutes(1), 4, 250_000, 1e-6);
+
+        assertThat(store.getBitsPerGeneration() % 64).isZero();
+        // 最优哈希数约为 -log2(p)
+        assertThat(store.getHashCount()).isEqualTo(20);
+
+        assertThatThrownBy(() -> store(Duration.ofMinutes(1), 1, 1_000, 1e-6))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store(Duration.ofMinutes(1), 4, 0, 1e-6))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store(Duration.ofMinutes(1), 4, 1_000, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BloomDeduplicationStore store(Duration window, int generations, long expectedInsertions,
+                                          double falsePositiveRate) {
+        return new BloomDeduplicationStore(window, generations, expectedInsertions, falsePositiveRate, clock::get);
+    }
+}
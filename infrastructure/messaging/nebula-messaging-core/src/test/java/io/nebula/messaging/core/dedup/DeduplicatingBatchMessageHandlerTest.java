@@ -0,0 +1,167 @@
+package io.nebula.messaging.core.dedup;
+
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchResult;
+import io.nebula.messaging.core.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * DeduplicatingBatchMessageHandler单元测试
+ *
+ * 测试目的: 验证批内与跨批重复被跳过、结果下标映射回原批次、失败时释放占用，以及误判时的行为
+ */
+class DeduplicatingBatchMessageHandlerTest {
+
+    private final BloomDeduplicationStore store =
+            new BloomDeduplicationStore(Duration.ofMinutes(1), 4, 1_000, 1e-6);
+
+    @Test
+    void testOnlyFreshMessagesReachDelegate() {
+        RecordingBatchHandler delegate = new RecordingBatchHandler(batch -> BatchResult.success());
+        DeduplicatingBatchMessageHandler<String> handler =
+                DeduplicatingBatchMessageHandler.byMessageId(delegate, store, "orders:q");
+        handler.handle(List.of(message("m-1")));
+
+        BatchResult result = handler.handle(List.of(message("m-1"), message("m-2"), message("m-2"), message("m-3")));
+
+        assertThat(result.isAllSuccess()).isTrue();
+        assertThat(delegate.batches).containsExactly(List.of("m-1"), List.of("m-2", "m-3"));
+        assertThat(handler.getDuplicateCount()).isEqualTo(2);
+        assertThat(store.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void testAllDuplicatesSkipDelegate() {
+        RecordingBatchHandler delegate = new RecordingBatchHandler(batch -> BatchResult.success());
+        DeduplicatingBatchMessageHandler<String> handler =
+                DeduplicatingBatchMessageHandler.byMessageId(delegate, store, "orders:q");
+        handler.handle(List.of(message("m-1")));
+
+        assertThat(handler.handle(List.of(message("m-1"), message("m-1"))).isAllSuccess()).isTrue();
+        assertThat(delegate.batches).hasSize(1);
+    }
+
+    @Test
+    void testFailedIndexesMappedBackAndReleased() {
+        // 交给委托处理器的批次为 [m-2, m-3, m-4]，其中 m-3 失败
+        RecordingBatchHandler delegate = new RecordingBatchHandler(batch -> BatchResult.failed(1));
+        DeduplicatingBatchMessageHandler<String> handler =
+                DeduplicatingBatchMessageHandler.byMessageId(delegate, store, "orders:q");
+        store.tryAcquire("orders:q:m-1");
+        store.release("orders:q:m-1", true);
+
+        BatchResult result = handler.handle(
+                List.of(message("m-1"), message("m-2"), message("m-3"), message("m-4")));
+
+        assertThat(result.isAllSuccess()).isFalse();
+        assertThat(result.failedCount(4)).isEqualTo(1);
+        assertThat(result.isSuccess(2)).isFalse();
+        assertThat(result.isSuccess(0)).isTrue();
+
+        // 失败的消息被释放，重新投递时照常处理；成功的被记住
+        assertThat(store.tryAcquire("orders:q:m-3")).isTrue();
+        assertThat(store.tryAcquire("orders:q:m-2")).isFalse();
+        assertThat(store.tryAcquire("orders:q:m-4")).isFalse();
+    }
+
+    @Test
+    void testExceptionReleasesAllHeldKeys() {
+        RecordingBatchHandler delegate = new RecordingBatchHandler(batch -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        DeduplicatingBatchMessageHandler<String> handler =
+                DeduplicatingBatchMessageHandler.byMessageId(delegate, store, "orders:q");
+
+        assertThatThrownBy(() -> handler.handle(List.of(message("m-1"), message("m-2"))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.getInFlightCount()).isZero();
+        assertThat(store.tryAcquireAll(List.of("orders:q:m-1", "orders:q:m-2"))).containsExactly(true, true);
+    }
+
+    @Test
+    void testNullResultTreatedAsSuccess() {
+        RecordingBatchHandler delegate = new RecordingBatchHandler(batch -> null);
+        DeduplicatingBatchMessageHandler<String> handler =
+                DeduplicatingBatchMessageHandler.byMessageId(delegate, store, "orders:q");
+
+        assertThat(handler.handle(List.of(message("m-1"))).isAllSuccess()).isTrue();
+        assertThat(store.tryAcquire("orders:q:m-1")).isFalse();
+    }
+
+    @Test
+    void testMessagesWithoutKeyPassThrough() {
+        DeduplicationStore mockStore = mock(DeduplicationStore.class);
+        when(mockStore.tryAcquireAll(List.of("orders:q:m-1"))).thenReturn(new boolean[]{true});
+        RecordingBatchHandler delegate = new RecordingBatchHandler(batch -> BatchResult.failed(0));
+        DeduplicatingBatchMessageHandler<String> handler =
+                DeduplicatingBatchMessageHandler.byMessageId(delegate, mockStore, "orders:q");
+
+        BatchResult result = handler.handle(List.of(message(null), message("m-1"), message(null)));
+
+        assertThat(delegate.batches).hasSize(1);
+        assertThat(delegate.batches.get(0)).hasSize(3);
+        assertThat(result.isSuccess(0)).isFalse();
+        assertThat(result.isSuccess(1)).isTrue();
+        verify(mockStore).releaseAll(List.of("orders:q:m-1"), new boolean[]{true});
+
+        // 整批都没有键时不访问存储
+        handler.handle(List.of(message(null)));
+        verify(mockStore, times(1)).tryAcquireAll(any());
+    }
+
+    @Test
+    void testFalsePositiveSkipsFreshMessage() {
+        // 布隆过滤器误判时，从未处理过的消息也会被当作重复确认掉
+        DeduplicationStore mockStore = mock(DeduplicationStore.class);
+        when(mockStore.tryAcquireAll(List.of("orders:q:m-1", "orders:q:m-2"))).thenReturn(new boolean[]{false, true});
+        RecordingBatchHandler delegate = new RecordingBatchHandler(batch -> BatchResult.success());
+        DeduplicatingBatchMessageHandler<String> handler =
+                DeduplicatingBatchMessageHandler.byMessageId(delegate, mockStore, "orders:q");
+
+        BatchResult result = handler.handle(List.of(message("m-1"), message("m-2")));
+
+        assertThat(result.isAllSuccess()).isTrue();
+        assertThat(delegate.batches).containsExactly(List.of("m-2"));
+        assertThat(handler.getDuplicateCount()).isEqualTo(1);
+        verify(mockStore).releaseAll(List.of("orders:q:m-2"), new boolean[]{true});
+    }
+
+    private static Message<String> message(String id) {
+        return Message.<String>builder().id(id).topic("orders").payload("payload").build();
+    }
+
+    private static class RecordingBatchHandler implements BatchMessageHandler<String> {
+
+        private final List<List<String>> batches = new ArrayList<>();
+        private final Function<List<Message<String>>, BatchResult> outcome;
+
+        RecordingBatchHandler(Function<List<Message<String>>, BatchResult> outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        public BatchResult handle(List<Message<String>> messages) {
+            List<String> ids = new ArrayList<>(messages.size());
+            for (Message<String> message : messages) {
+                ids.add(message.getId());
+            }
+            batches.add(ids);
+            return outcome.apply(messages);
+        }
+
+        @Override
+        public Class<String> getMessageType() {
+            return String.class;
+        }
+    }
+}
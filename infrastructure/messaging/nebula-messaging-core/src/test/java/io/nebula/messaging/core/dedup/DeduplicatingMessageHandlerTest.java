@@ -0,0 +1,131 @@
+package io.nebula.messaging.core.dedup;
+
+import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * DeduplicatingMessageHandler单元测试
+ *
+ * 测试目的: 验证重复消息被跳过、处理失败时释放占用，以及去重存储误判时的行为
+ */
+class DeduplicatingMessageHandlerTest {
+
+    private final BloomDeduplicationStore store =
+            new BloomDeduplicationStore(Duration.ofMinutes(1), 4, 1_000, 1e-6);
+
+    @Test
+    void testDuplicateDeliverySkipped() {
+        RecordingHandler delegate = new RecordingHandler();
+        DeduplicatingMessageHandler<String> handler =
+                DeduplicatingMessageHandler.byMessageId(delegate, store, "orders:q");
+
+        handler.handle(message("m-1"));
+        handler.handle(message("m-1"));
+        handler.handle(message("m-2"));
+
+        assertThat(delegate.handled).containsExactly("m-1", "m-2");
+        assertThat(handler.getDuplicateCount()).isEqualTo(1);
+        assertThat(store.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void testFailureReleasesKeySoRedeliveryIsProcessed() {
+        RecordingHandler delegate = new RecordingHandler();
+        delegate.failuresLeft = 1;
+        DeduplicatingMessageHandler<String> handler =
+                DeduplicatingMessageHandler.byMessageId(delegate, store, "orders:q");
+
+        assertThatThrownBy(() -> handler.handle(message("m-1")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(store.getInFlightCount()).isZero();
+
+        // 中间件重新投递
+        handler.handle(message("m-1"));
+        handler.handle(message("m-1"));
+
+        assertThat(delegate.handled).containsExactly("m-1");
+        assertThat(handler.getDuplicateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testKeysScopedPerSubscription() {
+        DeduplicationStore mockStore = mock(DeduplicationStore.class);
+        when(mockStore.tryAcquire(anyString())).thenReturn(true);
+        DeduplicatingMessageHandler<String> handler =
+                DeduplicatingMessageHandler.byMessageId(new RecordingHandler(), mockStore, "orders:q");
+
+        handler.handle(message("m-1"));
+
+        verify(mockStore).tryAcquire("orders:q:m-1");
+        verify(mockStore).release("orders:q:m-1", true);
+
+        // 同一条消息投递给另一个订阅不受影响
+        RecordingHandler other = new RecordingHandler();
+        DeduplicatingMessageHandler.byMessageId(other, store, "orders:q").handle(message("m-1"));
+        DeduplicatingMessageHandler.byMessageId(other, store, "orders:audit").handle(message("m-1"));
+        assertThat(other.handled).containsExactly("m-1", "m-1");
+    }
+
+    @Test
+    void testMessageWithoutKeyNotDeduplicated() {
+        DeduplicationStore mockStore = mock(DeduplicationStore.class);
+        RecordingHandler delegate = new RecordingHandler();
+        DeduplicatingMessageHandler<String> handler =
+                DeduplicatingMessageHandler.byMessageId(delegate, mockStore, "orders:q");
+
+        handler.handle(message(null));
+        handler.handle(message(""));
+
+        assertThat(delegate.handled).hasSize(2);
+        verifyNoInteractions(mockStore);
+    }
+
+    @Test
+    void testFalsePositiveSkipsFreshMessage() {
+        // 布隆过滤器误判时，从未处理过的消息也会被当作重复确认掉
+        DeduplicationStore mockStore = mock(DeduplicationStore.class);
+        when(mockStore.tryAcquire("orders:q:m-1")).thenReturn(false);
+        RecordingHandler delegate = new RecordingHandler();
+        DeduplicatingMessageHandler<String> handler =
+                DeduplicatingMessageHandler.byMessageId(delegate, mockStore, "orders:q");
+
+        handler.handle(message("m-1"));
+
+        assertThat(delegate.handled).isEmpty();
+        assertThat(handler.getDuplicateCount()).isEqualTo(1);
+        verify(mockStore, never()).release(anyString(), anyBoolean());
+    }
+
+    private static Message<String> message(String id) {
+        return Message.<String>builder().id(id).topic("orders").payload("payload").build();
+    }
+
+    private static class RecordingHandler implements MessageHandler<String> {
+
+        private final List<String> handled = new ArrayList<>();
+        private int failuresLeft;
+
+        @Override
+        public void handle(Message<String> message) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("database unavailable");
+            }
+            handled.add(message.getId());
+        }
+
+        @Override
+        public Class<String> getMessageType() {
+            return String.class;
+        }
+    }
+}
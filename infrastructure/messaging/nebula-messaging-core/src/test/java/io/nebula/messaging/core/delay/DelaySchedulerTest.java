@@ -0,0 +1,226 @@
+package io.nebula.messaging.core.delay;
+
+import io.nebula.messaging.core.message.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * DelayScheduler单元测试
+ *
+ * 测试目的: 验证近期消息走时间轮、远期消息走存储、投递失败重试以及加载失败后的水位回退
+ */
+class DelaySchedulerTest {
+
+    private final List<Message<?>> dispatched = new CopyOnWriteArrayList<>();
+    private DelayScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void testNearTermMessageDispatchedAfterDelay() {
+        scheduler = new DelayScheduler(dispatched::add, null, options());
+        scheduler.start();
+
+        long start = System.currentTimeMillis();
+        String id = scheduler.schedule(message("m1"), Duration.ofMillis(50));
+
+        assertThat(id).isEqualTo("m1");
+        awaitTrue(() -> dispatched.size() == 1);
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(50);
+        assertThat(scheduler.getDispatchedCount()).isEqualTo(1);
+        assertThat(scheduler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void testZeroDelayDispatchedImmediately() {
+        scheduler = new DelayScheduler(dispatched::add, null, options());
+        scheduler.start();
+
+        scheduler.schedule(message("now"), Duration.ZERO);
+
+        awaitTrue(() -> dispatched.size() == 1);
+    }
+
+    @Test
+    void testNegativeDelayRejected() {
+        scheduler = new DelayScheduler(dispatched::add, null, options());
+
+        assertThatThrownBy(() -> scheduler.schedule(message("m"), Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testCancelPreventsDispatch() throws Exception {
+        scheduler = new DelayScheduler(dispatched::add, null, options());
+        scheduler.start();
+
+        scheduler.schedule(message("cancelled"), Duration.ofMillis(100));
+        scheduler.schedule(message("kept"), Duration.ofMillis(150));
+
+        assertThat(scheduler.cancel("cancelled")).isTrue();
+        assertThat(scheduler.cancel("cancelled")).isFalse();
+
+        awaitTrue(() -> dispatched.size() == 1);
+        Thread.sleep(100);
+        assertThat(dispatched).extracting(Message::getId).containsExactly("kept");
+    }
+
+    @Test
+    void testFailedDispatchRetriedUntilMaxRetryCount() {
+        AtomicInteger attempts = new AtomicInteger();
+        scheduler = new DelayScheduler(message -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("broker down");
+        }, null, options());
+        scheduler.start();
+
+        Message<String> message = message("retry");
+        message.setMaxRetryCount(2);
+        scheduler.schedule(message, Duration.ZERO);
+
+        // 首次投递 + 2 次重试
+        awaitTrue(() -> attempts.get() == 3);
+        assertThat(scheduler.getFailedCount()).isEqualTo(3);
+        assertThat(message.getRetryCount()).isEqualTo(2);
+        assertThat(scheduler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void testFarMessageSavedToStoreAndLoadedWhenDue() {
+        InMemoryDelayStore store = new InMemoryDelayStore();
+        DelayScheduler.Options options = options();
+        options.setNearTermHorizon(Duration.ofMillis(100));
+        scheduler = new DelayScheduler(dispatched::add, store, options);
+
+        scheduler.schedule(message("far"), Duration.ofMillis(300));
+        assertThat(scheduler.getStoredCount()).isEqualTo(1);
+        assertThat(scheduler.getPendingCount()).isZero();
+
+        scheduler.start();
+
+        awaitTrue(() -> dispatched.size() == 1);
+        assertThat(dispatched.get(0).getId()).isEqualTo("far");
+        // 投递前先从存储删除
+        assertThat(scheduler.getStoredCount()).isZero();
+    }
+
+    @Test
+    void testCancelRemovesStoredMessage() {
+        InMemoryDelayStore store = new InMemoryDelayStore();
+        DelayScheduler.Options options = options();
+        options.setNearTermHorizon(Duration.ofMillis(100));
+        scheduler = new DelayScheduler(dispatched::add, store, options);
+
+        scheduler.schedule(message("far"), Duration.ofMinutes(10));
+
+        assertThat(scheduler.cancel("far")).isTrue();
+        assertThat(scheduler.getStoredCount()).isZero();
+    }
+
+    @Test
+    void testFailedLoadDoesNotAdvanceWatermark() {
+        InMemoryDelayStore store = new InMemoryDelayStore();
+        store.failures.set(2);
+        DelayScheduler.Options options = options();
+        options.setNearTermHorizon(Duration.ofMillis(100));
+        scheduler = new DelayScheduler(dispatched::add, store, options);
+
+        scheduler.schedule(message("far"), Duration.ofMillis(150));
+        scheduler.start();
+
+        awaitTrue(() -> dispatched.size() == 1);
+        assertThat(dispatched.get(0).getId()).isEqualTo("far");
+        // 前两次加载失败，第三次必须从相同的起点重新加载
+        assertThat(store.loadCalls).hasSizeGreaterThanOrEqualTo(3);
+        assertThat(store.loadCalls.get(0)[0]).isEqualTo(Long.MIN_VALUE);
+        assertThat(store.loadCalls.get(1)[0]).isEqualTo(Long.MIN_VALUE);
+        assertThat(store.loadCalls.get(2)[0]).isEqualTo(Long.MIN_VALUE);
+        // 加载成功后水位推进到上一次的区间上界
+        awaitTrue(() -> store.loadCalls.size() >= 4);
+        assertThat(store.loadCalls.get(3)[0]).isEqualTo(store.loadCalls.get(2)[1]);
+    }
+
+    private static DelayScheduler.Options options() {
+        DelayScheduler.Options options = new DelayScheduler.Options();
+        options.setTickMillis(5);
+        options.setWheelSize(64);
+        options.setLoadInterval(Duration.ofMillis(20));
+        options.setRetryDelay(Duration.ofMillis(10));
+        return options;
+    }
+
+    private static Message<String> message(String id) {
+        Message<String> message = Message.of("delay.topic", id);
+        message.setId(id);
+        return message;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("条件未在超时时间内满足").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 内存存储，可注入若干次加载失败并记录每次加载的区间
+     */
+    private static final class InMemoryDelayStore implements DelayStore {
+
+        private final Map<String, DelayedMessage> messages = new ConcurrentHashMap<>();
+        private final List<long[]> loadCalls = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void save(DelayedMessage message) {
+            messages.put(message.id(), message);
+        }
+
+        @Override
+        public List<DelayedMessage> loadDue(long fromExclusive, long toInclusive) {
+            loadCalls.add(new long[]{fromExclusive, toInclusive});
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("store unavailable");
+            }
+            List<DelayedMessage> due = new ArrayList<>();
+            for (DelayedMessage message : messages.values()) {
+                if (message.dueTime() > fromExclusive && message.dueTime() <= toInclusive) {
+                    due.add(message);
+                }
+            }
+            return due;
+        }
+
+        @Override
+        public boolean remove(String id) {
+            return messages.remove(id) != null;
+        }
+
+        @Override
+        public long size() {
+            return messages.size();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.nebula.messaging.core.delay;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * HierarchicalTimingWheel单元测试
+ *
+ * 测试目的: 验证分层时间轮的插入、取消、降级与到期顺序
+ */
+class HierarchicalTimingWheelTest {
+
+    private final List<String> expired = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testExpiresNotBeforeDueTime() throws Exception {
+        long start = System.currentTimeMillis();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, start, expired::add);
+
+        long due = start + 50;
+        assertThat(wheel.add("a", due, "a")).isTrue();
+        assertThat(wheel.contains("a")).isTrue();
+
+        advanceUntil(wheel, 1);
+
+        assertThat(System.currentTimeMillis()).isGreaterThanOrEqualTo(due);
+        assertThat(expired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.contains("a")).isFalse();
+    }
+
+    @Test
+    void testAlreadyDueEntryIsRejected() {
+        long start = System.currentTimeMillis();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, start, expired::add);
+
+        assertThat(wheel.add("late", start - 1000, "late")).isFalse();
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.contains("late")).isFalse();
+    }
+
+    @Test
+    void testDuplicateIdIsSilentlyIgnored() throws Exception {
+        long start = System.currentTimeMillis();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, start, expired::add);
+
+        assertThat(wheel.add("dup", start + 30, "first")).isTrue();
+        // 相同标识的第二次加入返回 true 但不会替换已有任务，也不会改变到期时间
+        assertThat(wheel.add("dup", start + 5000, "second")).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        advanceUntil(wheel, 1);
+
+        assertThat(expired).containsExactly("first");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testIdCanBeReusedAfterExpiry() throws Exception {
+        long start = System.currentTimeMillis();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, start, expired::add);
+
+        wheel.add("id", start + 20, "first");
+        advanceUntil(wheel, 1);
+
+        assertThat(wheel.add("id", System.currentTimeMillis() + 20, "second")).isTrue();
+        advanceUntil(wheel, 2);
+
+        assertThat(expired).containsExactly("first", "second");
+    }
+
+    @Test
+    void testCancelReturnsPayloadAndPreventsExpiry() throws Exception {
+        long start = System.currentTimeMillis();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, start, expired::add);
+
+        wheel.add("cancelled", start + 30, "cancelled");
+        wheel.add("kept", start + 60, "kept");
+
+        assertThat(wheel.cancel("cancelled")).isEqualTo("cancelled");
+        assertThat(wheel.cancel("cancelled")).isNull();
+        assertThat(wheel.cancel("missing")).isNull();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        advanceUntil(wheel, 1);
+
+        assertThat(expired).containsExactly("kept");
+    }
+
+    @Test
+    void testOverflowWheelsCascadeInDueOrder() throws Exception {
+        long start = System.currentTimeMillis();
+        // 每层只有 4 个 5ms 的槽：20ms、80ms、320ms 以外的任务分别落到第 2、3、4 层
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(5, 4, start, expired::add);
+
+        wheel.add("c", start + 400, "c");
+        wheel.add("a", start + 15, "a");
+        wheel.add("b", start + 120, "b");
+
+        advanceUntil(wheel, 3);
+
+        assertThat(expired).containsExactly("a", "b", "c");
+        assertThat(System.currentTimeMillis()).isGreaterThanOrEqualTo(start + 400);
+    }
+
+    @Test
+    void testCancelEntryInOverflowWheel() throws Exception {
+        long start = System.currentTimeMillis();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(5, 4, start, expired::add);
+
+        wheel.add("far", start + 200, "far");
+        wheel.add("near", start + 10, "near");
+        assertThat(wheel.cancel("far")).isEqualTo("far");
+
+        advanceUntil(wheel, 1);
+        // 被取消的高层任务在降级时也不会触发
+        while (wheel.advance(300) > 0) {
+            // drain
+        }
+
+        assertThat(expired).containsExactly("near");
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(0, 8, 0, expired::add))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(10, 1, 0, expired::add))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void advanceUntil(HierarchicalTimingWheel<String> wheel, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (expired.size() < count) {
+            assertThat(System.currentTimeMillis()).as("时间轮未在超时时间内到期").isLessThan(deadline);
+            wheel.advance(100);
+        }
+    }
+}
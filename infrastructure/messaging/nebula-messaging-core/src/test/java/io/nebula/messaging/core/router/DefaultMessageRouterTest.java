@@ -0,0 +1,127 @@
+package io.nebula.messaging.core.router;
+
+import io.nebula.messaging.core.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * DefaultMessageRouter单元测试
+ *
+ * 测试目的: 验证前缀树路由与原先逐条正则匹配的结果一致，以及 # 匹配零个段的语义变化
+ */
+class DefaultMessageRouterTest {
+
+    private static final List<String> TOPICS = List.of(
+            "order", "order.created", "order.eu.created", "order.eu.west.created", "order.",
+            "user.login", "user.login.failed", "payment.refund.done", "audit", "");
+
+    @Test
+    void testSingleSegmentPatternsMatchLikeRegex() {
+        List<String> patterns = List.of("order.*", "order.*.created", "*.login", "*.*.done", "*", "user.login");
+
+        for (String pattern : patterns) {
+            DefaultMessageRouter router = new DefaultMessageRouter();
+            router.addRoute(pattern, "target");
+            Pattern regex = Pattern.compile(legacyRegex(pattern));
+
+            for (String topic : TOPICS) {
+                boolean routed = "target".equals(router.route(Message.of(topic, "payload")));
+                assertThat(routed).as("pattern=%s topic=%s", pattern, topic)
+                        .isEqualTo(regex.matcher(topic).matches());
+            }
+        }
+    }
+
+    @Test
+    void testMultiSegmentPatternsMatchLikeRegexWhenAtLeastOneSegmentConsumed() {
+        List<String> patterns = List.of("order.#", "#.created", "#", "order.**");
+
+        for (String pattern : patterns) {
+            DefaultMessageRouter router = new DefaultMessageRouter();
+            router.addRoute(pattern, "target");
+            Pattern regex = Pattern.compile(legacyRegex(pattern.replace("**", "#")));
+
+            for (String topic : TOPICS) {
+                if (regex.matcher(topic).matches()) {
+                    assertThat(router.route(Message.of(topic, "payload")))
+                            .as("pattern=%s topic=%s", pattern, topic).isEqualTo("target");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMultiSegmentWildcardNowMatchesZeroSegments() {
+        DefaultMessageRouter router = new DefaultMessageRouter();
+        router.addRoute("order.#", "order.queue");
+        router.addRoute("audit.#.log", "audit.queue");
+
+        // 旧的正则 ^order\..*$ 不匹配 order，现在与 AMQP 主题交换机一致
+        assertThat(Pattern.matches(legacyRegex("order.#"), "order")).isFalse();
+        assertThat(router.route(Message.of("order", "payload"))).isEqualTo("order.queue");
+        assertThat(router.route(Message.of("audit.log", "payload"))).isEqualTo("audit.queue");
+        assertThat(router.route(Message.of("orders", "payload"))).isEqualTo(router.getDefaultRoute());
+    }
+
+    @Test
+    void testPrecedenceExactThenTrieThenFallback() {
+        DefaultMessageRouter router = new DefaultMessageRouter();
+        router.addRoute("order*", "fallback.queue");
+        router.addRoute("order.#", "any.queue");
+        router.addRoute("order.*", "one.queue");
+        router.addRoute("order.paid", "paid.queue");
+
+        assertThat(router.route(Message.of("order.paid", "payload"))).isEqualTo("paid.queue");
+        assertThat(router.route(Message.of("order.created", "payload"))).isEqualTo("one.queue");
+        assertThat(router.route(Message.of("order.created.eu", "payload"))).isEqualTo("any.queue");
+        // 段内混合通配符仍按正则匹配
+        assertThat(router.route(Message.of("orders", "payload"))).isEqualTo("fallback.queue");
+
+        assertThat(router.getPossibleRoutes(Message.of("order.paid", "payload")))
+                .containsExactly("paid.queue", "one.queue", "any.queue");
+    }
+
+    @Test
+    void testRemoveAndClearRebuildTrie() {
+        DefaultMessageRouter router = new DefaultMessageRouter();
+        router.setDefaultRoute("dlq");
+        router.addRoute("order.*", "one.queue");
+        router.addRoute("order.#", "any.queue");
+
+        router.removeRoute("order.*");
+        assertThat(router.route(Message.of("order.created", "payload"))).isEqualTo("any.queue");
+
+        router.clearRoutes();
+        assertThat(router.route(Message.of("order.created", "payload"))).isEqualTo("dlq");
+        assertThat(router.getPossibleRoutes(Message.of("order.created", "payload"))).containsExactly("dlq");
+    }
+
+    @Test
+    void testRouteBatchGroupsByDestination() {
+        DefaultMessageRouter router = new DefaultMessageRouter();
+        router.setDefaultRoute("dlq");
+        router.addRoute("order.#", "order.queue");
+        Message<?> created = Message.of("order.created", "1");
+        Message<?> paid = Message.of("order.paid", "2");
+        Message<?> again = Message.of("order.created", "3");
+        Message<?> login = Message.of("user.login", "4");
+
+        Map<String, List<Message<?>>> routed = router.routeBatch(List.of(created, paid, again, login));
+
+        assertThat(routed).containsOnlyKeys("order.queue", "dlq");
+        assertThat(routed.get("order.queue")).containsExactlyInAnyOrder(created, paid, again);
+        assertThat(routed.get("dlq")).containsExactly(login);
+    }
+
+    /**
+     * 前缀树引入前 DefaultMessageRouter 对所有模式使用的正则转换
+     */
+    private static String legacyRegex(String pattern) {
+        return "^" + pattern.replace(".", "\\.").replace("*", "[^.]*").replace("#", ".*") + "$";
+    }
+}
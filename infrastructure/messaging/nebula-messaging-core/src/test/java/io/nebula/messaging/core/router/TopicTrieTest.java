@@ -0,0 +1,93 @@
+package io.nebula.messaging.core.router;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * TopicTrie 单元测试
+ */
+class TopicTrieTest {
+
+    @Test
+    void testSegmentWildcards() {
+        TopicTrie trie = TopicTrie.build(Map.of(
+                "order.*.created", "created.queue",
+                "user.#", "user.queue",
+                "audit.**.log", "audit.queue"));
+
+        assertThat(trie.match("order.eu.created")).isEqualTo("created.queue");
+        assertThat(trie.match("order.created")).isNull();
+        assertThat(trie.match("order.eu.west.created")).isNull();
+
+        // # / ** 匹配零个或多个段
+        assertThat(trie.match("user")).isEqualTo("user.queue");
+        assertThat(trie.match("user.a.b.c")).isEqualTo("user.queue");
+        assertThat(trie.match("audit.log")).isEqualTo("audit.queue");
+        assertThat(trie.match("audit.a.b.log")).isEqualTo("audit.queue");
+        assertThat(trie.match("audit.a.b")).isNull();
+        assertThat(TopicTrie.EMPTY.match("user")).isNull();
+    }
+
+    @Test
+    void testMostSpecificPatternWins() {
+        Map<String, String> routes = new LinkedHashMap<>();
+        routes.put("#", "any");
+        routes.put("order.#", "order-any");
+        routes.put("order.*", "order-one");
+        routes.put("order.paid", "order-paid");
+        TopicTrie trie = TopicTrie.build(routes);
+
+        assertThat(trie.match("order.paid")).isEqualTo("order-paid");
+        assertThat(trie.match("order.created")).isEqualTo("order-one");
+        assertThat(trie.match("order.created.eu")).isEqualTo("order-any");
+        assertThat(trie.match("user.created")).isEqualTo("any");
+
+        assertThat(trie.matchAll("order.paid")).containsExactly("order-paid", "order-one", "order-any", "any");
+    }
+
+    @Test
+    void testMatchAllDeduplicatesPatternsReachedSeveralWays() {
+        TopicTrie trie = TopicTrie.build(Map.of("#.x.#", "x.queue", "a.#", "a.queue"));
+
+        // #.x.# 可以通过多种切分命中 a.x.x.x，结果只出现一次
+        assertThat(trie.matchAll("a.x.x.x")).containsExactly("a.queue", "x.queue");
+        assertThat(trie.matchAll("b.c")).isEmpty();
+    }
+
+    @Test
+    void testSegmentPatternDetection() {
+        assertThat(TopicTrie.isSegmentPattern("order.created")).isTrue();
+        assertThat(TopicTrie.isSegmentPattern("order.*.#")).isTrue();
+        assertThat(TopicTrie.isSegmentPattern("order.**")).isTrue();
+        assertThat(TopicTrie.isSegmentPattern("order*")).isFalse();
+        assertThat(TopicTrie.isSegmentPattern("order.#x")).isFalse();
+
+        // 无法按段索引的模式不进入前缀树
+        assertThat(TopicTrie.build(Map.of("order*", "q")).match("orders")).isNull();
+    }
+
+    @Test
+    void testRepeatedMultiWildcardsDoNotBacktrackExponentially() {
+        String pattern = "#.".repeat(16) + "end";
+        StringBuilder topic = new StringBuilder("s0");
+        for (int i = 1; i < 64; i++) {
+            topic.append(".s").append(i);
+        }
+        TopicTrie trie = TopicTrie.build(Map.of(pattern, "end.queue", "#.#.#.#.s20.#.#.#.#.s10.#.#", "mid.queue"));
+
+        // 朴素回溯需要展开 C(63 + 16, 16) 级别的切分
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThat(trie.match(topic.toString())).isNull();
+            assertThat(trie.matchAll(topic.toString())).isEmpty();
+            assertThat(trie.match(topic + ".end")).isEqualTo("end.queue");
+            assertThat(trie.matchAll(topic.toString().replace(".s63", ".s10.x.s20.end")))
+                    .containsExactlyInAnyOrder("end.queue", "mid.queue");
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package io.nebula.messaging.core.serializer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.nebula.messaging.core.serializer.MessageSerializer.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * JsonMessageSerializer单元测试
+ *
+ * 测试目的: 验证按完整泛型类型解码载荷
+ */
+class JsonMessageSerializerTest {
+
+    private final JsonMessageSerializer serializer = new JsonMessageSerializer();
+
+    @Test
+    void testDeserializeParameterizedType() throws Exception {
+        Type type = new TypeReference<List<Item>>() {
+        }.getType();
+
+        Object result = serializer.deserialize(bytes("[{\"sku\":\"A-1\",\"quantity\":2},{\"sku\":\"B-2\",\"quantity\":1}]"), type);
+
+        assertThat(result).isInstanceOf(List.class);
+        List<?> items = (List<?>) result;
+        assertThat(items).hasSize(2).allSatisfy(item -> assertThat(item).isInstanceOf(Item.class));
+        assertThat(((Item) items.get(0)).getSku()).isEqualTo("A-1");
+        assertThat(((Item) items.get(1)).getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void testDeserializeNestedParameterizedType() throws Exception {
+        Type type = new TypeReference<Map<String, List<Item>>>() {
+        }.getType();
+
+        Object result = serializer.deserialize(bytes("{\"cart\":[{\"sku\":\"A-1\",\"quantity\":3}]}"), type);
+
+        @SuppressWarnings("unchecked")
+        Map<String, List<Item>> carts = (Map<String, List<Item>>) result;
+        assertThat(carts.get("cart").get(0).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    void testDeserializeClassAndPrimitiveTypes() throws Exception {
+        assertThat(serializer.deserialize(bytes("{\"sku\":\"A-1\",\"quantity\":2}"), (Type) Item.class))
+                .isInstanceOf(Item.class);
+        assertThat(serializer.deserialize(bytes("42"), (Type) int.class)).isEqualTo(42);
+        assertThat(serializer.deserialize(bytes("42"), (Type) long.class)).isEqualTo(42L);
+    }
+
+    @Test
+    void testReaderResolvedOncePerType() throws Exception {
+        Type type = new TypeReference<List<Item>>() {
+        }.getType();
+        byte[] data = bytes("[{\"sku\":\"A-1\",\"quantity\":2}]");
+
+        Object first = serializer.deserialize(data, type);
+        Object second = serializer.deserialize(data, type);
+
+        assertThat(second).usingRecursiveComparison().isEqualTo(first);
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(serializer, "readers")).hasSize(1);
+    }
+
+    @Test
+    void testEmptyDataReturnsNull() throws Exception {
+        assertThat(serializer.deserialize(null, (Type) Item.class)).isNull();
+        assertThat(serializer.deserialize(new byte[0], (Type) Item.class)).isNull();
+    }
+
+    @Test
+    void testNullTypeRejected() throws Exception {
+        assertThatThrownBy(() -> serializer.deserialize(bytes("{}"), (Type) null))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void testMalformedDataRaisesSerializationException() throws Exception {
+        Type type = new TypeReference<List<Item>>() {
+        }.getType();
+
+        assertThatThrownBy(() -> serializer.deserialize(bytes("{\"sku\":"), type))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("java.util.List");
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static class Item {
+
+        private String sku;
+        private int quantity;
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package io.nebula.messaging.local.bus;
+
+import io.nebula.messaging.core.delay.HierarchicalTimingWheel;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.core.router.MessageRouter;
+import io.nebula.messaging.local.ring.RingBuffer;
+import io.nebula.messaging.local.ring.WaitStrategy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 进程内消息总线
+ * <p>
+ * 消息以引用在生产者与订阅者之间传递，不经过序列化。每个订阅持有独立的环形缓冲区和消费线程，
+ * 发布方法把消息写入目标订阅的缓冲区后立即返回；缓冲区满时发布线程等待（背压）。
+ * </p>
+ * <p>
+ * 投递规则：
+ * <ul>
+ *     <li>消息指定了队列时，只投递给该主题下队列名相同的订阅</li>
+ *     <li>未指定队列且配置了 {@link MessageRouter} 时，以路由结果作为队列；路由结果为默认路由时视为未路由</li>
+ *     <li>其余情况广播给该主题的全部订阅</li>
+ * </ul>
+ * 同一条消息被多个订阅共享同一个实例，订阅者不应修改消息。
+ * </p>
+ *
+ * @author nebula
+ */
+@Slf4j
+public class LocalMessageBus implements AutoCloseable {
+
+    private static final Subscriptions EMPTY = new Subscriptions(new LocalSubscription[0], null);
+
+    private static final long DELAY_TICK_MILLIS = 10;
+    private static final int DELAY_WHEEL_SIZE = 512;
+
+    private final Map<String, Subscriptions> topics = new ConcurrentHashMap<>();
+    private final int bufferSize;
+    private final WaitStrategy.Type waitStrategy;
+    private final int maxBatchSize;
+    private final int pullBufferSize;
+    private final MessageRouter router;
+
+    private final String idPrefix = Long.toHexString(System.currentTimeMillis()) + "-";
+    private final AtomicLong idSequence = new AtomicLong();
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * 到期的延时消息，由投递线程发布；时间轮线程持有写锁，不能在其上执行可能因背压阻塞的发布
+     */
+    private final BlockingQueue<Message<?>> expiredMessages = new LinkedBlockingQueue<>();
+
+    private volatile HierarchicalTimingWheel<Message<?>> delayWheel;
+    private volatile Thread delayThread;
+    private volatile Thread delayPublishThread;
+    private volatile boolean closed;
+
+    /**
+     * @param bufferSize     每个订阅的缓冲区槽位数，必须是 2 的幂
+     * @param waitStrategy   订阅消费线程的等待策略
+     * @param maxBatchSize   消费线程单次取出的最大消息数
+     * @param pullBufferSize 拉取缓冲区槽位数，必须是 2 的幂
+     * @param router         消息路由器，可以为 null
+     */
+    public LocalMessageBus(int bufferSize, WaitStrategy.Type waitStrategy, int maxBatchSize,
+                           int pullBufferSize, MessageRouter router) {
+        this.bufferSize = bufferSize;
+        this.waitStrategy = waitStrategy;
+        this.maxBatchSize = maxBatchSize;
+        this.pullBufferSize = pullBufferSize;
+        this.router = router;
+    }
+
+    /**
+     * 发布消息
+     *
+     * @return 接收到消息的订阅数（含拉取缓冲区）
+     */
+    public int publish(Message<?> message) {
+        if (closed) {
+            throw new IllegalStateException("LocalMessageBus is closed");
+        }
+        if (message.getId() == null) {
+            message.setId(idPrefix + idSequence.incrementAndGet());
+        }
+        Subscriptions subscriptions = topics.getOrDefault(message.getTopic(), EMPTY);
+        String queue = targetQueue(message);
+        int delivered = 0;
+        for (LocalSubscription subscription : subscriptions.pushes) {
+            if (subscription.accepts(message, queue) && subscription.offer(message)) {
+                delivered++;
+            }
+        }
+        RingBuffer<Message<?>> pull = subscriptions.pull;
+        if (pull != null) {
+            // 拉取缓冲区没有消费线程，满时丢弃而不是阻塞发布者
+            if (pull.tryPublish(message)) {
+                delivered++;
+            } else {
+                droppedCount.increment();
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * 批量发布消息
+     * <p>
+     * 按主题分组后，每个订阅对命中的消息一次申请连续的序号整批写入，而不是逐条竞争游标。
+     * </p>
+     *
+     * @return 投递次数之和（一条消息投递给 n 个订阅计 n 次）
+     */
+    public int publishBatch(List<? extends Message<?>> messages) {
+        if (closed) {
+            throw new IllegalStateException("LocalMessageBus is closed");
+        }
+        Map<String, List<Message<?>>> byTopic = new LinkedHashMap<>();
+        for (Message<?> message : messages) {
+            if (message.getId() == null) {
+                message.setId(idPrefix + idSequence.incrementAndGet());
+            }
+            byTopic.computeIfAbsent(message.getTopic(), k -> new ArrayList<>()).add(message);
+        }
+        int delivered = 0;
+        for (Map.Entry<String, List<Message<?>>> entry : byTopic.entrySet()) {
+            Subscriptions subscriptions = topics.getOrDefault(entry.getKey(), EMPTY);
+            List<Message<?>> batch = entry.getValue();
+            String[] queues = new String[batch.size()];
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = targetQueue(batch.get(i));
+            }
+            for (LocalSubscription subscription : subscriptions.pushes) {
+                delivered += subscription.offerAll(batch, queues);
+            }
+            RingBuffer<Message<?>> pull = subscriptions.pull;
+            if (pull != null) {
+                for (Message<?> message : batch) {
+                    if (pull.tryPublish(message)) {
+                        delivered++;
+                    } else {
+                        droppedCount.increment();
+                    }
+                }
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * 延时发布消息，到期后由延时投递线程调用 {@link #publish(Message)}
+     */
+    public void publishDelayed(Message<?> message, Duration delay) {
+        if (closed) {
+            throw new IllegalStateException("LocalMessageBus is closed");
+        }
+        if (message.getId() == null) {
+            message.setId(idPrefix + idSequence.incrementAndGet());
+        }
+        long expiration = System.currentTimeMillis() + Math.max(0, delay.toMillis());
+        if (!delayWheel().add(message.getId(), expiration, message)) {
+            publish(message);
+        }
+    }
+
+    /**
+     * 订阅主题
+     *
+     * @param topic    主题
+     * @param queue    队列，订阅只接收未指定队列或指定了该队列的消息
+     * @param tag      标签过滤，null 表示不过滤
+     * @param listener 批量接收消息，在订阅的消费线程上调用
+     * @return 订阅
+     */
+    public LocalSubscription subscribe(String topic, String queue, String tag,
+                                       Consumer<List<Message<?>>> listener) {
+        LocalSubscription subscription = new LocalSubscription(topic, queue, tag, bufferSize,
+                waitStrategy.create(), maxBatchSize, listener);
+        topics.compute(topic, (key, current) -> {
+            Subscriptions base = current != null ? current : EMPTY;
+            LocalSubscription[] pushes = Arrays.copyOf(base.pushes, base.pushes.length + 1);
+            pushes[pushes.length - 1] = subscription;
+            return new Subscriptions(pushes, base.pull);
+        });
+        subscription.start();
+        log.info("本地订阅已创建: topic={}, queue={}, tag={}, bufferSize={}, waitStrategy={}",
+                topic, queue, tag, bufferSize, waitStrategy);
+        return subscription;
+    }
+
+    /**
+     * 取消订阅
+     *
+     * @param topic 主题
+     * @param queue 队列，null 表示该主题的全部订阅
+     * @return 被关闭的订阅
+     */
+    public List<LocalSubscription> unsubscribe(String topic, String queue) {
+        LocalSubscription[][] removed = {new LocalSubscription[0]};
+        topics.computeIfPresent(topic, (key, current) -> {
+            removed[0] = Arrays.stream(current.pushes)
+                    .filter(s -> queue == null || queue.equals(s.getQueue()))
+                    .toArray(LocalSubscription[]::new);
+            LocalSubscription[] remaining = Arrays.stream(current.pushes)
+                    .filter(s -> queue != null && !queue.equals(s.getQueue()))
+                    .toArray(LocalSubscription[]::new);
+            return remaining.length == 0 && current.pull == null ? null : new Subscriptions(remaining, current.pull);
+        });
+        for (LocalSubscription subscription : removed[0]) {
+            subscription.close();
+        }
+        return List.of(removed[0]);
+    }
+
+    /**
+     * 从主题的拉取缓冲区取出消息
+     * <p>
+     * 拉取缓冲区在第一次拉取时创建，只接收创建之后发布的消息。
+     * </p>
+     *
+     * @return 取出的消息数
+     */
+    public int pull(String topic, Collection<? super Message<?>> sink, int maxCount, Duration timeout)
+            throws InterruptedException {
+        RingBuffer<Message<?>> pull = pullBuffer(topic);
+        // 环形缓冲区只允许一个消费者，并发拉取同一主题时串行执行
+        synchronized (pull) {
+            return pull.poll(sink, maxCount, timeout);
+        }
+    }
+
+    /**
+     * 主题当前的订阅
+     */
+    public List<LocalSubscription> getSubscriptions(String topic) {
+        return List.of(topics.getOrDefault(topic, EMPTY).pushes);
+    }
+
+    public boolean hasTopic(String topic) {
+        return topics.containsKey(topic);
+    }
+
+    /**
+     * 等待投递的延时消息数
+     */
+    public int getPendingDelayedCount() {
+        HierarchicalTimingWheel<Message<?>> wheel = delayWheel;
+        return wheel == null ? 0 : wheel.size() + expiredMessages.size();
+    }
+
+    /**
+     * 拉取缓冲区已满而被丢弃的消息数
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 关闭全部订阅与延时线程，缓冲区中未消费的消息被丢弃
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (String topic : topics.keySet()) {
+            unsubscribe(topic, null);
+        }
+        topics.values().forEach(s -> {
+            if (s.pull != null) {
+                s.pull.close();
+            }
+        });
+        topics.clear();
+        Thread thread = delayThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        Thread publishThread = delayPublishThread;
+        if (publishThread != null) {
+            publishThread.interrupt();
+        }
+        expiredMessages.clear();
+        log.info("本地消息总线已关闭");
+    }
+
+    private String targetQueue(Message<?> message) {
+        String queue = message.getQueue();
+        if (queue != null && !queue.isEmpty()) {
+            return queue;
+        }
+        if (router != null) {
+            String routed = router.route(message);
+            if (routed != null && !routed.equals(router.getDefaultRoute())) {
+                return routed;
+            }
+        }
+        return null;
+    }
+
+    private RingBuffer<Message<?>> pullBuffer(String topic) {
+        Subscriptions subscriptions = topics.compute(topic, (key, current) -> {
+            Subscriptions base = current != null ? current : EMPTY;
+            if (base.pull != null) {
+                return base;
+            }
+            return new Subscriptions(base.pushes, new RingBuffer<>(pullBufferSize, WaitStrategy.Type.SLEEPING.create()));
+        });
+        return subscriptions.pull;
+    }
+
+    private HierarchicalTimingWheel<Message<?>> delayWheel() {
+        HierarchicalTimingWheel<Message<?>> wheel = delayWheel;
+        if (wheel != null) {
+            return wheel;
+        }
+        synchronized (this) {
+            if (delayWheel == null) {
+                HierarchicalTimingWheel<Message<?>> created = new HierarchicalTimingWheel<>(
+                        DELAY_TICK_MILLIS, DELAY_WHEEL_SIZE, System.currentTimeMillis(), expiredMessages::offer);
+                Thread thread = new Thread(() -> advanceDelayWheel(created), "local-messaging-delay");
+                thread.setDaemon(true);
+                Thread publishThread = new Thread(this::publishExpired, "local-messaging-delay-publish");
+                publishThread.setDaemon(true);
+                delayWheel = created;
+                delayThread = thread;
+                delayPublishThread = publishThread;
+                publishThread.start();
+                thread.start();
+            }
+            return delayWheel;
+        }
+    }
+
+    private void advanceDelayWheel(HierarchicalTimingWheel<Message<?>> wheel) {
+        while (!closed) {
+            try {
+                wheel.advance(200);
+            } catch (InterruptedException e) {
+                if (closed) {
+                    return;
+                }
+            } catch (Exception e) {
+                log.error("本地延时消息调度异常", e);
+            }
+        }
+    }
+
+    /**
+     * 逐条发布到期的延时消息；订阅缓冲区满时在这里等待，不会阻塞时间轮推进和新的延时发布
+     */
+    private void publishExpired() {
+        while (!closed) {
+            Message<?> message;
+            try {
+                message = expiredMessages.take();
+            } catch (InterruptedException e) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                publish(message);
+            } catch (Exception e) {
+                if (closed) {
+                    return;
+                }
+                log.error("本地延时消息投递失败: topic={}, messageId={}", message.getTopic(), message.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * 主题的订阅快照，写时复制，发布路径只做一次 volatile 读
+     */
+    private record Subscriptions(LocalSubscription[] pushes, RingBuffer<Message<?>> pull) {
+    }
+}
@@ -0,0 +1,149 @@
+package io.nebula.messaging.local.bus;
+
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.local.ring.RingBuffer;
+import io.nebula.messaging.local.ring.WaitStrategy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 本地订阅
+ * <p>
+ * 每个订阅独占一个环形缓冲区和一个消费线程。消费线程一次取出缓冲区中已发布的全部连续消息
+ * （不超过 {@code maxBatchSize}），整批交给监听器，再推进消费进度。
+ * </p>
+ *
+ * @author nebula
+ */
+@Slf4j
+public final class LocalSubscription {
+
+    private final String topic;
+    private final String queue;
+    private final String tag;
+    private final RingBuffer<Message<?>> ring;
+    private final Consumer<List<Message<?>>> listener;
+    private final int maxBatchSize;
+    private final Thread thread;
+
+    LocalSubscription(String topic, String queue, String tag, int bufferSize, WaitStrategy waitStrategy,
+                      int maxBatchSize, Consumer<List<Message<?>>> listener) {
+        this.topic = topic;
+        this.queue = queue;
+        this.tag = tag;
+        this.ring = new RingBuffer<>(bufferSize, waitStrategy);
+        this.listener = listener;
+        this.maxBatchSize = maxBatchSize;
+        this.thread = new Thread(this::run, "local-messaging-" + topic + "-" + queue);
+        this.thread.setDaemon(true);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getQueue() {
+        return queue;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * 未被消费线程取出的消息数
+     */
+    public long getBacklog() {
+        return ring.size();
+    }
+
+    /**
+     * 是否接收消息：目标队列为 null 或与订阅队列相同，且标签匹配（未设置标签过滤时接收全部）
+     */
+    boolean accepts(Message<?> message, String targetQueue) {
+        return (targetQueue == null || targetQueue.equals(queue))
+                && (tag == null || tag.equals(message.getTag()));
+    }
+
+    /**
+     * 写入消息，缓冲区满时等待消费线程推进
+     *
+     * @return 订阅已关闭时返回 false
+     */
+    boolean offer(Message<?> message) {
+        try {
+            ring.publish(message);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 整批写入命中的消息，每段申请一次连续序号
+     *
+     * @param messages 同一主题的消息
+     * @param queues   与 messages 一一对应的目标队列
+     * @return 写入的消息数
+     */
+    int offerAll(List<Message<?>> messages, String[] queues) {
+        int chunk = Math.min(ring.getBufferSize(), messages.size());
+        Message<?>[] buffer = new Message<?>[chunk];
+        int count = 0;
+        int written = 0;
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                Message<?> message = messages.get(i);
+                if (!accepts(message, queues[i])) {
+                    continue;
+                }
+                buffer[count++] = message;
+                if (count == chunk) {
+                    ring.publishAll(buffer, count);
+                    written += count;
+                    count = 0;
+                }
+            }
+            ring.publishAll(buffer, count);
+            return written + count;
+        } catch (IllegalStateException e) {
+            return written;
+        }
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void close() {
+        ring.close();
+        thread.interrupt();
+    }
+
+    private void run() {
+        List<Message<?>> drained = new ArrayList<>(maxBatchSize);
+        while (!ring.isClosed()) {
+            try {
+                if (ring.drainTo(drained, maxBatchSize) == 0) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                if (ring.isClosed()) {
+                    break;
+                }
+                continue;
+            }
+            try {
+                // 交出副本：监听器可以在回调之外持有批次，缓冲区继续复用 drained
+                listener.accept(new ArrayList<>(drained));
+            } catch (Throwable e) {
+                log.error("本地消息处理异常: topic={}, queue={}, batchSize={}", topic, queue, drained.size(), e);
+            }
+            drained.clear();
+        }
+        log.debug("本地订阅已关闭: topic={}, queue={}", topic, queue);
+    }
+}
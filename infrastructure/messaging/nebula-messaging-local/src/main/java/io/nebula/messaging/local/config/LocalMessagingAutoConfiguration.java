@@ -0,0 +1,67 @@
+package io.nebula.messaging.local.config;
+
+import io.nebula.messaging.core.annotation.MessageHandlerProcessor;
+import io.nebula.messaging.core.router.MessageRouter;
+import io.nebula.messaging.local.bus.LocalMessageBus;
+import io.nebula.messaging.local.consumer.LocalMessageConsumer;
+import io.nebula.messaging.local.manager.LocalMessageManager;
+import io.nebula.messaging.local.producer.LocalMessageProducer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * 本地消息自动配置
+ */
+@Slf4j
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "nebula.messaging.local", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(LocalMessagingProperties.class)
+public class LocalMessagingAutoConfiguration {
+
+    /**
+     * 进程内消息总线，容器关闭时关闭全部订阅线程
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public LocalMessageBus localMessageBus(LocalMessagingProperties properties,
+                                           ObjectProvider<MessageRouter> messageRouter) {
+        log.info("初始化本地消息总线: bufferSize={}, waitStrategy={}, maxBatchSize={}",
+                properties.getBufferSize(), properties.getWaitStrategy(), properties.getMaxBatchSize());
+        return new LocalMessageBus(properties.getBufferSize(), properties.getWaitStrategy(),
+                properties.getMaxBatchSize(), properties.getPullBufferSize(), messageRouter.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LocalMessageProducer<Object> localMessageProducer(LocalMessageBus bus) {
+        return new LocalMessageProducer<>(bus);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LocalMessageConsumer<Object> localMessageConsumer(LocalMessageBus bus) {
+        return new LocalMessageConsumer<>(bus);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnMissingBean
+    public LocalMessageManager localMessageManager(LocalMessageProducer<Object> producer,
+                                                   LocalMessageConsumer<Object> consumer) {
+        return new LocalMessageManager(producer, consumer);
+    }
+
+    /**
+     * 复用 @MessageHandler 注解：已有其他中间件的注解处理器时不重复注册
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public static MessageHandlerProcessor messageHandlerProcessor(@Lazy LocalMessageManager messageManager) {
+        return new MessageHandlerProcessor(messageManager);
+    }
+}
@@ -0,0 +1,40 @@
+package io.nebula.messaging.local.config;
+
+import io.nebula.messaging.local.ring.WaitStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 本地消息配置属性
+ *
+ * @author nebula
+ */
+@Data
+@ConfigurationProperties(prefix = "nebula.messaging.local")
+public class LocalMessagingProperties {
+
+    /**
+     * 是否启用进程内消息
+     */
+    private boolean enabled = false;
+
+    /**
+     * 每个订阅的环形缓冲区槽位数，必须是 2 的幂；缓冲区满时发布线程等待
+     */
+    private int bufferSize = 65536;
+
+    /**
+     * 订阅消费线程的等待策略
+     */
+    private WaitStrategy.Type waitStrategy = WaitStrategy.Type.SLEEPING;
+
+    /**
+     * 消费线程单次取出的最大消息数
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * 每个主题的拉取缓冲区槽位数，必须是 2 的幂；缓冲区满时新消息被丢弃
+     */
+    private int pullBufferSize = 4096;
+}
@@ -0,0 +1,432 @@
+package io.nebula.messaging.local.consumer;
+
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchOptions;
+import io.nebula.messaging.core.consumer.BatchResult;
+import io.nebula.messaging.core.consumer.KeyOrderedDispatcher;
+import io.nebula.messaging.core.consumer.MessageConsumer;
+import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.consumer.OrderedOptions;
+import io.nebula.messaging.core.exception.MessageReceiveException;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.local.bus.LocalMessageBus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地消息消费者
+ * <p>
+ * 每个订阅在 {@link LocalMessageBus} 上拥有独立的环形缓冲区和消费线程，消费线程每次取出已发布的全部连续消息后
+ * 在同一线程上依次调用处理器。
+ * </p>
+ * <ul>
+ *   <li>queue 为空时等同于以 topic 作为队列订阅；指定了队列的消息只投递给同名队列的订阅</li>
+ *   <li>批量订阅把一次取出的消息（不超过 {@link BatchOptions#maxBatchSize()}）直接交给处理器，
+ *       不再额外等待 {@link BatchOptions#lingerTime()}：缓冲区里已有的消息就是现成的批</li>
+ *   <li>保序订阅把消息按键分发到 {@link KeyOrderedDispatcher} 的并行通道</li>
+ *   <li>处理失败只记录日志和统计，不重试：同一条消息实例被多个订阅共享，进程内也没有持久化的位点可以回退</li>
+ *   <li>pull 系列方法读取主题的拉取缓冲区，ack/nack 没有实际动作</li>
+ * </ul>
+ *
+ * @param <T> 消息载荷类型
+ * @author nebula
+ */
+@Slf4j
+public class LocalMessageConsumer<T> implements MessageConsumer<T> {
+
+    private final LocalMessageBus bus;
+
+    /**
+     * 保序订阅的分发器：topic:queue → 分发器
+     */
+    private final Map<String, KeyOrderedDispatcher<Message<T>>> orderedDispatchers = new ConcurrentHashMap<>();
+
+    private volatile boolean running = true;
+    private volatile boolean paused = false;
+    private ConsumerConfig config = new LocalConsumerConfig();
+
+    private final LocalConsumerStats stats = new LocalConsumerStats();
+
+    public LocalMessageConsumer(LocalMessageBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public void subscribe(String topic, MessageHandler<T> handler) {
+        subscribe(topic, topic, handler);
+    }
+
+    @Override
+    public void subscribe(String topic, String queue, MessageHandler<T> handler) {
+        doSubscribe(topic, normalizeQueue(topic, queue), null, handler);
+    }
+
+    @Override
+    public void subscribeWithTag(String topic, String tag, MessageHandler<T> handler) {
+        doSubscribe(topic, topic, tag, handler);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribeBatch(String topic, String queue, BatchMessageHandler<T> handler, BatchOptions options) {
+        int maxBatchSize = options.maxBatchSize();
+        bus.subscribe(topic, normalizeQueue(topic, queue), null, drained -> {
+            awaitResumed();
+            for (int from = 0; from < drained.size(); from += maxBatchSize) {
+                List<Message<T>> batch = (List<Message<T>>) (List<?>) drained.subList(from,
+                        Math.min(drained.size(), from + maxBatchSize));
+                long start = System.nanoTime();
+                stats.processingCount.addAndGet(batch.size());
+                try {
+                    BatchResult result = handler.handle(batch);
+                    int failed = result.failedCount(batch.size());
+                    stats.record(batch.size() - failed, failed, System.nanoTime() - start);
+                    if (failed > 0) {
+                        log.warn("本地批量消息部分处理失败: topic={}, batchSize={}, failed={}", topic, batch.size(), failed);
+                    }
+                } catch (Exception e) {
+                    stats.record(0, batch.size(), System.nanoTime() - start);
+                    log.error("本地批量消息处理失败: topic={}, batchSize={}", topic, batch.size(), e);
+                } finally {
+                    stats.processingCount.addAndGet(-batch.size());
+                }
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribeOrdered(String topic, String queue, MessageHandler<T> handler, OrderedOptions options) {
+        String resolvedQueue = normalizeQueue(topic, queue);
+        String key = topic + ":" + resolvedQueue;
+        KeyOrderedDispatcher<Message<T>> dispatcher = new KeyOrderedDispatcher<>("local-ordered-" + key, options,
+                message -> message.getHeaders() != null ? message.getHeaders().get(options.keyHeader()) : null,
+                message -> invoke(handler, message),
+                // 进程内没有需要确认的位点
+                completions -> {
+                });
+        KeyOrderedDispatcher<Message<T>> previous = orderedDispatchers.put(key, dispatcher);
+        if (previous != null) {
+            previous.close();
+        }
+        bus.subscribe(topic, resolvedQueue, null, drained -> {
+            awaitResumed();
+            try {
+                for (Message<?> message : drained) {
+                    dispatcher.submit((Message<T>) message);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IllegalStateException e) {
+                if (!dispatcher.isClosed()) {
+                    throw e;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void unsubscribe(String topic) {
+        bus.unsubscribe(topic, null);
+        orderedDispatchers.entrySet().removeIf(entry -> {
+            if (entry.getKey().startsWith(topic + ":")) {
+                entry.getValue().close();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public void unsubscribe(String topic, String queue) {
+        String resolvedQueue = normalizeQueue(topic, queue);
+        bus.unsubscribe(topic, resolvedQueue);
+        KeyOrderedDispatcher<Message<T>> dispatcher = orderedDispatchers.remove(topic + ":" + resolvedQueue);
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Message<T>> pull(String topic, int maxCount, Duration timeout) {
+        List<Message<T>> messages = new ArrayList<>(Math.min(maxCount, 1024));
+        try {
+            bus.pull(topic, (List<? super Message<?>>) (List<?>) messages, maxCount, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessageReceiveException("拉取本地消息被中断: " + topic, e);
+        }
+        return messages;
+    }
+
+    @Override
+    public Message<T> pullOne(String topic, Duration timeout) {
+        List<Message<T>> messages = pull(topic, 1, timeout);
+        return messages.isEmpty() ? null : messages.get(0);
+    }
+
+    @Override
+    public CompletableFuture<List<Message<T>>> pullAsync(String topic, int maxCount, Duration timeout) {
+        return CompletableFuture.supplyAsync(() -> pull(topic, maxCount, timeout));
+    }
+
+    @Override
+    public boolean ack(Message<T> message) {
+        // 进程内投递没有确认位点
+        return true;
+    }
+
+    @Override
+    public boolean nack(Message<T> message, boolean requeue) {
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        orderedDispatchers.values().forEach(KeyOrderedDispatcher::close);
+        orderedDispatchers.clear();
+    }
+
+    /**
+     * 暂停后消费线程在下一批开始前等待，缓冲区写满后发布者随之等待
+     */
+    @Override
+    public synchronized void pause() {
+        paused = true;
+    }
+
+    @Override
+    public synchronized void resume() {
+        paused = false;
+        notifyAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isPaused() {
+        return paused;
+    }
+
+    @Override
+    public void setConfig(ConsumerConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public ConsumerConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public ConsumerStats getStats() {
+        return stats;
+    }
+
+    // ==================== 内部实现 ====================
+
+    @SuppressWarnings("unchecked")
+    private void doSubscribe(String topic, String queue, String tag, MessageHandler<T> handler) {
+        bus.subscribe(topic, queue, tag, drained -> {
+            awaitResumed();
+            for (Message<?> message : drained) {
+                invoke(handler, (Message<T>) message);
+            }
+        });
+    }
+
+    private boolean invoke(MessageHandler<T> handler, Message<T> message) {
+        long start = System.nanoTime();
+        stats.processingCount.incrementAndGet();
+        try {
+            handler.handle(message);
+            stats.record(1, 0, System.nanoTime() - start);
+            return true;
+        } catch (Exception e) {
+            stats.record(0, 1, System.nanoTime() - start);
+            log.error("本地消息处理失败: topic={}, messageId={}, error={}",
+                    message.getTopic(), message.getId(), e.getMessage(), e);
+            return false;
+        } finally {
+            stats.processingCount.decrementAndGet();
+        }
+    }
+
+    private void awaitResumed() {
+        if (!paused) {
+            return;
+        }
+        synchronized (this) {
+            while (paused) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static String normalizeQueue(String topic, String queue) {
+        return queue == null || queue.isEmpty() ? topic : queue;
+    }
+
+    /**
+     * 消费者配置实现
+     */
+    private static class LocalConsumerConfig implements ConsumerConfig {
+
+        private String consumerGroup = "local";
+        private int concurrency = 1;
+        private int batchSize = 1;
+        private Duration consumeTimeout = Duration.ofMinutes(15);
+        private boolean autoAck = true;
+        private int maxRetries = 0;
+
+        @Override
+        public String getConsumerGroup() {
+            return consumerGroup;
+        }
+
+        @Override
+        public void setConsumerGroup(String consumerGroup) {
+            this.consumerGroup = consumerGroup;
+        }
+
+        @Override
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        @Override
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        @Override
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        @Override
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public Duration getConsumeTimeout() {
+            return consumeTimeout;
+        }
+
+        @Override
+        public void setConsumeTimeout(Duration timeout) {
+            this.consumeTimeout = timeout;
+        }
+
+        @Override
+        public boolean isAutoAck() {
+            return autoAck;
+        }
+
+        @Override
+        public void setAutoAck(boolean autoAck) {
+            this.autoAck = autoAck;
+        }
+
+        @Override
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        @Override
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+    }
+
+    /**
+     * 消费者统计信息实现
+     */
+    private static class LocalConsumerStats implements ConsumerStats {
+
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder failedCount = new LongAdder();
+        private final LongAdder totalElapsedNanos = new LongAdder();
+        private final AtomicInteger processingCount = new AtomicInteger();
+        private volatile long startTime = System.currentTimeMillis();
+
+        void record(int success, int failed, long elapsedNanos) {
+            if (success > 0) {
+                successCount.add(success);
+            }
+            if (failed > 0) {
+                failedCount.add(failed);
+            }
+            totalElapsedNanos.add(elapsedNanos);
+        }
+
+        @Override
+        public long getConsumedCount() {
+            return successCount.sum() + failedCount.sum();
+        }
+
+        @Override
+        public long getSuccessCount() {
+            return successCount.sum();
+        }
+
+        @Override
+        public long getFailedCount() {
+            return failedCount.sum();
+        }
+
+        @Override
+        public double getSuccessRate() {
+            long total = getConsumedCount();
+            return total == 0 ? 0.0 : (double) successCount.sum() / total;
+        }
+
+        @Override
+        public double getAverageElapsedTime() {
+            long total = getConsumedCount();
+            return total == 0 ? 0.0 : totalElapsedNanos.sum() / 1_000_000.0 / total;
+        }
+
+        @Override
+        public int getProcessingCount() {
+            return processingCount.get();
+        }
+
+        @Override
+        public long getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public void reset() {
+            successCount.reset();
+            failedCount.reset();
+            totalElapsedNanos.reset();
+            startTime = System.currentTimeMillis();
+        }
+    }
+}
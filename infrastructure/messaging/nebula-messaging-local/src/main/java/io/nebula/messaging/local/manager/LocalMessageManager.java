@@ -0,0 +1,100 @@
+package io.nebula.messaging.local.manager;
+
+import io.nebula.messaging.core.consumer.MessageConsumer;
+import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.manager.MessageManager;
+import io.nebula.messaging.core.producer.MessageProducer;
+import io.nebula.messaging.local.consumer.LocalMessageConsumer;
+import io.nebula.messaging.local.producer.LocalMessageProducer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地消息管理器实现
+ * <p>
+ * 进程内没有需要声明的主题资源，主题只在本地登记，供 {@link #topicExists(String)} 查询。
+ * </p>
+ *
+ * @author nebula
+ */
+@Slf4j
+public class LocalMessageManager implements MessageManager {
+
+    private final LocalMessageProducer<Object> producer;
+    private final LocalMessageConsumer<Object> consumer;
+    private final Set<String> topics = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = false;
+
+    public LocalMessageManager(LocalMessageProducer<Object> producer, LocalMessageConsumer<Object> consumer) {
+        this.producer = producer;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public MessageProducer getProducer() {
+        return producer;
+    }
+
+    @Override
+    public MessageConsumer getConsumer() {
+        return consumer;
+    }
+
+    @Override
+    public void start() {
+        if (!running) {
+            producer.start();
+            consumer.start();
+            running = true;
+            log.info("本地消息管理器启动成功");
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (running) {
+            consumer.stop();
+            producer.stop();
+            running = false;
+            log.info("本地消息管理器停止成功");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void registerHandler(String topic, MessageHandler<?> handler) {
+        topics.add(topic);
+        consumer.subscribe(topic, (MessageHandler<Object>) handler);
+        log.info("注册消息处理器: topic={}", topic);
+    }
+
+    @Override
+    public void unregisterHandler(String topic) {
+        consumer.unsubscribe(topic);
+        log.info("取消注册消息处理器: topic={}", topic);
+    }
+
+    @Override
+    public void createTopic(String topic) {
+        topics.add(topic);
+    }
+
+    @Override
+    public void deleteTopic(String topic) {
+        consumer.unsubscribe(topic);
+        topics.remove(topic);
+        log.info("删除主题: topic={}", topic);
+    }
+
+    @Override
+    public boolean topicExists(String topic) {
+        return topics.contains(topic);
+    }
+}
@@ -0,0 +1,397 @@
+package io.nebula.messaging.local.producer;
+
+import io.nebula.messaging.core.consumer.OrderedOptions;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.core.producer.MessageProducer;
+import io.nebula.messaging.local.bus.LocalMessageBus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地消息生产者
+ * <p>
+ * 消息直接写入 {@link LocalMessageBus} 中订阅者的环形缓冲区，载荷以引用传递，不做序列化。
+ * 语义映射：
+ * <ul>
+ *     <li>顺序消息 → 分片键写入 {@link OrderedOptions#DEFAULT_KEY_HEADER} 头，由按键保序订阅使用</li>
+ *     <li>延时消息 → 总线内的分层时间轮，到期后投递</li>
+ *     <li>事务消息 → 同步执行本地事务，COMMIT 时投递</li>
+ *     <li>广播消息 → 不指定队列发送，主题下的全部订阅都会收到</li>
+ *     <li>批量消息 → 每个订阅整批申请连续序号写入</li>
+ * </ul>
+ * 没有订阅者时消息被丢弃，发送结果仍为成功，与 Redis Pub/Sub 一致。
+ * </p>
+ *
+ * @param <T> 消息载荷类型
+ * @author nebula
+ */
+@Slf4j
+public class LocalMessageProducer<T> implements MessageProducer<T> {
+
+    private final LocalMessageBus bus;
+    private final LocalProducerStats stats = new LocalProducerStats();
+    private Duration timeout = Duration.ofSeconds(10);
+    private volatile boolean started = true;
+
+    public LocalMessageProducer(LocalMessageBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public SendResult send(Message<T> message) {
+        long start = System.nanoTime();
+        try {
+            bus.publish(message);
+            return success(message, start);
+        } catch (Exception e) {
+            return failure(message.getTopic(), message.getQueue(), start, e);
+        }
+    }
+
+    @Override
+    public SendResult send(String topic, T payload) {
+        return send(Message.of(topic, payload));
+    }
+
+    @Override
+    public SendResult send(String topic, String queue, T payload) {
+        return send(Message.of(topic, queue, payload));
+    }
+
+    @Override
+    public SendResult send(String topic, T payload, Map<String, String> headers) {
+        Message<T> message = Message.of(topic, payload);
+        message.setHeaders(headers);
+        return send(message);
+    }
+
+    @Override
+    public SendResult send(String topic, String queue, T payload, Map<String, String> headers) {
+        Message<T> message = Message.of(topic, queue, payload);
+        message.setHeaders(headers);
+        return send(message);
+    }
+
+    @Override
+    public CompletableFuture<SendResult> sendAsync(Message<T> message) {
+        // 发布只是写入内存缓冲区，同步完成后直接返回已完成的 Future
+        return CompletableFuture.completedFuture(send(message));
+    }
+
+    @Override
+    public CompletableFuture<SendResult> sendAsync(String topic, T payload) {
+        return CompletableFuture.completedFuture(send(topic, payload));
+    }
+
+    @Override
+    public CompletableFuture<SendResult> sendAsync(String topic, String queue, T payload) {
+        return CompletableFuture.completedFuture(send(topic, queue, payload));
+    }
+
+    @Override
+    public SendResult sendDelayMessage(String topic, T payload, Duration delay) {
+        return sendDelayMessage(topic, null, payload, delay);
+    }
+
+    @Override
+    public SendResult sendDelayMessage(String topic, String queue, T payload, Duration delay) {
+        long start = System.nanoTime();
+        Message<T> message = Message.of(topic, queue, payload);
+        try {
+            bus.publishDelayed(message, delay);
+            return success(message, start);
+        } catch (Exception e) {
+            return failure(topic, queue, start, e);
+        }
+    }
+
+    @Override
+    public SendResult sendOrderedMessage(String topic, T payload, String shardKey) {
+        return sendOrderedMessage(topic, null, payload, shardKey);
+    }
+
+    @Override
+    public SendResult sendOrderedMessage(String topic, String queue, T payload, String shardKey) {
+        Map<String, String> headers = new HashMap<>(2);
+        headers.put(OrderedOptions.DEFAULT_KEY_HEADER, shardKey);
+        Message<T> message = Message.of(topic, queue, payload);
+        message.setHeaders(headers);
+        return send(message);
+    }
+
+    @Override
+    public SendResult sendTransactionMessage(String topic, T payload, TransactionCallback callback) {
+        long start = System.nanoTime();
+        Message<T> message = Message.of(topic, payload);
+        TransactionResult result;
+        try {
+            result = callback.executeLocalTransaction(message);
+        } catch (Exception e) {
+            return failure(topic, null, start, e);
+        }
+        if (result != TransactionResult.COMMIT) {
+            // 进程内没有事务回查，UNKNOWN 按回滚处理
+            stats.record(false, System.nanoTime() - start);
+            return new LocalSendResult(false, message.getId(), topic, null, System.currentTimeMillis(),
+                    elapsedMillis(start), "本地事务未提交: " + result, null);
+        }
+        return send(message);
+    }
+
+    @Override
+    public BatchSendResult sendBatch(List<Message<T>> messages) {
+        long start = System.nanoTime();
+        List<SendResult> results = new ArrayList<>(messages.size());
+        try {
+            bus.publishBatch(messages);
+            long timestamp = System.currentTimeMillis();
+            long elapsed = elapsedMillis(start);
+            for (Message<T> message : messages) {
+                results.add(new LocalSendResult(true, message.getId(), message.getTopic(), message.getQueue(),
+                        timestamp, elapsed, null, null));
+            }
+            stats.recordBatch(messages.size(), true, System.nanoTime() - start);
+        } catch (Exception e) {
+            long timestamp = System.currentTimeMillis();
+            long elapsed = elapsedMillis(start);
+            for (Message<T> message : messages) {
+                results.add(new LocalSendResult(false, message.getId(), message.getTopic(), message.getQueue(),
+                        timestamp, elapsed, e.getMessage(), e));
+            }
+            stats.recordBatch(messages.size(), false, System.nanoTime() - start);
+        }
+        return new LocalBatchSendResult(results, elapsedMillis(start));
+    }
+
+    @Override
+    public BatchSendResult sendBatch(String topic, List<T> payloads) {
+        List<Message<T>> messages = new ArrayList<>(payloads.size());
+        for (T payload : payloads) {
+            messages.add(Message.of(topic, payload));
+        }
+        return sendBatch(messages);
+    }
+
+    @Override
+    public CompletableFuture<BatchSendResult> sendBatchAsync(List<Message<T>> messages) {
+        return CompletableFuture.completedFuture(sendBatch(messages));
+    }
+
+    @Override
+    public SendResult sendBroadcast(String topic, T payload) {
+        // 不指定队列即广播给主题下的全部订阅
+        return send(topic, payload);
+    }
+
+    @Override
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return started && !bus.isClosed();
+    }
+
+    @Override
+    public void start() {
+        started = true;
+    }
+
+    @Override
+    public void stop() {
+        started = false;
+    }
+
+    @Override
+    public ProducerStats getStats() {
+        return stats;
+    }
+
+    private SendResult success(Message<T> message, long start) {
+        long elapsed = System.nanoTime() - start;
+        stats.record(true, elapsed);
+        return new LocalSendResult(true, message.getId(), message.getTopic(), message.getQueue(),
+                System.currentTimeMillis(), elapsed / 1_000_000, null, null);
+    }
+
+    private SendResult failure(String topic, String queue, long start, Exception e) {
+        long elapsed = System.nanoTime() - start;
+        stats.record(false, elapsed);
+        log.error("本地消息发送失败: topic={}, queue={}, error={}", topic, queue, e.getMessage());
+        return new LocalSendResult(false, null, topic, queue, System.currentTimeMillis(),
+                elapsed / 1_000_000, e.getMessage(), e);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * 发送结果实现
+     */
+    private record LocalSendResult(boolean success, String messageId, String topic, String queue,
+                                   long timestamp, long elapsedTime,
+                                   String errorMessage, Throwable exception) implements SendResult {
+
+        @Override
+        public boolean isSuccess() {
+            return success;
+        }
+
+        @Override
+        public String getMessageId() {
+            return messageId;
+        }
+
+        @Override
+        public String getTopic() {
+            return topic;
+        }
+
+        @Override
+        public String getQueue() {
+            return queue;
+        }
+
+        @Override
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        @Override
+        public Throwable getException() {
+            return exception;
+        }
+
+        @Override
+        public long getElapsedTime() {
+            return elapsedTime;
+        }
+    }
+
+    /**
+     * 批量发送结果实现
+     */
+    private record LocalBatchSendResult(List<SendResult> results, long elapsedTime) implements BatchSendResult {
+
+        @Override
+        public boolean isAllSuccess() {
+            return results.stream().allMatch(SendResult::isSuccess);
+        }
+
+        @Override
+        public int getSuccessCount() {
+            return (int) results.stream().filter(SendResult::isSuccess).count();
+        }
+
+        @Override
+        public int getFailedCount() {
+            return getTotalCount() - getSuccessCount();
+        }
+
+        @Override
+        public int getTotalCount() {
+            return results.size();
+        }
+
+        @Override
+        public List<SendResult> getResults() {
+            return results;
+        }
+
+        @Override
+        public List<SendResult> getFailedResults() {
+            return results.stream().filter(r -> !r.isSuccess()).toList();
+        }
+
+        @Override
+        public long getElapsedTime() {
+            return elapsedTime;
+        }
+    }
+
+    /**
+     * 生产者统计信息实现，多个发布线程并发累加，使用 LongAdder 避免计数器成为争用点
+     */
+    private static class LocalProducerStats implements ProducerStats {
+
+        private final LongAdder sentCount = new LongAdder();
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder failedCount = new LongAdder();
+        private final LongAdder totalElapsedNanos = new LongAdder();
+        private volatile long startTime = System.currentTimeMillis();
+
+        void record(boolean success, long elapsedNanos) {
+            recordBatch(1, success, elapsedNanos);
+        }
+
+        void recordBatch(int count, boolean success, long elapsedNanos) {
+            sentCount.add(count);
+            if (success) {
+                successCount.add(count);
+            } else {
+                failedCount.add(count);
+            }
+            totalElapsedNanos.add(elapsedNanos);
+        }
+
+        @Override
+        public long getSentCount() {
+            return sentCount.sum();
+        }
+
+        @Override
+        public long getSuccessCount() {
+            return successCount.sum();
+        }
+
+        @Override
+        public long getFailedCount() {
+            return failedCount.sum();
+        }
+
+        @Override
+        public double getSuccessRate() {
+            long total = sentCount.sum();
+            return total == 0 ? 0.0 : (double) successCount.sum() / total;
+        }
+
+        @Override
+        public double getAverageElapsedTime() {
+            long total = sentCount.sum();
+            return total == 0 ? 0.0 : totalElapsedNanos.sum() / 1_000_000.0 / total;
+        }
+
+        @Override
+        public long getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public void reset() {
+            sentCount.reset();
+            successCount.reset();
+            failedCount.reset();
+            totalElapsedNanos.reset();
+            startTime = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package io.nebula.messaging.local.ring;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 多生产者、单消费者的无锁环形缓冲区
+ * <p>
+ * 槽位在创建时一次性分配，事件以引用写入，不复制也不序列化。生产者以 CAS 推进游标申请序号，
+ * 写入槽位后在可用标记数组中登记本轮的圈数；消费者按序读取，遇到尚未登记的序号即停止，
+ * 因此多个生产者乱序完成写入时消费者仍按序号顺序看到事件。
+ * </p>
+ * <p>
+ * 缓冲区满时生产者自旋等待消费者推进（背压），{@link #tryPublish(Object)} 则直接返回 false。
+ * 消费者每次取出当前已发布的全部连续事件（不超过上限），批量交给处理逻辑后一次性推进进度。
+ * </p>
+ * <p>
+ * 只允许一个线程调用 {@link #drainTo}/{@link #poll}，发布方法可以被任意线程并发调用。
+ * </p>
+ *
+ * @param <E> 事件类型
+ * @author nebula
+ */
+public final class RingBuffer<E> {
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final Object[] entries;
+    private final int[] available;
+    private final int bufferSize;
+    private final int mask;
+    private final int indexShift;
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * 生产者已申请的最大序号
+     */
+    private final Sequence cursor = new Sequence(-1);
+
+    /**
+     * 消费者已处理的最大序号
+     */
+    private final Sequence consumed = new Sequence(-1);
+
+    /**
+     * 生产者缓存的消费者进度，减少对 consumed 的读取
+     */
+    private final Sequence gatingCache = new Sequence(-1);
+
+    private volatile boolean closed;
+
+    /**
+     * @param bufferSize   槽位数，必须是 2 的幂
+     * @param waitStrategy 消费者等待策略
+     */
+    public RingBuffer(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of 2: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.entries = new Object[bufferSize];
+        this.available = new int[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            available[i] = -1;
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * 发布事件，缓冲区满时等待消费者推进
+     *
+     * @throws IllegalStateException 缓冲区已关闭
+     */
+    public void publish(E event) {
+        long sequence = next(1);
+        entries[(int) sequence & mask] = event;
+        markAvailable(sequence);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * 发布一批事件，整批占用连续的序号，缓冲区剩余空间不足时等待
+     *
+     * @throws IllegalArgumentException 批大小超过缓冲区容量
+     * @throws IllegalStateException    缓冲区已关闭
+     */
+    public void publishAll(E[] events, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (count > bufferSize) {
+            throw new IllegalArgumentException("batch size " + count + " exceeds bufferSize " + bufferSize);
+        }
+        long hi = next(count);
+        long lo = hi - count + 1;
+        for (int i = 0; i < count; i++) {
+            entries[(int) (lo + i) & mask] = events[i];
+        }
+        for (long sequence = lo; sequence <= hi; sequence++) {
+            markAvailable(sequence);
+        }
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * 尝试发布事件，缓冲区满或已关闭时立即返回 false
+     */
+    public boolean tryPublish(E event) {
+        long current;
+        long next;
+        do {
+            if (closed) {
+                return false;
+            }
+            current = cursor.get();
+            next = current + 1;
+            if (!hasCapacity(next, current)) {
+                return false;
+            }
+        } while (!cursor.compareAndSet(current, next));
+        entries[(int) next & mask] = event;
+        markAvailable(next);
+        waitStrategy.signalAllWhenBlocking();
+        return true;
+    }
+
+    /**
+     * 取出已发布的连续事件，没有事件时按等待策略等待
+     *
+     * @param sink     接收事件的集合
+     * @param maxCount 最多取出的事件数
+     * @return 取出的事件数；缓冲区关闭时返回 0
+     */
+    public int drainTo(Collection<? super E> sink, int maxCount) throws InterruptedException {
+        long next = consumed.get() + 1;
+        long cursorValue = waitStrategy.waitFor(next, cursor, () -> closed);
+        if (cursorValue < next) {
+            return 0;
+        }
+        return take(sink, next, cursorValue, maxCount);
+    }
+
+    /**
+     * 取出已发布的连续事件，没有事件时最多等待 {@code timeout}
+     *
+     * @return 取出的事件数，超时或关闭时返回 0
+     */
+    public int poll(Collection<? super E> sink, int maxCount, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!closed) {
+            long next = consumed.get() + 1;
+            if (isAvailable(next)) {
+                return take(sink, next, cursor.get(), maxCount);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return 0;
+            }
+            LockSupport.parkNanos(Math.min(remaining, 50_000));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 关闭缓冲区：唤醒等待中的消费者，之后的发布失败，未取出的事件被丢弃
+     */
+    public void close() {
+        closed = true;
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 已发布未取出的事件数（近似值）
+     */
+    public long size() {
+        return Math.max(0, cursor.get() - consumed.get());
+    }
+
+    public long remainingCapacity() {
+        return bufferSize - size();
+    }
+
+    private long next(int n) {
+        long current;
+        long next;
+        do {
+            if (closed) {
+                throw new IllegalStateException("RingBuffer is closed");
+            }
+            current = cursor.get();
+            next = current + n;
+            if (!hasCapacity(next, current)) {
+                LockSupport.parkNanos(1);
+                continue;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        } while (true);
+    }
+
+    /**
+     * 申请到 {@code next} 是否会覆盖消费者尚未处理的槽位
+     */
+    private boolean hasCapacity(long next, long current) {
+        long wrapPoint = next - bufferSize;
+        long cachedGating = gatingCache.get();
+        if (wrapPoint > cachedGating || cachedGating > current) {
+            long gating = Math.min(consumed.get(), current);
+            gatingCache.set(gating);
+            return wrapPoint <= gating;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int take(Collection<? super E> sink, long next, long cursorValue, int maxCount) {
+        long limit = Math.min(cursorValue, next + maxCount - 1);
+        long highest = next - 1;
+        for (long sequence = next; sequence <= limit && isAvailable(sequence); sequence++) {
+            int index = (int) sequence & mask;
+            sink.add((E) entries[index]);
+            entries[index] = null;
+            highest = sequence;
+        }
+        if (highest >= next) {
+            consumed.set(highest);
+        }
+        return (int) (highest - next + 1);
+    }
+
+    private void markAvailable(long sequence) {
+        AVAILABLE.setRelease(available, (int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    private boolean isAvailable(long sequence) {
+        return (int) AVAILABLE.getAcquire(available, (int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+}
@@ -0,0 +1,62 @@
+package io.nebula.messaging.local.ring;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 带缓存行填充的序号
+ * <p>
+ * 生产者游标与消费者进度被不同线程高频写入，前后各填充 56 字节，避免与相邻字段落在同一缓存行上产生伪共享。
+ * 填充字段放在父类中，保证 JVM 字段重排后仍位于 value 两侧。
+ * </p>
+ *
+ * @author nebula
+ */
+public class Sequence extends RhsPadding {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public Sequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    public long get() {
+        return (long) VALUE.getVolatile(this);
+    }
+
+    /**
+     * 有序写：保证之前的写入对读到新值的线程可见，开销低于 volatile 写
+     */
+    public void set(long value) {
+        VALUE.setRelease(this, value);
+    }
+
+    public boolean compareAndSet(long expected, long value) {
+        return VALUE.compareAndSet(this, expected, value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
+
+abstract class LhsPadding {
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class Value extends LhsPadding {
+    protected volatile long value;
+}
+
+abstract class RhsPadding extends Value {
+    protected long p9, p10, p11, p12, p13, p14, p15;
+}
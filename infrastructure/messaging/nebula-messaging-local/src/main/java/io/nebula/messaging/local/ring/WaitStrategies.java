@@ -0,0 +1,146 @@
+package io.nebula.messaging.local.ring;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link WaitStrategy} 的内置实现
+ *
+ * @author nebula
+ */
+final class WaitStrategies {
+
+    private static final int SPIN_TRIES = 100;
+
+    private WaitStrategies() {
+    }
+
+    /**
+     * 阻塞等待：消费者登记等待标志后在条件变量上阻塞，生产者只在标志被置位时加锁唤醒，
+     * 消费者跟得上时发布路径上没有锁
+     */
+    static final class Blocking implements WaitStrategy {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private final AtomicBoolean signalNeeded = new AtomicBoolean();
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier alerted) throws InterruptedException {
+            long available = cursor.get();
+            if (available >= sequence) {
+                return available;
+            }
+            lock.lock();
+            try {
+                // 先登记再检查游标：生产者在登记之前发布的事件一定能被这次检查看到
+                while (!alerted.getAsBoolean()) {
+                    signalNeeded.set(true);
+                    available = cursor.get();
+                    if (available >= sequence) {
+                        return available;
+                    }
+                    published.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return sequence - 1;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            if (signalNeeded.getAndSet(false)) {
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    static final class Sleeping implements WaitStrategy {
+
+        private static final long SLEEP_NANOS = 100_000;
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier alerted) throws InterruptedException {
+            int counter = SPIN_TRIES * 2;
+            long available;
+            while ((available = cursor.get()) < sequence) {
+                if (alerted.getAsBoolean()) {
+                    return sequence - 1;
+                }
+                if (counter > SPIN_TRIES) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else if (counter > 0) {
+                    counter--;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    static final class Yielding implements WaitStrategy {
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier alerted) throws InterruptedException {
+            int counter = SPIN_TRIES;
+            long available;
+            while ((available = cursor.get()) < sequence) {
+                if (alerted.getAsBoolean()) {
+                    return sequence - 1;
+                }
+                if (counter > 0) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    static final class BusySpin implements WaitStrategy {
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier alerted) throws InterruptedException {
+            long available;
+            while ((available = cursor.get()) < sequence) {
+                if (alerted.getAsBoolean()) {
+                    return sequence - 1;
+                }
+                Thread.onSpinWait();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+}
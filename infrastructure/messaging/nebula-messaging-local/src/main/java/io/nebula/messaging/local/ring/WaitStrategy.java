@@ -0,0 +1,61 @@
+package io.nebula.messaging.local.ring;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 消费者等待策略：决定消费者在没有新事件时如何等待
+ *
+ * @author nebula
+ */
+public interface WaitStrategy {
+
+    /**
+     * 等待生产者游标到达 {@code sequence}
+     *
+     * @param sequence 期望的序号
+     * @param cursor   生产者游标（已申请的最大序号）
+     * @param alerted  返回 true 时停止等待
+     * @return 当前游标，不小于 {@code sequence}；被中止时返回 {@code sequence - 1}
+     */
+    long waitFor(long sequence, Sequence cursor, BooleanSupplier alerted) throws InterruptedException;
+
+    /**
+     * 生产者发布后调用，唤醒阻塞等待的消费者
+     */
+    void signalAllWhenBlocking();
+
+    /**
+     * 等待策略类型
+     */
+    enum Type {
+
+        /**
+         * 锁与条件变量阻塞，仅在消费者等待时由生产者唤醒；CPU 占用最低，延迟最高
+         */
+        BLOCKING,
+
+        /**
+         * 先自旋、再让出、最后短暂休眠；空闲时 CPU 占用低，适合默认场景
+         */
+        SLEEPING,
+
+        /**
+         * 先自旋再让出 CPU；延迟低，空闲时占满一个核
+         */
+        YIELDING,
+
+        /**
+         * 持续自旋；延迟最低，需要为每个消费者预留独占的核
+         */
+        BUSY_SPIN;
+
+        public WaitStrategy create() {
+            return switch (this) {
+                case BLOCKING -> new WaitStrategies.Blocking();
+                case SLEEPING -> new WaitStrategies.Sleeping();
+                case YIELDING -> new WaitStrategies.Yielding();
+                case BUSY_SPIN -> new WaitStrategies.BusySpin();
+            };
+        }
+    }
+}
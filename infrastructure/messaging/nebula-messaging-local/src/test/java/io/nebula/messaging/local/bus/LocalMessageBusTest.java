@@ -0,0 +1,93 @@
+package io.nebula.messaging.local.bus;
+
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.local.ring.WaitStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LocalMessageBus单元测试
+ *
+ * 测试目的: 验证延时消息到期后的发布不阻塞时间轮
+ */
+class LocalMessageBusTest {
+
+    private LocalMessageBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.close();
+        }
+    }
+
+    @Test
+    void testSubscriberCanScheduleWhileExpiredPublishIsBackPressured() throws Exception {
+        // 缓冲区只有 2 个槽位，同一刻度到期的 4 条消息会让发布方因背压等待
+        bus = new LocalMessageBus(2, WaitStrategy.Type.BLOCKING, 1, 64, null);
+        CountDownLatch rescheduled = new CountDownLatch(1);
+        CountDownLatch followUp = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        List<Object> received = new CopyOnWriteArrayList<>();
+        bus.subscribe("timers", null, null, batch -> {
+            for (Message<?> message : batch) {
+                received.add(message.getPayload());
+                if ("follow-up".equals(message.getPayload())) {
+                    followUp.countDown();
+                }
+            }
+            if (first.compareAndSet(true, false)) {
+                sleep(200);
+                // 订阅者在缓冲区满时再次延时发布，不能等待时间轮的锁
+                bus.publishDelayed(Message.of("timers", "follow-up"), Duration.ofMillis(10));
+                rescheduled.countDown();
+            }
+        });
+
+        for (int i = 0; i < 4; i++) {
+            bus.publishDelayed(Message.of("timers", "t-" + i), Duration.ofMillis(20));
+        }
+
+        assertThat(rescheduled.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(followUp.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).contains("t-0", "t-1", "t-2", "t-3", "follow-up");
+        assertThat(bus.getPendingDelayedCount()).isZero();
+    }
+
+    @Test
+    void testExpiredMessagesArePublishedInDueOrder() throws Exception {
+        bus = new LocalMessageBus(64, WaitStrategy.Type.BLOCKING, 16, 64, null);
+        CountDownLatch latch = new CountDownLatch(3);
+        List<Object> received = new CopyOnWriteArrayList<>();
+        bus.subscribe("timers", null, null, batch -> {
+            for (Message<?> message : batch) {
+                received.add(message.getPayload());
+                latch.countDown();
+            }
+        });
+
+        bus.publishDelayed(Message.of("timers", "c"), Duration.ofMillis(150));
+        bus.publishDelayed(Message.of("timers", "a"), Duration.ofMillis(30));
+        bus.publishDelayed(Message.of("timers", "b"), Duration.ofMillis(90));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly("a", "b", "c");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package io.nebula.messaging.local.consumer;
+
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchOptions;
+import io.nebula.messaging.core.consumer.BatchResult;
+import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.consumer.OrderedOptions;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.local.bus.LocalMessageBus;
+import io.nebula.messaging.local.producer.LocalMessageProducer;
+import io.nebula.messaging.local.ring.WaitStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LocalMessageConsumer单元测试
+ */
+class LocalMessageConsumerTest {
+
+    private LocalMessageBus bus;
+    private LocalMessageProducer<String> producer;
+    private LocalMessageConsumer<String> consumer;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LocalMessageBus(64, WaitStrategy.Type.BLOCKING, 16, 64, null);
+        producer = new LocalMessageProducer<>(bus);
+        consumer = new LocalMessageConsumer<>(bus);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.stop();
+        bus.close();
+    }
+
+    @Test
+    void testMessageWithoutQueueFansOutToEverySubscription() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        List<Message<String>> received = new CopyOnWriteArrayList<>();
+        consumer.subscribe("orders", "audit", handler(m -> {
+            received.add(m);
+            latch.countDown();
+        }));
+        consumer.subscribe("orders", "billing", handler(m -> {
+            received.add(m);
+            latch.countDown();
+        }));
+
+        assertThat(producer.send("orders", "o-1").isSuccess()).isTrue();
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        // 零拷贝：两个订阅收到的是同一个实例
+        assertThat(received.get(0)).isSameAs(received.get(1));
+        assertThat(received.get(0).getId()).isNotNull();
+    }
+
+    @Test
+    void testMessageWithQueueGoesOnlyToThatQueue() throws Exception {
+        CountDownLatch billing = new CountDownLatch(1);
+        List<String> audit = new CopyOnWriteArrayList<>();
+        consumer.subscribe("orders", "audit", handler(m -> audit.add(m.getPayload())));
+        consumer.subscribe("orders", "billing", handler(m -> billing.countDown()));
+
+        producer.send("orders", "billing", "o-1");
+
+        assertThat(billing.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(audit).isEmpty();
+    }
+
+    @Test
+    void testBatchSubscriptionReceivesDrainedBatches() throws Exception {
+        CountDownLatch latch = new CountDownLatch(100);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        List<String> payloads = new CopyOnWriteArrayList<>();
+        consumer.subscribeBatch("events", null, new BatchMessageHandler<>() {
+            @Override
+            public BatchResult handle(List<Message<String>> messages) {
+                batchSizes.add(messages.size());
+                messages.forEach(m -> {
+                    payloads.add(m.getPayload());
+                    latch.countDown();
+                });
+                return BatchResult.success();
+            }
+
+            @Override
+            public Class<String> getMessageType() {
+                return String.class;
+            }
+        }, BatchOptions.of(10, Duration.ofSeconds(1)));
+
+        List<String> sent = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            sent.add("e-" + i);
+        }
+        assertThat(producer.sendBatch("events", sent).isAllSuccess()).isTrue();
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(payloads).containsExactlyElementsOf(sent);
+        assertThat(batchSizes).allMatch(size -> size <= 10);
+        assertThat(consumer.getStats().getSuccessCount()).isEqualTo(100);
+    }
+
+    @Test
+    void testOrderedSubscriptionKeepsPerKeyOrder() throws Exception {
+        CountDownLatch latch = new CountDownLatch(200);
+        Map<String, List<Integer>> byKey = new ConcurrentHashMap<>();
+        consumer.subscribeOrdered("accounts", null, handler(m -> {
+            String key = m.getHeaders().get(OrderedOptions.DEFAULT_KEY_HEADER);
+            byKey.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(Integer.parseInt(m.getPayload()));
+            latch.countDown();
+        }), OrderedOptions.of(4, 8));
+
+        for (int i = 0; i < 200; i++) {
+            producer.sendOrderedMessage("accounts", String.valueOf(i), "k" + (i % 5));
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(byKey).hasSize(5);
+        byKey.values().forEach(values -> assertThat(values).isSorted());
+    }
+
+    @Test
+    void testFailedMessageIsCountedAndNotRetried() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        consumer.subscribe("jobs", handler(m -> {
+            latch.countDown();
+            if ("bad".equals(m.getPayload())) {
+                throw new IllegalStateException("boom");
+            }
+        }));
+
+        producer.send("jobs", "bad");
+        producer.send("jobs", "good");
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(consumer.getStats().getFailedCount()).isEqualTo(1);
+        assertThat(consumer.getStats().getSuccessCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testPullReadsMessagesPublishedAfterFirstPull() {
+        assertThat(consumer.pull("reports", 10, Duration.ZERO)).isEmpty();
+
+        producer.send("reports", "r-1");
+        producer.send("reports", "r-2");
+
+        List<Message<String>> pulled = consumer.pull("reports", 10, Duration.ofSeconds(1));
+        assertThat(pulled).extracting(Message::getPayload).containsExactly("r-1", "r-2");
+        assertThat(consumer.pullOne("reports", Duration.ofMillis(10))).isNull();
+    }
+
+    @Test
+    void testDelayedMessageIsDeliveredAfterDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long[] deliveredAt = new long[1];
+        consumer.subscribe("timers", handler(m -> {
+            deliveredAt[0] = System.nanoTime();
+            latch.countDown();
+        }));
+
+        long start = System.nanoTime();
+        producer.sendDelayMessage("timers", "t-1", Duration.ofMillis(100));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(deliveredAt[0] - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void testUnsubscribeStopsDelivery() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        consumer.subscribe("news", handler(m -> received.add(m.getPayload())));
+        consumer.unsubscribe("news");
+
+        producer.send("news", "n-1");
+
+        Thread.sleep(50);
+        assertThat(received).isEmpty();
+        assertThat(bus.getSubscriptions("news")).isEmpty();
+    }
+
+    private static MessageHandler<String> handler(Consumer<Message<String>> body) {
+        return new MessageHandler<>() {
+            @Override
+            public void handle(Message<String> message) {
+                body.accept(message);
+            }
+
+            @Override
+            public Class<String> getMessageType() {
+                return String.class;
+            }
+        };
+    }
+}
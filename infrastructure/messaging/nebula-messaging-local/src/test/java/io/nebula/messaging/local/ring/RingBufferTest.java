@@ -0,0 +1,122 @@
+package io.nebula.messaging.local.ring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RingBuffer单元测试
+ */
+class RingBufferTest {
+
+    @Test
+    void testRejectsNonPowerOfTwoSize() {
+        assertThatThrownBy(() -> new RingBuffer<Integer>(1000, WaitStrategy.Type.BLOCKING.create()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testMultiProducerDeliversEveryEventInPerProducerOrder() throws Exception {
+        for (WaitStrategy.Type type : WaitStrategy.Type.values()) {
+            int producers = 4;
+            int perProducer = 50_000;
+            // 缓冲区远小于总量，覆盖多次绕圈与背压
+            RingBuffer<long[]> ring = new RingBuffer<>(1024, type.create());
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        ring.publish(new long[]{producer, i});
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+
+            long[] lastSeen = new long[producers];
+            Arrays.fill(lastSeen, -1);
+            List<long[]> drained = new ArrayList<>();
+            int total = 0;
+            while (total < producers * perProducer) {
+                total += ring.drainTo(drained, 256);
+                for (long[] event : drained) {
+                    int producer = (int) event[0];
+                    assertThat(event[1]).as("%s producer %d", type, producer).isEqualTo(lastSeen[producer] + 1);
+                    lastSeen[producer] = event[1];
+                }
+                drained.clear();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertThat(lastSeen).containsOnly(perProducer - 1);
+            assertThat(ring.size()).isZero();
+        }
+    }
+
+    @Test
+    void testBatchPublishClaimsContiguousSequences() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(8, WaitStrategy.Type.SLEEPING.create());
+        ring.publishAll(new Integer[]{1, 2, 3, 4, 5}, 5);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ring.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(ring.drainTo(drained, 10)).isEqualTo(2);
+        assertThat(drained).containsExactly(1, 2, 3, 4, 5);
+        assertThatThrownBy(() -> ring.publishAll(new Integer[9], 9)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testTryPublishFailsWhenFull() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(4, WaitStrategy.Type.BLOCKING.create());
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.tryPublish(i)).isTrue();
+        }
+        assertThat(ring.tryPublish(4)).isFalse();
+        assertThat(ring.remainingCapacity()).isZero();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ring.poll(drained, 2, Duration.ZERO)).isEqualTo(2);
+        assertThat(ring.tryPublish(4)).isTrue();
+    }
+
+    @Test
+    void testPollTimesOutWhenEmpty() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(4, WaitStrategy.Type.BLOCKING.create());
+        long start = System.nanoTime();
+        assertThat(ring.poll(new ArrayList<>(), 10, Duration.ofMillis(50))).isZero();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void testCloseWakesBlockedConsumerAndRejectsPublish() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(4, WaitStrategy.Type.BLOCKING.create());
+        CountDownLatch returned = new CountDownLatch(1);
+        int[] result = {-1};
+        Thread consumer = new Thread(() -> {
+            try {
+                result[0] = ring.drainTo(new ArrayList<>(), 10);
+            } catch (InterruptedException ignored) {
+            }
+            returned.countDown();
+        });
+        consumer.start();
+        Thread.sleep(50);
+
+        ring.close();
+
+        assertThat(returned.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(result[0]).isZero();
+        assertThat(ring.tryPublish(1)).isFalse();
+        assertThatThrownBy(() -> ring.publish(1)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package io.nebula.messaging.outbox.config;
+
+import io.nebula.messaging.core.producer.MessageProducer;
+import io.nebula.messaging.outbox.publisher.OutboxPublisher;
+import io.nebula.messaging.outbox.relay.OutboxRelay;
+import io.nebula.messaging.outbox.store.JdbcOutboxStore;
+import io.nebula.messaging.outbox.store.OutboxStore;
+import io.nebula.messaging.outbox.support.OutboxMessageCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * 发件箱自动配置
+ */
+@Slf4j
+@AutoConfiguration(after = {JdbcTemplateAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class})
+@ConditionalOnProperty(prefix = "nebula.messaging.outbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxMessageCodec outboxMessageCodec() {
+        return new OutboxMessageCodec();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxStore.class)
+    @ConditionalOnBean({JdbcTemplate.class, PlatformTransactionManager.class})
+    public JdbcOutboxStore jdbcOutboxStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                           OutboxProperties properties) {
+        log.info("初始化 JDBC 发件箱存储: table={}", properties.getTable());
+        return new JdbcOutboxStore(jdbcTemplate, transactionManager, properties.getTable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxPublisher outboxPublisher(OutboxStore store, OutboxMessageCodec codec, OutboxProperties properties) {
+        return new OutboxPublisher(store, codec, properties.getShards());
+    }
+
+    /**
+     * 发件箱中继，投递到 {@code producer-bean} 指定的生产者，未指定时使用容器中唯一的生产者
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @SuppressWarnings("unchecked")
+    public OutboxRelay outboxRelay(OutboxStore store, OutboxMessageCodec codec, OutboxProperties properties,
+                                   ObjectProvider<MessageProducer<?>> producers, BeanFactory beanFactory) {
+        MessageProducer<?> producer = properties.getProducerBean() != null
+                ? beanFactory.getBean(properties.getProducerBean(), MessageProducer.class)
+                : producers.getIfUnique();
+        if (producer == null) {
+            throw new IllegalStateException(
+                    "No unique MessageProducer for the outbox relay, set nebula.messaging.outbox.producer-bean");
+        }
+        OutboxRelay.Options options = new OutboxRelay.Options();
+        options.setShards(properties.getShards());
+        options.setRelayThreads(properties.getRelayThreads());
+        options.setBatchSize(properties.getBatchSize());
+        options.setPollInterval(Duration.ofMillis(properties.getPollInterval()));
+        options.setMaxAttempts(properties.getMaxAttempts());
+        log.info("初始化发件箱中继: producer={}, shards={}, relayThreads={}, batchSize={}",
+                producer.getClass().getSimpleName(), options.getShards(), options.getRelayThreads(),
+                options.getBatchSize());
+        return new OutboxRelay(store, (MessageProducer<Object>) producer, codec, options);
+    }
+}
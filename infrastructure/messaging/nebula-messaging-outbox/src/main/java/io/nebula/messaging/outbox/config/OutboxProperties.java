@@ -0,0 +1,54 @@
+package io.nebula.messaging.outbox.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 发件箱配置属性
+ *
+ * @author nebula
+ */
+@Data
+@ConfigurationProperties(prefix = "nebula.messaging.outbox")
+public class OutboxProperties {
+
+    /**
+     * 是否启用发件箱
+     */
+    private boolean enabled = false;
+
+    /**
+     * 发件箱表名，分片表为 {@code <table>_shard}
+     */
+    private String table = "nebula_outbox";
+
+    /**
+     * 中继使用的 MessageProducer Bean 名称，为空时使用容器中唯一的 MessageProducer
+     */
+    private String producerBean;
+
+    /**
+     * 分片数，写入端与中继共用；同一聚合键的消息落在同一分片，按写入顺序投递
+     */
+    private int shards = 16;
+
+    /**
+     * 中继线程数，即并行处理的分片数上限
+     */
+    private int relayThreads = 4;
+
+    /**
+     * 每轮从一个分片取出并批量发送的最大记录数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 没有积压时的轮询间隔（毫秒）
+     */
+    private long pollInterval = 200;
+
+    /**
+     * 单条记录的最大投递次数，达到后丢弃
+     */
+    private int maxAttempts = 10;
+}
@@ -0,0 +1,124 @@
+package io.nebula.messaging.outbox.publisher;
+
+import io.nebula.messaging.core.consumer.OrderedOptions;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.outbox.store.OutboxRecord;
+import io.nebula.messaging.outbox.store.OutboxStore;
+import io.nebula.messaging.outbox.support.OutboxMessageCodec;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 发件箱写入器
+ * <p>
+ * 在业务事务中把消息写入发件箱表，随业务数据一起提交或回滚，由 {@code OutboxRelay} 在提交后投递。
+ * 调用线程上没有活动事务时拒绝写入：事务外写入与提交后直接发送没有区别，失去了发件箱的意义。
+ * </p>
+ * <p>
+ * 聚合键决定分片，同一聚合键的消息按写入顺序投递；聚合键同时写入 {@link OrderedOptions#DEFAULT_KEY_HEADER} 头，
+ * 消费端的按键保序订阅沿用同一个键。未指定聚合键时使用消息头中已有的 {@code shard_key}，
+ * 仍没有时以消息 ID 作为聚合键（不保证与其他消息的相对顺序）。
+ * </p>
+ *
+ * @author nebula
+ */
+public class OutboxPublisher {
+
+    private final OutboxStore store;
+    private final OutboxMessageCodec codec;
+    private final int shards;
+
+    /**
+     * @param shards 分片数，必须与中继一致；修改分片数会打乱尚未投递记录的聚合顺序
+     */
+    public OutboxPublisher(OutboxStore store, OutboxMessageCodec codec, int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards must be positive: " + shards);
+        }
+        this.store = store;
+        this.codec = codec;
+        this.shards = shards;
+    }
+
+    /**
+     * 写入消息
+     *
+     * @return 消息 ID，未设置时自动生成；重投的消息携带相同 ID，可用于消费端去重
+     */
+    public String publish(Message<?> message) {
+        return publishAll(List.of(message)).get(0);
+    }
+
+    /**
+     * 写入消息
+     *
+     * @param aggregateKey 聚合键，例如订单号
+     * @return 消息 ID
+     */
+    public String publish(String topic, Object payload, String aggregateKey) {
+        return publish(topic, null, payload, aggregateKey);
+    }
+
+    /**
+     * 写入发往指定队列的消息
+     *
+     * @param aggregateKey 聚合键，例如订单号
+     * @return 消息 ID
+     */
+    public String publish(String topic, String queue, Object payload, String aggregateKey) {
+        Message<Object> message = Message.of(topic, queue, payload);
+        if (aggregateKey != null) {
+            Map<String, String> headers = new HashMap<>(2);
+            headers.put(OrderedOptions.DEFAULT_KEY_HEADER, aggregateKey);
+            message.setHeaders(headers);
+        }
+        return publish(message);
+    }
+
+    /**
+     * 一次批量写入多条消息
+     *
+     * @return 与 messages 一一对应的消息 ID
+     */
+    public List<String> publishAll(List<? extends Message<?>> messages) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox messages must be published inside a transaction");
+        }
+        long now = System.currentTimeMillis();
+        List<OutboxRecord> records = new ArrayList<>(messages.size());
+        List<String> ids = new ArrayList<>(messages.size());
+        for (Message<?> message : messages) {
+            if (message.getId() == null) {
+                message.setId(UUID.randomUUID().toString());
+            }
+            if (message.getCreateTime() == null) {
+                message.setCreateTime(LocalDateTime.now());
+            }
+            Map<String, String> headers = message.getHeaders();
+            String aggregateKey = headers != null ? headers.get(OrderedOptions.DEFAULT_KEY_HEADER) : null;
+            if (aggregateKey == null) {
+                aggregateKey = message.getId();
+            }
+            Object payload = message.getPayload();
+            records.add(new OutboxRecord(0, shardOf(aggregateKey, shards), aggregateKey, message.getTopic(),
+                    payload != null ? payload.getClass().getName() : null, codec.encode(message), 0, now));
+            ids.add(message.getId());
+        }
+        store.saveAll(records);
+        return ids;
+    }
+
+    /**
+     * 聚合键所在的分片
+     */
+    public static int shardOf(String aggregateKey, int shards) {
+        int hash = aggregateKey.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards);
+    }
+}
@@ -0,0 +1,338 @@
+package io.nebula.messaging.outbox.relay;
+
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.core.producer.MessageProducer;
+import io.nebula.messaging.outbox.store.OutboxRecord;
+import io.nebula.messaging.outbox.store.OutboxStore;
+import io.nebula.messaging.outbox.store.OutboxStore.Outcome;
+import io.nebula.messaging.outbox.support.OutboxMessageCodec;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 发件箱中继
+ * <p>
+ * {@link Options#getRelayThreads()} 个中继线程轮流处理 {@link Options#getShards()} 个分片，每个线程从不同的分片开始。
+ * 每一轮独占一个分片，按主键顺序取出至多 {@link Options#getBatchSize()} 条记录，按聚合键分组后分几次
+ * {@link MessageProducer#sendBatch(List)} 发送：每次发送包含每个聚合的下一条记录，
+ * 在同一个事务中删除已完成的记录后释放分片。
+ * 分片被其他线程或实例占用时直接跳过；取满一批的分片在下一轮立即再处理，全部分片都没有积压时休眠
+ * {@link Options#getPollInterval()}。
+ * </p>
+ * <p>
+ * 一条记录发送失败时，同一聚合的后续记录本轮不再发送，留在发件箱中与失败记录一起在下一轮按顺序重发，
+ * 其他聚合不受影响。因此已发送成功的记录不会因为别的记录失败而重复投递，同一聚合也不会出现乱序。
+ * 一批中某个聚合的记录越多，需要的发送次数越多；聚合分散时仍是一到两次批量发送。
+ * 同一条记录失败达到 {@link Options#getMaxAttempts()} 次后被丢弃，无法解码的记录直接丢弃，
+ * 避免一条无法投递的记录阻塞整个聚合。
+ * </p>
+ *
+ * @author nebula
+ */
+@Slf4j
+public class OutboxRelay implements AutoCloseable {
+
+    private final OutboxStore store;
+    private final MessageProducer<Object> producer;
+    private final OutboxMessageCodec codec;
+    private final Options options;
+    private final LongAdder relayedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder discardedCount = new LongAdder();
+    private final LongAdder relayNanos = new LongAdder();
+
+    private volatile Thread[] threads;
+    private volatile boolean running;
+
+    public OutboxRelay(OutboxStore store, MessageProducer<Object> producer, OutboxMessageCodec codec, Options options) {
+        if (options.getShards() <= 0 || options.getRelayThreads() <= 0 || options.getBatchSize() <= 0) {
+            throw new IllegalArgumentException("shards, relayThreads and batchSize must be positive");
+        }
+        this.store = store;
+        this.producer = producer;
+        this.codec = codec;
+        this.options = options;
+    }
+
+    /**
+     * 初始化分片并启动中继线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        store.initShards(options.getShards());
+        running = true;
+        int count = Math.min(options.getRelayThreads(), options.getShards());
+        Thread[] started = new Thread[count];
+        for (int i = 0; i < count; i++) {
+            int firstShard = i * options.getShards() / count;
+            Thread thread = new Thread(() -> run(firstShard), "nebula-outbox-relay-" + i);
+            thread.setDaemon(true);
+            started[i] = thread;
+            thread.start();
+        }
+        threads = started;
+        log.info("发件箱中继已启动: shards={}, relayThreads={}, batchSize={}",
+                options.getShards(), count, options.getBatchSize());
+    }
+
+    /**
+     * 停止中继，正在处理的批次完成后线程退出
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        threads = null;
+        log.info("发件箱中继已停止: relayed={}, discarded={}", getRelayedCount(), getDiscardedCount());
+    }
+
+    /**
+     * 处理一个分片中最早的一批记录
+     *
+     * @return 该分片可能还有积压（取满一批且全部完成）时返回 true
+     */
+    public boolean relayShard(int shard) {
+        long start = System.nanoTime();
+        boolean[] allCompleted = new boolean[1];
+        int drained = store.drain(shard, options.getBatchSize(), records -> {
+            Outcome[] outcomes = publish(records);
+            allCompleted[0] = Arrays.stream(outcomes).allMatch(outcome -> outcome == Outcome.COMPLETED);
+            return outcomes;
+        });
+        if (drained > 0) {
+            relayNanos.add(System.nanoTime() - start);
+        }
+        return drained == options.getBatchSize() && allCompleted[0];
+    }
+
+    /**
+     * 已投递并删除的记录数
+     */
+    public long getRelayedCount() {
+        return relayedCount.sum();
+    }
+
+    /**
+     * 投递失败的次数（记录留在发件箱中重试）
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 超过最大失败次数被丢弃的记录数
+     */
+    public long getDiscardedCount() {
+        return discardedCount.sum();
+    }
+
+    /**
+     * 中继忙碌期间的吞吐（行/秒），即处理过记录的轮次中平均每秒投递的记录数
+     */
+    public double getRowsPerSecond() {
+        long nanos = relayNanos.sum();
+        return nanos == 0 ? 0.0 : relayedCount.sum() * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * 发件箱中待投递的记录数
+     */
+    public long getBacklog() {
+        return store.size();
+    }
+
+    private void run(int firstShard) {
+        int shards = options.getShards();
+        long pollMillis = Math.max(1, options.getPollInterval().toMillis());
+        while (running) {
+            boolean backlog = false;
+            for (int i = 0; i < shards && running; i++) {
+                int shard = (firstShard + i) % shards;
+                try {
+                    backlog |= relayShard(shard);
+                } catch (Exception e) {
+                    log.error("发件箱中继失败: shard={}, error={}", shard, e.getMessage(), e);
+                }
+            }
+            if (backlog) {
+                continue;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 发送一批记录
+     * <p>
+     * 按聚合键分组，每次发送取每个聚合的下一条记录；某条记录失败后该聚合的剩余记录本轮不再发送。
+     * </p>
+     *
+     * @return 每条记录的处理结果
+     */
+    private Outcome[] publish(List<OutboxRecord> records) {
+        int size = records.size();
+        Outcome[] outcomes = new Outcome[size];
+        // 每个聚合待发送的记录下标，组内保持主键顺序
+        Map<String, Deque<Integer>> aggregates = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            aggregates.computeIfAbsent(records.get(i).aggregateKey(), key -> new ArrayDeque<>()).add(i);
+        }
+        List<Deque<Integer>> pending = new ArrayList<>(aggregates.values());
+
+        while (!pending.isEmpty()) {
+            List<Integer> indexes = new ArrayList<>(pending.size());
+            List<Deque<Integer>> owners = new ArrayList<>(pending.size());
+            List<Message<Object>> messages = new ArrayList<>(pending.size());
+            for (Deque<Integer> queue : pending) {
+                Message<Object> message = nextMessage(records, queue, outcomes);
+                if (message != null) {
+                    indexes.add(queue.pollFirst());
+                    owners.add(queue);
+                    messages.add(message);
+                }
+            }
+            if (messages.isEmpty()) {
+                break;
+            }
+
+            boolean[] success = new boolean[messages.size()];
+            Exception sendError = null;
+            try {
+                markSuccess(producer.sendBatch(messages), success);
+            } catch (Exception e) {
+                sendError = e;
+            }
+
+            for (int j = 0; j < indexes.size(); j++) {
+                int index = indexes.get(j);
+                OutboxRecord record = records.get(index);
+                if (success[j]) {
+                    relayedCount.increment();
+                    outcomes[index] = Outcome.COMPLETED;
+                } else if (record.attempts() + 1 >= options.getMaxAttempts()) {
+                    discard(record, sendError != null ? "send failed with exception" : "send failed", sendError);
+                    outcomes[index] = Outcome.COMPLETED;
+                } else {
+                    failedCount.increment();
+                    if (sendError != null) {
+                        log.warn("发件箱记录投递失败，下一轮重试: id={}, shard={}, topic={}, attempts={}",
+                                record.id(), record.shard(), record.topic(), record.attempts() + 1, sendError);
+                    } else {
+                        log.warn("发件箱记录投递失败，下一轮重试: id={}, shard={}, topic={}, attempts={}, error=send failed",
+                                record.id(), record.shard(), record.topic(), record.attempts() + 1);
+                    }
+                    outcomes[index] = Outcome.FAILED;
+                    // 同一聚合的后续记录不能越过失败记录先发出
+                    Deque<Integer> rest = owners.get(j);
+                    for (int deferred : rest) {
+                        outcomes[deferred] = Outcome.DEFERRED;
+                    }
+                    rest.clear();
+                }
+            }
+            pending.removeIf(Deque::isEmpty);
+        }
+        return outcomes;
+    }
+
+    /**
+     * 解码聚合中的下一条记录，无法解码的记录直接丢弃并继续取下一条
+     *
+     * @return 下一条待发送的消息，聚合中没有剩余记录时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private Message<Object> nextMessage(List<OutboxRecord> records, Deque<Integer> queue, Outcome[] outcomes) {
+        while (!queue.isEmpty()) {
+            int index = queue.peekFirst();
+            OutboxRecord record = records.get(index);
+            try {
+                return (Message<Object>) codec.decode(record.message(), record.payloadType());
+            } catch (Exception e) {
+                // 数据损坏，重试也无法解码
+                queue.pollFirst();
+                discard(record, "undecodable message", e);
+                outcomes[index] = Outcome.COMPLETED;
+            }
+        }
+        return null;
+    }
+
+    private static void markSuccess(MessageProducer.BatchSendResult result, boolean[] success) {
+        if (result.isAllSuccess()) {
+            Arrays.fill(success, true);
+            return;
+        }
+        List<MessageProducer.SendResult> results = result.getResults();
+        for (int i = 0; i < success.length && i < results.size(); i++) {
+            success[i] = results.get(i).isSuccess();
+        }
+    }
+
+    private void discard(OutboxRecord record, String reason, Exception cause) {
+        discardedCount.increment();
+        if (cause != null) {
+            log.error("发件箱记录无法投递，丢弃: id={}, topic={}, aggregateKey={}, attempts={}, message={}, reason={}",
+                    record.id(), record.topic(), record.aggregateKey(), record.attempts() + 1, record.message(), reason,
+                    cause);
+        } else {
+            log.error("发件箱记录无法投递，丢弃: id={}, topic={}, aggregateKey={}, attempts={}, message={}, reason={}",
+                    record.id(), record.topic(), record.aggregateKey(), record.attempts() + 1, record.message(), reason);
+        }
+    }
+
+    /**
+     * 中继参数
+     */
+    @Data
+    public static class Options {
+
+        /**
+         * 分片数，必须与写入端一致
+         */
+        private int shards = 16;
+
+        /**
+         * 中继线程数（并行处理的分片数上限），不超过分片数
+         */
+        private int relayThreads = 4;
+
+        /**
+         * 每轮从一个分片取出的最大记录数
+         */
+        private int batchSize = 500;
+
+        /**
+         * 全部分片没有积压时的轮询间隔
+         */
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        /**
+         * 单条记录的最大投递次数，达到后丢弃
+         */
+        private int maxAttempts = 10;
+    }
+}
@@ -0,0 +1,139 @@
+package io.nebula.messaging.outbox.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 基于 JDBC 的发件箱存储
+ * <p>
+ * 写入使用 {@link JdbcTemplate}，与 MyBatis-Plus 共用同一个数据源时加入同一个 Spring 事务。
+ * 中继以 {@code SELECT ... FOR UPDATE SKIP LOCKED} 锁定分片表 {@code <table>_shard} 中的分片行：
+ * 锁被其他中继持有时立即跳过该分片而不是等待；持锁期间按主键顺序读取发件箱记录，投递后按主键删除。
+ * 发件箱记录本身不加锁，业务事务的写入不会被中继阻塞。需要 MySQL 8.0+ 或 PostgreSQL 9.5+。
+ * </p>
+ *
+ * @author nebula
+ */
+@Slf4j
+public class JdbcOutboxStore implements OutboxStore {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private static final RowMapper<OutboxRecord> ROW_MAPPER = (rs, rowNum) -> new OutboxRecord(
+            rs.getLong("id"), rs.getInt("shard"), rs.getString("aggregate_key"), rs.getString("topic"),
+            rs.getString("payload_type"), rs.getString("message"), rs.getInt("attempts"), rs.getLong("created_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate drainTransaction;
+    private final String insertSql;
+    private final String lockShardSql;
+    private final String selectBatchSql;
+    private final String deleteSql;
+    private final String incrementAttemptsSql;
+    private final String selectShardsSql;
+    private final String insertShardSql;
+    private final String countSql;
+
+    /**
+     * @param table 发件箱表名，分片表为 {@code <table>_shard}
+     */
+    public JdbcOutboxStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, String table) {
+        if (table == null || !TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid outbox table name: " + table);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        // 中继事务与调用线程上可能存在的事务无关，始终独立提交
+        this.drainTransaction = new TransactionTemplate(transactionManager);
+        this.drainTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        String shardTable = table + "_shard";
+        this.insertSql = "INSERT INTO " + table
+                + " (shard, aggregate_key, topic, payload_type, message, attempts, created_at) VALUES (?, ?, ?, ?, ?, 0, ?)";
+        this.lockShardSql = "SELECT shard FROM " + shardTable + " WHERE shard = ? FOR UPDATE SKIP LOCKED";
+        this.selectBatchSql = "SELECT id, shard, aggregate_key, topic, payload_type, message, attempts, created_at FROM "
+                + table + " WHERE shard = ? ORDER BY id LIMIT ?";
+        this.deleteSql = "DELETE FROM " + table + " WHERE id = ?";
+        this.incrementAttemptsSql = "UPDATE " + table + " SET attempts = attempts + 1 WHERE id = ?";
+        this.selectShardsSql = "SELECT shard FROM " + shardTable;
+        this.insertShardSql = "INSERT INTO " + shardTable + " (shard) VALUES (?)";
+        this.countSql = "SELECT COUNT(*) FROM " + table;
+    }
+
+    @Override
+    public void saveAll(List<OutboxRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(insertSql, records, records.size(), (ps, record) -> {
+            ps.setInt(1, record.shard());
+            ps.setString(2, record.aggregateKey());
+            ps.setString(3, record.topic());
+            ps.setString(4, record.payloadType());
+            ps.setString(5, record.message());
+            ps.setLong(6, record.createdAt());
+        });
+    }
+
+    @Override
+    public int drain(int shard, int limit, BatchProcessor processor) {
+        Integer drained = drainTransaction.execute(status -> {
+            if (jdbcTemplate.queryForList(lockShardSql, Integer.class, shard).isEmpty()) {
+                return -1;
+            }
+            List<OutboxRecord> records = jdbcTemplate.query(selectBatchSql, ROW_MAPPER, shard, limit);
+            if (records.isEmpty()) {
+                return 0;
+            }
+            Outcome[] outcomes = processor.process(records);
+            List<Object[]> completed = new ArrayList<>(records.size());
+            List<Object[]> failed = new ArrayList<>();
+            for (int i = 0; i < records.size(); i++) {
+                if (outcomes[i] == Outcome.COMPLETED) {
+                    completed.add(new Object[]{records.get(i).id()});
+                } else if (outcomes[i] == Outcome.FAILED) {
+                    failed.add(new Object[]{records.get(i).id()});
+                }
+            }
+            if (!completed.isEmpty()) {
+                jdbcTemplate.batchUpdate(deleteSql, completed);
+            }
+            if (!failed.isEmpty()) {
+                jdbcTemplate.batchUpdate(incrementAttemptsSql, failed);
+            }
+            return records.size();
+        });
+        return drained != null ? drained : 0;
+    }
+
+    @Override
+    public void initShards(int shards) {
+        Set<Integer> existing = new HashSet<>(jdbcTemplate.queryForList(selectShardsSql, Integer.class));
+        for (int shard = 0; shard < shards; shard++) {
+            if (existing.contains(shard)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update(insertShardSql, shard);
+            } catch (DuplicateKeyException e) {
+                // 其他实例同时初始化
+                log.debug("发件箱分片已存在: shard={}", shard);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        Long count = jdbcTemplate.queryForObject(countSql, Long.class);
+        return count != null ? count : 0;
+    }
+}
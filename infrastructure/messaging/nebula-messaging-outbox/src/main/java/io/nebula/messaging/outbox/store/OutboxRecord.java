@@ -0,0 +1,18 @@
+package io.nebula.messaging.outbox.store;
+
+/**
+ * 发件箱中的一行记录
+ *
+ * @param id           自增主键，同一分片内按主键顺序投递；写入前为 0
+ * @param shard        分片，由聚合键哈希得到
+ * @param aggregateKey 聚合键，同一聚合键的消息按写入顺序投递
+ * @param topic        消息主题，仅用于排查
+ * @param payloadType  载荷类名，反序列化时用于还原载荷类型
+ * @param message      消息 JSON
+ * @param attempts     已失败的投递次数
+ * @param createdAt    写入时间（毫秒时间戳）
+ * @author nebula
+ */
+public record OutboxRecord(long id, int shard, String aggregateKey, String topic, String payloadType,
+                           String message, int attempts, long createdAt) {
+}
@@ -0,0 +1,79 @@
+package io.nebula.messaging.outbox.store;
+
+import java.util.List;
+
+/**
+ * 发件箱存储
+ * <p>
+ * {@link #saveAll(List)} 必须加入调用方当前的事务，与业务数据一起提交或回滚。
+ * {@link #drain(int, int, BatchProcessor)} 在独立事务中独占一个分片：同一时刻每个分片只有一个中继在处理，
+ * 同一聚合键的消息因此不会被两个中继并发投递。
+ * </p>
+ *
+ * @author nebula
+ */
+public interface OutboxStore {
+
+    /**
+     * 在调用方的事务中写入记录
+     */
+    void saveAll(List<OutboxRecord> records);
+
+    /**
+     * 独占分片并处理其中最早的一批记录
+     * <p>
+     * 处理器返回每条记录的处理结果：{@link Outcome#COMPLETED} 的记录被删除，{@link Outcome#FAILED} 的记录失败次数加一，
+     * {@link Outcome#DEFERRED} 的记录保持不变。删除与失败计数在分片锁释放前一起提交。
+     * </p>
+     *
+     * @param shard     分片
+     * @param limit     单批最多取出的记录数
+     * @param processor 批处理器
+     * @return 取出的记录数；分片正被其他中继占用时返回 -1
+     */
+    int drain(int shard, int limit, BatchProcessor processor);
+
+    /**
+     * 确保分片锁记录存在，中继启动时调用
+     */
+    void initShards(int shards);
+
+    /**
+     * 待投递的记录数
+     */
+    long size();
+
+    /**
+     * 批处理器
+     */
+    @FunctionalInterface
+    interface BatchProcessor {
+
+        /**
+         * @param records 按主键升序排列的记录
+         * @return 与 records 一一对应的处理结果
+         */
+        Outcome[] process(List<OutboxRecord> records);
+    }
+
+    /**
+     * 单条记录的处理结果
+     */
+    enum Outcome {
+
+        /**
+         * 已投递或被丢弃，删除记录
+         */
+        COMPLETED,
+
+        /**
+         * 本轮投递失败，失败次数加一，下一轮重试
+         */
+        FAILED,
+
+        /**
+         * 同一聚合中更早的记录失败，本轮未发送，保持不变
+         */
+        DEFERRED
+    }
+}
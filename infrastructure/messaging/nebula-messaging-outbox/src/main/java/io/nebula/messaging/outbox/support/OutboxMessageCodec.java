@@ -0,0 +1,75 @@
+package io.nebula.messaging.outbox.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.nebula.messaging.core.exception.MessageSerializationException;
+import io.nebula.messaging.core.message.Message;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 发件箱消息编解码
+ * <p>
+ * 整条消息序列化为 JSON，载荷类名单独保存；解码时按类名还原载荷类型，类在当前进程中不存在时
+ * 载荷退化为 Jackson 的通用结构（Map / List / 基本类型），再次序列化后 JSON 与原载荷相同。
+ * </p>
+ *
+ * @author nebula
+ */
+public class OutboxMessageCodec {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, JavaType> messageTypes = new ConcurrentHashMap<>();
+
+    public OutboxMessageCodec() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public OutboxMessageCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public String encode(Message<?> message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new MessageSerializationException("发件箱消息序列化失败: topic=" + message.getTopic(), e);
+        }
+    }
+
+    /**
+     * @param json        {@link #encode(Message)} 的结果
+     * @param payloadType 载荷类名，为 null 时载荷按通用结构解析
+     */
+    public Message<?> decode(String json, String payloadType) {
+        try {
+            return objectMapper.readValue(json, messageType(payloadType));
+        } catch (JsonProcessingException e) {
+            throw new MessageSerializationException("发件箱消息反序列化失败: payloadType=" + payloadType, e);
+        }
+    }
+
+    private JavaType messageType(String payloadType) {
+        if (payloadType == null) {
+            return objectMapper.getTypeFactory().constructType(Message.class);
+        }
+        return messageTypes.computeIfAbsent(payloadType, name -> {
+            try {
+                ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                Class<?> type = Class.forName(name, false,
+                        loader != null ? loader : OutboxMessageCodec.class.getClassLoader());
+                return objectMapper.getTypeFactory().constructParametricType(Message.class, type);
+            } catch (ClassNotFoundException | LinkageError e) {
+                return objectMapper.getTypeFactory().constructType(Message.class);
+            }
+        });
+    }
+}
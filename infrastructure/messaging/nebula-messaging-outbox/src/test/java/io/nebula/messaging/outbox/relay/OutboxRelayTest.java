@@ -0,0 +1,320 @@
+package io.nebula.messaging.outbox.relay;
+
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.core.producer.MessageProducer;
+import io.nebula.messaging.outbox.publisher.OutboxPublisher;
+import io.nebula.messaging.outbox.store.OutboxRecord;
+import io.nebula.messaging.outbox.store.OutboxStore;
+import io.nebula.messaging.outbox.store.OutboxStore.Outcome;
+import io.nebula.messaging.outbox.support.OutboxMessageCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * OutboxRelay单元测试
+ */
+class OutboxRelayTest {
+
+    private static final int SHARDS = 4;
+
+    private InMemoryOutboxStore store;
+    private OutboxMessageCodec codec;
+    private OutboxPublisher publisher;
+    private List<Message<Object>> sent;
+    private List<Integer> sendSizes;
+    private Set<String> failing;
+    private boolean failAll;
+    private boolean throwOnSend;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryOutboxStore();
+        codec = new OutboxMessageCodec();
+        publisher = new OutboxPublisher(store, codec, SHARDS);
+        sent = new ArrayList<>();
+        sendSizes = new ArrayList<>();
+        failing = new HashSet<>();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void testPublishOutsideTransactionIsRejected() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        assertThatThrownBy(() -> publisher.publish("orders", "created", "order-1"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void testRelayPublishesEachAggregateInWriteOrder() {
+        for (int i = 0; i < 20; i++) {
+            publisher.publish("orders", "event-" + i, "order-" + (i % 3));
+        }
+        OutboxRelay relay = relay(8, 10);
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            while (relay.relayShard(shard)) {
+                // 取满一批时继续处理同一分片
+            }
+        }
+
+        assertThat(store.size()).isZero();
+        assertThat(relay.getRelayedCount()).isEqualTo(20);
+        assertThat(relay.getRowsPerSecond()).isPositive();
+        for (int key = 0; key < 3; key++) {
+            String aggregate = "order-" + key;
+            List<String> payloads = sent.stream()
+                    .filter(m -> aggregate.equals(m.getHeaders().get("shard_key")))
+                    .map(m -> (String) m.getPayload())
+                    .toList();
+            List<String> expected = new ArrayList<>();
+            for (int i = key; i < 20; i += 3) {
+                expected.add("event-" + i);
+            }
+            assertThat(payloads).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void testMidBatchFailureHoldsBackOnlyThatAggregate() {
+        String first = "order-1";
+        String second = sameShardKey(first);
+        for (int i = 0; i < 3; i++) {
+            publisher.publish("orders", first + "/" + i, first);
+            publisher.publish("orders", second + "/" + i, second);
+        }
+        int shard = OutboxPublisher.shardOf(first, SHARDS);
+        OutboxRelay relay = relay(10, 10);
+
+        failing.add(first + "/1");
+        assertThat(relay.relayShard(shard)).isFalse();
+        // 每次发送包含每个聚合的下一条记录，失败的聚合退出后续发送
+        assertThat(sendSizes).containsExactly(2, 2, 1);
+        assertThat(store.records(shard)).extracting(OutboxRecord::attempts).containsExactly(1, 0);
+        assertThat(relay.getRelayedCount()).isEqualTo(4);
+        assertThat(relay.getFailedCount()).isEqualTo(1);
+
+        failing.clear();
+        relay.relayShard(shard);
+        assertThat(store.size()).isZero();
+        // 失败记录之后的记录没有提前发出，也没有重复投递
+        assertThat(payloads(first)).containsExactly(first + "/0", first + "/1", first + "/2");
+        assertThat(payloads(second)).containsExactly(second + "/0", second + "/1", second + "/2");
+        assertThat(sent).hasSize(6);
+    }
+
+    @Test
+    void testRecordIsDiscardedAfterMaxAttempts() {
+        publisher.publish("orders", "poison", "order-1");
+        publisher.publish("orders", "next", "order-1");
+        int shard = OutboxPublisher.shardOf("order-1", SHARDS);
+        OutboxRelay relay = relay(10, 2);
+
+        failAll = true;
+        relay.relayShard(shard);
+        assertThat(store.records(shard)).extracting(OutboxRecord::attempts).containsExactly(1, 0);
+        relay.relayShard(shard);
+        // 丢弃后同一聚合的下一条记录在本轮继续发送
+        assertThat(relay.getDiscardedCount()).isEqualTo(1);
+        assertThat(store.records(shard)).extracting(OutboxRecord::attempts).containsExactly(1);
+
+        failAll = false;
+        relay.relayShard(shard);
+        assertThat(store.size()).isZero();
+        assertThat(sent).extracting(m -> (String) m.getPayload()).containsExactly("next");
+    }
+
+    @Test
+    void testSendExceptionKeepsRecordForRetry() {
+        publisher.publish("orders", "event", "order-1");
+        int shard = OutboxPublisher.shardOf("order-1", SHARDS);
+        OutboxRelay relay = relay(10, 10);
+
+        throwOnSend = true;
+        assertThat(relay.relayShard(shard)).isFalse();
+        assertThat(store.records(shard)).extracting(OutboxRecord::attempts).containsExactly(1);
+        assertThat(relay.getFailedCount()).isEqualTo(1);
+
+        throwOnSend = false;
+        relay.relayShard(shard);
+        assertThat(store.size()).isZero();
+        assertThat(sent).extracting(m -> (String) m.getPayload()).containsExactly("event");
+    }
+
+    @Test
+    void testUndecodableRecordIsDiscarded() {
+        publisher.publish("orders", "first", "order-1");
+        int shard = OutboxPublisher.shardOf("order-1", SHARDS);
+        store.saveAll(List.of(new OutboxRecord(0, shard, "order-1", "orders", null, "{broken", 0, 0)));
+        publisher.publish("orders", "second", "order-1");
+        OutboxRelay relay = relay(10, 10);
+
+        relay.relayShard(shard);
+
+        assertThat(store.size()).isZero();
+        assertThat(relay.getDiscardedCount()).isEqualTo(1);
+        assertThat(sent).extracting(m -> (String) m.getPayload()).containsExactly("first", "second");
+    }
+
+    @Test
+    void testBusyShardIsSkipped() {
+        publisher.publish("orders", "event", "order-1");
+        int shard = OutboxPublisher.shardOf("order-1", SHARDS);
+        OutboxRelay relay = relay(10, 10);
+
+        store.lock(shard).lock();
+        try {
+            Thread other = new Thread(() -> relay.relayShard(shard));
+            other.start();
+            other.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            store.lock(shard).unlock();
+        }
+
+        assertThat(sent).isEmpty();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private OutboxRelay relay(int batchSize, int maxAttempts) {
+        MessageProducer<Object> producer = mock(MessageProducer.class);
+        when(producer.sendBatch(anyList())).thenAnswer(invocation -> {
+            List<Message<Object>> messages = invocation.getArgument(0);
+            if (throwOnSend) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            List<MessageProducer.SendResult> results = new ArrayList<>();
+            sendSizes.add(messages.size());
+            boolean allSuccess = !failAll;
+            for (int i = 0; i < messages.size(); i++) {
+                boolean success = !failAll && !failing.contains((String) messages.get(i).getPayload());
+                allSuccess &= success;
+                if (success) {
+                    sent.add(messages.get(i));
+                }
+                MessageProducer.SendResult result = mock(MessageProducer.SendResult.class);
+                when(result.isSuccess()).thenReturn(success);
+                results.add(result);
+            }
+            // 先算好结果再开始打桩，打桩过程中调用其他 mock 会触发 UnfinishedStubbingException
+            MessageProducer.BatchSendResult batch = mock(MessageProducer.BatchSendResult.class);
+            when(batch.isAllSuccess()).thenReturn(allSuccess);
+            when(batch.getResults()).thenReturn(results);
+            return batch;
+        });
+        OutboxRelay.Options options = new OutboxRelay.Options();
+        options.setShards(SHARDS);
+        options.setBatchSize(batchSize);
+        options.setMaxAttempts(maxAttempts);
+        return new OutboxRelay(store, producer, codec, options);
+    }
+
+    private List<String> payloads(String aggregate) {
+        return sent.stream()
+                .filter(m -> aggregate.equals(m.getHeaders().get("shard_key")))
+                .map(m -> (String) m.getPayload())
+                .toList();
+    }
+
+    private static String sameShardKey(String key) {
+        int shard = OutboxPublisher.shardOf(key, SHARDS);
+        for (int i = 0; ; i++) {
+            String candidate = "order-x" + i;
+            if (OutboxPublisher.shardOf(candidate, SHARDS) == shard) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * 以每个分片一把锁模拟分片行的 SKIP LOCKED
+     */
+    private static class InMemoryOutboxStore implements OutboxStore {
+
+        private final AtomicLong ids = new AtomicLong();
+        private final Map<Integer, List<OutboxRecord>> shards = new ConcurrentHashMap<>();
+        private final Map<Integer, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+        ReentrantLock lock(int shard) {
+            return locks.computeIfAbsent(shard, s -> new ReentrantLock());
+        }
+
+        synchronized List<OutboxRecord> records(int shard) {
+            return new ArrayList<>(shards.getOrDefault(shard, List.of()));
+        }
+
+        @Override
+        public synchronized void saveAll(List<OutboxRecord> records) {
+            for (OutboxRecord r : records) {
+                shards.computeIfAbsent(r.shard(), s -> new ArrayList<>()).add(new OutboxRecord(ids.incrementAndGet(),
+                        r.shard(), r.aggregateKey(), r.topic(), r.payloadType(), r.message(), 0, r.createdAt()));
+            }
+        }
+
+        @Override
+        public int drain(int shard, int limit, BatchProcessor processor) {
+            ReentrantLock lock = lock(shard);
+            if (!lock.tryLock()) {
+                return -1;
+            }
+            try {
+                List<OutboxRecord> batch = records(shard);
+                batch = new ArrayList<>(batch.subList(0, Math.min(limit, batch.size())));
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                Outcome[] outcomes = processor.process(batch);
+                synchronized (this) {
+                    List<OutboxRecord> rows = shards.get(shard);
+                    for (int i = 0; i < batch.size(); i++) {
+                        OutboxRecord r = batch.get(i);
+                        int row = rows.indexOf(r);
+                        if (outcomes[i] == Outcome.COMPLETED) {
+                            rows.remove(row);
+                        } else if (outcomes[i] == Outcome.FAILED) {
+                            rows.set(row, new OutboxRecord(r.id(), r.shard(), r.aggregateKey(), r.topic(),
+                                    r.payloadType(), r.message(), r.attempts() + 1, r.createdAt()));
+                        }
+                    }
+                }
+                return batch.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void initShards(int shards) {
+        }
+
+        @Override
+        public synchronized long size() {
+            return shards.values().stream().mapToLong(List::size).sum();
+        }
+    }
+}
@@ -268,6 +268,16 @@ public class RabbitMQProperties {
          */
         private boolean publisherReturns = true;
         
+        /**
+         * 最大未确认消息数（在途窗口），达到后发送方阻塞等待确认
+         */
+        private int maxInFlight = 1024;
+        
+        /**
+         * 发布确认通道数
+         */
+        private int channelPoolSize = 4;
+        
         public boolean isPublisherConfirms() {
             return publisherConfirms;
         }
@@ -291,6 +301,22 @@ public class RabbitMQProperties {
         public void setPublisherReturns(boolean publisherReturns) {
             this.publisherReturns = publisherReturns;
         }
+        
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+        
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+        
+        public int getChannelPoolSize() {
+            return channelPoolSize;
+        }
+        
+        public void setChannelPoolSize(int channelPoolSize) {
+            this.channelPoolSize = channelPoolSize;
+        }
     }
     
     /**
@@ -1,7 +1,13 @@
 package io.nebula.messaging.rabbitmq.consumer;
 
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchOptions;
+import io.nebula.messaging.core.consumer.BatchResult;
+import io.nebula.messaging.core.consumer.KeyOrderedDispatcher;
+import io.nebula.messaging.core.consumer.MessageBatcher;
 import io.nebula.messaging.core.consumer.MessageConsumer;
 import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.consumer.OrderedOptions;
 import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.core.serializer.MessageSerializer;
 import io.nebula.messaging.core.router.MessageRouter;
@@ -18,6 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -36,6 +44,17 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
     private final MessageRouter messageRouter;
     private final Map<String, Channel> subscriptions = new ConcurrentHashMap<>();
     private final Map<String, MessageHandler<Object>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, MessageBatcher<Delivery>> batchers = new ConcurrentHashMap<>();
+    private final Map<String, KeyOrderedDispatcher<Delivery>> orderedDispatchers = new ConcurrentHashMap<>();
+    private final Map<String, RabbitMQPullBuffer> pullBuffers = new ConcurrentHashMap<>();
+    /**
+     * 使用累积确认（multiple ack）的消费者，暂停时取消消费、恢复时重新消费
+     */
+    private final Map<String, ManualAckConsumer> manualAckConsumers = new ConcurrentHashMap<>();
+    /**
+     * 批量订阅各自的等待超时刷出线程，一个订阅的处理器耗时不会推迟其他订阅的超时刷出
+     */
+    private final Map<String, ScheduledExecutorService> lingerSchedulers = new ConcurrentHashMap<>();
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final AtomicBoolean paused = new AtomicBoolean(false);
     
@@ -87,9 +106,8 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
                 try {
                     consumedCount.incrementAndGet();
                     
-                    // 反序列化消息 - 使用处理器指定的类型
-                    Class<Object> messageType = handler.getMessageType();
-                    Object payload = messageSerializer.deserialize(delivery.getBody(), messageType);
+                    // 反序列化消息 - 按处理器的载荷类型一次解码
+                    Object payload = messageSerializer.deserialize(delivery.getBody(), handler.getPayloadType());
                     
                     // 创建消息对象
                     Message<Object> message = Message.<Object>builder()
@@ -160,9 +178,8 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
                 try {
                     consumedCount.incrementAndGet();
                     
-                    // 反序列化消息 - 使用处理器指定的类型
-                    Class<Object> messageType = handler.getMessageType();
-                    Object payload = messageSerializer.deserialize(delivery.getBody(), messageType);
+                    // 反序列化消息 - 按处理器的载荷类型一次解码
+                    Object payload = messageSerializer.deserialize(delivery.getBody(), handler.getPayloadType());
                     
                     Message<Object> message = Message.<Object>builder()
                         .id(delivery.getProperties().getMessageId())
@@ -203,6 +220,288 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
         }
     }
     
+    /**
+     * 批量订阅
+     * <p>
+     * 通道 prefetch 设为批大小，投递逐条进入攒批器，满批或等待超时后交给处理器。
+     * 批量订阅始终手动确认：整批成功时以 multiple ack 一次确认到本批最后一条；
+     * 部分失败时成功前缀仍以一次 multiple ack 确认，其后逐条 ack 或 nack（重新入队）；
+     * 处理器抛出异常时以 multiple nack 整批重新入队。
+     * 同一通道上的各批串行处理，因此 multiple 确认不会越过尚未处理的投递。
+     */
+    @Override
+    public void subscribeBatch(String topic, String queue, BatchMessageHandler<Object> handler, BatchOptions options) {
+        String key = topic + ":" + queue;
+        try {
+            if (subscriptions.containsKey(key)) {
+                log.warn("主题 {} 队列 {} 已订阅，将替换原有处理器", topic, queue);
+                unsubscribe(topic, queue);
+            }
+            
+            Channel channel = connection.createChannel();
+            
+            channel.exchangeDeclare(topic, "topic", true, false, null);
+            channel.queueDeclare(queue, true, false, false, null);
+            channel.queueBind(queue, topic, topic);
+            
+            // prefetch 小于批大小时永远攒不满一批，只能等待超时刷出
+            channel.basicQos(options.maxBatchSize());
+            
+            MessageBatcher<Delivery> batcher = new MessageBatcher<>(options, lingerScheduler(key, queue),
+                    deliveries -> handleBatch(channel, topic, queue, handler, deliveries));
+            
+            DeliverCallback deliverCallback = (consumerTag, delivery) -> {
+                if (paused.get()) {
+                    // 暂停与取消消费之间到达的投递重新入队：批次按最后一条累积确认，跳过的投递不能留在通道上
+                    channel.basicNack(delivery.getEnvelope().getDeliveryTag(), false, true);
+                    return;
+                }
+                batcher.add(delivery);
+            };
+            
+            batchers.put(key, batcher);
+            ManualAckConsumer consumer = new ManualAckConsumer(channel, queue, deliverCallback, consumerTag -> {
+                log.warn("批量消费者被取消: topic={}, queue={}, consumerTag={}", topic, queue, consumerTag);
+            });
+            manualAckConsumers.put(key, consumer);
+            if (!paused.get()) {
+                consumer.start();
+            }
+            subscriptions.put(key, channel);
+            
+            log.info("批量订阅主题队列成功: topic={}, queue={}, maxBatchSize={}, lingerTime={}",
+                    topic, queue, options.maxBatchSize(), options.lingerTime());
+            
+        } catch (Exception e) {
+            batchers.remove(key);
+            manualAckConsumers.remove(key);
+            shutdownLingerScheduler(key);
+            log.error("批量订阅主题队列失败: topic={}, queue={}", topic, queue, e);
+            throw new MessageConnectionException("Failed to batch subscribe to topic: " + topic + ", queue: " + queue, e);
+        }
+    }
+    
+    /**
+     * 处理一批投递并按结果确认
+     */
+    private void handleBatch(Channel channel, String topic, String queue,
+                             BatchMessageHandler<Object> handler, List<Delivery> deliveries) {
+        int size = deliveries.size();
+        long lastTag = deliveries.get(size - 1).getEnvelope().getDeliveryTag();
+        consumedCount.addAndGet(size);
+        
+        BatchResult result;
+        try {
+            List<Message<Object>> messages = new ArrayList<>(size);
+            for (Delivery delivery : deliveries) {
+                Object payload = messageSerializer.deserialize(delivery.getBody(), handler.getPayloadType());
+                messages.add(Message.<Object>builder()
+                    .id(delivery.getProperties().getMessageId())
+                    .topic(topic)
+                    .queue(queue)
+                    .payload(payload)
+                    .createTime(java.time.LocalDateTime.now())
+                    .build());
+            }
+            result = handler.handle(messages);
+        } catch (Exception e) {
+            failedCount.addAndGet(size);
+            log.error("批量消息处理失败，整批重新入队: topic={}, queue={}, size={}", topic, queue, size, e);
+            try {
+                channel.basicNack(lastTag, true, true);
+            } catch (IOException ioException) {
+                log.error("批量消息拒绝失败", ioException);
+            }
+            return;
+        }
+        
+        try {
+            if (result == null || result.isAllSuccess()) {
+                channel.basicAck(lastTag, true);
+                successCount.addAndGet(size);
+                log.debug("批量消息处理成功: topic={}, queue={}, size={}", topic, queue, size);
+                return;
+            }
+            
+            int firstFailure = result.firstFailure(size);
+            if (firstFailure > 0) {
+                channel.basicAck(deliveries.get(firstFailure - 1).getEnvelope().getDeliveryTag(), true);
+            }
+            for (int i = firstFailure; i < size; i++) {
+                long deliveryTag = deliveries.get(i).getEnvelope().getDeliveryTag();
+                if (result.isSuccess(i)) {
+                    channel.basicAck(deliveryTag, false);
+                } else {
+                    channel.basicNack(deliveryTag, false, true);
+                }
+            }
+            int failed = result.failedCount(size);
+            successCount.addAndGet(size - failed);
+            failedCount.addAndGet(failed);
+            log.warn("批量消息部分失败，失败消息重新入队: topic={}, queue={}, size={}, failed={}",
+                    topic, queue, size, failed);
+        } catch (IOException e) {
+            // 通道异常时未确认的投递会由 broker 重新投递
+            log.error("批量消息确认失败: topic={}, queue={}", topic, queue, e);
+        }
+    }
+    
+    /**
+     * 为批量订阅创建专用的等待超时刷出线程，超时批次在该线程上交给处理器
+     */
+    private ScheduledExecutorService lingerScheduler(String key, String queue) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rabbitmq-batch-linger-" + queue);
+            thread.setDaemon(true);
+            return thread;
+        });
+        shutdownLingerScheduler(key);
+        lingerSchedulers.put(key, scheduler);
+        return scheduler;
+    }
+    
+    private void shutdownLingerScheduler(String key) {
+        ScheduledExecutorService scheduler = lingerSchedulers.remove(key);
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+    
+    /**
+     * 按消息键保序并行订阅
+     * <p>
+     * 投递按 {@link OrderedOptions#keyHeader()} 头（缺失时按消息 ID）分配到单线程通道，
+     * 同一键的消息按投递顺序处理。通道 prefetch 设为在途上限，通道缓冲满时阻塞投递线程，
+     * 不再从 broker 取新消息。连续已完成的区间中，失败的投递逐条 nack（重新入队），
+     * 其后以一次 multiple ack 确认到区间内最后一条，不会越过仍在处理中的投递。
+     * </p>
+     */
+    @Override
+    public void subscribeOrdered(String topic, String queue, MessageHandler<Object> handler, OrderedOptions options) {
+        String key = topic + ":" + queue;
+        KeyOrderedDispatcher<Delivery> dispatcher = null;
+        try {
+            if (subscriptions.containsKey(key)) {
+                log.warn("主题 {} 队列 {} 已订阅，将替换原有处理器", topic, queue);
+                unsubscribe(topic, queue);
+            }
+            
+            Channel channel = connection.createChannel();
+            
+            channel.exchangeDeclare(topic, "topic", true, false, null);
+            channel.queueDeclare(queue, true, false, false, null);
+            channel.queueBind(queue, topic, topic);
+            
+            channel.basicQos(options.maxInFlight());
+            
+            dispatcher = new KeyOrderedDispatcher<>("rabbitmq-ordered-" + queue, options,
+                    delivery -> orderingKey(delivery, options.keyHeader()),
+                    delivery -> handleOrdered(topic, queue, handler, delivery),
+                    range -> commitOrdered(channel, topic, queue, range));
+            KeyOrderedDispatcher<Delivery> target = dispatcher;
+            
+            DeliverCallback deliverCallback = (consumerTag, delivery) -> {
+                if (paused.get()) {
+                    // 暂停与取消消费之间到达的投递重新入队，避免被之后的累积确认一并确认
+                    channel.basicNack(delivery.getEnvelope().getDeliveryTag(), false, true);
+                    return;
+                }
+                try {
+                    target.submit(delivery);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IllegalStateException e) {
+                    // 取消订阅期间到达的投递未确认，通道关闭后由 broker 重新投递
+                    log.debug("保序分发器已关闭，忽略投递: topic={}, queue={}", topic, queue);
+                }
+            };
+            
+            orderedDispatchers.put(key, dispatcher);
+            handlers.put(key, handler);
+            ManualAckConsumer consumer = new ManualAckConsumer(channel, queue, deliverCallback, consumerTag -> {
+                log.warn("保序消费者被取消: topic={}, queue={}, consumerTag={}", topic, queue, consumerTag);
+            });
+            manualAckConsumers.put(key, consumer);
+            if (!paused.get()) {
+                consumer.start();
+            }
+            subscriptions.put(key, channel);
+            
+            log.info("保序订阅主题队列成功: topic={}, queue={}, lanes={}, laneCapacity={}, keyHeader={}",
+                    topic, queue, options.lanes(), options.laneCapacity(), options.keyHeader());
+            
+        } catch (Exception e) {
+            orderedDispatchers.remove(key);
+            handlers.remove(key);
+            manualAckConsumers.remove(key);
+            if (dispatcher != null) {
+                dispatcher.close();
+            }
+            log.error("保序订阅主题队列失败: topic={}, queue={}", topic, queue, e);
+            throw new MessageConnectionException("Failed to ordered subscribe to topic: " + topic + ", queue: " + queue, e);
+        }
+    }
+    
+    private static String orderingKey(Delivery delivery, String keyHeader) {
+        Map<String, Object> headers = delivery.getProperties().getHeaders();
+        Object value = headers != null ? headers.get(keyHeader) : null;
+        return value != null ? value.toString() : delivery.getProperties().getMessageId();
+    }
+    
+    /**
+     * 在通道线程上处理一条保序投递
+     */
+    private boolean handleOrdered(String topic, String queue, MessageHandler<Object> handler, Delivery delivery) {
+        consumedCount.incrementAndGet();
+        try {
+            Object payload = messageSerializer.deserialize(delivery.getBody(), handler.getPayloadType());
+            Map<String, Object> amqpHeaders = delivery.getProperties().getHeaders();
+            Map<String, String> headers = new java.util.HashMap<>();
+            if (amqpHeaders != null) {
+                amqpHeaders.forEach((name, value) -> headers.put(name, String.valueOf(value)));
+            }
+            Message<Object> message = Message.<Object>builder()
+                .id(delivery.getProperties().getMessageId())
+                .topic(topic)
+                .queue(queue)
+                .payload(payload)
+                .headers(headers)
+                .createTime(java.time.LocalDateTime.now())
+                .build();
+            handler.handle(message);
+            successCount.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            log.error("保序消息处理失败: topic={}, queue={}", topic, queue, e);
+            return false;
+        }
+    }
+    
+    /**
+     * 确认一段连续已完成的投递
+     */
+    private void commitOrdered(Channel channel, String topic, String queue,
+                               List<KeyOrderedDispatcher.Completion<Delivery>> range) {
+        try {
+            long lastTag = -1;
+            for (KeyOrderedDispatcher.Completion<Delivery> completion : range) {
+                long deliveryTag = completion.element().getEnvelope().getDeliveryTag();
+                if (completion.success()) {
+                    lastTag = deliveryTag;
+                } else {
+                    channel.basicNack(deliveryTag, false, true);
+                }
+            }
+            if (lastTag >= 0) {
+                channel.basicAck(lastTag, true);
+            }
+        } catch (IOException e) {
+            // 通道异常时未确认的投递会由 broker 重新投递
+            log.error("保序消息确认失败: topic={}, queue={}", topic, queue, e);
+        }
+    }
+    
     @Override
     public void unsubscribe(String topic) {
         unsubscribe(topic, topic); // 默认队列名等于主题名
@@ -212,6 +511,17 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
     public void unsubscribe(String topic, String queue) {
         try {
             String key = topic + ":" + queue;
+            MessageBatcher<Delivery> batcher = batchers.remove(key);
+            if (batcher != null) {
+                // 丢弃的投递未确认，通道关闭后由 broker 重新投递
+                batcher.discard();
+            }
+            shutdownLingerScheduler(key);
+            KeyOrderedDispatcher<Delivery> dispatcher = orderedDispatchers.remove(key);
+            if (dispatcher != null) {
+                dispatcher.close();
+            }
+            manualAckConsumers.remove(key);
             Channel channel = subscriptions.remove(key);
             if (channel != null && channel.isOpen()) {
                 channel.close();
@@ -226,41 +536,62 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
     
     @Override
     public List<Message<Object>> pull(String topic, int maxCount, Duration timeout) {
-        List<Message<Object>> messages = new ArrayList<>();
-        
-        try (Channel channel = connection.createChannel()) {
-            // 声明队列
-            channel.queueDeclare(topic, true, false, false, null);
-            
-            long startTime = System.currentTimeMillis();
-            long timeoutMillis = timeout.toMillis();
-            
-            while (messages.size() < maxCount && (System.currentTimeMillis() - startTime) < timeoutMillis) {
-                GetResponse response = channel.basicGet(topic, true);
-                if (response == null) {
-                    Thread.sleep(100); // 短暂等待
-                    continue;
-                }
-                
-                // 使用 Object.class 反序列化（pull 方法无法获取具体类型）
-                Object payload = messageSerializer.deserialize(response.getBody(), Object.class);
-                
-                Message<Object> message = Message.<Object>builder()
-                    .id(response.getProps().getMessageId())
+        return pull(topic, topic, maxCount, timeout, Object.class); // 默认队列名等于主题名
+    }
+    
+    /**
+     * 从指定队列拉取消息并反序列化为指定类型
+     * <p>
+     * 每个队列复用一个带 prefetch 的通道，消息由 broker 推送到本地缓冲区：
+     * 缓冲区有消息时立即返回（最多 maxCount 条），没有消息时阻塞等待至超时，不轮询。
+     * 返回的消息已确认。
+     * </p>
+     *
+     * @param topic       主题
+     * @param queue       队列
+     * @param maxCount    最大数量
+     * @param timeout     无消息时的最长等待时间
+     * @param payloadType 消息体类型
+     * @return 消息列表，超时时为空
+     */
+    public <P> List<Message<P>> pull(String topic, String queue, int maxCount, Duration timeout, Class<P> payloadType) {
+        if (maxCount <= 0) {
+            return new ArrayList<>();
+        }
+        try {
+            return pullBuffer(queue).pull(maxCount, timeout, delivery -> Message.<P>builder()
+                    .id(delivery.getProperties().getMessageId())
                     .topic(topic)
-                    .payload(payload)
+                    .queue(queue)
+                    .payload(messageSerializer.deserialize(delivery.getBody(), payloadType))
                     .createTime(java.time.LocalDateTime.now())
-                    .build();
-                
-                messages.add(message);
-            }
-            
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArrayList<>();
         } catch (Exception e) {
-            log.error("拉取消息失败: topic={}", topic, e);
+            log.error("拉取消息失败: topic={}, queue={}", topic, queue, e);
             throw new MessageReceiveException("Failed to pull messages from topic: " + topic, e);
         }
-        
-        return messages;
+    }
+    
+    private RabbitMQPullBuffer pullBuffer(String queue) throws IOException {
+        RabbitMQPullBuffer buffer = pullBuffers.get(queue);
+        if (buffer != null && buffer.isOpen()) {
+            return buffer;
+        }
+        synchronized (pullBuffers) {
+            buffer = pullBuffers.get(queue);
+            if (buffer == null || !buffer.isOpen()) {
+                if (buffer != null) {
+                    // 通道异常关闭后重建
+                    buffer.close();
+                }
+                buffer = new RabbitMQPullBuffer(connection, queue, Math.max(1, config.getPullPrefetch()));
+                pullBuffers.put(queue, buffer);
+            }
+            return buffer;
+        }
     }
     
     @Override
@@ -297,6 +628,11 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
     @Override
     public void stop() {
         running.set(false);
+        batchers.values().forEach(MessageBatcher::discard);
+        batchers.clear();
+        orderedDispatchers.values().forEach(KeyOrderedDispatcher::close);
+        orderedDispatchers.clear();
+        manualAckConsumers.clear();
         // 关闭所有订阅
         subscriptions.forEach((key, channel) -> {
             try {
@@ -309,18 +645,24 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
         });
         subscriptions.clear();
         handlers.clear();
+        pullBuffers.values().forEach(RabbitMQPullBuffer::close);
+        pullBuffers.clear();
+        lingerSchedulers.values().forEach(ScheduledExecutorService::shutdownNow);
+        lingerSchedulers.clear();
         log.info("RabbitMQ Message Consumer stopped");
     }
     
     @Override
     public void pause() {
         paused.set(true);
+        manualAckConsumers.values().forEach(ManualAckConsumer::cancel);
         log.info("RabbitMQ Message Consumer paused");
     }
     
     @Override
     public void resume() {
         paused.set(false);
+        manualAckConsumers.values().forEach(ManualAckConsumer::start);
         log.info("RabbitMQ Message Consumer resumed");
     }
     
@@ -423,6 +765,10 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
         private Duration consumeTimeout = Duration.ofSeconds(30);
         private boolean autoAck = false;
         private int maxRetries = 3;
+        /**
+         * 拉模式每个队列的未确认消息上限，也是本地缓冲区容量
+         */
+        private int pullPrefetch = 100;
         
         @Override
         public String getConsumerGroup() {
@@ -483,5 +829,62 @@ public class RabbitMQMessageConsumer implements MessageConsumer<Object> {
         public void setMaxRetries(int maxRetries) {
             this.maxRetries = maxRetries;
         }
+        
+        public int getPullPrefetch() {
+            return pullPrefetch;
+        }
+        
+        public void setPullPrefetch(int pullPrefetch) {
+            this.pullPrefetch = pullPrefetch;
+        }
+    }
+    
+    /**
+     * 手动确认的消费者
+     * <p>
+     * 批量与保序订阅按最后一条投递累积确认，暂停期间若只是丢下投递不处理，后续的累积确认会把它们一并确认。
+     * 因此暂停时取消消费（已收到的投递照常处理和确认），恢复时在同一通道上重新消费。
+     * </p>
+     */
+    private static final class ManualAckConsumer {
+        
+        private final Channel channel;
+        private final String queue;
+        private final DeliverCallback deliverCallback;
+        private final CancelCallback cancelCallback;
+        private String consumerTag;
+        
+        ManualAckConsumer(Channel channel, String queue, DeliverCallback deliverCallback, CancelCallback cancelCallback) {
+            this.channel = channel;
+            this.queue = queue;
+            this.deliverCallback = deliverCallback;
+            this.cancelCallback = cancelCallback;
+        }
+        
+        synchronized void start() {
+            if (consumerTag != null || !channel.isOpen()) {
+                return;
+            }
+            try {
+                consumerTag = channel.basicConsume(queue, false, deliverCallback, cancelCallback);
+            } catch (IOException e) {
+                throw new MessageConnectionException("Failed to consume queue: " + queue, e);
+            }
+        }
+        
+        synchronized void cancel() {
+            if (consumerTag == null) {
+                return;
+            }
+            try {
+                if (channel.isOpen()) {
+                    channel.basicCancel(consumerTag);
+                }
+            } catch (IOException e) {
+                log.warn("取消消费失败: queue={}, consumerTag={}", queue, consumerTag, e);
+            } finally {
+                consumerTag = null;
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package io.nebula.messaging.rabbitmq.consumer;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Delivery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 拉模式消费缓冲区
+ * <p>
+ * 每个队列复用一个通道：basicQos 限制未确认消息数，basicConsume 由 broker 把消息推送到本地有界缓冲区。
+ * 拉取时直接从缓冲区取出，缓冲区为空时阻塞在缓冲区上等待，不再轮询 basicGet。
+ * 缓冲区中的消息都处于未确认状态，数量不超过 prefetch，因此缓冲区不会溢出；
+ * 消息交给调用方时以一次 multiple ack 确认，broker 随即补充新的消息。
+ * </p>
+ */
+class RabbitMQPullBuffer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RabbitMQPullBuffer.class);
+
+    private final String queue;
+    private final Channel channel;
+    private final BlockingQueue<Delivery> buffer;
+    /**
+     * 串行化拉取：multiple ack 要求确认的是缓冲区的连续前缀
+     */
+    private final ReentrantLock pullLock = new ReentrantLock();
+
+    RabbitMQPullBuffer(Connection connection, String queue, int prefetch) throws IOException {
+        this.queue = queue;
+        this.buffer = new ArrayBlockingQueue<>(prefetch);
+        this.channel = connection.createChannel();
+        try {
+            channel.queueDeclare(queue, true, false, false, null);
+            channel.basicQos(prefetch);
+            channel.basicConsume(queue, false, (consumerTag, delivery) -> onDelivery(delivery),
+                    consumerTag -> log.warn("拉模式消费者被取消: queue={}, consumerTag={}", queue, consumerTag));
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        log.info("拉模式缓冲区已创建: queue={}, prefetch={}", queue, prefetch);
+    }
+
+    boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * 取出最多 {@code maxCount} 条消息并确认
+     * <p>
+     * 缓冲区有消息时立即返回已缓冲的部分，为空时最多等待 {@code timeout}。
+     * 转换失败的消息被拒绝且不重新入队，其余消息在返回前确认。
+     * </p>
+     *
+     * @param converter 把投递转换为消息
+     * @return 消息列表，超时时为空
+     */
+    <M> List<M> pull(int maxCount, Duration timeout, DeliveryConverter<M> converter)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (!pullLock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            return List.of();
+        }
+        try {
+            Delivery first = buffer.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            if (first == null) {
+                return List.of();
+            }
+            List<Delivery> deliveries = new ArrayList<>(Math.min(maxCount, buffer.size() + 1));
+            deliveries.add(first);
+            buffer.drainTo(deliveries, maxCount - 1);
+
+            List<M> messages = new ArrayList<>(deliveries.size());
+            long lastAckable = -1;
+            for (Delivery delivery : deliveries) {
+                long deliveryTag = delivery.getEnvelope().getDeliveryTag();
+                try {
+                    messages.add(converter.convert(delivery));
+                    lastAckable = deliveryTag;
+                } catch (Exception e) {
+                    log.error("拉取的消息无法转换，拒绝且不重新入队: queue={}, deliveryTag={}", queue, deliveryTag, e);
+                    channel.basicNack(deliveryTag, false, false);
+                }
+            }
+            if (lastAckable >= 0) {
+                channel.basicAck(lastAckable, true);
+            }
+            return messages;
+        } finally {
+            pullLock.unlock();
+        }
+    }
+
+    /**
+     * 关闭通道，缓冲区中未交付的消息由 broker 重新投递
+     */
+    @Override
+    public void close() {
+        buffer.clear();
+        try {
+            if (channel.isOpen()) {
+                channel.close();
+            }
+        } catch (Exception e) {
+            log.warn("关闭拉模式通道失败: queue={}, error={}", queue, e.getMessage());
+        }
+    }
+
+    private void onDelivery(Delivery delivery) throws IOException {
+        if (!buffer.offer(delivery)) {
+            // prefetch 保证未确认消息不超过缓冲区容量，正常情况下不会发生
+            channel.basicNack(delivery.getEnvelope().getDeliveryTag(), false, true);
+        }
+    }
+
+    /**
+     * 投递到消息的转换
+     */
+    @FunctionalInterface
+    interface DeliveryConverter<M> {
+
+        M convert(Delivery delivery) throws Exception;
+    }
+}
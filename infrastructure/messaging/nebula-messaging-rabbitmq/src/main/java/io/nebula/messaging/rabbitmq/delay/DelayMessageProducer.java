@@ -3,7 +3,10 @@ package io.nebula.messaging.rabbitmq.delay;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
+import io.nebula.messaging.core.delay.DelayScheduler;
+import io.nebula.messaging.core.delay.DelayStore;
 import io.nebula.messaging.core.exception.MessageSendException;
+import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.core.serializer.MessageSerializer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -27,6 +30,10 @@ import java.util.stream.Collectors;
  * 2. 将延时队列的DLX（死信交换机）指向目标交换机
  * 3. 消息发送到延时队列，TTL到期后自动路由到目标队列
  * 
+ * 启用时间轮模式（timing-wheel-enabled）后不再为每种延时声明队列：
+ * 消息由 {@link DelayScheduler} 在进程内分层时间轮中计时，到期后直接发布到目标交换机，
+ * 支持毫秒级延时与取消；配置了 {@link DelayStore} 时长延时消息保存在存储中。
+ * 
  * @author Nebula Framework
  * @since 2.0.0
  */
@@ -38,11 +45,17 @@ public class DelayMessageProducer {
     private static final String DELAY_QUEUE_PREFIX = "nebula.delay.queue.";
     private static final String DLX_HEADER = "x-dead-letter-exchange";
     private static final String DLX_ROUTING_KEY_HEADER = "x-dead-letter-routing-key";
+    private static final String SCHEDULED_DELAY_HEADER = "x-delay-scheduled-millis";
+    private static final String SCHEDULED_CREATE_TIME_HEADER = "x-delay-scheduled-create-time";
+    private static final String SCHEDULED_MAX_RETRIES_HEADER = "x-delay-scheduled-max-retries";
+    private static final String SCHEDULED_CURRENT_RETRY_HEADER = "x-delay-scheduled-current-retry";
     
     private final Connection connection;
     private final MessageSerializer messageSerializer;
     private final RabbitDelayMessageProperties properties;
     private final Map<String, Boolean> declaredExchanges = new ConcurrentHashMap<>();
+    private final DelayScheduler scheduler;
+    private Channel dispatchChannel;
     
     public DelayMessageProducer(Connection connection, MessageSerializer messageSerializer) {
         this(connection, messageSerializer, null);
@@ -50,9 +63,23 @@ public class DelayMessageProducer {
     
     public DelayMessageProducer(Connection connection, MessageSerializer messageSerializer,
                                RabbitDelayMessageProperties properties) {
+        this(connection, messageSerializer, properties, null);
+    }
+    
+    /**
+     * @param delayStore 时间轮模式下的长延时消息存储，为 null 时全部消息保存在内存时间轮中
+     */
+    public DelayMessageProducer(Connection connection, MessageSerializer messageSerializer,
+                               RabbitDelayMessageProperties properties, DelayStore delayStore) {
         this.connection = connection;
         this.messageSerializer = messageSerializer;
         this.properties = properties != null ? properties : createDefaultProperties();
+        if (this.properties.isTimingWheelEnabled()) {
+            this.scheduler = new DelayScheduler(this::publishDue, delayStore, this.properties.getTimingWheel());
+            this.scheduler.start();
+        } else {
+            this.scheduler = null;
+        }
     }
     
     private RabbitDelayMessageProperties createDefaultProperties() {
@@ -76,9 +103,9 @@ public class DelayMessageProducer {
             throw new IllegalArgumentException("Delay duration must be positive");
         }
         
-        // 验证延时时间范围
+        // 验证延时时间范围（时间轮模式不需要每种延时一个队列，不限制最小延时）
         long delayMillis = message.getDelay().toMillis();
-        if (delayMillis < properties.getMinDelayMillis()) {
+        if (scheduler == null && delayMillis < properties.getMinDelayMillis()) {
             throw new IllegalArgumentException(
                 String.format("Delay duration %dms is less than minimum %dms", 
                     delayMillis, properties.getMinDelayMillis()));
@@ -97,6 +124,10 @@ public class DelayMessageProducer {
         
         long startTime = System.currentTimeMillis();
         
+        if (scheduler != null) {
+            return schedule(message, startTime);
+        }
+        
         try (Channel channel = connection.createChannel()) {
             // 确保目标交换机和队列存在
             ensureTargetExists(channel, message.getTopic(), message.getQueue());
@@ -194,6 +225,153 @@ public class DelayMessageProducer {
         return new BatchDelayMessageResult(results, elapsedTime);
     }
     
+    /**
+     * 取消尚未投递的延时消息
+     * 
+     * 仅时间轮模式支持取消；TTL 模式下消息已进入延时队列，无法取消
+     * 
+     * @param messageId 消息ID
+     * @return 找到并取消时返回 true
+     */
+    public boolean cancel(String messageId) {
+        if (scheduler == null) {
+            log.warn("Delay message cancel requires timing wheel mode: messageId={}", messageId);
+            return false;
+        }
+        return scheduler.cancel(messageId);
+    }
+    
+    /**
+     * 时间轮中等待投递的消息数，TTL 模式下为 0
+     */
+    public int getPendingCount() {
+        return scheduler != null ? scheduler.getPendingCount() : 0;
+    }
+    
+    /**
+     * 停止时间轮调度并关闭投递通道
+     */
+    public void close() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+        synchronized (this) {
+            if (dispatchChannel != null && dispatchChannel.isOpen()) {
+                try {
+                    dispatchChannel.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close delay dispatch channel: {}", e.getMessage());
+                }
+            }
+            dispatchChannel = null;
+        }
+    }
+    
+    /**
+     * 交给时间轮调度
+     * 
+     * 延时元数据以字符串 header 随消息保存（消息可能写入外部存储），投递时还原为类型化的 x-delay-* header
+     */
+    private <T> DelayMessageResult schedule(DelayMessage<T> message, long startTime) {
+        try {
+            Map<String, String> headers = new HashMap<>();
+            if (message.getHeaders() != null) {
+                headers.putAll(message.getHeaders());
+            }
+            headers.put(SCHEDULED_DELAY_HEADER, String.valueOf(message.getDelay().toMillis()));
+            headers.put(SCHEDULED_CREATE_TIME_HEADER, String.valueOf(message.getCreateTime()));
+            headers.put(SCHEDULED_MAX_RETRIES_HEADER, String.valueOf(message.getMaxRetries()));
+            headers.put(SCHEDULED_CURRENT_RETRY_HEADER, String.valueOf(message.getCurrentRetry()));
+            
+            Message<Object> scheduled = Message.builder()
+                    .id(message.getMessageId())
+                    .topic(message.getTopic())
+                    .queue(message.getQueue())
+                    .payload(message.getPayload())
+                    .headers(headers)
+                    .priority(message.getPriority())
+                    .persistent(message.isPersistent())
+                    .maxRetryCount(properties.getDefaultMaxRetries())
+                    .build();
+            scheduler.scheduleAt(scheduled, message.getExpectedTime());
+            
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            log.debug("Delay message scheduled on timing wheel: messageId={}, topic={}, queue={}, delay={}ms",
+                    message.getMessageId(), message.getTopic(), message.getQueue(), message.getDelay().toMillis());
+            return DelayMessageResult.success(message.getMessageId(), startTime, elapsedTime);
+        } catch (Exception e) {
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            log.error("Failed to schedule delay message: messageId={}, topic={}, queue={}",
+                    message.getMessageId(), message.getTopic(), message.getQueue(), e);
+            return DelayMessageResult.failure(message.getMessageId(), startTime, elapsedTime, e);
+        }
+    }
+    
+    /**
+     * 时间轮到期回调：发布到目标交换机，路由键与 TTL 模式的死信路由键一致
+     */
+    private void publishDue(Message<?> scheduled) {
+        DelayMessage<Object> message = restore(scheduled);
+        String routingKey = message.getQueue() != null ? message.getQueue() : message.getTopic();
+        try {
+            byte[] messageBody = messageSerializer.serialize(message.getPayload());
+            AMQP.BasicProperties properties = buildMessageProperties(message);
+            synchronized (this) {
+                Channel channel = dispatchChannel;
+                if (channel == null || !channel.isOpen()) {
+                    channel = connection.createChannel();
+                    dispatchChannel = channel;
+                }
+                ensureTargetExists(channel, message.getTopic(), message.getQueue());
+                channel.basicPublish(message.getTopic(), routingKey, properties, messageBody);
+            }
+            log.debug("Delay message dispatched: messageId={}, topic={}, routingKey={}, lateness={}ms",
+                    message.getMessageId(), message.getTopic(), routingKey,
+                    System.currentTimeMillis() - message.getExpectedTime());
+        } catch (IOException | MessageSerializer.SerializationException e) {
+            throw new MessageSendException(message.getTopic(), message.getQueue(), message.getMessageId(),
+                    "Failed to dispatch delay message", e);
+        }
+    }
+    
+    private DelayMessage<Object> restore(Message<?> scheduled) {
+        Map<String, String> headers = new HashMap<>();
+        if (scheduled.getHeaders() != null) {
+            headers.putAll(scheduled.getHeaders());
+        }
+        long delayMillis = parseLong(headers.remove(SCHEDULED_DELAY_HEADER), 0);
+        long createTime = parseLong(headers.remove(SCHEDULED_CREATE_TIME_HEADER), System.currentTimeMillis());
+        int maxRetries = (int) parseLong(headers.remove(SCHEDULED_MAX_RETRIES_HEADER), properties.getDefaultMaxRetries());
+        int currentRetry = (int) parseLong(headers.remove(SCHEDULED_CURRENT_RETRY_HEADER), 0);
+        
+        DelayMessage<Object> message = DelayMessage.builder()
+                .messageId(scheduled.getId())
+                .topic(scheduled.getTopic())
+                .queue(scheduled.getQueue())
+                .payload(scheduled.getPayload())
+                .delay(Duration.ofMillis(delayMillis))
+                .maxRetries(maxRetries)
+                .currentRetry(currentRetry)
+                .headers(headers)
+                .createTime(createTime)
+                .persistent(scheduled.isPersistent())
+                .priority(scheduled.getPriority())
+                .build();
+        message.calculateExpectedTime();
+        return message;
+    }
+    
+    private static long parseLong(String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
     /**
      * 确保目标交换机和队列存在
      */
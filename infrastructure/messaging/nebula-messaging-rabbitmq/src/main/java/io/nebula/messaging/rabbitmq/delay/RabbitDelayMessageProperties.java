@@ -1,5 +1,6 @@
 package io.nebula.messaging.rabbitmq.delay;
 
+import io.nebula.messaging.core.delay.DelayScheduler;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -43,6 +44,17 @@ public class RabbitDelayMessageProperties {
      */
     private long minDelayMillis = Duration.ofSeconds(1).toMillis();
     
+    /**
+     * 是否使用进程内时间轮调度延时消息
+     * 默认false，使用TTL+DLX（每种延时一个队列）；启用后到期直接发布到目标交换机，支持毫秒级延时和取消
+     */
+    private boolean timingWheelEnabled = false;
+    
+    /**
+     * 时间轮调度参数（刻度、槽数、近期窗口等），仅在 timingWheelEnabled 时生效
+     */
+    private DelayScheduler.Options timingWheel = new DelayScheduler.Options();
+    
     /**
      * 是否自动创建延时交换机和队列
      * 默认true
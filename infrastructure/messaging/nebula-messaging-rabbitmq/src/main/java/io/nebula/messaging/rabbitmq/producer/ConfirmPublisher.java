@@ -0,0 +1,294 @@
+package io.nebula.messaging.rabbitmq.producer;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于发布确认（publisher confirms）的流水线发布器
+ * <p>
+ * 维护一组开启 confirm 模式的通道，发布后不等待 broker 确认即返回 future：
+ * <ul>
+ *     <li>每个通道的待确认消息按投递序号保存在有序映射中，ack/nack 到达时完成对应 future，
+ *     {@code multiple=true} 的批量确认一次完成序号不大于 deliveryTag 的全部消息</li>
+ *     <li>全局在途窗口限制未确认消息数，窗口满时发布方阻塞等待，形成背压</li>
+ *     <li>超过确认超时未收到 ack/nack 的消息以 {@link TimeoutException} 失败，释放窗口并移出待确认映射</li>
+ *     <li>通道关闭时其待确认消息全部失败，下次发布时重新创建通道</li>
+ * </ul>
+ *
+ * @author nebula
+ */
+public class ConfirmPublisher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfirmPublisher.class);
+
+    private final Connection connection;
+    private final Slot[] slots;
+    private final Semaphore window;
+    private final int maxInFlight;
+    private final long confirmTimeout;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final LongAdder ackCount = new LongAdder();
+    private final LongAdder nackCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private volatile boolean closed = false;
+
+    /**
+     * @param connection RabbitMQ 连接
+     * @param channelPoolSize confirm 通道数
+     * @param maxInFlight 最大未确认消息数
+     * @param confirmTimeout 确认超时时间（毫秒）
+     */
+    public ConfirmPublisher(Connection connection, int channelPoolSize, int maxInFlight, long confirmTimeout) {
+        if (channelPoolSize <= 0) {
+            throw new IllegalArgumentException("channelPoolSize must be positive: " + channelPoolSize);
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        if (confirmTimeout <= 0) {
+            throw new IllegalArgumentException("confirmTimeout must be positive: " + confirmTimeout);
+        }
+        this.connection = connection;
+        this.maxInFlight = maxInFlight;
+        this.confirmTimeout = confirmTimeout;
+        this.window = new Semaphore(maxInFlight);
+        this.slots = new Slot[channelPoolSize];
+        for (int i = 0; i < channelPoolSize; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * 发布消息，返回在 broker 确认后完成的 future
+     * <p>
+     * 在途窗口已满时阻塞等待，最长等待确认超时时间。
+     *
+     * @return ack 时正常完成；nack、超时、通道异常时异常完成
+     */
+    public CompletableFuture<Void> publish(String exchange, String routingKey,
+                                           AMQP.BasicProperties properties, byte[] body) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("ConfirmPublisher is closed"));
+        }
+        try {
+            if (!window.tryAcquire(confirmTimeout, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                return CompletableFuture.failedFuture(new TimeoutException(
+                        "Publish window full: " + maxInFlight + " messages awaiting confirm"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Slot slot = slots[Math.floorMod(nextSlot.getAndIncrement(), slots.length)];
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        slot.publish(exchange, routingKey, properties, body, future);
+        future.orTimeout(confirmTimeout, TimeUnit.MILLISECONDS).whenComplete((ignored, error) -> {
+            if (error instanceof TimeoutException) {
+                timeoutCount.increment();
+            }
+            window.release();
+        });
+        return future;
+    }
+
+    /**
+     * 在一个池化通道上执行声明等同步操作（与该通道上的发布互斥）
+     */
+    public void execute(ChannelCallback callback) throws IOException {
+        if (closed) {
+            throw new IOException("ConfirmPublisher is closed");
+        }
+        slots[Math.floorMod(nextSlot.getAndIncrement(), slots.length)].execute(callback);
+    }
+
+    /**
+     * 当前未确认消息数
+     */
+    public int getInFlight() {
+        return maxInFlight - window.availablePermits();
+    }
+
+    public long getAckCount() {
+        return ackCount.sum();
+    }
+
+    public long getNackCount() {
+        return nackCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * 各通道待确认映射中的消息数
+     */
+    public int getPendingConfirms() {
+        int count = 0;
+        for (Slot slot : slots) {
+            Pipe current = slot.pipe;
+            if (current != null) {
+                count += current.pending.size();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Slot slot : slots) {
+            slot.close();
+        }
+    }
+
+    /**
+     * 通道操作回调
+     */
+    @FunctionalInterface
+    public interface ChannelCallback {
+        void doInChannel(Channel channel) throws IOException;
+    }
+
+    /**
+     * 一个 confirm 通道及其待确认消息
+     * <p>
+     * 投递序号只在所属通道内有效，因此待确认映射与通道一起创建，通道重建后旧映射不再接收新消息。
+     */
+    private final class Pipe {
+
+        final Channel channel;
+        final ConcurrentSkipListMap<Long, CompletableFuture<Void>> pending = new ConcurrentSkipListMap<>();
+
+        Pipe(Channel channel) {
+            this.channel = channel;
+        }
+
+        void confirm(long deliveryTag, boolean multiple, boolean ack) {
+            if (!multiple) {
+                CompletableFuture<Void> future = pending.remove(deliveryTag);
+                if (future != null) {
+                    complete(future, deliveryTag, ack);
+                }
+                return;
+            }
+            Map.Entry<Long, CompletableFuture<Void>> entry;
+            while ((entry = pending.firstEntry()) != null && entry.getKey() <= deliveryTag) {
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    complete(entry.getValue(), entry.getKey(), ack);
+                }
+            }
+        }
+
+        private void complete(CompletableFuture<Void> future, long deliveryTag, boolean ack) {
+            if (ack) {
+                ackCount.increment();
+                future.complete(null);
+            } else {
+                nackCount.increment();
+                future.completeExceptionally(new IOException("Message nacked by broker: deliveryTag=" + deliveryTag));
+            }
+        }
+
+        void failAll(Throwable cause) {
+            Map.Entry<Long, CompletableFuture<Void>> entry;
+            while ((entry = pending.pollFirstEntry()) != null) {
+                entry.getValue().completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * 通道池中的一个位置，发布与声明在该位置上串行执行
+     */
+    private final class Slot {
+
+        private volatile Pipe pipe;
+
+        synchronized void publish(String exchange, String routingKey, AMQP.BasicProperties properties,
+                                  byte[] body, CompletableFuture<Void> future) {
+            Pipe current = null;
+            long seqNo = -1;
+            try {
+                current = open();
+                seqNo = current.channel.getNextPublishSeqNo();
+                current.pending.put(seqNo, future);
+                removeOnTimeout(current, seqNo, future);
+                current.channel.basicPublish(exchange, routingKey, properties, body);
+            } catch (IOException | RuntimeException e) {
+                if (current != null) {
+                    current.pending.remove(seqNo, future);
+                }
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * 超时的消息不会再收到确认，从待确认映射移除，避免 broker 一直不确认时映射无限增长
+         */
+        private void removeOnTimeout(Pipe current, long seqNo, CompletableFuture<Void> future) {
+            future.whenComplete((ignored, error) -> {
+                if (error instanceof TimeoutException) {
+                    current.pending.remove(seqNo, future);
+                }
+            });
+        }
+
+        synchronized void execute(ChannelCallback callback) throws IOException {
+            callback.doInChannel(open().channel);
+        }
+
+        private Pipe open() throws IOException {
+            if (pipe != null && pipe.channel.isOpen()) {
+                return pipe;
+            }
+            Channel channel = connection.createChannel();
+            channel.confirmSelect();
+            Pipe created = new Pipe(channel);
+            channel.addConfirmListener(
+                    (deliveryTag, multiple) -> created.confirm(deliveryTag, multiple, true),
+                    (deliveryTag, multiple) -> created.confirm(deliveryTag, multiple, false));
+            channel.addShutdownListener(cause -> {
+                if (!cause.isInitiatedByApplication()) {
+                    logger.warn("Confirm channel closed: {}", cause.getMessage());
+                }
+                created.failAll(cause);
+            });
+            if (pipe != null) {
+                pipe.failAll(new IOException("Confirm channel closed"));
+            }
+            pipe = created;
+            return created;
+        }
+
+        synchronized void close() {
+            if (pipe == null) {
+                return;
+            }
+            try {
+                if (pipe.channel.isOpen()) {
+                    pipe.channel.close();
+                }
+            } catch (Exception e) {
+                logger.debug("Failed to close confirm channel: {}", e.getMessage());
+            }
+            pipe.failAll(new IOException("ConfirmPublisher is closed"));
+            pipe = null;
+        }
+    }
+}
@@ -3,8 +3,7 @@ package io.nebula.messaging.rabbitmq.producer;
 import io.nebula.messaging.core.producer.MessageProducer;
 import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.core.serializer.MessageSerializer;
-import io.nebula.messaging.core.exception.MessageSendException;
-import io.nebula.messaging.rabbitmq.delay.DelayMessage;
+import io.nebula.messaging.rabbitmq.config.RabbitMQProperties;
 import io.nebula.messaging.rabbitmq.delay.DelayMessageProducer;
 import io.nebula.messaging.rabbitmq.delay.DelayMessageResult;
 import com.rabbitmq.client.Channel;
@@ -16,13 +15,22 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * RabbitMQ 消息生产者实现
+ * <p>
+ * 启用发布确认时，消息通过 {@link ConfirmPublisher} 在池化的 confirm 通道上流水线发布：
+ * 异步发送直接返回在 broker ack/nack 后完成的 future，批量发送先发出全部消息再统一等待确认，
+ * 交换机/队列声明按组合缓存只执行一次。未启用时保持每条消息独立通道、发送即返回的行为。
  *
  * @author nebula
  */
@@ -34,14 +42,30 @@ public class RabbitMQMessageProducer<T> implements MessageProducer<T> {
     private final Connection connection;
     private final MessageSerializer messageSerializer;
     private final DelayMessageProducer delayMessageProducer;
+    private final ConfirmPublisher confirmPublisher;
+    private final Set<String> declared = ConcurrentHashMap.newKeySet();
+    private final RabbitMQProducerStats stats = new RabbitMQProducerStats();
     private Duration timeout = Duration.ofSeconds(30);
     private volatile boolean started = false;
 
     public RabbitMQMessageProducer(Connection connection, MessageSerializer messageSerializer, 
                                    DelayMessageProducer delayMessageProducer) {
+        this(connection, messageSerializer, delayMessageProducer, null);
+    }
+
+    /**
+     * @param producerConfig 生产者配置，启用发布确认时使用流水线确认发布；为 null 时不启用
+     */
+    public RabbitMQMessageProducer(Connection connection, MessageSerializer messageSerializer,
+                                   DelayMessageProducer delayMessageProducer,
+                                   RabbitMQProperties.Producer producerConfig) {
         this.connection = connection;
         this.messageSerializer = messageSerializer;
         this.delayMessageProducer = delayMessageProducer;
+        this.confirmPublisher = producerConfig != null && producerConfig.isPublisherConfirms()
+                ? new ConfirmPublisher(connection, producerConfig.getChannelPoolSize(),
+                        producerConfig.getMaxInFlight(), producerConfig.getConfirmTimeout())
+                : null;
     }
 
     @Override
@@ -66,6 +90,10 @@ public class RabbitMQMessageProducer<T> implements MessageProducer<T> {
 
     @Override
     public SendResult send(String topic, String queue, T payload, Map<String, String> headers) {
+        if (confirmPublisher != null) {
+            return publishConfirmed(topic, queue, payload, headers).join();
+        }
+
         long startTime = System.currentTimeMillis();
         String messageId = generateMessageId();
         
@@ -93,31 +121,94 @@ public class RabbitMQMessageProducer<T> implements MessageProducer<T> {
             logger.debug("Message sent successfully: topic={}, queue={}, messageId={}, elapsed={}ms", 
                 topic, queue, messageId, elapsedTime);
             
+            stats.record(true, elapsedTime);
             return new RabbitMQSendResult(true, messageId, topic, queue, startTime, elapsedTime, null, null);
             
         } catch (Exception e) {
-            long elapsedTime = System.currentTimeMillis() - startTime;
-            logger.error("Failed to send message: topic={}, queue={}, messageId={}", topic, queue, messageId, e);
-            return new RabbitMQSendResult(false, messageId, topic, queue, startTime, elapsedTime, 
-                "Failed to send message: " + e.getMessage(), e);
+            return failure(topic, queue, messageId, startTime, e);
         }
     }
 
     @Override
     public CompletableFuture<SendResult> sendAsync(Message<T> message) {
+        if (confirmPublisher != null) {
+            return publishConfirmed(message.getTopic(), message.getQueue(), message.getPayload(), message.getHeaders());
+        }
         return CompletableFuture.supplyAsync(() -> send(message));
     }
 
     @Override
     public CompletableFuture<SendResult> sendAsync(String topic, T payload) {
+        if (confirmPublisher != null) {
+            return publishConfirmed(topic, null, payload, null);
+        }
         return CompletableFuture.supplyAsync(() -> send(topic, payload));
     }
 
     @Override
     public CompletableFuture<SendResult> sendAsync(String topic, String queue, T payload) {
+        if (confirmPublisher != null) {
+            return publishConfirmed(topic, queue, payload, null);
+        }
         return CompletableFuture.supplyAsync(() -> send(topic, queue, payload));
     }
 
+    /**
+     * 流水线确认发布：发出后立即返回，broker 确认后完成
+     */
+    private CompletableFuture<SendResult> publishConfirmed(String topic, String queue, T payload,
+                                                           Map<String, String> headers) {
+        long startTime = System.currentTimeMillis();
+        String messageId = generateMessageId();
+        try {
+            declareOnce(topic, queue);
+            byte[] messageBody = messageSerializer.serialize(payload);
+            AMQP.BasicProperties properties = buildMessageProperties(messageId, headers);
+            String routingKey = queue != null ? queue : "";
+            return confirmPublisher.publish(topic, routingKey, properties, messageBody)
+                    .handle((ignored, error) -> {
+                        if (error != null) {
+                            return failure(topic, queue, messageId, startTime, unwrap(error));
+                        }
+                        long elapsedTime = System.currentTimeMillis() - startTime;
+                        stats.record(true, elapsedTime);
+                        return new RabbitMQSendResult(true, messageId, topic, queue, startTime, elapsedTime, null, null);
+                    });
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failure(topic, queue, messageId, startTime, e));
+        }
+    }
+
+    /**
+     * 声明交换机（及队列绑定），每个组合只声明一次
+     */
+    private void declareOnce(String topic, String queue) throws IOException {
+        String key = queue != null ? topic + '\u0000' + queue : topic;
+        if (declared.contains(key)) {
+            return;
+        }
+        confirmPublisher.execute(channel -> {
+            declareExchangeIfNotExists(channel, topic);
+            if (queue != null) {
+                declareQueueIfNotExists(channel, queue);
+                bindQueueToExchange(channel, queue, topic);
+            }
+        });
+        declared.add(key);
+    }
+
+    private SendResult failure(String topic, String queue, String messageId, long startTime, Throwable e) {
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        logger.error("Failed to send message: topic={}, queue={}, messageId={}", topic, queue, messageId, e);
+        stats.record(false, elapsedTime);
+        return new RabbitMQSendResult(false, messageId, topic, queue, startTime, elapsedTime,
+            "Failed to send message: " + e.getMessage(), e);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
     @Override
     public SendResult sendDelayMessage(String topic, T payload, Duration delay) {
         if (delayMessageProducer == null) {
@@ -177,14 +268,73 @@ public class RabbitMQMessageProducer<T> implements MessageProducer<T> {
 
     @Override
     public BatchSendResult sendBatch(List<Message<T>> messages) {
-        // TODO: 实现批量发送
-        throw new UnsupportedOperationException("Batch send not implemented yet");
+        long startTime = System.currentTimeMillis();
+        List<SendResult> results;
+        if (confirmPublisher != null) {
+            // 先发出全部消息，再统一等待确认
+            List<CompletableFuture<SendResult>> futures = new ArrayList<>(messages.size());
+            for (Message<T> message : messages) {
+                futures.add(publishConfirmed(message.getTopic(), message.getQueue(),
+                        message.getPayload(), message.getHeaders()));
+            }
+            results = new ArrayList<>(futures.size());
+            for (CompletableFuture<SendResult> future : futures) {
+                results.add(future.join());
+            }
+        } else {
+            results = publishOnSingleChannel(messages);
+        }
+        return new RabbitMQBatchSendResult(results, System.currentTimeMillis() - startTime);
     }
 
     @Override
     public BatchSendResult sendBatch(String topic, List<T> payloads) {
-        // TODO: 实现批量发送
-        throw new UnsupportedOperationException("Batch send not implemented yet");
+        List<Message<T>> messages = new ArrayList<>(payloads.size());
+        for (T payload : payloads) {
+            messages.add(Message.<T>builder().topic(topic).payload(payload).build());
+        }
+        return sendBatch(messages);
+    }
+
+    /**
+     * 未启用发布确认时的批量发送：复用同一通道，每个交换机/队列组合只声明一次
+     */
+    private List<SendResult> publishOnSingleChannel(List<Message<T>> messages) {
+        List<SendResult> results = new ArrayList<>(messages.size());
+        Set<String> declaredInBatch = new HashSet<>();
+        try (Channel channel = connection.createChannel()) {
+            for (Message<T> message : messages) {
+                long startTime = System.currentTimeMillis();
+                String messageId = generateMessageId();
+                String topic = message.getTopic();
+                String queue = message.getQueue();
+                try {
+                    if (declaredInBatch.add(queue != null ? topic + '\u0000' + queue : topic)) {
+                        declareExchangeIfNotExists(channel, topic);
+                        if (queue != null) {
+                            declareQueueIfNotExists(channel, queue);
+                            bindQueueToExchange(channel, queue, topic);
+                        }
+                    }
+                    byte[] messageBody = messageSerializer.serialize(message.getPayload());
+                    AMQP.BasicProperties properties = buildMessageProperties(messageId, message.getHeaders());
+                    channel.basicPublish(topic, queue != null ? queue : "", properties, messageBody);
+                    long elapsedTime = System.currentTimeMillis() - startTime;
+                    stats.record(true, elapsedTime);
+                    results.add(new RabbitMQSendResult(true, messageId, topic, queue, startTime, elapsedTime, null, null));
+                } catch (Exception e) {
+                    results.add(failure(topic, queue, messageId, startTime, e));
+                }
+            }
+        } catch (Exception e) {
+            // 通道创建或关闭失败：未发送的消息记为失败
+            long startTime = System.currentTimeMillis();
+            for (int i = results.size(); i < messages.size(); i++) {
+                Message<T> message = messages.get(i);
+                results.add(failure(message.getTopic(), message.getQueue(), generateMessageId(), startTime, e));
+            }
+        }
+        return results;
     }
 
     @Override
@@ -230,12 +380,21 @@ public class RabbitMQMessageProducer<T> implements MessageProducer<T> {
      */
     public void close() {
         stop();
+        if (confirmPublisher != null) {
+            confirmPublisher.close();
+        }
     }
 
     @Override
     public ProducerStats getStats() {
-        // TODO: 实现统计信息
-        return new RabbitMQProducerStats();
+        return stats;
+    }
+
+    /**
+     * 当前等待 broker 确认的消息数，未启用发布确认时为 0
+     */
+    public int getInFlightCount() {
+        return confirmPublisher != null ? confirmPublisher.getInFlight() : 0;
     }
 
     // 私有方法
@@ -318,27 +477,93 @@ public class RabbitMQMessageProducer<T> implements MessageProducer<T> {
         public long getElapsedTime() { return elapsedTime; }
     }
 
+    private record RabbitMQBatchSendResult(List<SendResult> results, long elapsedTime) implements BatchSendResult {
+
+        @Override
+        public boolean isAllSuccess() {
+            return results.stream().allMatch(SendResult::isSuccess);
+        }
+
+        @Override
+        public int getSuccessCount() {
+            return (int) results.stream().filter(SendResult::isSuccess).count();
+        }
+
+        @Override
+        public int getFailedCount() {
+            return getTotalCount() - getSuccessCount();
+        }
+
+        @Override
+        public int getTotalCount() {
+            return results.size();
+        }
+
+        @Override
+        public List<SendResult> getResults() {
+            return results;
+        }
+
+        @Override
+        public List<SendResult> getFailedResults() {
+            return results.stream().filter(r -> !r.isSuccess()).toList();
+        }
+
+        @Override
+        public long getElapsedTime() {
+            return elapsedTime;
+        }
+    }
+
     private static class RabbitMQProducerStats implements ProducerStats {
-        // TODO: 实现统计功能
+
+        private final AtomicLong sentCount = new AtomicLong();
+        private final AtomicLong successCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+        private final AtomicLong totalElapsedTime = new AtomicLong();
+        private volatile long startTime = System.currentTimeMillis();
+
+        void record(boolean success, long elapsed) {
+            sentCount.incrementAndGet();
+            if (success) {
+                successCount.incrementAndGet();
+            } else {
+                failedCount.incrementAndGet();
+            }
+            totalElapsedTime.addAndGet(elapsed);
+        }
+
         @Override
-        public long getSentCount() { return 0; }
+        public long getSentCount() { return sentCount.get(); }
         
         @Override
-        public long getSuccessCount() { return 0; }
+        public long getSuccessCount() { return successCount.get(); }
         
         @Override
-        public long getFailedCount() { return 0; }
+        public long getFailedCount() { return failedCount.get(); }
         
         @Override
-        public double getSuccessRate() { return 0.0; }
+        public double getSuccessRate() {
+            long total = sentCount.get();
+            return total == 0 ? 0.0 : (double) successCount.get() / total;
+        }
         
         @Override
-        public double getAverageElapsedTime() { return 0.0; }
+        public double getAverageElapsedTime() {
+            long total = sentCount.get();
+            return total == 0 ? 0.0 : (double) totalElapsedTime.get() / total;
+        }
         
         @Override
-        public long getStartTime() { return System.currentTimeMillis(); }
+        public long getStartTime() { return startTime; }
         
         @Override
-        public void reset() { }
+        public void reset() {
+            sentCount.set(0);
+            successCount.set(0);
+            failedCount.set(0);
+            totalElapsedTime.set(0);
+            startTime = System.currentTimeMillis();
+        }
     }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package io.nebula.messaging.rabbitmq.consumer;
 
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchOptions;
+import io.nebula.messaging.core.consumer.BatchResult;
 import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.consumer.OrderedOptions;
 import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.core.router.MessageRouter;
 import io.nebula.messaging.core.serializer.MessageSerializer;
@@ -8,12 +12,22 @@ import com.rabbitmq.client.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -128,5 +142,280 @@ class RabbitMQMessageConsumerTest {
         consumer.resume();
         assertThat(consumer.isPaused()).isFalse();
     }
+    
+    @Test
+    void testSubscribeBatchSetsPrefetchAndAcksWholeBatchWithMultiple() throws Exception {
+        DeliverCallback callback = subscribeBatch(3, batch -> BatchResult.success());
+        
+        verify(channel).basicQos(3);
+        deliver(callback, 1, 2, 3);
+        
+        verify(channel).basicAck(3L, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        assertThat(consumer.getStats().getSuccessCount()).isEqualTo(3);
+    }
+    
+    @Test
+    void testSubscribeBatchPartialFailureNacksFailedOnly() throws Exception {
+        DeliverCallback callback = subscribeBatch(4, batch -> BatchResult.failed(1, 3));
+        
+        deliver(callback, 1, 2, 3, 4);
+        
+        verify(channel).basicAck(1L, true);
+        verify(channel).basicNack(2L, false, true);
+        verify(channel).basicAck(3L, false);
+        verify(channel).basicNack(4L, false, true);
+        assertThat(consumer.getStats().getFailedCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void testSubscribeBatchHandlerExceptionRequeuesWholeBatch() throws Exception {
+        DeliverCallback callback = subscribeBatch(2, batch -> {
+            throw new IllegalStateException("db down");
+        });
+        
+        deliver(callback, 1, 2);
+        
+        verify(channel).basicNack(2L, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+    
+    @Test
+    void testSubscribeBatchPauseCancelsConsumerAndRequeuesLateDeliveries() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        DeliverCallback callback = subscribeBatch(2, batch -> {
+            batchSizes.add(batch.size());
+            return BatchResult.success();
+        });
+        
+        deliver(callback, 1);
+        consumer.pause();
+        verify(channel).basicCancel("consumerTag");
+        
+        // 取消生效前到达的投递重新入队，不进入批次，也不会被之后的累积确认带走
+        deliver(callback, 2);
+        verify(channel).basicNack(2L, false, true);
+        
+        consumer.resume();
+        verify(channel, times(2)).basicConsume(eq("test.queue"), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+        deliver(callback, 3);
+        
+        assertThat(batchSizes).containsExactly(2);
+        verify(channel).basicAck(3L, true);
+    }
+    
+    @Test
+    void testSlowBatchSubscriptionDoesNotDelayOtherLingerFlushes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, String> flushThreads = new ConcurrentHashMap<>();
+        DeliverCallback slow = subscribeBatch("slow.queue", 10, Duration.ofMillis(20), batch -> {
+            flushThreads.put("slow", Thread.currentThread().getName());
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return BatchResult.success();
+        });
+        DeliverCallback fast = subscribeBatch("fast.queue", 10, Duration.ofMillis(20), batch -> {
+            flushThreads.put("fast", Thread.currentThread().getName());
+            return BatchResult.success();
+        });
+        
+        try {
+            deliver(slow, 1);
+            // 慢订阅的处理器阻塞在自己的超时刷出线程上，快订阅仍按时刷出
+            deliver(fast, 2);
+            verify(channel, timeout(2000)).basicAck(2L, true);
+            
+            assertThat(flushThreads).containsEntry("slow", "rabbitmq-batch-linger-slow.queue")
+                    .containsEntry("fast", "rabbitmq-batch-linger-fast.queue");
+            verify(channel, never()).basicAck(1L, true);
+        } finally {
+            release.countDown();
+        }
+        verify(channel, timeout(2000)).basicAck(1L, true);
+        consumer.stop();
+    }
+    
+    @Test
+    void testPullReturnsBufferedMessagesTypedAndAcksWithMultiple() throws Exception {
+        when(messageSerializer.deserialize(any(byte[].class), eq(String.class))).thenReturn("payload");
+        
+        assertThat(consumer.pull("test.topic", "test.queue", 10, Duration.ofMillis(10), String.class)).isEmpty();
+        verify(channel).basicQos(100);
+        
+        deliver(pullCallback(), 1, 2, 3);
+        List<Message<String>> messages = consumer.pull("test.topic", "test.queue", 10, Duration.ofSeconds(5), String.class);
+        
+        assertThat(messages).hasSize(3);
+        assertThat(messages).allSatisfy(message -> {
+            assertThat(message.getPayload()).isEqualTo("payload");
+            assertThat(message.getQueue()).isEqualTo("test.queue");
+        });
+        verify(channel).basicAck(3L, true);
+        verify(connection, times(1)).createChannel();
+        verify(channel, never()).basicGet(anyString(), anyBoolean());
+    }
+    
+    @Test
+    void testPullParksUntilDeliveryArrives() throws Exception {
+        when(messageSerializer.deserialize(any(byte[].class), eq(Object.class))).thenReturn("payload");
+        
+        CompletableFuture<List<Message<Object>>> pending =
+                CompletableFuture.supplyAsync(() -> consumer.pull("test.queue", 5, Duration.ofSeconds(5)));
+        ArgumentCaptor<DeliverCallback> captor = ArgumentCaptor.forClass(DeliverCallback.class);
+        verify(channel, timeout(2000)).basicConsume(eq("test.queue"), eq(false), captor.capture(), any(CancelCallback.class));
+        assertThat(pending).isNotDone();
+        
+        deliver(captor.getValue(), 7);
+        
+        assertThat(pending.get(2, TimeUnit.SECONDS)).hasSize(1);
+        verify(channel).basicAck(7L, true);
+    }
+    
+    @Test
+    void testPullRejectsUndeserializableMessageWithoutRequeue() throws Exception {
+        when(messageSerializer.deserialize(any(byte[].class), eq(String.class)))
+                .thenReturn("first")
+                .thenThrow(new MessageSerializer.SerializationException("bad payload"))
+                .thenReturn("third");
+        
+        consumer.pull("test.topic", "test.queue", 10, Duration.ofMillis(10), String.class);
+        deliver(pullCallback(), 1, 2, 3);
+        List<Message<String>> messages = consumer.pull("test.topic", "test.queue", 10, Duration.ofSeconds(5), String.class);
+        
+        assertThat(messages).extracting(Message::getPayload).containsExactly("first", "third");
+        verify(channel).basicNack(2L, false, false);
+        verify(channel).basicAck(3L, true);
+    }
+    
+    @Test
+    void testSubscribeOrderedKeepsPerKeyOrderAndAcksCumulatively() throws Exception {
+        Map<String, List<String>> processed = new ConcurrentHashMap<>();
+        DeliverCallback callback = subscribeOrdered(OrderedOptions.of(4, 8), message ->
+                processed.computeIfAbsent(message.getHeaders().get("shard_key"), k -> new CopyOnWriteArrayList<>())
+                        .add(message.getId()));
+        
+        verify(channel).basicQos(32);
+        for (long tag = 1; tag <= 20; tag++) {
+            deliverKeyed(callback, tag, "order-" + (tag % 3));
+        }
+        
+        verify(channel, timeout(2000)).basicAck(20L, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        assertThat(processed.get("order-0")).containsExactly("m3", "m6", "m9", "m12", "m15", "m18");
+        assertThat(processed.get("order-1")).containsExactly("m1", "m4", "m7", "m10", "m13", "m16", "m19");
+        assertThat(processed.get("order-2")).containsExactly("m2", "m5", "m8", "m11", "m14", "m17", "m20");
+        assertThat(consumer.getStats().getSuccessCount()).isEqualTo(20);
+    }
+    
+    @Test
+    void testSubscribeOrderedDoesNotAckPastPendingMessageAndRequeuesFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        DeliverCallback callback = subscribeOrdered(OrderedOptions.of(2, 4), message -> {
+            if ("m1".equals(message.getId())) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("handler failed");
+            }
+        });
+        
+        deliverKeyed(callback, 1, "slow");
+        deliverKeyed(callback, 2, "fast");
+        
+        verify(channel, after(200).never()).basicAck(anyLong(), anyBoolean());
+        release.countDown();
+        
+        verify(channel, timeout(2000)).basicNack(1L, false, true);
+        verify(channel, timeout(2000)).basicAck(2L, true);
+        assertThat(consumer.getStats().getFailedCount()).isEqualTo(1);
+    }
+    
+    private DeliverCallback pullCallback() throws IOException {
+        ArgumentCaptor<DeliverCallback> captor = ArgumentCaptor.forClass(DeliverCallback.class);
+        verify(channel).basicConsume(eq("test.queue"), eq(false), captor.capture(), any(CancelCallback.class));
+        return captor.getValue();
+    }
+    
+    @Test
+    void testSubscribeOrderedPauseCancelsConsumerAndRequeuesLateDeliveries() throws Exception {
+        List<String> handled = new CopyOnWriteArrayList<>();
+        DeliverCallback callback = subscribeOrdered(OrderedOptions.of(2, 4), message -> handled.add(message.getId()));
+        
+        consumer.pause();
+        verify(channel).basicCancel("consumerTag");
+        deliverKeyed(callback, 1, "a");
+        verify(channel).basicNack(1L, false, true);
+        
+        consumer.resume();
+        verify(channel, times(2)).basicConsume(eq("test.queue"), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+        deliverKeyed(callback, 2, "a");
+        
+        verify(channel, timeout(2000)).basicAck(2L, true);
+        assertThat(handled).containsExactly("m2");
+        consumer.stop();
+    }
+    
+    private DeliverCallback subscribeBatch(int maxBatchSize,
+                                           Function<List<Message<Object>>, BatchResult> function) throws IOException {
+        return subscribeBatch("test.queue", maxBatchSize, Duration.ofSeconds(30), function);
+    }
+    
+    private DeliverCallback subscribeBatch(String queue, int maxBatchSize, Duration lingerTime,
+                                           Function<List<Message<Object>>, BatchResult> function) throws IOException {
+        consumer.subscribeBatch("test.topic", queue, new BatchMessageHandler<>() {
+            @Override
+            public BatchResult handle(List<Message<Object>> messages) {
+                return function.apply(messages);
+            }
+            
+            @Override
+            public Class<Object> getMessageType() {
+                return Object.class;
+            }
+        }, BatchOptions.of(maxBatchSize, lingerTime));
+        
+        ArgumentCaptor<DeliverCallback> captor = ArgumentCaptor.forClass(DeliverCallback.class);
+        verify(channel).basicConsume(eq(queue), eq(false), captor.capture(), any(CancelCallback.class));
+        return captor.getValue();
+    }
+    
+    private DeliverCallback subscribeOrdered(OrderedOptions options,
+                                             Consumer<Message<Object>> action) throws IOException {
+        consumer.subscribeOrdered("test.topic", "test.queue", new MessageHandler<>() {
+            @Override
+            public void handle(Message<Object> message) {
+                action.accept(message);
+            }
+            
+            @Override
+            public Class<Object> getMessageType() {
+                return Object.class;
+            }
+        }, options);
+        
+        ArgumentCaptor<DeliverCallback> captor = ArgumentCaptor.forClass(DeliverCallback.class);
+        verify(channel).basicConsume(eq("test.queue"), eq(false), captor.capture(), any(CancelCallback.class));
+        return captor.getValue();
+    }
+    
+    private void deliverKeyed(DeliverCallback callback, long deliveryTag, String key) throws IOException {
+        Envelope envelope = new Envelope(deliveryTag, false, "test.topic", "test.topic");
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .messageId("m" + deliveryTag)
+                .headers(Map.of("shard_key", key))
+                .build();
+        callback.handle("consumerTag", new Delivery(envelope, properties, new byte[0]));
+    }
+    
+    private void deliver(DeliverCallback callback, long... deliveryTags) throws IOException {
+        for (long deliveryTag : deliveryTags) {
+            Envelope envelope = new Envelope(deliveryTag, false, "test.topic", "test.topic");
+            callback.handle("consumerTag", new Delivery(envelope, new AMQP.BasicProperties(), new byte[0]));
+        }
+    }
 }
-
@@ -317,6 +317,64 @@ class DelayMessageProducerTest {
         assertThat(result.getSuccessRate()).isCloseTo(0.67, within(0.01));
     }
     
+    @Test
+    @DisplayName("测试时间轮模式到期后直接发布到目标交换机")
+    void testTimingWheelDispatch() throws Exception {
+        RabbitDelayMessageProperties properties = new RabbitDelayMessageProperties();
+        properties.setTimingWheelEnabled(true);
+        DelayMessageProducer wheelProducer = new DelayMessageProducer(connection, messageSerializer, properties);
+        try {
+            TestPayload payload = new TestPayload("wheel-message");
+            byte[] serializedData = "serialized-data".getBytes();
+            when(messageSerializer.serialize(payload)).thenReturn(serializedData);
+            
+            // 低于TTL模式的最小延时
+            DelayMessageResult result = wheelProducer.send("test.topic", "test.queue", payload, Duration.ofMillis(50));
+            assertThat(result.isSuccess()).isTrue();
+            
+            ArgumentCaptor<com.rabbitmq.client.AMQP.BasicProperties> propsCaptor =
+                    ArgumentCaptor.forClass(com.rabbitmq.client.AMQP.BasicProperties.class);
+            verify(channel, timeout(2000)).basicPublish(eq("test.topic"), eq("test.queue"),
+                    propsCaptor.capture(), eq(serializedData));
+            verify(channel, never()).queueDeclare(startsWith("nebula.delay.queue."), anyBoolean(), anyBoolean(),
+                    anyBoolean(), anyMap());
+            
+            Map<String, Object> headers = propsCaptor.getValue().getHeaders();
+            assertThat(headers.get("x-delay-millis")).isEqualTo(50L);
+            assertThat(headers.get("x-delay-max-retries")).isEqualTo(3);
+            assertThat(headers).doesNotContainKey("x-delay-scheduled-millis");
+        } finally {
+            wheelProducer.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("测试时间轮模式取消延时消息")
+    void testTimingWheelCancel() throws Exception {
+        RabbitDelayMessageProperties properties = new RabbitDelayMessageProperties();
+        properties.setTimingWheelEnabled(true);
+        DelayMessageProducer wheelProducer = new DelayMessageProducer(connection, messageSerializer, properties);
+        try {
+            DelayMessageResult result = wheelProducer.send("test.topic", new TestPayload("cancel"), Duration.ofMillis(200));
+            assertThat(wheelProducer.getPendingCount()).isEqualTo(1);
+            
+            assertThat(wheelProducer.cancel(result.getMessageId())).isTrue();
+            assertThat(wheelProducer.cancel(result.getMessageId())).isFalse();
+            assertThat(wheelProducer.getPendingCount()).isZero();
+            
+            Thread.sleep(400);
+            verify(channel, never()).basicPublish(anyString(), anyString(), any(), any());
+        } finally {
+            wheelProducer.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("测试TTL模式不支持取消")
+    void testCancelWithoutTimingWheel() {
+        assertThat(producer.cancel("DELAY_unknown")).isFalse();
+    }
+    
     /**
      * 测试载荷类
      */
@@ -0,0 +1,140 @@
+package io.nebula.messaging.rabbitmq.producer;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmCallback;
+import com.rabbitmq.client.Connection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ConfirmPublisher单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ConfirmPublisherTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Channel channel;
+
+    private ConfirmCallback ackCallback;
+    private ConfirmCallback nackCallback;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(connection.createChannel()).thenReturn(channel);
+        lenient().when(channel.isOpen()).thenReturn(true);
+        lenient().when(channel.getNextPublishSeqNo()).thenReturn(1L, 2L, 3L, 4L);
+    }
+
+    private ConfirmPublisher newPublisher(int maxInFlight, long confirmTimeout) {
+        return new ConfirmPublisher(connection, 1, maxInFlight, confirmTimeout);
+    }
+
+    private void captureCallbacks() {
+        ArgumentCaptor<ConfirmCallback> ack = ArgumentCaptor.forClass(ConfirmCallback.class);
+        ArgumentCaptor<ConfirmCallback> nack = ArgumentCaptor.forClass(ConfirmCallback.class);
+        verify(channel).addConfirmListener(ack.capture(), nack.capture());
+        ackCallback = ack.getValue();
+        nackCallback = nack.getValue();
+    }
+
+    private CompletableFuture<Void> publish(ConfirmPublisher publisher) {
+        return publisher.publish("test.topic", "", null, "body".getBytes());
+    }
+
+    @Test
+    void testMultipleAckCompletesAllUpToDeliveryTag() throws Exception {
+        ConfirmPublisher publisher = newPublisher(16, 5000);
+        CompletableFuture<Void> first = publish(publisher);
+        CompletableFuture<Void> second = publish(publisher);
+        CompletableFuture<Void> third = publish(publisher);
+        captureCallbacks();
+
+        verify(channel).confirmSelect();
+        assertThat(publisher.getInFlight()).isEqualTo(3);
+
+        ackCallback.handle(2L, true);
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(third).isNotDone();
+        assertThat(publisher.getInFlight()).isEqualTo(1);
+        assertThat(publisher.getAckCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testNackFailsOnlyThatMessage() throws Exception {
+        ConfirmPublisher publisher = newPublisher(16, 5000);
+        CompletableFuture<Void> first = publish(publisher);
+        CompletableFuture<Void> second = publish(publisher);
+        captureCallbacks();
+
+        nackCallback.handle(1L, false);
+        ackCallback.handle(2L, false);
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompleted();
+        assertThat(publisher.getNackCount()).isEqualTo(1);
+        assertThat(publisher.getInFlight()).isZero();
+    }
+
+    @Test
+    void testUnconfirmedMessageTimesOut() {
+        ConfirmPublisher publisher = newPublisher(16, 50);
+        CompletableFuture<Void> future = publish(publisher);
+
+        assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void testTimedOutMessageIsRemovedFromPendingConfirms() throws Exception {
+        ConfirmPublisher publisher = newPublisher(16, 50);
+        CompletableFuture<Void> timedOut = publish(publisher);
+        captureCallbacks();
+        assertThat(publisher.getPendingConfirms()).isEqualTo(1);
+
+        assertThatThrownBy(() -> timedOut.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        long deadline = System.currentTimeMillis() + 1000;
+        while ((publisher.getPendingConfirms() > 0 || publisher.getInFlight() > 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(publisher.getPendingConfirms()).isZero();
+        assertThat(publisher.getInFlight()).isZero();
+        assertThat(publisher.getTimeoutCount()).isEqualTo(1);
+
+        // 迟到的确认不再匹配已超时的消息
+        CompletableFuture<Void> next = publish(publisher);
+        ackCallback.handle(2L, true);
+        assertThat(next).isCompleted();
+        assertThat(publisher.getAckCount()).isEqualTo(1);
+        assertThat(publisher.getPendingConfirms()).isZero();
+    }
+
+    @Test
+    void testPublishFailureReleasesWindow() throws Exception {
+        doThrow(new java.io.IOException("Connection error"))
+                .when(channel).basicPublish(anyString(), anyString(), any(), any(byte[].class));
+        ConfirmPublisher publisher = newPublisher(1, 5000);
+
+        CompletableFuture<Void> future = publish(publisher);
+
+        assertThat(future).isCompletedExceptionally();
+        assertThat(publisher.getInFlight()).isZero();
+    }
+}
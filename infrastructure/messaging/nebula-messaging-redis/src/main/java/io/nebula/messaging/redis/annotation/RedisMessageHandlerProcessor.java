@@ -7,11 +7,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.concurrent.Executor;
 
 /**
@@ -84,20 +87,20 @@ public class RedisMessageHandlerProcessor implements BeanPostProcessor {
         boolean async = annotation.async();
         boolean throwOnError = annotation.throwOnError();
         Class<?> payloadType = annotation.payloadType();
+        Type payloadGenericType = payloadType;
 
-        // 如果没有指定载荷类型，从方法参数推断
+        // 如果没有指定载荷类型，从方法参数的泛型推断，消费者据此解码出处理方法需要的载荷
         if (payloadType == Object.class && method.getParameterCount() > 0) {
-            Class<?> paramType = method.getParameterTypes()[0];
-            if (Message.class.isAssignableFrom(paramType)) {
-                // 如果参数是 Message 类型，尝试从泛型获取载荷类型
-                // 这里简化处理，使用 Object
-                payloadType = Object.class;
-            } else {
-                payloadType = paramType;
-            }
+            ResolvableType parameter = ResolvableType.forMethodParameter(method, 0, bean.getClass());
+            ResolvableType payload = Message.class.isAssignableFrom(parameter.toClass())
+                    ? parameter.as(Message.class).getGeneric(0) : parameter;
+            payloadType = payload.resolve(Object.class);
+            payloadGenericType = payload.getType() instanceof ParameterizedType && !payload.hasUnresolvableGenerics()
+                    ? payload.getType() : payloadType;
         }
 
         final Class<?> finalPayloadType = payloadType;
+        final Type finalPayloadGenericType = payloadGenericType;
 
         return new MessageHandler<T>() {
             @Override
@@ -142,6 +145,11 @@ public class RedisMessageHandlerProcessor implements BeanPostProcessor {
             public Class<T> getMessageType() {
                 return (Class<T>) finalPayloadType;
             }
+
+            @Override
+            public Type getPayloadType() {
+                return finalPayloadGenericType;
+            }
         };
     }
 }
@@ -2,7 +2,11 @@ package io.nebula.messaging.redis.config;
 
 import io.nebula.messaging.redis.RedisMessageManager;
 import io.nebula.messaging.redis.annotation.RedisMessageHandlerProcessor;
+import io.nebula.messaging.core.dedup.DeduplicationStore;
+import io.nebula.messaging.core.delay.DelayStore;
 import io.nebula.messaging.redis.consumer.RedisMessageConsumer;
+import io.nebula.messaging.redis.dedup.RedisDeduplicationStore;
+import io.nebula.messaging.redis.delay.RedisDelayStore;
 import io.nebula.messaging.redis.producer.RedisMessageProducer;
 import io.nebula.messaging.redis.stream.RedisStreamConsumer;
 import io.nebula.messaging.redis.stream.RedisStreamProducer;
@@ -118,6 +122,29 @@ public class RedisMessagingAutoConfiguration {
         return new RedisMessageHandlerProcessor(messageConsumer, redisMessageExecutor);
     }
 
+    /**
+     * 延时消息存储（供时间轮调度器保存长延时消息）
+     */
+    @Bean
+    @ConditionalOnMissingBean(DelayStore.class)
+    public RedisDelayStore redisDelayStore(StringRedisTemplate redisTemplate, RedisMessageSerializer serializer) {
+        log.info("初始化 Redis 延时消息存储");
+        return new RedisDelayStore(redisTemplate, serializer, properties.getChannelPrefix());
+    }
+
+    /**
+     * 消息去重存储（替代 @MessageHandler(idempotent = true) 默认的本地布隆过滤器，多实例共享）
+     */
+    @Bean
+    @ConditionalOnMissingBean(DeduplicationStore.class)
+    @ConditionalOnProperty(prefix = "nebula.messaging.redis.dedup", name = "enabled", havingValue = "true")
+    public RedisDeduplicationStore redisDeduplicationStore(StringRedisTemplate redisTemplate) {
+        RedisMessagingProperties.DedupConfig dedup = properties.getDedup();
+        log.info("初始化 Redis 消息去重存储: window={}ms", dedup.getWindow());
+        return new RedisDeduplicationStore(redisTemplate, properties.getChannelPrefix(),
+                Duration.ofMillis(dedup.getWindow()), Duration.ofMillis(dedup.getProcessingTimeout()));
+    }
+
     /**
      * Redis 消息管理器
      */
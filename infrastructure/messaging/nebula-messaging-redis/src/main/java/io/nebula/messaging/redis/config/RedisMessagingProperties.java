@@ -25,6 +25,11 @@ public class RedisMessagingProperties {
      */
     private String serializer = "json";
 
+    /**
+     * 批量发送时单次 pipeline 的最大消息数
+     */
+    private int pipelineBatchSize = 500;
+
     /**
      * Pub/Sub 配置
      */
@@ -35,6 +40,11 @@ public class RedisMessagingProperties {
      */
     private StreamConfig stream = new StreamConfig();
 
+    /**
+     * 消息去重配置
+     */
+    private DedupConfig dedup = new DedupConfig();
+
     /**
      * Pub/Sub 配置
      */
@@ -85,6 +95,66 @@ public class RedisMessagingProperties {
          * 消息保留时间（毫秒），0表示不限制
          */
         private long maxLen = 0;
+
+        /**
+         * 待确认消息空闲超过该时间（毫秒）后被重新认领，0表示不认领
+         */
+        private long claimIdleTime = 60000;
+
+        /**
+         * 待确认消息恢复与积压检查的间隔（毫秒）
+         */
+        private long recoveryInterval = 10000;
+
+        /**
+         * 每次检查的待确认消息数量上限
+         */
+        private int claimBatchSize = 100;
+
+        /**
+         * 最大投递次数，达到后转入死信流，0表示不限制
+         */
+        private int maxDeliveryCount = 5;
+
+        /**
+         * 死信流键后缀
+         */
+        private String deadLetterSuffix = ":dlq";
+
+        /**
+         * 每个订阅的最小监听并发数
+         */
+        private int minConcurrency = 1;
+
+        /**
+         * 每个订阅的最大监听并发数，大于最小值时按积压自动伸缩
+         */
+        private int maxConcurrency = 1;
+
+        /**
+         * 每个监听消费者承担的积压消息数，用于计算目标并发数
+         */
+        private long backlogPerConsumer = 1000;
     }
-}
 
+    /**
+     * 消息去重配置
+     */
+    @Data
+    public static class DedupConfig {
+        /**
+         * 是否启用 Redis 去重存储（替代本地布隆过滤器）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 去重窗口（毫秒），处理成功的消息键在窗口内被记住
+         */
+        private long window = 600000;
+
+        /**
+         * 处理中占用的超时时间（毫秒），消费者崩溃后超过该时间重新投递的消息可以再次处理
+         */
+        private long processingTimeout = 300000;
+    }
+}
@@ -218,7 +218,7 @@ public class RedisMessageConsumer<T> implements MessageConsumer<T> {
 
             try {
                 String json = new String(message.getBody());
-                Message<T> msg = serializer.deserialize(json);
+                Message<T> msg = serializer.deserialize(json, handler.getPayloadType());
 
                 log.debug("收到消息: topic={}, messageId={}", topic, msg.getId());
                 handler.handle(msg);
@@ -0,0 +1,111 @@
+package io.nebula.messaging.redis.dedup;
+
+import io.nebula.messaging.core.dedup.DeduplicationStore;
+import io.nebula.messaging.redis.support.RedisPipelines;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于 Redis 的消息去重存储
+ * <p>
+ * 每个消息键对应 {@code <prefix>dedup:<key>}：占用时 {@code SET NX PX processingTimeout} 写入处理中标记，
+ * 处理成功后覆盖为完成标记并把过期时间延长到去重窗口，处理失败时删除。多个实例共享同一存储，
+ * 同一条消息在窗口内只被处理一次；消费者崩溃时处理中标记按超时自动过期，重新投递后可再次处理。
+ * 批量占用与批量登记各在一次 pipeline 内完成。
+ * </p>
+ */
+@Slf4j
+public class RedisDeduplicationStore implements DeduplicationStore {
+
+    private static final String PROCESSING = "processing";
+    private static final String DONE = "done";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration window;
+    private final Duration processingTimeout;
+
+    /**
+     * @param keyPrefix         键前缀，例如 {@code nebula:}
+     * @param window            去重窗口
+     * @param processingTimeout 处理中标记的过期时间
+     */
+    public RedisDeduplicationStore(StringRedisTemplate redisTemplate, String keyPrefix,
+                                   Duration window, Duration processingTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix + "dedup:";
+        this.window = window;
+        this.processingTimeout = processingTimeout;
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(keyPrefix + key, PROCESSING, processingTimeout));
+    }
+
+    @Override
+    public boolean[] tryAcquireAll(List<String> keys) {
+        List<Object> results = RedisPipelines.execute(redisTemplate, operations -> {
+            for (String key : keys) {
+                operations.opsForValue().setIfAbsent(keyPrefix + key, PROCESSING, processingTimeout);
+            }
+        });
+        boolean[] acquired = new boolean[keys.size()];
+        for (int i = 0; i < acquired.length; i++) {
+            Object result = results.get(i);
+            if (result instanceof Throwable error) {
+                // 已占用的键必须释放，否则要等处理中标记过期后才能再次处理
+                releaseAcquired(keys.subList(0, i), acquired);
+                throw new IllegalStateException("去重键写入 Redis 失败: key=" + keys.get(i), error);
+            }
+            acquired[i] = Boolean.TRUE.equals(result);
+        }
+        return acquired;
+    }
+
+    @Override
+    public void release(String key, boolean processed) {
+        if (processed) {
+            redisTemplate.opsForValue().set(keyPrefix + key, DONE, window);
+        } else {
+            redisTemplate.delete(keyPrefix + key);
+        }
+    }
+
+    @Override
+    public void releaseAll(List<String> keys, boolean[] processed) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object> results = RedisPipelines.execute(redisTemplate, operations -> {
+            for (int i = 0; i < processed.length; i++) {
+                if (processed[i]) {
+                    operations.opsForValue().set(keyPrefix + keys.get(i), DONE, window);
+                } else {
+                    operations.delete(keyPrefix + keys.get(i));
+                }
+            }
+        });
+        for (Object result : results) {
+            if (result instanceof Throwable error) {
+                // 登记失败不影响本次处理结果，处理中标记会按超时过期
+                log.warn("去重结果写入 Redis 失败: {}", error.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void releaseAcquired(List<String> keys, boolean[] acquired) {
+        List<String> held = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (acquired[i]) {
+                held.add(keys.get(i));
+            }
+        }
+        releaseAll(held, new boolean[held.size()]);
+    }
+}
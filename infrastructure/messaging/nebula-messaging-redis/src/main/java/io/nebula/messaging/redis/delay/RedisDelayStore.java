@@ -0,0 +1,172 @@
+package io.nebula.messaging.redis.delay;
+
+import io.nebula.messaging.core.delay.DelayStore;
+import io.nebula.messaging.core.delay.DelayedMessage;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.redis.support.RedisMessageSerializer;
+import io.nebula.messaging.redis.support.RedisPipelines;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于 Redis 的延时消息存储
+ * <p>
+ * 有序集合 {@code <prefix>delay:index} 以投递时间为分值索引消息 ID，
+ * 哈希 {@code <prefix>delay:messages} 保存消息 JSON。写入通过 pipeline 在一次往返内完成两条命令；
+ * 删除以 ZREM 的返回值作为投递权，多个实例共享同一存储时每条消息只被一个实例投递。
+ * </p>
+ * <p>
+ * 加载按分值游标分页（ZRANGEBYSCORE ... LIMIT），每页之后以 HMGET 取出消息体，
+ * 积压很多时也不会用单条命令扫描整个区间、阻塞 Redis。
+ * 下一页从上一页最后的分值（闭区间）继续，同分值的消息按标识去重；
+ * 整页分值相同时才用偏移量跳过，避免并发删除导致同分值的消息被漏掉。
+ * </p>
+ */
+@Slf4j
+public class RedisDelayStore implements DelayStore {
+
+    /**
+     * 默认每页加载的消息数
+     */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageSerializer serializer;
+    private final String indexKey;
+    private final String messagesKey;
+    private final int pageSize;
+
+    /**
+     * @param keyPrefix 键前缀，例如 {@code nebula:}
+     */
+    public RedisDelayStore(StringRedisTemplate redisTemplate, RedisMessageSerializer serializer, String keyPrefix) {
+        this(redisTemplate, serializer, keyPrefix, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param keyPrefix 键前缀，例如 {@code nebula:}
+     * @param pageSize  每条 ZRANGEBYSCORE 返回的最大消息数
+     */
+    public RedisDelayStore(StringRedisTemplate redisTemplate, RedisMessageSerializer serializer, String keyPrefix,
+                           int pageSize) {
+        this.redisTemplate = redisTemplate;
+        this.serializer = serializer;
+        this.indexKey = keyPrefix + "delay:index";
+        this.messagesKey = keyPrefix + "delay:messages";
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @Override
+    public void save(DelayedMessage message) {
+        String json = serializer.serialize(message.message());
+        List<Object> results = RedisPipelines.execute(redisTemplate, operations -> {
+            operations.opsForHash().put(messagesKey, message.id(), json);
+            operations.opsForZSet().add(indexKey, message.id(), message.dueTime());
+        });
+        for (Object result : results) {
+            if (result instanceof Throwable error) {
+                throw new IllegalStateException("延时消息写入 Redis 失败: id=" + message.id(), error);
+            }
+        }
+    }
+
+    @Override
+    public List<DelayedMessage> loadDue(long fromExclusive, long toInclusive) {
+        // 分值为毫秒整数，左开区间即从 fromExclusive + 1 开始
+        double min = fromExclusive == Long.MIN_VALUE ? Double.NEGATIVE_INFINITY : fromExclusive + 1;
+        List<DelayedMessage> messages = new ArrayList<>();
+        // 上一页最后一个分值上已返回的标识，下一页从该分值重新开始时据此去重
+        Set<String> seenAtMin = new HashSet<>();
+        long offset = 0;
+        while (true) {
+            Set<ZSetOperations.TypedTuple<String>> page =
+                    redisTemplate.opsForZSet().rangeByScoreWithScores(indexKey, min, toInclusive, offset, pageSize);
+            if (page == null || page.isEmpty()) {
+                return messages;
+            }
+
+            List<ZSetOperations.TypedTuple<String>> fresh = new ArrayList<>(page.size());
+            for (ZSetOperations.TypedTuple<String> tuple : page) {
+                if (tuple.getScore() != min || !seenAtMin.contains(tuple.getValue())) {
+                    fresh.add(tuple);
+                }
+            }
+            load(fresh, messages);
+            if (page.size() < pageSize) {
+                return messages;
+            }
+
+            double last = lastScore(page);
+            if (last != min) {
+                seenAtMin.clear();
+            }
+            for (ZSetOperations.TypedTuple<String> tuple : page) {
+                if (tuple.getScore() == last) {
+                    seenAtMin.add(tuple.getValue());
+                }
+            }
+            // 整页分值相同时只能用偏移量前进，跳过该分值上已见过的消息
+            offset = last != min ? 0 : Math.max(offset + 1, seenAtMin.size());
+            min = last;
+        }
+    }
+
+    /**
+     * 取出一页消息体，已被其他实例投递或取消的跳过
+     */
+    private void load(List<ZSetOperations.TypedTuple<String>> due, List<DelayedMessage> messages) {
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Object> ids = new ArrayList<>(due.size());
+        for (ZSetOperations.TypedTuple<String> tuple : due) {
+            ids.add(tuple.getValue());
+        }
+        List<Object> payloads = redisTemplate.opsForHash().multiGet(messagesKey, ids);
+
+        int index = 0;
+        for (ZSetOperations.TypedTuple<String> tuple : due) {
+            Object json = payloads.get(index++);
+            if (json == null) {
+                // 已被其他实例投递或取消
+                continue;
+            }
+            try {
+                Message<?> message = serializer.deserialize((String) json);
+                messages.add(new DelayedMessage(tuple.getValue(), tuple.getScore().longValue(), message));
+            } catch (Exception e) {
+                log.error("延时消息反序列化失败，跳过: id={}, error={}", tuple.getValue(), e.getMessage());
+            }
+        }
+    }
+
+    private static double lastScore(Set<ZSetOperations.TypedTuple<String>> page) {
+        double last = Double.NEGATIVE_INFINITY;
+        for (ZSetOperations.TypedTuple<String> tuple : page) {
+            last = tuple.getScore();
+        }
+        return last;
+    }
+
+    @Override
+    public boolean remove(String id) {
+        Long removed = redisTemplate.opsForZSet().remove(indexKey, id);
+        if (removed == null || removed == 0) {
+            return false;
+        }
+        redisTemplate.opsForHash().delete(messagesKey, id);
+        return true;
+    }
+
+    @Override
+    public long size() {
+        Long size = redisTemplate.opsForZSet().zCard(indexKey);
+        return size != null ? size : 0;
+    }
+}
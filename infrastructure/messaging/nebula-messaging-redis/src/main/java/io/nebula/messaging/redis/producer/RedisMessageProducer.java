@@ -1,16 +1,17 @@
 package io.nebula.messaging.redis.producer;
 
-import io.nebula.messaging.core.exception.MessageSendException;
 import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.core.producer.MessageProducer;
 import io.nebula.messaging.redis.config.RedisMessagingProperties;
 import io.nebula.messaging.redis.support.RedisMessageSerializer;
+import io.nebula.messaging.redis.support.RedisPipelines;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -23,6 +24,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * <p>
  * 基于 Redis Pub/Sub 实现的消息生产者。
  * 注意：Redis Pub/Sub 不支持延迟消息、顺序消息、事务消息等高级特性。
+ * 批量发送通过 pipeline 在一次网络往返内完成多条 PUBLISH。
  * </p>
  */
 @Slf4j
@@ -154,9 +156,10 @@ public class RedisMessageProducer<T> implements MessageProducer<T> {
         long startTime = System.currentTimeMillis();
         DefaultBatchSendResult batchResult = new DefaultBatchSendResult();
 
-        for (Message<T> message : messages) {
-            SendResult result = send(message);
-            batchResult.addResult(result);
+        // 每 pipelineBatchSize 条消息一次 pipeline，单次往返发送
+        int chunkSize = Math.max(properties.getPipelineBatchSize(), 1);
+        for (int from = 0; from < messages.size(); from += chunkSize) {
+            sendPipelined(messages.subList(from, Math.min(from + chunkSize, messages.size())), batchResult);
         }
 
         batchResult.setElapsedTime(System.currentTimeMillis() - startTime);
@@ -165,16 +168,15 @@ public class RedisMessageProducer<T> implements MessageProducer<T> {
 
     @Override
     public BatchSendResult sendBatch(String topic, List<T> payloads) {
-        long startTime = System.currentTimeMillis();
-        DefaultBatchSendResult batchResult = new DefaultBatchSendResult();
-
+        List<Message<T>> messages = new ArrayList<>(payloads.size());
         for (T payload : payloads) {
-            SendResult result = send(topic, payload);
-            batchResult.addResult(result);
+            messages.add(Message.<T>builder()
+                    .topic(topic)
+                    .payload(payload)
+                    .createTime(LocalDateTime.now())
+                    .build());
         }
-
-        batchResult.setElapsedTime(System.currentTimeMillis() - startTime);
-        return batchResult;
+        return sendBatch(messages);
     }
 
     @Override
@@ -225,6 +227,75 @@ public class RedisMessageProducer<T> implements MessageProducer<T> {
         return stats;
     }
 
+    /**
+     * 在一次 pipeline 内发布一组消息（PUBLISH），按顺序回填每条消息的发送结果
+     */
+    private void sendPipelined(List<Message<T>> messages, DefaultBatchSendResult batchResult) {
+        long startTime = System.currentTimeMillis();
+        int size = messages.size();
+        String[] channels = new String[size];
+        String[] payloads = new String[size];
+        SendResult[] results = new SendResult[size];
+
+        for (int i = 0; i < size; i++) {
+            Message<T> message = messages.get(i);
+            try {
+                message.setId(generateMessageId());
+                message.setSendTime(LocalDateTime.now());
+                channels[i] = buildChannel(message.getTopic());
+                payloads[i] = serializer.serialize(message);
+            } catch (Exception e) {
+                results[i] = failure(message, startTime, e);
+            }
+        }
+
+        try {
+            List<Object> replies = RedisPipelines.execute(redisTemplate, operations -> {
+                for (int i = 0; i < size; i++) {
+                    if (results[i] == null) {
+                        operations.convertAndSend(channels[i], payloads[i]);
+                    }
+                }
+            });
+
+            long elapsed = System.currentTimeMillis() - startTime;
+            int reply = 0;
+            for (int i = 0; i < size; i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                Message<T> message = messages.get(i);
+                Object value = reply < replies.size() ? replies.get(reply) : null;
+                reply++;
+                if (value instanceof Throwable error) {
+                    results[i] = failure(message, startTime, error);
+                } else {
+                    stats.recordSuccess(elapsed);
+                    results[i] = new DefaultSendResult(true, message.getId(), message.getTopic(),
+                            message.getQueue(), elapsed, null, null);
+                }
+            }
+            log.debug("批量消息发送完成: count={}, elapsed={}ms", size, elapsed);
+        } catch (Exception e) {
+            for (int i = 0; i < size; i++) {
+                if (results[i] == null) {
+                    results[i] = failure(messages.get(i), startTime, e);
+                }
+            }
+        }
+
+        for (SendResult result : results) {
+            batchResult.addResult(result);
+        }
+    }
+
+    private SendResult failure(Message<T> message, long startTime, Throwable e) {
+        long elapsed = System.currentTimeMillis() - startTime;
+        stats.recordFailure();
+        log.error("消息发送失败: topic={}, error={}", message.getTopic(), e.getMessage(), e);
+        return new DefaultSendResult(false, null, message.getTopic(), message.getQueue(), elapsed, e.getMessage(), e);
+    }
+
     /**
      * 构建 Redis 频道名称
      */
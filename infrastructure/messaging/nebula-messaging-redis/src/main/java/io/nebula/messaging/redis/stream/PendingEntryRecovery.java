@@ -0,0 +1,150 @@
+package io.nebula.messaging.redis.stream;
+
+import io.nebula.messaging.redis.config.RedisMessagingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroup;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stream 待确认消息恢复
+ * <p>
+ * 消费者崩溃或处理失败时，消息停留在消费者组的 pending 列表（PEL）中不会再被投递。
+ * 恢复任务周期性地检查 PEL：
+ * <ul>
+ *     <li>空闲超过 claimIdleTime 的消息以 XCLAIM（带 min-idle 条件，避免与其他实例重复认领）转给当前消费者重新处理</li>
+ *     <li>投递次数达到 maxDeliveryCount 的消息同样先认领，只有认领成功的才复制到死信流并确认，从 PEL 中移除</li>
+ * </ul>
+ * XPENDING 的结果只是快照：读取之后其他实例可能已认领并正在处理某条消息。
+ * 认领时的 min-idle 条件保证一条消息只会被空闲超时后的第一个认领者拿到，
+ * 因此死信与确认只针对本次 XCLAIM 实际返回的消息，不会重复写入死信流，也不会确认别人正在处理的消息。
+ * 使用 XPENDING + XCLAIM 而不是 XAUTOCLAIM：XAUTOCLAIM 不返回投递次数，判断死信仍需 XPENDING，
+ * 且 Spring Data Redis 未提供 XAUTOCLAIM 的类型化 API。
+ * </p>
+ */
+@Slf4j
+class PendingEntryRecovery {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessagingProperties.StreamConfig config;
+    private final String consumerGroup;
+    private final LongAdder claimedCount = new LongAdder();
+    private final LongAdder deadLetterCount = new LongAdder();
+
+    PendingEntryRecovery(StringRedisTemplate redisTemplate, RedisMessagingProperties.StreamConfig config,
+                         String consumerGroup) {
+        this.redisTemplate = redisTemplate;
+        this.config = config;
+        this.consumerGroup = consumerGroup;
+    }
+
+    /**
+     * 读取消费者组的积压情况（XINFO GROUPS）
+     */
+    StreamBacklog inspect(String streamKey) {
+        StreamOperations<String, Object, Object> ops = redisTemplate.opsForStream();
+        XInfoGroup group = ops.groups(streamKey).stream()
+                .filter(candidate -> consumerGroup.equals(candidate.groupName()))
+                .findFirst()
+                .orElse(null);
+        if (group == null) {
+            return new StreamBacklog(streamKey, -1, 0, 0);
+        }
+        // lag 字段自 Redis 7 起提供，Spring Data Redis 未单独暴露，从原始字段读取
+        Object lag = group.getRaw().get("lag");
+        return new StreamBacklog(streamKey,
+                lag instanceof Number ? ((Number) lag).longValue() : -1,
+                group.pendingCount(),
+                group.consumerCount());
+    }
+
+    /**
+     * 处理空闲的待确认消息：先带 min-idle 条件认领给指定消费者，
+     * 认领到的消息中超过投递次数的转入死信流，其余交给调用方重新处理。
+     * 已被裁剪的消息由 XCLAIM 从 PEL 中清除（Redis 7 起），不会返回
+     *
+     * @param streamKey Stream 键名
+     * @param owner     认领消息的消费者名称
+     * @return 认领到的消息，由调用方重新交给处理器
+     */
+    List<ObjectRecord<String, String>> reclaim(String streamKey, String owner) {
+        if (config.getClaimIdleTime() <= 0) {
+            return List.of();
+        }
+        StreamOperations<String, Object, Object> ops = redisTemplate.opsForStream();
+        Duration minIdle = Duration.ofMillis(config.getClaimIdleTime());
+        PendingMessages pending = ops.pending(streamKey, consumerGroup, Range.unbounded(), config.getClaimBatchSize());
+
+        // 快照中的投递次数，认领后据此决定重新处理还是转入死信流
+        Map<RecordId, Long> deliveryCounts = new LinkedHashMap<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                deliveryCounts.put(message.getId(), message.getTotalDeliveryCount());
+            }
+        }
+        if (deliveryCounts.isEmpty()) {
+            return List.of();
+        }
+
+        List<MapRecord<String, Object, Object>> claimed =
+                ops.claim(streamKey, consumerGroup, owner, minIdle, deliveryCounts.keySet().toArray(new RecordId[0]));
+
+        List<ObjectRecord<String, String>> records = new ArrayList<>(claimed.size());
+        for (MapRecord<String, Object, Object> record : claimed) {
+            Long deliveryCount = deliveryCounts.get(record.getId());
+            if (deliveryCount != null && config.getMaxDeliveryCount() > 0
+                    && deliveryCount >= config.getMaxDeliveryCount()) {
+                deadLetter(ops, streamKey, record, deliveryCount);
+            } else {
+                records.add(ops.map(record, String.class));
+            }
+        }
+        claimedCount.add(records.size());
+        if (!records.isEmpty()) {
+            log.info("认领空闲待确认消息: streamKey={}, owner={}, count={}", streamKey, owner, records.size());
+        }
+        return records;
+    }
+
+    long getClaimedCount() {
+        return claimedCount.sum();
+    }
+
+    long getDeadLetterCount() {
+        return deadLetterCount.sum();
+    }
+
+    /**
+     * 复制到死信流后确认原消息，只对本次认领到的消息调用
+     */
+    private void deadLetter(StreamOperations<String, Object, Object> ops, String streamKey,
+                            MapRecord<String, Object, Object> record, long deliveryCount) {
+        String recordId = record.getId().getValue();
+        String deadLetterKey = streamKey + config.getDeadLetterSuffix();
+
+        Map<Object, Object> fields = new LinkedHashMap<>(record.getValue());
+        fields.put("_originalStream", streamKey);
+        fields.put("_originalId", recordId);
+        fields.put("_consumerGroup", consumerGroup);
+        fields.put("_deliveryCount", String.valueOf(deliveryCount));
+        ops.add(StreamRecords.newRecord().in(deadLetterKey).ofMap(fields));
+        ops.acknowledge(streamKey, consumerGroup, recordId);
+        deadLetterCount.increment();
+        log.warn("消息超过最大投递次数，转入死信流: streamKey={}, recordId={}, deliveryCount={}, deadLetterKey={}",
+                streamKey, recordId, deliveryCount, deadLetterKey);
+    }
+}
@@ -1,7 +1,12 @@
 package io.nebula.messaging.redis.stream;
 
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchOptions;
+import io.nebula.messaging.core.consumer.BatchResult;
+import io.nebula.messaging.core.consumer.KeyOrderedDispatcher;
 import io.nebula.messaging.core.consumer.MessageConsumer;
 import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.consumer.OrderedOptions;
 import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.redis.config.RedisMessagingProperties;
 import io.nebula.messaging.redis.support.RedisMessageSerializer;
@@ -12,14 +17,22 @@ import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
 import org.springframework.data.redis.stream.Subscription;
 
+import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -28,7 +41,11 @@ import java.util.concurrent.atomic.AtomicLong;
  * Redis Stream 消息消费者
  * <p>
  * 基于 Redis Stream 实现的可靠消息消费者。
- * 支持消费者组、消息确认、拉取模式等特性。
+ * 支持消费者组、消息确认、拉取模式、批量消费、按键保序并行消费等特性。
+ * </p>
+ * <p>
+ * 启动后周期性执行恢复任务：重新认领空闲的待确认消息、把超过最大投递次数的消息转入死信流、
+ * 采集积压（lag 与 PEL 大小），并在 maxConcurrency 大于 minConcurrency 时按积压伸缩每个订阅的监听消费者数。
  * </p>
  */
 @Slf4j
@@ -39,8 +56,12 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
     private final RedisMessageSerializer serializer;
     private final StreamMessageListenerContainer<String, ObjectRecord<String, String>> listenerContainer;
     private final Executor executor;
+    private final PendingEntryRecovery recovery;
+    private volatile ScheduledExecutorService recoveryScheduler;
 
     private final Map<String, StreamSubscriptionInfo> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, BatchPoller> batchPollers = new ConcurrentHashMap<>();
+    private final Map<String, OrderedPoller> orderedPollers = new ConcurrentHashMap<>();
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final AtomicBoolean paused = new AtomicBoolean(false);
     private final DefaultConsumerStats stats = new DefaultConsumerStats();
@@ -61,6 +82,7 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
         this.executor = executor;
         this.consumerGroup = properties.getStream().getConsumerGroup();
         this.consumerName = properties.getStream().getConsumerNamePrefix() + UUID.randomUUID().toString().substring(0, 8);
+        this.recovery = new PendingEntryRecovery(redisTemplate, properties.getStream(), consumerGroup);
     }
 
     @Override
@@ -81,7 +103,11 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
                 listener
         );
 
-        subscriptions.put(topic, new StreamSubscriptionInfo(topic, streamKey, subscription, handler));
+        StreamSubscriptionInfo info = new StreamSubscriptionInfo(topic, streamKey, subscription, handler, listener);
+        subscriptions.put(topic, info);
+        for (int i = 1; i < properties.getStream().getMinConcurrency(); i++) {
+            addWorker(info);
+        }
         log.info("Stream 订阅成功: {}", streamKey);
     }
 
@@ -107,14 +133,80 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
             public Class<T> getMessageType() {
                 return handler.getMessageType();
             }
+
+            @Override
+            public Type getPayloadType() {
+                return handler.getPayloadType();
+            }
         });
     }
 
+    /**
+     * 批量订阅
+     * <p>
+     * 独立的拉取循环以 XREADGROUP COUNT 按批读取：第一次读取阻塞等待 pollTimeout，
+     * 读到消息后在 lingerTime 内继续补齐到 maxBatchSize。处理完成后以一次 XACK 确认成功的记录，
+     * 失败的记录保留在 pending 列表中等待重新认领。批量订阅始终按处理结果确认，不受 autoAck 影响。
+     */
+    @Override
+    public void subscribeBatch(String topic, String queue, BatchMessageHandler<T> handler, BatchOptions options) {
+        String combinedTopic = topic + ":" + queue;
+        String streamKey = buildStreamKey(combinedTopic);
+        log.info("批量订阅 Stream: {}, consumerGroup={}, consumerName={}, maxBatchSize={}, lingerTime={}",
+                streamKey, consumerGroup, consumerName, options.maxBatchSize(), options.lingerTime());
+
+        ensureConsumerGroup(streamKey);
+
+        BatchPoller previous = batchPollers.remove(combinedTopic);
+        if (previous != null) {
+            previous.cancel();
+        }
+        BatchPoller poller = new BatchPoller(combinedTopic, streamKey, handler, options);
+        batchPollers.put(combinedTopic, poller);
+        executor.execute(poller);
+    }
+
+    /**
+     * 按消息键保序并行订阅
+     * <p>
+     * 独立的拉取循环以 XREADGROUP 读取记录，在拉取线程上反序列化后按 {@link OrderedOptions#keyHeader()} 头
+     * （缺失时按消息 ID）分配到单线程通道。读取条数不超过在途窗口的剩余量，通道或窗口已满时拉取线程阻塞，
+     * 不再从 Stream 读取。连续已完成的区间中成功的记录以一次 XACK 确认，失败的记录留在 pending 列表中
+     * 等待恢复任务重新认领，重新投递不保证顺序。保序订阅始终按处理结果确认，不受 autoAck 影响。
+     */
+    @Override
+    public void subscribeOrdered(String topic, String queue, MessageHandler<T> handler, OrderedOptions options) {
+        String combinedTopic = topic + ":" + queue;
+        String streamKey = buildStreamKey(combinedTopic);
+        log.info("保序订阅 Stream: {}, consumerGroup={}, consumerName={}, lanes={}, laneCapacity={}, keyHeader={}",
+                streamKey, consumerGroup, consumerName, options.lanes(), options.laneCapacity(), options.keyHeader());
+
+        ensureConsumerGroup(streamKey);
+
+        OrderedPoller previous = orderedPollers.remove(combinedTopic);
+        if (previous != null) {
+            previous.cancel();
+        }
+        OrderedPoller poller = new OrderedPoller(combinedTopic, streamKey, handler, options);
+        orderedPollers.put(combinedTopic, poller);
+        executor.execute(poller);
+    }
+
     @Override
     public void unsubscribe(String topic) {
+        BatchPoller poller = batchPollers.remove(topic);
+        if (poller != null) {
+            poller.cancel();
+            log.info("取消 Stream 批量订阅: {}", topic);
+        }
+        OrderedPoller orderedPoller = orderedPollers.remove(topic);
+        if (orderedPoller != null) {
+            orderedPoller.cancel();
+            log.info("取消 Stream 保序订阅: {}", topic);
+        }
         StreamSubscriptionInfo info = subscriptions.remove(topic);
         if (info != null && info.subscription != null) {
-            info.subscription.cancel();
+            info.cancel();
             log.info("取消 Stream 订阅: {}", topic);
         }
     }
@@ -196,10 +288,10 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
 
     @Override
     public boolean nack(Message<T> message, boolean requeue) {
-        // Stream 不需要显式 nack，未确认的消息会保留在 pending 列表中
-        // 可以通过 XCLAIM 命令重新分配
+        // Stream 不需要显式 nack，未确认的消息保留在 pending 列表中，
+        // 空闲超过 claimIdleTime 后由恢复任务重新认领，超过最大投递次数转入死信流
         if (requeue) {
-            log.debug("Stream 消息将自动重新投递（未确认消息）");
+            log.debug("Stream 消息将由恢复任务重新投递（未确认消息）");
         }
         return true;
     }
@@ -210,6 +302,16 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
             if (!listenerContainer.isRunning()) {
                 listenerContainer.start();
             }
+            long interval = properties.getStream().getRecoveryInterval();
+            if (interval > 0) {
+                ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "redis-stream-recovery");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                scheduler.scheduleWithFixedDelay(this::recover, interval, interval, TimeUnit.MILLISECONDS);
+                recoveryScheduler = scheduler;
+            }
             log.info("Redis Stream 消息消费者已启动, consumerGroup={}, consumerName={}", consumerGroup, consumerName);
         }
     }
@@ -217,13 +319,18 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
     @Override
     public void stop() {
         if (running.compareAndSet(true, false)) {
+            ScheduledExecutorService scheduler = recoveryScheduler;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                recoveryScheduler = null;
+            }
             // 取消所有订阅
-            subscriptions.values().forEach(info -> {
-                if (info.subscription != null) {
-                    info.subscription.cancel();
-                }
-            });
+            subscriptions.values().forEach(StreamSubscriptionInfo::cancel);
             subscriptions.clear();
+            batchPollers.values().forEach(BatchPoller::cancel);
+            batchPollers.clear();
+            orderedPollers.values().forEach(OrderedPoller::cancel);
+            orderedPollers.clear();
             log.info("Redis Stream 消息消费者已停止");
         }
     }
@@ -279,6 +386,126 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
         return consumerGroup;
     }
 
+    /**
+     * 获取订阅最近一次恢复任务采集的积压，未订阅或尚未采集时返回 null
+     *
+     * @param topic 订阅时使用的主题（带队列订阅时为 topic:queue）
+     */
+    public StreamBacklog getBacklog(String topic) {
+        StreamSubscriptionInfo info = subscriptions.get(topic);
+        if (info != null) {
+            return info.backlog;
+        }
+        BatchPoller poller = batchPollers.get(topic);
+        if (poller != null) {
+            return poller.backlog;
+        }
+        OrderedPoller orderedPoller = orderedPollers.get(topic);
+        return orderedPoller != null ? orderedPoller.backlog : null;
+    }
+
+    /**
+     * 获取订阅当前的监听消费者数
+     */
+    public int getConcurrency(String topic) {
+        StreamSubscriptionInfo info = subscriptions.get(topic);
+        return info != null ? info.concurrency() : 0;
+    }
+
+    /**
+     * 累计重新认领的消息数
+     */
+    public long getClaimedCount() {
+        return recovery.getClaimedCount();
+    }
+
+    /**
+     * 累计转入死信流的消息数
+     */
+    public long getDeadLetterCount() {
+        return recovery.getDeadLetterCount();
+    }
+
+    /**
+     * 恢复任务：采集积压、认领空闲消息、按积压伸缩监听消费者
+     */
+    private void recover() {
+        for (StreamSubscriptionInfo info : subscriptions.values()) {
+            try {
+                info.backlog = recovery.inspect(info.streamKey);
+                if (!paused.get()) {
+                    recovery.reclaim(info.streamKey, consumerName).forEach(info.listener::onMessage);
+                }
+                scale(info);
+            } catch (Exception e) {
+                log.warn("Stream 恢复任务失败: topic={}, error={}", info.topicName, e.getMessage(), e);
+            }
+        }
+        for (BatchPoller poller : batchPollers.values()) {
+            try {
+                poller.backlog = recovery.inspect(poller.streamKey);
+                if (!paused.get()) {
+                    // 交给拉取循环处理，保证批量处理器不被并发调用
+                    poller.reclaimed.addAll(recovery.reclaim(poller.streamKey, consumerName));
+                }
+            } catch (Exception e) {
+                log.warn("Stream 恢复任务失败: topic={}, error={}", poller.topic, e.getMessage(), e);
+            }
+        }
+        for (OrderedPoller poller : orderedPollers.values()) {
+            try {
+                poller.backlog = recovery.inspect(poller.streamKey);
+                if (!paused.get()) {
+                    poller.reclaimed.addAll(recovery.reclaim(poller.streamKey, consumerName));
+                }
+            } catch (Exception e) {
+                log.warn("Stream 恢复任务失败: topic={}, error={}", poller.topic, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 按积压计算目标并发数：每 backlogPerConsumer 条积压一个监听消费者。
+     * 扩容一次到位，缩容每轮只减一个，避免积压在阈值附近时来回抖动。
+     */
+    private void scale(StreamSubscriptionInfo info) {
+        RedisMessagingProperties.StreamConfig stream = properties.getStream();
+        int min = Math.max(1, stream.getMinConcurrency());
+        int max = Math.max(min, stream.getMaxConcurrency());
+        if (max == min || info.backlog == null) {
+            return;
+        }
+        long perConsumer = Math.max(1, stream.getBacklogPerConsumer());
+        long needed = (info.backlog.total() + perConsumer - 1) / perConsumer;
+        int target = (int) Math.max(min, Math.min(max, needed));
+        int current = info.concurrency();
+        if (target > current) {
+            for (int i = current; i < target; i++) {
+                addWorker(info);
+            }
+            log.info("Stream 监听扩容: topic={}, backlog={}, concurrency={} -> {}",
+                    info.topicName, info.backlog.total(), current, target);
+        } else if (target < current) {
+            info.removeWorker();
+            log.info("Stream 监听缩容: topic={}, backlog={}, concurrency={} -> {}",
+                    info.topicName, info.backlog.total(), current, current - 1);
+        }
+    }
+
+    /**
+     * 为订阅增加一个监听消费者（同组不同消费者名，由 Redis 在组内分配消息）。
+     * 消费者名按序号复用，缩容后其未确认消息由恢复任务认领。
+     */
+    private void addWorker(StreamSubscriptionInfo info) {
+        String workerName = consumerName + "-" + info.concurrency();
+        Subscription worker = listenerContainer.receive(
+                Consumer.from(consumerGroup, workerName),
+                StreamOffset.create(info.streamKey, ReadOffset.lastConsumed()),
+                info.listener
+        );
+        info.addWorker(worker);
+    }
+
     /**
      * 确保消费者组存在
      */
@@ -324,7 +551,7 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
 
             try {
                 String json = record.getValue();
-                Message<T> message = serializer.deserialize(json);
+                Message<T> message = serializer.deserialize(json, handler.getPayloadType());
                 message.getHeaders().put("_recordId", record.getId().getValue());
                 message.getHeaders().put("_streamKey", record.getStream());
 
@@ -362,17 +589,356 @@ public class RedisStreamConsumer<T> implements MessageConsumer<T> {
 
     // ========== 内部类 ==========
 
+    /**
+     * 批量拉取循环，运行在消费者的执行器上，直到被取消
+     */
+    private class BatchPoller implements Runnable {
+
+        private final String topic;
+        private final String streamKey;
+        private final BatchMessageHandler<T> handler;
+        private final int maxBatchSize;
+        private final long lingerMillis;
+        private final Queue<ObjectRecord<String, String>> reclaimed = new ConcurrentLinkedQueue<>();
+        private volatile StreamBacklog backlog;
+        private volatile boolean active = true;
+
+        BatchPoller(String topic, String streamKey, BatchMessageHandler<T> handler, BatchOptions options) {
+            this.topic = topic;
+            this.streamKey = streamKey;
+            this.handler = handler;
+            this.maxBatchSize = options.maxBatchSize();
+            this.lingerMillis = options.lingerTime().toMillis();
+        }
+
+        void cancel() {
+            active = false;
+        }
+
+        @Override
+        public void run() {
+            long pollTimeout = Math.max(1, properties.getStream().getPollTimeout());
+            while (active) {
+                try {
+                    if (paused.get()) {
+                        Thread.sleep(pollTimeout);
+                        continue;
+                    }
+                    List<ObjectRecord<String, String>> records = drainReclaimed();
+                    if (records.isEmpty()) {
+                        records = collect(pollTimeout);
+                    }
+                    if (!records.isEmpty()) {
+                        handleBatch(records);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.error("Stream 批量拉取失败: topic={}, error={}", topic, e.getMessage(), e);
+                    try {
+                        Thread.sleep(pollTimeout);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            log.debug("Stream 批量拉取循环退出: topic={}", topic);
+        }
+
+        /**
+         * 取出恢复任务认领到的记录，最多一批
+         */
+        private List<ObjectRecord<String, String>> drainReclaimed() {
+            List<ObjectRecord<String, String>> batch = new ArrayList<>();
+            ObjectRecord<String, String> record;
+            while (batch.size() < maxBatchSize && (record = reclaimed.poll()) != null) {
+                batch.add(record);
+            }
+            return batch;
+        }
+
+        /**
+         * 读取一批记录：首次阻塞等待 pollTimeout，之后在 lingerTime 内补齐
+         */
+        private List<ObjectRecord<String, String>> collect(long pollTimeout) {
+            List<ObjectRecord<String, String>> batch = new ArrayList<>(maxBatchSize);
+            long deadline = 0;
+            while (active && batch.size() < maxBatchSize) {
+                long block;
+                if (batch.isEmpty()) {
+                    block = pollTimeout;
+                } else {
+                    block = deadline - System.currentTimeMillis();
+                    // BLOCK 0 表示无限等待，剩余时间不足 1 毫秒即结束攒批
+                    if (block < 1) {
+                        break;
+                    }
+                }
+                List<ObjectRecord<String, String>> records = redisTemplate.opsForStream().read(
+                        String.class,
+                        Consumer.from(consumerGroup, consumerName),
+                        StreamReadOptions.empty()
+                                .count(maxBatchSize - batch.size())
+                                .block(Duration.ofMillis(block)),
+                        StreamOffset.create(streamKey, ReadOffset.lastConsumed())
+                );
+                if (records == null || records.isEmpty()) {
+                    break;
+                }
+                if (batch.isEmpty()) {
+                    deadline = System.currentTimeMillis() + lingerMillis;
+                }
+                batch.addAll(records);
+                if (lingerMillis == 0) {
+                    break;
+                }
+            }
+            return batch;
+        }
+
+        private void handleBatch(List<ObjectRecord<String, String>> records) {
+            List<Message<T>> messages = new ArrayList<>(records.size());
+            List<String> recordIds = new ArrayList<>(records.size());
+            for (ObjectRecord<String, String> record : records) {
+                try {
+                    Message<T> message = serializer.deserialize(record.getValue(), handler.getPayloadType());
+                    message.getHeaders().put("_recordId", record.getId().getValue());
+                    message.getHeaders().put("_streamKey", record.getStream());
+                    messages.add(message);
+                    recordIds.add(record.getId().getValue());
+                } catch (Exception e) {
+                    // 无法反序列化的记录不交给处理器，也不确认，留在 pending 列表中
+                    stats.recordFailure();
+                    log.error("Stream 消息反序列化失败: topic={}, recordId={}, error={}",
+                            topic, record.getId().getValue(), e.getMessage());
+                }
+            }
+            if (messages.isEmpty()) {
+                return;
+            }
+
+            int size = messages.size();
+            stats.incrementProcessing();
+            long startTime = System.currentTimeMillis();
+            try {
+                BatchResult result = handler.handle(messages);
+                List<String> acked = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    if (result == null || result.isSuccess(i)) {
+                        acked.add(recordIds.get(i));
+                    }
+                }
+                if (!acked.isEmpty()) {
+                    redisTemplate.opsForStream().acknowledge(streamKey, consumerGroup, acked.toArray(new String[0]));
+                }
+                long elapsed = System.currentTimeMillis() - startTime;
+                for (int i = 0; i < acked.size(); i++) {
+                    stats.recordSuccess(elapsed);
+                }
+                for (int i = acked.size(); i < size; i++) {
+                    stats.recordFailure();
+                }
+                if (acked.size() < size) {
+                    log.warn("Stream 批量消息部分失败，失败记录留在 pending 列表: topic={}, size={}, failed={}",
+                            topic, size, size - acked.size());
+                }
+            } catch (Exception e) {
+                for (int i = 0; i < size; i++) {
+                    stats.recordFailure();
+                }
+                log.error("Stream 批量消息处理失败: topic={}, size={}, error={}", topic, size, e.getMessage(), e);
+            } finally {
+                stats.decrementProcessing();
+            }
+        }
+    }
+
+    /**
+     * 保序拉取循环：读取记录并提交到按键保序分发器，运行在消费者的执行器上，直到被取消
+     */
+    private class OrderedPoller implements Runnable {
+
+        private final String topic;
+        private final String streamKey;
+        private final MessageHandler<T> handler;
+        private final OrderedOptions options;
+        private final Queue<ObjectRecord<String, String>> reclaimed = new ConcurrentLinkedQueue<>();
+        private volatile StreamBacklog backlog;
+        private volatile boolean active = true;
+        private volatile KeyOrderedDispatcher<Message<T>> dispatcher;
+
+        OrderedPoller(String topic, String streamKey, MessageHandler<T> handler, OrderedOptions options) {
+            this.topic = topic;
+            this.streamKey = streamKey;
+            this.handler = handler;
+            this.options = options;
+        }
+
+        void cancel() {
+            active = false;
+            KeyOrderedDispatcher<Message<T>> current = dispatcher;
+            if (current != null) {
+                current.close();
+            }
+        }
+
+        @Override
+        public void run() {
+            long pollTimeout = Math.max(1, properties.getStream().getPollTimeout());
+            KeyOrderedDispatcher<Message<T>> current = new KeyOrderedDispatcher<>(
+                    "redis-stream-ordered-" + topic, options, this::orderingKey, this::handle, this::commit);
+            dispatcher = current;
+            if (!active) {
+                current.close();
+                return;
+            }
+            while (active) {
+                try {
+                    if (paused.get()) {
+                        Thread.sleep(pollTimeout);
+                        continue;
+                    }
+                    ObjectRecord<String, String> record;
+                    while (active && (record = reclaimed.poll()) != null) {
+                        submit(current, record);
+                    }
+                    int count = Math.max(1, options.maxInFlight() - current.getInFlightCount());
+                    List<ObjectRecord<String, String>> records = redisTemplate.opsForStream().read(
+                            String.class,
+                            Consumer.from(consumerGroup, consumerName),
+                            StreamReadOptions.empty()
+                                    .count(count)
+                                    .block(Duration.ofMillis(pollTimeout)),
+                            StreamOffset.create(streamKey, ReadOffset.lastConsumed())
+                    );
+                    if (records != null) {
+                        for (ObjectRecord<String, String> each : records) {
+                            if (!active) {
+                                break;
+                            }
+                            submit(current, each);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    if (current.isClosed()) {
+                        // 取消订阅时分发器已关闭，未提交的记录留在 pending 列表中
+                        break;
+                    }
+                    log.error("Stream 保序拉取失败: topic={}, error={}", topic, e.getMessage(), e);
+                    try {
+                        Thread.sleep(pollTimeout);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            current.close();
+            log.debug("Stream 保序拉取循环退出: topic={}", topic);
+        }
+
+        /**
+         * 在拉取线程上反序列化后提交，目标通道或在途窗口已满时阻塞
+         */
+        private void submit(KeyOrderedDispatcher<Message<T>> current, ObjectRecord<String, String> record)
+                throws InterruptedException {
+            Message<T> message;
+            try {
+                message = serializer.deserialize(record.getValue(), handler.getPayloadType());
+            } catch (Exception e) {
+                // 无法反序列化的记录不交给处理器，也不确认，留在 pending 列表中
+                stats.recordFailure();
+                log.error("Stream 消息反序列化失败: topic={}, recordId={}, error={}",
+                        topic, record.getId().getValue(), e.getMessage());
+                return;
+            }
+            message.getHeaders().put("_recordId", record.getId().getValue());
+            message.getHeaders().put("_streamKey", record.getStream());
+            current.submit(message);
+        }
+
+        private String orderingKey(Message<T> message) {
+            String key = message.getHeaders().get(options.keyHeader());
+            return key != null ? key : message.getId();
+        }
+
+        private boolean handle(Message<T> message) {
+            stats.incrementProcessing();
+            long startTime = System.currentTimeMillis();
+            try {
+                handler.handle(message);
+                stats.recordSuccess(System.currentTimeMillis() - startTime);
+                return true;
+            } catch (Exception e) {
+                stats.recordFailure();
+                log.error("Stream 保序消息处理失败，留在 pending 列表: topic={}, recordId={}, error={}",
+                        topic, message.getHeaders().get("_recordId"), e.getMessage(), e);
+                return false;
+            } finally {
+                stats.decrementProcessing();
+            }
+        }
+
+        /**
+         * 以一次 XACK 确认区间内成功的记录
+         */
+        private void commit(List<KeyOrderedDispatcher.Completion<Message<T>>> range) {
+            List<String> acked = new ArrayList<>(range.size());
+            for (KeyOrderedDispatcher.Completion<Message<T>> completion : range) {
+                if (completion.success()) {
+                    acked.add(completion.element().getHeaders().get("_recordId"));
+                }
+            }
+            if (!acked.isEmpty()) {
+                redisTemplate.opsForStream().acknowledge(streamKey, consumerGroup, acked.toArray(new String[0]));
+            }
+        }
+    }
+
     private static class StreamSubscriptionInfo {
         final String topicName;
         final String streamKey;
         final Subscription subscription;
         final MessageHandler<?> handler;
+        final StreamListener<String, ObjectRecord<String, String>> listener;
+        private final Deque<Subscription> workers = new ArrayDeque<>();
+        volatile StreamBacklog backlog;
 
-        StreamSubscriptionInfo(String topicName, String streamKey, Subscription subscription, MessageHandler<?> handler) {
+        StreamSubscriptionInfo(String topicName, String streamKey, Subscription subscription, MessageHandler<?> handler,
+                               StreamListener<String, ObjectRecord<String, String>> listener) {
             this.topicName = topicName;
             this.streamKey = streamKey;
             this.subscription = subscription;
             this.handler = handler;
+            this.listener = listener;
+        }
+
+        synchronized int concurrency() {
+            return 1 + workers.size();
+        }
+
+        synchronized void addWorker(Subscription worker) {
+            workers.addLast(worker);
+        }
+
+        synchronized void removeWorker() {
+            Subscription worker = workers.pollLast();
+            if (worker != null) {
+                worker.cancel();
+            }
+        }
+
+        synchronized void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            workers.forEach(Subscription::cancel);
+            workers.clear();
         }
     }
 
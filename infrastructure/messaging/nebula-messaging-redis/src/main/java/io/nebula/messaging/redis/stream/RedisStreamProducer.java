@@ -4,6 +4,7 @@ import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.core.producer.MessageProducer;
 import io.nebula.messaging.redis.config.RedisMessagingProperties;
 import io.nebula.messaging.redis.support.RedisMessageSerializer;
+import io.nebula.messaging.redis.support.RedisPipelines;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
@@ -13,8 +14,11 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -25,6 +29,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * <p>
  * 基于 Redis Stream 实现的可靠消息生产者。
  * 支持消息持久化、消费者组、消息确认等特性。
+ * 批量发送通过 pipeline 在一次网络往返内完成多条 XADD。
  * </p>
  */
 @Slf4j
@@ -206,9 +211,10 @@ public class RedisStreamProducer<T> implements MessageProducer<T> {
         long startTime = System.currentTimeMillis();
         DefaultBatchSendResult batchResult = new DefaultBatchSendResult();
 
-        for (Message<T> message : messages) {
-            SendResult result = send(message);
-            batchResult.addResult(result);
+        // 每 pipelineBatchSize 条消息一次 pipeline，单次往返发送
+        int chunkSize = Math.max(properties.getPipelineBatchSize(), 1);
+        for (int from = 0; from < messages.size(); from += chunkSize) {
+            sendPipelined(messages.subList(from, Math.min(from + chunkSize, messages.size())), batchResult);
         }
 
         batchResult.setElapsedTime(System.currentTimeMillis() - startTime);
@@ -217,16 +223,15 @@ public class RedisStreamProducer<T> implements MessageProducer<T> {
 
     @Override
     public BatchSendResult sendBatch(String topic, List<T> payloads) {
-        long startTime = System.currentTimeMillis();
-        DefaultBatchSendResult batchResult = new DefaultBatchSendResult();
-
+        List<Message<T>> messages = new ArrayList<>(payloads.size());
         for (T payload : payloads) {
-            SendResult result = send(topic, payload);
-            batchResult.addResult(result);
+            messages.add(Message.<T>builder()
+                    .topic(topic)
+                    .payload(payload)
+                    .createTime(LocalDateTime.now())
+                    .build());
         }
-
-        batchResult.setElapsedTime(System.currentTimeMillis() - startTime);
-        return batchResult;
+        return sendBatch(messages);
     }
 
     @Override
@@ -277,6 +282,87 @@ public class RedisStreamProducer<T> implements MessageProducer<T> {
         return stats;
     }
 
+    /**
+     * 在一次 pipeline 内追加一组消息（XADD），按顺序回填每条消息的发送结果；
+     * 设置了 maxLen 时在同一 pipeline 末尾对涉及的 Stream 各裁剪一次
+     */
+    private void sendPipelined(List<Message<T>> messages, DefaultBatchSendResult batchResult) {
+        long startTime = System.currentTimeMillis();
+        int size = messages.size();
+        String[] streamKeys = new String[size];
+        String[] payloads = new String[size];
+        SendResult[] results = new SendResult[size];
+        Set<String> touchedKeys = new LinkedHashSet<>();
+
+        for (int i = 0; i < size; i++) {
+            Message<T> message = messages.get(i);
+            try {
+                message.setId(generateMessageId());
+                message.setSendTime(LocalDateTime.now());
+                streamKeys[i] = buildStreamKey(message.getTopic());
+                payloads[i] = serializer.serialize(message);
+                touchedKeys.add(streamKeys[i]);
+            } catch (Exception e) {
+                results[i] = failure(message, startTime, e);
+            }
+        }
+
+        long maxLen = properties.getStream().getMaxLen();
+        try {
+            List<Object> replies = RedisPipelines.execute(redisTemplate, operations -> {
+                for (int i = 0; i < size; i++) {
+                    if (results[i] == null) {
+                        operations.opsForStream().add(StreamRecords.newRecord()
+                                .in(streamKeys[i])
+                                .ofObject(payloads[i]));
+                    }
+                }
+                if (maxLen > 0) {
+                    for (String streamKey : touchedKeys) {
+                        operations.opsForStream().trim(streamKey, maxLen);
+                    }
+                }
+            });
+
+            long elapsed = System.currentTimeMillis() - startTime;
+            int reply = 0;
+            for (int i = 0; i < size; i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                Message<T> message = messages.get(i);
+                Object value = reply < replies.size() ? replies.get(reply) : null;
+                reply++;
+                if (value instanceof Throwable error) {
+                    results[i] = failure(message, startTime, error);
+                } else {
+                    stats.recordSuccess(elapsed);
+                    String fullMessageId = value instanceof RecordId recordId ? recordId.getValue() : message.getId();
+                    results[i] = new DefaultSendResult(true, fullMessageId, message.getTopic(),
+                            message.getQueue(), elapsed, null, null);
+                }
+            }
+            log.debug("Stream 批量消息发送完成: count={}, streams={}, elapsed={}ms", size, touchedKeys.size(), elapsed);
+        } catch (Exception e) {
+            for (int i = 0; i < size; i++) {
+                if (results[i] == null) {
+                    results[i] = failure(messages.get(i), startTime, e);
+                }
+            }
+        }
+
+        for (SendResult result : results) {
+            batchResult.addResult(result);
+        }
+    }
+
+    private SendResult failure(Message<T> message, long startTime, Throwable e) {
+        long elapsed = System.currentTimeMillis() - startTime;
+        stats.recordFailure();
+        log.error("Stream 消息发送失败: topic={}, error={}", message.getTopic(), e.getMessage(), e);
+        return new DefaultSendResult(false, null, message.getTopic(), message.getQueue(), elapsed, e.getMessage(), e);
+    }
+
     /**
      * 构建 Stream 键名
      */
@@ -0,0 +1,19 @@
+package io.nebula.messaging.redis.stream;
+
+/**
+ * Stream 消费者组积压快照
+ *
+ * @param streamKey  Stream 键名
+ * @param lag        尚未投递给消费者组的消息数，Redis 7 以下或无法计算时为 -1
+ * @param pending    已投递未确认的消息数（PEL 大小）
+ * @param consumers  消费者组内的消费者数
+ */
+public record StreamBacklog(String streamKey, long lag, long pending, long consumers) {
+
+    /**
+     * 积压总量：未投递与未确认之和，lag 不可用时只计未确认消息
+     */
+    public long total() {
+        return Math.max(lag, 0) + pending;
+    }
+}
@@ -2,12 +2,18 @@ package io.nebula.messaging.redis.support;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.nebula.messaging.core.exception.MessageSerializationException;
 import io.nebula.messaging.core.message.Message;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Redis 消息序列化器
@@ -20,6 +26,11 @@ public class RedisMessageSerializer {
 
     private final ObjectMapper objectMapper;
 
+    /**
+     * 按载荷类型缓存的消息类型 {@code Message<T>}，每个处理器的载荷类型只解析一次
+     */
+    private final Map<Type, JavaType> messageTypes = new ConcurrentHashMap<>();
+
     public RedisMessageSerializer() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
@@ -79,6 +90,34 @@ public class RedisMessageSerializer {
         }
     }
 
+    /**
+     * 反序列化 JSON 字符串为载荷是指定泛型类型的消息对象
+     * <p>
+     * 载荷类型通常来自 {@code MessageHandler#getPayloadType()}，可以是参数化类型（例如 {@code List<OrderItem>}）；
+     * 为空或为 {@code Object} 时载荷保持 Jackson 的默认结构。
+     * </p>
+     *
+     * @param json        JSON 字符串
+     * @param payloadType 载荷类型
+     * @param <T>         载荷类型
+     * @return 消息对象
+     */
+    public <T> Message<T> deserialize(String json, Type payloadType) {
+        if (payloadType == null || payloadType == Object.class) {
+            return deserialize(json);
+        }
+        try {
+            // 基本类型参数（例如 void handle(long id)）按包装类型解码
+            JavaType messageType = messageTypes.computeIfAbsent(payloadType, type ->
+                    objectMapper.getTypeFactory().constructParametricType(Message.class,
+                            objectMapper.getTypeFactory().constructType(type instanceof Class<?> clazz
+                                    ? ClassUtils.resolvePrimitiveIfNecessary(clazz) : type)));
+            return objectMapper.readValue(json, messageType);
+        } catch (JsonProcessingException e) {
+            throw new MessageSerializationException("消息反序列化失败", e);
+        }
+    }
+
     /**
      * 序列化对象为 JSON 字符串
      *
@@ -0,0 +1,45 @@
+package io.nebula.messaging.redis.support;
+
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Redis pipeline 辅助
+ * <p>
+ * 把一组命令放进一次 pipeline 执行（单次网络往返），返回与命令顺序一一对应的结果。
+ * 部分命令失败时不抛出异常，对应位置的结果为 {@link Throwable}，便于批量发送逐条回报结果。
+ * </p>
+ */
+public final class RedisPipelines {
+
+    private RedisPipelines() {
+    }
+
+    /**
+     * 以 pipeline 方式执行命令
+     *
+     * @param redisTemplate Redis 模板
+     * @param commands 在 pipeline 内执行的命令（返回值在 pipeline 内无意义）
+     * @return 按命令顺序排列的结果，失败的命令对应 {@link Throwable}
+     */
+    public static List<Object> execute(StringRedisTemplate redisTemplate,
+                                       Consumer<RedisOperations<String, String>> commands) {
+        try {
+            return redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    commands.accept((RedisOperations<String, String>) operations);
+                    return null;
+                }
+            });
+        } catch (RedisPipelineException e) {
+            return e.getPipelineResult();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.nebula.messaging.redis.consumer;
+
+import io.nebula.messaging.core.annotation.HandlerMethodInvoker;
+import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.redis.config.RedisMessagingProperties;
+import io.nebula.messaging.redis.support.RedisMessageSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisMessageConsumer单元测试
+ *
+ * 测试目的: 验证只接收载荷的处理方法拿到按声明类型解码的载荷
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisMessageConsumerTest {
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final RedisMessageSerializer serializer = new RedisMessageSerializer();
+
+    @Test
+    void testPayloadOnlyHandlerReceivesDecodedPayload() throws Exception {
+        OrderListener bean = new OrderListener();
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(bean,
+                OrderListener.class.getDeclaredMethod("onOrders", List.class));
+
+        MessageListener listener = subscribe(new MessageHandler<Object>() {
+            @Override
+            public void handle(Message<Object> message) {
+                invoker.invoke(message);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Class<Object> getMessageType() {
+                return (Class<Object>) invoker.getPayloadClass();
+            }
+
+            @Override
+            public Type getPayloadType() {
+                return invoker.getPayloadType();
+            }
+        });
+
+        List<OrderEvent> orders = List.of(new OrderEvent("o-1"), new OrderEvent("o-2"));
+        deliver(listener, Message.of("orders", orders));
+
+        // 载荷按 List<OrderEvent> 解码，处理方法里访问元素不会出现 ClassCastException
+        assertThat(bean.orderIds).containsExactly("o-1", "o-2");
+    }
+
+    @Test
+    void testHandlerWithoutPayloadTypeKeepsDefaultStructure() throws Exception {
+        List<Object> payloads = new ArrayList<>();
+        MessageListener listener = subscribe(new MessageHandler<Object>() {
+            @Override
+            public void handle(Message<Object> message) {
+                payloads.add(message.getPayload());
+            }
+
+            @Override
+            public Class<Object> getMessageType() {
+                return Object.class;
+            }
+        });
+
+        deliver(listener, Message.of("orders", new OrderEvent("o-1")));
+
+        assertThat(payloads).singleElement().isInstanceOf(Map.class);
+    }
+
+    private MessageListener subscribe(MessageHandler<Object> handler) {
+        RedisMessageConsumer<Object> consumer = new RedisMessageConsumer<>(listenerContainer,
+                new RedisMessagingProperties(), serializer);
+        consumer.subscribe("orders", handler);
+
+        ArgumentCaptor<MessageListener> captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(captor.capture(), any(Topic.class));
+        return captor.getValue();
+    }
+
+    private void deliver(MessageListener listener, Message<?> message) {
+        byte[] body = serializer.serialize(message).getBytes(StandardCharsets.UTF_8);
+        listener.onMessage(new DefaultMessage("orders".getBytes(StandardCharsets.UTF_8), body), null);
+    }
+
+    static class OrderListener {
+
+        private final List<String> orderIds = new ArrayList<>();
+
+        void onOrders(List<OrderEvent> orders) {
+            for (OrderEvent order : orders) {
+                orderIds.add(order.getOrderId());
+            }
+        }
+    }
+
+    static class OrderEvent {
+
+        private String orderId;
+
+        OrderEvent() {
+        }
+
+        OrderEvent(String orderId) {
+            this.orderId = orderId;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(String orderId) {
+            this.orderId = orderId;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.nebula.messaging.redis.dedup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisDeduplicationStore单元测试
+ *
+ * 测试目的: 验证 SET NX 占用、按结果覆盖或删除标记，以及批量操作在 pipeline 内完成和部分失败时的处理
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisDeduplicationStoreTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+    private static final Duration PROCESSING_TIMEOUT = Duration.ofSeconds(30);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisOperations<String, String> pipelineOperations;
+
+    @Mock
+    private ValueOperations<String, String> pipelineValueOperations;
+
+    /**
+     * 依次作为各次 pipeline 的结果
+     */
+    private final Deque<List<Object>> pipelineResults = new ArrayDeque<>();
+
+    private RedisDeduplicationStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(pipelineOperations.opsForValue()).thenReturn(pipelineValueOperations);
+        lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipelineOperations);
+            return pipelineResults.poll();
+        });
+        store = new RedisDeduplicationStore(redisTemplate, "nebula:", WINDOW, PROCESSING_TIMEOUT);
+    }
+
+    @Test
+    void testTryAcquireSetsProcessingMarkerIfAbsent() {
+        when(valueOperations.setIfAbsent("nebula:dedup:orders:m-1", "processing", PROCESSING_TIMEOUT))
+                .thenReturn(true, false);
+
+        assertThat(store.tryAcquire("orders:m-1")).isTrue();
+        assertThat(store.tryAcquire("orders:m-1")).isFalse();
+        // 连接异常等返回 null 时按未占用处理
+        assertThat(store.tryAcquire("orders:m-2")).isFalse();
+    }
+
+    @Test
+    void testReleaseMarksDoneOrDeletes() {
+        store.release("orders:m-1", true);
+        store.release("orders:m-2", false);
+
+        verify(valueOperations).set("nebula:dedup:orders:m-1", "done", WINDOW);
+        verify(redisTemplate).delete("nebula:dedup:orders:m-2");
+    }
+
+    @Test
+    void testTryAcquireAllInSinglePipeline() {
+        pipelineResults.add(Arrays.asList(true, false, true, null));
+
+        boolean[] acquired = store.tryAcquireAll(List.of("orders:m-1", "orders:m-2", "orders:m-3", "orders:m-4"));
+
+        assertThat(acquired).containsExactly(true, false, true, false);
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(pipelineValueOperations).setIfAbsent("nebula:dedup:orders:m-1", "processing", PROCESSING_TIMEOUT);
+        verify(pipelineValueOperations).setIfAbsent("nebula:dedup:orders:m-4", "processing", PROCESSING_TIMEOUT);
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    void testTryAcquireAllFailureReleasesAcquiredKeys() {
+        pipelineResults.add(Arrays.asList(true, false, new QueryTimeoutException("timeout"), true));
+        pipelineResults.add(Arrays.asList(1L));
+
+        assertThatThrownBy(() -> store.tryAcquireAll(
+                List.of("orders:m-1", "orders:m-2", "orders:m-3", "orders:m-4")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(QueryTimeoutException.class);
+
+        // 只释放失败位置之前本次占用的键，被别人占用的 m-2 不能删除
+        verify(pipelineOperations).delete("nebula:dedup:orders:m-1");
+        verify(pipelineOperations, never()).delete("nebula:dedup:orders:m-2");
+        verify(pipelineOperations, never()).delete("nebula:dedup:orders:m-4");
+    }
+
+    @Test
+    void testReleaseAllInSinglePipeline() {
+        pipelineResults.add(Arrays.asList(true, 1L));
+
+        store.releaseAll(List.of("orders:m-1", "orders:m-2"), new boolean[]{true, false});
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(pipelineValueOperations).set("nebula:dedup:orders:m-1", "done", WINDOW);
+        verify(pipelineOperations).delete("nebula:dedup:orders:m-2");
+    }
+
+    @Test
+    void testReleaseAllToleratesFailuresAndSkipsEmptyBatch() {
+        pipelineResults.add(Arrays.asList(new QueryTimeoutException("timeout")));
+
+        assertThatCode(() -> store.releaseAll(List.of("orders:m-1"), new boolean[]{true}))
+                .doesNotThrowAnyException();
+
+        store.releaseAll(List.of(), new boolean[0]);
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+    }
+}
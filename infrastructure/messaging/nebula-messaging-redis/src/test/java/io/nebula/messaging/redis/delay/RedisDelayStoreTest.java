@@ -0,0 +1,153 @@
+package io.nebula.messaging.redis.delay;
+
+import io.nebula.messaging.core.delay.DelayedMessage;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.redis.support.RedisMessageSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisDelayStore单元测试
+ *
+ * 测试目的: 验证到期消息按 LIMIT 分页加载，同分值跨页的消息不重复也不遗漏，已删除的消息被跳过
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisDelayStoreTest {
+
+    private static final String INDEX_KEY = "nebula:delay:index";
+    private static final String MESSAGES_KEY = "nebula:delay:messages";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final RedisMessageSerializer serializer = new RedisMessageSerializer();
+
+    /**
+     * 模拟的有序集合与消息哈希
+     */
+    private final Map<String, Long> index = new HashMap<>();
+    private final Map<Object, Object> payloads = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(zSetOperations.rangeByScoreWithScores(eq(INDEX_KEY), anyDouble(), anyDouble(), anyLong(),
+                anyLong())).thenAnswer(invocation -> range(invocation.getArgument(1), invocation.getArgument(2),
+                invocation.getArgument(3), invocation.getArgument(4)));
+        lenient().when(hashOperations.multiGet(eq(MESSAGES_KEY), anyList())).thenAnswer(invocation -> {
+            List<Object> values = new ArrayList<>();
+            for (Object id : invocation.<List<Object>>getArgument(1)) {
+                values.add(payloads.get(id));
+            }
+            return values;
+        });
+    }
+
+    @Test
+    void testLoadsDueMessagesPageByPage() {
+        for (int i = 1; i <= 7; i++) {
+            put("m" + i, 1000L + i);
+        }
+        put("late", 5000L);
+
+        List<DelayedMessage> due = new RedisDelayStore(redisTemplate, serializer, "nebula:", 3).loadDue(1000, 2000);
+
+        assertThat(due).extracting(DelayedMessage::id)
+                .containsExactly("m1", "m2", "m3", "m4", "m5", "m6", "m7");
+        assertThat(due.get(0).dueTime()).isEqualTo(1001L);
+        assertThat(due.get(0).message().getPayload()).isEqualTo("payload-m1");
+        // 每条 ZRANGEBYSCORE 都带 LIMIT，不会一次扫描整个区间
+        verify(zSetOperations, never()).rangeByScoreWithScores(anyString(), anyDouble(), anyDouble());
+        verify(zSetOperations, atLeast(3)).rangeByScoreWithScores(eq(INDEX_KEY), anyDouble(), anyDouble(),
+                anyLong(), eq(3L));
+    }
+
+    @Test
+    void testTiedScoresAcrossPagesAreLoadedOnce() {
+        put("a", 100L);
+        for (int i = 1; i <= 5; i++) {
+            put("t" + i, 200L);
+        }
+        put("z", 300L);
+
+        List<DelayedMessage> due = new RedisDelayStore(redisTemplate, serializer, "nebula:", 2)
+                .loadDue(Long.MIN_VALUE, 1000);
+
+        assertThat(due).extracting(DelayedMessage::id)
+                .containsExactly("a", "t1", "t2", "t3", "t4", "t5", "z");
+    }
+
+    @Test
+    void testRemovedMessagesAreSkipped() {
+        put("m1", 1001L);
+        put("m2", 1002L);
+        put("m3", 1003L);
+        // 索引仍在但消息体已被其他实例删除
+        payloads.remove("m2");
+
+        List<DelayedMessage> due = new RedisDelayStore(redisTemplate, serializer, "nebula:", 2).loadDue(1000, 2000);
+
+        assertThat(due).extracting(DelayedMessage::id).containsExactly("m1", "m3");
+    }
+
+    @Test
+    void testNothingDue() {
+        put("late", 5000L);
+
+        assertThat(new RedisDelayStore(redisTemplate, serializer, "nebula:").loadDue(1000, 2000)).isEmpty();
+        verify(hashOperations, never()).multiGet(any(), anyList());
+    }
+
+    private void put(String id, long dueTime) {
+        index.put(id, dueTime);
+        payloads.put(id, serializer.serialize(Message.of("orders", "payload-" + id)));
+    }
+
+    /**
+     * 按 ZRANGEBYSCORE min max WITHSCORES LIMIT offset count 的语义返回，同分值按成员字典序
+     */
+    private Set<ZSetOperations.TypedTuple<String>> range(double min, double max, long offset, long count) {
+        List<Map.Entry<String, Long>> matched = index.entrySet().stream()
+                .filter(entry -> entry.getValue() >= min && entry.getValue() <= max)
+                .sorted(Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey(
+                        Comparator.naturalOrder())))
+                .toList();
+        Set<ZSetOperations.TypedTuple<String>> page = new LinkedHashSet<>();
+        for (long i = offset; i < matched.size() && i < offset + count; i++) {
+            Map.Entry<String, Long> entry = matched.get((int) i);
+            page.add(new DefaultTypedTuple<>(entry.getKey(), entry.getValue().doubleValue()));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,211 @@
+package io.nebula.messaging.redis.stream;
+
+import io.nebula.messaging.redis.config.RedisMessagingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroups;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * PendingEntryRecovery单元测试
+ *
+ * 测试目的: 验证只认领空闲超时的消息、死信与确认只针对本次认领成功的消息，以及积压采集
+ */
+@ExtendWith(MockitoExtension.class)
+class PendingEntryRecoveryTest {
+
+    private static final String STREAM = "nebula:stream:orders";
+    private static final String GROUP = "nebula-group";
+    private static final Duration MIN_IDLE = Duration.ofMillis(60000);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private final RedisMessagingProperties.StreamConfig config = new RedisMessagingProperties.StreamConfig();
+
+    private PendingEntryRecovery recovery;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        lenient().when(streamOperations.map(any(MapRecord.class), eq(String.class))).thenAnswer(invocation -> {
+            MapRecord<String, Object, Object> record = invocation.getArgument(0);
+            return StreamRecords.newRecord().in(record.getStream()).withId(record.getId())
+                    .ofObject((String) record.getValue().get("payload"));
+        });
+        recovery = new PendingEntryRecovery(redisTemplate, config, GROUP);
+    }
+
+    @Test
+    void testClaimsOnlyIdleEntriesWithMinIdle() {
+        pending(entry("1-0", 70000, 1), entry("2-0", 1000, 1), entry("3-0", 60000, 2));
+        when(streamOperations.claim(eq(STREAM), eq(GROUP), eq("worker-a"), eq(MIN_IDLE), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0"), record("3-0")));
+
+        List<ObjectRecord<String, String>> reclaimed = recovery.reclaim(STREAM, "worker-a");
+
+        assertThat(reclaimed).extracting(record -> record.getId().getValue()).containsExactly("1-0", "3-0");
+        assertThat(reclaimed).extracting(ObjectRecord::getValue).containsExactly("payload-1-0", "payload-3-0");
+        assertThat(claimedIds()).containsExactly("1-0", "3-0");
+        assertThat(recovery.getClaimedCount()).isEqualTo(2);
+        verify(streamOperations, never()).acknowledge(anyString(), anyString(), any(String[].class));
+    }
+
+    @Test
+    void testEntriesClaimedElsewhereAreNotReturned() {
+        pending(entry("1-0", 70000, 1), entry("2-0", 70000, 1));
+        // 2-0 在 XPENDING 之后被其他实例认领，空闲时间被重置，min-idle 条件不满足
+        when(streamOperations.claim(eq(STREAM), eq(GROUP), eq("worker-a"), eq(MIN_IDLE), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0")));
+
+        assertThat(recovery.reclaim(STREAM, "worker-a"))
+                .extracting(record -> record.getId().getValue()).containsExactly("1-0");
+        assertThat(recovery.getClaimedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testOverDeliveredEntryClaimedThenDeadLetteredAndAcked() {
+        config.setMaxDeliveryCount(5);
+        pending(entry("1-0", 70000, 5), entry("2-0", 70000, 2));
+        when(streamOperations.claim(eq(STREAM), eq(GROUP), eq("worker-a"), eq(MIN_IDLE), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0"), record("2-0")));
+
+        List<ObjectRecord<String, String>> reclaimed = recovery.reclaim(STREAM, "worker-a");
+
+        assertThat(reclaimed).extracting(record -> record.getId().getValue()).containsExactly("2-0");
+        // 死信候选与普通消息一起认领，认领成功后才写死信并确认
+        assertThat(claimedIds()).containsExactly("1-0", "2-0");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<MapRecord<String, Object, Object>> deadLetter = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streamOperations).add(deadLetter.capture());
+        assertThat(deadLetter.getValue().getStream()).isEqualTo(STREAM + ":dlq");
+        assertThat(deadLetter.getValue().getValue())
+                .containsEntry("payload", "payload-1-0")
+                .containsEntry("_originalStream", STREAM)
+                .containsEntry("_originalId", "1-0")
+                .containsEntry("_consumerGroup", GROUP)
+                .containsEntry("_deliveryCount", "5");
+        verify(streamOperations).acknowledge(STREAM, GROUP, "1-0");
+        verify(streamOperations, never()).acknowledge(STREAM, GROUP, "2-0");
+        assertThat(recovery.getDeadLetterCount()).isEqualTo(1);
+        assertThat(recovery.getClaimedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testOverDeliveredEntryClaimedByAnotherInstanceIsNotDeadLettered() {
+        config.setMaxDeliveryCount(5);
+        pending(entry("1-0", 70000, 7));
+        // 另一个实例抢先认领：本实例既不写死信流，也不确认它正在处理的消息
+        when(streamOperations.claim(eq(STREAM), eq(GROUP), eq("worker-a"), eq(MIN_IDLE), any(RecordId[].class)))
+                .thenReturn(List.of());
+
+        assertThat(recovery.reclaim(STREAM, "worker-a")).isEmpty();
+
+        verify(streamOperations, never()).add(any(MapRecord.class));
+        verify(streamOperations, never()).acknowledge(anyString(), anyString(), any(String[].class));
+        assertThat(recovery.getDeadLetterCount()).isZero();
+    }
+
+    @Test
+    void testNothingIdleOrClaimDisabledSkipsClaim() {
+        pending(entry("1-0", 1000, 1));
+        assertThat(recovery.reclaim(STREAM, "worker-a")).isEmpty();
+
+        config.setClaimIdleTime(0);
+        assertThat(recovery.reclaim(STREAM, "worker-a")).isEmpty();
+
+        verify(streamOperations, times(1)).pending(anyString(), anyString(), any(Range.class), anyLong());
+        verify(streamOperations, never()).claim(anyString(), anyString(), anyString(), any(Duration.class),
+                any(RecordId[].class));
+    }
+
+    @Test
+    void testInspectReadsGroupBacklog() {
+        when(streamOperations.groups(STREAM)).thenReturn(XInfoGroups.fromList(List.of(
+                group("other-group", 1, 40, null),
+                group(GROUP, 3, 25, 1200L))));
+
+        StreamBacklog backlog = recovery.inspect(STREAM);
+
+        assertThat(backlog).isEqualTo(new StreamBacklog(STREAM, 1200, 25, 3));
+        assertThat(backlog.total()).isEqualTo(1225);
+    }
+
+    @Test
+    void testInspectWithoutLagOrGroup() {
+        when(streamOperations.groups(STREAM)).thenReturn(
+                XInfoGroups.fromList(List.of(group(GROUP, 2, 25, null))),
+                XInfoGroups.fromList(List.of()));
+
+        // Redis 7 以下没有 lag 字段，只按未确认消息计算积压
+        StreamBacklog backlog = recovery.inspect(STREAM);
+        assertThat(backlog.lag()).isEqualTo(-1);
+        assertThat(backlog.total()).isEqualTo(25);
+
+        assertThat(recovery.inspect(STREAM)).isEqualTo(new StreamBacklog(STREAM, -1, 0, 0));
+    }
+
+    private void pending(PendingMessage... messages) {
+        when(streamOperations.pending(STREAM, GROUP, Range.unbounded(), (long) config.getClaimBatchSize()))
+                .thenReturn(new PendingMessages(GROUP, Arrays.asList(messages)));
+    }
+
+    private List<String> claimedIds() {
+        ArgumentCaptor<RecordId[]> ids = ArgumentCaptor.forClass(RecordId[].class);
+        verify(streamOperations).claim(eq(STREAM), eq(GROUP), eq("worker-a"), eq(MIN_IDLE), ids.capture());
+        List<String> values = new ArrayList<>();
+        for (RecordId id : ids.getValue()) {
+            values.add(id.getValue());
+        }
+        return values;
+    }
+
+    private static PendingMessage entry(String id, long idleMillis, long deliveryCount) {
+        return new PendingMessage(RecordId.of(id), Consumer.from(GROUP, "worker-b"),
+                Duration.ofMillis(idleMillis), deliveryCount);
+    }
+
+    private static MapRecord<String, Object, Object> record(String id) {
+        return StreamRecords.newRecord().in(STREAM).withId(RecordId.of(id))
+                .ofMap(Map.<Object, Object>of("payload", "payload-" + id));
+    }
+
+    private static List<Object> group(String name, long consumers, long pending, Long lag) {
+        List<Object> raw = new ArrayList<>(List.of("name", name, "consumers", consumers, "pending", pending,
+                "last-delivered-id", "0-0"));
+        if (lag != null) {
+            raw.add("lag");
+            raw.add(lag);
+        }
+        return raw;
+    }
+}
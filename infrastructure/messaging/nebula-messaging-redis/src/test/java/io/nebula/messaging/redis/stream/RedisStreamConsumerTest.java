@@ -0,0 +1,152 @@
+package io.nebula.messaging.redis.stream;
+
+import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.message.Message;
+import io.nebula.messaging.redis.config.RedisMessagingProperties;
+import io.nebula.messaging.redis.support.RedisMessageSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroups;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisStreamConsumer单元测试
+ *
+ * 测试目的: 验证恢复任务采集积压并按积压伸缩监听消费者：扩容一次到位，缩容每轮只减一个
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisStreamConsumerTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private StreamMessageListenerContainer<String, ObjectRecord<String, String>> listenerContainer;
+
+    private final RedisMessagingProperties properties = new RedisMessagingProperties();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong lag = new AtomicLong();
+
+    private RedisStreamConsumer<String> consumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisMessagingProperties.StreamConfig stream = properties.getStream();
+        stream.setRecoveryInterval(10);
+        stream.setClaimIdleTime(0);
+        stream.setMinConcurrency(1);
+        stream.setMaxConcurrency(4);
+        stream.setBacklogPerConsumer(1000);
+
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        lenient().when(streamOperations.groups(any())).thenAnswer(invocation -> XInfoGroups.fromList(List.of(
+                List.<Object>of("name", stream.getConsumerGroup(), "consumers", 1L, "pending", 0L,
+                        "last-delivered-id", "0-0", "lag", lag.get()))));
+        when(listenerContainer.receive(any(Consumer.class), any(StreamOffset.class), any(StreamListener.class)))
+                .thenAnswer(invocation -> {
+                    Subscription subscription = mock(Subscription.class);
+                    subscriptions.add(subscription);
+                    return subscription;
+                });
+
+        consumer = new RedisStreamConsumer<>(redisTemplate, properties, new RedisMessageSerializer(),
+                listenerContainer, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.stop();
+    }
+
+    @Test
+    void testScalesOutToBacklogAndInOneWorkerPerRound() {
+        consumer.subscribe("orders", handler());
+        assertThat(consumer.getConcurrency("orders")).isEqualTo(1);
+        assertThat(consumer.getBacklog("orders")).isNull();
+
+        lag.set(2500);
+        consumer.start();
+        await(() -> consumer.getConcurrency("orders") == 3);
+
+        StreamBacklog backlog = consumer.getBacklog("orders");
+        assertThat(backlog.lag()).isEqualTo(2500);
+        assertThat(backlog.streamKey()).endsWith("orders");
+
+        // 积压超过最大并发能承担的量时封顶
+        lag.set(100_000);
+        await(() -> consumer.getConcurrency("orders") == 4);
+        assertThat(subscriptions).hasSize(4);
+
+        lag.set(0);
+        await(() -> consumer.getConcurrency("orders") == 1);
+        // 后加入的监听消费者先被取消，订阅本身保留
+        verify(subscriptions.get(3)).cancel();
+        verify(subscriptions.get(1)).cancel();
+        verify(subscriptions.get(0), never()).cancel();
+    }
+
+    @Test
+    void testFixedConcurrencyDoesNotScale() throws Exception {
+        properties.getStream().setMaxConcurrency(1);
+        consumer.subscribe("orders", handler());
+
+        lag.set(5000);
+        consumer.start();
+        await(() -> consumer.getBacklog("orders") != null);
+        Thread.sleep(50);
+
+        assertThat(consumer.getConcurrency("orders")).isEqualTo(1);
+        assertThat(consumer.getBacklog("orders").total()).isEqualTo(5000);
+        assertThat(consumer.getBacklog("unknown")).isNull();
+    }
+
+    private static MessageHandler<String> handler() {
+        return new MessageHandler<>() {
+            @Override
+            public void handle(Message<String> message) {
+            }
+
+            @Override
+            public Class<String> getMessageType() {
+                return String.class;
+            }
+        };
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("等待条件超时").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.nebula.messaging.redis.support;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.nebula.messaging.core.exception.MessageSerializationException;
+import io.nebula.messaging.core.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * RedisMessageSerializer单元测试
+ *
+ * 测试目的: 验证按处理器声明的载荷类型解码消息
+ */
+class RedisMessageSerializerTest {
+
+    private final RedisMessageSerializer serializer = new RedisMessageSerializer();
+
+    @Test
+    void testPayloadDecodedToDeclaredClass() {
+        String json = serializer.serialize(Message.of("orders", new OrderEvent("o-1", 3)));
+
+        Message<OrderEvent> message = serializer.deserialize(json, (Type) OrderEvent.class);
+
+        assertThat(message.getTopic()).isEqualTo("orders");
+        assertThat(message.getPayload()).isInstanceOf(OrderEvent.class);
+        assertThat(message.getPayload().getOrderId()).isEqualTo("o-1");
+    }
+
+    @Test
+    void testPayloadDecodedToParameterizedType() {
+        Type type = new TypeReference<List<OrderEvent>>() {
+        }.getType();
+        String json = serializer.serialize(Message.of("orders",
+                List.of(new OrderEvent("o-1", 1), new OrderEvent("o-2", 2))));
+
+        Message<List<OrderEvent>> message = serializer.deserialize(json, type);
+
+        assertThat(message.getPayload()).hasSize(2)
+                .allSatisfy(item -> assertThat(item).isInstanceOf(OrderEvent.class));
+        assertThat(message.getPayload().get(1).getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    void testPrimitivePayloadDecodedAsWrapper() {
+        String json = serializer.serialize(Message.of("counter", 42));
+
+        Message<Long> message = serializer.deserialize(json, (Type) long.class);
+
+        assertThat(message.getPayload()).isEqualTo(42L);
+    }
+
+    @Test
+    void testObjectPayloadKeepsDefaultStructure() {
+        String json = serializer.serialize(Message.of("orders", new OrderEvent("o-1", 3)));
+
+        assertThat(serializer.deserialize(json, (Type) Object.class).getPayload()).isInstanceOf(Map.class);
+        assertThat(serializer.deserialize(json, (Type) null).getPayload()).isInstanceOf(Map.class);
+    }
+
+    @Test
+    void testMalformedJsonRaisesSerializationException() {
+        assertThatThrownBy(() -> serializer.deserialize("{\"payload\":", (Type) OrderEvent.class))
+                .isInstanceOf(MessageSerializationException.class);
+    }
+
+    static class OrderEvent {
+
+        private String orderId;
+        private int quantity;
+
+        OrderEvent() {
+        }
+
+        OrderEvent(String orderId, int quantity) {
+            this.orderId = orderId;
+            this.quantity = quantity;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(String orderId) {
+            this.orderId = orderId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.nebula.messaging.redis.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisPipelines单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisPipelinesTest {
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @Test
+    void testPartiallyFailingPipelineReturnsPerCommandResults() {
+        InvalidDataAccessApiUsageException failure = new InvalidDataAccessApiUsageException("WRONGTYPE");
+        List<Object> raw = Arrays.asList(1L, failure, 1L);
+        when(connection.closePipeline()).thenThrow(new RedisPipelineException(failure, raw));
+
+        List<Object> results = RedisPipelines.execute(redisTemplate, operations -> {
+            operations.opsForList().leftPush("a", "1");
+            operations.opsForList().leftPush("b", "2");
+            operations.opsForList().leftPush("c", "3");
+        });
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0)).isEqualTo(1L);
+        assertThat(results.get(1)).isSameAs(failure);
+        assertThat(results.get(2)).isEqualTo(1L);
+        verify(connection).openPipeline();
+    }
+
+    @Test
+    void testSuccessfulPipelineReturnsResultsInCommandOrder() {
+        when(connection.closePipeline()).thenReturn(Arrays.asList(1L, 2L));
+
+        List<Object> results = RedisPipelines.execute(redisTemplate, operations -> {
+            operations.opsForList().leftPush("a", "1");
+            operations.opsForList().leftPush("a", "2");
+        });
+
+        assertThat(results).containsExactly(1L, 2L);
+    }
+}
@@ -1,13 +1,19 @@
 package io.nebula.messaging.rocketmq.consumer;
 
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchOptions;
+import io.nebula.messaging.core.consumer.BatchResult;
+import io.nebula.messaging.core.consumer.KeyOrderedDispatcher;
 import io.nebula.messaging.core.consumer.MessageConsumer;
 import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.consumer.OrderedOptions;
 import io.nebula.messaging.core.exception.MessageReceiveException;
 import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.core.serializer.MessageSerializer;
 import io.nebula.messaging.rocketmq.config.RocketMQProperties;
 import org.apache.rocketmq.client.consumer.DefaultLitePullConsumer;
 import org.apache.rocketmq.client.consumer.DefaultMQPushConsumer;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyContext;
 import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus;
 import org.apache.rocketmq.client.consumer.listener.MessageListenerConcurrently;
 import org.apache.rocketmq.common.consumer.ConsumeFromWhere;
@@ -16,6 +22,7 @@ import org.apache.rocketmq.common.protocol.heartbeat.MessageModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Type;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -24,6 +31,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -37,6 +46,8 @@ import java.util.concurrent.atomic.AtomicLong;
  *   <li>queue 参数映射为 Tag 过滤（queue 为空或与 topic 同名时按 "*" 订阅全部消息）</li>
  *   <li>ack/nack 由 Push 模式监听器返回值驱动：处理器正常返回即 ACK，抛异常即 RECONSUME_LATER，
  *       重试超过 maxReconsumeTimes 后进入死信队列</li>
+ *   <li>批量订阅以 consumeMessageBatchMaxSize 控制每批条数，部分失败时通过 ackIndex 只确认成功前缀</li>
+ *   <li>保序订阅在单个消费线程上把每批消息按键分发到并行通道，整批完成后按同样的 ackIndex 规则确认</li>
  *   <li>pull 系列方法基于 DefaultLitePullConsumer 实现，使用独立消费组，不影响 Push 订阅位点</li>
  * </ul>
  *
@@ -46,6 +57,11 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
 
     private static final Logger logger = LoggerFactory.getLogger(RocketMQMessageConsumer.class);
 
+    /**
+     * 保序订阅每批最大条数（RocketMQ 单次拉取上限为 1024）
+     */
+    private static final int MAX_ORDERED_BATCH_SIZE = 1024;
+
     private final MessageSerializer messageSerializer;
     private final RocketMQProperties properties;
 
@@ -54,6 +70,11 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
      */
     private final Map<String, DefaultMQPushConsumer> subscriptions = new ConcurrentHashMap<>();
 
+    /**
+     * 保序订阅的分发器：订阅键 → 分发器
+     */
+    private final Map<String, KeyOrderedDispatcher<OrderedRecord>> orderedDispatchers = new ConcurrentHashMap<>();
+
     private volatile boolean running = false;
     private volatile boolean paused = false;
     private ConsumerConfig config;
@@ -84,12 +105,85 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
         doSubscribe(topic, tag, handler);
     }
 
+    /**
+     * 批量订阅
+     * <p>
+     * 每批条数映射为 consumeMessageBatchMaxSize（pullBatchSize 不小于批大小）。Push 客户端每次拉取后
+     * 直接按批回调，不再额外等待 {@link BatchOptions#lingerTime()}：在拉取间隔上攒批会限制单队列吞吐。
+     * RocketMQ 只能确认一批的前缀：部分失败时确认第一条失败消息之前的部分，其后的消息全部重投。
+     */
+    @Override
+    public void subscribeBatch(String topic, String queue, BatchMessageHandler<T> handler, BatchOptions options) {
+        String tag = (queue == null || queue.isEmpty() || queue.equals(topic)) ? "*" : queue;
+        String key = subscriptionKey(topic, tag);
+        if (subscriptions.containsKey(key)) {
+            logger.warn("重复订阅，忽略: topic={}, tag={}", topic, tag);
+            return;
+        }
+
+        try {
+            DefaultMQPushConsumer consumer = createPushConsumer(topic, tag);
+            consumer.setConsumeMessageBatchMaxSize(options.maxBatchSize());
+            consumer.setPullBatchSize(Math.max(consumer.getPullBatchSize(), options.maxBatchSize()));
+            consumer.registerMessageListener((MessageListenerConcurrently) (msgs, context) ->
+                    consumeBatch(msgs, context, handler));
+            consumer.start();
+
+            subscriptions.put(key, consumer);
+            logger.info("批量订阅成功: topic={}, tag={}, group={}, maxBatchSize={}",
+                    topic, tag, consumer.getConsumerGroup(), options.maxBatchSize());
+        } catch (Exception e) {
+            throw new MessageReceiveException("批量订阅失败: topic=" + topic + ", tag=" + tag, e);
+        }
+    }
+
+    /**
+     * 按消息键保序并行订阅
+     * <p>
+     * Push 客户端只用一个消费线程按批回调（consumeMessageBatchMaxSize 取在途上限），批内消息按
+     * {@link OrderedOptions#keyHeader()} 属性（缺失时按消息 ID）分配到单线程通道并行处理，
+     * 整批完成后才返回，因此回调线程即背压点：通道处理不过来时不会取下一批。
+     * 确认与批量订阅相同：只确认第一条失败消息之前的前缀，其后的消息全部重投，重投不保证顺序。
+     */
+    @Override
+    public void subscribeOrdered(String topic, String queue, MessageHandler<T> handler, OrderedOptions options) {
+        String tag = (queue == null || queue.isEmpty() || queue.equals(topic)) ? "*" : queue;
+        String key = subscriptionKey(topic, tag);
+        if (subscriptions.containsKey(key)) {
+            logger.warn("重复订阅，忽略: topic={}, tag={}", topic, tag);
+            return;
+        }
+
+        KeyOrderedDispatcher<OrderedRecord> dispatcher = orderedDispatcher("rocketmq-ordered-" + topic, handler, options);
+        try {
+            int batchSize = Math.min(options.maxInFlight(), MAX_ORDERED_BATCH_SIZE);
+            DefaultMQPushConsumer consumer = createPushConsumer(topic, tag);
+            consumer.setConsumeThreadMin(1);
+            consumer.setConsumeThreadMax(1);
+            consumer.setConsumeMessageBatchMaxSize(batchSize);
+            consumer.setPullBatchSize(Math.max(consumer.getPullBatchSize(), batchSize));
+            consumer.registerMessageListener((MessageListenerConcurrently) (msgs, context) ->
+                    consumeOrdered(msgs, context, dispatcher));
+            consumer.start();
+
+            orderedDispatchers.put(key, dispatcher);
+            subscriptions.put(key, consumer);
+            logger.info("保序订阅成功: topic={}, tag={}, group={}, lanes={}, laneCapacity={}, keyHeader={}",
+                    topic, tag, consumer.getConsumerGroup(), options.lanes(), options.laneCapacity(),
+                    options.keyHeader());
+        } catch (Exception e) {
+            dispatcher.close();
+            throw new MessageReceiveException("保序订阅失败: topic=" + topic + ", tag=" + tag, e);
+        }
+    }
+
     @Override
     public void unsubscribe(String topic) {
         // 移除该 topic 下的全部订阅（含带 tag 的订阅）
         subscriptions.entrySet().removeIf(entry -> {
             if (entry.getKey().equals(topic) || entry.getKey().startsWith(topic + "|")) {
                 entry.getValue().shutdown();
+                closeOrderedDispatcher(entry.getKey());
                 logger.info("取消订阅: {}", entry.getKey());
                 return true;
             }
@@ -103,6 +197,7 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
         DefaultMQPushConsumer consumer = subscriptions.remove(subscriptionKey(topic, tag));
         if (consumer != null) {
             consumer.shutdown();
+            closeOrderedDispatcher(subscriptionKey(topic, tag));
             logger.info("取消订阅: topic={}, tag={}", topic, tag);
         }
     }
@@ -181,6 +276,8 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
         running = false;
         subscriptions.values().forEach(DefaultMQPushConsumer::shutdown);
         subscriptions.clear();
+        orderedDispatchers.values().forEach(KeyOrderedDispatcher::close);
+        orderedDispatchers.clear();
     }
 
     @Override
@@ -235,17 +332,7 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
         }
 
         try {
-            DefaultMQPushConsumer consumer = new DefaultMQPushConsumer(consumerGroup(topic, tag));
-            consumer.setNamesrvAddr(properties.getNameServer());
-            consumer.setConsumeFromWhere(ConsumeFromWhere.CONSUME_FROM_LAST_OFFSET);
-            consumer.setMessageModel(properties.getConsumer().isBroadcasting()
-                    ? MessageModel.BROADCASTING : MessageModel.CLUSTERING);
-            consumer.setConsumeThreadMin(properties.getConsumer().getConsumeThreadMin());
-            consumer.setConsumeThreadMax(properties.getConsumer().getConsumeThreadMax());
-            consumer.setMaxReconsumeTimes(properties.getConsumer().getMaxReconsumeTimes());
-            consumer.setConsumeTimeout(properties.getConsumer().getConsumeTimeoutMinutes());
-            consumer.setConsumeMessageBatchMaxSize(properties.getConsumer().getConsumeMessageBatchMaxSize());
-            consumer.subscribe(topic, tag);
+            DefaultMQPushConsumer consumer = createPushConsumer(topic, tag);
             consumer.registerMessageListener((MessageListenerConcurrently) (msgs, context) -> {
                 if (paused) {
                     return ConsumeConcurrentlyStatus.RECONSUME_LATER;
@@ -266,6 +353,127 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
         }
     }
 
+    /**
+     * 创建并配置 Push 消费者（未注册监听器、未启动）
+     */
+    private DefaultMQPushConsumer createPushConsumer(String topic, String tag) throws Exception {
+        DefaultMQPushConsumer consumer = new DefaultMQPushConsumer(consumerGroup(topic, tag));
+        consumer.setNamesrvAddr(properties.getNameServer());
+        consumer.setConsumeFromWhere(ConsumeFromWhere.CONSUME_FROM_LAST_OFFSET);
+        consumer.setMessageModel(properties.getConsumer().isBroadcasting()
+                ? MessageModel.BROADCASTING : MessageModel.CLUSTERING);
+        consumer.setConsumeThreadMin(properties.getConsumer().getConsumeThreadMin());
+        consumer.setConsumeThreadMax(properties.getConsumer().getConsumeThreadMax());
+        consumer.setMaxReconsumeTimes(properties.getConsumer().getMaxReconsumeTimes());
+        consumer.setConsumeTimeout(properties.getConsumer().getConsumeTimeoutMinutes());
+        consumer.setConsumeMessageBatchMaxSize(properties.getConsumer().getConsumeMessageBatchMaxSize());
+        consumer.subscribe(topic, tag);
+        return consumer;
+    }
+
+    /**
+     * 处理一批消息：整批交给批量处理器，按结果设置 ackIndex
+     * <p>
+     * 返回 CONSUME_SUCCESS 时下标大于 ackIndex 的消息会被发回重试，因此部分失败时
+     * ackIndex 取第一条失败消息的前一条；处理器抛出异常或第一条即失败时整批 RECONSUME_LATER。
+     */
+    ConsumeConcurrentlyStatus consumeBatch(List<MessageExt> msgs, ConsumeConcurrentlyContext context,
+                                           BatchMessageHandler<T> handler) {
+        if (paused) {
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+        int size = msgs.size();
+        long startTime = System.currentTimeMillis();
+        stats.processingCount.addAndGet(size);
+        try {
+            List<Message<T>> messages = new ArrayList<>(size);
+            for (MessageExt ext : msgs) {
+                messages.add(convertMessage(ext, handler.getPayloadType()));
+            }
+            BatchResult result = handler.handle(messages);
+            int firstFailure = result == null ? size : result.firstFailure(size);
+            long elapsed = System.currentTimeMillis() - startTime;
+            for (int i = 0; i < size; i++) {
+                stats.record(i < firstFailure, elapsed);
+            }
+            if (firstFailure == size) {
+                return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+            }
+            logger.warn("批量消息部分失败，从第 {} 条起重投: topic={}, size={}",
+                    firstFailure, msgs.get(0).getTopic(), size);
+            if (firstFailure == 0) {
+                return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+            }
+            context.setAckIndex(firstFailure - 1);
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        } catch (Exception e) {
+            long elapsed = System.currentTimeMillis() - startTime;
+            for (int i = 0; i < size; i++) {
+                stats.record(false, elapsed);
+            }
+            logger.error("批量消息处理失败，整批重投: topic={}, size={}", msgs.get(0).getTopic(), size, e);
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        } finally {
+            stats.processingCount.addAndGet(-size);
+        }
+    }
+
+    /**
+     * 保序处理一批消息：全部提交到分发器，等待整批完成后按第一条失败消息设置 ackIndex
+     */
+    ConsumeConcurrentlyStatus consumeOrdered(List<MessageExt> msgs, ConsumeConcurrentlyContext context,
+                                             KeyOrderedDispatcher<OrderedRecord> dispatcher) {
+        if (paused) {
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+        int size = msgs.size();
+        OrderedBatch batch = new OrderedBatch(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                dispatcher.submit(new OrderedRecord(msgs.get(i), i, batch));
+            }
+            while (!batch.await()) {
+                if (dispatcher.isClosed()) {
+                    return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        } catch (IllegalStateException e) {
+            // 取消订阅期间到达的消息，交给重投
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+
+        int firstFailure = batch.firstFailure();
+        if (firstFailure == size) {
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        }
+        logger.warn("保序消息部分失败，从第 {} 条起重投: topic={}, size={}",
+                firstFailure, msgs.get(0).getTopic(), size);
+        if (firstFailure == 0) {
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+        context.setAckIndex(firstFailure - 1);
+        return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+    }
+
+    /**
+     * 创建保序分发器：通道线程上处理单条消息，完成情况回写到所属批次
+     */
+    KeyOrderedDispatcher<OrderedRecord> orderedDispatcher(String name, MessageHandler<T> handler, OrderedOptions options) {
+        return new KeyOrderedDispatcher<>(name, options,
+                record -> orderingKey(record.ext(), options.keyHeader()),
+                record -> handleMessage(record.ext(), handler),
+                range -> range.forEach(completion ->
+                        completion.element().batch().complete(completion.element().index(), completion.success())));
+    }
+
+    private static String orderingKey(MessageExt ext, String keyHeader) {
+        String value = ext.getProperty(keyHeader);
+        return value != null ? value : ext.getMsgId();
+    }
+
     /**
      * 处理单条消息：反序列化后交给处理器
      *
@@ -275,7 +483,7 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
         long startTime = System.currentTimeMillis();
         stats.processingCount.incrementAndGet();
         try {
-            Message<T> message = convertMessage(ext, handler.getMessageType());
+            Message<T> message = convertMessage(ext, handler.getPayloadType());
             handler.handle(message);
             stats.record(true, System.currentTimeMillis() - startTime);
             return true;
@@ -293,12 +501,12 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
      * RocketMQ 原生消息转换为统一消息对象
      */
     @SuppressWarnings("unchecked")
-    private Message<T> convertMessage(MessageExt ext, Class<T> payloadType) throws Exception {
+    private Message<T> convertMessage(MessageExt ext, Type payloadType) throws Exception {
         T payload;
         if (payloadType == null || payloadType == Object.class) {
             payload = (T) messageSerializer.deserialize(ext.getBody(), Map.class);
         } else {
-            payload = messageSerializer.deserialize(ext.getBody(), payloadType);
+            payload = (T) messageSerializer.deserialize(ext.getBody(), payloadType);
         }
 
         Map<String, String> headers = new HashMap<>();
@@ -329,6 +537,13 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
         return pullConsumer;
     }
 
+    private void closeOrderedDispatcher(String key) {
+        KeyOrderedDispatcher<OrderedRecord> dispatcher = orderedDispatchers.remove(key);
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
     private String subscriptionKey(String topic, String tag) {
         return "*".equals(tag) ? topic : topic + "|" + tag;
     }
@@ -341,6 +556,44 @@ public class RocketMQMessageConsumer<T> implements MessageConsumer<T> {
         return "*".equals(tag) ? base : base + "-" + tag;
     }
 
+    /**
+     * 提交到保序分发器的消息：原始消息及其在批内的下标
+     */
+    record OrderedRecord(MessageExt ext, int index, OrderedBatch batch) {
+    }
+
+    /**
+     * 一批保序消息的完成情况
+     */
+    static final class OrderedBatch {
+
+        private final boolean[] results;
+        private final CountDownLatch remaining;
+
+        OrderedBatch(int size) {
+            this.results = new boolean[size];
+            this.remaining = new CountDownLatch(size);
+        }
+
+        void complete(int index, boolean success) {
+            results[index] = success;
+            remaining.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return remaining.await(1, TimeUnit.SECONDS);
+        }
+
+        int firstFailure() {
+            for (int i = 0; i < results.length; i++) {
+                if (!results[i]) {
+                    return i;
+                }
+            }
+            return results.length;
+        }
+    }
+
     /**
      * 消费者配置实现
      */
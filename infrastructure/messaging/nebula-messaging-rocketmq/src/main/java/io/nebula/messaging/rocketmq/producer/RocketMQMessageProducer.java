@@ -8,12 +8,15 @@ import org.apache.rocketmq.client.producer.DefaultMQProducer;
 import org.apache.rocketmq.client.producer.LocalTransactionState;
 import org.apache.rocketmq.client.producer.TransactionListener;
 import org.apache.rocketmq.client.producer.TransactionMQProducer;
+import org.apache.rocketmq.common.message.MessageClientIDSetter;
 import org.apache.rocketmq.common.message.MessageExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -31,6 +34,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *   <li>延迟消息 → 延迟等级（RocketMQ 4.x 固定 18 级，向上取最近等级）</li>
  *   <li>顺序消息 → MessageQueueSelector 按 shardKey 哈希选队列</li>
  *   <li>广播消息 → 由消费端 MessageModel.BROADCASTING 决定，生产端等同普通发送</li>
+ *   <li>批量消息 → 按 Topic 分组、按 maxMessageSize 切分后使用原生批量发送（MessageBatch）</li>
  * </ul>
  *
  * @author nebula
@@ -47,6 +51,11 @@ public class RocketMQMessageProducer<T> implements MessageProducer<T> {
             420, 480, 540, 600, 1200, 1800, 3600, 7200
     };
 
+    /**
+     * 单条消息在 Broker 端的日志开销估算（与官方批量切分示例一致）
+     */
+    private static final int MESSAGE_LOG_OVERHEAD = 20;
+
     private final DefaultMQProducer producer;
     private final MessageSerializer messageSerializer;
     private final RocketMQProperties properties;
@@ -207,40 +216,46 @@ public class RocketMQMessageProducer<T> implements MessageProducer<T> {
     @Override
     public BatchSendResult sendBatch(List<Message<T>> messages) {
         long startTime = System.currentTimeMillis();
-        List<SendResult> results = new ArrayList<>(messages.size());
-        for (Message<T> message : messages) {
-            results.add(send(message));
-        }
-        return new RocketMQBatchSendResult(results, System.currentTimeMillis() - startTime);
+        SendResult[] results = new SendResult[messages.size()];
+
+        // 原生批量发送要求同一 Topic：按 Topic 分组，组内保持原有顺序
+        Map<String, List<Integer>> indexesByTopic = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            indexesByTopic.computeIfAbsent(messages.get(i).getTopic(), key -> new ArrayList<>()).add(i);
+        }
+
+        indexesByTopic.forEach((topic, indexes) -> {
+            List<PreparedMessage> prepared = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                Message<T> message = messages.get(index);
+                String tag = resolveTag(message.getTag(), message.getQueue(), topic);
+                try {
+                    prepared.add(new PreparedMessage(index, tag,
+                            buildMessage(topic, tag, message.getPayload(), message.getHeaders())));
+                } catch (Exception e) {
+                    results[index] = batchFailure(topic, tag, startTime, e);
+                }
+            }
+            sendInBatches(topic, prepared, results, startTime);
+        });
+
+        return new RocketMQBatchSendResult(Arrays.asList(results), System.currentTimeMillis() - startTime);
     }
 
     @Override
     public BatchSendResult sendBatch(String topic, List<T> payloads) {
         long startTime = System.currentTimeMillis();
-        List<SendResult> results = new ArrayList<>(payloads.size());
-        try {
-            // RocketMQ 原生批量发送要求同一 Topic，且总大小不超过 4MB
-            List<org.apache.rocketmq.common.message.Message> mqMessages = new ArrayList<>(payloads.size());
-            for (T payload : payloads) {
-                mqMessages.add(buildMessage(topic, null, payload, null));
-            }
-            org.apache.rocketmq.client.producer.SendResult result = producer.send(mqMessages, timeout.toMillis());
-
-            long elapsed = System.currentTimeMillis() - startTime;
-            for (int i = 0; i < payloads.size(); i++) {
-                stats.record(true, elapsed / payloads.size());
-                results.add(new RocketMQSendResult(true, result.getMsgId(), topic, null, startTime, elapsed, null, null));
-            }
-        } catch (Exception e) {
-            long elapsed = System.currentTimeMillis() - startTime;
-            logger.error("批量消息发送失败: topic={}, count={}", topic, payloads.size(), e);
-            for (int i = 0; i < payloads.size(); i++) {
-                stats.record(false, elapsed / Math.max(payloads.size(), 1));
-                results.add(new RocketMQSendResult(false, null, topic, null, startTime, elapsed,
-                        "批量消息发送失败: " + e.getMessage(), e));
+        SendResult[] results = new SendResult[payloads.size()];
+        List<PreparedMessage> prepared = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            try {
+                prepared.add(new PreparedMessage(i, null, buildMessage(topic, null, payloads.get(i), null)));
+            } catch (Exception e) {
+                results[i] = batchFailure(topic, null, startTime, e);
             }
         }
-        return new RocketMQBatchSendResult(results, System.currentTimeMillis() - startTime);
+        sendInBatches(topic, prepared, results, startTime);
+        return new RocketMQBatchSendResult(Arrays.asList(results), System.currentTimeMillis() - startTime);
     }
 
     @Override
@@ -314,6 +329,81 @@ public class RocketMQMessageProducer<T> implements MessageProducer<T> {
         }
     }
 
+    /**
+     * 按 maxMessageSize 将同一 Topic 的消息切分为多个 MessageBatch 依次发送，结果按原下标回填
+     */
+    private void sendInBatches(String topic, List<PreparedMessage> prepared, SendResult[] results, long startTime) {
+        int sizeLimit = properties.getProducer().getMaxMessageSize();
+        List<PreparedMessage> batch = new ArrayList<>();
+        int batchSize = 0;
+        for (PreparedMessage message : prepared) {
+            int size = estimateSize(message.mqMessage());
+            if (!batch.isEmpty() && batchSize + size > sizeLimit) {
+                sendBatchChunk(topic, batch, results, startTime);
+                batch = new ArrayList<>();
+                batchSize = 0;
+            }
+            // 单条超过上限的消息单独成批，由 Broker 校验并返回失败
+            batch.add(message);
+            batchSize += size;
+        }
+        if (!batch.isEmpty()) {
+            sendBatchChunk(topic, batch, results, startTime);
+        }
+    }
+
+    private void sendBatchChunk(String topic, List<PreparedMessage> batch, SendResult[] results, long startTime) {
+        long chunkStart = System.currentTimeMillis();
+        List<org.apache.rocketmq.common.message.Message> mqMessages = new ArrayList<>(batch.size());
+        for (PreparedMessage message : batch) {
+            mqMessages.add(message.mqMessage());
+        }
+        try {
+            org.apache.rocketmq.client.producer.SendResult result = producer.send(mqMessages, timeout.toMillis());
+
+            long elapsed = System.currentTimeMillis() - startTime;
+            long perMessage = (System.currentTimeMillis() - chunkStart) / batch.size();
+            String[] batchMsgIds = result.getMsgId() != null ? result.getMsgId().split(",") : new String[0];
+            for (int i = 0; i < batch.size(); i++) {
+                PreparedMessage message = batch.get(i);
+                String msgId = MessageClientIDSetter.getUniqID(message.mqMessage());
+                if (msgId == null) {
+                    msgId = batchMsgIds.length == batch.size() ? batchMsgIds[i] : result.getMsgId();
+                }
+                stats.record(true, perMessage);
+                results[message.index()] = new RocketMQSendResult(true, msgId, topic, message.tag(),
+                        startTime, elapsed, null, null);
+            }
+            logger.debug("批量消息发送成功: topic={}, count={}, elapsed={}ms", topic, batch.size(), elapsed);
+        } catch (Exception e) {
+            logger.error("批量消息发送失败: topic={}, count={}", topic, batch.size(), e);
+            for (PreparedMessage message : batch) {
+                results[message.index()] = batchFailure(topic, message.tag(), startTime, e);
+            }
+        }
+    }
+
+    private SendResult batchFailure(String topic, String tag, long startTime, Exception e) {
+        long elapsed = System.currentTimeMillis() - startTime;
+        stats.record(false, elapsed);
+        return new RocketMQSendResult(false, null, topic, tag, startTime, elapsed,
+                "批量消息发送失败: " + e.getMessage(), e);
+    }
+
+    /**
+     * 估算消息编码后的大小：Topic + 消息体 + 属性 + 日志开销
+     */
+    private static int estimateSize(org.apache.rocketmq.common.message.Message mqMessage) {
+        int size = mqMessage.getTopic().length() + mqMessage.getBody().length + MESSAGE_LOG_OVERHEAD;
+        Map<String, String> messageProperties = mqMessage.getProperties();
+        if (messageProperties != null) {
+            for (Map.Entry<String, String> entry : messageProperties.entrySet()) {
+                size += entry.getKey().length() + entry.getValue().length();
+            }
+        }
+        return size;
+    }
+
     /**
      * 构建 RocketMQ 原生消息
      */
@@ -375,6 +465,12 @@ public class RocketMQMessageProducer<T> implements MessageProducer<T> {
         return transactionProducer;
     }
 
+    /**
+     * 待批量发送的消息及其在批次中的原始下标
+     */
+    private record PreparedMessage(int index, String tag, org.apache.rocketmq.common.message.Message mqMessage) {
+    }
+
     /**
      * 事务调用上下文：携带回调与核心消息对象
      */
@@ -1,9 +1,18 @@
 package io.nebula.messaging.rocketmq.consumer;
 
+import io.nebula.messaging.core.consumer.BatchMessageHandler;
+import io.nebula.messaging.core.consumer.BatchResult;
+import io.nebula.messaging.core.consumer.KeyOrderedDispatcher;
 import io.nebula.messaging.core.consumer.MessageConsumer;
+import io.nebula.messaging.core.consumer.MessageHandler;
+import io.nebula.messaging.core.consumer.OrderedOptions;
 import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.core.serializer.MessageSerializer;
 import io.nebula.messaging.rocketmq.config.RocketMQProperties;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyContext;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.apache.rocketmq.common.message.MessageQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,13 +20,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * RocketMQMessageConsumer单元测试
  *
- * <p>订阅/拉取依赖真实 Broker，由集成测试覆盖；此处验证配置映射与状态管理。</p>
+ * <p>订阅/拉取依赖真实 Broker，由集成测试覆盖；此处验证配置映射、状态管理与批量消费的确认语义。</p>
  */
 @ExtendWith(MockitoExtension.class)
 class RocketMQMessageConsumerTest {
@@ -105,4 +121,130 @@ class RocketMQMessageConsumerTest {
         assertThat(stats.getSuccessRate()).isZero();
         assertThat(stats.getProcessingCount()).isZero();
     }
+
+    @Test
+    void testBatchAllSuccessConsumesWholeBatch() {
+        ConsumeConcurrentlyContext context = newContext();
+
+        ConsumeConcurrentlyStatus status = consumer.consumeBatch(messages(3), context,
+                batchHandler(batch -> BatchResult.success()));
+
+        assertThat(status).isEqualTo(ConsumeConcurrentlyStatus.CONSUME_SUCCESS);
+        assertThat(context.getAckIndex()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(consumer.getStats().getSuccessCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testBatchPartialFailureAcksPrefixOnly() {
+        ConsumeConcurrentlyContext context = newContext();
+
+        ConsumeConcurrentlyStatus status = consumer.consumeBatch(messages(4), context,
+                batchHandler(batch -> BatchResult.failed(2)));
+
+        assertThat(status).isEqualTo(ConsumeConcurrentlyStatus.CONSUME_SUCCESS);
+        assertThat(context.getAckIndex()).isEqualTo(1);
+        assertThat(consumer.getStats().getSuccessCount()).isEqualTo(2);
+        assertThat(consumer.getStats().getFailedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testBatchFirstFailureOrExceptionReconsumesWholeBatch() {
+        assertThat(consumer.consumeBatch(messages(2), newContext(),
+                batchHandler(batch -> BatchResult.failed(0))))
+                .isEqualTo(ConsumeConcurrentlyStatus.RECONSUME_LATER);
+
+        assertThat(consumer.consumeBatch(messages(2), newContext(),
+                batchHandler(batch -> {
+                    throw new IllegalStateException("db down");
+                })))
+                .isEqualTo(ConsumeConcurrentlyStatus.RECONSUME_LATER);
+        assertThat(consumer.getStats().getFailedCount()).isEqualTo(4);
+    }
+
+    @Test
+    void testOrderedKeepsPerKeyOrderAndConsumesWholeBatch() {
+        Map<String, List<String>> processed = new ConcurrentHashMap<>();
+        KeyOrderedDispatcher<RocketMQMessageConsumer.OrderedRecord> dispatcher = consumer.orderedDispatcher(
+                "test-ordered", handler(message -> processed
+                        .computeIfAbsent(message.getHeaders().get("shard_key"), k -> new CopyOnWriteArrayList<>())
+                        .add(message.getId())),
+                OrderedOptions.of(4, 4));
+        List<MessageExt> messages = messages(12);
+        for (int i = 0; i < messages.size(); i++) {
+            messages.get(i).putUserProperty("shard_key", "order-" + (i % 2));
+        }
+        ConsumeConcurrentlyContext context = newContext();
+
+        ConsumeConcurrentlyStatus status = consumer.consumeOrdered(messages, context, dispatcher);
+        dispatcher.close();
+
+        assertThat(status).isEqualTo(ConsumeConcurrentlyStatus.CONSUME_SUCCESS);
+        assertThat(context.getAckIndex()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(processed.get("order-0")).containsExactly("MSG-0", "MSG-2", "MSG-4", "MSG-6", "MSG-8", "MSG-10");
+        assertThat(processed.get("order-1")).containsExactly("MSG-1", "MSG-3", "MSG-5", "MSG-7", "MSG-9", "MSG-11");
+        assertThat(consumer.getStats().getSuccessCount()).isEqualTo(12);
+    }
+
+    @Test
+    void testOrderedPartialFailureAcksPrefixBeforeFirstFailure() {
+        KeyOrderedDispatcher<RocketMQMessageConsumer.OrderedRecord> dispatcher = consumer.orderedDispatcher(
+                "test-ordered", handler(message -> {
+                    if ("MSG-2".equals(message.getId()) || "MSG-4".equals(message.getId())) {
+                        throw new IllegalStateException("handler failed");
+                    }
+                }),
+                OrderedOptions.of(2, 4));
+        ConsumeConcurrentlyContext context = newContext();
+
+        ConsumeConcurrentlyStatus status = consumer.consumeOrdered(messages(6), context, dispatcher);
+        dispatcher.close();
+
+        assertThat(status).isEqualTo(ConsumeConcurrentlyStatus.CONSUME_SUCCESS);
+        assertThat(context.getAckIndex()).isEqualTo(1);
+        assertThat(consumer.getStats().getFailedCount()).isEqualTo(2);
+    }
+
+    private ConsumeConcurrentlyContext newContext() {
+        return new ConsumeConcurrentlyContext(new MessageQueue("test-topic", "broker-a", 0));
+    }
+
+    private List<MessageExt> messages(int count) {
+        List<MessageExt> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MessageExt ext = new MessageExt();
+            ext.setTopic("test-topic");
+            ext.setBody(("payload-" + i).getBytes());
+            ext.setMsgId("MSG-" + i);
+            messages.add(ext);
+        }
+        return messages;
+    }
+
+    private MessageHandler<String> handler(Consumer<Message<String>> action) {
+        return new MessageHandler<>() {
+            @Override
+            public void handle(Message<String> message) {
+                action.accept(message);
+            }
+
+            @Override
+            public Class<String> getMessageType() {
+                return String.class;
+            }
+        };
+    }
+
+    private BatchMessageHandler<String> batchHandler(Function<List<Message<String>>, BatchResult> function) {
+        return new BatchMessageHandler<>() {
+            @Override
+            public BatchResult handle(List<Message<String>> messages) {
+                return function.apply(messages);
+            }
+
+            @Override
+            public Class<String> getMessageType() {
+                return String.class;
+            }
+        };
+    }
 }
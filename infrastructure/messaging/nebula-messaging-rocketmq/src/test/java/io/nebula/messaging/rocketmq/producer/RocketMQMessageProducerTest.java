@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -160,6 +161,31 @@ class RocketMQMessageProducerTest {
         assertThat(result.getSuccessCount()).isEqualTo(3);
     }
 
+    @Test
+    void testSendBatchSplitsBySizeAndTopic() throws Exception {
+        RocketMQProperties properties = new RocketMQProperties();
+        properties.setNameServer("127.0.0.1:9876");
+        // 每条消息约 topic(7) + body(12) + keys 属性 + 20，上限只容纳两条
+        properties.getProducer().setMaxMessageSize(200);
+        producer = new RocketMQMessageProducer<>(mqProducer, messageSerializer, properties);
+        when(mqProducer.send(any(java.util.Collection.class), anyLong())).thenReturn(okResult());
+
+        List<Message<String>> messages = List.of(
+                Message.<String>builder().topic("topic-a").payload("a1").build(),
+                Message.<String>builder().topic("topic-b").payload("b1").build(),
+                Message.<String>builder().topic("topic-a").payload("a2").build(),
+                Message.<String>builder().topic("topic-a").payload("a3").build());
+
+        MessageProducer.BatchSendResult result = producer.sendBatch(messages);
+
+        assertThat(result.getTotalCount()).isEqualTo(4);
+        assertThat(result.isAllSuccess()).isTrue();
+        assertThat(result.getResults()).extracting(MessageProducer.SendResult::getTopic)
+                .containsExactly("topic-a", "topic-b", "topic-a", "topic-a");
+        // topic-a 切分为 [a1, a2] 与 [a3]，topic-b 单独一批
+        verify(mqProducer, times(3)).send(any(java.util.Collection.class), anyLong());
+    }
+
     @Test
     void testStats() throws Exception {
         when(mqProducer.send(any(org.apache.rocketmq.common.message.Message.class), anyLong()))
@@ -1,5 +1,7 @@
 package io.nebula.rpc.async.annotation;
 
+import io.nebula.rpc.async.execution.ExecutionPriority;
+
 import java.lang.annotation.*;
 
 /**
@@ -36,4 +38,9 @@ public @interface AsyncRpc {
      * 最大重试次数
      */
     int maxRetries() default 3;
+    
+    /**
+     * 调度优先级，排队时高优先级任务先执行
+     */
+    ExecutionPriority priority() default ExecutionPriority.NORMAL;
 }
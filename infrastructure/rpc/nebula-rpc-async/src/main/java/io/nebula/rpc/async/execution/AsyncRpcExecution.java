@@ -16,7 +16,7 @@ import java.util.Map;
  * @since 2.1.0
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class AsyncRpcExecution implements Serializable {
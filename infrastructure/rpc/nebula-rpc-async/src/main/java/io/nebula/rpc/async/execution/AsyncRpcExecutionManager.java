@@ -1,18 +1,26 @@
 package io.nebula.rpc.async.execution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.rpc.async.annotation.AsyncRpc;
+import io.nebula.rpc.async.executor.AsyncRpcTaskExecutor;
+import io.nebula.rpc.async.notification.AsyncExecutionNotifier;
 import io.nebula.rpc.async.storage.AsyncExecutionStorage;
-import lombok.RequiredArgsConstructor;
+import io.nebula.rpc.core.context.RpcContext;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 异步RPC执行管理器
@@ -24,12 +32,33 @@ import java.util.concurrent.Executor;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AsyncRpcExecutionManager {
     
     private final AsyncExecutionStorage storage;
     private final Executor rpcExecutor;
     private final ObjectMapper objectMapper;
+    private final AsyncExecutionNotifier notifier;
+    
+    /**
+     * 租户标识在 RpcContext 中的键，用于执行器按 租户+方法 分区限流
+     */
+    @Setter
+    private String tenantContextKey = "X-Tenant-Id";
+    
+    public AsyncRpcExecutionManager(AsyncExecutionStorage storage, Executor rpcExecutor, ObjectMapper objectMapper) {
+        this(storage, rpcExecutor, objectMapper, new AsyncExecutionNotifier(storage, Duration.ofSeconds(1)));
+    }
+    
+    @Autowired
+    public AsyncRpcExecutionManager(AsyncExecutionStorage storage,
+                                    Executor rpcExecutor,
+                                    ObjectMapper objectMapper,
+                                    AsyncExecutionNotifier notifier) {
+        this.storage = storage;
+        this.rpcExecutor = rpcExecutor;
+        this.objectMapper = objectMapper;
+        this.notifier = notifier;
+    }
     
     /**
      * 提交异步执行
@@ -54,75 +83,147 @@ public class AsyncRpcExecutionManager {
         log.info("[AsyncRpc] 提交异步执行: executionId={}, interface={}, method={}", 
                 execution.getExecutionId(), interfaceClass.getSimpleName(), method.getName());
         
-        // 2. 异步执行
-        rpcExecutor.execute(() -> executeAsync(execution.getExecutionId(), callable));
+        // 2. 异步执行（排队已满时标记为 REJECTED 返回给调用方）
+        notifier.register(execution.getExecutionId());
+        AsyncRpcExecution snapshot = execution.toBuilder().build();
+        Runnable task = () -> executeAsync(snapshot, callable);
+        boolean accepted;
+        if (rpcExecutor instanceof AsyncRpcTaskExecutor taskExecutor) {
+            accepted = taskExecutor.submit(partitionKey(execution), resolvePriority(method), task,
+                    () -> discard(snapshot));
+        } else {
+            try {
+                rpcExecutor.execute(task);
+                accepted = true;
+            } catch (RejectedExecutionException e) {
+                accepted = false;
+            }
+        }
+        
+        if (!accepted) {
+            reject(execution);
+        }
         
         return execution;
     }
     
+    /**
+     * 标记执行被拒绝
+     */
+    private void reject(AsyncRpcExecution execution) {
+        log.warn("[AsyncRpc] 执行器排队已满，拒绝执行: executionId={}, interface={}, method={}",
+                execution.getExecutionId(), execution.getInterfaceName(), execution.getMethodName());
+        execution.setStatus(ExecutionStatus.REJECTED);
+        execution.setErrorMessage("异步执行器排队已满，请稍后重试");
+        execution.setFinishTime(LocalDateTime.now());
+        storage.save(execution);
+        notifier.complete(execution.toBuilder().build());
+    }
+    
+    /**
+     * 执行器关闭时执行仍在排队：标记为已取消并通知等待者，避免执行永远停留在 PENDING
+     */
+    private void discard(AsyncRpcExecution execution) {
+        log.warn("[AsyncRpc] 执行器已关闭，排队中的执行被取消: executionId={}", execution.getExecutionId());
+        execution.setStatus(ExecutionStatus.CANCELLED);
+        execution.setErrorMessage("异步执行器已关闭，执行未开始");
+        execution.setFinishTime(LocalDateTime.now());
+        try {
+            storage.save(execution);
+        } finally {
+            notifier.complete(execution);
+        }
+    }
+    
+    /**
+     * 执行器分区键：租户 + 接口#方法
+     */
+    private String partitionKey(AsyncRpcExecution execution) {
+        String tenant = execution.getMetadata() != null ? execution.getMetadata().get(tenantContextKey) : null;
+        String method = execution.getInterfaceName() + "#" + execution.getMethodName();
+        return tenant != null ? tenant + ":" + method : method;
+    }
+    
+    private ExecutionPriority resolvePriority(Method method) {
+        AsyncRpc asyncRpc = method.getAnnotation(AsyncRpc.class);
+        return asyncRpc != null ? asyncRpc.priority() : ExecutionPriority.NORMAL;
+    }
+    
     /**
      * 异步执行逻辑
+     * 
+     * @param execution 提交时的执行记录副本，执行结束后作为终态推送给等待者
      */
-    private <T> void executeAsync(String executionId, Callable<T> callable) {
+    private <T> void executeAsync(AsyncRpcExecution execution, Callable<T> callable) {
+        String executionId = execution.getExecutionId();
+        if (isCancelled(executionId)) {
+            // 排队期间已被取消：cancel 已通知等待者，不再运行也不覆盖 CANCELLED
+            log.info("[AsyncRpc] 执行已取消，跳过: executionId={}", executionId);
+            return;
+        }
         try {
             log.info("[AsyncRpc] 开始执行: executionId={}", executionId);
             
             // 更新为运行中
             storage.updateStatus(executionId, ExecutionStatus.RUNNING);
+            execution.setStatus(ExecutionStatus.RUNNING);
+            execution.setStartTime(LocalDateTime.now());
             
             // 执行RPC调用
             T result = callable.call();
             
             // 保存结果并更新状态（合并操作避免覆盖问题）
-            updateResultAndStatus(executionId, result, ExecutionStatus.SUCCESS);
+            String resultJson = updateResultAndStatus(executionId, result, ExecutionStatus.SUCCESS);
+            execution.setResult(resultJson);
+            execution.setStatus(ExecutionStatus.SUCCESS);
             
             log.info("[AsyncRpc] 执行成功: executionId={}", executionId);
             
         } catch (Exception e) {
             log.error("[AsyncRpc] 执行失败: executionId={}", executionId, e);
             updateErrorAndStatus(executionId, e, ExecutionStatus.FAILED);
+            execution.setErrorMessage(e.getMessage());
+            execution.setErrorStack(AsyncExecutionStorage.stackTraceOf(e));
+            execution.setStatus(ExecutionStatus.FAILED);
+        } finally {
+            if (execution.getStatus() == null || !execution.getStatus().isTerminal()) {
+                execution.setStatus(ExecutionStatus.FAILED);
+            }
+            execution.setFinishTime(LocalDateTime.now());
+            notifier.complete(execution);
         }
     }
     
     /**
-     * 更新结果并设置状态（合并为单次操作）
+     * 任务开始前读取存储中的状态，取消可能来自其他节点
      */
-    private void updateResultAndStatus(String executionId, Object result, ExecutionStatus status) {
-        AsyncRpcExecution execution = storage.findById(executionId);
-        if (execution != null) {
-            try {
-                execution.setResult(objectMapper.writeValueAsString(result));
-                execution.setStatus(status);
-                execution.setFinishTime(java.time.LocalDateTime.now());
-                storage.save(execution);
-            } catch (Exception e) {
-                log.error("[AsyncRpc] 更新结果和状态失败: executionId={}", executionId, e);
-                throw new RuntimeException("更新结果失败", e);
-            }
-        }
+    private boolean isCancelled(String executionId) {
+        AsyncRpcExecution stored = storage.findById(executionId);
+        return stored != null && stored.getStatus() == ExecutionStatus.CANCELLED;
     }
     
     /**
-     * 更新错误并设置状态（合并为单次操作）
+     * 更新结果并设置状态（合并为单次操作）
+     * 
+     * @return 结果JSON
      */
-    private void updateErrorAndStatus(String executionId, Throwable error, ExecutionStatus status) {
-        AsyncRpcExecution execution = storage.findById(executionId);
-        if (execution != null) {
-            execution.setErrorMessage(error.getMessage());
-            execution.setErrorStack(getStackTrace(error));
-            execution.setStatus(status);
-            execution.setFinishTime(java.time.LocalDateTime.now());
-            storage.save(execution);
+    private String updateResultAndStatus(String executionId, Object result, ExecutionStatus status) {
+        String resultJson;
+        try {
+            resultJson = objectMapper.writeValueAsString(result);
+        } catch (Exception e) {
+            log.error("[AsyncRpc] 更新结果和状态失败: executionId={}", executionId, e);
+            throw new RuntimeException("更新结果失败", e);
         }
+        storage.updateResultAndStatus(executionId, resultJson, status);
+        return resultJson;
     }
     
     /**
-     * 获取异常堆栈
+     * 更新错误并设置状态（合并为单次操作）
      */
-    private String getStackTrace(Throwable error) {
-        java.io.StringWriter sw = new java.io.StringWriter();
-        error.printStackTrace(new java.io.PrintWriter(sw));
-        return sw.toString();
+    private void updateErrorAndStatus(String executionId, Throwable error, ExecutionStatus status) {
+        storage.updateErrorAndStatus(executionId, error, status);
     }
     
     /**
@@ -135,6 +236,20 @@ public class AsyncRpcExecutionManager {
         return storage.findById(executionId);
     }
     
+    /**
+     * 等待执行结束
+     * 
+     * <p>本节点提交的执行在结束时直接推送，等待期间不读取存储；
+     * 返回的 Future 以终态执行记录完成，执行不存在时以 null 完成。
+     * 调用方放弃等待时应调用 {@code future.cancel(false)}。
+     *
+     * @param executionId 执行ID
+     * @return 终态执行记录
+     */
+    public CompletableFuture<AsyncRpcExecution> awaitCompletion(String executionId) {
+        return notifier.await(executionId);
+    }
+    
     /**
      * 取消执行
      *
@@ -145,6 +260,9 @@ public class AsyncRpcExecutionManager {
         AsyncRpcExecution execution = storage.findById(executionId);
         if (execution != null && execution.getStatus() == ExecutionStatus.PENDING) {
             storage.updateStatus(executionId, ExecutionStatus.CANCELLED);
+            execution.setStatus(ExecutionStatus.CANCELLED);
+            execution.setFinishTime(LocalDateTime.now());
+            notifier.complete(execution);
             log.info("[AsyncRpc] 取消执行: executionId={}", executionId);
             return true;
         }
@@ -166,6 +284,12 @@ public class AsyncRpcExecutionManager {
             argsJson = "[]";
         }
         
+        Map<String, String> metadata = new HashMap<>();
+        String tenant = RpcContext.get(tenantContextKey);
+        if (tenant != null) {
+            metadata.put(tenantContextKey, tenant);
+        }
+        
         return AsyncRpcExecution.builder()
                 .executionId(executionId)
                 .interfaceName(interfaceClass.getName())
@@ -173,7 +297,7 @@ public class AsyncRpcExecutionManager {
                 .status(ExecutionStatus.PENDING)
                 .arguments(argsJson)
                 .createTime(LocalDateTime.now())
-                .metadata(new HashMap<>())
+                .metadata(metadata)
                 .build();
     }
 }
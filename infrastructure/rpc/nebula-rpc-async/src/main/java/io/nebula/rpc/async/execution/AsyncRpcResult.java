@@ -60,6 +60,20 @@ public class AsyncRpcResult<T> implements Serializable {
                 .build();
     }
     
+    /**
+     * 根据提交后的执行记录创建结果
+     * 
+     * <p>通常为 PENDING；执行器排队已满时为 REJECTED 并携带错误信息
+     */
+    public static <T> AsyncRpcResult<T> fromExecution(AsyncRpcExecution execution) {
+        return AsyncRpcResult.<T>builder()
+                .executionId(execution.getExecutionId())
+                .status(execution.getStatus())
+                .createTime(execution.getCreateTime() != null ? execution.getCreateTime().toString() : null)
+                .errorMessage(execution.getErrorMessage())
+                .build();
+    }
+    
     /**
      * 创建成功状态的结果
      */
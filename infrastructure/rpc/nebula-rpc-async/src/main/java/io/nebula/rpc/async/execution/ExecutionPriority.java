@@ -0,0 +1,27 @@
+package io.nebula.rpc.async.execution;
+
+/**
+ * 异步执行优先级
+ * 
+ * <p>执行器按优先级从高到低调度排队中的任务，同一优先级内先进先出
+ * 
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+public enum ExecutionPriority {
+    
+    /**
+     * 高优先级
+     */
+    HIGH,
+    
+    /**
+     * 普通优先级（默认）
+     */
+    NORMAL,
+    
+    /**
+     * 低优先级
+     */
+    LOW
+}
@@ -36,5 +36,17 @@ public enum ExecutionStatus {
     /**
      * 超时
      */
-    TIMEOUT
+    TIMEOUT,
+    
+    /**
+     * 被拒绝（执行器排队已满）
+     */
+    REJECTED;
+    
+    /**
+     * 是否为终态（不会再发生状态变化）
+     */
+    public boolean isTerminal() {
+        return this != PENDING && this != RUNNING;
+    }
 }
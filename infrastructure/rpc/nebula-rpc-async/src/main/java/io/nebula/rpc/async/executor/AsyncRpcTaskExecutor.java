@@ -0,0 +1,359 @@
+package io.nebula.rpc.async.executor;
+
+import io.nebula.rpc.async.execution.ExecutionPriority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 异步RPC任务执行器
+ *
+ * <p>每个任务运行在独立的虚拟线程上，并通过以下机制控制准入：
+ * <ul>
+ *   <li>全局并发上限 {@code maxConcurrency}：超出的任务进入优先级队列排队</li>
+ *   <li>分区并发上限 {@code maxConcurrencyPerKey}：同一分区（租户 + 方法）同时运行的任务数，
+ *       超出的任务暂存在分区内，待同分区任务完成后再参与调度，不阻塞其他分区</li>
+ *   <li>排队深度上限 {@code maxQueueDepth}：排队任务总数达到上限时直接拒绝，由调用方转换为
+ *       {@link io.nebula.rpc.async.execution.ExecutionStatus#REJECTED}</li>
+ * </ul>
+ *
+ * <p>调度顺序：高优先级队列先于低优先级队列，同一优先级内先进先出。
+ *
+ * <p>关闭时仍在排队的任务不会再运行，提交时登记的丢弃回调在锁外逐个调用，
+ * 由调用方把对应的执行标记为终态。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+public class AsyncRpcTaskExecutor implements Executor, DisposableBean {
+
+    /**
+     * 未指定分区时使用的默认分区
+     */
+    public static final String DEFAULT_KEY = "default";
+
+    private final int maxConcurrency;
+    private final int maxConcurrencyPerKey;
+    private final int maxQueueDepth;
+    private final ExecutorService threadExecutor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final EnumMap<ExecutionPriority, ArrayDeque<Task>> lanes = new EnumMap<>(ExecutionPriority.class);
+    private final Map<String, Partition> partitions = new HashMap<>();
+    private int running;
+    private int queued;
+    private volatile boolean shutdown;
+
+    // 统计信息
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0);
+
+    public AsyncRpcTaskExecutor(int maxConcurrency, int maxConcurrencyPerKey, int maxQueueDepth, String threadNamePrefix) {
+        this(maxConcurrency, maxConcurrencyPerKey, maxQueueDepth,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory()));
+    }
+
+    AsyncRpcTaskExecutor(int maxConcurrency, int maxConcurrencyPerKey, int maxQueueDepth, ExecutorService threadExecutor) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxConcurrencyPerKey = maxConcurrencyPerKey > 0 ? maxConcurrencyPerKey : this.maxConcurrency;
+        this.maxQueueDepth = Math.max(0, maxQueueDepth);
+        this.threadExecutor = threadExecutor;
+        for (ExecutionPriority priority : ExecutionPriority.values()) {
+            lanes.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * 以默认分区、普通优先级提交任务
+     *
+     * @throws RejectedExecutionException 排队已满或执行器已关闭
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (!submit(DEFAULT_KEY, ExecutionPriority.NORMAL, command)) {
+            throw new RejectedExecutionException("异步RPC执行器排队已满: maxQueueDepth=" + maxQueueDepth);
+        }
+    }
+
+    /**
+     * 提交任务
+     *
+     * @param key 分区键（如 租户:接口#方法），同一分区共享并发上限
+     * @param priority 优先级
+     * @param command 任务
+     * @return 是否被接受，排队已满或执行器已关闭时返回false
+     */
+    public boolean submit(String key, ExecutionPriority priority, Runnable command) {
+        return submit(key, priority, command, null);
+    }
+
+    /**
+     * 提交任务，并登记执行器关闭时任务仍在排队的丢弃回调
+     *
+     * @param key 分区键（如 租户:接口#方法），同一分区共享并发上限
+     * @param priority 优先级
+     * @param command 任务
+     * @param onDiscard 任务因执行器关闭而被丢弃时调用，可为null
+     * @return 是否被接受，排队已满或执行器已关闭时返回false
+     */
+    public boolean submit(String key, ExecutionPriority priority, Runnable command, Runnable onDiscard) {
+        Task task = new Task(key != null ? key : DEFAULT_KEY,
+                priority != null ? priority : ExecutionPriority.NORMAL,
+                command, onDiscard, System.nanoTime());
+
+        lock.lock();
+        try {
+            if (shutdown) {
+                rejectedCount.increment();
+                return false;
+            }
+            Partition partition = partitions.computeIfAbsent(task.key(), k -> new Partition());
+            boolean canRunNow = running < maxConcurrency && partition.active < maxConcurrencyPerKey;
+            if (!canRunNow && queued >= maxQueueDepth) {
+                rejectedCount.increment();
+                log.debug("[AsyncRpc] 任务被拒绝: key={}, priority={}, queued={}", task.key(), task.priority(), queued);
+                return false;
+            }
+            if (canRunNow) {
+                if (!start(task, partition)) {
+                    if (partition.active == 0 && partition.parked.isEmpty()) {
+                        partitions.remove(task.key());
+                    }
+                    return false;
+                }
+            } else if (partition.active >= maxConcurrencyPerKey) {
+                partition.parked.addLast(task);
+                queued++;
+            } else {
+                lanes.get(task.priority()).addLast(task);
+                queued++;
+            }
+            submittedCount.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取执行器统计信息
+     */
+    public ExecutorStats getStats() {
+        lock.lock();
+        int currentRunning;
+        int currentQueued;
+        Map<ExecutionPriority, Integer> laneDepths = new EnumMap<>(ExecutionPriority.class);
+        try {
+            currentRunning = running;
+            currentQueued = queued;
+            lanes.forEach((priority, lane) -> laneDepths.put(priority, lane.size()));
+        } finally {
+            lock.unlock();
+        }
+
+        long completed = completedCount.sum();
+        long started = Math.max(1, submittedCount.sum() - currentQueued);
+        return new ExecutorStats(
+                maxConcurrency,
+                maxQueueDepth,
+                currentRunning,
+                currentQueued,
+                laneDepths,
+                submittedCount.sum(),
+                rejectedCount.sum(),
+                completed,
+                TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / started),
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()),
+                TimeUnit.NANOSECONDS.toMicros(totalRunNanos.sum() / Math.max(1, completed)),
+                TimeUnit.NANOSECONDS.toMicros(maxRunNanos.get()));
+    }
+
+    @Override
+    public void destroy() {
+        List<Task> discarded = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            if (queued > 0) {
+                log.warn("[AsyncRpc] 执行器关闭，丢弃排队中的任务: queued={}", queued);
+            }
+            lanes.values().forEach(lane -> {
+                discarded.addAll(lane);
+                lane.clear();
+            });
+            partitions.values().forEach(partition -> {
+                discarded.addAll(partition.parked);
+                partition.parked.clear();
+            });
+            queued = 0;
+        } finally {
+            lock.unlock();
+        }
+        // 回调可能写存储、唤醒等待者，放在锁外执行
+        discarded.forEach(this::discard);
+        threadExecutor.shutdown();
+        try {
+            if (!threadExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                threadExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            threadExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("[AsyncRpc] 异步执行器已关闭: completed={}, rejected={}", completedCount.sum(), rejectedCount.sum());
+    }
+
+    /**
+     * 启动任务（需持有锁）
+     *
+     * @return 线程执行器拒绝时返回false，计数已回滚，由调用方在锁外丢弃任务
+     */
+    private boolean start(Task task, Partition partition) {
+        running++;
+        partition.active++;
+        long waitNanos = System.nanoTime() - task.enqueueNanos();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+        try {
+            threadExecutor.execute(() -> run(task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // 仅在关闭过程中发生
+            running--;
+            partition.active--;
+            rejectedCount.increment();
+            return false;
+        }
+    }
+
+    private void discard(Task task) {
+        if (task.onDiscard() == null) {
+            return;
+        }
+        try {
+            task.onDiscard().run();
+        } catch (Throwable t) {
+            log.error("[AsyncRpc] 丢弃任务回调异常: key={}", task.key(), t);
+        }
+    }
+
+    private void run(Task task) {
+        long startNanos = System.nanoTime();
+        try {
+            task.command().run();
+        } catch (Throwable t) {
+            log.error("[AsyncRpc] 异步任务执行异常: key={}", task.key(), t);
+        } finally {
+            long runNanos = System.nanoTime() - startNanos;
+            totalRunNanos.add(runNanos);
+            maxRunNanos.accumulate(runNanos);
+            completedCount.increment();
+            onComplete(task);
+        }
+    }
+
+    /**
+     * 任务完成：释放并发额度，把同分区暂存的任务放回队列，然后继续调度
+     */
+    private void onComplete(Task task) {
+        List<Task> rejected = new ArrayList<>();
+        lock.lock();
+        try {
+            running--;
+            Partition partition = partitions.get(task.key());
+            partition.active--;
+            Task parked = partition.parked.pollFirst();
+            if (parked != null) {
+                // 暂存任务已经排过队，放到所在优先级队列的队首
+                lanes.get(parked.priority()).addFirst(parked);
+            } else if (partition.active == 0) {
+                partitions.remove(task.key());
+            }
+            dispatch(rejected);
+        } finally {
+            lock.unlock();
+        }
+        // 与关闭并发时已出队但无法启动的任务，与 destroy 一样在锁外丢弃
+        rejected.forEach(this::discard);
+    }
+
+    /**
+     * 按优先级调度排队任务（需持有锁）
+     *
+     * @param rejected 收集出队后被线程执行器拒绝的任务
+     */
+    private void dispatch(List<Task> rejected) {
+        for (ExecutionPriority priority : ExecutionPriority.values()) {
+            ArrayDeque<Task> lane = lanes.get(priority);
+            while (running < maxConcurrency && !shutdown) {
+                Task next = lane.pollFirst();
+                if (next == null) {
+                    break;
+                }
+                queued--;
+                Partition partition = partitions.computeIfAbsent(next.key(), k -> new Partition());
+                if (partition.active < maxConcurrencyPerKey) {
+                    if (!start(next, partition)) {
+                        rejected.add(next);
+                    }
+                } else {
+                    partition.parked.addLast(next);
+                    queued++;
+                }
+            }
+            if (running >= maxConcurrency) {
+                return;
+            }
+        }
+    }
+
+    private record Task(String key, ExecutionPriority priority, Runnable command, Runnable onDiscard,
+                        long enqueueNanos) {
+    }
+
+    /**
+     * 分区状态：运行中的任务数与因分区额度不足而暂存的任务
+     */
+    private static class Partition {
+        private int active;
+        private final ArrayDeque<Task> parked = new ArrayDeque<>();
+    }
+
+    /**
+     * 执行器统计信息（时间单位：微秒）
+     */
+    public record ExecutorStats(
+            int maxConcurrency,
+            int maxQueueDepth,
+            int running,
+            int queued,
+            Map<ExecutionPriority, Integer> laneDepths,
+            long submitted,
+            long rejected,
+            long completed,
+            long avgWaitMicros,
+            long maxWaitMicros,
+            long avgRunMicros,
+            long maxRunMicros) {
+    }
+}
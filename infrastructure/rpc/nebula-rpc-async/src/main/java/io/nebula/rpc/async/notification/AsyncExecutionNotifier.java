@@ -0,0 +1,213 @@
+package io.nebula.rpc.async.notification;
+
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步执行完成通知器
+ *
+ * <p>为等待执行结果的调用方提供 {@link CompletableFuture}，执行结束时直接推送终态记录，
+ * 等待期间不读取存储：
+ * <ul>
+ *   <li>本节点提交的执行：提交时登记，执行结束时由执行管理器直接完成所有等待者</li>
+ *   <li>其他节点提交的执行：由后台线程按 {@code remotePollInterval} 轮询存储，
+ *       每个执行每个周期只读取一次，与等待者数量无关</li>
+ * </ul>
+ *
+ * <p>等待者超时或断开时应取消返回的 Future，通知器会随之移除该等待者。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+public class AsyncExecutionNotifier implements DisposableBean {
+
+    private final AsyncExecutionStorage storage;
+    private final long remotePollIntervalMs;
+
+    /**
+     * 本节点执行中的执行ID -> 等待者
+     */
+    private final ConcurrentHashMap<String, Set<CompletableFuture<AsyncRpcExecution>>> localWaiters =
+            new ConcurrentHashMap<>();
+
+    /**
+     * 其他节点执行中的执行ID -> 等待者
+     */
+    private final ConcurrentHashMap<String, Set<CompletableFuture<AsyncRpcExecution>>> remoteWaiters =
+            new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService remotePoller;
+
+    public AsyncExecutionNotifier(AsyncExecutionStorage storage, Duration remotePollInterval) {
+        this.storage = storage;
+        this.remotePollIntervalMs = Math.max(100, remotePollInterval.toMillis());
+    }
+
+    /**
+     * 登记本节点提交的执行，需在任务开始执行之前调用
+     *
+     * @param executionId 执行ID
+     */
+    public void register(String executionId) {
+        localWaiters.putIfAbsent(executionId, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * 通知执行已结束，完成所有等待者
+     *
+     * @param execution 终态执行记录
+     */
+    public void complete(AsyncRpcExecution execution) {
+        String executionId = execution.getExecutionId();
+        completeAll(localWaiters.remove(executionId), execution);
+        completeAll(remoteWaiters.remove(executionId), execution);
+    }
+
+    /**
+     * 等待执行结束
+     *
+     * <p>返回的 Future 在执行进入终态时完成；执行不存在时以 {@code null} 完成。
+     * 调用方超时后应调用 {@code future.cancel(false)} 释放等待者。
+     *
+     * @param executionId 执行ID
+     * @return 终态执行记录
+     */
+    public CompletableFuture<AsyncRpcExecution> await(String executionId) {
+        CompletableFuture<AsyncRpcExecution> future = new CompletableFuture<>();
+
+        // 本节点执行：直接挂到完成回调上，不读存储
+        if (attach(localWaiters, executionId, future)) {
+            return future;
+        }
+
+        // 其他节点执行：先读取一次，未结束则交给后台轮询
+        AsyncRpcExecution execution = storage.findById(executionId);
+        if (execution == null || execution.getStatus() == null || execution.getStatus().isTerminal()) {
+            future.complete(execution);
+            return future;
+        }
+
+        remoteWaiters.compute(executionId, (id, waiters) -> {
+            Set<CompletableFuture<AsyncRpcExecution>> result = waiters != null ? waiters : ConcurrentHashMap.newKeySet();
+            result.add(future);
+            return result;
+        });
+        removeOnCompletion(remoteWaiters, executionId, future);
+        ensureRemotePoller();
+        return future;
+    }
+
+    /**
+     * 当前等待中的执行数，用于监控
+     */
+    public int getWaitingExecutionCount() {
+        return localWaiters.size() + remoteWaiters.size();
+    }
+
+    @Override
+    public void destroy() {
+        ScheduledExecutorService poller = remotePoller;
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        localWaiters.values().forEach(waiters -> waiters.forEach(f -> f.cancel(false)));
+        remoteWaiters.values().forEach(waiters -> waiters.forEach(f -> f.cancel(false)));
+        localWaiters.clear();
+        remoteWaiters.clear();
+    }
+
+    /**
+     * 把等待者挂到已登记的执行上，执行未登记时返回false
+     */
+    private boolean attach(ConcurrentHashMap<String, Set<CompletableFuture<AsyncRpcExecution>>> registry,
+                           String executionId,
+                           CompletableFuture<AsyncRpcExecution> future) {
+        boolean[] attached = {false};
+        registry.computeIfPresent(executionId, (id, waiters) -> {
+            waiters.add(future);
+            attached[0] = true;
+            return waiters;
+        });
+        if (attached[0]) {
+            removeOnCompletion(registry, executionId, future);
+        }
+        return attached[0];
+    }
+
+    /**
+     * 等待者取消或超时后自动移除
+     */
+    private void removeOnCompletion(ConcurrentHashMap<String, Set<CompletableFuture<AsyncRpcExecution>>> registry,
+                                    String executionId,
+                                    CompletableFuture<AsyncRpcExecution> future) {
+        future.whenComplete((result, error) -> {
+            Set<CompletableFuture<AsyncRpcExecution>> waiters = registry.get(executionId);
+            if (waiters != null) {
+                waiters.remove(future);
+            }
+        });
+    }
+
+    private void completeAll(Set<CompletableFuture<AsyncRpcExecution>> waiters, AsyncRpcExecution execution) {
+        if (waiters == null) {
+            return;
+        }
+        for (CompletableFuture<AsyncRpcExecution> waiter : waiters) {
+            waiter.complete(execution);
+        }
+    }
+
+    private void ensureRemotePoller() {
+        if (remotePoller != null) {
+            return;
+        }
+        synchronized (this) {
+            if (remotePoller == null) {
+                ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "async-rpc-notifier");
+                    t.setDaemon(true);
+                    return t;
+                });
+                poller.scheduleWithFixedDelay(this::pollRemote,
+                        remotePollIntervalMs, remotePollIntervalMs, TimeUnit.MILLISECONDS);
+                remotePoller = poller;
+            }
+        }
+    }
+
+    /**
+     * 轮询其他节点执行的状态，每个执行每周期一次存储读取
+     */
+    private void pollRemote() {
+        for (String executionId : remoteWaiters.keySet()) {
+            Set<CompletableFuture<AsyncRpcExecution>> waiters = remoteWaiters.get(executionId);
+            if (waiters == null) {
+                continue;
+            }
+            if (waiters.isEmpty()) {
+                // 在分段锁内判断，避免与并发登记的等待者竞争
+                remoteWaiters.computeIfPresent(executionId, (id, current) -> current.isEmpty() ? null : current);
+                continue;
+            }
+            try {
+                AsyncRpcExecution execution = storage.findById(executionId);
+                if (execution == null || execution.getStatus() == null || execution.getStatus().isTerminal()) {
+                    completeAll(remoteWaiters.remove(executionId), execution);
+                }
+            } catch (Exception e) {
+                log.warn("[AsyncRpc] 轮询执行状态失败: executionId={}", executionId, e);
+            }
+        }
+    }
+}
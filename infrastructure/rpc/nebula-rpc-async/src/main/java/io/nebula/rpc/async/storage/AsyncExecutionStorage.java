@@ -3,10 +3,14 @@ package io.nebula.rpc.async.storage;
 import io.nebula.rpc.async.execution.AsyncRpcExecution;
 import io.nebula.rpc.async.execution.ExecutionStatus;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
 /**
  * 异步执行存储接口
  * 
- * <p>支持多种存储实现：Nacos、Redis、Database等
+ * <p>支持多种存储实现：Nacos、Redis、本地追加日志等
  * 
  * @author Nebula Framework
  * @since 2.1.0
@@ -51,4 +55,50 @@ public interface AsyncExecutionStorage {
      * @param error 错误
      */
     void updateError(String executionId, Throwable error);
+    
+    /**
+     * 写入结果并更新状态（单次写入）
+     * 
+     * <p>默认实现为"读取-修改-整体保存"，支持字段级写入的存储应覆盖此方法以减少写放大
+     *
+     * @param executionId 执行ID
+     * @param resultJson 执行结果（JSON序列化）
+     * @param status 新状态
+     */
+    default void updateResultAndStatus(String executionId, String resultJson, ExecutionStatus status) {
+        AsyncRpcExecution execution = findById(executionId);
+        if (execution != null) {
+            execution.setResult(resultJson);
+            execution.setStatus(status);
+            execution.setFinishTime(LocalDateTime.now());
+            save(execution);
+        }
+    }
+    
+    /**
+     * 写入错误并更新状态（单次写入）
+     *
+     * @param executionId 执行ID
+     * @param error 错误
+     * @param status 新状态
+     */
+    default void updateErrorAndStatus(String executionId, Throwable error, ExecutionStatus status) {
+        AsyncRpcExecution execution = findById(executionId);
+        if (execution != null) {
+            execution.setErrorMessage(error.getMessage());
+            execution.setErrorStack(stackTraceOf(error));
+            execution.setStatus(status);
+            execution.setFinishTime(LocalDateTime.now());
+            save(execution);
+        }
+    }
+    
+    /**
+     * 获取异常堆栈
+     */
+    static String stackTraceOf(Throwable error) {
+        StringWriter sw = new StringWriter();
+        error.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
 }
@@ -0,0 +1,438 @@
+package io.nebula.rpc.async.storage.local;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.execution.ExecutionStatus;
+import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 本地追加日志存储实现（单节点）
+ *
+ * <p>所有执行记录常驻内存索引，读取不产生任何 IO；每次变更以一行 JSON 快照追加到日志文件，
+ * 由单一写线程批量写入（组提交），启动时重放日志重建索引（同一执行以最后一行为准）。
+ *
+ * <p>日志中的过期行数超过存活记录数的 {@code compactRatio} 倍时，写线程会把当前索引重写为新日志并原子替换，
+ * 同时丢弃超过保留期的已结束记录。被丢弃的记录以删除行（{@code -executionId}）排在队列中该记录的既有行之后，
+ * 压缩后才写出的旧行不会让它在重放时复活。
+ *
+ * <p>写入失败时写线程重新打开日志并重试 {@value #MAX_WRITE_ATTEMPTS} 次，仍失败则停止写入，
+ * 之后的保存与更新直接抛出异常，而不是只在内存中生效。
+ *
+ * <p>仅适用于单节点部署，多实例之间不共享执行记录。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+public class LocalLogAsyncExecutionStorage implements AsyncExecutionStorage, DisposableBean {
+
+    private static final String LOG_FILE_NAME = "executions.log";
+    private static final int MIN_COMPACT_RECORDS = 10_000;
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+    private static final long MAX_RETRY_BACKOFF_MS = 2_000;
+    private static final String TOMBSTONE_PREFIX = "-";
+
+    private final ObjectMapper objectMapper;
+    private final Path logFile;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final boolean fsync;
+    private final Duration retention;
+    private final int compactRatio;
+
+    private final ConcurrentHashMap<String, AsyncRpcExecution> index = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<String> appendQueue = new LinkedBlockingQueue<>();
+    private final CountDownLatch writerStopped = new CountDownLatch(1);
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+    private volatile IOException writeFailure;
+    private FileOutputStream logStream;
+    private BufferedWriter logWriter;
+    private long recordCount;
+
+    public LocalLogAsyncExecutionStorage(ObjectMapper objectMapper,
+                                         Path directory,
+                                         int batchSize,
+                                         Duration flushInterval,
+                                         boolean fsync,
+                                         Duration retention,
+                                         int compactRatio) {
+        this.objectMapper = objectMapper;
+        this.logFile = directory.resolve(LOG_FILE_NAME);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushInterval.toMillis());
+        this.fsync = fsync;
+        this.retention = retention;
+        this.compactRatio = Math.max(2, compactRatio);
+
+        try {
+            Files.createDirectories(directory);
+            replay();
+            compact();
+            // 启动时还没有写出任何行，删除行无需落盘
+            appendQueue.clear();
+        } catch (IOException e) {
+            throw new IllegalStateException("初始化异步执行日志失败: " + logFile, e);
+        }
+
+        this.writerThread = new Thread(this::writeLoop, "async-rpc-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+
+        log.info("[AsyncRpc] 本地日志存储已初始化: file={}, records={}, batchSize={}, flushInterval={}ms, fsync={}",
+                logFile, index.size(), this.batchSize, flushIntervalMs, fsync);
+    }
+
+    @Override
+    public void save(AsyncRpcExecution execution) {
+        AsyncRpcExecution snapshot = copyOf(execution);
+        index.compute(snapshot.getExecutionId(), (id, old) -> {
+            append(snapshot);
+            return snapshot;
+        });
+        log.debug("[AsyncRpc] 保存执行记录到本地日志: executionId={}", execution.getExecutionId());
+    }
+
+    @Override
+    public AsyncRpcExecution findById(String executionId) {
+        AsyncRpcExecution execution = index.get(executionId);
+        if (execution == null) {
+            log.debug("[AsyncRpc] 执行记录不存在: executionId={}", executionId);
+            return null;
+        }
+        return copyOf(execution);
+    }
+
+    @Override
+    public void updateStatus(String executionId, ExecutionStatus status) {
+        mutate(executionId, execution -> {
+            execution.setStatus(status);
+            if (status == ExecutionStatus.RUNNING) {
+                execution.setStartTime(LocalDateTime.now());
+            } else if (status.isTerminal()) {
+                execution.setFinishTime(LocalDateTime.now());
+            }
+        });
+    }
+
+    @Override
+    public void updateResult(String executionId, Object result) {
+        String resultJson;
+        try {
+            resultJson = objectMapper.writeValueAsString(result);
+        } catch (Exception e) {
+            log.error("[AsyncRpc] 更新结果失败: executionId={}", executionId, e);
+            throw new RuntimeException("更新结果失败", e);
+        }
+        mutate(executionId, execution -> {
+            execution.setResult(resultJson);
+            execution.setFinishTime(LocalDateTime.now());
+        });
+    }
+
+    @Override
+    public void updateError(String executionId, Throwable error) {
+        String stack = AsyncExecutionStorage.stackTraceOf(error);
+        mutate(executionId, execution -> {
+            execution.setErrorMessage(error.getMessage());
+            execution.setErrorStack(stack);
+            execution.setFinishTime(LocalDateTime.now());
+        });
+    }
+
+    @Override
+    public void updateResultAndStatus(String executionId, String resultJson, ExecutionStatus status) {
+        mutate(executionId, execution -> {
+            execution.setResult(resultJson);
+            execution.setStatus(status);
+            execution.setFinishTime(LocalDateTime.now());
+        });
+    }
+
+    @Override
+    public void updateErrorAndStatus(String executionId, Throwable error, ExecutionStatus status) {
+        String stack = AsyncExecutionStorage.stackTraceOf(error);
+        mutate(executionId, execution -> {
+            execution.setErrorMessage(error.getMessage());
+            execution.setErrorStack(stack);
+            execution.setStatus(status);
+            execution.setFinishTime(LocalDateTime.now());
+        });
+    }
+
+    @Override
+    public void destroy() {
+        // 不中断写线程，避免中断 FileChannel.force 导致通道被关闭；写线程最迟在一个刷新间隔后退出
+        running = false;
+        try {
+            writerStopped.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("[AsyncRpc] 本地日志存储已关闭: records={}", index.size());
+    }
+
+    /**
+     * 写线程因持续写入失败而停止时的异常，正常时为 null
+     */
+    public IOException getWriteFailure() {
+        return writeFailure;
+    }
+
+    /**
+     * 当前内存索引中的记录数
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * 基于当前记录的副本修改后整体替换并追加日志
+     *
+     * <p>在索引分段锁内追加，保证同一执行的日志行顺序与索引更新顺序一致
+     */
+    private void mutate(String executionId, Consumer<AsyncRpcExecution> mutation) {
+        index.computeIfPresent(executionId, (id, current) -> {
+            AsyncRpcExecution updated = copyOf(current);
+            mutation.accept(updated);
+            append(updated);
+            return updated;
+        });
+    }
+
+    private void append(AsyncRpcExecution execution) {
+        IOException failure = writeFailure;
+        if (failure != null) {
+            throw new IllegalStateException("异步执行日志已不可写: " + logFile, failure);
+        }
+        try {
+            appendQueue.offer(objectMapper.writeValueAsString(execution));
+        } catch (Exception e) {
+            log.error("[AsyncRpc] 序列化执行记录失败: executionId={}", execution.getExecutionId(), e);
+            throw new RuntimeException("保存异步执行记录失败", e);
+        }
+    }
+
+    /**
+     * 写线程：批量取出待追加的记录，一次写入、一次刷盘
+     */
+    private void writeLoop() {
+        List<String> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !appendQueue.isEmpty()) {
+                String first;
+                try {
+                    first = appendQueue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                appendQueue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+                batch.clear();
+
+                if (recordCount > MIN_COMPACT_RECORDS && recordCount > (long) index.size() * compactRatio) {
+                    try {
+                        compact();
+                    } catch (IOException e) {
+                        // 压缩失败不影响追加，下一批写入时重新打开日志
+                        log.warn("[AsyncRpc] 压缩异步执行日志失败: file={}", logFile, e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            writeFailure = e;
+            log.error("[AsyncRpc] 写入异步执行日志连续失败，写线程退出，后续写入将直接失败: file={}, unwritten={}",
+                    logFile, batch.size() + appendQueue.size(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly();
+            writerStopped.countDown();
+        }
+    }
+
+    /**
+     * 写入一批日志行，失败时关闭并重新打开日志后重试整批；重复写出的行在重放时以最后一行为准
+     */
+    private void writeWithRetry(List<String> lines) throws IOException, InterruptedException {
+        long backoff = 50;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writeBatch(lines);
+                return;
+            } catch (IOException e) {
+                closeQuietly();
+                if (attempt >= MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("[AsyncRpc] 写入异步执行日志失败，{}ms 后重试({}/{}): file={}, error={}",
+                        backoff, attempt, MAX_WRITE_ATTEMPTS, logFile, e.getMessage());
+                TimeUnit.MILLISECONDS.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void writeBatch(List<String> lines) throws IOException {
+        if (logWriter == null) {
+            openWriter();
+            // 上次失败可能留下半行，先换行隔开，重放时空行和损坏行都会被跳过
+            logWriter.newLine();
+        }
+        for (String line : lines) {
+            logWriter.write(line);
+            logWriter.newLine();
+        }
+        logWriter.flush();
+        if (fsync) {
+            logStream.getChannel().force(false);
+        }
+        recordCount += lines.size();
+    }
+
+    /**
+     * 启动时重放日志重建索引，忽略未写完整的尾行
+     */
+    private void replay() throws IOException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        long lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (line.startsWith(TOMBSTONE_PREFIX)) {
+                    index.remove(line.substring(TOMBSTONE_PREFIX.length()));
+                    lines++;
+                    continue;
+                }
+                try {
+                    AsyncRpcExecution execution = objectMapper.readValue(line, AsyncRpcExecution.class);
+                    index.put(execution.getExecutionId(), execution);
+                    lines++;
+                } catch (Exception e) {
+                    log.warn("[AsyncRpc] 跳过损坏的日志行: file={}, line={}", logFile, lines + 1);
+                }
+            }
+        }
+        log.info("[AsyncRpc] 重放异步执行日志: file={}, lines={}, records={}", logFile, lines, index.size());
+    }
+
+    /**
+     * 以当前索引重写日志并原子替换，同时清理超过保留期的已结束记录
+     */
+    private void compact() throws IOException {
+        evictExpired();
+
+        closeQuietly();
+        Path tmpFile = logFile.resolveSibling(LOG_FILE_NAME + ".compact");
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+            for (AsyncRpcExecution execution : index.values()) {
+                writer.write(objectMapper.writeValueAsString(execution));
+                writer.newLine();
+                written++;
+            }
+        }
+        Files.move(tmpFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        openWriter();
+        log.debug("[AsyncRpc] 压缩异步执行日志: before={}, after={}", recordCount, written);
+        recordCount = written;
+    }
+
+    /**
+     * 清理超过保留期的已结束记录
+     *
+     * <p>在索引分段锁内移除并追加删除行：队列中该记录的既有行都排在删除行之前，
+     * 压缩后写出的这些旧行在重放时会被删除行抵消
+     */
+    private void evictExpired() {
+        if (retention == null || retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        LocalDateTime threshold = LocalDateTime.now().minus(retention);
+        for (String executionId : index.keySet()) {
+            index.computeIfPresent(executionId, (id, execution) -> {
+                if (execution.getStatus() != null && execution.getStatus().isTerminal()
+                        && execution.getCreateTime() != null
+                        && execution.getCreateTime().isBefore(threshold)) {
+                    appendQueue.offer(TOMBSTONE_PREFIX + id);
+                    return null;
+                }
+                return execution;
+            });
+        }
+    }
+
+    private void openWriter() throws IOException {
+        logStream = new FileOutputStream(logFile.toFile(), true);
+        logWriter = new BufferedWriter(new OutputStreamWriter(logStream, StandardCharsets.UTF_8));
+    }
+
+    private void closeQuietly() {
+        if (logWriter == null) {
+            return;
+        }
+        try {
+            logWriter.flush();
+            if (fsync) {
+                logStream.getChannel().force(false);
+            }
+            logWriter.close();
+        } catch (IOException e) {
+            log.warn("[AsyncRpc] 关闭异步执行日志失败: file={}", logFile, e);
+        } finally {
+            logWriter = null;
+            logStream = null;
+        }
+    }
+
+    private static AsyncRpcExecution copyOf(AsyncRpcExecution source) {
+        return AsyncRpcExecution.builder()
+                .executionId(source.getExecutionId())
+                .interfaceName(source.getInterfaceName())
+                .methodName(source.getMethodName())
+                .status(source.getStatus())
+                .arguments(source.getArguments())
+                .result(source.getResult())
+                .createTime(source.getCreateTime())
+                .startTime(source.getStartTime())
+                .finishTime(source.getFinishTime())
+                .errorMessage(source.getErrorMessage())
+                .errorStack(source.getErrorStack())
+                .metadata(source.getMetadata() != null ? new HashMap<>(source.getMetadata()) : null)
+                .build();
+    }
+}
@@ -84,10 +84,7 @@ public class NacosAsyncExecutionStorage implements AsyncExecutionStorage {
             // 根据状态设置时间
             if (status == ExecutionStatus.RUNNING) {
                 execution.setStartTime(LocalDateTime.now());
-            } else if (status == ExecutionStatus.SUCCESS || 
-                       status == ExecutionStatus.FAILED || 
-                       status == ExecutionStatus.CANCELLED ||
-                       status == ExecutionStatus.TIMEOUT) {
+            } else if (status.isTerminal()) {
                 execution.setFinishTime(LocalDateTime.now());
             }
             
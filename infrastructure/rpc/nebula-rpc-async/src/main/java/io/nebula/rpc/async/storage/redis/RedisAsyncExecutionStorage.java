@@ -0,0 +1,425 @@
+package io.nebula.rpc.async.storage.redis;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.execution.ExecutionStatus;
+import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redis存储实现
+ *
+ * <p>每条执行记录对应一个 Hash（{@code keyPrefix + executionId}），并设置过期时间。
+ * 状态/结果/错误的更新只写变化的字段，不再整体重写记录：
+ * <ul>
+ *   <li>{@link #save} 同步写入（HSET + EXPIRE 单次管道往返），保证记录创建后立即对其他节点可见</li>
+ *   <li>状态类更新先合并进本地写缓冲，由后台线程按 {@code flushInterval} 或 {@code batchSize}
+ *       批量管道写入，同一执行的多次更新只落一次盘</li>
+ *   <li>字段更新只写入仍存在的记录（EXISTS 判断 + HSET + EXPIRE 在同一脚本内执行），
+ *       记录过期或被删除后迟到的刷出不会重建一条没有过期时间的残缺记录</li>
+ *   <li>{@link #findById} 会叠加尚未刷出的缓冲字段，本节点读取始终能看到自己的写入</li>
+ *   <li>缓冲中的执行数达到 {@code maxPendingWrites} 后，新执行的更新改为同步写入，
+ *       Redis 不可用时缓冲不会无限增长，写入失败直接抛给调用方</li>
+ *   <li>{@link #destroy} 之后的更新直接写入，失败时记录日志后丢弃</li>
+ * </ul>
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+public class RedisAsyncExecutionStorage implements AsyncExecutionStorage, DisposableBean {
+
+    private static final String F_EXECUTION_ID = "executionId";
+    private static final String F_INTERFACE_NAME = "interfaceName";
+    private static final String F_METHOD_NAME = "methodName";
+    private static final String F_STATUS = "status";
+    private static final String F_ARGUMENTS = "arguments";
+    private static final String F_RESULT = "result";
+    private static final String F_CREATE_TIME = "createTime";
+    private static final String F_START_TIME = "startTime";
+    private static final String F_FINISH_TIME = "finishTime";
+    private static final String F_ERROR_MESSAGE = "errorMessage";
+    private static final String F_ERROR_STACK = "errorStack";
+    private static final String F_METADATA = "metadata";
+
+    /**
+     * 仅当记录存在时写入字段并续期：KEYS[1]=记录键，ARGV[1]=过期秒数（<=0 不设置），其后为字段/值对
+     */
+    private static final String UPDATE_IF_EXISTS_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+            + "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) "
+            + "local ttl = tonumber(ARGV[1]) "
+            + "if ttl > 0 then redis.call('EXPIRE', KEYS[1], ttl) end "
+            + "return 1";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int maxPendingWrites;
+
+    /**
+     * 待刷出的字段更新，value 为不可变快照，合并时整体替换
+     */
+    private final ConcurrentHashMap<String, Map<String, String>> pendingWrites = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flushExecutor;
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private volatile boolean closed;
+
+    public RedisAsyncExecutionStorage(StringRedisTemplate redisTemplate,
+                                      ObjectMapper objectMapper,
+                                      String keyPrefix,
+                                      Duration ttl,
+                                      Duration flushInterval,
+                                      int batchSize,
+                                      int maxPendingWrites) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPendingWrites = Math.max(this.batchSize, maxPendingWrites);
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "async-rpc-redis-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalMs = Math.max(1, flushInterval.toMillis());
+        this.flushExecutor.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("[AsyncRpc] Redis存储已初始化: keyPrefix={}, ttl={}, flushInterval={}ms, batchSize={}, maxPendingWrites={}",
+                keyPrefix, ttl, intervalMs, this.batchSize, this.maxPendingWrites);
+    }
+
+    @Override
+    public void save(AsyncRpcExecution execution) {
+        String executionId = execution.getExecutionId();
+        Map<String, String> fields = toHash(execution);
+        try {
+            createRecord(executionId, fields);
+            log.debug("[AsyncRpc] 保存执行记录到Redis: executionId={}", executionId);
+        } catch (DataAccessException e) {
+            log.error("[AsyncRpc] 保存执行记录失败: executionId={}", executionId, e);
+            throw new RuntimeException("保存异步执行记录失败", e);
+        }
+        // 整体保存覆盖了之前缓冲中的字段
+        pendingWrites.remove(executionId);
+    }
+
+    @Override
+    public AsyncRpcExecution findById(String executionId) {
+        Map<String, String> pending = pendingWrites.get(executionId);
+        Map<Object, Object> stored;
+        try {
+            stored = redisTemplate.opsForHash().entries(key(executionId));
+        } catch (DataAccessException e) {
+            log.error("[AsyncRpc] 查询执行记录失败: executionId={}", executionId, e);
+            throw new RuntimeException("查询执行记录失败", e);
+        }
+
+        if (stored.isEmpty() && pending == null) {
+            log.debug("[AsyncRpc] 执行记录不存在: executionId={}", executionId);
+            return null;
+        }
+
+        Map<String, String> fields = new HashMap<>(stored.size() + 4);
+        stored.forEach((k, v) -> fields.put((String) k, (String) v));
+        if (pending != null) {
+            fields.putAll(pending);
+        }
+        return fromHash(fields);
+    }
+
+    @Override
+    public void updateStatus(String executionId, ExecutionStatus status) {
+        Map<String, String> fields = new HashMap<>(4);
+        fields.put(F_STATUS, status.name());
+        if (status == ExecutionStatus.RUNNING) {
+            fields.put(F_START_TIME, LocalDateTime.now().toString());
+        } else if (status.isTerminal()) {
+            fields.put(F_FINISH_TIME, LocalDateTime.now().toString());
+        }
+        enqueue(executionId, fields);
+    }
+
+    @Override
+    public void updateResult(String executionId, Object result) {
+        try {
+            Map<String, String> fields = new HashMap<>(4);
+            fields.put(F_RESULT, objectMapper.writeValueAsString(result));
+            fields.put(F_FINISH_TIME, LocalDateTime.now().toString());
+            enqueue(executionId, fields);
+        } catch (Exception e) {
+            log.error("[AsyncRpc] 更新结果失败: executionId={}", executionId, e);
+            throw new RuntimeException("更新结果失败", e);
+        }
+    }
+
+    @Override
+    public void updateError(String executionId, Throwable error) {
+        Map<String, String> fields = new HashMap<>(4);
+        putIfNotNull(fields, F_ERROR_MESSAGE, error.getMessage());
+        fields.put(F_ERROR_STACK, AsyncExecutionStorage.stackTraceOf(error));
+        fields.put(F_FINISH_TIME, LocalDateTime.now().toString());
+        enqueue(executionId, fields);
+    }
+
+    @Override
+    public void updateResultAndStatus(String executionId, String resultJson, ExecutionStatus status) {
+        Map<String, String> fields = new HashMap<>(4);
+        putIfNotNull(fields, F_RESULT, resultJson);
+        fields.put(F_STATUS, status.name());
+        fields.put(F_FINISH_TIME, LocalDateTime.now().toString());
+        enqueue(executionId, fields);
+    }
+
+    @Override
+    public void updateErrorAndStatus(String executionId, Throwable error, ExecutionStatus status) {
+        Map<String, String> fields = new HashMap<>(8);
+        putIfNotNull(fields, F_ERROR_MESSAGE, error.getMessage());
+        fields.put(F_ERROR_STACK, AsyncExecutionStorage.stackTraceOf(error));
+        fields.put(F_STATUS, status.name());
+        fields.put(F_FINISH_TIME, LocalDateTime.now().toString());
+        enqueue(executionId, fields);
+    }
+
+    /**
+     * 立即刷出所有缓冲的更新
+     */
+    public void flush() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+
+        Map<String, Map<String, String>> batch = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : pendingWrites.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                writeAndRelease(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeAndRelease(batch);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        log.info("[AsyncRpc] Redis存储已关闭");
+    }
+
+    /**
+     * 合并字段更新到写缓冲，缓冲达到批次大小时立即触发刷出；缓冲已满且该执行没有缓冲项时同步写入
+     */
+    private void enqueue(String executionId, Map<String, String> fields) {
+        if (closed) {
+            writeAfterClose(executionId, fields);
+            return;
+        }
+        if (pendingWrites.size() >= maxPendingWrites && !pendingWrites.containsKey(executionId)) {
+            try {
+                writeBatch(Map.of(executionId, Map.copyOf(fields)));
+            } catch (DataAccessException e) {
+                log.error("[AsyncRpc] 写缓冲已满且同步写入失败: executionId={}, pending={}",
+                        executionId, pendingWrites.size(), e);
+                throw new RuntimeException("更新异步执行记录失败", e);
+            }
+            return;
+        }
+        pendingWrites.merge(executionId, Map.copyOf(fields), (current, update) -> {
+            Map<String, String> merged = new HashMap<>(current);
+            merged.putAll(update);
+            return Map.copyOf(merged);
+        });
+        if (closed) {
+            // 并发关闭时最后一次刷出可能已经完成，由当前线程把缓冲写出
+            flushQuietly();
+        } else if (pendingWrites.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flushQuietly();
+            }
+        }
+    }
+
+    /**
+     * 关闭后不再缓冲，直接写入；失败时记录日志后丢弃，不影响调用方
+     */
+    private void writeAfterClose(String executionId, Map<String, String> fields) {
+        try {
+            writeBatch(Map.of(executionId, Map.copyOf(fields)));
+        } catch (DataAccessException e) {
+            log.warn("[AsyncRpc] 存储已关闭且直接写入失败，丢弃更新: executionId={}, fields={}",
+                    executionId, fields.keySet(), e);
+        }
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("[AsyncRpc] 刷出Redis写缓冲失败，将在下次重试: pending={}", pendingWrites.size(), e);
+        }
+    }
+
+    /**
+     * 写入一批更新，成功后仅移除未被再次修改的缓冲项
+     */
+    private void writeAndRelease(Map<String, Map<String, String>> batch) {
+        writeBatch(batch);
+        batch.forEach(pendingWrites::remove);
+    }
+
+    /**
+     * 创建记录（HSET + EXPIRE 单次管道往返）
+     */
+    private void createRecord(String executionId, Map<String, String> fields) {
+        long ttlSeconds = ttl.toSeconds();
+        String key = key(executionId);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            conn.hMSet(key, fields);
+            if (ttlSeconds > 0) {
+                conn.expire(key, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 单次管道往返更新多条记录，不存在的记录跳过
+     */
+    private void writeBatch(Map<String, Map<String, String>> batch) {
+        String ttlSeconds = String.valueOf(ttl.toSeconds());
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            batch.forEach((executionId, fields) -> {
+                String[] keysAndArgs = new String[2 + fields.size() * 2];
+                int i = 0;
+                keysAndArgs[i++] = key(executionId);
+                keysAndArgs[i++] = ttlSeconds;
+                for (Map.Entry<String, String> field : fields.entrySet()) {
+                    keysAndArgs[i++] = field.getKey();
+                    keysAndArgs[i++] = field.getValue();
+                }
+                conn.eval(UPDATE_IF_EXISTS_SCRIPT, ReturnType.INTEGER, 1, keysAndArgs);
+            });
+            return null;
+        });
+        if (results != null && log.isDebugEnabled()) {
+            long skipped = results.stream().filter(r -> r instanceof Long l && l == 0L).count();
+            if (skipped > 0) {
+                log.debug("[AsyncRpc] 跳过已过期或已删除的执行记录: skipped={}", skipped);
+            }
+        }
+    }
+
+    private Map<String, String> toHash(AsyncRpcExecution execution) {
+        Map<String, String> fields = new HashMap<>(16);
+        putIfNotNull(fields, F_EXECUTION_ID, execution.getExecutionId());
+        putIfNotNull(fields, F_INTERFACE_NAME, execution.getInterfaceName());
+        putIfNotNull(fields, F_METHOD_NAME, execution.getMethodName());
+        putIfNotNull(fields, F_STATUS, execution.getStatus() != null ? execution.getStatus().name() : null);
+        putIfNotNull(fields, F_ARGUMENTS, execution.getArguments());
+        putIfNotNull(fields, F_RESULT, execution.getResult());
+        putIfNotNull(fields, F_CREATE_TIME, toString(execution.getCreateTime()));
+        putIfNotNull(fields, F_START_TIME, toString(execution.getStartTime()));
+        putIfNotNull(fields, F_FINISH_TIME, toString(execution.getFinishTime()));
+        putIfNotNull(fields, F_ERROR_MESSAGE, execution.getErrorMessage());
+        putIfNotNull(fields, F_ERROR_STACK, execution.getErrorStack());
+        if (execution.getMetadata() != null && !execution.getMetadata().isEmpty()) {
+            try {
+                fields.put(F_METADATA, objectMapper.writeValueAsString(execution.getMetadata()));
+            } catch (Exception e) {
+                log.warn("[AsyncRpc] 序列化元数据失败: executionId={}", execution.getExecutionId(), e);
+            }
+        }
+        return fields;
+    }
+
+    private AsyncRpcExecution fromHash(Map<String, String> fields) {
+        Map<String, String> metadata = new HashMap<>();
+        String metadataJson = fields.get(F_METADATA);
+        if (metadataJson != null) {
+            try {
+                metadata = objectMapper.readValue(metadataJson, new TypeReference<Map<String, String>>() {});
+            } catch (Exception e) {
+                log.warn("[AsyncRpc] 解析元数据失败: executionId={}", fields.get(F_EXECUTION_ID), e);
+            }
+        }
+
+        String status = fields.get(F_STATUS);
+        return AsyncRpcExecution.builder()
+                .executionId(fields.get(F_EXECUTION_ID))
+                .interfaceName(fields.get(F_INTERFACE_NAME))
+                .methodName(fields.get(F_METHOD_NAME))
+                .status(status != null ? ExecutionStatus.valueOf(status) : null)
+                .arguments(fields.get(F_ARGUMENTS))
+                .result(fields.get(F_RESULT))
+                .createTime(parseTime(fields.get(F_CREATE_TIME)))
+                .startTime(parseTime(fields.get(F_START_TIME)))
+                .finishTime(parseTime(fields.get(F_FINISH_TIME)))
+                .errorMessage(fields.get(F_ERROR_MESSAGE))
+                .errorStack(fields.get(F_ERROR_STACK))
+                .metadata(metadata)
+                .build();
+    }
+
+    private String key(String executionId) {
+        return keyPrefix + executionId;
+    }
+
+    private static void putIfNotNull(Map<String, String> fields, String field, String value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
+    }
+
+    private static String toString(LocalDateTime time) {
+        return time != null ? time.toString() : null;
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+
+    /**
+     * 当前缓冲中尚未刷出的执行数，用于监控
+     */
+    public int getPendingWriteCount() {
+        return pendingWrites.size();
+    }
+}
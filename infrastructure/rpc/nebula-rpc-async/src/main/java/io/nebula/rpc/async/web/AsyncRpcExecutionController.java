@@ -0,0 +1,127 @@
+package io.nebula.rpc.async.web;
+
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.execution.AsyncRpcExecutionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步执行查询控制器
+ *
+ * <p>除即时查询外，提供两种完成通知方式，等待期间不占用 Servlet 线程，也不读取存储：
+ * <ul>
+ *   <li>长轮询：{@code GET /async-rpc/executions/{id}/await?timeout=30000}，执行结束立即返回 200，
+ *       超时返回 202，调用方重新发起即可</li>
+ *   <li>SSE：{@code GET /async-rpc/executions/{id}/events}，执行结束时推送一条 {@code completed} 事件后关闭</li>
+ * </ul>
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/async-rpc/executions")
+public class AsyncRpcExecutionController {
+
+    private final AsyncRpcExecutionManager executionManager;
+    private final long defaultTimeoutMs;
+    private final long maxTimeoutMs;
+
+    public AsyncRpcExecutionController(AsyncRpcExecutionManager executionManager,
+                                       Duration defaultTimeout,
+                                       Duration maxTimeout) {
+        this.executionManager = executionManager;
+        this.defaultTimeoutMs = defaultTimeout.toMillis();
+        this.maxTimeoutMs = maxTimeout.toMillis();
+    }
+
+    /**
+     * 即时查询执行记录
+     */
+    @GetMapping(value = "/{executionId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AsyncRpcExecution> getExecution(@PathVariable String executionId) {
+        AsyncRpcExecution execution = executionManager.getExecution(executionId);
+        return execution != null ? ResponseEntity.ok(execution) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 长轮询等待执行结束
+     *
+     * @param timeout 最长等待毫秒数，不传使用默认值，超过上限按上限处理
+     */
+    @GetMapping(value = "/{executionId}/await", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ResponseEntity<AsyncRpcExecution>> await(
+            @PathVariable String executionId,
+            @RequestParam(required = false) Long timeout) {
+
+        long timeoutMs = resolveTimeout(timeout);
+        DeferredResult<ResponseEntity<AsyncRpcExecution>> deferredResult = new DeferredResult<>(timeoutMs);
+        CompletableFuture<AsyncRpcExecution> future = executionManager.awaitCompletion(executionId);
+
+        deferredResult.onTimeout(() -> deferredResult.setResult(ResponseEntity.status(HttpStatus.ACCEPTED).build()));
+        deferredResult.onCompletion(() -> future.cancel(false));
+        future.whenComplete((execution, error) -> {
+            if (error != null) {
+                return;
+            }
+            deferredResult.setResult(execution != null
+                    ? ResponseEntity.ok(execution)
+                    : ResponseEntity.notFound().build());
+        });
+        return deferredResult;
+    }
+
+    /**
+     * SSE 推送执行结束事件
+     *
+     * @param timeout 最长等待毫秒数，不传使用默认值，超过上限按上限处理
+     */
+    @GetMapping(value = "/{executionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String executionId,
+                             @RequestParam(required = false) Long timeout) {
+
+        SseEmitter emitter = new SseEmitter(resolveTimeout(timeout));
+        CompletableFuture<AsyncRpcExecution> future = executionManager.awaitCompletion(executionId);
+
+        emitter.onTimeout(emitter::complete);
+        emitter.onCompletion(() -> future.cancel(false));
+        emitter.onError(e -> future.cancel(false));
+        future.whenComplete((execution, error) -> {
+            if (error != null) {
+                return;
+            }
+            try {
+                if (execution != null) {
+                    emitter.send(SseEmitter.event().name("completed").data(execution, MediaType.APPLICATION_JSON));
+                } else {
+                    emitter.send(SseEmitter.event().name("not-found").data(executionId));
+                }
+                emitter.complete();
+            } catch (IOException e) {
+                log.debug("[AsyncRpc] SSE推送失败，客户端可能已断开: executionId={}", executionId);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private long resolveTimeout(Long timeout) {
+        if (timeout == null || timeout <= 0) {
+            return defaultTimeoutMs;
+        }
+        return Math.min(timeout, maxTimeoutMs);
+    }
+}
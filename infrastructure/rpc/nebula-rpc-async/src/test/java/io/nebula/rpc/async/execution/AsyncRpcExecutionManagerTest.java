@@ -0,0 +1,147 @@
+package io.nebula.rpc.async.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.rpc.async.executor.AsyncRpcTaskExecutor;
+import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * AsyncRpcExecutionManager 单元测试
+ */
+class AsyncRpcExecutionManagerTest {
+
+    private final InMemoryStorage storage = new InMemoryStorage();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncRpcTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void testQueuedExecutionCancelledWhenExecutorShutsDown() throws Exception {
+        executor = new AsyncRpcTaskExecutor(1, 0, 10, "test-");
+        AsyncRpcExecutionManager manager = new AsyncRpcExecutionManager(storage, executor, new ObjectMapper());
+        CountDownLatch started = new CountDownLatch(1);
+
+        AsyncRpcExecution running = manager.submitAsync(ReportService.class, generate(), new Object[0], () -> {
+            started.countDown();
+            release.await();
+            return "done";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        AsyncRpcExecution queued = manager.submitAsync(ReportService.class, generate(), new Object[0], () -> "never");
+        CompletableFuture<AsyncRpcExecution> completion = manager.awaitCompletion(queued.getExecutionId());
+
+        Thread closer = Thread.ofPlatform().start(executor::destroy);
+
+        // 排队中的执行进入终态，等待者不会一直挂起
+        AsyncRpcExecution finished = completion.get(5, TimeUnit.SECONDS);
+        assertThat(finished.getStatus()).isEqualTo(ExecutionStatus.CANCELLED);
+        assertThat(finished.getFinishTime()).isNotNull();
+        assertThat(storage.findById(queued.getExecutionId()).getStatus()).isEqualTo(ExecutionStatus.CANCELLED);
+
+        release.countDown();
+        closer.join(TimeUnit.SECONDS.toMillis(15));
+        assertThat(storage.findById(running.getExecutionId()).getStatus()).isEqualTo(ExecutionStatus.SUCCESS);
+    }
+
+    @Test
+    void testCancelledQueuedExecutionIsSkippedWhenStarted() throws Exception {
+        executor = new AsyncRpcTaskExecutor(1, 0, 10, "test-");
+        AsyncRpcExecutionManager manager = new AsyncRpcExecutionManager(storage, executor, new ObjectMapper());
+        CountDownLatch started = new CountDownLatch(1);
+
+        AsyncRpcExecution running = manager.submitAsync(ReportService.class, generate(), new Object[0], () -> {
+            started.countDown();
+            release.await();
+            return "done";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        AtomicInteger calls = new AtomicInteger();
+        AsyncRpcExecution queued = manager.submitAsync(ReportService.class, generate(), new Object[0], () -> {
+            calls.incrementAndGet();
+            return "never";
+        });
+        CompletableFuture<AsyncRpcExecution> completion = manager.awaitCompletion(queued.getExecutionId());
+
+        assertThat(manager.cancel(queued.getExecutionId())).isTrue();
+        assertThat(completion.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(ExecutionStatus.CANCELLED);
+
+        // 运行中的任务结束后排队任务出队，开始前发现已取消，直接跳过
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getStats().completed() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(executor.getStats().completed()).isEqualTo(2);
+        assertThat(calls).hasValue(0);
+        assertThat(storage.findById(queued.getExecutionId()).getStatus()).isEqualTo(ExecutionStatus.CANCELLED);
+        assertThat(storage.findById(running.getExecutionId()).getStatus()).isEqualTo(ExecutionStatus.SUCCESS);
+        assertThat(manager.cancel(running.getExecutionId())).isFalse();
+    }
+
+    private static Method generate() throws NoSuchMethodException {
+        return ReportService.class.getMethod("generate");
+    }
+
+    interface ReportService {
+        String generate();
+    }
+
+    private static final class InMemoryStorage implements AsyncExecutionStorage {
+
+        private final Map<String, AsyncRpcExecution> executions = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(AsyncRpcExecution execution) {
+            executions.put(execution.getExecutionId(), execution.toBuilder().build());
+        }
+
+        @Override
+        public AsyncRpcExecution findById(String executionId) {
+            AsyncRpcExecution execution = executions.get(executionId);
+            return execution != null ? execution.toBuilder().build() : null;
+        }
+
+        @Override
+        public void updateStatus(String executionId, ExecutionStatus status) {
+            executions.computeIfPresent(executionId, (id, execution) -> {
+                execution.setStatus(status);
+                return execution;
+            });
+        }
+
+        @Override
+        public void updateResult(String executionId, Object result) {
+            executions.computeIfPresent(executionId, (id, execution) -> {
+                execution.setResult(String.valueOf(result));
+                return execution;
+            });
+        }
+
+        @Override
+        public void updateError(String executionId, Throwable error) {
+            executions.computeIfPresent(executionId, (id, execution) -> {
+                execution.setErrorMessage(error.getMessage());
+                return execution;
+            });
+        }
+    }
+}
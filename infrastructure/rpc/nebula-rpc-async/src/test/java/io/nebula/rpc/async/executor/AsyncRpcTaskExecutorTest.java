@@ -0,0 +1,202 @@
+package io.nebula.rpc.async.executor;
+
+import io.nebula.rpc.async.execution.ExecutionPriority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * AsyncRpcTaskExecutor 单元测试
+ */
+class AsyncRpcTaskExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncRpcTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void testQueuedTasksRunByPriorityWhenSlotFrees() throws Exception {
+        executor = new AsyncRpcTaskExecutor(1, 0, 10, "test-");
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.submit("a", ExecutionPriority.NORMAL, blocker(started));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.submit("b", ExecutionPriority.LOW, record(order, "low", done));
+        executor.submit("c", ExecutionPriority.NORMAL, record(order, "normal", done));
+        executor.submit("d", ExecutionPriority.HIGH, record(order, "high", done));
+        assertThat(executor.getStats().queued()).isEqualTo(3);
+
+        release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("high", "normal", "low");
+    }
+
+    @Test
+    void testFullQueueRejects() throws Exception {
+        executor = new AsyncRpcTaskExecutor(1, 0, 1, "test-");
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit("a", ExecutionPriority.NORMAL, blocker(started));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(executor.submit("b", ExecutionPriority.NORMAL, () -> { })).isTrue();
+        assertThat(executor.submit("c", ExecutionPriority.NORMAL, () -> { })).isFalse();
+        assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.getStats().rejected()).isEqualTo(2);
+    }
+
+    @Test
+    void testDestroyInvokesDiscardCallbackForQueuedAndParkedTasks() throws Exception {
+        // 全局 2 个并发、分区 1 个并发：同分区的任务暂存在分区内，其他分区的任务在优先级队列中
+        executor = new AsyncRpcTaskExecutor(2, 1, 10, "test-");
+        CountDownLatch started = new CountDownLatch(2);
+        executor.submit("a", ExecutionPriority.NORMAL, blocker(started));
+        executor.submit("b", ExecutionPriority.NORMAL, blocker(started));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger ran = new AtomicInteger();
+        List<String> discarded = new CopyOnWriteArrayList<>();
+        executor.submit("a", ExecutionPriority.NORMAL, ran::incrementAndGet, () -> discarded.add("parked"));
+        executor.submit("c", ExecutionPriority.HIGH, ran::incrementAndGet, () -> discarded.add("queued"));
+        executor.submit("c", ExecutionPriority.LOW, ran::incrementAndGet, null);
+        executor.submit("d", ExecutionPriority.LOW, ran::incrementAndGet, () -> {
+            throw new IllegalStateException("storage closed");
+        });
+        assertThat(executor.getStats().queued()).isEqualTo(4);
+
+        // 运行中的任务结束前 destroy 会等待，在另一个线程中关闭
+        Thread closer = Thread.ofPlatform().start(executor::destroy);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (discarded.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        closer.join(TimeUnit.SECONDS.toMillis(15));
+
+        assertThat(discarded).containsExactlyInAnyOrder("parked", "queued");
+        assertThat(ran).hasValue(0);
+        assertThat(executor.getStats().queued()).isZero();
+        assertThat(executor.submit("e", ExecutionPriority.NORMAL, ran::incrementAndGet)).isFalse();
+    }
+
+    @Test
+    void testTaskRejectedByThreadExecutorIsNotCountedAsSubmitted() {
+        executor = new AsyncRpcTaskExecutor(1, 0, 10, new LimitedExecutorService(0));
+        AtomicInteger discarded = new AtomicInteger();
+
+        // 直接启动时被拒绝：返回 false 由调用方标记 REJECTED，不再调用丢弃回调
+        assertThat(executor.submit("a", ExecutionPriority.NORMAL, () -> { }, discarded::incrementAndGet)).isFalse();
+
+        AsyncRpcTaskExecutor.ExecutorStats stats = executor.getStats();
+        assertThat(stats.submitted()).isZero();
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.running()).isZero();
+        assertThat(discarded).hasValue(0);
+    }
+
+    @Test
+    void testDequeuedTaskRejectedByThreadExecutorIsDiscarded() throws Exception {
+        executor = new AsyncRpcTaskExecutor(1, 0, 10, new LimitedExecutorService(1));
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit("a", ExecutionPriority.NORMAL, blocker(started));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch discarded = new CountDownLatch(1);
+        assertThat(executor.submit("b", ExecutionPriority.NORMAL, ran::incrementAndGet, discarded::countDown)).isTrue();
+
+        // 第一个任务完成后调度排队任务，线程执行器拒绝：任务既不运行也不丢失，转给丢弃回调
+        release.countDown();
+
+        assertThat(discarded.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).hasValue(0);
+        AsyncRpcTaskExecutor.ExecutorStats stats = executor.getStats();
+        assertThat(stats.queued()).isZero();
+        assertThat(stats.running()).isZero();
+        assertThat(stats.rejected()).isEqualTo(1);
+    }
+
+    private Runnable blocker(CountDownLatch started) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static Runnable record(List<String> order, String name, CountDownLatch done) {
+        return () -> {
+            order.add(name);
+            done.countDown();
+        };
+    }
+
+    /**
+     * 只接受前 permits 个任务的线程执行器，模拟关闭过程中的拒绝
+     */
+    private static class LimitedExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate = Executors.newVirtualThreadPerTaskExecutor();
+        private final AtomicInteger permits;
+
+        LimitedExecutorService(int permits) {
+            this.permits = new AtomicInteger(permits);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (permits.getAndDecrement() <= 0) {
+                throw new RejectedExecutionException("closed");
+            }
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.nebula.rpc.async.notification;
+
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.execution.ExecutionStatus;
+import io.nebula.rpc.async.storage.AsyncExecutionStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * AsyncExecutionNotifier 单元测试
+ */
+class AsyncExecutionNotifierTest {
+
+    private final AsyncExecutionStorage storage = mock(AsyncExecutionStorage.class);
+    private final AsyncExecutionNotifier notifier = new AsyncExecutionNotifier(storage, Duration.ofMillis(100));
+
+    @AfterEach
+    void tearDown() {
+        notifier.destroy();
+    }
+
+    @Test
+    void testLocalExecutionCompletesAllWaitersWithoutStorageReads() throws Exception {
+        notifier.register("e1");
+        CompletableFuture<AsyncRpcExecution> first = notifier.await("e1");
+        CompletableFuture<AsyncRpcExecution> second = notifier.await("e1");
+        assertThat(first).isNotDone();
+        assertThat(notifier.getWaitingExecutionCount()).isEqualTo(1);
+
+        AsyncRpcExecution finished = execution("e1", ExecutionStatus.SUCCESS);
+        notifier.complete(finished);
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isSameAs(finished);
+        assertThat(second.get(1, TimeUnit.SECONDS)).isSameAs(finished);
+        assertThat(notifier.getWaitingExecutionCount()).isZero();
+        verify(storage, never()).findById(anyString());
+    }
+
+    @Test
+    void testCancelledWaiterIsRemovedAndOthersStillNotified() throws Exception {
+        notifier.register("e1");
+        CompletableFuture<AsyncRpcExecution> abandoned = notifier.await("e1");
+        CompletableFuture<AsyncRpcExecution> waiting = notifier.await("e1");
+
+        abandoned.cancel(false);
+        AsyncRpcExecution finished = execution("e1", ExecutionStatus.FAILED);
+        notifier.complete(finished);
+
+        assertThat(abandoned).isCancelled();
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isSameAs(finished);
+    }
+
+    @Test
+    void testRemoteExecutionAlreadyFinishedOrMissingCompletesImmediately() throws Exception {
+        AsyncRpcExecution finished = execution("done", ExecutionStatus.SUCCESS);
+        when(storage.findById("done")).thenReturn(finished);
+
+        assertThat(notifier.await("done").get(1, TimeUnit.SECONDS)).isSameAs(finished);
+        assertThat(notifier.await("missing").get(1, TimeUnit.SECONDS)).isNull();
+        assertThat(notifier.getWaitingExecutionCount()).isZero();
+    }
+
+    @Test
+    void testRemoteExecutionIsPolledOncePerIntervalUntilFinished() throws Exception {
+        AsyncRpcExecution finished = execution("remote", ExecutionStatus.SUCCESS);
+        when(storage.findById("remote"))
+                .thenReturn(execution("remote", ExecutionStatus.RUNNING))
+                .thenReturn(execution("remote", ExecutionStatus.RUNNING))
+                .thenReturn(finished);
+
+        CompletableFuture<AsyncRpcExecution> first = notifier.await("remote");
+        CompletableFuture<AsyncRpcExecution> second = notifier.await("remote");
+        assertThat(first).isNotDone();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(finished);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(finished);
+        // 两次登记各读取一次，之后后台轮询与等待者数量无关，每周期只读一次
+        verify(storage, times(3)).findById("remote");
+        assertThat(notifier.getWaitingExecutionCount()).isZero();
+    }
+
+    @Test
+    void testRemoteWaiterNotifiedByLocalCompletion() throws Exception {
+        when(storage.findById("remote")).thenReturn(execution("remote", ExecutionStatus.RUNNING));
+        CompletableFuture<AsyncRpcExecution> waiter = notifier.await("remote");
+
+        AsyncRpcExecution cancelled = execution("remote", ExecutionStatus.CANCELLED);
+        notifier.complete(cancelled);
+
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isSameAs(cancelled);
+    }
+
+    @Test
+    void testDestroyCancelsPendingWaiters() {
+        notifier.register("e1");
+        CompletableFuture<AsyncRpcExecution> waiter = notifier.await("e1");
+
+        notifier.destroy();
+
+        assertThat(waiter).isCancelled();
+        assertThat(notifier.getWaitingExecutionCount()).isZero();
+    }
+
+    private static AsyncRpcExecution execution(String executionId, ExecutionStatus status) {
+        return AsyncRpcExecution.builder()
+                .executionId(executionId)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package io.nebula.rpc.async.storage.local;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.execution.ExecutionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * LocalLogAsyncExecutionStorage 单元测试
+ */
+class LocalLogAsyncExecutionStorageTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    private LocalLogAsyncExecutionStorage storage;
+
+    @AfterEach
+    void tearDown() {
+        if (storage != null) {
+            storage.destroy();
+        }
+    }
+
+    @Test
+    void testSaveAndUpdateAreVisibleAndReturnCopies() {
+        storage = open(Duration.ofDays(7));
+
+        storage.save(execution("e-1", ExecutionStatus.PENDING, LocalDateTime.now()));
+        storage.updateStatus("e-1", ExecutionStatus.RUNNING);
+        storage.updateResultAndStatus("e-1", "\"ok\"", ExecutionStatus.SUCCESS);
+
+        AsyncRpcExecution found = storage.findById("e-1");
+        assertThat(found.getStatus()).isEqualTo(ExecutionStatus.SUCCESS);
+        assertThat(found.getResult()).isEqualTo("\"ok\"");
+        assertThat(found.getStartTime()).isNotNull();
+        assertThat(found.getFinishTime()).isNotNull();
+
+        // 修改返回的副本不影响索引
+        found.setStatus(ExecutionStatus.FAILED);
+        assertThat(storage.findById("e-1").getStatus()).isEqualTo(ExecutionStatus.SUCCESS);
+        assertThat(storage.findById("missing")).isNull();
+    }
+
+    @Test
+    void testUpdateOfUnknownExecutionIsIgnored() {
+        storage = open(Duration.ofDays(7));
+
+        storage.updateStatus("missing", ExecutionStatus.RUNNING);
+
+        assertThat(storage.findById("missing")).isNull();
+        assertThat(storage.size()).isZero();
+    }
+
+    @Test
+    void testReplayRestoresLatestStateAfterRestart() {
+        storage = open(Duration.ofDays(7));
+        storage.save(execution("e-1", ExecutionStatus.PENDING, LocalDateTime.now()));
+        storage.updateStatus("e-1", ExecutionStatus.RUNNING);
+        storage.updateErrorAndStatus("e-1", new IllegalStateException("boom"), ExecutionStatus.FAILED);
+        storage.save(execution("e-2", ExecutionStatus.PENDING, LocalDateTime.now()));
+        storage.destroy();
+
+        storage = open(Duration.ofDays(7));
+
+        assertThat(storage.size()).isEqualTo(2);
+        AsyncRpcExecution restored = storage.findById("e-1");
+        assertThat(restored.getStatus()).isEqualTo(ExecutionStatus.FAILED);
+        assertThat(restored.getErrorMessage()).isEqualTo("boom");
+        assertThat(restored.getErrorStack()).contains("IllegalStateException");
+        assertThat(storage.findById("e-2").getStatus()).isEqualTo(ExecutionStatus.PENDING);
+        assertThat(storage.getWriteFailure()).isNull();
+    }
+
+    @Test
+    void testReplaySkipsCorruptLinesAndHonoursTombstones() throws Exception {
+        Files.write(directory.resolve("executions.log"), List.of(
+                objectMapper.writeValueAsString(execution("kept", ExecutionStatus.SUCCESS, LocalDateTime.now())),
+                objectMapper.writeValueAsString(execution("evicted", ExecutionStatus.SUCCESS, LocalDateTime.now())),
+                "{\"executionId\":\"half",
+                "-evicted",
+                ""), StandardCharsets.UTF_8);
+
+        storage = open(null);
+
+        assertThat(storage.size()).isEqualTo(1);
+        assertThat(storage.findById("kept")).isNotNull();
+        assertThat(storage.findById("evicted")).isNull();
+    }
+
+    @Test
+    void testExpiredTerminalRecordsAreEvictedOnStartup() throws Exception {
+        LocalDateTime old = LocalDateTime.now().minusDays(10);
+        Files.write(directory.resolve("executions.log"), List.of(
+                objectMapper.writeValueAsString(execution("old-done", ExecutionStatus.SUCCESS, old)),
+                objectMapper.writeValueAsString(execution("old-running", ExecutionStatus.RUNNING, old)),
+                objectMapper.writeValueAsString(execution("recent", ExecutionStatus.SUCCESS, LocalDateTime.now()))),
+                StandardCharsets.UTF_8);
+
+        storage = open(Duration.ofDays(7));
+
+        assertThat(storage.findById("old-done")).isNull();
+        // 未结束的执行不受保留期限制
+        assertThat(storage.findById("old-running")).isNotNull();
+        assertThat(storage.findById("recent")).isNotNull();
+        // 压缩后的日志只包含存活记录
+        assertThat(Files.readAllLines(directory.resolve("executions.log"))).hasSize(2);
+    }
+
+    @Test
+    void testRecordsEvictedByCompactionStayEvictedAfterRestart() throws Exception {
+        storage = open(Duration.ofDays(7));
+        storage.save(execution("hot", ExecutionStatus.PENDING, LocalDateTime.now()));
+        storage.save(execution("expired", ExecutionStatus.SUCCESS, LocalDateTime.now().minusDays(10)));
+        // 足够多的更新触发写线程压缩，压缩时清理过期记录
+        for (int i = 0; i < 12_000; i++) {
+            storage.updateStatus("hot", i % 2 == 0 ? ExecutionStatus.RUNNING : ExecutionStatus.PENDING);
+            if (i == 6_000) {
+                storage.updateStatus("expired", ExecutionStatus.SUCCESS);
+            }
+        }
+        storage.destroy();
+
+        assertThat(Files.readAllLines(directory.resolve("executions.log")).size()).isLessThan(12_000);
+
+        // 关闭保留期后重启：压缩之后才写出的旧行不能让已清理的记录复活
+        storage = open(null);
+        assertThat(storage.findById("expired")).isNull();
+        assertThat(storage.findById("hot").getStatus()).isEqualTo(ExecutionStatus.PENDING);
+    }
+
+    private LocalLogAsyncExecutionStorage open(Duration retention) {
+        return new LocalLogAsyncExecutionStorage(objectMapper, directory, 64, Duration.ofMillis(5),
+                false, retention, 2);
+    }
+
+    private static AsyncRpcExecution execution(String id, ExecutionStatus status, LocalDateTime createTime) {
+        return AsyncRpcExecution.builder()
+                .executionId(id)
+                .interfaceName("io.nebula.demo.ReportService")
+                .methodName("generate")
+                .status(status)
+                .arguments("[]")
+                .createTime(createTime)
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package io.nebula.rpc.async.storage.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.execution.ExecutionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisAsyncExecutionStorage 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisAsyncExecutionStorageTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private StringRedisConnection connection;
+
+    private RedisAsyncExecutionStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        lenient().when(hashOperations.entries(anyString())).thenReturn(Map.of());
+        // 刷出间隔足够长，测试中只有达到批次大小或显式 flush 才会写 Redis
+        storage = new RedisAsyncExecutionStorage(redisTemplate, new ObjectMapper().findAndRegisterModules(),
+                "test:", Duration.ofDays(1), Duration.ofHours(1), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.destroy();
+    }
+
+    @Test
+    void testUpdatesAreMergedAndVisibleBeforeFlush() {
+        storage.updateStatus("e-1", ExecutionStatus.RUNNING);
+        storage.updateResultAndStatus("e-1", "\"ok\"", ExecutionStatus.SUCCESS);
+
+        assertThat(storage.getPendingWriteCount()).isEqualTo(1);
+        AsyncRpcExecution execution = storage.findById("e-1");
+        assertThat(execution.getStatus()).isEqualTo(ExecutionStatus.SUCCESS);
+        assertThat(execution.getResult()).isEqualTo("\"ok\"");
+        assertThat(execution.getStartTime()).isNotNull();
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+
+        storage.flush();
+
+        assertThat(storage.getPendingWriteCount()).isZero();
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testSaveWritesSynchronouslyAndDropsBufferedFields() {
+        storage.updateStatus("e-1", ExecutionStatus.RUNNING);
+
+        storage.save(AsyncRpcExecution.builder()
+                .executionId("e-1")
+                .status(ExecutionStatus.PENDING)
+                .createTime(LocalDateTime.now())
+                .build());
+
+        assertThat(storage.getPendingWriteCount()).isZero();
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testFullBufferWritesNewExecutionsThroughAndSurfacesFailure() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new QueryTimeoutException("redis down"));
+
+        storage.updateStatus("e-1", ExecutionStatus.RUNNING);
+        storage.updateStatus("e-2", ExecutionStatus.RUNNING);
+
+        // 缓冲已满：新执行的更新同步写入并把失败抛给调用方，缓冲不再增长
+        assertThatThrownBy(() -> storage.updateStatus("e-3", ExecutionStatus.RUNNING))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(QueryTimeoutException.class);
+        assertThat(storage.getPendingWriteCount()).isEqualTo(2);
+
+        // 已在缓冲中的执行继续合并
+        storage.updateResultAndStatus("e-1", "1", ExecutionStatus.SUCCESS);
+        assertThat(storage.getPendingWriteCount()).isEqualTo(2);
+        assertThat(storage.findById("e-1").getStatus()).isEqualTo(ExecutionStatus.SUCCESS);
+    }
+
+    @Test
+    void testFailedFlushKeepsBufferForRetry() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new QueryTimeoutException("redis down"))
+                .thenReturn(List.of());
+
+        storage.updateStatus("e-1", ExecutionStatus.RUNNING);
+
+        assertThatThrownBy(storage::flush).isInstanceOf(QueryTimeoutException.class);
+        assertThat(storage.getPendingWriteCount()).isEqualTo(1);
+
+        storage.flush();
+        assertThat(storage.getPendingWriteCount()).isZero();
+    }
+
+    @Test
+    void testFlushOnlyUpdatesExistingRecordsAndRenewsTtl() {
+        runPipelinesAgainstConnection();
+        storage.updateResultAndStatus("e-1", "\"ok\"", ExecutionStatus.SUCCESS);
+
+        storage.flush();
+
+        // 字段更新走 EXISTS 判断脚本，不直接 HSET，记录过期后不会被重建
+        verify(connection, never()).hMSet(anyString(), anyMap());
+        verify(connection, never()).expire(anyString(), anyLong());
+        String[] keysAndArgs = capturedEvalArguments();
+        assertThat(keysAndArgs[0]).isEqualTo("test:e-1");
+        assertThat(keysAndArgs[1]).isEqualTo(String.valueOf(Duration.ofDays(1).toSeconds()));
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 2; i < keysAndArgs.length; i += 2) {
+            fields.put(keysAndArgs[i], keysAndArgs[i + 1]);
+        }
+        assertThat(fields).containsEntry("status", "SUCCESS")
+                .containsEntry("result", "\"ok\"")
+                .containsKey("finishTime");
+    }
+
+    @Test
+    void testSaveCreatesRecordWithTtl() {
+        runPipelinesAgainstConnection();
+
+        storage.save(AsyncRpcExecution.builder()
+                .executionId("e-1")
+                .status(ExecutionStatus.PENDING)
+                .build());
+
+        verify(connection).hMSet(eq("test:e-1"), anyMap());
+        verify(connection).expire("test:e-1", Duration.ofDays(1).toSeconds());
+        verify(connection, never()).eval(anyString(), any(ReturnType.class), anyInt(), any(String[].class));
+    }
+
+    @Test
+    void testUpdateAfterDestroyIsWrittenDirectly() {
+        runPipelinesAgainstConnection();
+        storage.destroy();
+
+        storage.updateStatus("e-1", ExecutionStatus.CANCELLED);
+
+        assertThat(storage.getPendingWriteCount()).isZero();
+        assertThat(capturedEvalArguments()).contains("test:e-1", "status", "CANCELLED");
+    }
+
+    @Test
+    void testUpdateAfterDestroyIsDroppedWhenWriteFails() {
+        storage.destroy();
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new QueryTimeoutException("redis down"));
+
+        assertThatCode(() -> storage.updateStatus("e-1", ExecutionStatus.CANCELLED)).doesNotThrowAnyException();
+        assertThat(storage.getPendingWriteCount()).isZero();
+    }
+
+    /**
+     * 让管道回调直接作用在模拟连接上
+     */
+    private void runPipelinesAgainstConnection() {
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+    }
+
+    private String[] capturedEvalArguments() {
+        ArgumentCaptor<String[]> captor = ArgumentCaptor.forClass(String[].class);
+        verify(connection).eval(contains("EXISTS"), eq(ReturnType.INTEGER), eq(1), captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,171 @@
+package io.nebula.rpc.async.web;
+
+import io.nebula.rpc.async.execution.AsyncRpcExecution;
+import io.nebula.rpc.async.execution.AsyncRpcExecutionManager;
+import io.nebula.rpc.async.execution.ExecutionStatus;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * AsyncRpcExecutionController 单元测试
+ */
+class AsyncRpcExecutionControllerTest {
+
+    private final AsyncRpcExecutionManager executionManager = mock(AsyncRpcExecutionManager.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AsyncRpcExecutionController(executionManager,
+                Duration.ofSeconds(30), Duration.ofSeconds(60))).build();
+    }
+
+    @Test
+    void testGetExecution() throws Exception {
+        when(executionManager.getExecution("e1")).thenReturn(execution("e1", ExecutionStatus.RUNNING));
+
+        mockMvc.perform(get("/async-rpc/executions/e1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.executionId").value("e1"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+        mockMvc.perform(get("/async-rpc/executions/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testAwaitReturnsTerminalExecution() throws Exception {
+        CompletableFuture<AsyncRpcExecution> future = new CompletableFuture<>();
+        when(executionManager.awaitCompletion("e1")).thenReturn(future);
+
+        MvcResult result = mockMvc.perform(get("/async-rpc/executions/e1/await"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        future.complete(execution("e1", ExecutionStatus.SUCCESS));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"));
+    }
+
+    @Test
+    void testAwaitReturnsCancelledExecution() throws Exception {
+        when(executionManager.awaitCompletion("e1"))
+                .thenReturn(CompletableFuture.completedFuture(execution("e1", ExecutionStatus.CANCELLED)));
+
+        MvcResult result = mockMvc.perform(get("/async-rpc/executions/e1/await"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    void testAwaitReturnsNotFoundForMissingExecution() throws Exception {
+        when(executionManager.awaitCompletion("missing")).thenReturn(CompletableFuture.completedFuture(null));
+
+        MvcResult result = mockMvc.perform(get("/async-rpc/executions/missing/await"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testAwaitTimeoutReturnsAcceptedAndCancelsWaiter() throws Exception {
+        CompletableFuture<AsyncRpcExecution> future = new CompletableFuture<>();
+        when(executionManager.awaitCompletion("e1")).thenReturn(future);
+
+        MvcResult result = mockMvc.perform(get("/async-rpc/executions/e1/await").param("timeout", "120000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // 超过上限按上限处理
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(60_000L);
+
+        timeout(result);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isAccepted());
+        assertThat(future).isCancelled();
+    }
+
+    @Test
+    void testEventsPushCompletedEvent() throws Exception {
+        CompletableFuture<AsyncRpcExecution> future = new CompletableFuture<>();
+        when(executionManager.awaitCompletion("e1")).thenReturn(future);
+
+        MvcResult result = mockMvc.perform(get("/async-rpc/executions/e1/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        future.complete(execution("e1", ExecutionStatus.SUCCESS));
+
+        assertThat(result.getResponse().getContentAsString())
+                .contains("event:completed")
+                .contains("\"status\":\"SUCCESS\"");
+        assertThat(future).isNotCancelled();
+    }
+
+    @Test
+    void testEventsPushNotFoundEvent() throws Exception {
+        when(executionManager.awaitCompletion("missing")).thenReturn(CompletableFuture.completedFuture(null));
+
+        MvcResult result = mockMvc.perform(get("/async-rpc/executions/missing/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString())
+                .contains("event:not-found")
+                .contains("data:missing");
+    }
+
+    @Test
+    void testEventsTimeoutCancelsWaiter() throws Exception {
+        CompletableFuture<AsyncRpcExecution> future = new CompletableFuture<>();
+        when(executionManager.awaitCompletion("e1")).thenReturn(future);
+
+        MvcResult result = mockMvc.perform(get("/async-rpc/executions/e1/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(30_000L);
+
+        timeout(result);
+        mockMvc.perform(asyncDispatch(result));
+
+        assertThat(future).isCancelled();
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("event:");
+    }
+
+    /**
+     * 模拟容器触发异步请求超时
+     */
+    private static void timeout(MvcResult result) throws Exception {
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+    }
+
+    private static AsyncRpcExecution execution(String executionId, ExecutionStatus status) {
+        return AsyncRpcExecution.builder()
+                .executionId(executionId)
+                .status(status)
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package io.nebula.rpc.core.client;
 
+import io.nebula.rpc.core.stub.RpcMethodDescriptor;
+
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -19,6 +21,18 @@ public interface RpcClient {
      */
     <T> T call(Class<T> serviceClass, String methodName, Object... args);
     
+    /**
+     * 按预解析的方法描述符同步调用
+     * 由桩类和代理使用，实现类可覆盖以跳过按方法名的查找与参数类型推断
+     * 
+     * @param descriptor 方法描述符
+     * @param args       参数
+     * @return 调用结果
+     */
+    default Object invoke(RpcMethodDescriptor descriptor, Object[] args) {
+        return call(descriptor.getServiceClass(), descriptor.getMethodName(), args);
+    }
+    
     /**
      * 异步调用
      * 
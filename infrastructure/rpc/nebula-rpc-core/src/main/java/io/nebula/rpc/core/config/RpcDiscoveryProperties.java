@@ -33,11 +33,11 @@ public class RpcDiscoveryProperties {
     
     /**
      * 负载均衡策略
-     * 可选值: round_robin, random, weighted
+     * 可选值: round_robin, random, weighted, consistent_hash
      */
     @NotBlank(message = "负载均衡策略不能为空")
-    @Pattern(regexp = "^(round_robin|random|weighted)$", 
-             message = "负载均衡策略必须是: round_robin, random, weighted 之一")
+    @Pattern(regexp = "^(round_robin|random|weighted|consistent_hash)$", 
+             message = "负载均衡策略必须是: round_robin, random, weighted, consistent_hash 之一")
     private String loadBalanceStrategy = "round_robin";
     
     /**
@@ -68,5 +68,147 @@ public class RpcDiscoveryProperties {
     @Min(value = 100, message = "重试间隔不能小于 100 毫秒")
     @Max(value = 60000, message = "重试间隔不能大于 60000 毫秒")
     private long retryInterval = 1000;
+    
+    /**
+     * 主动健康检查配置
+     */
+    private HealthCheck healthCheck = new HealthCheck();
+    
+    /**
+     * 区域感知路由配置
+     */
+    private Zone zone = new Zone();
+    
+    /**
+     * 一致性哈希配置（load-balance-strategy=consistent_hash 时生效）
+     */
+    private ConsistentHash consistentHash = new ConsistentHash();
+    
+    /**
+     * 主动健康检查配置
+     * 
+     * 启用后负载均衡前会过滤本地探测判定为不健康的实例，无需等待注册中心心跳超时
+     */
+    @Data
+    public static class HealthCheck {
+        
+        /**
+         * 是否启用主动健康检查
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 探测方式
+         * 可选值: tcp, http
+         */
+        @Pattern(regexp = "^(tcp|http)$", message = "健康检查方式必须是: tcp, http 之一")
+        private String type = "tcp";
+        
+        /**
+         * HTTP 探测路径（type=http 时生效）
+         */
+        private String path = "/actuator/health";
+        
+        /**
+         * 单次探测超时（毫秒）
+         */
+        @Min(value = 50, message = "健康检查超时不能小于 50 毫秒")
+        private long timeout = 500;
+        
+        /**
+         * 最短探测间隔（毫秒），失败、抖动或恢复观察期使用
+         */
+        @Min(value = 50, message = "最短探测间隔不能小于 50 毫秒")
+        private long minInterval = 100;
+        
+        /**
+         * 新实例的初始探测间隔（毫秒）
+         */
+        private long initialInterval = 250;
+        
+        /**
+         * 最长探测间隔（毫秒），稳定实例退避上限，决定最坏情况下的摘除时延
+         */
+        private long maxInterval = 1000;
+        
+        /**
+         * 连续失败多少次后摘除，单次探测失败（丢包、GC 停顿）不摘除
+         */
+        @Min(value = 1, message = "失败阈值不能小于 1")
+        private int failureThreshold = 3;
+        
+        /**
+         * 连续成功多少次后恢复
+         */
+        @Min(value = 1, message = "恢复阈值不能小于 1")
+        private int successThreshold = 2;
+        
+        /**
+         * 实例超过该时长未被访问时停止探测（毫秒）
+         */
+        private long idleTimeout = 60000;
+    }
+    
+    /**
+     * 一致性哈希配置
+     */
+    @Data
+    public static class ConsistentHash {
+        
+        /**
+         * 每个实例的虚拟节点数
+         */
+        @Min(value = 1, message = "虚拟节点数不能小于 1")
+        private int virtualNodes = 160;
+        
+        /**
+         * 有界负载系数：单个实例的在途调用数不超过平均值的该倍数，超出时顺延到环上下一个实例
+         * 必须大于 1；为 0 时不限制负载
+         */
+        private double loadFactor = 1.25;
+        
+        /**
+         * 哈希键在 RpcContext 中的元数据名，调用方通过 {@code RpcContext.set(hashKey, value)} 指定路由键；
+         * 未设置时随机选择
+         */
+        private String hashKey = "X-Hash-Key";
+    }
+    
+    /**
+     * 区域感知路由配置
+     * 
+     * 启用后优先调用同区域实例，本地区域容量或健康度不足时溢出到其他区域
+     */
+    @Data
+    public static class Zone {
+        
+        /**
+         * 是否启用区域感知路由
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 本地区域，为空时使用 nebula.discovery.nacos.cluster-name
+         */
+        private String localZone;
+        
+        /**
+         * 实例元数据中表示区域的键，缺失时使用实例集群名
+         */
+        private String metadataKey = "zone";
+        
+        /**
+         * 本地区域健康比例低于该值时按缺口比例溢出到其他区域
+         */
+        @Min(value = 0, message = "健康比例不能小于 0")
+        @Max(value = 1, message = "健康比例不能大于 1")
+        private double minHealthyRatio = 0.7;
+        
+        /**
+         * 本地区域健康实例数低于该值时全部溢出到其他区域
+         */
+        @Min(value = 0, message = "本地最少实例数不能小于 0")
+        private int minLocalInstances = 1;
+    }
 }
 
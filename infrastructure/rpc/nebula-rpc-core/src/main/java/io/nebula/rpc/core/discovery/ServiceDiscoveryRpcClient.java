@@ -2,10 +2,17 @@ package io.nebula.rpc.core.discovery;
 
 import io.nebula.discovery.core.ServiceDiscovery;
 import io.nebula.discovery.core.ServiceInstance;
+import io.nebula.discovery.core.LoadBalanceContext;
 import io.nebula.discovery.core.LoadBalancer;
 import io.nebula.discovery.core.LoadBalancerFactory;
 import io.nebula.discovery.core.LoadBalanceStrategy;
 import io.nebula.discovery.core.ServiceDiscoveryException;
+import io.nebula.rpc.core.context.RpcContext;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
+import io.nebula.rpc.core.metrics.RpcPhase;
+import io.nebula.rpc.core.metrics.RpcTimings;
+import io.nebula.rpc.core.stub.RpcMethodDescriptor;
+import io.nebula.rpc.core.stub.RpcStubs;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
@@ -23,11 +30,22 @@ import org.springframework.context.annotation.PropertySource;
 @Slf4j
 public class ServiceDiscoveryRpcClient implements io.nebula.rpc.core.client.RpcClient {
     
+    /**
+     * 默认的请求键元数据名
+     */
+    public static final String DEFAULT_HASH_KEY_NAME = "X-Hash-Key";
+    
     private final ServiceDiscovery serviceDiscovery;
     private final LoadBalancer loadBalancer;
     private final io.nebula.rpc.core.client.RpcClient delegateClient;
     private final Environment environment;
     private final ConcurrentHashMap<String, List<ServiceInstance>> serviceCache = new ConcurrentHashMap<>();
+    private volatile RpcLatencyMetrics latencyMetrics = RpcLatencyMetrics.DISABLED;
+    
+    /**
+     * RpcContext 中作为负载均衡请求键的元数据名，一致性哈希按它路由，区域感知按它决定溢出
+     */
+    private volatile String hashKeyName = DEFAULT_HASH_KEY_NAME;
     
     public ServiceDiscoveryRpcClient(ServiceDiscovery serviceDiscovery, 
                                    LoadBalancer loadBalancer, 
@@ -57,32 +75,88 @@ public class ServiceDiscoveryRpcClient implements io.nebula.rpc.core.client.RpcC
     
     @Override
     public <T> T call(Class<T> serviceClass, String methodName, Object... args) {
-        // 优先从 ThreadLocal 获取服务名（由 RpcClientFactoryBean 设置）
-        String serviceName = io.nebula.rpc.core.context.RpcContextHolder.getServiceName();
-        
-        // 如果 ThreadLocal 中没有，则从 @RpcClient 注解获取
-        if (!org.springframework.util.StringUtils.hasText(serviceName)) {
-            serviceName = getServiceName(serviceClass);
+        RpcTimings timings = latencyMetrics.beginCall();
+        try {
+            ServiceInstance instance = selectTarget(serviceClass, timings);
+            
+            try {
+                // 执行RPC调用
+                return delegateClient.call(serviceClass, methodName, args);
+                
+            } catch (Exception e) {
+                loadBalancer.reportFailure(instance);
+                log.error("RPC调用失败: serviceName={}, instance={}, method={}", 
+                        resolveServiceName(serviceClass), instance.getAddress(), methodName, e);
+                throw new RuntimeException("RPC调用失败: " + e.getMessage(), e);
+            } finally {
+                loadBalancer.completeCall(instance);
+            }
+        } finally {
+            latencyMetrics.endCall(timings, serviceClass.getName(), methodName);
         }
-        
-        ServiceInstance instance = selectServiceInstance(serviceName);
+    }
+    
+    @Override
+    public Object invoke(RpcMethodDescriptor descriptor, Object[] args) {
+        RpcTimings timings = latencyMetrics.beginCall();
+        try {
+            ServiceInstance instance = selectTarget(descriptor.getServiceClass(), timings);
+            
+            try {
+                return delegateClient.invoke(descriptor, args);
+            } catch (Exception e) {
+                loadBalancer.reportFailure(instance);
+                log.error("RPC调用失败: serviceName={}, instance={}, method={}", 
+                        resolveServiceName(descriptor.getServiceClass()), instance.getAddress(),
+                        descriptor.getMethodName(), e);
+                throw new RuntimeException("RPC调用失败: " + e.getMessage(), e);
+            } finally {
+                loadBalancer.completeCall(instance);
+            }
+        } finally {
+            latencyMetrics.endCall(timings, descriptor.getServiceClass().getName(), descriptor.getMethodName());
+        }
+    }
+    
+    /**
+     * 设置分阶段延迟统计
+     */
+    public void setLatencyMetrics(RpcLatencyMetrics latencyMetrics) {
+        this.latencyMetrics = latencyMetrics != null ? latencyMetrics : RpcLatencyMetrics.DISABLED;
+    }
+    
+    /**
+     * 设置作为负载均衡请求键的 RpcContext 元数据名
+     */
+    public void setHashKeyName(String hashKeyName) {
+        this.hashKeyName = StringUtils.hasText(hashKeyName) ? hashKeyName : DEFAULT_HASH_KEY_NAME;
+    }
+    
+    /**
+     * 选择服务实例并设置为委托客户端的目标地址
+     */
+    private ServiceInstance selectTarget(Class<?> serviceClass, RpcTimings timings) {
+        String serviceName = resolveServiceName(serviceClass);
+        ServiceInstance instance = selectServiceInstance(serviceName, timings);
         
         if (instance == null) {
             throw new RuntimeException("没有可用的服务实例: " + serviceName);
         }
         
-        try {
-            // 设置目标服务地址
-            setTargetAddress(delegateClient, instance);
-            
-            // 执行RPC调用
-            return delegateClient.call(serviceClass, methodName, args);
-            
-        } catch (Exception e) {
-            log.error("RPC调用失败: serviceName={}, instance={}, method={}", 
-                    serviceName, instance.getAddress(), methodName, e);
-            throw new RuntimeException("RPC调用失败: " + e.getMessage(), e);
+        // 设置目标服务地址
+        setTargetAddress(delegateClient, instance);
+        return instance;
+    }
+    
+    private String resolveServiceName(Class<?> serviceClass) {
+        // 优先从 ThreadLocal 获取服务名（由 RpcClientFactoryBean 设置）
+        String serviceName = io.nebula.rpc.core.context.RpcContextHolder.getServiceName();
+        
+        // 如果 ThreadLocal 中没有，则从 @RpcClient 注解获取
+        if (!org.springframework.util.StringUtils.hasText(serviceName)) {
+            serviceName = getServiceName(serviceClass);
         }
+        return serviceName;
     }
     
     @Override
@@ -92,25 +166,18 @@ public class ServiceDiscoveryRpcClient implements io.nebula.rpc.core.client.RpcC
     
     @Override
     public <T> T createProxy(Class<T> serviceClass) {
-        return (T) java.lang.reflect.Proxy.newProxyInstance(
-                serviceClass.getClassLoader(),
-                new Class<?>[]{serviceClass},
-                (proxy, method, methodArgs) -> {
-                    // 对于Object类的方法，直接调用
-                    if (method.getDeclaringClass() == Object.class) {
-                        return method.invoke(this, methodArgs);
-                    }
-                    
-                    // RPC调用
-                    return call(serviceClass, method.getName(), methodArgs);
-                }
-        );
+        return RpcStubs.create(serviceClass, this::invoke);
     }
     
     @Override
     public String getServiceAddress(String serviceName) {
-        ServiceInstance instance = selectServiceInstance(serviceName);
-        return instance != null ? instance.getAddress() : null;
+        ServiceInstance instance = selectServiceInstance(serviceName, RpcTimings.none());
+        if (instance == null) {
+            return null;
+        }
+        // 只查询地址，不发起调用
+        loadBalancer.completeCall(instance);
+        return instance.getAddress();
     }
     
     @Override
@@ -133,12 +200,15 @@ public class ServiceDiscoveryRpcClient implements io.nebula.rpc.core.client.RpcC
      * 选择服务实例
      * 
      * @param serviceName 服务名称
+     * @param timings     分阶段计时
      * @return 选中的服务实例，如果没有可用实例返回null
      */
-    private ServiceInstance selectServiceInstance(String serviceName) {
+    private ServiceInstance selectServiceInstance(String serviceName, RpcTimings timings) {
         try {
             // 从服务发现获取服务实例
+            long mark = timings.mark();
             List<ServiceInstance> instances = serviceDiscovery.getInstances(serviceName, true);
+            timings.record(RpcPhase.DISCOVERY, mark);
             
             if (instances == null || instances.isEmpty()) {
                 log.warn("没有找到可用的服务实例: {}", serviceName);
@@ -149,7 +219,9 @@ public class ServiceDiscoveryRpcClient implements io.nebula.rpc.core.client.RpcC
             serviceCache.put(serviceName, instances);
             
             // 使用负载均衡器选择实例
-            ServiceInstance selectedInstance = loadBalancer.choose(instances);
+            mark = timings.mark();
+            ServiceInstance selectedInstance = choose(instances);
+            timings.record(RpcPhase.LOAD_BALANCE, mark);
             
             if (selectedInstance != null) {
                 log.debug("选择服务实例: serviceName={}, instance={}", 
@@ -168,13 +240,24 @@ public class ServiceDiscoveryRpcClient implements io.nebula.rpc.core.client.RpcC
             if (cachedInstances != null && !cachedInstances.isEmpty()) {
                 log.info("使用缓存的服务实例: serviceName={}, count={}", 
                         serviceName, cachedInstances.size());
-                return loadBalancer.choose(cachedInstances);
+                return choose(cachedInstances);
             }
             
             return null;
         }
     }
     
+    /**
+     * 调用方在 RpcContext 中设置了请求键时带上下文选择，相同的键路由到同一实例
+     */
+    private ServiceInstance choose(List<ServiceInstance> instances) {
+        String hashKey = RpcContext.get(hashKeyName);
+        if (!StringUtils.hasText(hashKey)) {
+            return loadBalancer.choose(instances);
+        }
+        return loadBalancer.choose(instances, new LoadBalanceContext(hashKey, null, null, null));
+    }
+    
     /**
      * 设置目标地址到委托客户端
      * 这里需要根据具体的RpcClient实现来设置目标地址
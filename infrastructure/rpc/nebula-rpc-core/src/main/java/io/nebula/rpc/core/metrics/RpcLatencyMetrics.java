@@ -0,0 +1,342 @@
+package io.nebula.rpc.core.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * RPC 分阶段延迟统计
+ *
+ * <p>按 {@code 服务#方法} 与 {@link RpcPhase} 维护 HDR 直方图（微秒精度），客户端与服务端分别统计。
+ * 采样在调用开始时决定一次，未采样的调用不读取时钟、不分配对象，开销仅为一次随机数比较；
+ * 客户端采样的调用会在请求元数据中携带 {@link RpcTimings#SAMPLED_KEY}，服务端据此回传自身的阶段耗时。
+ *
+ * <p>服务名与方法名来自调用方（服务端直接取自请求），每侧最多统计 {@code maxMethods} 个方法，
+ * 超出后的方法合并记录到 {@link #OVERFLOW_NAME} 下，直方图数量不随请求中的任意名称增长。
+ *
+ * <p>使用方式（客户端）：
+ * <pre>
+ * RpcTimings timings = metrics.beginCall();
+ * try {
+ *     long mark = timings.mark();
+ *     ... 序列化 ...
+ *     timings.record(RpcPhase.SERIALIZATION, mark);
+ * } finally {
+ *     metrics.endCall(timings, serviceName, methodName);
+ * }
+ * </pre>
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+public class RpcLatencyMetrics {
+
+    /**
+     * 关闭状态的实例，所有操作均为空操作
+     */
+    public static final RpcLatencyMetrics DISABLED = new RpcLatencyMetrics(false, 0, 60_000, 2);
+
+    /**
+     * 每侧默认最多统计的方法数
+     */
+    public static final int DEFAULT_MAX_METHODS = 1000;
+
+    /**
+     * 超出方法数上限后合并记录使用的服务名与方法名
+     */
+    public static final String OVERFLOW_NAME = "<other>";
+
+    private static final MethodKey OVERFLOW_KEY = new MethodKey(OVERFLOW_NAME, OVERFLOW_NAME);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long highestTrackableMicros;
+    private final int significantDigits;
+    private final int maxMethods;
+
+    private final Registry clientHistograms = new Registry("client");
+    private final Registry serverHistograms = new Registry("server");
+
+    /**
+     * @param enabled 是否启用
+     * @param sampleRate 采样率（0 ~ 1）
+     * @param highestTrackableMillis 直方图可记录的最大耗时，超出按最大值记录
+     * @param significantDigits 直方图有效数字（1 ~ 5），越大越精确、内存越多
+     */
+    public RpcLatencyMetrics(boolean enabled, double sampleRate, long highestTrackableMillis, int significantDigits) {
+        this(enabled, sampleRate, highestTrackableMillis, significantDigits, DEFAULT_MAX_METHODS);
+    }
+
+    /**
+     * @param enabled 是否启用
+     * @param sampleRate 采样率（0 ~ 1）
+     * @param highestTrackableMillis 直方图可记录的最大耗时，超出按最大值记录
+     * @param significantDigits 直方图有效数字（1 ~ 5），越大越精确、内存越多
+     * @param maxMethods 客户端、服务端各自最多统计的方法数，超出的方法合并到 {@link #OVERFLOW_NAME}
+     */
+    public RpcLatencyMetrics(boolean enabled, double sampleRate, long highestTrackableMillis, int significantDigits,
+                             int maxMethods) {
+        this.enabled = enabled && sampleRate > 0;
+        this.sampleRate = Math.min(1.0, Math.max(0.0, sampleRate));
+        this.highestTrackableMicros = TimeUnit.MILLISECONDS.toMicros(Math.max(1, highestTrackableMillis));
+        this.significantDigits = Math.min(5, Math.max(1, significantDigits));
+        this.maxMethods = Math.max(1, maxMethods);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 客户端开始一次调用（可嵌套，仅最外层决定是否采样）
+     */
+    public RpcTimings beginCall() {
+        if (!enabled) {
+            return RpcTimings.NOOP;
+        }
+        RpcTimings timings = RpcTimings.current();
+        if (timings.enter()) {
+            timings.start(shouldSample());
+        }
+        return timings;
+    }
+
+    /**
+     * 客户端结束一次调用，最外层结束时记录各阶段
+     */
+    public void endCall(RpcTimings timings, String serviceName, String methodName) {
+        if (!timings.exit() || !timings.isSampled()) {
+            return;
+        }
+        timings.add(RpcPhase.TOTAL, System.nanoTime() - timings.startMark());
+        record(clientHistograms, serviceName, methodName, timings);
+    }
+
+    /**
+     * 服务端开始处理请求：客户端已采样或本地采样命中时计时
+     *
+     * @param requestMetadata 请求元数据（HTTP 请求 headers / gRPC metadata）
+     */
+    public RpcTimings beginServer(Map<String, String> requestMetadata) {
+        if (!enabled) {
+            return RpcTimings.NOOP;
+        }
+        boolean clientSampled = requestMetadata != null && requestMetadata.containsKey(RpcTimings.SAMPLED_KEY);
+        return RpcTimings.forServer(clientSampled || shouldSample());
+    }
+
+    /**
+     * 服务端处理结束：记录服务端直方图，返回需写入响应元数据的耗时编码
+     *
+     * @return 客户端已采样时返回编码后的耗时，否则返回null
+     */
+    public String endServer(RpcTimings timings, Map<String, String> requestMetadata,
+                            String serviceName, String methodName) {
+        if (!timings.isSampled()) {
+            return null;
+        }
+        timings.add(RpcPhase.SERVER_TOTAL, System.nanoTime() - timings.startMark());
+        record(serverHistograms, serviceName, methodName, timings);
+        boolean clientSampled = requestMetadata != null && requestMetadata.containsKey(RpcTimings.SAMPLED_KEY);
+        return clientSampled ? timings.encodeServerPhases() : null;
+    }
+
+    /**
+     * 客户端视角的统计（含服务端回传的阶段）
+     */
+    public List<MethodLatencyStats> getClientStats() {
+        return snapshot(clientHistograms);
+    }
+
+    /**
+     * 服务端视角的统计
+     */
+    public List<MethodLatencyStats> getServerStats() {
+        return snapshot(serverHistograms);
+    }
+
+    /**
+     * 获取客户端某阶段直方图的副本，可用于导出完整分布（如 {@code encodeIntoCompressedByteBuffer}）
+     *
+     * @return 直方图副本，无数据时返回null
+     */
+    public Histogram getClientHistogram(String serviceName, String methodName, RpcPhase phase) {
+        return copyOf(clientHistograms, serviceName, methodName, phase);
+    }
+
+    /**
+     * 获取服务端某阶段直方图的副本
+     *
+     * @return 直方图副本，无数据时返回null
+     */
+    public Histogram getServerHistogram(String serviceName, String methodName, RpcPhase phase) {
+        return copyOf(serverHistograms, serviceName, methodName, phase);
+    }
+
+    /**
+     * 清空所有直方图
+     */
+    public void reset() {
+        clientHistograms.clear();
+        serverHistograms.clear();
+    }
+
+    public int getMaxMethods() {
+        return maxMethods;
+    }
+
+    private boolean shouldSample() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void record(Registry registry, String serviceName, String methodName, RpcTimings timings) {
+        PhaseHistograms histograms = registry.histogramsFor(new MethodKey(serviceName, methodName));
+        for (RpcPhase phase : RpcPhase.all()) {
+            long nanos = timings.get(phase);
+            if (nanos >= 0) {
+                histograms.get(phase).recordValue(Math.min(highestTrackableMicros, TimeUnit.NANOSECONDS.toMicros(nanos)));
+            }
+        }
+    }
+
+    private List<MethodLatencyStats> snapshot(Registry registry) {
+        List<MethodLatencyStats> result = new ArrayList<>();
+        registry.histograms.forEach((key, histograms) -> {
+            Map<RpcPhase, PhaseStats> phases = new EnumMap<>(RpcPhase.class);
+            for (RpcPhase phase : RpcPhase.all()) {
+                Histogram histogram = histograms.peek(phase);
+                if (histogram == null) {
+                    continue;
+                }
+                Histogram copy = histogram.copy();
+                if (copy.getTotalCount() > 0) {
+                    phases.put(phase, new PhaseStats(
+                            copy.getTotalCount(),
+                            copy.getMean(),
+                            copy.getValueAtPercentile(50),
+                            copy.getValueAtPercentile(90),
+                            copy.getValueAtPercentile(99),
+                            copy.getValueAtPercentile(99.9),
+                            copy.getMaxValue()));
+                }
+            }
+            result.add(new MethodLatencyStats(key.serviceName(), key.methodName(), phases));
+        });
+        return result;
+    }
+
+    private Histogram copyOf(Registry registry, String serviceName, String methodName, RpcPhase phase) {
+        PhaseHistograms histograms = registry.histograms.get(new MethodKey(serviceName, methodName));
+        Histogram histogram = histograms != null ? histograms.peek(phase) : null;
+        return histogram != null ? histogram.copy() : null;
+    }
+
+    /**
+     * 一侧（客户端或服务端）的方法直方图，方法数达到上限后新方法记录到溢出项
+     */
+    private final class Registry {
+
+        private final String side;
+        private final ConcurrentHashMap<MethodKey, PhaseHistograms> histograms = new ConcurrentHashMap<>();
+        /**
+         * 不含溢出项的方法数
+         */
+        private final AtomicInteger methodCount = new AtomicInteger();
+        private final AtomicBoolean overflowLogged = new AtomicBoolean();
+
+        Registry(String side) {
+            this.side = side;
+        }
+
+        PhaseHistograms histogramsFor(MethodKey key) {
+            PhaseHistograms existing = histograms.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            PhaseHistograms created = histograms.computeIfAbsent(key, k -> {
+                if (methodCount.incrementAndGet() > maxMethods) {
+                    methodCount.decrementAndGet();
+                    return null;
+                }
+                return new PhaseHistograms();
+            });
+            if (created != null) {
+                return created;
+            }
+            if (overflowLogged.compareAndSet(false, true)) {
+                log.warn("RPC延迟统计方法数达到上限，后续方法合并记录到 {}: side={}, maxMethods={}, service={}, method={}",
+                        OVERFLOW_NAME, side, maxMethods, key.serviceName(), key.methodName());
+            }
+            return histograms.computeIfAbsent(OVERFLOW_KEY, k -> new PhaseHistograms());
+        }
+
+        void clear() {
+            histograms.clear();
+            methodCount.set(0);
+            overflowLogged.set(false);
+        }
+    }
+
+    private record MethodKey(String serviceName, String methodName) {
+    }
+
+    /**
+     * 单个方法的各阶段直方图，按需创建
+     */
+    private final class PhaseHistograms {
+
+        private final AtomicReferenceArray<Histogram> byPhase = new AtomicReferenceArray<>(RpcPhase.all().length);
+
+        Histogram get(RpcPhase phase) {
+            Histogram histogram = byPhase.get(phase.ordinal());
+            if (histogram == null) {
+                byPhase.compareAndSet(phase.ordinal(), null,
+                        new ConcurrentHistogram(highestTrackableMicros, significantDigits));
+                histogram = byPhase.get(phase.ordinal());
+            }
+            return histogram;
+        }
+
+        Histogram peek(RpcPhase phase) {
+            return byPhase.get(phase.ordinal());
+        }
+    }
+
+    /**
+     * 单阶段统计（单位：微秒）
+     */
+    public record PhaseStats(
+            long count,
+            double mean,
+            long p50,
+            long p90,
+            long p99,
+            long p999,
+            long max) {
+    }
+
+    /**
+     * 单个方法的分阶段统计
+     */
+    public record MethodLatencyStats(
+            String serviceName,
+            String methodName,
+            Map<RpcPhase, PhaseStats> phases) {
+    }
+}
@@ -0,0 +1,77 @@
+package io.nebula.rpc.core.metrics;
+
+/**
+ * RPC 调用阶段
+ *
+ * <p>客户端阶段由调用方测量；服务端阶段由服务端测量后随响应元数据回传，
+ * 在客户端与本地的客户端阶段合并记录。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+public enum RpcPhase {
+
+    /**
+     * 服务发现：从注册中心获取实例列表
+     */
+    DISCOVERY,
+
+    /**
+     * 负载均衡：从实例列表中选择目标
+     */
+    LOAD_BALANCE,
+
+    /**
+     * 请求序列化
+     */
+    SERIALIZATION,
+
+    /**
+     * 网络往返：客户端观察到的往返时间减去服务端处理时间，
+     * 包含传输、服务端容器排队与框架解析请求体的时间
+     */
+    NETWORK,
+
+    /**
+     * 响应反序列化与结果类型转换
+     */
+    DESERIALIZATION,
+
+    /**
+     * 服务端分发：查找服务与方法、解析参数
+     */
+    SERVER_DISPATCH,
+
+    /**
+     * 服务端业务方法执行
+     */
+    INVOCATION,
+
+    /**
+     * 服务端结果序列化（仅 gRPC，HTTP 由 Spring MVC 在控制器之外完成）
+     */
+    SERVER_SERIALIZATION,
+
+    /**
+     * 服务端总耗时
+     */
+    SERVER_TOTAL,
+
+    /**
+     * 客户端端到端总耗时
+     */
+    TOTAL;
+
+    private static final RpcPhase[] VALUES = values();
+
+    static RpcPhase[] all() {
+        return VALUES;
+    }
+
+    /**
+     * 元数据中使用的短名
+     */
+    String key() {
+        return name().toLowerCase();
+    }
+}
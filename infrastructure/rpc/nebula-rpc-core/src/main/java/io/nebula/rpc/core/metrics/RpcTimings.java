@@ -0,0 +1,199 @@
+package io.nebula.rpc.core.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 单次 RPC 调用的分阶段耗时（纳秒）
+ *
+ * <p>每个线程复用一个实例：最外层客户端（如 ServiceDiscoveryRpcClient）开启计时，
+ * 嵌套的委托客户端（HttpRpcClient / GrpcRpcClient）在同一实例上追加阶段，
+ * 由最外层结束时统一记录，未采样时所有操作均为空操作。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+public final class RpcTimings {
+
+    /**
+     * 请求元数据：调用已被采样，服务端需回传分阶段耗时
+     */
+    public static final String SAMPLED_KEY = "x-nebula-rpc-sampled";
+
+    /**
+     * 响应元数据：服务端分阶段耗时，格式 {@code phase=nanos,phase=nanos}
+     */
+    public static final String TIMINGS_KEY = "x-nebula-rpc-timings";
+
+    /**
+     * 未启用指标时使用的空实例
+     */
+    static final RpcTimings NOOP = new RpcTimings(true);
+
+    private static final ThreadLocal<RpcTimings> CURRENT = ThreadLocal.withInitial(() -> new RpcTimings(false));
+
+    private final boolean noop;
+    private final long[] phaseNanos = new long[RpcPhase.all().length];
+    private int depth;
+    private boolean sampled;
+    private long startNanos;
+
+    private RpcTimings(boolean noop) {
+        this.noop = noop;
+    }
+
+    static RpcTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 服务端每个请求独立计时，不占用线程上的客户端实例（业务方法内可能再发起 RPC）
+     */
+    static RpcTimings forServer(boolean sampled) {
+        if (!sampled) {
+            return NOOP;
+        }
+        RpcTimings timings = new RpcTimings(false);
+        timings.start(true);
+        return timings;
+    }
+
+    /**
+     * 进入一层调用，返回是否为最外层
+     */
+    boolean enter() {
+        return !noop && depth++ == 0;
+    }
+
+    /**
+     * 退出一层调用，返回是否为最外层
+     */
+    boolean exit() {
+        return !noop && --depth == 0;
+    }
+
+    void start(boolean sampled) {
+        this.sampled = sampled;
+        Arrays.fill(phaseNanos, -1L);
+        this.startNanos = sampled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 调用开始时的时钟读数，可作为第一个阶段的起点
+     */
+    public long startMark() {
+        return startNanos;
+    }
+
+    /**
+     * 不计时的空实例
+     */
+    public static RpcTimings none() {
+        return NOOP;
+    }
+
+    long get(RpcPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * 当前调用是否被采样
+     */
+    public boolean isSampled() {
+        return sampled && !noop;
+    }
+
+    /**
+     * 阶段起点，未采样时返回0且不读取时钟
+     */
+    public long mark() {
+        return isSampled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 记录从 {@code mark} 到现在的耗时（同一阶段多次记录时累加）
+     */
+    public void record(RpcPhase phase, long mark) {
+        if (isSampled()) {
+            add(phase, System.nanoTime() - mark);
+        }
+    }
+
+    /**
+     * 追加阶段耗时
+     */
+    public void add(RpcPhase phase, long nanos) {
+        if (!isSampled() || nanos < 0) {
+            return;
+        }
+        int index = phase.ordinal();
+        phaseNanos[index] = phaseNanos[index] < 0 ? nanos : phaseNanos[index] + nanos;
+    }
+
+    /**
+     * 合并服务端随响应回传的耗时，并以往返时间减去服务端总耗时作为网络耗时
+     *
+     * @param metadata 响应元数据（HTTP 响应头 / gRPC 响应 metadata）
+     * @param roundTripNanos 客户端观察到的往返时间
+     */
+    public void mergeServer(Map<String, String> metadata, long roundTripNanos) {
+        if (!isSampled()) {
+            return;
+        }
+        long serverTotal = -1L;
+        String encoded = metadata != null ? metadata.get(TIMINGS_KEY) : null;
+        if (encoded != null && !encoded.isEmpty()) {
+            for (String pair : encoded.split(",")) {
+                int eq = pair.indexOf('=');
+                if (eq <= 0) {
+                    continue;
+                }
+                RpcPhase phase = phaseOf(pair.substring(0, eq));
+                if (phase == null) {
+                    continue;
+                }
+                try {
+                    long nanos = Long.parseLong(pair.substring(eq + 1));
+                    add(phase, nanos);
+                    if (phase == RpcPhase.SERVER_TOTAL) {
+                        serverTotal = nanos;
+                    }
+                } catch (NumberFormatException ignored) {
+                    // 忽略无法解析的项
+                }
+            }
+        }
+        add(RpcPhase.NETWORK, serverTotal >= 0 ? Math.max(0L, roundTripNanos - serverTotal) : roundTripNanos);
+    }
+
+    /**
+     * 编码服务端阶段耗时，写入响应元数据
+     */
+    String encodeServerPhases() {
+        StringBuilder sb = new StringBuilder(96);
+        for (RpcPhase phase : RpcPhase.all()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos >= 0 && isServerPhase(phase)) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(phase.key()).append('=').append(nanos);
+            }
+        }
+        return sb.toString();
+    }
+
+    static boolean isServerPhase(RpcPhase phase) {
+        return phase == RpcPhase.SERVER_DISPATCH || phase == RpcPhase.INVOCATION
+                || phase == RpcPhase.SERVER_SERIALIZATION || phase == RpcPhase.SERVER_TOTAL;
+    }
+
+    private static RpcPhase phaseOf(String key) {
+        for (RpcPhase phase : RpcPhase.all()) {
+            if (phase.key().equals(key)) {
+                return phase;
+            }
+        }
+        return null;
+    }
+}
@@ -12,10 +12,13 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.util.StringUtils;
 
-import java.lang.reflect.InvocationHandler;
+import io.nebula.rpc.core.stub.RpcMethodDescriptor;
+import io.nebula.rpc.core.stub.RpcStubInvoker;
+import io.nebula.rpc.core.stub.RpcStubs;
+
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * RPC客户端工厂Bean
@@ -148,50 +151,62 @@ public class RpcClientFactoryBean implements FactoryBean<Object>, ApplicationCon
         }
 
         log.debug("创建 RPC 客户端代理: {}", type.getName());
-        return Proxy.newProxyInstance(
-                type.getClassLoader(),
-                new Class<?>[] { type },
-                new RpcInvocationHandler(type, rpcClientAnnotation, remoteServiceAnnotation));
+        return RpcStubs.create(type, new RpcMethodInvoker(type, rpcClientAnnotation, remoteServiceAnnotation));
     }
 
     /**
      * RPC调用处理器，兼容 @RpcClient 和 @RemoteService 注解
+     *
+     * 由编译期生成的桩类或动态代理调用，方法描述符已预先解析
      */
-    private class RpcInvocationHandler implements InvocationHandler {
+    private class RpcMethodInvoker implements RpcStubInvoker {
 
         private final Class<?> interfaceClass;
         private final RpcClient clientAnnotation;
         private final RemoteService remoteServiceAnnotation;
 
-        public RpcInvocationHandler(Class<?> interfaceClass, RpcClient clientAnnotation, RemoteService remoteServiceAnnotation) {
+        /**
+         * 方法是否标注 @AsyncRpc（按方法缓存，避免每次调用加载注解类）
+         */
+        private final ConcurrentHashMap<Method, Boolean> asyncMethods = new ConcurrentHashMap<>();
+
+        public RpcMethodInvoker(Class<?> interfaceClass, RpcClient clientAnnotation, RemoteService remoteServiceAnnotation) {
             this.interfaceClass = interfaceClass;
             this.clientAnnotation = clientAnnotation;
             this.remoteServiceAnnotation = remoteServiceAnnotation;
         }
 
         @Override
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            // 处理Object类的方法
-            if (method.getDeclaringClass() == Object.class) {
-                return method.invoke(this, args);
+        public Object invoke(RpcMethodDescriptor descriptor, Object[] args) {
+            Method method = descriptor.getMethod();
+
+            // 如果是异步RPC调用，使用AsyncRpcExecutionManager处理
+            if (asyncMethods.computeIfAbsent(method, this::isAsyncRpc)) {
+                try {
+                    return handleAsyncRpcCall(descriptor, args);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException("RPC调用失败", e);
+                }
             }
 
-            // 检查是否有@AsyncRpc注解
-            boolean isAsync = false;
+            // 同步RPC调用
+            return handleSyncRpcCall(descriptor, args);
+        }
+
+        /**
+         * 检查是否有@AsyncRpc注解
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private boolean isAsyncRpc(Method method) {
             try {
                 Class<?> asyncRpcClass = Class.forName("io.nebula.rpc.async.annotation.AsyncRpc");
-                isAsync = method.isAnnotationPresent((Class) asyncRpcClass);
+                return method.isAnnotationPresent((Class) asyncRpcClass);
             } catch (ClassNotFoundException e) {
                 // AsyncRpc类不存在，忽略
+                return false;
             }
-
-            // 如果是异步RPC调用，使用AsyncRpcExecutionManager处理
-            if (isAsync) {
-                return handleAsyncRpcCall(method, args);
-            }
-
-            // 同步RPC调用（原有逻辑）
-            return handleSyncRpcCall(method, args);
         }
 
         /**
@@ -201,7 +216,8 @@ public class RpcClientFactoryBean implements FactoryBean<Object>, ApplicationCon
          * 会自动查找去掉 "Async" 后缀的同步方法进行调用。
          * 这样服务端只需实现同步方法，客户端可以使用异步调用。
          */
-        private Object handleAsyncRpcCall(Method method, Object[] args) throws Exception {
+        private Object handleAsyncRpcCall(RpcMethodDescriptor descriptor, Object[] args) throws Exception {
+            Method method = descriptor.getMethod();
             log.debug("检测到@AsyncRpc注解，执行异步RPC调用: {}.{}",
                     interfaceClass.getSimpleName(), method.getName());
 
@@ -234,32 +250,21 @@ public class RpcClientFactoryBean implements FactoryBean<Object>, ApplicationCon
                 Object execution = submitAsyncMethod.invoke(
                         executionManager, interfaceClass, method, args, callable);
 
-                // 构造AsyncRpcResult返回
+                // 根据执行记录构造AsyncRpcResult返回（PENDING，或排队已满时的REJECTED）
                 Class<?> asyncRpcResultClass = Class.forName(
                         "io.nebula.rpc.async.execution.AsyncRpcResult");
-                Method pendingMethod = asyncRpcResultClass.getMethod(
-                        "pending", String.class);
-
-                // 从execution中获取executionId
-                Method getExecutionIdMethod = execution.getClass().getMethod("getExecutionId");
-                String executionId = (String) getExecutionIdMethod.invoke(execution);
+                Method fromExecutionMethod = asyncRpcResultClass.getMethod(
+                        "fromExecution", execution.getClass());
 
-                return pendingMethod.invoke(null, executionId);
+                return fromExecutionMethod.invoke(null, execution);
 
             } catch (BeansException e) {
                 log.warn("AsyncRpcExecutionManager未找到，降级为同步调用: {}", e.getMessage());
-                try {
-                    return handleSyncRpcCall(method, args);
-                } catch (Throwable t) {
-                    throw new RuntimeException("RPC调用失败", t);
-                }
+                // 复用桩类预解析的描述符：客户端按描述符身份缓存反序列化器，每次新建会无限增长
+                return handleSyncRpcCall(descriptor, args);
             } catch (Exception e) {
                 log.warn("异步RPC执行失败，降级为同步调用: {}", e.getMessage());
-                try {
-                    return handleSyncRpcCall(method, args);
-                } catch (Throwable t) {
-                    throw new RuntimeException("RPC调用失败", t);
-                }
+                return handleSyncRpcCall(descriptor, args);
             }
         }
         
@@ -325,9 +330,9 @@ public class RpcClientFactoryBean implements FactoryBean<Object>, ApplicationCon
         }
 
         /**
-         * 处理同步RPC调用（原有逻辑）
+         * 处理同步RPC调用
          */
-        private Object handleSyncRpcCall(Method method, Object[] args) throws Throwable {
+        private Object handleSyncRpcCall(RpcMethodDescriptor descriptor, Object[] args) {
             // 延迟获取RpcClient实例（此时所有Bean都已初始化）
             io.nebula.rpc.core.client.RpcClient client = getRpcClient();
 
@@ -341,14 +346,14 @@ public class RpcClientFactoryBean implements FactoryBean<Object>, ApplicationCon
             String serviceName = getServiceName();
 
             // 执行RPC调用
-            log.debug("执行RPC调用: service={}, method={}", serviceName, method.getName());
+            log.debug("执行RPC调用: service={}, method={}", serviceName, descriptor.getMethodName());
 
             // 设置服务名到 ThreadLocal，供 ServiceDiscoveryRpcClient 使用
             try {
                 if (StringUtils.hasText(serviceName)) {
                     RpcContextHolder.setServiceName(serviceName);
                 }
-                return client.call(interfaceClass, method.getName(), args);
+                return client.invoke(descriptor, args);
             } finally {
                 // 清理 ThreadLocal
                 RpcContextHolder.clear();
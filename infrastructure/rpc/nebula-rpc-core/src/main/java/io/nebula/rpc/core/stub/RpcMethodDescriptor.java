@@ -0,0 +1,103 @@
+package io.nebula.rpc.core.stub;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * RPC 方法描述符
+ *
+ * <p>每个远程方法对应一个实例，在桩类（或代理）初始化时一次性解析，调用时不再做任何方法查找：
+ * 参数类型、参数类型名与泛型返回类型全部预先计算。
+ *
+ * <p>描述符以对象身份作为缓存键（未覆盖 equals/hashCode），客户端可据此缓存反序列化器等每方法状态。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+public final class RpcMethodDescriptor {
+
+    private final Class<?> serviceClass;
+    private final int methodId;
+    private final String methodName;
+    private final Class<?>[] parameterTypes;
+    private final String[] parameterTypeNames;
+    private final Type genericReturnType;
+    private final Method method;
+
+    private RpcMethodDescriptor(Class<?> serviceClass, int methodId, Method method) {
+        this.serviceClass = serviceClass;
+        this.methodId = methodId;
+        this.method = method;
+        this.methodName = method.getName();
+        this.parameterTypes = method.getParameterTypes();
+        this.genericReturnType = method.getGenericReturnType();
+        this.parameterTypeNames = new String[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypeNames[i] = parameterTypes[i].getName();
+        }
+    }
+
+    /**
+     * 由生成的桩类在类初始化时调用
+     *
+     * @param serviceClass 服务接口
+     * @param methodId 方法编号（在接口内唯一）
+     * @param methodName 方法名
+     * @param parameterTypes 声明的参数类型（擦除后）
+     */
+    public static RpcMethodDescriptor of(Class<?> serviceClass, int methodId, String methodName,
+                                         Class<?>... parameterTypes) {
+        try {
+            return new RpcMethodDescriptor(serviceClass, methodId, serviceClass.getMethod(methodName, parameterTypes));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("RPC桩类与接口不一致，请重新编译: "
+                    + serviceClass.getName() + "." + methodName, e);
+        }
+    }
+
+    /**
+     * 基于已知方法创建（动态代理回退路径）
+     */
+    public static RpcMethodDescriptor of(Class<?> serviceClass, int methodId, Method method) {
+        return new RpcMethodDescriptor(serviceClass, methodId, method);
+    }
+
+    public Class<?> getServiceClass() {
+        return serviceClass;
+    }
+
+    public int getMethodId() {
+        return methodId;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * 声明的参数类型，调用方不得修改返回的数组
+     */
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * 声明的参数类型名，调用方不得修改返回的数组
+     */
+    public String[] getParameterTypeNames() {
+        return parameterTypeNames;
+    }
+
+    public Type getGenericReturnType() {
+        return genericReturnType;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public String toString() {
+        return serviceClass.getSimpleName() + "." + methodName + "#" + methodId;
+    }
+}
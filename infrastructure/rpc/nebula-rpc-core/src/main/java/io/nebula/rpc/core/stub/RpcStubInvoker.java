@@ -0,0 +1,27 @@
+package io.nebula.rpc.core.stub;
+
+/**
+ * RPC 桩调用入口
+ *
+ * <p>生成的桩类把每次方法调用转换为 {@code invoke(描述符, 参数)}，由实现方完成实际的远程调用。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface RpcStubInvoker {
+
+    /**
+     * 无参方法共用的空参数数组
+     */
+    Object[] NO_ARGS = new Object[0];
+
+    /**
+     * 执行远程调用
+     *
+     * @param descriptor 方法描述符
+     * @param args 调用参数，无参方法为空数组
+     * @return 调用结果（基本类型返回值已装箱）
+     */
+    Object invoke(RpcMethodDescriptor descriptor, Object[] args);
+}
@@ -0,0 +1,281 @@
+package io.nebula.rpc.core.stub;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * RPC 客户端桩类生成器（注解处理器）
+ *
+ * <p>为每个标注 {@code @RemoteService} / {@code @RpcClient} 的接口生成 {@code <接口名>_NebulaRpcStub}：
+ * 每个方法对应一个静态 {@link RpcMethodDescriptor} 常量，方法体直接调用
+ * {@link RpcStubInvoker#invoke(RpcMethodDescriptor, Object[])}，运行时不再经过动态代理与方法查找。
+ *
+ * <p>启用方式：将 {@code nebula-rpc-core} 加入 maven-compiler-plugin 的 {@code annotationProcessorPaths}。
+ * 泛型接口（接口自身声明类型参数）不生成桩类，运行时回退为动态代理。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@SupportedAnnotationTypes({
+        "io.nebula.rpc.core.annotation.RemoteService",
+        "io.nebula.rpc.core.annotation.RpcClient"
+})
+public class RpcStubProcessor extends AbstractProcessor {
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.INTERFACE) {
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                if (!type.getTypeParameters().isEmpty()) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                            "泛型RPC接口不生成桩类，运行时使用动态代理: " + type.getQualifiedName(), type);
+                    continue;
+                }
+                String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+                if (!generated.add(binaryName)) {
+                    continue;
+                }
+                try {
+                    writeStub(type, binaryName);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "生成RPC桩类失败: " + e.getMessage(), type);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void writeStub(TypeElement type, String binaryName) throws IOException {
+        String stubName = stubClassName(binaryName);
+        int lastDot = stubName.lastIndexOf('.');
+        String stubSimpleName = stubName.substring(lastDot + 1);
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String serviceType = type.getQualifiedName().toString();
+        DeclaredType declaredType = (DeclaredType) type.asType();
+
+        List<ExecutableElement> methods = collectMethods(type, declaredType);
+
+        StringBuilder out = new StringBuilder();
+        if (!pkg.isUnnamed()) {
+            out.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+        }
+        out.append("import io.nebula.rpc.core.stub.RpcMethodDescriptor;\n");
+        out.append("import io.nebula.rpc.core.stub.RpcStubInvoker;\n\n");
+        out.append("/**\n * ").append(serviceType).append(" 的RPC桩类，由 RpcStubProcessor 生成，请勿修改\n */\n");
+        out.append("@javax.annotation.processing.Generated(\"").append(RpcStubProcessor.class.getName()).append("\")\n");
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"deprecation\", \"removal\"})\n");
+        out.append("public final class ").append(stubSimpleName).append(" implements ").append(serviceType).append(" {\n\n");
+
+        for (int i = 0; i < methods.size(); i++) {
+            ExecutableElement method = methods.get(i);
+            StringJoiner literals = new StringJoiner(", ");
+            method.getParameters().forEach(p -> literals.add(classLiteral(p.asType())));
+            out.append("    private static final RpcMethodDescriptor M").append(i)
+                    .append(" = RpcMethodDescriptor.of(").append(serviceType).append(".class, ")
+                    .append(i).append(", \"").append(method.getSimpleName()).append('"');
+            if (literals.length() > 0) {
+                out.append(", ").append(literals);
+            }
+            out.append(");\n");
+        }
+
+        out.append("\n    private final RpcStubInvoker invoker;\n\n");
+        out.append("    public ").append(stubSimpleName).append("(RpcStubInvoker invoker) {\n");
+        out.append("        this.invoker = invoker;\n    }\n");
+
+        for (int i = 0; i < methods.size(); i++) {
+            writeMethod(out, methods.get(i), declaredType, i);
+        }
+
+        out.append("\n    @Override\n    public String toString() {\n");
+        out.append("        return \"").append(stubSimpleName).append("\";\n    }\n");
+        out.append("}\n");
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(stubName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    /**
+     * 与 {@link RpcStubs#stubClassName(String)} 保持一致；处理器运行在编译器内，不加载 RpcStubs（其依赖日志框架）
+     */
+    private static String stubClassName(String binaryName) {
+        int lastDot = binaryName.lastIndexOf('.');
+        String packagePrefix = lastDot >= 0 ? binaryName.substring(0, lastDot + 1) : "";
+        return packagePrefix + binaryName.substring(lastDot + 1).replace('$', '_') + RpcStubs.STUB_SUFFIX;
+    }
+
+    /**
+     * 收集需要远程调用的方法（含继承的方法），按签名去重
+     */
+    private List<ExecutableElement> collectMethods(TypeElement type, DeclaredType declaredType) {
+        Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            TypeElement owner = (TypeElement) method.getEnclosingElement();
+            if (owner.getQualifiedName().contentEquals("java.lang.Object")
+                    || method.getModifiers().contains(Modifier.STATIC)
+                    || method.getModifiers().contains(Modifier.PRIVATE)) {
+                continue;
+            }
+            ExecutableType memberType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType, method);
+            StringJoiner signature = new StringJoiner(",", method.getSimpleName() + "(", ")");
+            memberType.getParameterTypes().forEach(t -> signature.add(processingEnv.getTypeUtils().erasure(t).toString()));
+            methods.putIfAbsent(signature.toString(), method);
+        }
+        return new ArrayList<>(methods.values());
+    }
+
+    private void writeMethod(StringBuilder out, ExecutableElement method, DeclaredType declaredType, int index) {
+        ExecutableType memberType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType, method);
+        TypeMirror returnType = memberType.getReturnType();
+
+        out.append("\n    @Override\n    public ");
+        List<? extends TypeParameterElement> typeParameters = method.getTypeParameters();
+        if (!typeParameters.isEmpty()) {
+            StringJoiner joiner = new StringJoiner(", ", "<", "> ");
+            for (TypeParameterElement typeParameter : typeParameters) {
+                StringJoiner bounds = new StringJoiner(" & ");
+                for (TypeMirror bound : typeParameter.getBounds()) {
+                    String boundName = typeName(bound);
+                    if (!"java.lang.Object".equals(boundName)) {
+                        bounds.add(boundName);
+                    }
+                }
+                joiner.add(bounds.length() > 0
+                        ? typeParameter.getSimpleName() + " extends " + bounds
+                        : typeParameter.getSimpleName().toString());
+            }
+            out.append(joiner);
+        }
+        out.append(typeName(returnType)).append(' ').append(method.getSimpleName()).append('(');
+
+        List<? extends TypeMirror> parameterTypes = memberType.getParameterTypes();
+        StringJoiner params = new StringJoiner(", ");
+        StringJoiner args = new StringJoiner(", ");
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            TypeMirror parameterType = parameterTypes.get(i);
+            String declaration;
+            if (method.isVarArgs() && i == parameterTypes.size() - 1 && parameterType.getKind() == TypeKind.ARRAY) {
+                declaration = typeName(((ArrayType) parameterType).getComponentType()) + "...";
+            } else {
+                declaration = typeName(parameterType);
+            }
+            params.add(declaration + " arg" + i);
+            args.add("arg" + i);
+        }
+        out.append(params).append(") {\n        ");
+
+        String call = "invoker.invoke(M" + index + ", "
+                + (parameterTypes.isEmpty() ? "RpcStubInvoker.NO_ARGS" : "new Object[]{" + args + "}") + ")";
+        if (returnType.getKind() == TypeKind.VOID) {
+            out.append(call).append(";\n");
+        } else if (returnType.getKind().isPrimitive()) {
+            String boxed = processingEnv.getTypeUtils().boxedClass((PrimitiveType) returnType).getQualifiedName().toString();
+            out.append("return (").append(boxed).append(") ").append(call).append(";\n");
+        } else {
+            out.append("return (").append(typeName(returnType)).append(") ").append(call).append(";\n");
+        }
+        out.append("    }\n");
+    }
+
+    /**
+     * 输出源码中的类型名（不含类型注解）
+     */
+    private String typeName(TypeMirror type) {
+        switch (type.getKind()) {
+            case DECLARED: {
+                DeclaredType declared = (DeclaredType) type;
+                String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+                if (declared.getTypeArguments().isEmpty()) {
+                    return name;
+                }
+                StringJoiner joiner = new StringJoiner(", ", name + "<", ">");
+                declared.getTypeArguments().forEach(arg -> joiner.add(typeName(arg)));
+                return joiner.toString();
+            }
+            case ARRAY:
+                return typeName(((ArrayType) type).getComponentType()) + "[]";
+            case TYPEVAR:
+                return ((TypeVariable) type).asElement().getSimpleName().toString();
+            case WILDCARD: {
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) {
+                    return "? extends " + typeName(wildcard.getExtendsBound());
+                }
+                if (wildcard.getSuperBound() != null) {
+                    return "? super " + typeName(wildcard.getSuperBound());
+                }
+                return "?";
+            }
+            case VOID:
+                return "void";
+            default:
+                if (type.getKind().isPrimitive()) {
+                    return type.getKind().name().toLowerCase();
+                }
+                return processingEnv.getTypeUtils().erasure(type).toString();
+        }
+    }
+
+    /**
+     * 输出擦除后类型的类字面量
+     */
+    private String classLiteral(TypeMirror type) {
+        return erasedName(processingEnv.getTypeUtils().erasure(type)) + ".class";
+    }
+
+    private String erasedName(TypeMirror erased) {
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return erasedName(processingEnv.getTypeUtils().erasure(((ArrayType) erased).getComponentType())) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+        }
+        if (erased.getKind().isPrimitive()) {
+            return erased.getKind().name().toLowerCase();
+        }
+        return erased.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package io.nebula.rpc.core.stub;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RPC 客户端实例工厂
+ *
+ * <p>优先使用 {@link RpcStubProcessor} 在编译期生成的桩类（{@code <接口名>_NebulaRpcStub}），
+ * 调用路径上没有反射与方法查找；未生成桩类的接口回退为 JDK 动态代理，
+ * 代理按 {@link Method} 缓存描述符，同样只在首次调用时解析一次。
+ *
+ * @author Nebula Framework
+ * @since 2.1.0
+ */
+@Slf4j
+public final class RpcStubs {
+
+    /**
+     * 生成桩类的类名后缀
+     */
+    public static final String STUB_SUFFIX = "_NebulaRpcStub";
+
+    private RpcStubs() {
+    }
+
+    /**
+     * 创建服务接口的客户端实例
+     *
+     * @param serviceClass 服务接口
+     * @param invoker 远程调用入口
+     * @return 生成的桩实例，未生成桩类时为动态代理
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T create(Class<T> serviceClass, RpcStubInvoker invoker) {
+        T stub = createStub(serviceClass, invoker);
+        if (stub != null) {
+            return stub;
+        }
+        log.debug("未找到RPC桩类，使用动态代理: {}", serviceClass.getName());
+        return (T) Proxy.newProxyInstance(
+                serviceClass.getClassLoader(),
+                new Class<?>[]{serviceClass},
+                new DescriptorInvocationHandler(serviceClass, invoker));
+    }
+
+    /**
+     * 实例化编译期生成的桩类
+     *
+     * @return 桩实例，未生成桩类时返回null
+     */
+    public static <T> T createStub(Class<T> serviceClass, RpcStubInvoker invoker) {
+        String stubClassName = stubClassName(serviceClass.getName());
+        try {
+            Class<?> stubClass = Class.forName(stubClassName, true, serviceClass.getClassLoader());
+            if (!serviceClass.isAssignableFrom(stubClass)) {
+                log.warn("RPC桩类未实现服务接口，忽略: {}", stubClassName);
+                return null;
+            }
+            Constructor<?> constructor = stubClass.getConstructor(RpcStubInvoker.class);
+            log.debug("使用编译期生成的RPC桩类: {}", stubClassName);
+            return serviceClass.cast(constructor.newInstance(invoker));
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("实例化RPC桩类失败，回退为动态代理: {}", stubClassName, e);
+            return null;
+        }
+    }
+
+    /**
+     * 计算桩类的全限定名：同包下，嵌套接口的 {@code $} 替换为 {@code _}
+     *
+     * @param binaryName 服务接口的二进制名（{@link Class#getName()}）
+     */
+    public static String stubClassName(String binaryName) {
+        int lastDot = binaryName.lastIndexOf('.');
+        String packagePrefix = lastDot >= 0 ? binaryName.substring(0, lastDot + 1) : "";
+        String simpleName = binaryName.substring(lastDot + 1).replace('$', '_');
+        return packagePrefix + simpleName + STUB_SUFFIX;
+    }
+
+    /**
+     * 动态代理回退：按方法缓存描述符
+     */
+    private static final class DescriptorInvocationHandler implements InvocationHandler {
+
+        private final Class<?> serviceClass;
+        private final RpcStubInvoker invoker;
+        private final ConcurrentHashMap<Method, RpcMethodDescriptor> descriptors = new ConcurrentHashMap<>();
+        private final AtomicInteger nextMethodId = new AtomicInteger();
+
+        private DescriptorInvocationHandler(Class<?> serviceClass, RpcStubInvoker invoker) {
+            this.serviceClass = serviceClass;
+            this.invoker = invoker;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                // 代理自身的 Object 方法按身份语义处理，不转发给远程调用
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> serviceClass.getName() + "$Proxy@"
+                            + Integer.toHexString(System.identityHashCode(proxy));
+                    default -> method.invoke(this, args);
+                };
+            }
+            RpcMethodDescriptor descriptor = descriptors.get(method);
+            if (descriptor == null) {
+                descriptor = descriptors.computeIfAbsent(method,
+                        m -> RpcMethodDescriptor.of(serviceClass, nextMethodId.getAndIncrement(), m));
+            }
+            return invoker.invoke(descriptor, args != null ? args : RpcStubInvoker.NO_ARGS);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.nebula.rpc.core.discovery;
+
+import io.nebula.discovery.core.ConsistentHashLoadBalancer;
+import io.nebula.discovery.core.LoadBalanceContext;
+import io.nebula.discovery.core.LoadBalancer;
+import io.nebula.discovery.core.ServiceDiscovery;
+import io.nebula.discovery.core.ServiceInstance;
+import io.nebula.rpc.core.client.RpcClient;
+import io.nebula.rpc.core.context.RpcContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ServiceDiscoveryRpcClient 单元测试
+ */
+class ServiceDiscoveryRpcClientTest {
+
+    private final ServiceDiscovery serviceDiscovery = mock(ServiceDiscovery.class);
+    private final List<ServiceInstance> instances = instances(8);
+
+    @AfterEach
+    void tearDown() {
+        RpcContext.clear();
+    }
+
+    @Test
+    void testHashKeyFromRpcContextIsPassedToLoadBalancer() throws Exception {
+        when(serviceDiscovery.getInstances("order-service", true)).thenReturn(instances);
+        LoadBalancer loadBalancer = mock(LoadBalancer.class);
+        when(loadBalancer.choose(eqList(), any(LoadBalanceContext.class))).thenReturn(instances.get(2));
+        ServiceDiscoveryRpcClient client = client(loadBalancer);
+
+        RpcContext.set(ServiceDiscoveryRpcClient.DEFAULT_HASH_KEY_NAME, "user:10086");
+        assertThat(client.getServiceAddress("order-service")).isEqualTo(instances.get(2).getAddress());
+
+        ArgumentCaptor<LoadBalanceContext> context = ArgumentCaptor.forClass(LoadBalanceContext.class);
+        verify(loadBalancer).choose(eqList(), context.capture());
+        assertThat(context.getValue().getRequestId()).isEqualTo("user:10086");
+        verify(loadBalancer, never()).choose(eqList());
+        verify(loadBalancer).completeCall(instances.get(2));
+    }
+
+    @Test
+    void testWithoutHashKeyChoosesWithoutContext() throws Exception {
+        when(serviceDiscovery.getInstances("order-service", true)).thenReturn(instances);
+        LoadBalancer loadBalancer = mock(LoadBalancer.class);
+        when(loadBalancer.choose(eqList())).thenReturn(instances.get(0));
+        ServiceDiscoveryRpcClient client = client(loadBalancer);
+
+        // 其他元数据名不作为路由键
+        RpcContext.set("X-Trace-Id", "trace-1");
+        assertThat(client.getServiceAddress("order-service")).isEqualTo(instances.get(0).getAddress());
+
+        verify(loadBalancer, never()).choose(eqList(), any(LoadBalanceContext.class));
+    }
+
+    @Test
+    void testSameHashKeyRoutesToSameInstance() throws Exception {
+        when(serviceDiscovery.getInstances("order-service", true)).thenReturn(instances);
+        ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+        ServiceDiscoveryRpcClient client = client(loadBalancer);
+        client.setHashKeyName("X-User-Id");
+
+        for (int i = 0; i < 100; i++) {
+            String key = "user:" + i;
+            RpcContext.set("X-User-Id", key);
+            String expected = loadBalancer.choose(instances, key).getAddress();
+            assertThat(client.getServiceAddress("order-service")).isEqualTo(expected);
+            assertThat(client.getServiceAddress("order-service")).isEqualTo(expected);
+        }
+    }
+
+    private ServiceDiscoveryRpcClient client(LoadBalancer loadBalancer) {
+        return new ServiceDiscoveryRpcClient(serviceDiscovery, loadBalancer, mock(RpcClient.class), null);
+    }
+
+    private List<ServiceInstance> eqList() {
+        return same(instances);
+    }
+
+    private static List<ServiceInstance> instances(int count) {
+        List<ServiceInstance> instances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instances.add(ServiceInstance.builder()
+                    .serviceName("order-service")
+                    .instanceId("order-" + i)
+                    .ip("10.0.0." + (i + 1))
+                    .port(8080)
+                    .weight(1.0)
+                    .healthy(true)
+                    .enabled(true)
+                    .build());
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,186 @@
+package io.nebula.rpc.core.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * RpcLatencyMetrics 单元测试
+ */
+class RpcLatencyMetricsTest {
+
+    private static final String SERVICE = "io.nebula.demo.OrderService";
+
+    @Test
+    void testDisabledOrZeroRateNeverSamples() {
+        RpcLatencyMetrics zeroRate = new RpcLatencyMetrics(true, 0, 60_000, 2);
+
+        assertThat(zeroRate.isEnabled()).isFalse();
+        assertThat(zeroRate.beginCall()).isSameAs(RpcTimings.none());
+        assertThat(zeroRate.beginServer(Map.of(RpcTimings.SAMPLED_KEY, "1"))).isSameAs(RpcTimings.none());
+        assertThat(RpcLatencyMetrics.DISABLED.beginCall().isSampled()).isFalse();
+    }
+
+    @Test
+    void testSampleRateControlsFractionOfRecordedCalls() {
+        RpcLatencyMetrics metrics = new RpcLatencyMetrics(true, 0.2, 60_000, 2);
+        int calls = 20_000;
+        int sampled = 0;
+        for (int i = 0; i < calls; i++) {
+            RpcTimings timings = metrics.beginCall();
+            if (timings.isSampled()) {
+                sampled++;
+            } else {
+                // 未采样的调用不读取时钟
+                assertThat(timings.mark()).isZero();
+            }
+            metrics.endCall(timings, SERVICE, "create");
+        }
+
+        assertThat((double) sampled / calls).isBetween(0.17, 0.23);
+        assertThat(totalCount(metrics.getClientStats(), RpcPhase.TOTAL)).isEqualTo(sampled);
+    }
+
+    @Test
+    void testPhasesRecordedOnlyByOutermostCall() throws Exception {
+        RpcLatencyMetrics metrics = new RpcLatencyMetrics(true, 1.0, 60_000, 2);
+
+        RpcTimings outer = metrics.beginCall();
+        long mark = outer.mark();
+        Thread.sleep(2);
+        outer.record(RpcPhase.SERIALIZATION, mark);
+
+        // 嵌套的委托客户端在同一实例上追加阶段，不单独记录
+        RpcTimings inner = metrics.beginCall();
+        assertThat(inner).isSameAs(outer);
+        inner.add(RpcPhase.SERIALIZATION, 1_000_000);
+        inner.add(RpcPhase.DESERIALIZATION, 500_000);
+        metrics.endCall(inner, SERVICE, "inner");
+        assertThat(metrics.getClientStats()).isEmpty();
+
+        metrics.endCall(outer, SERVICE, "create");
+
+        List<RpcLatencyMetrics.MethodLatencyStats> stats = metrics.getClientStats();
+        assertThat(stats).singleElement().satisfies(method -> {
+            assertThat(method.serviceName()).isEqualTo(SERVICE);
+            assertThat(method.methodName()).isEqualTo("create");
+            assertThat(method.phases()).containsOnlyKeys(
+                    RpcPhase.SERIALIZATION, RpcPhase.DESERIALIZATION, RpcPhase.TOTAL);
+            // 两次序列化耗时累加：至少 2ms + 1ms
+            assertThat(method.phases().get(RpcPhase.SERIALIZATION).max()).isGreaterThanOrEqualTo(3_000);
+            assertThat(method.phases().get(RpcPhase.DESERIALIZATION).max()).isBetween(490L, 510L);
+        });
+        Histogram total = metrics.getClientHistogram(SERVICE, "create", RpcPhase.TOTAL);
+        assertThat(total.getTotalCount()).isEqualTo(1);
+        assertThat(metrics.getClientHistogram(SERVICE, "create", RpcPhase.NETWORK)).isNull();
+    }
+
+    @Test
+    void testServerPhasesRoundTripToClient() {
+        RpcLatencyMetrics client = new RpcLatencyMetrics(true, 1.0, 60_000, 2);
+        RpcLatencyMetrics server = new RpcLatencyMetrics(true, 1.0, 60_000, 2);
+
+        RpcTimings clientTimings = client.beginCall();
+        Map<String, String> requestMetadata = Map.of(RpcTimings.SAMPLED_KEY, "1");
+
+        RpcTimings serverTimings = server.beginServer(requestMetadata);
+        assertThat(serverTimings).isNotSameAs(clientTimings);
+        serverTimings.add(RpcPhase.SERVER_DISPATCH, 100_000);
+        serverTimings.add(RpcPhase.INVOCATION, 3_000_000);
+        // 客户端阶段不会回传
+        serverTimings.add(RpcPhase.SERIALIZATION, 7_000_000);
+        String encoded = server.endServer(serverTimings, requestMetadata, SERVICE, "create");
+
+        assertThat(encoded).contains("server_dispatch=100000", "invocation=3000000", "server_total=")
+                .doesNotContain("serialization=7000000");
+        assertThat(server.getServerHistogram(SERVICE, "create", RpcPhase.INVOCATION).getMaxValue())
+                .isBetween(2_980L, 3_020L);
+
+        long serverTotal = serverTimings.get(RpcPhase.SERVER_TOTAL);
+        Map<String, String> responseMetadata = new HashMap<>();
+        responseMetadata.put(RpcTimings.TIMINGS_KEY, encoded);
+        clientTimings.mergeServer(responseMetadata, serverTotal + 2_000_000);
+        client.endCall(clientTimings, SERVICE, "create");
+
+        assertThat(clientTimings.get(RpcPhase.INVOCATION)).isEqualTo(3_000_000);
+        assertThat(clientTimings.get(RpcPhase.SERVER_TOTAL)).isEqualTo(serverTotal);
+        // 网络耗时 = 往返时间 - 服务端总耗时
+        assertThat(clientTimings.get(RpcPhase.NETWORK)).isEqualTo(2_000_000);
+        assertThat(client.getClientHistogram(SERVICE, "create", RpcPhase.INVOCATION)).isNotNull();
+    }
+
+    @Test
+    void testServerDoesNotEncodeWhenClientDidNotSample() {
+        RpcLatencyMetrics server = new RpcLatencyMetrics(true, 1.0, 60_000, 2);
+
+        RpcTimings timings = server.beginServer(Map.of());
+        timings.add(RpcPhase.INVOCATION, 1_000);
+
+        assertThat(server.endServer(timings, Map.of(), SERVICE, "create")).isNull();
+        // 本地采样命中时仍记录服务端直方图
+        assertThat(server.getServerStats()).hasSize(1);
+    }
+
+    @Test
+    void testMalformedServerTimingsIgnored() {
+        RpcLatencyMetrics client = new RpcLatencyMetrics(true, 1.0, 60_000, 2);
+        RpcTimings timings = client.beginCall();
+
+        timings.mergeServer(Map.of(RpcTimings.TIMINGS_KEY, "invocation=abc,unknown=5,=3,server_dispatch=10"),
+                1_000_000);
+        client.endCall(timings, SERVICE, "create");
+
+        assertThat(timings.get(RpcPhase.INVOCATION)).isEqualTo(-1);
+        assertThat(timings.get(RpcPhase.SERVER_DISPATCH)).isEqualTo(10);
+        // 没有服务端总耗时时整个往返计为网络耗时
+        assertThat(timings.get(RpcPhase.NETWORK)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void testMethodCountCappedWithOverflowBucket() {
+        RpcLatencyMetrics metrics = new RpcLatencyMetrics(true, 1.0, 60_000, 2, 3);
+        Map<String, String> metadata = Map.of();
+
+        // 服务端的服务名/方法名来自请求，任意名称不能让直方图无限增长
+        for (int i = 0; i < 50; i++) {
+            RpcTimings timings = metrics.beginServer(metadata);
+            metrics.endServer(timings, metadata, SERVICE, "method-" + i);
+        }
+        RpcTimings again = metrics.beginServer(metadata);
+        metrics.endServer(again, metadata, SERVICE, "method-0");
+
+        List<RpcLatencyMetrics.MethodLatencyStats> stats = metrics.getServerStats();
+        assertThat(stats).hasSize(4);
+        assertThat(stats).filteredOn(s -> s.methodName().equals("method-0")).singleElement()
+                .satisfies(s -> assertThat(s.phases().get(RpcPhase.SERVER_TOTAL).count()).isEqualTo(2));
+        assertThat(metrics.getServerHistogram(RpcLatencyMetrics.OVERFLOW_NAME, RpcLatencyMetrics.OVERFLOW_NAME,
+                RpcPhase.SERVER_TOTAL).getTotalCount()).isEqualTo(47);
+        assertThat(totalCount(stats, RpcPhase.SERVER_TOTAL)).isEqualTo(51);
+
+        // 客户端与服务端分别计数
+        RpcTimings clientTimings = metrics.beginCall();
+        metrics.endCall(clientTimings, SERVICE, "client-only");
+        assertThat(metrics.getClientStats()).singleElement()
+                .satisfies(s -> assertThat(s.methodName()).isEqualTo("client-only"));
+
+        metrics.reset();
+        RpcTimings afterReset = metrics.beginServer(metadata);
+        metrics.endServer(afterReset, metadata, SERVICE, "method-49");
+        assertThat(metrics.getServerStats()).singleElement()
+                .satisfies(s -> assertThat(s.methodName()).isEqualTo("method-49"));
+    }
+
+    private static long totalCount(List<RpcLatencyMetrics.MethodLatencyStats> stats, RpcPhase phase) {
+        return stats.stream()
+                .map(s -> s.phases().get(phase))
+                .filter(Objects::nonNull)
+                .mapToLong(RpcLatencyMetrics.PhaseStats::count)
+                .sum();
+    }
+}
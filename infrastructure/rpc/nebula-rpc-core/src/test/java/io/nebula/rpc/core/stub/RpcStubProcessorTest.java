@@ -0,0 +1,239 @@
+package io.nebula.rpc.core.stub;
+
+import io.nebula.rpc.core.annotation.RpcClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * RpcStubProcessor 单元测试
+ *
+ * <p>用 javax.tools 编译标注了 {@code @RpcClient} 的接口，检查生成的桩类源码，
+ * 并加载编译结果验证 {@link RpcStubs} 使用桩类而不是动态代理
+ */
+class RpcStubProcessorTest {
+
+    private static final String ORDER_SERVICE = """
+            package demo;
+
+            import io.nebula.rpc.core.annotation.RpcClient;
+            import java.util.List;
+
+            @RpcClient("order-service")
+            public interface OrderService {
+
+                String find(long id);
+
+                int count();
+
+                void cancel(String id, String... reasons);
+
+                <T extends Number> List<T> amounts(Class<T> type, List<? extends CharSequence> ids);
+
+                interface Admin {
+                    boolean purge(int[] ids);
+                }
+            }
+            """;
+
+    private static final String NESTED_CLIENT = """
+            package demo;
+
+            import io.nebula.rpc.core.annotation.RpcClient;
+
+            public class Clients {
+
+                @RpcClient("inventory-service")
+                public interface Inventory {
+                    long stock(String sku);
+                }
+            }
+            """;
+
+    private static final String GENERIC_CLIENT = """
+            package demo;
+
+            import io.nebula.rpc.core.annotation.RpcClient;
+
+            @RpcClient("repository-service")
+            public interface Repository<T> {
+                T load(String id);
+            }
+            """;
+
+    private static final Pattern TYPE_NAME = Pattern.compile("public (?:interface|class) (\\w+)");
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void testGeneratesStubSourceForAnnotatedInterface() throws Exception {
+        Compilation compilation = compile(ORDER_SERVICE);
+
+        assertThat(compilation.errors()).isEmpty();
+        String source = compilation.generatedSource("demo/OrderService_NebulaRpcStub.java");
+        assertThat(source)
+                .contains("package demo;")
+                .contains("@javax.annotation.processing.Generated(\"" + RpcStubProcessor.class.getName() + "\")")
+                .contains("public final class OrderService_NebulaRpcStub implements demo.OrderService")
+                .contains("public OrderService_NebulaRpcStub(RpcStubInvoker invoker)")
+                .containsPattern("RpcMethodDescriptor\\.of\\(demo\\.OrderService\\.class, \\d, \"find\", long\\.class\\)")
+                .containsPattern("RpcMethodDescriptor\\.of\\(demo\\.OrderService\\.class, \\d, \"count\"\\)")
+                .containsPattern("\"cancel\", java\\.lang\\.String\\.class, java\\.lang\\.String\\[\\]\\.class\\)")
+                .containsPattern("\"amounts\", java\\.lang\\.Class\\.class, java\\.util\\.List\\.class\\)")
+                .contains("public void cancel(java.lang.String arg0, java.lang.String... arg1)")
+                .contains("public <T extends java.lang.Number> java.util.List<T> amounts("
+                        + "java.lang.Class<T> arg0, java.util.List<? extends java.lang.CharSequence> arg1)")
+                .contains("return (java.lang.Integer) invoker.invoke(")
+                .contains("RpcStubInvoker.NO_ARGS");
+        // 未标注的嵌套接口不生成桩类
+        assertThat(compilation.generatedFiles()).containsExactly("demo/OrderService_NebulaRpcStub.java");
+    }
+
+    @Test
+    void testGeneratedStubIsUsedByRpcStubs() throws Exception {
+        Compilation compilation = compile(ORDER_SERVICE, NESTED_CLIENT);
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.generatedFiles()).contains("demo/Clients_Inventory_NebulaRpcStub.java");
+
+        try (URLClassLoader loader = compilation.classLoader()) {
+            Class<?> serviceClass = loader.loadClass("demo.OrderService");
+            List<RpcMethodDescriptor> calls = new ArrayList<>();
+            List<Object[]> arguments = new ArrayList<>();
+            Object stub = RpcStubs.create(serviceClass, (descriptor, args) -> {
+                calls.add(descriptor);
+                arguments.add(args);
+                return switch (descriptor.getMethodName()) {
+                    case "find" -> "order-" + args[0];
+                    case "count" -> 3;
+                    default -> null;
+                };
+            });
+
+            assertThat(Proxy.isProxyClass(stub.getClass())).isFalse();
+            assertThat(stub.getClass().getName()).isEqualTo("demo.OrderService_NebulaRpcStub");
+            assertThat(serviceClass.getMethod("find", long.class).invoke(stub, 7L)).isEqualTo("order-7");
+            assertThat(serviceClass.getMethod("count").invoke(stub)).isEqualTo(3);
+            serviceClass.getMethod("cancel", String.class, String[].class)
+                    .invoke(stub, "o-1", new String[]{"late", "duplicate"});
+
+            assertThat(calls).extracting(RpcMethodDescriptor::getMethodName).containsExactly("find", "count", "cancel");
+            assertThat(calls.get(0).getParameterTypes()).containsExactly(long.class);
+            assertThat(calls.get(0).getServiceClass()).isSameAs(serviceClass);
+            assertThat(arguments.get(1)).isSameAs(RpcStubInvoker.NO_ARGS);
+            assertThat(arguments.get(2)[1]).isEqualTo(new String[]{"late", "duplicate"});
+            // 描述符是桩类的静态常量，重复调用得到同一个实例
+            serviceClass.getMethod("count").invoke(stub);
+            assertThat(calls.get(3)).isSameAs(calls.get(1));
+
+            // 嵌套接口的桩类名中 $ 替换为 _
+            Class<?> nested = loader.loadClass("demo.Clients$Inventory");
+            Object inventory = RpcStubs.create(nested, (descriptor, args) -> 42L);
+            assertThat(inventory.getClass().getName()).isEqualTo("demo.Clients_Inventory_NebulaRpcStub");
+            assertThat(nested.getMethod("stock", String.class).invoke(inventory, "sku-1")).isEqualTo(42L);
+        }
+    }
+
+    @Test
+    void testGenericInterfaceFallsBackToProxy() throws Exception {
+        Compilation compilation = compile(GENERIC_CLIENT);
+
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.generatedFiles()).isEmpty();
+        assertThat(compilation.notes()).anySatisfy(note -> assertThat(note).contains("demo.Repository"));
+
+        try (URLClassLoader loader = compilation.classLoader()) {
+            Class<?> serviceClass = loader.loadClass("demo.Repository");
+            Object client = RpcStubs.create(serviceClass, (descriptor, args) -> "loaded-" + args[0]);
+            assertThat(Proxy.isProxyClass(client.getClass())).isTrue();
+            assertThat(serviceClass.getMethod("load", String.class).invoke(client, "r-1")).isEqualTo("loaded-r-1");
+        }
+    }
+
+    private Compilation compile(String... sources) throws IOException {
+        Path sourceDir = Files.createDirectories(workDir.resolve("src"));
+        Path generatedDir = Files.createDirectories(workDir.resolve("generated"));
+        Path classesDir = Files.createDirectories(workDir.resolve("classes"));
+        List<Path> files = new ArrayList<>();
+        for (String source : sources) {
+            Matcher matcher = TYPE_NAME.matcher(source);
+            assertThat(matcher.find()).isTrue();
+            String name = matcher.group(1);
+            Path file = sourceDir.resolve("demo").resolve(name + ".java");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source, StandardCharsets.UTF_8);
+            files.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT,
+                StandardCharsets.UTF_8)) {
+            // 生成的桩类只依赖 nebula-rpc-core 自身的类
+            String classpath = Path.of(RpcClient.class.getProtectionDomain().getCodeSource().getLocation().getPath())
+                    .toString();
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-classpath", classpath, "-d", classesDir.toString(), "-s", generatedDir.toString()),
+                    null, fileManager.getJavaFileObjectsFromPaths(files));
+            task.setProcessors(List.of(new RpcStubProcessor()));
+            task.call();
+        }
+        return new Compilation(diagnostics.getDiagnostics(), generatedDir, classesDir);
+    }
+
+    private record Compilation(List<Diagnostic<? extends JavaFileObject>> diagnostics, Path generatedDir,
+                               Path classesDir) {
+
+        List<String> errors() {
+            return messages(Diagnostic.Kind.ERROR);
+        }
+
+        List<String> notes() {
+            return messages(Diagnostic.Kind.NOTE);
+        }
+
+        List<String> messages(Diagnostic.Kind kind) {
+            return diagnostics.stream()
+                    .filter(diagnostic -> diagnostic.getKind() == kind)
+                    .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                    .toList();
+        }
+
+        List<String> generatedFiles() throws IOException {
+            try (var paths = Files.walk(generatedDir)) {
+                return paths.filter(Files::isRegularFile)
+                        .map(path -> generatedDir.relativize(path).toString().replace('\\', '/'))
+                        .sorted()
+                        .toList();
+            }
+        }
+
+        String generatedSource(String relativePath) throws IOException {
+            return Files.readString(generatedDir.resolve(relativePath), StandardCharsets.UTF_8);
+        }
+
+        URLClassLoader classLoader() throws IOException {
+            return new URLClassLoader(new java.net.URL[]{classesDir.toUri().toURL()},
+                    RpcStubProcessorTest.class.getClassLoader());
+        }
+    }
+}
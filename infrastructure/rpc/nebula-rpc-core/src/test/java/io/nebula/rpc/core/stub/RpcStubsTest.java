@@ -0,0 +1,146 @@
+package io.nebula.rpc.core.stub;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * RpcStubs 单元测试
+ *
+ * <p>桩类按命名规则查找；找到时直接实例化，未生成、未实现接口或无法实例化时回退为动态代理
+ */
+class RpcStubsTest {
+
+    @Test
+    void testStubClassName() {
+        assertThat(RpcStubs.stubClassName("io.nebula.demo.OrderService"))
+                .isEqualTo("io.nebula.demo.OrderService_NebulaRpcStub");
+        assertThat(RpcStubs.stubClassName("io.nebula.demo.Clients$Inventory"))
+                .isEqualTo("io.nebula.demo.Clients_Inventory_NebulaRpcStub");
+        assertThat(RpcStubs.stubClassName("OrderService")).isEqualTo("OrderService_NebulaRpcStub");
+    }
+
+    @Test
+    void testCreateUsesStubWhenPresent() {
+        RpcStubInvoker invoker = (descriptor, args) -> "stub";
+
+        Greeting greeting = RpcStubs.create(Greeting.class, invoker);
+
+        assertThat(greeting).isInstanceOf(RpcStubsTest_Greeting_NebulaRpcStub.class);
+        assertThat(((RpcStubsTest_Greeting_NebulaRpcStub) greeting).invoker).isSameAs(invoker);
+        assertThat(RpcStubs.createStub(Greeting.class, invoker)).isNotNull();
+    }
+
+    @Test
+    void testFallsBackToProxyWhenStubMissing() {
+        List<RpcMethodDescriptor> calls = new ArrayList<>();
+        List<Object[]> arguments = new ArrayList<>();
+
+        Calculator calculator = RpcStubs.create(Calculator.class, (descriptor, args) -> {
+            calls.add(descriptor);
+            arguments.add(args);
+            if (descriptor.getMethodName().equals("add")) {
+                return (int) args[0] + (int) args[1];
+            }
+            return 0L;
+        });
+
+        assertThat(RpcStubs.createStub(Calculator.class, (descriptor, args) -> null)).isNull();
+        assertThat(Proxy.isProxyClass(calculator.getClass())).isTrue();
+        assertThat(calculator.add(1, 2)).isEqualTo(3);
+        assertThat(calculator.add(3, 4)).isEqualTo(7);
+        assertThat(calculator.version()).isZero();
+
+        // 描述符按方法缓存，同一方法的多次调用共享描述符
+        assertThat(calls.get(1)).isSameAs(calls.get(0));
+        assertThat(calls.get(0).getParameterTypes()).containsExactly(int.class, int.class);
+        assertThat(calls.get(2).getMethodId()).isNotEqualTo(calls.get(0).getMethodId());
+        assertThat(arguments.get(2)).isSameAs(RpcStubInvoker.NO_ARGS);
+
+        // Object 方法不经过远程调用
+        assertThat(calculator.equals(calculator)).isTrue();
+        assertThat(calculator.equals(RpcStubs.create(Calculator.class, (descriptor, args) -> null))).isFalse();
+        assertThat(calculator.hashCode()).isEqualTo(System.identityHashCode(calculator));
+        assertThat(calculator.toString()).startsWith(Calculator.class.getName());
+        assertThat(calls).hasSize(3);
+    }
+
+    @Test
+    void testFallsBackToProxyWhenStubDoesNotImplementInterface() {
+        Mismatched client = RpcStubs.create(Mismatched.class, (descriptor, args) -> "proxy");
+
+        assertThat(RpcStubs.createStub(Mismatched.class, (descriptor, args) -> null)).isNull();
+        assertThat(Proxy.isProxyClass(client.getClass())).isTrue();
+        assertThat(client.name()).isEqualTo("proxy");
+    }
+
+    @Test
+    void testFallsBackToProxyWhenStubCannotBeInstantiated() {
+        Broken client = RpcStubs.create(Broken.class, (descriptor, args) -> "proxy");
+
+        assertThat(Proxy.isProxyClass(client.getClass())).isTrue();
+        assertThat(client.name()).isEqualTo("proxy");
+    }
+
+    interface Greeting {
+        String hello(String name);
+    }
+
+    interface Calculator {
+        int add(int a, int b);
+
+        long version();
+    }
+
+    interface Mismatched {
+        String name();
+    }
+
+    interface Broken {
+        String name();
+    }
+}
+
+/**
+ * 模拟生成的桩类
+ */
+final class RpcStubsTest_Greeting_NebulaRpcStub implements RpcStubsTest.Greeting {
+
+    private static final RpcMethodDescriptor M0 =
+            RpcMethodDescriptor.of(RpcStubsTest.Greeting.class, 0, "hello", String.class);
+
+    final RpcStubInvoker invoker;
+
+    public RpcStubsTest_Greeting_NebulaRpcStub(RpcStubInvoker invoker) {
+        this.invoker = invoker;
+    }
+
+    @Override
+    public String hello(String name) {
+        return (String) invoker.invoke(M0, new Object[]{name});
+    }
+}
+
+/**
+ * 名称符合规则但未实现服务接口
+ */
+final class RpcStubsTest_Mismatched_NebulaRpcStub {
+
+    public RpcStubsTest_Mismatched_NebulaRpcStub(RpcStubInvoker invoker) {
+    }
+}
+
+/**
+ * 实现了服务接口但缺少 {@code (RpcStubInvoker)} 构造器
+ */
+final class RpcStubsTest_Broken_NebulaRpcStub implements RpcStubsTest.Broken {
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+}
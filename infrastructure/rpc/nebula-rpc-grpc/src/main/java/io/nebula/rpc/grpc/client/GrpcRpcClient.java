@@ -1,6 +1,7 @@
 package io.nebula.rpc.grpc.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
@@ -11,12 +12,17 @@ import io.nebula.rpc.core.context.RpcContext;
 import io.nebula.rpc.grpc.proto.GenericRpcServiceGrpc;
 import io.nebula.rpc.grpc.proto.RpcRequest;
 import io.nebula.rpc.grpc.proto.RpcResponse;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
+import io.nebula.rpc.core.metrics.RpcPhase;
+import io.nebula.rpc.core.metrics.RpcTimings;
+import io.nebula.rpc.core.stub.RpcMethodDescriptor;
+import io.nebula.rpc.core.stub.RpcStubs;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 /**
  * gRPC RPC 客户端
@@ -34,6 +40,13 @@ public class GrpcRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
     private GenericRpcServiceGrpc.GenericRpcServiceBlockingStub blockingStub;
     private String target;
 
+    /**
+     * 方法描述符 -> 结果读取器（描述符按对象身份比较，查找无需分配）
+     */
+    private final ConcurrentHashMap<RpcMethodDescriptor, ObjectReader> resultReaders = new ConcurrentHashMap<>();
+
+    private volatile RpcLatencyMetrics latencyMetrics = RpcLatencyMetrics.DISABLED;
+
     public GrpcRpcClient(ObjectMapper objectMapper, GrpcRpcProperties.ClientConfig clientConfig) {
         this.objectMapper = objectMapper;
         this.clientConfig = clientConfig;
@@ -147,46 +160,50 @@ public class GrpcRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T createProxy(Class<T> serviceClass) {
-        return (T) Proxy.newProxyInstance(
-                serviceClass.getClassLoader(),
-                new Class<?>[]{serviceClass},
-                (proxy, method, methodArgs) -> {
-                    // 对于Object类的方法，直接调用
-                    if (method.getDeclaringClass() == Object.class) {
-                        return method.invoke(this, methodArgs);
-                    }
+        return RpcStubs.create(serviceClass, this::invoke);
+    }
 
-                    // 执行 gRPC RPC 调用
-                    // callInternal 已经使用 method.getGenericReturnType() 进行了正确的反序列化
-                    // 直接返回结果，不需要再次转换（避免泛型信息丢失）
-                    return callInternal(serviceClass, method, methodArgs);
-                }
-        );
+    /**
+     * 按方法描述符调用：参数类型名与结果读取器均已预先解析
+     */
+    @Override
+    public Object invoke(RpcMethodDescriptor descriptor, Object[] args) {
+        RpcTimings timings = latencyMetrics.beginCall();
+        try {
+            return callInternal(descriptor, args, timings);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("gRPC RPC调用失败: " + e.getMessage(), e);
+        } finally {
+            latencyMetrics.endCall(timings, descriptor.getServiceClass().getName(), descriptor.getMethodName());
+        }
     }
 
     /**
      * 内部调用方法(支持返回类型推断)
      */
-    private Object callInternal(Class<?> serviceClass, Method method, Object[] args) throws Exception {
+    private Object callInternal(RpcMethodDescriptor descriptor, Object[] args, RpcTimings timings) throws Exception {
         String requestId = UUID.randomUUID().toString();
+        String serviceName = descriptor.getServiceClass().getName();
         
         log.debug("执行 gRPC RPC 调用: requestId={}, service={}, method={}", 
-                requestId, serviceClass.getName(), method.getName());
+                requestId, serviceName, descriptor.getMethodName());
 
         // 构建请求
         RpcRequest.Builder requestBuilder = RpcRequest.newBuilder()
                 .setRequestId(requestId)
-                .setServiceName(serviceClass.getName())
-                .setMethodName(method.getName())
+                .setServiceName(serviceName)
+                .setMethodName(descriptor.getMethodName())
                 .setTimestamp(System.currentTimeMillis());
 
         // 添加参数类型和参数值
-        Class<?>[] parameterTypes = method.getParameterTypes();
+        long mark = timings.mark();
+        String[] parameterTypeNames = descriptor.getParameterTypeNames();
         if (args != null && args.length > 0) {
             for (int i = 0; i < args.length; i++) {
-                requestBuilder.addParameterTypes(parameterTypes[i].getName());
+                requestBuilder.addParameterTypes(parameterTypeNames[i]);
                 if (args[i] != null) {
                     requestBuilder.addParameters(objectMapper.writeValueAsString(args[i]));
                 } else {
@@ -197,9 +214,19 @@ public class GrpcRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
         
         // 添加 RpcContext 中的 metadata（如用户信息）
         requestBuilder.putAllMetadata(RpcContext.getAll());
+        if (timings.isSampled()) {
+            // 通知服务端回传分阶段耗时
+            requestBuilder.putMetadata(RpcTimings.SAMPLED_KEY, "1");
+        }
+        RpcRequest request = requestBuilder.build();
+        timings.record(RpcPhase.SERIALIZATION, mark);
 
         // 执行调用
-        RpcResponse response = executeWithRetry(requestBuilder.build());
+        mark = timings.mark();
+        RpcResponse response = executeWithRetry(request);
+        if (timings.isSampled()) {
+            timings.mergeServer(response.getMetadataMap(), System.nanoTime() - mark);
+        }
 
         // 处理响应
         if (!response.getSuccess()) {
@@ -214,9 +241,13 @@ public class GrpcRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
             return null;
         }
 
-        // 使用泛型返回类型以支持 List<T>、Map<K,V> 等泛型类型
-        return objectMapper.readValue(resultJson, 
-                objectMapper.constructType(method.getGenericReturnType()));
+        // 使用泛型返回类型以支持 List<T>、Map<K,V> 等泛型类型，读取器按方法缓存
+        mark = timings.mark();
+        ObjectReader reader = resultReaders.computeIfAbsent(descriptor,
+                d -> objectMapper.readerFor(objectMapper.constructType(d.getGenericReturnType())));
+        Object result = reader.readValue(resultJson);
+        timings.record(RpcPhase.DESERIALIZATION, mark);
+        return result;
     }
 
     /**
@@ -248,6 +279,13 @@ public class GrpcRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
         throw new RuntimeException("gRPC RPC调用失败，已重试 " + retryCount + " 次", lastException);
     }
 
+    /**
+     * 设置分阶段延迟统计
+     */
+    public void setLatencyMetrics(RpcLatencyMetrics latencyMetrics) {
+        this.latencyMetrics = latencyMetrics != null ? latencyMetrics : RpcLatencyMetrics.DISABLED;
+    }
+
     @Override
     public String getServiceAddress(String serviceName) {
         return target;
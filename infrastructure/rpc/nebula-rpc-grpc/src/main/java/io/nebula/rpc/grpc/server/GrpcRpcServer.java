@@ -6,6 +6,9 @@ import io.nebula.rpc.core.annotation.RpcClient;
 import io.nebula.rpc.core.annotation.RemoteService;
 import io.nebula.rpc.core.annotation.RpcService;
 import io.nebula.rpc.core.context.RpcContext;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
+import io.nebula.rpc.core.metrics.RpcPhase;
+import io.nebula.rpc.core.metrics.RpcTimings;
 import io.nebula.rpc.grpc.proto.GenericRpcServiceGrpc;
 import io.nebula.rpc.grpc.proto.RpcRequest;
 import io.nebula.rpc.grpc.proto.RpcResponse;
@@ -37,11 +40,19 @@ public class GrpcRpcServer extends GenericRpcServiceGrpc.GenericRpcServiceImplBa
     private ApplicationContext applicationContext;
     private final ObjectMapper objectMapper;
     private final Map<String, Object> serviceRegistry = new ConcurrentHashMap<>();
+    private volatile RpcLatencyMetrics latencyMetrics = RpcLatencyMetrics.DISABLED;
 
     public GrpcRpcServer(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * 设置分阶段延迟统计
+     */
+    public void setLatencyMetrics(RpcLatencyMetrics latencyMetrics) {
+        this.latencyMetrics = latencyMetrics != null ? latencyMetrics : RpcLatencyMetrics.DISABLED;
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
@@ -125,6 +136,7 @@ public class GrpcRpcServer extends GenericRpcServiceGrpc.GenericRpcServiceImplBa
                 .setRequestId(requestId)
                 .setTimestamp(System.currentTimeMillis());
 
+        RpcTimings timings = latencyMetrics.beginServer(request.getMetadataMap());
         try {
             // 将请求中的 metadata 设置到 RpcContext，供业务层使用
             RpcContext.setAll(request.getMetadataMap());
@@ -147,17 +159,28 @@ public class GrpcRpcServer extends GenericRpcServiceGrpc.GenericRpcServiceImplBa
 
             // 解析参数值（使用方法的泛型参数类型以支持 List<Long> 等泛型类型）
             Object[] parameters = parseParametersWithGenericTypes(request.getParametersList(), method.getGenericParameterTypes());
+            timings.record(RpcPhase.SERVER_DISPATCH, timings.startMark());
 
             // 执行方法
+            long mark = timings.mark();
             Object result = method.invoke(serviceInstance, parameters);
+            timings.record(RpcPhase.INVOCATION, mark);
 
             // 序列化结果
+            mark = timings.mark();
             String resultJson = objectMapper.writeValueAsString(result);
+            timings.record(RpcPhase.SERVER_SERIALIZATION, mark);
 
             responseBuilder
                     .setSuccess(true)
                     .setResult(resultJson);
 
+            String encodedTimings = latencyMetrics.endServer(timings, request.getMetadataMap(),
+                    request.getServiceName(), request.getMethodName());
+            if (encodedTimings != null) {
+                responseBuilder.putMetadata(RpcTimings.TIMINGS_KEY, encodedTimings);
+            }
+
             log.debug("gRPC RPC 调用成功: requestId={}, service={}, method={}", 
                     requestId, request.getServiceName(), request.getMethodName());
 
@@ -6,13 +6,19 @@ import io.nebula.rpc.core.client.RpcClient;
 import io.nebula.rpc.core.discovery.ServiceDiscoveryRpcClient;
 import io.nebula.rpc.core.message.RpcRequest;
 import io.nebula.rpc.core.message.RpcResponse;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
+import io.nebula.rpc.core.metrics.RpcPhase;
+import io.nebula.rpc.core.metrics.RpcTimings;
+import io.nebula.rpc.core.stub.RpcMethodDescriptor;
+import io.nebula.rpc.core.stub.RpcStubs;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.web.client.RestClient;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -36,6 +42,13 @@ public class HttpRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
     
     private final ConcurrentHashMap<MethodCacheKey, Method> methodCache = new ConcurrentHashMap<>();
     
+    /**
+     * 方法描述符 -> 返回值 JavaType（描述符按对象身份比较，查找无需分配）
+     */
+    private final ConcurrentHashMap<RpcMethodDescriptor, JavaType> resultTypes = new ConcurrentHashMap<>();
+    
+    private volatile RpcLatencyMetrics latencyMetrics = RpcLatencyMetrics.DISABLED;
+    
     public HttpRpcClient(RestClient restClient, String baseUrl, Executor executor, ObjectMapper objectMapper) {
         this.restClient = restClient;
         this.baseUrl = baseUrl;
@@ -46,6 +59,7 @@ public class HttpRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
     @Override
     public <T> T call(Class<T> serviceClass, String methodName, Object... args) {
         String serviceName = serviceClass.getName();
+        RpcTimings timings = latencyMetrics.beginCall();
         
         try {
             // 从服务接口解析方法声明，获取准确的参数类型和泛型返回类型
@@ -59,13 +73,15 @@ public class HttpRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
                 request = buildRequest(serviceName, methodName, args);
             }
             
-            RpcResponse response = sendRequest(request);
+            RpcResponse response = sendRequest(request, timings);
             
             if (response.isSuccess()) {
                 Object result = response.getResult();
                 
                 if (result != null) {
+                    long mark = timings.mark();
                     result = convertResult(result, serviceMethod, serviceClass, methodName);
+                    timings.record(RpcPhase.DESERIALIZATION, mark);
                 }
                 
                 @SuppressWarnings("unchecked")
@@ -88,6 +104,8 @@ public class HttpRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
             );
             log.error(errorMsg, e);
             throw new RuntimeException(errorMsg, e);
+        } finally {
+            latencyMetrics.endCall(timings, serviceName, methodName);
         }
     }
     
@@ -177,41 +195,75 @@ public class HttpRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
     }
     
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T createProxy(Class<T> serviceClass) {
-        return (T) Proxy.newProxyInstance(
-                serviceClass.getClassLoader(),
-                new Class<?>[]{serviceClass},
-                (proxy, method, args) -> {
-                    if (method.getDeclaringClass() == Object.class) {
-                        return method.invoke(this, args);
-                    }
-                    
-                    RpcRequest request = buildRequestWithMethodInfo(serviceClass.getName(), method, args);
-                    RpcResponse response = sendRequest(request);
-                    
-                    if (response.isSuccess()) {
-                        Object result = response.getResult();
-                        
-                        // 使用泛型返回类型做转换
-                        if (result != null) {
-                            Type genericReturnType = method.getGenericReturnType();
-                            JavaType javaType = objectMapper.getTypeFactory().constructType(genericReturnType);
-                            // 对参数化类型（如 List<Dto>）始终 convertValue，
-                            // rawClass.isInstance 无法检测泛型元素类型不匹配
-                            boolean needsConversion = !javaType.getRawClass().isInstance(result)
-                                    || javaType.hasGenericTypes();
-                            if (needsConversion) {
-                                result = objectMapper.convertValue(result, javaType);
-                            }
-                        }
-                        
-                        return result;
-                    } else {
-                        throw new RuntimeException("RPC调用失败: " + response.getMessage());
-                    }
-                }
-        );
+        return RpcStubs.create(serviceClass, this::invoke);
+    }
+    
+    /**
+     * 按方法描述符调用：参数类型与返回类型均已预先解析，无需查找方法
+     */
+    @Override
+    public Object invoke(RpcMethodDescriptor descriptor, Object[] args) {
+        RpcTimings timings = latencyMetrics.beginCall();
+        try {
+            return doInvoke(descriptor, args, timings);
+        } finally {
+            latencyMetrics.endCall(timings, descriptor.getServiceClass().getName(), descriptor.getMethodName());
+        }
+    }
+    
+    private Object doInvoke(RpcMethodDescriptor descriptor, Object[] args, RpcTimings timings) {
+        RpcRequest request = RpcRequest.builder()
+                .requestId(UUID.randomUUID().toString())
+                .serviceName(descriptor.getServiceClass().getName())
+                .methodName(descriptor.getMethodName())
+                .parameters(args)
+                .parameterTypes(descriptor.getParameterTypes())
+                .timestamp(System.currentTimeMillis())
+                .timeout(30000)
+                .version("1.0")
+                .build();
+        
+        RpcResponse response = sendRequest(request, timings);
+        if (!response.isSuccess()) {
+            String errorMsg = String.format(
+                "RPC调用失败: 服务=%s, 方法=%s, 错误=%s",
+                request.getServiceName(), descriptor.getMethodName(), response.getMessage()
+            );
+            log.error(errorMsg);
+            throw new RuntimeException(errorMsg);
+        }
+        
+        Object result = response.getResult();
+        if (result == null) {
+            return null;
+        }
+        long mark = timings.mark();
+        JavaType javaType = resultTypes.computeIfAbsent(descriptor,
+                d -> objectMapper.getTypeFactory().constructType(d.getGenericReturnType()));
+        // 对参数化类型（如 List<Dto>）始终 convertValue，
+        // rawClass.isInstance 无法检测泛型元素类型不匹配
+        if (!javaType.getRawClass().isInstance(result) || javaType.hasGenericTypes()) {
+            try {
+                result = objectMapper.convertValue(result, javaType);
+            } catch (IllegalArgumentException e) {
+                String errorMsg = String.format(
+                    "RPC响应类型转换失败: 服务=%s, 方法=%s, 实际类型=%s, 错误=%s",
+                    request.getServiceName(), descriptor.getMethodName(), result.getClass().getName(), e.getMessage()
+                );
+                log.error(errorMsg, e);
+                throw new RuntimeException(errorMsg, e);
+            }
+        }
+        timings.record(RpcPhase.DESERIALIZATION, mark);
+        return result;
+    }
+    
+    /**
+     * 设置分阶段延迟统计
+     */
+    public void setLatencyMetrics(RpcLatencyMetrics latencyMetrics) {
+        this.latencyMetrics = latencyMetrics != null ? latencyMetrics : RpcLatencyMetrics.DISABLED;
     }
     
     @Override
@@ -274,15 +326,26 @@ public class HttpRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
         return types;
     }
     
-    private RpcResponse sendRequest(RpcRequest request) {
+    private RpcResponse sendRequest(RpcRequest request, RpcTimings timings) {
         try {
             String url = baseUrl + "/rpc";
             
+            // 已采样的调用通知服务端回传分阶段耗时
+            if (timings.isSampled()) {
+                Map<String, String> headers = request.getHeaders() != null
+                        ? new HashMap<>(request.getHeaders()) : new HashMap<>();
+                headers.put(RpcTimings.SAMPLED_KEY, "1");
+                request.setHeaders(headers);
+            }
+            
+            long mark = timings.mark();
             String jsonBody = objectMapper.writeValueAsString(request);
+            timings.record(RpcPhase.SERIALIZATION, mark);
             log.debug("RPC请求序列化: url={}, bodyLength={}, service={}, method={}",
                     url, jsonBody.length(), request.getServiceName(), request.getMethodName());
             
-            return restClient.post()
+            mark = timings.mark();
+            RpcResponse response = restClient.post()
                     .uri(url)
                     .contentType(MediaType.APPLICATION_JSON)
                     .accept(MediaType.APPLICATION_JSON)
@@ -290,6 +353,10 @@ public class HttpRpcClient implements ServiceDiscoveryRpcClient.ConfigurableRpcC
                     .body(jsonBody)
                     .retrieve()
                     .body(RpcResponse.class);
+            if (response != null && timings.isSampled()) {
+                timings.mergeServer(response.getHeaders(), System.nanoTime() - mark);
+            }
+            return response;
         } catch (Exception e) {
             log.error("发送RPC请求失败: requestId={}", request.getRequestId(), e);
             return RpcResponse.exception(request.getRequestId(), e);
@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.nebula.rpc.core.message.RpcRequest;
 import io.nebula.rpc.core.message.RpcResponse;
+import io.nebula.rpc.core.metrics.RpcLatencyMetrics;
+import io.nebula.rpc.core.metrics.RpcPhase;
+import io.nebula.rpc.core.metrics.RpcTimings;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Map;
 
 /**
  * HTTP RPC 控制器
@@ -27,12 +31,20 @@ public class HttpRpcController {
 
     private final HttpRpcServer rpcServer;
     private final ObjectMapper objectMapper;
+    private volatile RpcLatencyMetrics latencyMetrics = RpcLatencyMetrics.DISABLED;
 
     public HttpRpcController(HttpRpcServer rpcServer, ObjectMapper objectMapper) {
         this.rpcServer = rpcServer;
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * 设置分阶段延迟统计
+     */
+    public void setLatencyMetrics(RpcLatencyMetrics latencyMetrics) {
+        this.latencyMetrics = latencyMetrics != null ? latencyMetrics : RpcLatencyMetrics.DISABLED;
+    }
+
     /**
      * 处理RPC请求
      */
@@ -41,6 +53,7 @@ public class HttpRpcController {
         log.debug("收到RPC请求: requestId={}, service={}, method={}",
                 request.getRequestId(), request.getServiceName(), request.getMethodName());
 
+        RpcTimings timings = latencyMetrics.beginServer(request.getHeaders());
         try {
             // 查找服务实现
             Object serviceImpl = rpcServer.getServiceRegistry().get(request.getServiceName());
@@ -58,12 +71,21 @@ public class HttpRpcController {
 
             // 使用方法的泛型参数类型做深度转换（处理 List<Dto> 等嵌套泛型场景）
             Object[] convertedParams = convertParameters(request.getParameters(), method);
+            timings.record(RpcPhase.SERVER_DISPATCH, timings.startMark());
 
             // 执行方法
+            long mark = timings.mark();
             Object result = method.invoke(serviceImpl, convertedParams);
-
-            // 返回响应
-            return ResponseEntity.ok(RpcResponse.success(request.getRequestId(), result));
+            timings.record(RpcPhase.INVOCATION, mark);
+
+            // 返回响应（结果序列化由 Spring MVC 在控制器之外完成，不计入服务端耗时）
+            RpcResponse response = RpcResponse.success(request.getRequestId(), result);
+            String encodedTimings = latencyMetrics.endServer(timings, request.getHeaders(),
+                    request.getServiceName(), request.getMethodName());
+            if (encodedTimings != null) {
+                response.setHeaders(Map.of(RpcTimings.TIMINGS_KEY, encodedTimings));
+            }
+            return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             log.error("RPC调用失败: requestId={}, service={}, method={}",
@@ -70,7 +70,8 @@ public interface ClusterMessageBroker {
     /**
      * 发布主题消息
      * <p>
-     * 将消息发送给订阅了指定主题的用户。
+     * 将消息发送给订阅了指定主题的用户。只有通过 {@link #subscribeTopic} 订阅了该主题的节点会收到，
+     * 发布节点自身不会收到自己发布的消息。
      * </p>
      *
      * @param topic   主题
@@ -79,6 +80,30 @@ public interface ClusterMessageBroker {
      */
     <T> void publishToTopic(String topic, WebSocketMessage<T> message);
 
+    /**
+     * 订阅主题消息
+     * <p>
+     * 本节点出现该主题的第一个订阅会话时调用，接收其他节点通过 {@link #publishToTopic} 发布的消息。
+     * </p>
+     *
+     * @param topic   主题
+     * @param handler 消息处理器，只需投递给本地订阅会话
+     * @param <T>     载荷类型
+     */
+    default <T> void subscribeTopic(String topic, Consumer<WebSocketMessage<T>> handler) {
+    }
+
+    /**
+     * 取消订阅主题消息
+     * <p>
+     * 本节点该主题的最后一个订阅会话离开时调用。
+     * </p>
+     *
+     * @param topic 主题
+     */
+    default void unsubscribeTopic(String topic) {
+    }
+
     /**
      * 启动消息代理
      */
@@ -4,6 +4,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -13,6 +19,14 @@ import java.util.stream.Collectors;
  * 基于 ConcurrentHashMap 实现的线程安全会话注册表。
  * 适用于单机部署场景。
  * </p>
+ * <p>
+ * 主题（房间）维护 topic -> 会话集合的倒排索引，向主题发送消息只遍历其成员，不扫描全部会话；
+ * 会话注销或清理时同时退出其加入的所有主题。
+ * </p>
+ * <p>
+ * 主题激活/停用在锁内按顺序入队，由单个通知线程调用 {@link TopicSubscriptionListener}，
+ * 监听器中的集群订阅等网络操作不会阻塞加入/离开主题的线程。
+ * </p>
  */
 @Slf4j
 public class DefaultSessionRegistry implements SessionRegistry {
@@ -27,6 +41,40 @@ public class DefaultSessionRegistry implements SessionRegistry {
      */
     private final Map<String, Set<String>> userSessions = new ConcurrentHashMap<>();
 
+    /**
+     * 主题成员索引: topic -> Set<session>
+     */
+    private final Map<String, Set<WebSocketSession>> topicSessions = new ConcurrentHashMap<>();
+
+    /**
+     * 会话主题映射: sessionId -> Set<topic>
+     */
+    private final Map<String, Set<String>> sessionTopics = new ConcurrentHashMap<>();
+
+    private final List<TopicSubscriptionListener> topicListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 已通知监听器处于激活状态的主题，由 topicLock 保护
+     */
+    private final Set<String> announcedTopics = new HashSet<>();
+    private final Object topicLock = new Object();
+
+    /**
+     * 监听器回调执行器，必须按提交顺序串行执行
+     */
+    private final Executor listenerExecutor;
+
+    public DefaultSessionRegistry() {
+        this(createListenerExecutor());
+    }
+
+    /**
+     * @param listenerExecutor 监听器回调执行器，必须按提交顺序串行执行
+     */
+    public DefaultSessionRegistry(Executor listenerExecutor) {
+        this.listenerExecutor = Objects.requireNonNull(listenerExecutor, "listenerExecutor");
+    }
+
     @Override
     public void register(WebSocketSession session) {
         String sessionId = session.getId();
@@ -56,6 +104,7 @@ public class DefaultSessionRegistry implements SessionRegistry {
                     }
                 }
             }
+            leaveAllTopics(session);
             log.debug("会话注销: sessionId={}, userId={}, 当前会话数: {}", 
                     sessionId, userId, sessions.size());
         }
@@ -91,6 +140,96 @@ public class DefaultSessionRegistry implements SessionRegistry {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public boolean joinTopic(String sessionId, String topic) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session == null || topic == null) {
+            return false;
+        }
+        boolean[] added = {false};
+        boolean[] created = {false};
+        topicSessions.compute(topic, (key, members) -> {
+            if (members == null) {
+                members = ConcurrentHashMap.newKeySet();
+                created[0] = true;
+            }
+            added[0] = members.add(session);
+            return members;
+        });
+        if (!added[0]) {
+            return false;
+        }
+        sessionTopics.compute(sessionId, (key, topics) -> {
+            if (topics == null) {
+                topics = ConcurrentHashMap.newKeySet();
+            }
+            topics.add(topic);
+            return topics;
+        });
+        if (created[0]) {
+            notifyTopicChanged(topic);
+        }
+
+        // 与并发的注销竞争：注销已清理过该会话的主题时，撤销本次加入
+        if (sessions.get(sessionId) != session) {
+            removeTopic(sessionId, topic);
+            removeMember(topic, session);
+            return false;
+        }
+        log.debug("加入主题: sessionId={}, topic={}", sessionId, topic);
+        return true;
+    }
+
+    @Override
+    public boolean leaveTopic(String sessionId, String topic) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session == null || topic == null) {
+            return false;
+        }
+        removeTopic(sessionId, topic);
+        boolean removed = removeMember(topic, session);
+        if (removed) {
+            log.debug("离开主题: sessionId={}, topic={}", sessionId, topic);
+        }
+        return removed;
+    }
+
+    @Override
+    public Collection<WebSocketSession> getSessionsByTopic(String topic) {
+        Set<WebSocketSession> members = topicSessions.get(topic);
+        if (members == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(members);
+    }
+
+    @Override
+    public Set<String> getTopics(String sessionId) {
+        Set<String> topics = sessionTopics.get(sessionId);
+        if (topics == null) {
+            return Collections.emptySet();
+        }
+        return Set.copyOf(topics);
+    }
+
+    @Override
+    public int getTopicSessionCount(String topic) {
+        Set<WebSocketSession> members = topicSessions.get(topic);
+        return members != null ? members.size() : 0;
+    }
+
+    @Override
+    public void addTopicSubscriptionListener(TopicSubscriptionListener listener) {
+        synchronized (topicLock) {
+            topicListeners.add(listener);
+            // 补发监听器注册前已激活的主题
+            if (!announcedTopics.isEmpty()) {
+                List<String> topics = List.copyOf(announcedTopics);
+                dispatch(() -> topics.forEach(topic -> fireTopicChanged(listener, topic, true)));
+            }
+        }
+    }
+
     @Override
     public int getSessionCount() {
         return sessions.size();
@@ -126,6 +265,7 @@ public class DefaultSessionRegistry implements SessionRegistry {
                         }
                     }
                 }
+                leaveAllTopics(session);
                 count++;
             }
         }
@@ -167,5 +307,90 @@ public class DefaultSessionRegistry implements SessionRegistry {
 
         log.debug("更新用户映射: sessionId={}, {} -> {}", sessionId, oldUserId, newUserId);
     }
+
+    private void leaveAllTopics(WebSocketSession session) {
+        Set<String> topics = sessionTopics.remove(session.getId());
+        if (topics != null) {
+            for (String topic : topics) {
+                removeMember(topic, session);
+            }
+        }
+    }
+
+    private void removeTopic(String sessionId, String topic) {
+        sessionTopics.computeIfPresent(sessionId, (key, topics) -> {
+            topics.remove(topic);
+            return topics.isEmpty() ? null : topics;
+        });
+    }
+
+    /**
+     * 从主题成员中移除会话，主题没有成员时删除索引项
+     */
+    private boolean removeMember(String topic, WebSocketSession session) {
+        boolean[] removed = {false};
+        boolean[] emptied = {false};
+        topicSessions.computeIfPresent(topic, (key, members) -> {
+            removed[0] = members.remove(session);
+            emptied[0] = members.isEmpty();
+            return emptied[0] ? null : members;
+        });
+        if (emptied[0]) {
+            notifyTopicChanged(topic);
+        }
+        return removed[0];
+    }
+
+    /**
+     * 主题成员在空与非空之间变化后调用
+     * <p>
+     * 加锁后按索引的当前状态对账，并发的加入与离开不会让监听器看到乱序的激活/停用。
+     * 回调在锁内入队、在通知线程上执行，锁内不做任何 I/O。
+     * </p>
+     */
+    private void notifyTopicChanged(String topic) {
+        synchronized (topicLock) {
+            boolean active = topicSessions.containsKey(topic);
+            boolean changed = active ? announcedTopics.add(topic) : announcedTopics.remove(topic);
+            if (changed && !topicListeners.isEmpty()) {
+                List<TopicSubscriptionListener> listeners = List.copyOf(topicListeners);
+                dispatch(() -> listeners.forEach(listener -> fireTopicChanged(listener, topic, active)));
+            }
+        }
+    }
+
+    private void dispatch(Runnable notification) {
+        try {
+            listenerExecutor.execute(notification);
+        } catch (RejectedExecutionException e) {
+            log.warn("主题订阅监听器执行器已关闭，丢弃通知: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 单线程执行器：空闲时线程退出，无需显式关闭
+     */
+    private static Executor createListenerExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "websocket-topic-listener");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static void fireTopicChanged(TopicSubscriptionListener listener, String topic, boolean active) {
+        try {
+            if (active) {
+                listener.onTopicActivated(topic);
+            } else {
+                listener.onTopicDeactivated(topic);
+            }
+        } catch (Exception e) {
+            log.warn("主题订阅监听器执行失败: topic={}, active={}, error={}", topic, active, e.getMessage(), e);
+        }
+    }
 }
 
@@ -1,7 +1,10 @@
 package io.nebula.websocket.core.session;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -12,6 +15,15 @@ import java.util.function.Predicate;
  */
 public interface SessionRegistry {
 
+    /**
+     * 旧版本记录主题订阅的会话属性，值为主题集合
+     * <p>
+     * 主题相关方法的默认实现基于该属性；{@link DefaultSessionRegistry} 使用主题索引，
+     * 消息服务在索引中没有成员时仍会按该属性查找，兼容直接写入该属性的旧代码。
+     * </p>
+     */
+    String SUBSCRIBED_TOPICS_ATTRIBUTE = "subscribed_topics";
+
     /**
      * 注册会话
      *
@@ -61,6 +73,83 @@ public interface SessionRegistry {
      */
     Collection<WebSocketSession> findSessions(Predicate<WebSocketSession> predicate);
 
+    /**
+     * 会话加入主题（房间）
+     * <p>
+     * 主题相关方法均有默认实现：订阅关系保存在会话的 {@link #SUBSCRIBED_TOPICS_ATTRIBUTE} 属性中，
+     * 查询主题成员需要扫描全部会话，也没有主题激活回调。需要按成员数发送时实现这些方法，
+     * 或继承 {@link DefaultSessionRegistry}。
+     * </p>
+     *
+     * @param sessionId 会话 ID
+     * @param topic     主题
+     * @return 是否新加入；会话不存在或已在主题中返回 false
+     */
+    default boolean joinTopic(String sessionId, String topic) {
+        return getSession(sessionId)
+                .map(session -> updateSubscribedTopics(session, topic, true))
+                .orElse(false);
+    }
+
+    /**
+     * 会话离开主题（房间）
+     *
+     * @param sessionId 会话 ID
+     * @param topic     主题
+     * @return 会话此前是否在主题中
+     */
+    default boolean leaveTopic(String sessionId, String topic) {
+        return getSession(sessionId)
+                .map(session -> updateSubscribedTopics(session, topic, false))
+                .orElse(false);
+    }
+
+    /**
+     * 获取主题的所有订阅会话
+     * <p>
+     * 基于主题到会话的倒排索引，开销只与主题成员数相关；默认实现扫描全部会话的订阅属性。
+     * </p>
+     *
+     * @param topic 主题
+     * @return 会话集合
+     */
+    default Collection<WebSocketSession> getSessionsByTopic(String topic) {
+        return findSessions(session -> isSubscribedByAttribute(session, topic));
+    }
+
+    /**
+     * 获取会话加入的所有主题
+     *
+     * @param sessionId 会话 ID
+     * @return 主题集合
+     */
+    default Set<String> getTopics(String sessionId) {
+        return getSession(sessionId)
+                .map(SessionRegistry::subscribedTopics)
+                .orElse(Collections.emptySet());
+    }
+
+    /**
+     * 获取主题的本地订阅会话数
+     *
+     * @param topic 主题
+     * @return 会话数
+     */
+    default int getTopicSessionCount(String topic) {
+        return getSessionsByTopic(topic).size();
+    }
+
+    /**
+     * 添加主题订阅监听器
+     * <p>
+     * 默认实现不回调监听器，主题消息不会按需订阅集群频道。
+     * </p>
+     *
+     * @param listener 监听器
+     */
+    default void addTopicSubscriptionListener(TopicSubscriptionListener listener) {
+    }
+
     /**
      * 获取会话数量
      *
@@ -89,5 +178,40 @@ public interface SessionRegistry {
      * @return 清理的会话数量
      */
     int cleanupInactiveSessions();
-}
 
+    /**
+     * 会话的 {@link #SUBSCRIBED_TOPICS_ATTRIBUTE} 属性是否包含指定主题
+     *
+     * @param session 会话
+     * @param topic   主题
+     * @return 是否订阅
+     */
+    static boolean isSubscribedByAttribute(WebSocketSession session, String topic) {
+        Object topics = session.getAttribute(SUBSCRIBED_TOPICS_ATTRIBUTE);
+        return topics instanceof Collection<?> collection && collection.contains(topic);
+    }
+
+    private static Set<String> subscribedTopics(WebSocketSession session) {
+        Set<String> result = new LinkedHashSet<>();
+        if (session.getAttribute(SUBSCRIBED_TOPICS_ATTRIBUTE) instanceof Collection<?> topics) {
+            for (Object topic : topics) {
+                result.add(String.valueOf(topic));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 写时复制更新订阅属性，旧代码写入的不可变集合同样适用
+     */
+    private static boolean updateSubscribedTopics(WebSocketSession session, String topic, boolean join) {
+        synchronized (session) {
+            Set<String> topics = subscribedTopics(session);
+            boolean changed = join ? topics.add(topic) : topics.remove(topic);
+            if (changed) {
+                session.setAttribute(SUBSCRIBED_TOPICS_ATTRIBUTE, Collections.unmodifiableSet(topics));
+            }
+            return changed;
+        }
+    }
+}
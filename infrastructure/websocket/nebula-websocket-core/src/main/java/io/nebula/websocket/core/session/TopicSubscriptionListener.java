@@ -0,0 +1,30 @@
+package io.nebula.websocket.core.session;
+
+/**
+ * 主题订阅监听器
+ * <p>
+ * 本节点上某个主题出现第一个订阅者、或最后一个订阅者离开时回调，
+ * 用于按需订阅/取消订阅集群频道，使主题消息只传播到有订阅者的节点。
+ * </p>
+ * <p>
+ * 同一注册表的回调串行执行，且同一主题的激活与停用严格交替。回调在注册表的通知线程上执行，
+ * 不占用加入/离开主题的调用线程（通常是网络事件循环），因此可以执行订阅集群频道等阻塞操作；
+ * 回调相对主题索引的变化略有滞后。
+ * </p>
+ */
+public interface TopicSubscriptionListener {
+
+    /**
+     * 本节点上主题出现第一个订阅者
+     *
+     * @param topic 主题
+     */
+    void onTopicActivated(String topic);
+
+    /**
+     * 本节点上主题的最后一个订阅者离开
+     *
+     * @param topic 主题
+     */
+    void onTopicDeactivated(String topic);
+}
@@ -0,0 +1,188 @@
+package io.nebula.websocket.core.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * DefaultSessionRegistry 单元测试
+ */
+class DefaultSessionRegistryTest {
+
+    @Test
+    void testTopicIndexFollowsJoinLeaveAndUnregister() {
+        DefaultSessionRegistry registry = new DefaultSessionRegistry(Runnable::run);
+        WebSocketSession first = session("s-1");
+        WebSocketSession second = session("s-2");
+        registry.register(first);
+        registry.register(second);
+
+        assertThat(registry.joinTopic("s-1", "room:1")).isTrue();
+        assertThat(registry.joinTopic("s-1", "room:1")).isFalse();
+        assertThat(registry.joinTopic("s-2", "room:1")).isTrue();
+        assertThat(registry.joinTopic("missing", "room:1")).isFalse();
+
+        assertThat(registry.getSessionsByTopic("room:1")).containsExactlyInAnyOrder(first, second);
+        assertThat(registry.getTopicSessionCount("room:1")).isEqualTo(2);
+        assertThat(registry.getTopics("s-1")).containsExactly("room:1");
+
+        assertThat(registry.leaveTopic("s-2", "room:1")).isTrue();
+        registry.unregister("s-1");
+
+        assertThat(registry.getSessionsByTopic("room:1")).isEmpty();
+        assertThat(registry.getTopics("s-1")).isEmpty();
+    }
+
+    @Test
+    void testListenerSeesAlternatingActivationAndReplay() {
+        DefaultSessionRegistry registry = new DefaultSessionRegistry(Runnable::run);
+        List<String> events = new CopyOnWriteArrayList<>();
+        registry.addTopicSubscriptionListener(recording(events, "a"));
+        registry.register(session("s-1"));
+        registry.register(session("s-2"));
+
+        registry.joinTopic("s-1", "room:1");
+        registry.joinTopic("s-2", "room:1");
+        registry.leaveTopic("s-1", "room:1");
+        registry.joinTopic("s-1", "room:2");
+        assertThat(events).containsExactly("a+room:1", "a+room:2");
+
+        // 监听器注册前已激活的主题会补发
+        registry.addTopicSubscriptionListener(recording(events, "b"));
+        assertThat(events.subList(2, events.size())).containsExactlyInAnyOrder("b+room:1", "b+room:2");
+
+        registry.unregister("s-2");
+        assertThat(events.subList(4, events.size())).containsExactly("a-room:1", "b-room:1");
+    }
+
+    @Test
+    void testListenerRunsOffCallerThreadAndDoesNotBlockJoin() throws Exception {
+        DefaultSessionRegistry registry = new DefaultSessionRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(2);
+        List<String> events = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        registry.addTopicSubscriptionListener(new TopicSubscriptionListener() {
+            @Override
+            public void onTopicActivated(String topic) {
+                threads.add(Thread.currentThread());
+                // 模拟阻塞的集群订阅
+                await(release);
+                events.add("+" + topic);
+                delivered.countDown();
+            }
+
+            @Override
+            public void onTopicDeactivated(String topic) {
+                events.add("-" + topic);
+                delivered.countDown();
+            }
+        });
+        registry.register(session("s-1"));
+
+        // 监听器阻塞期间加入/离开主题立即返回
+        assertThat(registry.joinTopic("s-1", "room:1")).isTrue();
+        assertThat(registry.leaveTopic("s-1", "room:1")).isTrue();
+        assertThat(registry.getTopicSessionCount("room:1")).isZero();
+
+        release.countDown();
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(events).containsExactly("+room:1", "-room:1");
+        assertThat(threads).singleElement().isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void testCustomRegistryDefaultsKeepTopicsInSessionAttribute() {
+        WebSocketSession first = attributedSession("s-1");
+        WebSocketSession second = attributedSession("s-2");
+        SessionRegistry registry = customRegistry(first, second);
+
+        assertThat(registry.joinTopic("s-1", "room:1")).isTrue();
+        assertThat(registry.joinTopic("s-1", "room:1")).isFalse();
+        assertThat(registry.joinTopic("s-1", "room:2")).isTrue();
+        assertThat(registry.joinTopic("missing", "room:1")).isFalse();
+        // 旧代码直接写入的不可变集合
+        second.setAttribute(SessionRegistry.SUBSCRIBED_TOPICS_ATTRIBUTE, Set.of("room:1"));
+
+        assertThat(registry.getSessionsByTopic("room:1")).containsExactlyInAnyOrder(first, second);
+        assertThat(registry.getTopicSessionCount("room:1")).isEqualTo(2);
+        assertThat(registry.getTopics("s-1")).containsExactly("room:1", "room:2");
+
+        assertThat(registry.leaveTopic("s-2", "room:1")).isTrue();
+        assertThat(registry.leaveTopic("s-2", "room:1")).isFalse();
+        assertThat(registry.getSessionsByTopic("room:1")).containsExactly(first);
+        assertThat(SessionRegistry.isSubscribedByAttribute(first, "room:2")).isTrue();
+        assertThat(SessionRegistry.isSubscribedByAttribute(second, "room:1")).isFalse();
+        assertThatCode(() -> registry.addTopicSubscriptionListener(mock(TopicSubscriptionListener.class)))
+                .doesNotThrowAnyException();
+    }
+
+    /**
+     * 只实现必需方法的自定义注册表，主题方法全部走默认实现
+     */
+    private static SessionRegistry customRegistry(WebSocketSession... sessions) {
+        SessionRegistry registry = mock(SessionRegistry.class, CALLS_REAL_METHODS);
+        doReturn(Optional.empty()).when(registry).getSession(anyString());
+        for (WebSocketSession session : sessions) {
+            String sessionId = session.getId();
+            doReturn(Optional.of(session)).when(registry).getSession(sessionId);
+        }
+        doAnswer(invocation -> {
+            Predicate<WebSocketSession> predicate = invocation.getArgument(0);
+            return Arrays.stream(sessions).filter(predicate).toList();
+        }).when(registry).findSessions(any());
+        return registry;
+    }
+
+    private static WebSocketSession attributedSession(String id) {
+        WebSocketSession session = session(id);
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        lenient().when(session.getAttribute(anyString()))
+                .thenAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+        lenient().doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(session).setAttribute(anyString(), any());
+        return session;
+    }
+
+    private static TopicSubscriptionListener recording(List<String> events, String name) {
+        return new TopicSubscriptionListener() {
+            @Override
+            public void onTopicActivated(String topic) {
+                events.add(name + "+" + topic);
+            }
+
+            @Override
+            public void onTopicDeactivated(String topic) {
+                events.add(name + "-" + topic);
+            }
+        };
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
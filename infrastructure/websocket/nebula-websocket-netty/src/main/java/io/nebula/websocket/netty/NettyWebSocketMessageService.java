@@ -4,22 +4,36 @@ import io.nebula.websocket.core.WebSocketMessageService;
 import io.nebula.websocket.core.cluster.ClusterMessageBroker;
 import io.nebula.websocket.core.message.WebSocketMessage;
 import io.nebula.websocket.core.session.SessionRegistry;
+import io.nebula.websocket.core.session.TopicSubscriptionListener;
 import io.nebula.websocket.core.session.WebSocketSession;
+import io.nebula.websocket.netty.session.FrameBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Predicate;
 
 /**
  * Netty WebSocket 消息服务实现
+ * <p>
+ * 多目标发送（用户、广播、主题、条件筛选）通过 {@link FrameBroadcaster} 只序列化一次，各连接共享同一份内容。
+ * </p>
+ * <p>
+ * 主题消息发送给 {@link SessionRegistry#joinTopic} 加入的会话；主题没有成员时按旧的
+ * {@link SessionRegistry#SUBSCRIBED_TOPICS_ATTRIBUTE} 会话属性查找。作为 {@link TopicSubscriptionListener}
+ * 注册到会话注册表后，本节点出现主题的第一个订阅者时向集群订阅该主题，最后一个订阅者离开时取消，
+ * 其他节点发布的主题消息只投递给本地成员。
+ * </p>
  */
 @Slf4j
 @RequiredArgsConstructor
-public class NettyWebSocketMessageService implements WebSocketMessageService {
+public class NettyWebSocketMessageService implements WebSocketMessageService, TopicSubscriptionListener {
 
     private final SessionRegistry sessionRegistry;
     private final ClusterMessageBroker clusterMessageBroker;
+    private final FrameBroadcaster frameBroadcaster;
 
     @Override
     public <T> boolean sendToSession(String sessionId, WebSocketMessage<T> message) {
@@ -41,18 +55,7 @@ public class NettyWebSocketMessageService implements WebSocketMessageService {
 
     @Override
     public <T> int sendToUser(String userId, WebSocketMessage<T> message) {
-        Collection<WebSocketSession> sessions = sessionRegistry.getSessionsByUserId(userId);
-        int successCount = 0;
-
-        for (WebSocketSession session : sessions) {
-            try {
-                session.send(message);
-                successCount++;
-            } catch (Exception e) {
-                log.error("发送消息失败: userId={}, sessionId={}, error={}",
-                        userId, session.getId(), e.getMessage(), e);
-            }
-        }
+        int successCount = fanout(sessionRegistry.getSessionsByUserId(userId), message);
 
         // 如果启用了集群模式，同时通过集群广播
         if (clusterMessageBroker != null && clusterMessageBroker.isAvailable()) {
@@ -64,9 +67,16 @@ public class NettyWebSocketMessageService implements WebSocketMessageService {
 
     @Override
     public <T> int sendToUsers(Collection<String> userIds, WebSocketMessage<T> message) {
-        int totalSuccess = 0;
+        List<WebSocketSession> sessions = new ArrayList<>();
         for (String userId : userIds) {
-            totalSuccess += sendToUser(userId, message);
+            sessions.addAll(sessionRegistry.getSessionsByUserId(userId));
+        }
+        int totalSuccess = fanout(sessions, message);
+
+        if (clusterMessageBroker != null && clusterMessageBroker.isAvailable()) {
+            for (String userId : userIds) {
+                clusterMessageBroker.publishToUser(userId, message);
+            }
         }
         return totalSuccess;
     }
@@ -74,16 +84,7 @@ public class NettyWebSocketMessageService implements WebSocketMessageService {
     @Override
     public <T> int broadcast(WebSocketMessage<T> message) {
         Collection<WebSocketSession> sessions = sessionRegistry.getAllSessions();
-        int successCount = 0;
-
-        for (WebSocketSession session : sessions) {
-            try {
-                session.send(message);
-                successCount++;
-            } catch (Exception e) {
-                log.error("广播消息失败: sessionId={}, error={}", session.getId(), e.getMessage(), e);
-            }
-        }
+        int successCount = fanout(sessions, message);
 
         // 如果启用了集群模式，同时通过集群广播
         if (clusterMessageBroker != null && clusterMessageBroker.isAvailable()) {
@@ -96,41 +97,12 @@ public class NettyWebSocketMessageService implements WebSocketMessageService {
 
     @Override
     public <T> int sendToSessions(Predicate<WebSocketSession> predicate, WebSocketMessage<T> message) {
-        Collection<WebSocketSession> sessions = sessionRegistry.findSessions(predicate);
-        int successCount = 0;
-
-        for (WebSocketSession session : sessions) {
-            try {
-                session.send(message);
-                successCount++;
-            } catch (Exception e) {
-                log.error("发送消息失败: sessionId={}, error={}", session.getId(), e.getMessage(), e);
-            }
-        }
-
-        return successCount;
+        return fanout(sessionRegistry.findSessions(predicate), message);
     }
 
     @Override
     public <T> int sendToTopic(String topic, WebSocketMessage<T> message) {
-        Collection<WebSocketSession> sessions = sessionRegistry.findSessions(session -> {
-            Object topics = session.getAttribute("subscribed_topics");
-            if (topics instanceof Collection) {
-                return ((Collection<?>) topics).contains(topic);
-            }
-            return false;
-        });
-
-        int successCount = 0;
-        for (WebSocketSession session : sessions) {
-            try {
-                session.send(message);
-                successCount++;
-            } catch (Exception e) {
-                log.error("发送主题消息失败: topic={}, sessionId={}, error={}",
-                        topic, session.getId(), e.getMessage(), e);
-            }
-        }
+        int successCount = fanout(localTopicMembers(topic), message);
 
         // 如果启用了集群模式，同时通过集群广播
         if (clusterMessageBroker != null && clusterMessageBroker.isAvailable()) {
@@ -185,5 +157,43 @@ public class NettyWebSocketMessageService implements WebSocketMessageService {
     public boolean isUserOnline(String userId) {
         return sessionRegistry.isUserOnline(userId);
     }
-}
 
+    @Override
+    public void onTopicActivated(String topic) {
+        if (clusterMessageBroker != null) {
+            clusterMessageBroker.subscribeTopic(topic,
+                    message -> fanout(localTopicMembers(topic), message));
+        }
+    }
+
+    @Override
+    public void onTopicDeactivated(String topic) {
+        if (clusterMessageBroker != null) {
+            clusterMessageBroker.unsubscribeTopic(topic);
+        }
+    }
+
+    /**
+     * 本节点的主题成员；主题索引中没有成员时扫描会话的旧订阅属性，兼容直接写入该属性的代码
+     */
+    private Collection<WebSocketSession> localTopicMembers(String topic) {
+        Collection<WebSocketSession> members = sessionRegistry.getSessionsByTopic(topic);
+        if (!members.isEmpty()) {
+            return members;
+        }
+        return sessionRegistry.findSessions(session -> SessionRegistry.isSubscribedByAttribute(session, topic));
+    }
+
+    /**
+     * 一次序列化后发送给一组会话
+     */
+    private int fanout(Collection<WebSocketSession> sessions, WebSocketMessage<?> message) {
+        try {
+            return frameBroadcaster.broadcast(sessions, message);
+        } catch (Exception e) {
+            log.error("消息序列化失败: type={}, sessions={}, error={}",
+                    message.getType(), sessions.size(), e.getMessage(), e);
+            return 0;
+        }
+    }
+}
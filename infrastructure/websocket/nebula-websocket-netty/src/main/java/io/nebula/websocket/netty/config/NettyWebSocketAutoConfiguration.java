@@ -8,9 +8,13 @@ import io.nebula.websocket.core.handler.WebSocketMessageHandler;
 import io.nebula.websocket.core.session.DefaultSessionRegistry;
 import io.nebula.websocket.core.session.SessionRegistry;
 import io.nebula.websocket.netty.NettyWebSocketMessageService;
+import io.nebula.websocket.netty.server.NettyTransport;
 import io.nebula.websocket.netty.server.NettyWebSocketServer;
+import io.nebula.websocket.netty.session.FrameBroadcaster;
+import io.netty.buffer.ByteBufAllocator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -45,6 +49,15 @@ public class NettyWebSocketAutoConfiguration {
         return new DefaultSessionRegistry();
     }
 
+    /**
+     * 服务端连接与广播共用的缓冲区分配器
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "nettyWebSocketAllocator")
+    public ByteBufAllocator nettyWebSocketAllocator() {
+        return NettyTransport.createAllocator(properties.getAllocator());
+    }
+
     /**
      * Netty WebSocket 服务器
      */
@@ -53,7 +66,8 @@ public class NettyWebSocketAutoConfiguration {
     public NettyWebSocketServer nettyWebSocketServer(
             SessionRegistry sessionRegistry,
             List<WebSocketEventHandler> eventHandlers,
-            List<WebSocketMessageHandler<?>> messageHandlers) {
+            List<WebSocketMessageHandler<?>> messageHandlers,
+            @Qualifier("nettyWebSocketAllocator") ByteBufAllocator allocator) {
 
         Map<String, WebSocketMessageHandler<?>> handlerMap = messageHandlers.stream()
                 .collect(Collectors.toMap(WebSocketMessageHandler::getType, h -> h));
@@ -66,7 +80,8 @@ public class NettyWebSocketAutoConfiguration {
                 sessionRegistry,
                 objectMapper,
                 eventHandlers != null ? eventHandlers : Collections.emptyList(),
-                handlerMap
+                handlerMap,
+                allocator
         );
     }
 
@@ -81,15 +96,29 @@ public class NettyWebSocketAutoConfiguration {
         return new NoopClusterMessageBroker();
     }
 
+    /**
+     * 共享帧广播器（多目标发送只序列化一次）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public FrameBroadcaster frameBroadcaster(@Qualifier("nettyWebSocketAllocator") ByteBufAllocator allocator) {
+        return new FrameBroadcaster(objectMapper, allocator);
+    }
+
     /**
      * WebSocket 消息服务
      */
     @Bean
     @ConditionalOnMissingBean
     public WebSocketMessageService webSocketMessageService(SessionRegistry sessionRegistry,
-                                                            ClusterMessageBroker clusterMessageBroker) {
+                                                            ClusterMessageBroker clusterMessageBroker,
+                                                            FrameBroadcaster frameBroadcaster) {
         log.info("初始化 Netty WebSocket 消息服务");
-        return new NettyWebSocketMessageService(sessionRegistry, clusterMessageBroker);
+        NettyWebSocketMessageService messageService =
+                new NettyWebSocketMessageService(sessionRegistry, clusterMessageBroker, frameBroadcaster);
+        // 按本地主题成员的有无订阅/取消订阅集群主题频道
+        sessionRegistry.addTopicSubscriptionListener(messageService);
+        return messageService;
     }
 
     /**
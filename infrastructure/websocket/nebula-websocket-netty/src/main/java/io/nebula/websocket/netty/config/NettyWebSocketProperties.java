@@ -1,5 +1,7 @@
 package io.nebula.websocket.netty.config;
 
+import io.nebula.websocket.netty.server.TransportType;
+import io.nebula.websocket.netty.session.SlowConsumerPolicy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -60,11 +62,120 @@ public class NettyWebSocketProperties {
      */
     private int allIdleTime = 0;
 
+    /**
+     * 传输配置
+     */
+    private TransportConfig transport = new TransportConfig();
+
+    /**
+     * 缓冲区分配器配置
+     */
+    private AllocatorConfig allocator = new AllocatorConfig();
+
+    /**
+     * 出站写入配置
+     */
+    private OutboundConfig outbound = new OutboundConfig();
+
+    /**
+     * 传输配置
+     */
+    @Data
+    public static class TransportConfig {
+        /**
+         * 传输类型：AUTO / NIO / EPOLL / IO_URING，不可用时依次退回 epoll、NIO
+         */
+        private TransportType type = TransportType.AUTO;
+
+        /**
+         * 是否启用 SO_REUSEPORT：按 Boss 线程数绑定多个服务端 Channel，由内核在它们之间分发新连接。
+         * 只在 epoll / io_uring 下生效
+         */
+        private boolean reusePort = false;
+
+        /**
+         * 连接的 SO_SNDBUF（字节），0 表示使用系统默认值
+         */
+        private int sendBufferSize = 0;
+
+        /**
+         * 连接的 SO_RCVBUF（字节），0 表示使用系统默认值
+         */
+        private int receiveBufferSize = 0;
+    }
+
+    /**
+     * 缓冲区分配器配置
+     */
+    @Data
+    public static class AllocatorConfig {
+        /**
+         * 分配器类型
+         */
+        private AllocatorType type = AllocatorType.POOLED;
+
+        /**
+         * 是否优先使用直接内存
+         */
+        private boolean preferDirect = true;
+    }
+
+    /**
+     * 缓冲区分配器类型
+     */
+    public enum AllocatorType {
+        /**
+         * 池化分配器，适合长连接与高吞吐
+         */
+        POOLED,
+
+        /**
+         * 非池化分配器，每次分配新的缓冲区
+         */
+        UNPOOLED
+    }
+
     /**
      * 集群配置
      */
     private ClusterConfig cluster = new ClusterConfig();
 
+    /**
+     * 出站写入配置
+     */
+    @Data
+    public static class OutboundConfig {
+        /**
+         * 写缓冲低水位（字节），降到该值以下后连接恢复可写
+         */
+        private int writeBufferLowWaterMark = 32 * 1024;
+
+        /**
+         * 写缓冲高水位（字节），超过后连接不可写，新消息进入会话待发送队列
+         */
+        private int writeBufferHighWaterMark = 64 * 1024;
+
+        /**
+         * 每个会话待发送队列的最大消息数
+         */
+        private int maxPendingMessages = 1024;
+
+        /**
+         * 待发送队列满时的处理策略
+         */
+        private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.CLOSE;
+
+        /**
+         * 是否合并同一事件循环周期内的刷出
+         */
+        private boolean flushConsolidation = true;
+
+        /**
+         * 合并刷出时，累计多少次刷出请求后强制刷出一次
+         */
+        private int explicitFlushAfterFlushes = 256;
+    }
+
     /**
      * 集群配置
      */
@@ -6,6 +6,7 @@ import io.nebula.websocket.core.handler.WebSocketMessageHandler;
 import io.nebula.websocket.core.message.MessageType;
 import io.nebula.websocket.core.message.WebSocketMessage;
 import io.nebula.websocket.core.session.SessionRegistry;
+import io.nebula.websocket.netty.config.NettyWebSocketProperties;
 import io.nebula.websocket.netty.session.NettyWebSocketSession;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -30,6 +31,7 @@ public class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocket
     private final ObjectMapper objectMapper;
     private final List<WebSocketEventHandler> eventHandlers;
     private final Map<String, WebSocketMessageHandler<?>> messageHandlers;
+    private final NettyWebSocketProperties.OutboundConfig outbound;
 
     /**
      * Channel 属性键：会话对象
@@ -39,7 +41,8 @@ public class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocket
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
         // 创建会话
-        NettyWebSocketSession session = new NettyWebSocketSession(ctx.channel(), objectMapper);
+        NettyWebSocketSession session = new NettyWebSocketSession(ctx.channel(), objectMapper,
+                outbound.getMaxPendingMessages(), outbound.getSlowConsumerPolicy());
         ctx.channel().attr(io.netty.util.AttributeKey.<NettyWebSocketSession>valueOf(SESSION_ATTRIBUTE)).set(session);
         sessionRegistry.register(session);
 
@@ -69,6 +72,7 @@ public class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocket
         NettyWebSocketSession session = getSession(ctx);
         if (session != null) {
             sessionRegistry.unregister(session.getId());
+            session.releasePending();
 
             log.info("WebSocket 连接关闭: sessionId={}", session.getId());
 
@@ -85,6 +89,16 @@ public class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocket
         super.channelInactive(ctx);
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        // 写缓冲降到低水位，补发会话排队的消息
+        NettyWebSocketSession session = getSession(ctx);
+        if (session != null && ctx.channel().isWritable()) {
+            session.drainPending();
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, WebSocketFrame frame) throws Exception {
         NettyWebSocketSession session = getSession(ctx);
@@ -0,0 +1,140 @@
+package io.nebula.websocket.netty.server;
+
+import io.nebula.websocket.netty.config.NettyWebSocketProperties;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiFunction;
+
+/**
+ * Netty 传输实现
+ * <p>
+ * 按 {@link TransportType} 选择事件循环与服务端 Channel 实现。epoll 随 netty-all 提供；io_uring 位于孵化模块，
+ * 只在 classpath 中存在 {@code netty-incubator-transport-native-io_uring} 时通过反射加载，不引入编译期依赖。
+ * 请求的传输不可用时退回到下一个可用的实现（io_uring → epoll → NIO）并记录原因。
+ * </p>
+ */
+@Slf4j
+public final class NettyTransport {
+
+    private static final String IO_URING_PACKAGE = "io.netty.incubator.channel.uring.";
+
+    private final TransportType type;
+    private final Class<? extends ServerChannel> serverChannelClass;
+    private final BiFunction<Integer, ThreadFactory, EventLoopGroup> groupFactory;
+
+    private NettyTransport(TransportType type, Class<? extends ServerChannel> serverChannelClass,
+                           BiFunction<Integer, ThreadFactory, EventLoopGroup> groupFactory) {
+        this.type = type;
+        this.serverChannelClass = serverChannelClass;
+        this.groupFactory = groupFactory;
+    }
+
+    /**
+     * 选择传输实现
+     *
+     * @param requested 期望的传输类型
+     * @return 实际可用的传输实现
+     */
+    public static NettyTransport select(TransportType requested) {
+        TransportType type = requested != null ? requested : TransportType.AUTO;
+        if (type == TransportType.IO_URING) {
+            NettyTransport ioUring = ioUring();
+            if (ioUring != null) {
+                return ioUring;
+            }
+        }
+        if (type == TransportType.IO_URING || type == TransportType.EPOLL || type == TransportType.AUTO) {
+            if (Epoll.isAvailable()) {
+                return new NettyTransport(TransportType.EPOLL, EpollServerSocketChannel.class, EpollEventLoopGroup::new);
+            }
+            if (type != TransportType.AUTO) {
+                log.warn("epoll 不可用，使用 NIO: {}", Epoll.unavailabilityCause().toString());
+            }
+        }
+        return new NettyTransport(TransportType.NIO, NioServerSocketChannel.class, NioEventLoopGroup::new);
+    }
+
+    /**
+     * 创建事件循环组
+     *
+     * @param threads    线程数，0 表示使用 Netty 默认值（CPU 核心数 * 2）
+     * @param namePrefix 线程名前缀
+     */
+    public EventLoopGroup newEventLoopGroup(int threads, String namePrefix) {
+        return groupFactory.apply(threads, new DefaultThreadFactory(namePrefix));
+    }
+
+    /**
+     * 实际使用的传输类型
+     */
+    public TransportType getType() {
+        return type;
+    }
+
+    public Class<? extends ServerChannel> getServerChannelClass() {
+        return serverChannelClass;
+    }
+
+    /**
+     * 是否支持 SO_REUSEPORT（多个服务端 Channel 绑定同一端口，由内核分发新连接）
+     */
+    public boolean isReusePortSupported() {
+        return type == TransportType.EPOLL || type == TransportType.IO_URING;
+    }
+
+    /**
+     * 按配置创建缓冲区分配器
+     */
+    public static ByteBufAllocator createAllocator(NettyWebSocketProperties.AllocatorConfig config) {
+        boolean preferDirect = config.isPreferDirect();
+        if (config.getType() == NettyWebSocketProperties.AllocatorType.UNPOOLED) {
+            return new UnpooledByteBufAllocator(preferDirect);
+        }
+        if (preferDirect) {
+            return PooledByteBufAllocator.DEFAULT;
+        }
+        return new PooledByteBufAllocator(false);
+    }
+
+    private static NettyTransport ioUring() {
+        try {
+            Class<?> ioUring = Class.forName(IO_URING_PACKAGE + "IOUring");
+            if (!(Boolean) ioUring.getMethod("isAvailable").invoke(null)) {
+                Throwable cause = (Throwable) ioUring.getMethod("unavailabilityCause").invoke(null);
+                log.warn("io_uring 不可用: {}", cause != null ? cause.toString() : "unknown");
+                return null;
+            }
+            Class<? extends ServerChannel> channelClass = Class.forName(IO_URING_PACKAGE + "IOUringServerSocketChannel")
+                    .asSubclass(ServerChannel.class);
+            Constructor<? extends EventLoopGroup> constructor = Class.forName(IO_URING_PACKAGE + "IOUringEventLoopGroup")
+                    .asSubclass(EventLoopGroup.class)
+                    .getConstructor(int.class, ThreadFactory.class);
+            return new NettyTransport(TransportType.IO_URING, channelClass, (threads, threadFactory) -> {
+                try {
+                    return constructor.newInstance(threads, threadFactory);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("创建 io_uring 事件循环失败", e);
+                }
+            });
+        } catch (ClassNotFoundException e) {
+            log.warn("classpath 中没有 netty-incubator-transport-native-io_uring，无法使用 io_uring");
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("加载 io_uring 传输失败: {}", e.toString());
+            return null;
+        }
+    }
+}
@@ -8,12 +8,13 @@ import io.nebula.websocket.netty.config.NettyWebSocketProperties;
 import io.nebula.websocket.netty.handler.HttpRequestHandler;
 import io.nebula.websocket.netty.handler.WebSocketFrameHandler;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.unix.UnixChannelOption;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +32,11 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * 高性能 WebSocket 服务器，支持百万级连接。
  * </p>
+ * <p>
+ * 传输实现由 {@link NettyTransport} 按配置选择（NIO / epoll / io_uring）。epoll 与 io_uring 下可启用
+ * SO_REUSEPORT：按 Boss 线程数绑定多个服务端 Channel，每个 Channel 在各自的 Boss 线程上接收连接，
+ * 由内核在它们之间分发，单个 accept 线程不再是建连瓶颈。
+ * </p>
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -40,10 +47,11 @@ public class NettyWebSocketServer {
     private final ObjectMapper objectMapper;
     private final List<WebSocketEventHandler> eventHandlers;
     private final Map<String, WebSocketMessageHandler<?>> messageHandlers;
+    private final ByteBufAllocator allocator;
 
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
-    private Channel serverChannel;
+    private final List<Channel> serverChannels = new ArrayList<>();
 
     @PostConstruct
     public void start() {
@@ -51,19 +59,33 @@ public class NettyWebSocketServer {
         int workerThreads = properties.getWorkerThreads();
         int port = properties.getPort();
         String path = properties.getPath();
+        NettyWebSocketProperties.OutboundConfig outbound = properties.getOutbound();
+
+        NettyWebSocketProperties.TransportConfig transportConfig = properties.getTransport();
+        NettyTransport transport = NettyTransport.select(transportConfig.getType());
+        boolean reusePort = transportConfig.isReusePort() && port > 0;
+        if (reusePort && !transport.isReusePortSupported()) {
+            log.warn("{} 传输不支持 SO_REUSEPORT，只绑定一个服务端 Channel", transport.getType());
+            reusePort = false;
+        }
 
-        bossGroup = new NioEventLoopGroup(bossThreads);
-        workerGroup = new NioEventLoopGroup(workerThreads);
+        bossGroup = transport.newEventLoopGroup(bossThreads, "nebula-ws-boss");
+        workerGroup = transport.newEventLoopGroup(workerThreads, "nebula-ws-worker");
 
         try {
             ServerBootstrap bootstrap = new ServerBootstrap();
             bootstrap.group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
+                    .channel(transport.getServerChannelClass())
                     .childHandler(new ChannelInitializer<SocketChannel>() {
                         @Override
                         protected void initChannel(SocketChannel ch) throws Exception {
                             ChannelPipeline pipeline = ch.pipeline();
 
+                            // 合并同一事件循环周期内的刷出，放在最前以拦截全部 flush
+                            if (outbound.isFlushConsolidation()) {
+                                pipeline.addLast(new FlushConsolidationHandler(
+                                        outbound.getExplicitFlushAfterFlushes(), true));
+                            }
                             // HTTP 编解码
                             pipeline.addLast(new HttpServerCodec());
                             // 分块写
@@ -81,19 +103,37 @@ public class NettyWebSocketServer {
                             pipeline.addLast(new HttpRequestHandler(path));
                             // WebSocket 帧处理
                             pipeline.addLast(new WebSocketFrameHandler(
-                                    sessionRegistry, objectMapper, eventHandlers, messageHandlers
+                                    sessionRegistry, objectMapper, eventHandlers, messageHandlers, outbound
                             ));
                         }
                     })
                     .option(ChannelOption.SO_BACKLOG, properties.getBacklog())
+                    .option(ChannelOption.ALLOCATOR, allocator)
+                    .childOption(ChannelOption.ALLOCATOR, allocator)
                     .childOption(ChannelOption.SO_KEEPALIVE, true)
-                    .childOption(ChannelOption.TCP_NODELAY, true);
-
-            ChannelFuture future = bootstrap.bind(port).sync();
-            serverChannel = future.channel();
-
-            log.info("Netty WebSocket 服务器已启动: port={}, path={}, bossThreads={}, workerThreads={}",
-                    port, path, bossThreads, workerThreads);
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(
+                            outbound.getWriteBufferLowWaterMark(), outbound.getWriteBufferHighWaterMark()));
+
+            if (transportConfig.getSendBufferSize() > 0) {
+                bootstrap.childOption(ChannelOption.SO_SNDBUF, transportConfig.getSendBufferSize());
+            }
+            if (transportConfig.getReceiveBufferSize() > 0) {
+                bootstrap.childOption(ChannelOption.SO_RCVBUF, transportConfig.getReceiveBufferSize());
+            }
+            if (reusePort) {
+                bootstrap.option(UnixChannelOption.SO_REUSEPORT, true);
+            }
+
+            // 每次 bind 在 Boss 组的下一个事件循环上注册新的服务端 Channel
+            int acceptors = reusePort ? Math.max(1, bossThreads) : 1;
+            for (int i = 0; i < acceptors; i++) {
+                ChannelFuture future = bootstrap.bind(port).sync();
+                serverChannels.add(future.channel());
+            }
+
+            log.info("Netty WebSocket 服务器已启动: port={}, path={}, transport={}, acceptors={}, bossThreads={}, workerThreads={}",
+                    port, path, transport.getType(), acceptors, bossThreads, workerThreads);
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -106,9 +146,10 @@ public class NettyWebSocketServer {
     public void stop() {
         log.info("正在关闭 Netty WebSocket 服务器...");
 
-        if (serverChannel != null) {
+        for (Channel serverChannel : serverChannels) {
             serverChannel.close();
         }
+        serverChannels.clear();
         if (bossGroup != null) {
             bossGroup.shutdownGracefully();
         }
@@ -130,7 +171,7 @@ public class NettyWebSocketServer {
      * 检查服务器是否运行
      */
     public boolean isRunning() {
-        return serverChannel != null && serverChannel.isActive();
+        return serverChannels.stream().anyMatch(Channel::isActive);
     }
 }
 
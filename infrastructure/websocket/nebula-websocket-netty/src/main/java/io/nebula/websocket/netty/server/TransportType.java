@@ -0,0 +1,27 @@
+package io.nebula.websocket.netty.server;
+
+/**
+ * Netty 传输类型
+ */
+public enum TransportType {
+
+    /**
+     * 自动选择：Linux 上 epoll 可用时使用 epoll，否则使用 NIO
+     */
+    AUTO,
+
+    /**
+     * JDK NIO，所有平台可用
+     */
+    NIO,
+
+    /**
+     * Linux epoll（边缘触发），支持 SO_REUSEPORT
+     */
+    EPOLL,
+
+    /**
+     * Linux io_uring，需要 netty-incubator-transport-native-io_uring 与 5.9 以上内核，支持 SO_REUSEPORT
+     */
+    IO_URING
+}
@@ -0,0 +1,126 @@
+package io.nebula.websocket.netty.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.websocket.core.message.WebSocketMessage;
+import io.nebula.websocket.core.session.WebSocketSession;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 共享帧广播器
+ * <p>
+ * 消息只序列化一次，写入从分配器申请的 {@link ByteBuf}，每个连接拿到它的 {@link ByteBuf#retainedDuplicate()}，
+ * 不再为每个会话重复编码 JSON、复制内容。目标会话按所属 {@link EventLoop} 分组，每个事件循环只提交一个任务，
+ * 在任务中先写完组内全部连接再逐个刷出，广播的 CPU 开销基本与 JSON 大小无关。
+ * </p>
+ * <p>
+ * 写入在事件循环上异步完成，返回值是已提交写入的会话数，单个连接的写失败被忽略。
+ * 非 Netty 会话退回到 {@link WebSocketSession#send(WebSocketMessage)}。
+ * </p>
+ */
+@Slf4j
+public class FrameBroadcaster {
+
+    private final ObjectMapper objectMapper;
+    private final ByteBufAllocator allocator;
+
+    public FrameBroadcaster(ObjectMapper objectMapper, ByteBufAllocator allocator) {
+        this.objectMapper = objectMapper;
+        this.allocator = allocator;
+    }
+
+    /**
+     * 向一组会话发送同一条消息
+     *
+     * @return 已提交写入的会话数
+     * @throws IOException 消息序列化失败
+     */
+    public int broadcast(Collection<? extends WebSocketSession> sessions, WebSocketMessage<?> message) throws IOException {
+        if (sessions.isEmpty()) {
+            return 0;
+        }
+        ByteBuf content = encode(message);
+        try {
+            Map<EventLoop, List<NettyWebSocketSession>> groups = new IdentityHashMap<>();
+            int submitted = 0;
+            for (WebSocketSession session : sessions) {
+                if (session instanceof NettyWebSocketSession nettySession) {
+                    if (nettySession.isOpen()) {
+                        groups.computeIfAbsent(nettySession.getChannel().eventLoop(), loop -> new ArrayList<>())
+                                .add(nettySession);
+                    }
+                } else if (sendFallback(session, message)) {
+                    submitted++;
+                }
+            }
+            for (Map.Entry<EventLoop, List<NettyWebSocketSession>> group : groups.entrySet()) {
+                List<NettyWebSocketSession> members = group.getValue();
+                // 每个事件循环任务持有一个引用，任务结束时释放
+                ByteBuf shared = content.retain();
+                try {
+                    group.getKey().execute(() -> writeAll(shared, members));
+                    submitted += members.size();
+                } catch (RejectedExecutionException e) {
+                    shared.release();
+                    log.warn("事件循环已关闭，跳过 {} 个会话", members.size());
+                }
+            }
+            return submitted;
+        } finally {
+            content.release();
+        }
+    }
+
+    /**
+     * 把消息序列化为 UTF-8 JSON，调用方负责释放
+     */
+    public ByteBuf encode(WebSocketMessage<?> message) throws IOException {
+        ByteBuf buffer = allocator.buffer();
+        try (OutputStream out = new ByteBufOutputStream(buffer)) {
+            objectMapper.writeValue(out, message);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 在事件循环上执行：先写完组内全部连接，再逐个刷出
+     */
+    private static void writeAll(ByteBuf content, List<NettyWebSocketSession> members) {
+        try {
+            for (NettyWebSocketSession session : members) {
+                session.writeFrame(new TextWebSocketFrame(content.retainedDuplicate()));
+            }
+            for (NettyWebSocketSession session : members) {
+                session.flush();
+            }
+        } finally {
+            content.release();
+        }
+    }
+
+    private static boolean sendFallback(WebSocketSession session, WebSocketMessage<?> message) {
+        try {
+            session.send(message);
+            return true;
+        } catch (Exception e) {
+            log.error("广播消息失败: sessionId={}, error={}", session.getId(), e.getMessage(), e);
+            return false;
+        }
+    }
+}
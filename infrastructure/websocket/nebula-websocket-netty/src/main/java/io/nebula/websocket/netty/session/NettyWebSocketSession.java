@@ -7,23 +7,35 @@ import io.nebula.websocket.core.message.WebSocketMessage;
 import io.nebula.websocket.core.session.WebSocketSession;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
-import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.channel.VoidChannelPromise;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Netty WebSocket 会话实现
  * <p>
  * 高性能 WebSocket 会话，适用于海量连接场景。
  * </p>
+ * <p>
+ * 所有写入都在 Channel 的事件循环上执行。连接的写缓冲超过高水位（{@link Channel#isWritable()} 为 false）后，
+ * 新消息进入会话自己的有界待发送队列，写缓冲降到低水位后按顺序补发；队列满时按 {@link SlowConsumerPolicy}
+ * 丢弃消息或关闭连接，慢客户端不会让服务端内存无限增长。关闭会话时先写出待发送队列，再发送关闭帧。
+ * </p>
  */
 @Slf4j
 public class NettyWebSocketSession implements WebSocketSession {
@@ -34,15 +46,48 @@ public class NettyWebSocketSession implements WebSocketSession {
     private final Map<String, Object> attributes = new ConcurrentHashMap<>();
     private final LocalDateTime connectTime;
 
+    private final int maxPendingMessages;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    /**
+     * 不关心结果的写入共用的 promise：写失败时不触发 exceptionCaught，与原先忽略 writeAndFlush 结果的行为一致
+     */
+    private final ChannelPromise silentPromise;
+
+    /**
+     * 待发送队列，只在事件循环上访问
+     */
+    private final ArrayDeque<PendingFrame> pending = new ArrayDeque<>();
+
+    /**
+     * 统计值只在事件循环上修改，其他线程只读
+     */
+    private volatile int queuedMessages;
+    private volatile long queuedBytes;
+    private volatile long droppedMessages;
+
+    /**
+     * 已写出关闭帧，之后的消息直接丢弃，只在事件循环上访问
+     */
+    private boolean closing;
+
     private String userId;
     private volatile LocalDateTime lastActiveTime;
 
     public NettyWebSocketSession(Channel channel, ObjectMapper objectMapper) {
+        this(channel, objectMapper, 1024, SlowConsumerPolicy.CLOSE);
+    }
+
+    public NettyWebSocketSession(Channel channel, ObjectMapper objectMapper,
+                                 int maxPendingMessages, SlowConsumerPolicy slowConsumerPolicy) {
         this.channel = channel;
         this.objectMapper = objectMapper;
         this.sessionId = channel.id().asLongText();
         this.connectTime = LocalDateTime.now();
         this.lastActiveTime = this.connectTime;
+        this.maxPendingMessages = maxPendingMessages;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.silentPromise = new VoidChannelPromise(channel, false);
     }
 
     @Override
@@ -92,7 +137,7 @@ public class NettyWebSocketSession implements WebSocketSession {
             log.warn("会话已关闭，无法发送消息: sessionId={}", sessionId);
             return;
         }
-        channel.writeAndFlush(new TextWebSocketFrame(text));
+        write(new TextWebSocketFrame(text), null);
         updateLastActiveTime();
     }
 
@@ -102,7 +147,7 @@ public class NettyWebSocketSession implements WebSocketSession {
             log.warn("会话已关闭，无法发送消息: sessionId={}", sessionId);
             return;
         }
-        channel.writeAndFlush(new BinaryWebSocketFrame(Unpooled.wrappedBuffer(data)));
+        write(new BinaryWebSocketFrame(Unpooled.wrappedBuffer(data)), null);
         updateLastActiveTime();
     }
 
@@ -125,8 +170,8 @@ public class NettyWebSocketSession implements WebSocketSession {
                 future.completeExceptionally(new MessageSendException(sessionId, "会话已关闭"));
                 return future;
             }
-            ChannelFuture channelFuture = channel.writeAndFlush(new TextWebSocketFrame(json));
-            channelFuture.addListener(f -> {
+            ChannelPromise promise = channel.newPromise();
+            promise.addListener(f -> {
                 if (f.isSuccess()) {
                     updateLastActiveTime();
                     future.complete(null);
@@ -134,6 +179,7 @@ public class NettyWebSocketSession implements WebSocketSession {
                     future.completeExceptionally(f.cause());
                 }
             });
+            write(new TextWebSocketFrame(json), promise);
         } catch (JsonProcessingException e) {
             future.completeExceptionally(new MessageSendException(sessionId, "消息序列化失败", e));
         }
@@ -147,19 +193,28 @@ public class NettyWebSocketSession implements WebSocketSession {
 
     @Override
     public void close(int code, String reason) {
-        if (isOpen()) {
-            channel.writeAndFlush(new CloseWebSocketFrame(code, reason))
-                    .addListener(f -> channel.close());
+        if (!isOpen()) {
+            return;
+        }
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            writeCloseFrame(code, reason);
+            return;
+        }
+        try {
+            eventLoop.execute(() -> writeCloseFrame(code, reason));
+        } catch (RejectedExecutionException e) {
+            channel.close();
         }
     }
 
     @Override
     public String getRemoteAddress() {
-        InetSocketAddress address = (InetSocketAddress) channel.remoteAddress();
-        if (address != null) {
-            return address.getHostString() + ":" + address.getPort();
+        SocketAddress address = channel.remoteAddress();
+        if (address instanceof InetSocketAddress inet) {
+            return inet.getHostString() + ":" + inet.getPort();
         }
-        return null;
+        return address != null ? address.toString() : null;
     }
 
     @Override
@@ -183,11 +238,190 @@ public class NettyWebSocketSession implements WebSocketSession {
         return (T) channel;
     }
 
+    /**
+     * 写入一帧但不刷出，必须在 Channel 的事件循环上调用
+     * <p>
+     * 用于批量写入：调用方写完一批后调用 {@link #flush()}。连接不可写时帧进入待发送队列，连接已关闭时直接释放。
+     * </p>
+     */
+    public void writeFrame(WebSocketFrame frame) {
+        offer(frame, null);
+    }
+
+    /**
+     * 刷出已写入的帧
+     */
+    public void flush() {
+        channel.flush();
+        updateLastActiveTime();
+    }
+
+    /**
+     * 写缓冲降到低水位后补发待发送队列，必须在事件循环上调用
+     */
+    public void drainPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        while (channel.isWritable()) {
+            PendingFrame next = poll();
+            if (next == null) {
+                break;
+            }
+            channel.write(next.frame(), promiseOrVoid(next.promise()));
+        }
+        channel.flush();
+    }
+
+    /**
+     * 连接关闭后释放待发送队列，必须在事件循环上调用
+     */
+    public void releasePending() {
+        PendingFrame next;
+        while ((next = poll()) != null) {
+            discard(next.frame(), next.promise(), "会话已关闭");
+        }
+    }
+
+    /**
+     * 待发送的字节数：Channel 写缓冲中尚未写出的字节加上会话待发送队列中的字节
+     */
+    public long getPendingBytes() {
+        ChannelOutboundBuffer outboundBuffer = channel.unsafe().outboundBuffer();
+        long outbound = outboundBuffer != null ? outboundBuffer.totalPendingWriteBytes() : 0;
+        return outbound + queuedBytes;
+    }
+
+    /**
+     * 会话待发送队列中的消息数
+     */
+    public int getQueuedMessages() {
+        return queuedMessages;
+    }
+
+    /**
+     * 因队列已满被丢弃的消息数
+     */
+    public long getDroppedMessages() {
+        return droppedMessages;
+    }
+
     /**
      * 获取 Netty Channel
      */
     public Channel getChannel() {
         return channel;
     }
-}
 
+    /**
+     * 在事件循环上写入并刷出；刷出由 FlushConsolidationHandler 合并
+     */
+    private void write(WebSocketFrame frame, ChannelPromise promise) {
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            offer(frame, promise);
+            channel.flush();
+            return;
+        }
+        try {
+            eventLoop.execute(() -> {
+                offer(frame, promise);
+                channel.flush();
+            });
+        } catch (RejectedExecutionException e) {
+            discard(frame, promise, "事件循环已关闭");
+        }
+    }
+
+    /**
+     * 连接可写且没有排队消息时直接写入，否则进入待发送队列
+     */
+    private void offer(WebSocketFrame frame, ChannelPromise promise) {
+        if (closing || !channel.isActive()) {
+            discard(frame, promise, "会话已关闭");
+            return;
+        }
+        if (pending.isEmpty() && channel.isWritable()) {
+            channel.write(frame, promiseOrVoid(promise));
+            return;
+        }
+        if (pending.size() >= maxPendingMessages) {
+            switch (slowConsumerPolicy) {
+                case DROP_NEWEST -> {
+                    drop(frame, promise);
+                    return;
+                }
+                case DROP_OLDEST -> {
+                    PendingFrame oldest = poll();
+                    if (oldest == null) {
+                        drop(frame, promise);
+                        return;
+                    }
+                    drop(oldest.frame(), oldest.promise());
+                }
+                case CLOSE -> {
+                    drop(frame, promise);
+                    closeSlowConsumer();
+                    return;
+                }
+            }
+        }
+        pending.addLast(new PendingFrame(frame, promise));
+        queuedMessages = pending.size();
+        queuedBytes += frame.content().readableBytes();
+    }
+
+    /**
+     * 先写出待发送队列再写关闭帧，关闭帧不会越过已接受的消息；队列有界，不再等待连接可写
+     */
+    private void writeCloseFrame(int code, String reason) {
+        if (closing || !channel.isActive()) {
+            return;
+        }
+        closing = true;
+        PendingFrame next;
+        while ((next = poll()) != null) {
+            channel.write(next.frame(), promiseOrVoid(next.promise()));
+        }
+        channel.writeAndFlush(new CloseWebSocketFrame(code, reason))
+                .addListener(f -> channel.close());
+    }
+
+    private PendingFrame poll() {
+        PendingFrame next = pending.pollFirst();
+        if (next != null) {
+            queuedMessages = pending.size();
+            queuedBytes -= next.frame().content().readableBytes();
+        }
+        return next;
+    }
+
+    private void drop(WebSocketFrame frame, ChannelPromise promise) {
+        droppedMessages++;
+        discard(frame, promise, "慢消费者，消息被丢弃");
+    }
+
+    private void closeSlowConsumer() {
+        log.warn("慢消费者，关闭连接: sessionId={}, remoteAddress={}, pendingBytes={}, queuedMessages={}",
+                sessionId, getRemoteAddress(), getPendingBytes(), queuedMessages);
+        releasePending();
+        channel.close();
+    }
+
+    private void discard(WebSocketFrame frame, ChannelPromise promise, String reason) {
+        frame.release();
+        if (promise != null) {
+            promise.tryFailure(new MessageSendException(sessionId, reason));
+        }
+    }
+
+    private ChannelPromise promiseOrVoid(ChannelPromise promise) {
+        return promise != null ? promise : silentPromise;
+    }
+
+    /**
+     * 排队中的帧及其写入结果（没有调用方等待时为 null）
+     */
+    private record PendingFrame(WebSocketFrame frame, ChannelPromise promise) {
+    }
+}
@@ -0,0 +1,25 @@
+package io.nebula.websocket.netty.session;
+
+/**
+ * 慢消费者策略
+ * <p>
+ * 连接的写缓冲超过高水位后，新消息进入会话的待发送队列；队列满时按该策略处理。
+ * </p>
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * 丢弃新消息，保留已排队的消息
+     */
+    DROP_NEWEST,
+
+    /**
+     * 丢弃最早排队的消息，保留最新消息
+     */
+    DROP_OLDEST,
+
+    /**
+     * 关闭连接，由客户端重连后重新同步
+     */
+    CLOSE
+}
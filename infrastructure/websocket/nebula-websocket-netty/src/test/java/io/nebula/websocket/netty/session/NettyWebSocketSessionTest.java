@@ -0,0 +1,261 @@
+package io.nebula.websocket.netty.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.websocket.core.exception.MessageSendException;
+import io.nebula.websocket.core.message.WebSocketMessage;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * NettyWebSocketSession 单元测试
+ * <p>
+ * 使用很小的写缓冲高水位模拟慢客户端，验证排队、按序补发、各慢消费者策略以及关闭帧的顺序。
+ * </p>
+ */
+class NettyWebSocketSessionTest {
+
+    private static final int LOW_WATER_MARK = 8;
+    private static final int HIGH_WATER_MARK = 16;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private EmbeddedChannel channel;
+    private NettyWebSocketSession session;
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void testQueuesAboveHighWaterMarkAndDrainsInOrder() {
+        open(10, SlowConsumerPolicy.CLOSE);
+
+        // 一帧超过高水位且未刷出，连接变为不可写
+        session.writeFrame(text("x".repeat(HIGH_WATER_MARK * 2)));
+        assertThat(channel.isWritable()).isFalse();
+
+        session.writeFrame(text("a"));
+        session.writeFrame(text("b"));
+        assertThat(session.getQueuedMessages()).isEqualTo(2);
+        assertThat(session.getPendingBytes()).isGreaterThan(HIGH_WATER_MARK);
+
+        // 刷出后写缓冲降到低水位，channelWritabilityChanged 触发按序补发
+        session.flush();
+        channel.runPendingTasks();
+
+        assertThat(outboundTexts()).containsExactly("x".repeat(HIGH_WATER_MARK * 2), "a", "b");
+        assertThat(session.getQueuedMessages()).isZero();
+        assertThat(session.getDroppedMessages()).isZero();
+    }
+
+    @Test
+    void testMessagesQueuedWhileUnwritableKeepOrderBehindEarlierOnes() {
+        open(10, SlowConsumerPolicy.CLOSE);
+        holdWrites();
+
+        session.sendText("a");
+        CompletableFuture<Void> second = session.sendAsync(message("b"));
+        session.sendText("c");
+
+        assertThat(channel.<Object>readOutbound()).isNull();
+        assertThat(session.getQueuedMessages()).isEqualTo(3);
+        assertThat(second).isNotDone();
+
+        releaseWrites();
+
+        assertThat(outboundPayloads()).containsExactly("a", "b", "c");
+        assertThat(second).isCompleted();
+    }
+
+    @Test
+    void testDropNewestKeepsQueuedMessages() {
+        open(2, SlowConsumerPolicy.DROP_NEWEST);
+        holdWrites();
+
+        CompletableFuture<Void> first = session.sendAsync(message("a"));
+        CompletableFuture<Void> second = session.sendAsync(message("b"));
+        CompletableFuture<Void> dropped = session.sendAsync(message("c"));
+
+        assertDroppedBySlowConsumer(dropped);
+        assertThat(session.getDroppedMessages()).isEqualTo(1);
+
+        releaseWrites();
+
+        assertThat(outboundPayloads()).containsExactly("a", "b");
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(channel.isActive()).isTrue();
+    }
+
+    @Test
+    void testDropOldestKeepsNewestMessages() {
+        open(2, SlowConsumerPolicy.DROP_OLDEST);
+        holdWrites();
+
+        CompletableFuture<Void> dropped = session.sendAsync(message("a"));
+        CompletableFuture<Void> second = session.sendAsync(message("b"));
+        CompletableFuture<Void> third = session.sendAsync(message("c"));
+
+        assertDroppedBySlowConsumer(dropped);
+        assertThat(session.getDroppedMessages()).isEqualTo(1);
+        assertThat(session.getQueuedMessages()).isEqualTo(2);
+
+        releaseWrites();
+
+        assertThat(outboundPayloads()).containsExactly("b", "c");
+        assertThat(second).isCompleted();
+        assertThat(third).isCompleted();
+    }
+
+    @Test
+    void testClosePolicyClosesConnectionAndFailsQueuedMessages() {
+        open(2, SlowConsumerPolicy.CLOSE);
+        holdWrites();
+
+        CompletableFuture<Void> first = session.sendAsync(message("a"));
+        CompletableFuture<Void> second = session.sendAsync(message("b"));
+        CompletableFuture<Void> dropped = session.sendAsync(message("c"));
+
+        assertDroppedBySlowConsumer(dropped);
+        assertThat(channel.isActive()).isFalse();
+        assertThat(session.getQueuedMessages()).isZero();
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThatThrownBy(first::join).hasCauseInstanceOf(MessageSendException.class);
+        assertThat(outboundTexts()).isEmpty();
+    }
+
+    @Test
+    void testCloseWritesQueuedMessagesBeforeCloseFrame() {
+        open(10, SlowConsumerPolicy.CLOSE);
+        holdWrites();
+
+        session.sendText("a");
+        CompletableFuture<Void> second = session.sendAsync(message("b"));
+
+        session.close(1000, "bye");
+
+        List<WebSocketFrame> frames = outboundFrames();
+        assertThat(frames).hasSize(3);
+        assertThat(((TextWebSocketFrame) frames.get(0)).text()).isEqualTo("a");
+        assertThat(payload((TextWebSocketFrame) frames.get(1))).isEqualTo("b");
+        assertThat(frames.get(2)).isInstanceOfSatisfying(CloseWebSocketFrame.class, close -> {
+            assertThat(close.statusCode()).isEqualTo(1000);
+            assertThat(close.reasonText()).isEqualTo("bye");
+        });
+        frames.forEach(WebSocketFrame::release);
+        assertThat(second).isCompleted();
+        assertThat(channel.isActive()).isFalse();
+        assertThat(session.getQueuedMessages()).isZero();
+    }
+
+    @Test
+    void testMessagesAfterCloseAreRejected() {
+        open(10, SlowConsumerPolicy.CLOSE);
+        session.close();
+        outboundFrames().forEach(WebSocketFrame::release);
+
+        CompletableFuture<Void> late = session.sendAsync(message("late"));
+
+        assertThat(late).isCompletedExceptionally();
+        assertThatThrownBy(late::join).hasCauseInstanceOf(MessageSendException.class);
+    }
+
+    private void open(int maxPendingMessages, SlowConsumerPolicy policy) {
+        channel = new EmbeddedChannel();
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(LOW_WATER_MARK, HIGH_WATER_MARK));
+        session = new NettyWebSocketSession(channel, objectMapper, maxPendingMessages, policy);
+        // 与 WebSocketFrameHandler 一致：连接恢复可写时补发
+        channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+                if (ctx.channel().isWritable()) {
+                    session.drainPending();
+                }
+                ctx.fireChannelWritabilityChanged();
+            }
+        });
+    }
+
+    /**
+     * 模拟写缓冲超过高水位
+     */
+    private void holdWrites() {
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        assertThat(channel.isWritable()).isFalse();
+    }
+
+    private void releaseWrites() {
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        channel.runPendingTasks();
+    }
+
+    private static void assertDroppedBySlowConsumer(CompletableFuture<Void> future) {
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join)
+                .hasCauseInstanceOf(MessageSendException.class)
+                .hasMessageContaining("慢消费者");
+    }
+
+    private static TextWebSocketFrame text(String text) {
+        return new TextWebSocketFrame(Unpooled.copiedBuffer(text, StandardCharsets.UTF_8));
+    }
+
+    private static WebSocketMessage<String> message(String payload) {
+        return WebSocketMessage.of("chat", payload);
+    }
+
+    private List<WebSocketFrame> outboundFrames() {
+        List<WebSocketFrame> frames = new ArrayList<>();
+        WebSocketFrame frame;
+        while ((frame = channel.readOutbound()) != null) {
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    private List<String> outboundTexts() {
+        List<String> texts = new ArrayList<>();
+        for (WebSocketFrame frame : outboundFrames()) {
+            texts.add(((TextWebSocketFrame) frame).text());
+            frame.release();
+        }
+        return texts;
+    }
+
+    private List<String> outboundPayloads() {
+        List<String> payloads = new ArrayList<>();
+        for (WebSocketFrame frame : outboundFrames()) {
+            TextWebSocketFrame text = (TextWebSocketFrame) frame;
+            String value = text.text();
+            payloads.add(value.startsWith("{") ? payload(text) : value);
+            frame.release();
+        }
+        return payloads;
+    }
+
+    private String payload(TextWebSocketFrame frame) {
+        try {
+            return objectMapper.readTree(frame.text()).get("payload").asText();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.nebula.websocket.core.WebSocketMessageService;
 import io.nebula.websocket.core.cluster.ClusterMessageBroker;
 import io.nebula.websocket.core.message.WebSocketMessage;
 import io.nebula.websocket.core.session.SessionRegistry;
+import io.nebula.websocket.core.session.TopicSubscriptionListener;
 import io.nebula.websocket.core.session.WebSocketSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,10 +14,15 @@ import java.util.function.Predicate;
 
 /**
  * Spring WebSocket 消息服务实现
+ * <p>
+ * 主题消息发送给 {@link SessionRegistry#joinTopic} 加入的会话，主题没有成员时按旧的
+ * {@link SessionRegistry#SUBSCRIBED_TOPICS_ATTRIBUTE} 会话属性查找；注册为 {@link TopicSubscriptionListener} 后，
+ * 按本地是否有主题成员订阅/取消订阅集群主题频道。
+ * </p>
  */
 @Slf4j
 @RequiredArgsConstructor
-public class SpringWebSocketMessageService implements WebSocketMessageService {
+public class SpringWebSocketMessageService implements WebSocketMessageService, TopicSubscriptionListener {
 
     private final SessionRegistry sessionRegistry;
     private final ClusterMessageBroker clusterMessageBroker;
@@ -119,25 +125,7 @@ public class SpringWebSocketMessageService implements WebSocketMessageService {
 
     @Override
     public <T> int sendToTopic(String topic, WebSocketMessage<T> message) {
-        // 查找订阅了该主题的会话
-        Collection<WebSocketSession> sessions = sessionRegistry.findSessions(session -> {
-            Object topics = session.getAttribute("subscribed_topics");
-            if (topics instanceof Collection) {
-                return ((Collection<?>) topics).contains(topic);
-            }
-            return false;
-        });
-
-        int successCount = 0;
-        for (WebSocketSession session : sessions) {
-            try {
-                session.send(message);
-                successCount++;
-            } catch (Exception e) {
-                log.error("发送主题消息失败: topic={}, sessionId={}, error={}", 
-                        topic, session.getId(), e.getMessage(), e);
-            }
-        }
+        int successCount = sendToLocalTopic(topic, message);
 
         // 如果启用了集群模式，同时通过集群广播
         if (clusterMessageBroker != null && clusterMessageBroker.isAvailable()) {
@@ -147,6 +135,20 @@ public class SpringWebSocketMessageService implements WebSocketMessageService {
         return successCount;
     }
 
+    @Override
+    public void onTopicActivated(String topic) {
+        if (clusterMessageBroker != null) {
+            clusterMessageBroker.subscribeTopic(topic, message -> sendToLocalTopic(topic, message));
+        }
+    }
+
+    @Override
+    public void onTopicDeactivated(String topic) {
+        if (clusterMessageBroker != null) {
+            clusterMessageBroker.unsubscribeTopic(topic);
+        }
+    }
+
     @Override
     public boolean closeSession(String sessionId, int code, String reason) {
         return sessionRegistry.getSession(sessionId)
@@ -192,5 +194,32 @@ public class SpringWebSocketMessageService implements WebSocketMessageService {
     public boolean isUserOnline(String userId) {
         return sessionRegistry.isUserOnline(userId);
     }
-}
 
+    /**
+     * 发送给本节点的主题成员
+     */
+    private int sendToLocalTopic(String topic, WebSocketMessage<?> message) {
+        int successCount = 0;
+        for (WebSocketSession session : localTopicMembers(topic)) {
+            try {
+                session.send(message);
+                successCount++;
+            } catch (Exception e) {
+                log.error("发送主题消息失败: topic={}, sessionId={}, error={}", 
+                        topic, session.getId(), e.getMessage(), e);
+            }
+        }
+        return successCount;
+    }
+
+    /**
+     * 本节点的主题成员；主题索引中没有成员时扫描会话的旧订阅属性，兼容直接写入该属性的代码
+     */
+    private Collection<WebSocketSession> localTopicMembers(String topic) {
+        Collection<WebSocketSession> members = sessionRegistry.getSessionsByTopic(topic);
+        if (!members.isEmpty()) {
+            return members;
+        }
+        return sessionRegistry.findSessions(session -> SessionRegistry.isSubscribedByAttribute(session, topic));
+    }
+}
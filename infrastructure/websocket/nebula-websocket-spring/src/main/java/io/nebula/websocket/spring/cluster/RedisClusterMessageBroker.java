@@ -1,6 +1,7 @@
 package io.nebula.websocket.spring.cluster;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nebula.messaging.core.message.Message;
 import io.nebula.messaging.redis.RedisMessageManager;
 import io.nebula.websocket.core.cluster.ClusterMessageBroker;
 import io.nebula.websocket.core.message.WebSocketMessage;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
@@ -19,6 +21,10 @@ import java.util.function.Consumer;
  * 基于 Redis Pub/Sub 实现的集群消息同步。
  * 用于在多实例部署时同步 WebSocket 消息。
  * </p>
+ * <p>
+ * 每个主题使用独立频道，节点只在本地有主题成员时订阅，Redis 只把主题消息推送给这些节点。
+ * 发布时在消息头中携带节点 ID，节点忽略自己发布的主题消息（本地成员已由发布方直接投递）。
+ * </p>
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -45,6 +51,16 @@ public class RedisClusterMessageBroker implements ClusterMessageBroker {
      */
     private static final String TOPIC_CHANNEL_PREFIX = "topic:";
 
+    /**
+     * 发布节点 ID 消息头
+     */
+    private static final String NODE_HEADER = "nebula-ws-node";
+
+    /**
+     * 本节点 ID
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
     @PostConstruct
     @Override
     public void start() {
@@ -85,14 +101,26 @@ public class RedisClusterMessageBroker implements ClusterMessageBroker {
             .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> void subscribe(String channel, Consumer<WebSocketMessage<T>> handler) {
+        subscribe(channel, false, handler);
+    }
+
+    /**
+     * 订阅频道
+     *
+     * @param skipOwn 是否忽略本节点发布的消息
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void subscribe(String channel, boolean skipOwn, Consumer<WebSocketMessage<T>> handler) {
         if (!running) {
             log.warn("集群消息代理未运行，订阅未生效");
             return;
         }
         String fullChannel = buildChannel(channel);
         redisMessageManager.subscribe(fullChannel, msg -> {
+            if (skipOwn && isOwnMessage(msg)) {
+                return;
+            }
             // Why: 跨网络反序列化丢失泛型 → Message.payload 是 LinkedHashMap，
             // 直接 instanceof WebSocketMessage 永远 false。这里显式 convertValue 还原。
             Object payload = msg.getPayload();
@@ -147,8 +175,22 @@ public class RedisClusterMessageBroker implements ClusterMessageBroker {
         if (!running) {
             return;
         }
+        String fullChannel = buildChannel(TOPIC_CHANNEL_PREFIX + topic);
+        redisMessageManager.publish(fullChannel, message, Map.of(NODE_HEADER, nodeId));
+        log.debug("发布主题消息: channel={}", fullChannel);
+    }
+
+    @Override
+    public <T> void subscribeTopic(String topic, Consumer<WebSocketMessage<T>> handler) {
+        subscribe(TOPIC_CHANNEL_PREFIX + topic, true, handler);
+    }
+
+    @Override
+    public void unsubscribeTopic(String topic) {
         String channel = TOPIC_CHANNEL_PREFIX + topic;
-        publish(channel, message);
+        if (subscriptions.containsKey(channel)) {
+            unsubscribe(channel);
+        }
     }
 
     @Override
@@ -156,6 +198,11 @@ public class RedisClusterMessageBroker implements ClusterMessageBroker {
         return running && redisMessageManager.isPubSubAvailable();
     }
 
+    private boolean isOwnMessage(Message<?> msg) {
+        Map<String, String> headers = msg.getHeaders();
+        return headers != null && nodeId.equals(headers.get(NODE_HEADER));
+    }
+
     /**
      * 构建完整频道名称
      */
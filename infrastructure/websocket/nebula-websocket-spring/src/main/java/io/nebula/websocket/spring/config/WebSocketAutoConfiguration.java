@@ -80,7 +80,11 @@ public class WebSocketAutoConfiguration implements WebSocketConfigurer {
     public WebSocketMessageService webSocketMessageService(SessionRegistry sessionRegistry,
                                                             ClusterMessageBroker clusterMessageBroker) {
         log.info("初始化 WebSocket 消息服务");
-        return new SpringWebSocketMessageService(sessionRegistry, clusterMessageBroker);
+        SpringWebSocketMessageService messageService =
+                new SpringWebSocketMessageService(sessionRegistry, clusterMessageBroker);
+        // 按本地主题成员的有无订阅/取消订阅集群主题频道
+        sessionRegistry.addTopicSubscriptionListener(messageService);
+        return messageService;
     }
 
     /**
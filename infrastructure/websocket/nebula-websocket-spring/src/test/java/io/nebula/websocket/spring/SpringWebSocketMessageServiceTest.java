@@ -0,0 +1,54 @@
+package io.nebula.websocket.spring;
+
+import io.nebula.websocket.core.message.WebSocketMessage;
+import io.nebula.websocket.core.session.DefaultSessionRegistry;
+import io.nebula.websocket.core.session.SessionRegistry;
+import io.nebula.websocket.core.session.WebSocketSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * SpringWebSocketMessageService 单元测试
+ */
+class SpringWebSocketMessageServiceTest {
+
+    private final DefaultSessionRegistry registry = new DefaultSessionRegistry(Runnable::run);
+    private final SpringWebSocketMessageService service = new SpringWebSocketMessageService(registry, null);
+
+    @Test
+    void testSendToTopicUsesTopicIndex() {
+        WebSocketSession member = session("s-1", null);
+        WebSocketSession other = session("s-2", null);
+        registry.joinTopic("s-1", "room:1");
+
+        assertThat(service.sendToTopic("room:1", WebSocketMessage.of("chat", "hi"))).isEqualTo(1);
+
+        verify(member).send(any());
+        verify(other, never()).send(any());
+    }
+
+    @Test
+    void testSendToTopicFallsBackToLegacyAttribute() {
+        WebSocketSession legacy = session("s-1", Set.of("room:1"));
+        WebSocketSession other = session("s-2", Set.of("room:2"));
+
+        assertThat(service.sendToTopic("room:1", WebSocketMessage.of("chat", "hi"))).isEqualTo(1);
+
+        verify(legacy).send(any());
+        verify(other, never()).send(any());
+    }
+
+    private WebSocketSession session(String id, Set<String> legacyTopics) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.getId()).thenReturn(id);
+        lenient().when(session.isOpen()).thenReturn(true);
+        lenient().doReturn(legacyTopics).when(session).getAttribute(SessionRegistry.SUBSCRIBED_TOPICS_ATTRIBUTE);
+        registry.register(session);
+        return session;
+    }
+}